@@ -1,9 +1,15 @@
 package edu.alibaba.mpc4j.common.rpc;
 
+import edu.alibaba.mpc4j.common.rpc.metrics.PtoMetricsRegistry;
 import edu.alibaba.mpc4j.common.rpc.utils.DataPacket;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacketAsyncUtils;
 import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacketStreamUtils;
 
+import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 协议通信接口。
@@ -62,6 +68,53 @@ public interface Rpc {
      */
     DataPacket receiveAny();
 
+    /**
+     * Sends a data packet without waiting for the transport. The returned future is completed when the data packet is
+     * handed to the transport (e.g., written to the socket for NettyRpc), or completed exceptionally if sending fails.
+     * The payload must not be modified before the future is completed. By default, it sends by the blocking send.
+     *
+     * @param dataPacket the data packet.
+     * @return a future that is completed once the data packet is sent.
+     */
+    default CompletableFuture<Void> sendAsync(DataPacket dataPacket) {
+        return DataPacketAsyncUtils.sendAsync(this, dataPacket);
+    }
+
+    /**
+     * Receives a data packet without blocking the calling thread, so that protocols can overlap local computation with
+     * network waits. Dependent stages with heavy work should use the async variants, since the future may be completed
+     * by the network thread. By default, it runs the blocking receive on a dedicated thread pool.
+     *
+     * @param header the header.
+     * @return a future of the data packet.
+     */
+    default CompletableFuture<DataPacket> receiveAsync(DataPacketHeader header) {
+        return DataPacketAsyncUtils.receiveAsync(this, header);
+    }
+
+    /**
+     * Sends a logical message as a stream of bounded chunks under one header. Each chunk is sent once the iterator
+     * generates it, so that the receiver can start working before the whole message is generated. The header must be
+     * only used for the stream. See {@link DataPacketStreamUtils} for details.
+     *
+     * @param header        the stream header.
+     * @param chunkIterator the chunk iterator.
+     */
+    default void sendStream(DataPacketHeader header, Iterator<List<byte[]>> chunkIterator) {
+        DataPacketStreamUtils.sendStream(this, header, chunkIterator);
+    }
+
+    /**
+     * Receives a logical message sent as a stream of chunks. The returned iterator yields chunks in order, blocking
+     * until the next chunk arrives.
+     *
+     * @param header the stream header.
+     * @return the chunk iterator.
+     */
+    default Iterator<List<byte[]>> receiveStream(DataPacketHeader header) {
+        return DataPacketStreamUtils.receiveStream(this, header);
+    }
+
     /**
      * 返回已发送的数据负载字节长度。
      *
@@ -76,6 +129,25 @@ public interface Rpc {
      */
     long getSendByteLength();
 
+    /**
+     * Returns the send byte length as if no payload were compressed. It equals getSendByteLength() if the
+     * implementation does not compress payloads.
+     *
+     * @return the send byte length before compression.
+     */
+    default long getRawSendByteLength() {
+        return getSendByteLength();
+    }
+
+    /**
+     * Gets the protocol metrics registry, into which protocols record their per-step communication and times.
+     *
+     * @return the protocol metrics registry, or null if the RPC does not collect protocol metrics.
+     */
+    default PtoMetricsRegistry getPtoMetricsRegistry() {
+        return null;
+    }
+
     /**
      * 返回已发送的数据包数量。
      *
@@ -1,8 +1,14 @@
 package edu.alibaba.mpc4j.common.rpc;
 
 import com.google.common.base.Preconditions;
+import edu.alibaba.mpc4j.common.rpc.impl.emulation.NetworkEmulationRpc;
+import edu.alibaba.mpc4j.common.rpc.impl.emulation.NetworkProfile;
+import edu.alibaba.mpc4j.common.rpc.impl.file.FileParty;
+import edu.alibaba.mpc4j.common.rpc.impl.file.MmapFileRpc;
+import edu.alibaba.mpc4j.common.rpc.impl.netty.NettyCodecType;
 import edu.alibaba.mpc4j.common.rpc.impl.netty.NettyParty;
 import edu.alibaba.mpc4j.common.rpc.impl.netty.NettyRpc;
+import edu.alibaba.mpc4j.common.rpc.metrics.MetricsRpc;
 import edu.alibaba.mpc4j.common.tool.MathPreconditions;
 import edu.alibaba.mpc4j.common.tool.utils.PropertiesUtils;
 
@@ -21,7 +27,13 @@ public class RpcPropertiesUtils {
     }
 
     /**
-     * reads and sets Netty RPC.
+     * reads and sets Netty RPC. The codec can be set by the optional keyword "netty_codec" (PROTOBUF by default). The
+     * LZ4 compression can be enabled by the optional keyword "netty_compress_threshold" (disabled by default). The
+     * number of channels between each pair of parties can be set by the optional keyword "netty_channel_num" (1 by
+     * default). If the optional keyword "network_profiles" is set (e.g., "LAN,WAN"), the returned RPC is a network
+     * emulation RPC that additionally reports the emulated time under each network profile. If the optional keyword
+     * "pto_metrics" is true, the returned RPC additionally records per-protocol metrics, see
+     * {@link Rpc#getPtoMetricsRegistry()}.
      *
      * @param properties properties.
      * @param partyPrefix the prefixes of the parties.
@@ -47,6 +59,59 @@ public class RpcPropertiesUtils {
         NettyParty ownParty = Preconditions.checkNotNull(
             nettyPartyMap.get(ownName), "own_name must be in %s: %s", Arrays.toString(partyPrefix), ownName
         );
-        return new NettyRpc(ownParty, nettyPartySet);
+        String codecTypeString = PropertiesUtils.readString(properties, "netty_codec", NettyCodecType.PROTOBUF.name());
+        NettyCodecType codecType = NettyCodecType.valueOf(codecTypeString);
+        int compressThreshold = PropertiesUtils.readIntWithDefault(
+            properties, "netty_compress_threshold", NettyRpc.NO_COMPRESS
+        );
+        NettyRpc nettyRpc = new NettyRpc(ownParty, nettyPartySet, codecType);
+        nettyRpc.setCompressThreshold(compressThreshold);
+        nettyRpc.setChannelNum(PropertiesUtils.readIntWithDefault(properties, "netty_channel_num", 1));
+        return readMetricsRpc(properties, readNetworkEmulationRpc(properties, nettyRpc));
+    }
+
+    private static Rpc readMetricsRpc(Properties properties, Rpc rpc) {
+        boolean ptoMetrics = PropertiesUtils.readBoolean(properties, "pto_metrics", false);
+        return ptoMetrics ? new MetricsRpc(rpc) : rpc;
+    }
+
+    private static Rpc readNetworkEmulationRpc(Properties properties, Rpc rpc) {
+        String[] profileStrings = PropertiesUtils.readTrimStringArrayWithDefault(properties, "network_profiles");
+        if (profileStrings.length == 0) {
+            return rpc;
+        }
+        NetworkProfile[] profiles = Arrays.stream(profileStrings)
+            .map(NetworkProfile::parse)
+            .toArray(NetworkProfile[]::new);
+        return new NetworkEmulationRpc(rpc, profiles);
+    }
+
+    /**
+     * reads and sets memory-mapped file RPC. Each party is set by the keywords "[prefix]_name" and "[prefix]_path",
+     * where "[prefix]_path" is the directory that the party receives files from.
+     *
+     * @param properties properties.
+     * @param partyPrefix the prefixes of the parties.
+     * @return memory-mapped file RPC.
+     */
+    public static Rpc readMmapFileRpc(Properties properties, String... partyPrefix) {
+        MathPreconditions.checkGreater("# of parties", partyPrefix.length, 1);
+        int partyNum = partyPrefix.length;
+        // 构建参与方信息
+        Set<FileParty> filePartySet = new HashSet<>(partyNum);
+        Map<String, FileParty> filePartyMap = new HashMap<>(partyNum);
+        for (int partyIndex = 0; partyIndex < partyNum; partyIndex++) {
+            String name = PropertiesUtils.readString(properties, partyPrefix[partyIndex] + "_name");
+            String path = PropertiesUtils.readString(properties, partyPrefix[partyIndex] + "_path");
+            FileParty fileParty = new FileParty(partyIndex, name, path);
+            filePartySet.add(fileParty);
+            filePartyMap.put(name, fileParty);
+        }
+        // 获得自己的参与方信息
+        String ownName = PropertiesUtils.readString(properties, "own_name");
+        FileParty ownParty = Preconditions.checkNotNull(
+            filePartyMap.get(ownName), "own_name must be in %s: %s", Arrays.toString(partyPrefix), ownName
+        );
+        return new MmapFileRpc(ownParty, filePartySet);
     }
 }
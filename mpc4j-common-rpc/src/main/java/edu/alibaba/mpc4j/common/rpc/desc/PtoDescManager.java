@@ -39,4 +39,14 @@ public class PtoDescManager {
         : "Existing PtoDesc contains new PtoName, please change to another PtoName: " + ptoDesc.getPtoName();
         PTO_NAME_MAP.put(ptoDesc.getPtoName(), ptoDesc);
     }
+
+    /**
+     * Gets the registered protocol description.
+     *
+     * @param ptoId the protocol ID.
+     * @return the protocol description, or null if the protocol ID is not registered.
+     */
+    public static PtoDesc getPtoDesc(int ptoId) {
+        return PTO_DESC_MAP.get(ptoId);
+    }
 }
@@ -0,0 +1,65 @@
+package edu.alibaba.mpc4j.common.rpc.impl.emulation;
+
+import edu.alibaba.mpc4j.common.rpc.desc.PtoDesc;
+import edu.alibaba.mpc4j.common.rpc.desc.PtoDescManager;
+
+/**
+ * network emulation protocol description.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/10
+ */
+class NetworkEmulationPtoDesc implements PtoDesc {
+    /**
+     * 协议ID
+     */
+    private static final int PTO_ID = Math.abs((int)7620158356721908144L);
+    /**
+     * 协议名称
+     */
+    private static final String PTO_NAME = "NETWORK_EMULATION_CONNECT";
+
+    /**
+     * 协议步骤
+     */
+    enum StepEnum {
+        /**
+         * 客户端同步
+         */
+        CLIENT_SYNCHRONIZE,
+        /**
+         * 服务端同步
+         */
+        SERVER_SYNCHRONIZE,
+    }
+
+    /**
+     * 单例模式
+     */
+    private static final NetworkEmulationPtoDesc INSTANCE = new NetworkEmulationPtoDesc();
+
+    /**
+     * 私有构造函数
+     */
+    private NetworkEmulationPtoDesc() {
+        // empty
+    }
+
+    public static PtoDesc getInstance() {
+        return INSTANCE;
+    }
+
+    static {
+        PtoDescManager.registerPtoDesc(INSTANCE);
+    }
+
+    @Override
+    public int getPtoId() {
+        return PTO_ID;
+    }
+
+    @Override
+    public String getPtoName() {
+        return PTO_NAME;
+    }
+}
@@ -0,0 +1,490 @@
+package edu.alibaba.mpc4j.common.rpc.impl.emulation;
+
+import com.google.common.base.Preconditions;
+import edu.alibaba.mpc4j.common.rpc.Party;
+import edu.alibaba.mpc4j.common.rpc.Rpc;
+import edu.alibaba.mpc4j.common.rpc.desc.PtoDesc;
+import edu.alibaba.mpc4j.common.rpc.desc.PtoDescManager;
+import edu.alibaba.mpc4j.common.rpc.impl.emulation.NetworkEmulationPtoDesc.StepEnum;
+import edu.alibaba.mpc4j.common.rpc.metrics.MetricsRpc;
+import edu.alibaba.mpc4j.common.rpc.metrics.PtoMetricsRegistry;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacket;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.security.SecureRandom;
+import java.util.*;
+
+/**
+ * Network emulation RPC. It decorates another RPC (e.g., MemoryRpc or NettyRpc) and emulates the wall time of running
+ * protocols under given network profiles (one-way latency, token-bucket bandwidth limit and jitter for each pair of
+ * parties), without any special network setup.
+ * <p>
+ * Each party keeps one emulated clock for each network profile. Local computation between two RPC calls advances all
+ * clocks by the measured time. Sending a data packet computes its emulated arrival time on each profile, which is
+ * appended to the payload as a trailing stamp element. Receiving the data packet advances each clock to the arrival time
+ * if the data packet arrives later. Therefore, the emulated time of all profiles are obtained in one run, and the
+ * underlying RPC is never slowed down.
+ * </p>
+ * <p>
+ * The emulated clock starts at reset(), or at the first communication after connect() so that preparing inputs in
+ * tests is not counted. The emulated time of each protocol step is the time between receiving the previous data packet
+ * and receiving the data packet of that step.
+ * </p>
+ *
+ * @author Weiran Liu
+ * @date 2023/7/10
+ */
+public class NetworkEmulationRpc implements Rpc {
+    private static final Logger LOGGER = LoggerFactory.getLogger(NetworkEmulationRpc.class);
+    /**
+     * estimated byte length of the data packet header
+     */
+    private static final int HEADER_BYTE_LENGTH = Long.BYTES * 2 + Integer.BYTES * 4;
+    /**
+     * the underlying RPC
+     */
+    private final Rpc rpc;
+    /**
+     * own party ID
+     */
+    private final int ownPartyId;
+    /**
+     * network profiles
+     */
+    private final NetworkProfile[] profiles;
+    /**
+     * number of network profiles
+     */
+    private final int profileNum;
+    /**
+     * byte length of the stamp
+     */
+    private final int stampByteLength;
+    /**
+     * other party ID -> link profiles, one for each network profile
+     */
+    private final Map<Integer, NetworkProfile[]> linkProfilesMap;
+    /**
+     * other party ID -> link states, one for each network profile
+     */
+    private final Map<Integer, LinkState[]> linkStatesMap;
+    /**
+     * random state for jitter
+     */
+    private final Random random;
+    /**
+     * emulated clocks in nanoseconds, one for each network profile
+     */
+    private final long[] clocks;
+    /**
+     * emulated clocks when the previous step is finished
+     */
+    private final long[] stepClocks;
+    /**
+     * step name -> emulated step times in nanoseconds, one for each network profile
+     */
+    private final Map<String, long[]> stepTimeMap;
+    /**
+     * real time of the last RPC call, or -1 if the emulated clock has not started
+     */
+    private long lastNanos;
+    /**
+     * number of data packets
+     */
+    private long dataPacketNum;
+    /**
+     * payload byte length
+     */
+    private long payloadByteLength;
+
+    /**
+     * Creates a network emulation RPC. All links use the given network profiles.
+     *
+     * @param rpc      the underlying RPC.
+     * @param profiles the network profiles.
+     */
+    public NetworkEmulationRpc(Rpc rpc, NetworkProfile... profiles) {
+        MathPreconditions.checkPositive("# of profiles", profiles.length);
+        this.rpc = rpc;
+        ownPartyId = rpc.ownParty().getPartyId();
+        this.profiles = profiles;
+        profileNum = profiles.length;
+        stampByteLength = Long.BYTES * profileNum;
+        linkProfilesMap = new HashMap<>();
+        linkStatesMap = new HashMap<>();
+        for (Party party : rpc.getPartySet()) {
+            if (party.getPartyId() != ownPartyId) {
+                linkProfilesMap.put(party.getPartyId(), Arrays.copyOf(profiles, profileNum));
+            }
+        }
+        random = new SecureRandom();
+        clocks = new long[profileNum];
+        stepClocks = new long[profileNum];
+        stepTimeMap = new LinkedHashMap<>();
+        lastNanos = -1;
+        dataPacketNum = 0;
+        payloadByteLength = 0;
+    }
+
+    /**
+     * Sets the link profiles for the link from own party to the other party. The i-th link profile replaces the i-th
+     * network profile.
+     *
+     * @param otherPartyId the other party ID.
+     * @param linkProfiles the link profiles.
+     */
+    public synchronized void setLinkProfiles(int otherPartyId, NetworkProfile... linkProfiles) {
+        Preconditions.checkArgument(
+            linkProfilesMap.containsKey(otherPartyId), "Party set does not contain Party ID = %s", otherPartyId
+        );
+        MathPreconditions.checkEqual("# of link profiles", "# of profiles", linkProfiles.length, profileNum);
+        linkProfilesMap.put(otherPartyId, Arrays.copyOf(linkProfiles, profileNum));
+    }
+
+    /**
+     * Gets the network profiles.
+     *
+     * @return the network profiles.
+     */
+    public NetworkProfile[] getProfiles() {
+        return Arrays.copyOf(profiles, profileNum);
+    }
+
+    /**
+     * Gets the emulated time since the clock starts.
+     *
+     * @param profileIndex the network profile index.
+     * @return the emulated time in milliseconds.
+     */
+    public synchronized double getEmulatedTime(int profileIndex) {
+        advance();
+        return clocks[profileIndex] / 1e6;
+    }
+
+    /**
+     * Gets the emulated times of protocol steps, in the order of the first time receiving them.
+     *
+     * @param profileIndex the network profile index.
+     * @return step name -> emulated time in milliseconds.
+     */
+    public synchronized Map<String, Double> getStepEmulatedTimes(int profileIndex) {
+        Map<String, Double> stepEmulatedTimeMap = new LinkedHashMap<>(stepTimeMap.size());
+        stepTimeMap.forEach((stepName, stepTimes) -> stepEmulatedTimeMap.put(stepName, stepTimes[profileIndex] / 1e6));
+        return stepEmulatedTimeMap;
+    }
+
+    @Override
+    public Party ownParty() {
+        return rpc.ownParty();
+    }
+
+    @Override
+    public Set<Party> getPartySet() {
+        return rpc.getPartySet();
+    }
+
+    @Override
+    public Party getParty(int partyId) {
+        return rpc.getParty(partyId);
+    }
+
+    @Override
+    public void connect() {
+        rpc.connect();
+        synchronized (this) {
+            resetClocks();
+        }
+    }
+
+    /**
+     * Advances the emulated clocks by the local computation time.
+     */
+    private void advance() {
+        long currentNanos = System.nanoTime();
+        if (lastNanos >= 0) {
+            long elapsedNanos = currentNanos - lastNanos;
+            for (int profileIndex = 0; profileIndex < profileNum; profileIndex++) {
+                clocks[profileIndex] += elapsedNanos;
+            }
+        }
+        lastNanos = currentNanos;
+    }
+
+    @Override
+    public void send(DataPacket dataPacket) {
+        DataPacketHeader header = dataPacket.getHeader();
+        Preconditions.checkArgument(
+            linkProfilesMap.containsKey(header.getReceiverId()),
+            "Party set does not contain Receiver ID = %s", header.getReceiverId()
+        );
+        List<byte[]> payload = dataPacket.getPayload();
+        long dataPacketPayloadByteLength = payload.stream().mapToLong(data -> data.length).sum();
+        long byteLength = HEADER_BYTE_LENGTH + (long) payload.size() * Integer.BYTES + dataPacketPayloadByteLength;
+        ByteBuffer stampByteBuffer = ByteBuffer.allocate(stampByteLength);
+        synchronized (this) {
+            advance();
+            NetworkProfile[] linkProfiles = linkProfilesMap.get(header.getReceiverId());
+            LinkState[] linkStates = linkStatesMap.computeIfAbsent(header.getReceiverId(), key -> {
+                LinkState[] states = new LinkState[profileNum];
+                for (int profileIndex = 0; profileIndex < profileNum; profileIndex++) {
+                    states[profileIndex] = new LinkState(linkProfiles[profileIndex]);
+                }
+                return states;
+            });
+            for (int profileIndex = 0; profileIndex < profileNum; profileIndex++) {
+                stampByteBuffer.putLong(linkStates[profileIndex].transmit(clocks[profileIndex], byteLength, random));
+            }
+            dataPacketNum++;
+            payloadByteLength += dataPacketPayloadByteLength;
+        }
+        List<byte[]> stampedPayload = new ArrayList<>(payload.size() + 1);
+        stampedPayload.addAll(payload);
+        stampedPayload.add(stampByteBuffer.array());
+        rpc.send(DataPacket.fromByteArrayList(header, stampedPayload));
+        synchronized (this) {
+            // the time for the underlying RPC to send is not local computation
+            lastNanos = System.nanoTime();
+        }
+    }
+
+    @Override
+    public DataPacket receive(DataPacketHeader header) {
+        synchronized (this) {
+            advance();
+        }
+        DataPacket stampedDataPacket = rpc.receive(header);
+        return stampedDataPacket == null ? null : unstamp(stampedDataPacket);
+    }
+
+    @Override
+    public DataPacket receiveAny() {
+        synchronized (this) {
+            advance();
+        }
+        DataPacket stampedDataPacket = rpc.receiveAny();
+        return stampedDataPacket == null ? null : unstamp(stampedDataPacket);
+    }
+
+    private synchronized DataPacket unstamp(DataPacket stampedDataPacket) {
+        // the time waiting for the data packet is not local computation
+        lastNanos = System.nanoTime();
+        DataPacketHeader header = stampedDataPacket.getHeader();
+        List<byte[]> stampedPayload = stampedDataPacket.getPayload();
+        Preconditions.checkArgument(stampedPayload.size() > 0, "stamped payload must contain the stamp");
+        byte[] stamp = stampedPayload.get(stampedPayload.size() - 1);
+        MathPreconditions.checkEqual("stamp.length", "stampByteLength", stamp.length, stampByteLength);
+        ByteBuffer stampByteBuffer = ByteBuffer.wrap(stamp);
+        for (int profileIndex = 0; profileIndex < profileNum; profileIndex++) {
+            clocks[profileIndex] = Math.max(clocks[profileIndex], stampByteBuffer.getLong());
+        }
+        if (header.getPtoId() != NetworkEmulationPtoDesc.getInstance().getPtoId()) {
+            long[] stepTimes = stepTimeMap.computeIfAbsent(getStepName(header), key -> new long[profileNum]);
+            for (int profileIndex = 0; profileIndex < profileNum; profileIndex++) {
+                stepTimes[profileIndex] += clocks[profileIndex] - stepClocks[profileIndex];
+            }
+        }
+        System.arraycopy(clocks, 0, stepClocks, 0, profileNum);
+        return DataPacket.fromByteArrayList(header, new ArrayList<>(stampedPayload.subList(0, stampedPayload.size() - 1)));
+    }
+
+    private static String getStepName(DataPacketHeader header) {
+        PtoDesc ptoDesc = PtoDescManager.getPtoDesc(header.getPtoId());
+        String ptoName = ptoDesc == null ? String.valueOf(header.getPtoId()) : ptoDesc.getPtoName();
+        return ptoName + "[" + header.getStepId() + "]";
+    }
+
+    @Override
+    public long getPayloadByteLength() {
+        return payloadByteLength;
+    }
+
+    /**
+     * Gets the send byte length. The stamps appended by the network emulation are excluded, but the framing of the
+     * stamp elements in the underlying RPC (a few bytes for each data packet) is not.
+     *
+     * @return the send byte length.
+     */
+    @Override
+    public long getSendByteLength() {
+        return rpc.getSendByteLength() - dataPacketNum * stampByteLength;
+    }
+
+    @Override
+    public long getRawSendByteLength() {
+        return rpc.getRawSendByteLength() - dataPacketNum * stampByteLength;
+    }
+
+    @Override
+    public long getSendDataPacketNum() {
+        return dataPacketNum;
+    }
+
+    @Override
+    public PtoMetricsRegistry getPtoMetricsRegistry() {
+        return rpc.getPtoMetricsRegistry();
+    }
+
+    @Override
+    public void synchronize() {
+        // 对参与方进行排序，所有在自己之前的自己作为client、所有在自己之后的自己作为server
+        linkProfilesMap.keySet().stream().sorted().forEach(otherPartyId -> {
+            if (otherPartyId < ownPartyId) {
+                // 如果对方排序比自己小，则自己是client，需要给对方发送同步信息
+                DataPacketHeader clientSynchronizeHeader = new DataPacketHeader(
+                    Long.MAX_VALUE - ownPartyId, NetworkEmulationPtoDesc.getInstance().getPtoId(),
+                    StepEnum.CLIENT_SYNCHRONIZE.ordinal(), ownPartyId, otherPartyId
+                );
+                send(DataPacket.fromByteArrayList(clientSynchronizeHeader, new LinkedList<>()));
+                // 获得对方的回复
+                DataPacketHeader serverSynchronizeHeader = new DataPacketHeader(
+                    Long.MAX_VALUE - otherPartyId, NetworkEmulationPtoDesc.getInstance().getPtoId(),
+                    StepEnum.SERVER_SYNCHRONIZE.ordinal(), otherPartyId, ownPartyId
+                );
+                receive(serverSynchronizeHeader);
+            } else {
+                // 如果对方排序比自己大，则自己是server
+                DataPacketHeader clientSynchronizeHeader = new DataPacketHeader(
+                    Long.MAX_VALUE - otherPartyId, NetworkEmulationPtoDesc.getInstance().getPtoId(),
+                    StepEnum.CLIENT_SYNCHRONIZE.ordinal(), otherPartyId, ownPartyId
+                );
+                receive(clientSynchronizeHeader);
+                DataPacketHeader serverSynchronizeHeader = new DataPacketHeader(
+                    Long.MAX_VALUE - ownPartyId, NetworkEmulationPtoDesc.getInstance().getPtoId(),
+                    StepEnum.SERVER_SYNCHRONIZE.ordinal(), ownPartyId, otherPartyId
+                );
+                send(DataPacket.fromByteArrayList(serverSynchronizeHeader, new LinkedList<>()));
+            }
+        });
+        LOGGER.info("{} synchronized", ownParty());
+    }
+
+    @Override
+    public void reset() {
+        rpc.reset();
+        synchronized (this) {
+            dataPacketNum = 0;
+            payloadByteLength = 0;
+            resetClocks();
+            lastNanos = System.nanoTime();
+        }
+    }
+
+    private void resetClocks() {
+        Arrays.fill(clocks, 0);
+        Arrays.fill(stepClocks, 0);
+        stepTimeMap.clear();
+        linkStatesMap.clear();
+        lastNanos = -1;
+    }
+
+    @Override
+    public void disconnect() {
+        rpc.disconnect();
+    }
+
+    /**
+     * Gets the table header of emulated times, used by main drivers.
+     *
+     * @param rpc    the RPC.
+     * @param prefix the prefix of each column, e.g., "Init" or "Pto".
+     * @return the table header, or an empty string if the RPC is not a network emulation RPC.
+     */
+    public static String getEmulatedTimeTab(Rpc rpc, String prefix) {
+        NetworkEmulationRpc networkEmulationRpc = asNetworkEmulationRpc(rpc);
+        if (networkEmulationRpc == null) {
+            return "";
+        }
+        StringBuilder tabBuilder = new StringBuilder();
+        for (NetworkProfile profile : networkEmulationRpc.profiles) {
+            tabBuilder.append("\t").append(prefix).append(" ").append(profile.getName()).append(" Time(ms)");
+        }
+        return tabBuilder.toString();
+    }
+
+    /**
+     * Gets the emulated times, used by main drivers.
+     *
+     * @param rpc the RPC.
+     * @return the emulated times, or an empty string if the RPC is not a network emulation RPC.
+     */
+    public static String getEmulatedTimeInfo(Rpc rpc) {
+        NetworkEmulationRpc networkEmulationRpc = asNetworkEmulationRpc(rpc);
+        if (networkEmulationRpc == null) {
+            return "";
+        }
+        StringBuilder infoBuilder = new StringBuilder();
+        for (int profileIndex = 0; profileIndex < networkEmulationRpc.profileNum; profileIndex++) {
+            infoBuilder.append("\t").append(Math.round(networkEmulationRpc.getEmulatedTime(profileIndex)));
+        }
+        return infoBuilder.toString();
+    }
+
+    private static NetworkEmulationRpc asNetworkEmulationRpc(Rpc rpc) {
+        // the metrics RPC may decorate the network emulation RPC
+        Rpc underlyingRpc = rpc instanceof MetricsRpc ? ((MetricsRpc) rpc).getRpc() : rpc;
+        return underlyingRpc instanceof NetworkEmulationRpc ? (NetworkEmulationRpc) underlyingRpc : null;
+    }
+
+    /**
+     * state of a link under a network profile.
+     */
+    private static class LinkState {
+        /**
+         * the link profile
+         */
+        private final NetworkProfile profile;
+        /**
+         * token rate in bytes per nanosecond
+         */
+        private final double tokenRate;
+        /**
+         * number of tokens (in bytes) at tokenClock
+         */
+        private double tokens;
+        /**
+         * emulated time when the last data packet departs
+         */
+        private long tokenClock;
+        /**
+         * emulated arrival time of the last data packet
+         */
+        private long lastArrivalClock;
+
+        private LinkState(NetworkProfile profile) {
+            this.profile = profile;
+            tokenRate = profile.getBandwidth() / Byte.SIZE / 1e9;
+            tokens = profile.getBucketByteLength();
+            tokenClock = 0;
+            lastArrivalClock = 0;
+        }
+
+        /**
+         * Transmits a data packet.
+         *
+         * @param clock      the emulated time when the data packet is sent.
+         * @param byteLength the byte length of the data packet.
+         * @param random     the random state.
+         * @return the emulated arrival time.
+         */
+        private long transmit(long clock, long byteLength, Random random) {
+            // data packets depart in the sending order
+            long departClock = Math.max(clock, tokenClock);
+            tokens = Math.min(profile.getBucketByteLength(), tokens + (departClock - tokenClock) * tokenRate);
+            tokens -= byteLength;
+            if (tokens < 0) {
+                // wait until enough tokens are generated
+                departClock += (long) Math.ceil(-tokens / tokenRate);
+                tokens = 0;
+            }
+            tokenClock = departClock;
+            long jitter = profile.getJitterNanos() == 0 ? 0 : (long) (random.nextDouble() * profile.getJitterNanos());
+            // data packets arrive in the sending order
+            lastArrivalClock = Math.max(lastArrivalClock, departClock + profile.getLatencyNanos() + jitter);
+            return lastArrivalClock;
+        }
+    }
+}
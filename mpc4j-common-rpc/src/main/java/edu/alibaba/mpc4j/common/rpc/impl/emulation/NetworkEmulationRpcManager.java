@@ -0,0 +1,70 @@
+package edu.alibaba.mpc4j.common.rpc.impl.emulation;
+
+import edu.alibaba.mpc4j.common.rpc.Party;
+import edu.alibaba.mpc4j.common.rpc.Rpc;
+import edu.alibaba.mpc4j.common.rpc.RpcManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * network emulation RPC manager. It decorates all RPCs of another RPC manager.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/10
+ */
+public class NetworkEmulationRpcManager implements RpcManager {
+    /**
+     * the underlying RPC manager
+     */
+    private final RpcManager rpcManager;
+    /**
+     * all network emulation RPCs
+     */
+    private final Map<Integer, NetworkEmulationRpc> networkEmulationRpcMap;
+
+    /**
+     * Creates a network emulation RPC manager. All links use the given network profiles.
+     *
+     * @param rpcManager the underlying RPC manager.
+     * @param profiles   the network profiles.
+     */
+    public NetworkEmulationRpcManager(RpcManager rpcManager, NetworkProfile... profiles) {
+        this.rpcManager = rpcManager;
+        networkEmulationRpcMap = new HashMap<>(rpcManager.getPartyNum());
+        IntStream.range(0, rpcManager.getPartyNum()).forEach(partyId ->
+            networkEmulationRpcMap.put(partyId, new NetworkEmulationRpc(rpcManager.getRpc(partyId), profiles))
+        );
+    }
+
+    /**
+     * Sets the link profiles for the links between two parties, in both directions.
+     *
+     * @param partyId      one party ID.
+     * @param otherPartyId the other party ID.
+     * @param linkProfiles the link profiles.
+     */
+    public void setLinkProfiles(int partyId, int otherPartyId, NetworkProfile... linkProfiles) {
+        networkEmulationRpcMap.get(partyId).setLinkProfiles(otherPartyId, linkProfiles);
+        networkEmulationRpcMap.get(otherPartyId).setLinkProfiles(partyId, linkProfiles);
+    }
+
+    @Override
+    public Rpc getRpc(int partyId) {
+        // the underlying RPC manager checks the party ID
+        rpcManager.getRpc(partyId);
+        return networkEmulationRpcMap.get(partyId);
+    }
+
+    @Override
+    public int getPartyNum() {
+        return rpcManager.getPartyNum();
+    }
+
+    @Override
+    public Set<Party> getPartySet() {
+        return rpcManager.getPartySet();
+    }
+}
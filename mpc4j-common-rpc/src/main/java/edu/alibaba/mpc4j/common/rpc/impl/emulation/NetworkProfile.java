@@ -0,0 +1,141 @@
+package edu.alibaba.mpc4j.common.rpc.impl.emulation;
+
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Locale;
+
+/**
+ * network profile of a link between two parties, used by the network emulation RPC.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/10
+ */
+public class NetworkProfile {
+    /**
+     * LAN: 10 Gbps bandwidth, 0.1 ms one-way latency (0.2 ms RTT).
+     */
+    public static final NetworkProfile LAN = new NetworkProfile("LAN", 0.1, 10000, 0, 0);
+    /**
+     * WAN: 100 Mbps bandwidth, 40 ms one-way latency (80 ms RTT).
+     */
+    public static final NetworkProfile WAN = new NetworkProfile("WAN", 40, 100, 0, 0);
+    /**
+     * name
+     */
+    private final String name;
+    /**
+     * one-way latency in nanoseconds
+     */
+    private final long latencyNanos;
+    /**
+     * bandwidth in bits per second
+     */
+    private final double bandwidth;
+    /**
+     * max jitter in nanoseconds. The jitter of each data packet is uniformly chosen from [0, jitter].
+     */
+    private final long jitterNanos;
+    /**
+     * bucket size of the token bucket in bytes, i.e., the max burst that can be sent without waiting for tokens
+     */
+    private final long bucketByteLength;
+
+    /**
+     * Creates a network profile.
+     *
+     * @param name             name.
+     * @param latencyMillis    one-way latency in milliseconds.
+     * @param bandwidthMbps    bandwidth in Mbps.
+     * @param jitterMillis     max jitter in milliseconds.
+     * @param bucketByteLength bucket size of the token bucket in bytes.
+     */
+    public NetworkProfile(String name, double latencyMillis, double bandwidthMbps, double jitterMillis,
+                          long bucketByteLength) {
+        MathPreconditions.checkNonNegative("latency", latencyMillis);
+        MathPreconditions.checkPositive("bandwidth", bandwidthMbps);
+        MathPreconditions.checkNonNegative("jitter", jitterMillis);
+        MathPreconditions.checkNonNegative("bucketByteLength", bucketByteLength);
+        this.name = name;
+        latencyNanos = (long) (latencyMillis * 1e6);
+        bandwidth = bandwidthMbps * 1e6;
+        jitterNanos = (long) (jitterMillis * 1e6);
+        this.bucketByteLength = bucketByteLength;
+    }
+
+    /**
+     * Parses a network profile. The string is either "LAN", "WAN", or "name:latency(ms):bandwidth(Mbps):jitter(ms)",
+     * e.g., "CROSS_REGION:100:50:5".
+     *
+     * @param profileString the string.
+     * @return the network profile.
+     */
+    public static NetworkProfile parse(String profileString) {
+        String trimString = profileString.trim();
+        if (LAN.name.equalsIgnoreCase(trimString)) {
+            return LAN;
+        }
+        if (WAN.name.equalsIgnoreCase(trimString)) {
+            return WAN;
+        }
+        String[] fields = StringUtils.split(trimString, ':');
+        if (fields.length != 4) {
+            throw new IllegalArgumentException("Invalid network profile: " + profileString);
+        }
+        return new NetworkProfile(
+            fields[0], Double.parseDouble(fields[1]), Double.parseDouble(fields[2]), Double.parseDouble(fields[3]), 0
+        );
+    }
+
+    /**
+     * Gets the name.
+     *
+     * @return the name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the one-way latency in nanoseconds.
+     *
+     * @return the one-way latency in nanoseconds.
+     */
+    public long getLatencyNanos() {
+        return latencyNanos;
+    }
+
+    /**
+     * Gets the bandwidth in bits per second.
+     *
+     * @return the bandwidth in bits per second.
+     */
+    public double getBandwidth() {
+        return bandwidth;
+    }
+
+    /**
+     * Gets the max jitter in nanoseconds.
+     *
+     * @return the max jitter in nanoseconds.
+     */
+    public long getJitterNanos() {
+        return jitterNanos;
+    }
+
+    /**
+     * Gets the bucket size of the token bucket in bytes.
+     *
+     * @return the bucket size of the token bucket in bytes.
+     */
+    public long getBucketByteLength() {
+        return bucketByteLength;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%s (latency = %.2fms, bandwidth = %.2fMbps, jitter = %.2fms)",
+            name, latencyNanos / 1e6, bandwidth / 1e6, jitterNanos / 1e6
+        );
+    }
+}
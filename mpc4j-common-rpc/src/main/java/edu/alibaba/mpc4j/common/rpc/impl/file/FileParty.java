@@ -34,7 +34,7 @@ public class FileParty implements Party {
      * @param partyId   参与方ID。
      * @param partyName 参与方名称。
      */
-    FileParty(int partyId, String partyName, String partyFilePath) {
+    public FileParty(int partyId, String partyName, String partyFilePath) {
         Preconditions.checkArgument(partyId >= 0, "Party ID must be greater than 0");
         Preconditions.checkArgument(StringUtils.isNotBlank(partyName), "Party Name should not be blank");
         File file = new File(partyFilePath);
@@ -0,0 +1,391 @@
+package edu.alibaba.mpc4j.common.rpc.impl.file;
+
+import com.google.common.base.Preconditions;
+import edu.alibaba.mpc4j.common.rpc.Party;
+import edu.alibaba.mpc4j.common.rpc.Rpc;
+import edu.alibaba.mpc4j.common.rpc.impl.file.FilePtoDesc.StepEnum;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacket;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 内存映射文件通信机制。每个数据包写为一个二进制段文件，格式为(int) num || (int) length || bytes || ... ，通过内存映射写入和读取。
+ * <p>
+ * 发送方先写入临时文件，再原子重命名为负载文件，因此负载文件存在时一定已经写入完毕，不需要状态文件。接收方通过WatchService监听目录中新创建的文件，
+ * 不再循环休眠等待。负载文件名与FileRpc一致：taskId_ptoId_stepId_extraInfo_senderId_receiverId_PAYLOAD。
+ * </p>
+ *
+ * @author Weiran Liu
+ * @date 2023/7/9
+ */
+public class MmapFileRpc implements Rpc {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MmapFileRpc.class);
+    /**
+     * each file contains 7 fields: taskId, ptoId, stepId, extraInfo, senderId, receiverId, suffix.
+     */
+    private static final int FILE_NAME_SPLIT_NUM = 7;
+    /**
+     * max waiting time for a file event. Some platforms implement WatchService by polling, so that we also check the
+     * file after the waiting time.
+     */
+    private static final long MAX_WAIT_MILLI_SECOND = 100;
+    /**
+     * 文件名分隔符
+     */
+    private static final String FILE_NAME_SEPARATOR = "_";
+    /**
+     * 传输内容本身的负载文件后缀
+     */
+    private static final String FILE_PAYLOAD_SUFFIX = "PAYLOAD";
+    /**
+     * 正在写入的临时文件后缀
+     */
+    private static final String FILE_WRITING_SUFFIX = "WRITING";
+    /**
+     * 参与方ID映射
+     */
+    private final HashMap<Integer, FileParty> partyIdHashMap;
+    /**
+     * 自己的参与方信息
+     */
+    private final FileParty ownParty;
+    /**
+     * Own party's ID
+     */
+    private final int ownPartyId;
+    /**
+     * lock for waiting file events
+     */
+    private final Object fileEventLock;
+    /**
+     * watch service for the own file path
+     */
+    private WatchService watchService;
+    /**
+     * thread dispatching file events
+     */
+    private Thread watchThread;
+    /**
+     * 数据包数量
+     */
+    private long dataPacketNum;
+    /**
+     * 负载字节长度
+     */
+    private long payloadByteLength;
+    /**
+     * 发送字节长度
+     */
+    private long sendByteLength;
+
+    /**
+     * 构建内存映射文件RPC。
+     *
+     * @param ownParty 自己的参与方信息。
+     * @param partySet 参与方集合。
+     */
+    public MmapFileRpc(FileParty ownParty, Set<FileParty> partySet) {
+        // 所有参与方的数量必须大于1
+        Preconditions.checkArgument(partySet.size() > 1, "Party set size must be greater than 1");
+        // 参与方自身必须在所有参与方之中
+        Preconditions.checkArgument(partySet.contains(ownParty), "Party set must contain own party");
+        this.ownParty = ownParty;
+        ownPartyId = ownParty.getPartyId();
+        // 按照参与方索引值，将参与方信息插入到ID映射中
+        partyIdHashMap = new HashMap<>();
+        partySet.forEach(partySpec -> partyIdHashMap.put(partySpec.getPartyId(), partySpec));
+        fileEventLock = new Object();
+        watchService = null;
+        watchThread = null;
+        dataPacketNum = 0;
+        payloadByteLength = 0;
+        sendByteLength = 0;
+    }
+
+    @Override
+    public Party ownParty() {
+        return ownParty;
+    }
+
+    @Override
+    public Set<Party> getPartySet() {
+        return partyIdHashMap.keySet().stream().map(partyIdHashMap::get).collect(Collectors.toSet());
+    }
+
+    @Override
+    public Party getParty(int partyId) {
+        assert (partyIdHashMap.containsKey(partyId));
+        return partyIdHashMap.get(partyId);
+    }
+
+    @Override
+    public void connect() {
+        Path ownPath = Paths.get(ownParty.getPartyFilePath());
+        try {
+            Files.createDirectories(ownPath);
+            watchService = ownPath.getFileSystem().newWatchService();
+            ownPath.register(watchService, StandardWatchEventKinds.ENTRY_CREATE);
+        } catch (IOException e) {
+            e.printStackTrace();
+            throw new IllegalStateException("Cannot watch own file path: " + ownPath);
+        }
+        watchThread = new Thread(this::dispatchFileEvents, ownParty.getPartyName() + "-watch");
+        watchThread.setDaemon(true);
+        watchThread.start();
+        partyIdHashMap.keySet().stream().sorted().forEach(otherPartyId -> {
+            if (otherPartyId != ownPartyId) {
+                LOGGER.debug(
+                    "{} successfully make connection with {}",
+                    partyIdHashMap.get(ownPartyId), partyIdHashMap.get(otherPartyId)
+                );
+            }
+        });
+        LOGGER.info("{} connected", ownParty);
+    }
+
+    private void dispatchFileEvents() {
+        try {
+            while (true) {
+                WatchKey watchKey = watchService.take();
+                // the events are not needed, receivers check the files by themselves
+                watchKey.pollEvents();
+                watchKey.reset();
+                synchronized (fileEventLock) {
+                    fileEventLock.notifyAll();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // disconnected
+        }
+    }
+
+    @Override
+    public void send(DataPacket dataPacket) {
+        DataPacketHeader header = dataPacket.getHeader();
+        Preconditions.checkArgument(
+            ownPartyId == header.getSenderId(), "Sender ID must be %s", ownPartyId
+        );
+        Preconditions.checkArgument(
+            partyIdHashMap.containsKey(header.getReceiverId()),
+            "Party set does not contain Receiver ID = %s", header.getReceiverId()
+        );
+        String receiverFilePath = partyIdHashMap.get(header.getReceiverId()).getPartyFilePath();
+        List<byte[]> payload = dataPacket.getPayload();
+        Path payloadPath = Paths.get(receiverFilePath, getFileName(header, FILE_PAYLOAD_SUFFIX));
+        Path writingPath = Paths.get(receiverFilePath, getFileName(header, FILE_WRITING_SUFFIX));
+        // 在写入之前必然没有负载文件
+        if (Files.exists(payloadPath)) {
+            throw new IllegalStateException("File " + payloadPath.getFileName() + " already exists.");
+        }
+        long fileByteLength = Integer.BYTES + (long) payload.size() * Integer.BYTES;
+        for (byte[] byteArray : payload) {
+            fileByteLength += byteArray.length;
+        }
+        try {
+            // 写入临时文件，如果写入之前发现了临时文件，则覆盖
+            try (FileChannel fileChannel = FileChannel.open(writingPath,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE
+            )) {
+                MappedByteBuffer mappedByteBuffer = fileChannel.map(FileChannel.MapMode.READ_WRITE, 0, fileByteLength);
+                mappedByteBuffer.putInt(payload.size());
+                for (byte[] byteArray : payload) {
+                    mappedByteBuffer.putInt(byteArray.length);
+                    mappedByteBuffer.put(byteArray);
+                }
+            }
+            // 原子重命名后，负载文件对接收方可见
+            Files.move(writingPath, payloadPath, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            e.printStackTrace();
+            throw new IllegalStateException("Unknown IOException for receiver file path: " + receiverFilePath);
+        }
+        payloadByteLength += fileByteLength - Integer.BYTES - (long) payload.size() * Integer.BYTES;
+        sendByteLength += fileByteLength;
+        dataPacketNum++;
+    }
+
+    @Override
+    public DataPacket receive(DataPacketHeader header) {
+        Preconditions.checkArgument(
+            ownPartyId == header.getReceiverId(), "Receiver ID must be %s", ownPartyId
+        );
+        Preconditions.checkArgument(
+            partyIdHashMap.containsKey(header.getSenderId()),
+            "Party set does not contain Sender ID = %s", header.getSenderId()
+        );
+        Path payloadPath = Paths.get(ownParty.getPartyFilePath(), getFileName(header, FILE_PAYLOAD_SUFFIX));
+        try {
+            synchronized (fileEventLock) {
+                while (!Files.exists(payloadPath)) {
+                    fileEventLock.wait(MAX_WAIT_MILLI_SECOND);
+                }
+            }
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+            throw new IllegalStateException("Interrupted when waiting for file: " + payloadPath.getFileName());
+        }
+        return DataPacket.fromByteArrayList(header, readPayload(payloadPath));
+    }
+
+    private List<byte[]> readPayload(Path payloadPath) {
+        List<byte[]> payload;
+        try (FileChannel fileChannel = FileChannel.open(payloadPath, StandardOpenOption.READ)) {
+            MappedByteBuffer mappedByteBuffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileChannel.size());
+            int num = mappedByteBuffer.getInt();
+            payload = new ArrayList<>(num);
+            for (int index = 0; index < num; index++) {
+                // 直接从映射区域读取
+                byte[] byteArray = new byte[mappedByteBuffer.getInt()];
+                mappedByteBuffer.get(byteArray);
+                payload.add(byteArray);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            throw new IllegalStateException("Unknown IOException for file: " + payloadPath.getFileName());
+        }
+        // 删除负载文件。某些平台在文件映射释放之前无法删除，此时在退出时删除
+        try {
+            Files.delete(payloadPath);
+        } catch (IOException e) {
+            payloadPath.toFile().deleteOnExit();
+        }
+        return payload;
+    }
+
+    @Override
+    public DataPacket receiveAny() {
+        DataPacketHeader[] receivedDataPacketHeaders;
+        try {
+            synchronized (fileEventLock) {
+                while ((receivedDataPacketHeaders = getReceivedDataPacketHeaders()).length == 0) {
+                    fileEventLock.wait(MAX_WAIT_MILLI_SECOND);
+                }
+            }
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+            throw new IllegalStateException("Interrupted when waiting for files");
+        }
+        return receive(receivedDataPacketHeaders[0]);
+    }
+
+    @Override
+    public long getPayloadByteLength() {
+        return payloadByteLength;
+    }
+
+    @Override
+    public long getSendByteLength() {
+        return sendByteLength;
+    }
+
+    @Override
+    public long getSendDataPacketNum() {
+        return dataPacketNum;
+    }
+
+    @Override
+    public void reset() {
+        payloadByteLength = 0;
+        sendByteLength = 0;
+        dataPacketNum = 0;
+    }
+
+    @Override
+    public void synchronize() {
+        // 对参与方进行排序，所有在自己之前的自己作为client、所有在自己之后的自己作为server
+        partyIdHashMap.keySet().stream().sorted().forEach(otherPartyId -> {
+            if (otherPartyId < ownPartyId) {
+                // 如果对方排序比自己小，则自己是client，需要给对方发送同步信息
+                DataPacketHeader clientSynchronizeHeader = new DataPacketHeader(
+                    Long.MAX_VALUE - ownPartyId, FilePtoDesc.getInstance().getPtoId(), StepEnum.CLIENT_SYNCHRONIZE.ordinal(),
+                    ownPartyId, otherPartyId
+                );
+                send(DataPacket.fromByteArrayList(clientSynchronizeHeader, new LinkedList<>()));
+                // 获得对方的回复
+                DataPacketHeader serverSynchronizeHeader = new DataPacketHeader(
+                    Long.MAX_VALUE - otherPartyId, FilePtoDesc.getInstance().getPtoId(), StepEnum.SERVER_SYNCHRONIZE.ordinal(),
+                    otherPartyId, ownPartyId
+                );
+                receive(serverSynchronizeHeader);
+            } else if (otherPartyId > ownPartyId) {
+                // 如果对方排序比自己大，则自己是server
+                DataPacketHeader clientSynchronizeHeader = new DataPacketHeader(
+                    Long.MAX_VALUE - otherPartyId, FilePtoDesc.getInstance().getPtoId(), StepEnum.CLIENT_SYNCHRONIZE.ordinal(),
+                    otherPartyId, ownPartyId
+                );
+                receive(clientSynchronizeHeader);
+                DataPacketHeader serverSynchronizeHeader = new DataPacketHeader(
+                    Long.MAX_VALUE - ownPartyId, FilePtoDesc.getInstance().getPtoId(), StepEnum.SERVER_SYNCHRONIZE.ordinal(),
+                    ownPartyId, otherPartyId
+                );
+                send(DataPacket.fromByteArrayList(serverSynchronizeHeader, new LinkedList<>()));
+            }
+        });
+        LOGGER.info("{} synchronized", ownParty);
+    }
+
+    private String getFileName(DataPacketHeader header, String suffix) {
+        // testId_PtoId_StepId_extraInfo_senderId_receiverId_suffix
+        return header.getEncodeTaskId()
+            + FILE_NAME_SEPARATOR + header.getPtoId()
+            + FILE_NAME_SEPARATOR + header.getStepId()
+            + FILE_NAME_SEPARATOR + header.getExtraInfo()
+            + FILE_NAME_SEPARATOR + header.getSenderId()
+            + FILE_NAME_SEPARATOR + header.getReceiverId()
+            + FILE_NAME_SEPARATOR + suffix;
+    }
+
+    private DataPacketHeader[] getReceivedDataPacketHeaders() {
+        // read all payload files
+        Path ownPath = Paths.get(ownParty.getPartyFilePath());
+        try (Stream<Path> paths = Files.list(ownPath)) {
+            return paths
+                .map(path -> path.getFileName().toString())
+                .map(fileName -> fileName.split(FILE_NAME_SEPARATOR))
+                // valid file name
+                .filter(splitFileName -> splitFileName.length == FILE_NAME_SPLIT_NUM)
+                // given receiver, data packets for synchronization are excluded
+                .filter(splitFileName ->
+                    splitFileName[FILE_NAME_SPLIT_NUM - 1].equals(FILE_PAYLOAD_SUFFIX)
+                    && Integer.parseInt(splitFileName[5]) == ownPartyId
+                    && Integer.parseInt(splitFileName[1]) != FilePtoDesc.getInstance().getPtoId()
+                )
+                .map(splitFileName -> {
+                    long taskId = Long.parseLong(splitFileName[0]);
+                    int ptoId = Integer.parseInt(splitFileName[1]);
+                    int stepId = Integer.parseInt(splitFileName[2]);
+                    int senderId = Integer.parseInt(splitFileName[4]);
+                    long extraInfo = Long.parseLong(splitFileName[3]);
+                    return new DataPacketHeader(taskId, ptoId, stepId, extraInfo, senderId, ownPartyId);
+                })
+                .toArray(DataPacketHeader[]::new);
+        } catch (IOException e) {
+            e.printStackTrace();
+            throw new IllegalStateException(ownPath + " is not a dictionary");
+        }
+    }
+
+    @Override
+    public void disconnect() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            watchService = null;
+            watchThread = null;
+        }
+        LOGGER.info("{} disconnected", ownParty);
+    }
+}
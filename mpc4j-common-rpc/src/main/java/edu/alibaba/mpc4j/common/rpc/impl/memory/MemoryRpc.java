@@ -13,6 +13,7 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 /**
@@ -140,6 +141,25 @@ public class MemoryRpc implements Rpc {
         }
     }
 
+    @Override
+    public CompletableFuture<Void> sendAsync(DataPacket dataPacket) {
+        // putting into the buffer never blocks
+        send(dataPacket);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<DataPacket> receiveAsync(DataPacketHeader header) {
+        Preconditions.checkArgument(
+            ownPartyId == header.getReceiverId(), "Receiver ID must be %s", ownPartyId
+        );
+        Preconditions.checkArgument(
+            partyIdHashMap.containsKey(header.getSenderId()),
+            "Party set does not contain Sender ID = %s", header.getSenderId()
+        );
+        return dataPacketBuffer.takeAsync(header);
+    }
+
     @Override
     public DataPacket receiveAny() {
         try {
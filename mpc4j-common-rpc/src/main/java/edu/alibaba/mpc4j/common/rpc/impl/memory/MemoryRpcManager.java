@@ -4,6 +4,8 @@ import edu.alibaba.mpc4j.common.rpc.Party;
 import edu.alibaba.mpc4j.common.rpc.Rpc;
 import edu.alibaba.mpc4j.common.rpc.RpcManager;
 import edu.alibaba.mpc4j.common.rpc.utils.DataPacketBuffer;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacketBufferFactory;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacketBufferFactory.DataPacketBufferType;
 import edu.alibaba.mpc4j.common.tool.MathPreconditions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -41,10 +43,20 @@ public class MemoryRpcManager implements RpcManager {
      * @param partyNum 参与方数量。
      */
     public MemoryRpcManager(int partyNum) {
+        this(partyNum, DataPacketBufferType.INDEXED);
+    }
+
+    /**
+     * 初始化内存通信管理器。
+     *
+     * @param partyNum   参与方数量。
+     * @param bufferType data packet buffer type.
+     */
+    public MemoryRpcManager(int partyNum, DataPacketBufferType bufferType) {
         MathPreconditions.checkGreater("partyNum", partyNum, 1);
         this.partyNum = partyNum;
         // 构建一个统一的数据包缓存区
-        DataPacketBuffer dataPacketBuffer = new DataPacketBuffer();
+        DataPacketBuffer dataPacketBuffer = DataPacketBufferFactory.createInstance(bufferType);
         // 初始化所有参与方
         memoryPartySet = new HashSet<>(partyNum);
         IntStream.range(0, partyNum).forEach(partyId -> {
@@ -0,0 +1,54 @@
+package edu.alibaba.mpc4j.common.rpc.impl.netty;
+
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacket;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import io.netty.handler.codec.MessageToMessageDecoder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary data packet decoder. It must be placed after the frame decoder created by {@link #createFrameDecoder()}. The
+ * payloads are read from the frame into the final byte arrays directly, without intermediate objects.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/5
+ */
+@ChannelHandler.Sharable
+public class BinaryDataPacketDecoder extends MessageToMessageDecoder<ByteBuf> {
+
+    /**
+     * Creates a frame decoder that splits the stream by the frame length field and strips the frame length field.
+     * Note that the frame decoder is stateful so that each channel needs its own instance.
+     *
+     * @return a frame decoder.
+     */
+    static LengthFieldBasedFrameDecoder createFrameDecoder() {
+        return new LengthFieldBasedFrameDecoder(Integer.MAX_VALUE, 0, Integer.BYTES, 0, Integer.BYTES);
+    }
+
+    @Override
+    protected void decode(ChannelHandlerContext ctx, ByteBuf frame, List<Object> out) {
+        // header
+        long encodeTaskId = frame.readLong();
+        int ptoId = frame.readInt();
+        int stepId = frame.readInt();
+        long extraInfo = frame.readLong();
+        int senderId = frame.readInt();
+        int receiverId = frame.readInt();
+        DataPacketHeader header = new DataPacketHeader(encodeTaskId, ptoId, stepId, extraInfo, senderId, receiverId);
+        // payloads
+        int payloadNum = frame.readInt();
+        List<byte[]> payload = new ArrayList<>(payloadNum);
+        for (int index = 0; index < payloadNum; index++) {
+            byte[] data = new byte[frame.readInt()];
+            frame.readBytes(data);
+            payload.add(data);
+        }
+        out.add(DataPacket.fromByteArrayList(header, payload));
+    }
+}
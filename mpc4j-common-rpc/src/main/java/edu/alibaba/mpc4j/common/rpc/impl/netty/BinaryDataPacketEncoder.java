@@ -0,0 +1,104 @@
+package edu.alibaba.mpc4j.common.rpc.impl.netty;
+
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacket;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.MessageToMessageEncoder;
+
+import java.util.List;
+
+/**
+ * Binary data packet encoder. The frame format is:
+ * <li>frame length (int): the byte length of the rest of the frame.</li>
+ * <li>header (32 bytes): encodeTaskId, ptoId, stepId, extraInfo, senderId, receiverId.</li>
+ * <li>payload num (int): the number of byte arrays in the payload.</li>
+ * <li>payloads: each payload is encoded as its byte length (int) followed by the data.</li>
+ * <p>
+ * Small payloads are copied into a pooled buffer taken from the channel allocator. Large payloads are wrapped (not
+ * copied) and added as components of a composite buffer. Therefore, the caller must not modify the payloads after
+ * sending them, which is the same requirement as in MemoryRpc.
+ * </p>
+ *
+ * @author Weiran Liu
+ * @date 2023/7/5
+ */
+@ChannelHandler.Sharable
+public class BinaryDataPacketEncoder extends MessageToMessageEncoder<DataPacket> {
+    /**
+     * header byte length
+     */
+    static final int HEADER_BYTE_LENGTH = Long.BYTES + Integer.BYTES + Integer.BYTES + Long.BYTES + Integer.BYTES + Integer.BYTES;
+    /**
+     * payloads with at least this byte length are wrapped instead of being copied.
+     */
+    private static final int WRAP_THRESHOLD_BYTE_LENGTH = 1 << 10;
+    /**
+     * initial capacity for buffers storing lengths and small payloads.
+     */
+    private static final int INLINE_INITIAL_CAPACITY = 1 << 8;
+
+    /**
+     * Gets the number of bytes that the data packet occupies on the wire.
+     *
+     * @param dataPacket the data packet.
+     * @return the number of bytes on the wire.
+     */
+    static long getFrameByteLength(DataPacket dataPacket) {
+        List<byte[]> payload = dataPacket.getPayload();
+        long byteLength = Integer.BYTES + HEADER_BYTE_LENGTH + Integer.BYTES;
+        for (byte[] data : payload) {
+            byteLength += Integer.BYTES + data.length;
+        }
+        return byteLength;
+    }
+
+    @Override
+    protected void encode(ChannelHandlerContext ctx, DataPacket dataPacket, List<Object> out) {
+        long frameByteLength = getFrameByteLength(dataPacket);
+        if (frameByteLength - Integer.BYTES > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(
+                "Data packet is too large to be encoded in one frame: " + frameByteLength + " bytes"
+            );
+        }
+        List<byte[]> payload = dataPacket.getPayload();
+        CompositeByteBuf frame = ctx.alloc().compositeBuffer(Integer.MAX_VALUE);
+        ByteBuf inline = ctx.alloc().buffer(INLINE_INITIAL_CAPACITY);
+        try {
+            // frame length and header
+            inline.writeInt((int) (frameByteLength - Integer.BYTES));
+            DataPacketHeader header = dataPacket.getHeader();
+            inline.writeLong(header.getEncodeTaskId());
+            inline.writeInt(header.getPtoId());
+            inline.writeInt(header.getStepId());
+            inline.writeLong(header.getExtraInfo());
+            inline.writeInt(header.getSenderId());
+            inline.writeInt(header.getReceiverId());
+            inline.writeInt(payload.size());
+            // payloads
+            for (byte[] data : payload) {
+                inline.writeInt(data.length);
+                if (data.length < WRAP_THRESHOLD_BYTE_LENGTH) {
+                    inline.writeBytes(data);
+                } else {
+                    // flush current inline buffer, then wrap the large payload without copying
+                    frame.addComponent(true, inline);
+                    frame.addComponent(true, Unpooled.wrappedBuffer(data));
+                    inline = ctx.alloc().buffer(INLINE_INITIAL_CAPACITY);
+                }
+            }
+            frame.addComponent(true, inline);
+            inline = null;
+            out.add(frame);
+        } catch (RuntimeException e) {
+            if (inline != null) {
+                inline.release();
+            }
+            frame.release();
+            throw e;
+        }
+    }
+}
@@ -24,13 +24,32 @@ public class DataReceiveHandler extends ChannelInboundHandlerAdapter {
      * 缓冲区
      */
     private final DataPacketBuffer dataPacketBuffer;
+    /**
+     * buffer for data packets of the Netty protocol itself
+     */
+    private final DataPacketBuffer nettyPtoDataPacketBuffer;
 
-    DataReceiveHandler(DataPacketBuffer dataPacketBuffer) {
+    DataReceiveHandler(DataPacketBuffer dataPacketBuffer, DataPacketBuffer nettyPtoDataPacketBuffer) {
         this.dataPacketBuffer = dataPacketBuffer;
+        this.nettyPtoDataPacketBuffer = nettyPtoDataPacketBuffer;
+    }
+
+    private void put(DataPacket dataPacket) {
+        // data packets of the Netty protocol itself are separated, so that receiveAny() never takes them
+        if (dataPacket.getHeader().getPtoId() == NettyPtoDesc.getInstance().getPtoId()) {
+            nettyPtoDataPacketBuffer.put(dataPacket);
+        } else {
+            dataPacketBuffer.put(dataPacket);
+        }
     }
 
     @Override
     public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        if (msg instanceof DataPacket) {
+            // the binary codec has already decoded the data packet, put it into the buffer directly
+            put((DataPacket) msg);
+            return;
+        }
         // 读取channel中发过来的数据，并给予protobuf规则进行解析
         NettyRpcProtobuf.DataPacketProto dataPacketProto = (NettyRpcProtobuf.DataPacketProto)msg;
         // 恢复数据包head
@@ -48,7 +67,7 @@ public class DataReceiveHandler extends ChannelInboundHandlerAdapter {
             .map(ByteString::toByteArray)
             .collect(Collectors.toList());
         // 放入数据缓存区
-        dataPacketBuffer.put(DataPacket.fromByteArrayList(header, payload));
+        put(DataPacket.fromByteArrayList(header, payload));
     }
 
     @Override
@@ -35,6 +35,14 @@ public class DataReceiveThread extends Thread {
      * 数据缓冲区
      */
     private final DataPacketBuffer dataPacketBuffer;
+    /**
+     * buffer for data packets of the Netty protocol itself
+     */
+    private final DataPacketBuffer nettyPtoDataPacketBuffer;
+    /**
+     * codec type
+     */
+    private final NettyCodecType codecType;
     /**
      * BossGroup用来处理nio的Accept
      */
@@ -53,11 +61,17 @@ public class DataReceiveThread extends Thread {
      *
      * @param ownParty 参与方自身信息
      * @param cyclicBarrier 用于线程同步的cyclicBarrier
+     * @param dataPacketBuffer 数据缓冲区
+     * @param nettyPtoDataPacketBuffer buffer for data packets of the Netty protocol itself
+     * @param codecType codec type
      */
-    public DataReceiveThread(NettyParty ownParty, CyclicBarrier cyclicBarrier, DataPacketBuffer dataPacketBuffer) {
+    public DataReceiveThread(NettyParty ownParty, CyclicBarrier cyclicBarrier, DataPacketBuffer dataPacketBuffer,
+                             DataPacketBuffer nettyPtoDataPacketBuffer, NettyCodecType codecType) {
         this.ownParty = ownParty;
         this.dataPacketBuffer = dataPacketBuffer;
+        this.nettyPtoDataPacketBuffer = nettyPtoDataPacketBuffer;
         this.cyclicBarrier = cyclicBarrier;
+        this.codecType = codecType;
         bossGroup = null;
         workerGroup = null;
         channel = null;
@@ -66,7 +80,8 @@ public class DataReceiveThread extends Thread {
     @Override
     public void run() {
         try {
-            DataReceiveHandler dataReceiveHandler = new DataReceiveHandler(dataPacketBuffer);
+            DataReceiveHandler dataReceiveHandler = new DataReceiveHandler(dataPacketBuffer, nettyPtoDataPacketBuffer);
+            BinaryDataPacketDecoder binaryDataPacketDecoder = new BinaryDataPacketDecoder();
             // (1) 创建EventLoopGroup
             bossGroup = new NioEventLoopGroup();
             workerGroup = new NioEventLoopGroup();
@@ -81,11 +96,24 @@ public class DataReceiveThread extends Thread {
                 .childHandler(new ChannelInitializer<SocketChannel>() {
                     @Override
                     public void initChannel(SocketChannel ch) {
-                        // 由于使用protobuf作为协议解析，需要先添加以下两个Decoder()
-                        ch.pipeline().addLast(new ProtobufVarint32FrameDecoder());
-                        ch.pipeline().addLast(
-                            new ProtobufDecoder(NettyRpcProtobuf.DataPacketProto.getDefaultInstance())
-                        );
+                        switch (codecType) {
+                            case PROTOBUF:
+                                // 由于使用protobuf作为协议解析，需要先添加以下两个Decoder()
+                                ch.pipeline().addLast(new ProtobufVarint32FrameDecoder());
+                                ch.pipeline().addLast(
+                                    new ProtobufDecoder(NettyRpcProtobuf.DataPacketProto.getDefaultInstance())
+                                );
+                                break;
+                            case BINARY:
+                                // the frame decoder is stateful, each channel needs its own instance
+                                ch.pipeline().addLast(BinaryDataPacketDecoder.createFrameDecoder());
+                                ch.pipeline().addLast(binaryDataPacketDecoder);
+                                break;
+                            default:
+                                throw new IllegalStateException(
+                                    "Invalid " + NettyCodecType.class.getSimpleName() + ": " + codecType.name()
+                                );
+                        }
                         // 自定义的协议解析handler
                         ch.pipeline().addLast(dataReceiveHandler);
                     }
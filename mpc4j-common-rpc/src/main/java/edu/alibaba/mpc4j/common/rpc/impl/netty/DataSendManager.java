@@ -1,77 +1,115 @@
 package edu.alibaba.mpc4j.common.rpc.impl.netty;
 
 import com.google.common.base.Preconditions;
+import com.google.protobuf.CodedOutputStream;
 import edu.alibaba.mpc4j.common.rpc.impl.netty.protobuf.NettyRpcProtobuf;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacket;
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelInitializer;
 import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.pool.*;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.codec.protobuf.ProtobufEncoder;
 import io.netty.handler.codec.protobuf.ProtobufVarint32LengthFieldPrepender;
-import io.netty.util.concurrent.Future;
-import io.netty.util.concurrent.FutureListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * 数据发送方管理器，只负责发送数据，使用channelPool来维持一个连接池
+ * 数据发送方管理器，只负责发送数据。每个接收方维持channelNum个连接，数据包按照(encodeTaskId, ptoId)的哈希值分配到连接上，
+ * 使得同一协议的数据包保持顺序，而相互独立的子协议可以并行发送。
  *
  * @author Li Peng, Weiran Liu
  * @date 2020/10/12
  */
 public class DataSendManager {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DataSendManager.class);
+    /**
+     * max number of connection attempts. The receiver may not have started its server when connecting.
+     */
+    private static final int MAX_CONNECT_ATTEMPTS = 100;
+    /**
+     * time interval between connection attempts, in milliseconds
+     */
+    private static final long CONNECT_RETRY_INTERVAL = 100;
     /**
      * ClientHandler
      */
     private final DataSendHandler dataSendHandler;
+    /**
+     * binary data packet encoder
+     */
+    private final BinaryDataPacketEncoder binaryDataPacketEncoder;
+    /**
+     * codec type
+     */
+    private final NettyCodecType codecType;
+    /**
+     * number of channels for each receiver
+     */
+    private final int channelNum;
     /**
      * 引导
      */
     private final Bootstrap senderBootstrap;
     /**
-     * 用于管理不同连接池的map，其中每个key对应一个远程地址
+     * receiver address -> channels
      */
-    public ChannelPoolMap<InetSocketAddress, FixedChannelPool> poolMap;
+    private final ConcurrentHashMap<InetSocketAddress, ChannelStripe[]> channelStripesMap;
+
+    /**
+     * 构建client，每个接收方使用1个连接。
+     *
+     * @param codecType codec type.
+     */
+    public DataSendManager(NettyCodecType codecType) {
+        this(codecType, 1);
+    }
 
     /**
      * 构建client。
+     *
+     * @param codecType  codec type.
+     * @param channelNum number of channels for each receiver.
      */
-    public DataSendManager() {
+    public DataSendManager(NettyCodecType codecType, int channelNum) {
+        MathPreconditions.checkPositive("channelNum", channelNum);
+        this.codecType = codecType;
+        this.channelNum = channelNum;
         dataSendHandler = new DataSendHandler();
+        binaryDataPacketEncoder = new BinaryDataPacketEncoder();
+        channelStripesMap = new ConcurrentHashMap<>();
         senderBootstrap = new Bootstrap();
         // 非阻塞模式
         senderBootstrap.group(new NioEventLoopGroup()).channel(NioSocketChannel.class);
-        // 设置channelPool
-        poolMap = new AbstractChannelPoolMap<InetSocketAddress, FixedChannelPool>() {
+        senderBootstrap.handler(new ChannelInitializer<SocketChannel>() {
             @Override
-            protected FixedChannelPool newPool(InetSocketAddress key) {
-                ChannelPoolHandler handler = new ChannelPoolHandler() {
-
-                    @Override
-                    public void channelReleased(Channel ch) {
-
-                    }
-
-                    @Override
-                    public void channelCreated(Channel channel) {
-                        // 创建连接时添加clientHandler，只有当channel不足时会创建，但不会超过限制的最大channel数
-                        SocketChannel ch = (SocketChannel)channel;
+            protected void initChannel(SocketChannel ch) {
+                // 创建连接时添加clientHandler
+                switch (codecType) {
+                    case PROTOBUF:
                         ch.pipeline().addLast(new ProtobufVarint32LengthFieldPrepender());
                         ch.pipeline().addLast(new ProtobufEncoder());
-                        ch.pipeline().addLast(dataSendHandler);
-                    }
-
-                    @Override
-                    public void channelAcquired(Channel ch) {
-
-                    }
-                };
-                // 单个host连接池大小，maxConnections暂时设置成20，设置得过小（如3）运行时会出错。
-                return new FixedChannelPool(senderBootstrap.remoteAddress(key), handler, 20);
+                        break;
+                    case BINARY:
+                        // the binary encoder writes the frame length by itself
+                        ch.pipeline().addLast(binaryDataPacketEncoder);
+                        break;
+                    default:
+                        throw new IllegalStateException(
+                            "Invalid " + NettyCodecType.class.getSimpleName() + ": " + codecType.name()
+                        );
+                }
+                ch.pipeline().addLast(dataSendHandler);
             }
-        };
+        });
     }
 
     /**
@@ -79,22 +117,167 @@ public class DataSendManager {
      *
      * @param receiver        接收方。
      * @param dataPacketProto 用protobuf封装的数据包。
+     * @return 发送结果。
      */
-    public void sendData(NettyParty receiver, NettyRpcProtobuf.DataPacketProto dataPacketProto) {
-        // 首先获取receiver主机对应的channelPool
-        Preconditions.checkNotNull(dataPacketProto);
-        // poolMap.get永远会返回一个pool。如果key对应的pool还不存在，那会新建一个pool并返回
-        SimpleChannelPool simpleChannelPool = this.poolMap.get(
-            new InetSocketAddress(receiver.getHost(), receiver.getPort())
+    public ChannelFuture sendData(NettyParty receiver, NettyRpcProtobuf.DataPacketProto dataPacketProto) {
+        Preconditions.checkArgument(codecType.equals(NettyCodecType.PROTOBUF));
+        NettyRpcProtobuf.DataPacketProto.HeaderProto headerProto = dataPacketProto.getHeaderProto();
+        int channelIndex = getChannelIndex(headerProto.getTaskId(), headerProto.getPtoId(), channelNum);
+        // the serialized size is memoized by protobuf
+        int serializedSize = dataPacketProto.getSerializedSize();
+        long frameByteLength = CodedOutputStream.computeUInt32SizeNoTag(serializedSize) + serializedSize;
+        return sendMessage(receiver, channelIndex, dataPacketProto, frameByteLength);
+    }
+
+    /**
+     * Sends the data packet, which is encoded by the binary codec.
+     *
+     * @param receiver   the receiver.
+     * @param dataPacket the data packet.
+     * @return the future of the write.
+     */
+    public ChannelFuture sendData(NettyParty receiver, DataPacket dataPacket) {
+        Preconditions.checkArgument(codecType.equals(NettyCodecType.BINARY));
+        int channelIndex = getChannelIndex(
+            dataPacket.getHeader().getEncodeTaskId(), dataPacket.getHeader().getPtoId(), channelNum
         );
-        // 从连接池中尝试获取一个channel
-        Future<Channel> f = simpleChannelPool.acquire();
-        f.addListener((FutureListener<Channel>)futureChannel -> {
-            if (futureChannel.isSuccess()) {
-                Channel ch = futureChannel.getNow();
-                ch.writeAndFlush(dataPacketProto);
-                simpleChannelPool.release(ch);
+        long frameByteLength = BinaryDataPacketEncoder.getFrameByteLength(dataPacket);
+        return sendMessage(receiver, channelIndex, dataPacket, frameByteLength);
+    }
+
+    /**
+     * Gets the channel index for the data packet. Data packets with the same (encodeTaskId, ptoId) are sent by the
+     * same channel, so that they are received in the order of sending.
+     *
+     * @param encodeTaskId the encoded task ID.
+     * @param ptoId        the protocol ID.
+     * @param channelNum   number of channels.
+     * @return the channel index.
+     */
+    static int getChannelIndex(long encodeTaskId, int ptoId, int channelNum) {
+        if (channelNum == 1) {
+            return 0;
+        }
+        long hash = encodeTaskId * 0x9E3779B97F4A7C15L + ptoId;
+        // mix the high bits into the low bits
+        hash ^= (hash >>> 32);
+        hash ^= (hash >>> 16);
+        return (int) Math.floorMod(hash, (long) channelNum);
+    }
+
+    private ChannelFuture sendMessage(NettyParty receiver, int channelIndex, Object message, long frameByteLength) {
+        Preconditions.checkNotNull(message);
+        ChannelStripe channelStripe = getChannelStripes(receiver)[channelIndex];
+        channelStripe.sendByteLength.addAndGet(frameByteLength);
+        channelStripe.sendDataPacketNum.incrementAndGet();
+        // messages written by the same thread to the same channel keep their order
+        return channelStripe.getChannel().writeAndFlush(message);
+    }
+
+    private ChannelStripe[] getChannelStripes(NettyParty receiver) {
+        InetSocketAddress address = new InetSocketAddress(receiver.getHost(), receiver.getPort());
+        return channelStripesMap.computeIfAbsent(address, key -> {
+            ChannelStripe[] channelStripes = new ChannelStripe[channelNum];
+            for (int channelIndex = 0; channelIndex < channelNum; channelIndex++) {
+                channelStripes[channelIndex] = new ChannelStripe(key);
             }
+            return channelStripes;
         });
     }
+
+    /**
+     * Gets the send byte lengths of all channels to the receiver.
+     *
+     * @param receiver the receiver.
+     * @return the send byte lengths, indexed by the channel index.
+     */
+    public long[] getChannelSendByteLengths(NettyParty receiver) {
+        return Arrays.stream(getChannelStripes(receiver))
+            .mapToLong(channelStripe -> channelStripe.sendByteLength.get())
+            .toArray();
+    }
+
+    /**
+     * Gets the numbers of data packets sent by all channels to the receiver.
+     *
+     * @param receiver the receiver.
+     * @return the numbers of sent data packets, indexed by the channel index.
+     */
+    public long[] getChannelSendDataPacketNums(NettyParty receiver) {
+        return Arrays.stream(getChannelStripes(receiver))
+            .mapToLong(channelStripe -> channelStripe.sendDataPacketNum.get())
+            .toArray();
+    }
+
+    /**
+     * Resets the counters of all channels.
+     */
+    public void reset() {
+        channelStripesMap.values().stream()
+            .flatMap(Arrays::stream)
+            .forEach(channelStripe -> {
+                channelStripe.sendByteLength.set(0);
+                channelStripe.sendDataPacketNum.set(0);
+            });
+    }
+
+    /**
+     * a channel to the receiver, with its counters.
+     */
+    private class ChannelStripe {
+        /**
+         * the receiver address
+         */
+        private final InetSocketAddress address;
+        /**
+         * send byte length
+         */
+        private final AtomicLong sendByteLength;
+        /**
+         * number of sent data packets
+         */
+        private final AtomicLong sendDataPacketNum;
+        /**
+         * the channel, created on first use
+         */
+        private volatile Channel channel;
+
+        private ChannelStripe(InetSocketAddress address) {
+            this.address = address;
+            sendByteLength = new AtomicLong();
+            sendDataPacketNum = new AtomicLong();
+            channel = null;
+        }
+
+        private Channel getChannel() {
+            Channel currentChannel = channel;
+            if (currentChannel != null && currentChannel.isActive()) {
+                return currentChannel;
+            }
+            synchronized (this) {
+                if (channel == null || !channel.isActive()) {
+                    channel = connect();
+                }
+                return channel;
+            }
+        }
+
+        private Channel connect() {
+            for (int attempt = 1; attempt <= MAX_CONNECT_ATTEMPTS; attempt++) {
+                ChannelFuture channelFuture = senderBootstrap.connect(address).awaitUninterruptibly();
+                if (channelFuture.isSuccess()) {
+                    return channelFuture.channel();
+                }
+                // the receiver may not have started its server, try again later
+                LOGGER.debug("Connect to {} failed ({} / {})", address, attempt, MAX_CONNECT_ATTEMPTS);
+                try {
+                    Thread.sleep(CONNECT_RETRY_INTERVAL);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            throw new IllegalStateException("Cannot connect to " + address);
+        }
+    }
 }
@@ -0,0 +1,122 @@
+package edu.alibaba.mpc4j.common.rpc.impl.netty;
+
+import com.google.common.base.Preconditions;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * LZ4 payload compressor for NettyRpc. Payloads are compressed in the LZ4 block mode. Once compression is negotiated
+ * between two parties, each payload sent between them carries a trailing flag element:
+ * <li>raw payload: the original payload followed by the 1-byte flag 0x00.</li>
+ * <li>compressed payload: one LZ4 block followed by the 5-byte flag 0x01 || (int) serialized byte length.</li>
+ * The serialized payload is the concatenation of (int) length || bytes for all elements. A payload is compressed only
+ * if its byte length reaches the threshold and compression actually reduces its size.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/8
+ */
+public class Lz4PayloadCompressor {
+    /**
+     * private constructor.
+     */
+    private Lz4PayloadCompressor() {
+        // empty
+    }
+
+    /**
+     * flag of the raw payload
+     */
+    private static final byte RAW_FLAG = 0x00;
+    /**
+     * flag of the compressed payload
+     */
+    private static final byte COMPRESSED_FLAG = 0x01;
+    /**
+     * flag element of the raw payload
+     */
+    private static final byte[] RAW_FLAG_BYTES = new byte[] {RAW_FLAG};
+    /**
+     * LZ4 compressor, thread-safe
+     */
+    private static final LZ4Compressor COMPRESSOR = LZ4Factory.fastestInstance().fastCompressor();
+    /**
+     * LZ4 decompressor, thread-safe
+     */
+    private static final LZ4FastDecompressor DECOMPRESSOR = LZ4Factory.fastestInstance().fastDecompressor();
+
+    /**
+     * Compresses the payload if its byte length reaches the threshold.
+     *
+     * @param payload   the payload.
+     * @param threshold the threshold.
+     * @return the flagged payload.
+     */
+    public static List<byte[]> compress(List<byte[]> payload, int threshold) {
+        long byteLength = payload.stream().mapToLong(data -> data.length).sum();
+        if (byteLength >= threshold) {
+            long serializedByteLength = byteLength + (long) payload.size() * Integer.BYTES;
+            if (serializedByteLength <= Integer.MAX_VALUE) {
+                ByteBuffer serializedByteBuffer = ByteBuffer.allocate((int) serializedByteLength);
+                for (byte[] data : payload) {
+                    serializedByteBuffer.putInt(data.length);
+                    serializedByteBuffer.put(data);
+                }
+                byte[] serialized = serializedByteBuffer.array();
+                byte[] compressed = new byte[COMPRESSOR.maxCompressedLength(serialized.length)];
+                int compressedByteLength = COMPRESSOR.compress(serialized, compressed);
+                // only use compression if it is smaller than the raw payload itself
+                if (compressedByteLength < byteLength) {
+                    List<byte[]> flaggedPayload = new ArrayList<>(2);
+                    flaggedPayload.add(Arrays.copyOf(compressed, compressedByteLength));
+                    flaggedPayload.add(ByteBuffer.allocate(Byte.BYTES + Integer.BYTES)
+                        .put(COMPRESSED_FLAG)
+                        .putInt(serialized.length)
+                        .array()
+                    );
+                    return flaggedPayload;
+                }
+            }
+        }
+        // send raw payload
+        List<byte[]> flaggedPayload = new ArrayList<>(payload.size() + 1);
+        flaggedPayload.addAll(payload);
+        flaggedPayload.add(RAW_FLAG_BYTES);
+        return flaggedPayload;
+    }
+
+    /**
+     * Decompresses the flagged payload.
+     *
+     * @param flaggedPayload the flagged payload.
+     * @return the payload.
+     */
+    public static List<byte[]> decompress(List<byte[]> flaggedPayload) {
+        Preconditions.checkArgument(flaggedPayload.size() > 0, "flagged payload must contain the flag");
+        ByteBuffer flagByteBuffer = ByteBuffer.wrap(flaggedPayload.get(flaggedPayload.size() - 1));
+        byte flag = flagByteBuffer.get();
+        switch (flag) {
+            case RAW_FLAG:
+                return new ArrayList<>(flaggedPayload.subList(0, flaggedPayload.size() - 1));
+            case COMPRESSED_FLAG:
+                Preconditions.checkArgument(flaggedPayload.size() == 2, "compressed payload must contain one block");
+                int serializedByteLength = flagByteBuffer.getInt();
+                byte[] serialized = DECOMPRESSOR.decompress(flaggedPayload.get(0), serializedByteLength);
+                ByteBuffer serializedByteBuffer = ByteBuffer.wrap(serialized);
+                List<byte[]> payload = new ArrayList<>();
+                while (serializedByteBuffer.hasRemaining()) {
+                    byte[] data = new byte[serializedByteBuffer.getInt()];
+                    serializedByteBuffer.get(data);
+                    payload.add(data);
+                }
+                return payload;
+            default:
+                throw new IllegalArgumentException("Invalid payload flag: " + flag);
+        }
+    }
+}
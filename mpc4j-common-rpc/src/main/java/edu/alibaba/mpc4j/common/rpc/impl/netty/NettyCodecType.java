@@ -0,0 +1,19 @@
+package edu.alibaba.mpc4j.common.rpc.impl.netty;
+
+/**
+ * Netty codec type, i.e., how data packets are serialized on the wire.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/5
+ */
+public enum NettyCodecType {
+    /**
+     * protobuf codec. Each payload is copied into a ByteString when sending, and copied back when receiving.
+     */
+    PROTOBUF,
+    /**
+     * binary codec. A compact fixed-length header followed by length-prefixed payloads. Large payloads are wrapped
+     * directly into composite buffers without being copied into intermediate objects.
+     */
+    BINARY,
+}
@@ -2,20 +2,27 @@ package edu.alibaba.mpc4j.common.rpc.impl.netty;
 
 import com.google.common.base.Preconditions;
 import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
 import edu.alibaba.mpc4j.common.rpc.Party;
 import edu.alibaba.mpc4j.common.rpc.Rpc;
 import edu.alibaba.mpc4j.common.rpc.impl.netty.protobuf.NettyRpcProtobuf;
 import edu.alibaba.mpc4j.common.rpc.utils.DataPacket;
 import edu.alibaba.mpc4j.common.rpc.utils.DataPacketBuffer;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacketBufferFactory;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacketBufferFactory.DataPacketBufferType;
 import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
+import io.netty.channel.ChannelFuture;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CyclicBarrier;
 import java.util.stream.Collectors;
 
@@ -27,6 +34,10 @@ import java.util.stream.Collectors;
  */
 public class NettyRpc implements Rpc {
     private static final Logger LOGGER = LoggerFactory.getLogger(NettyRpc.class);
+    /**
+     * compression is disabled
+     */
+    public static final int NO_COMPRESS = -1;
     /**
      * 参与方ID映射
      */
@@ -43,10 +54,30 @@ public class NettyRpc implements Rpc {
      * 数据接收缓存区
      */
     private final DataPacketBuffer dataPacketBuffer;
+    /**
+     * buffer for data packets of the Netty protocol itself (connect, synchronize and disconnect)
+     */
+    private final DataPacketBuffer nettyPtoDataPacketBuffer;
     /**
      * CyclicBarrier，用于多线程同步
      */
     private final CyclicBarrier cyclicBarrier;
+    /**
+     * codec type
+     */
+    private final NettyCodecType codecType;
+    /**
+     * payloads with byte length at least the threshold are compressed, NO_COMPRESS if compression is disabled
+     */
+    private int compressThreshold;
+    /**
+     * IDs of parties that have negotiated compression with own party
+     */
+    private final Set<Integer> compressPartyIdSet;
+    /**
+     * number of channels to each party
+     */
+    private int channelNum;
     /**
      * 数据接收线程
      */
@@ -67,18 +98,48 @@ public class NettyRpc implements Rpc {
      * 发送字节长度
      */
     private long sendByteLength;
+    /**
+     * send byte length before compression
+     */
+    private long rawSendByteLength;
 
     /**
-     * 构建NettyRPC。
+     * 构建NettyRPC，使用protobuf编码数据包。
      *
      * @param ownParty 参与方信息。
+     * @param partySet 参与方集合。
      */
     public NettyRpc(NettyParty ownParty, Set<NettyParty> partySet) {
+        this(ownParty, partySet, NettyCodecType.PROTOBUF);
+    }
+
+    /**
+     * 构建NettyRPC。
+     *
+     * @param ownParty  参与方信息。
+     * @param partySet  参与方集合。
+     * @param codecType codec type.
+     */
+    public NettyRpc(NettyParty ownParty, Set<NettyParty> partySet, NettyCodecType codecType) {
+        this(ownParty, partySet, codecType, DataPacketBufferType.INDEXED);
+    }
+
+    /**
+     * 构建NettyRPC。
+     *
+     * @param ownParty   参与方信息。
+     * @param partySet   参与方集合。
+     * @param codecType  codec type.
+     * @param bufferType data packet buffer type.
+     */
+    public NettyRpc(NettyParty ownParty, Set<NettyParty> partySet, NettyCodecType codecType,
+                    DataPacketBufferType bufferType) {
         // 所有参与方的数量必须大于1
         Preconditions.checkArgument(partySet.size() > 1, "Party set size must be greater than 1");
         // 参与方自身必须在所有参与方之中
         Preconditions.checkArgument(partySet.contains(ownParty), "Party set must contain own party");
         this.ownParty = ownParty;
+        this.codecType = codecType;
         ownPartyId = ownParty.getPartyId();
         // 按照参与方索引值，将参与方信息插入到ID映射中
         partyIdHashMap = new HashMap<>();
@@ -86,10 +147,41 @@ public class NettyRpc implements Rpc {
         dataPacketNum = 0;
         payloadByteLength = 0;
         sendByteLength = 0;
+        rawSendByteLength = 0;
+        compressThreshold = NO_COMPRESS;
+        compressPartyIdSet = new HashSet<>();
+        channelNum = 1;
         dataReceiveThread = null;
         // 用于父线程和server子线程的同步，parties设置成2
         cyclicBarrier = new CyclicBarrier(2);
-        dataPacketBuffer = new DataPacketBuffer();
+        dataPacketBuffer = DataPacketBufferFactory.createInstance(bufferType);
+        nettyPtoDataPacketBuffer = DataPacketBufferFactory.createInstance(bufferType);
+    }
+
+    /**
+     * Enables LZ4 compression for payloads with byte length at least the threshold. Compression is used between two
+     * parties only if both parties enable it, which is negotiated in connect(). It must be set before connect().
+     *
+     * @param compressThreshold the threshold, or NO_COMPRESS to disable compression.
+     */
+    public void setCompressThreshold(int compressThreshold) {
+        Preconditions.checkArgument(dataReceiveThread == null, "Compression must be set before connect()");
+        if (compressThreshold != NO_COMPRESS) {
+            MathPreconditions.checkNonNegative("compressThreshold", compressThreshold);
+        }
+        this.compressThreshold = compressThreshold;
+    }
+
+    /**
+     * Sets the number of channels to each party. Data packets with the same (encodeTaskId, ptoId) are sent by the same
+     * channel, so that independent sub-protocols can be sent in parallel. It must be set before connect().
+     *
+     * @param channelNum number of channels to each party.
+     */
+    public void setChannelNum(int channelNum) {
+        Preconditions.checkArgument(dataReceiveThread == null, "Number of channels must be set before connect()");
+        MathPreconditions.checkPositive("channelNum", channelNum);
+        this.channelNum = channelNum;
     }
 
     @Override
@@ -111,10 +203,12 @@ public class NettyRpc implements Rpc {
     @Override
     public void connect() {
         // 先开启数据接收服务
-        dataReceiveThread = new DataReceiveThread(ownParty, cyclicBarrier, dataPacketBuffer);
+        dataReceiveThread = new DataReceiveThread(
+            ownParty, cyclicBarrier, dataPacketBuffer, nettyPtoDataPacketBuffer, codecType
+        );
         dataReceiveThread.start();
         // 再开启数据发送服务
-        dataSendManager = new DataSendManager();
+        dataSendManager = new DataSendManager(codecType, channelNum);
         partyIdHashMap.keySet().stream().sorted().forEach(otherPartyId -> {
             if (otherPartyId < ownPartyId) {
                 // 如果对方排序比自己小，则自己是client，先给对方发送连接信息
@@ -122,7 +216,10 @@ public class NettyRpc implements Rpc {
                     Long.MAX_VALUE - ownPartyId, NettyPtoDesc.getInstance().getPtoId(), NettyPtoDesc.StepEnum.CLIENT_CONNECT.ordinal(),
                     ownPartyId, otherPartyId
                 );
-                send(DataPacket.fromByteArrayList(clientConnectHeader, new LinkedList<>()));
+                // 连接请求中携带自己是否支持压缩
+                List<byte[]> clientConnectPayload = new LinkedList<>();
+                clientConnectPayload.add(new byte[] {(byte) (compressThreshold == NO_COMPRESS ? 0 : 1)});
+                send(DataPacket.fromByteArrayList(clientConnectHeader, clientConnectPayload));
                 LOGGER.debug(
                     "{} requests connection with {}",
                     partyIdHashMap.get(ownPartyId), partyIdHashMap.get(otherPartyId)
@@ -132,7 +229,10 @@ public class NettyRpc implements Rpc {
                     Long.MAX_VALUE - otherPartyId, NettyPtoDesc.getInstance().getPtoId(), NettyPtoDesc.StepEnum.SERVER_CONNECT.ordinal(),
                     otherPartyId, ownPartyId
                 );
-                receive(serverConnectHeader);
+                List<byte[]> serverConnectPayload = receive(serverConnectHeader).getPayload();
+                if (isCompressAgreed(serverConnectPayload)) {
+                    compressPartyIdSet.add(otherPartyId);
+                }
                 LOGGER.debug(
                     "{} successfully make connection with {}",
                     partyIdHashMap.get(ownPartyId), partyIdHashMap.get(otherPartyId)
@@ -147,13 +247,20 @@ public class NettyRpc implements Rpc {
                     "{} requests being connected with {}",
                     partyIdHashMap.get(ownPartyId), partyIdHashMap.get(otherPartyId)
                 );
-                receive(clientConnectHeader);
+                List<byte[]> clientConnectPayload = receive(clientConnectHeader).getPayload();
+                // 双方均支持压缩时才启用压缩
+                boolean compress = compressThreshold != NO_COMPRESS && isCompressAgreed(clientConnectPayload);
                 // 再回复给对方
                 DataPacketHeader serverConnectHeader = new DataPacketHeader(
                     Long.MAX_VALUE - ownPartyId, NettyPtoDesc.getInstance().getPtoId(), NettyPtoDesc.StepEnum.SERVER_CONNECT.ordinal(),
                     ownPartyId, otherPartyId
                 );
-                send(DataPacket.fromByteArrayList(serverConnectHeader, new LinkedList<>()));
+                List<byte[]> serverConnectPayload = new LinkedList<>();
+                serverConnectPayload.add(new byte[] {(byte) (compress ? 1 : 0)});
+                send(DataPacket.fromByteArrayList(serverConnectHeader, serverConnectPayload));
+                if (compress) {
+                    compressPartyIdSet.add(otherPartyId);
+                }
                 LOGGER.debug(
                     "{} successfully make connection with {}",
                     partyIdHashMap.get(ownPartyId), partyIdHashMap.get(otherPartyId)
@@ -163,8 +270,35 @@ public class NettyRpc implements Rpc {
         LOGGER.info("{} connected", ownParty);
     }
 
+    private boolean isCompressAgreed(List<byte[]> connectPayload) {
+        // a party without compression support sends an empty payload
+        return connectPayload.size() == 1 && connectPayload.get(0).length == 1 && connectPayload.get(0)[0] == 1;
+    }
+
+    private boolean isCompressed(int otherPartyId, DataPacketHeader header) {
+        // data packets of the Netty protocol itself are never compressed
+        return header.getPtoId() != NettyPtoDesc.getInstance().getPtoId() && compressPartyIdSet.contains(otherPartyId);
+    }
+
     @Override
     public void send(DataPacket dataPacket) {
+        sendData(dataPacket);
+    }
+
+    @Override
+    public CompletableFuture<Void> sendAsync(DataPacket dataPacket) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        sendData(dataPacket).addListener(channelFuture -> {
+            if (channelFuture.isSuccess()) {
+                future.complete(null);
+            } else {
+                future.completeExceptionally(channelFuture.cause());
+            }
+        });
+        return future;
+    }
+
+    private ChannelFuture sendData(DataPacket dataPacket) {
         DataPacketHeader header = dataPacket.getHeader();
         Preconditions.checkArgument(
             ownPartyId == header.getSenderId(), "Sender ID must be %s", ownPartyId
@@ -173,8 +307,25 @@ public class NettyRpc implements Rpc {
             partyIdHashMap.containsKey(header.getReceiverId()),
             "Party set does not contain Receiver ID = %s", header.getReceiverId()
         );
-        // 打包数据包head
-        NettyRpcProtobuf.DataPacketProto.HeaderProto headerProto = NettyRpcProtobuf.DataPacketProto.HeaderProto
+        payloadByteLength += dataPacket.getPayload().stream().mapToInt(data -> data.length).sum();
+        dataPacketNum++;
+        DataPacket wireDataPacket = isCompressed(header.getReceiverId(), header)
+            ? DataPacket.fromByteArrayList(header, Lz4PayloadCompressor.compress(dataPacket.getPayload(), compressThreshold))
+            : dataPacket;
+        switch (codecType) {
+            case PROTOBUF:
+                return sendProtobuf(wireDataPacket, dataPacket);
+            case BINARY:
+                return sendBinary(wireDataPacket, dataPacket);
+            default:
+                throw new IllegalStateException(
+                    "Invalid " + NettyCodecType.class.getSimpleName() + ": " + codecType.name()
+                );
+        }
+    }
+
+    private static NettyRpcProtobuf.DataPacketProto.HeaderProto createHeaderProto(DataPacketHeader header) {
+        return NettyRpcProtobuf.DataPacketProto.HeaderProto
             .newBuilder()
             .setTaskId(header.getEncodeTaskId())
             .setPtoId(header.getPtoId())
@@ -183,8 +334,28 @@ public class NettyRpc implements Rpc {
             .setSenderId(header.getSenderId())
             .setReceiverId(header.getReceiverId())
             .build();
+    }
+
+    private static long getProtobufByteLength(DataPacket dataPacket) {
+        // computes the serialized size of the DataPacketProto without building it
+        int headerByteLength = createHeaderProto(dataPacket.getHeader()).getSerializedSize();
+        long payloadByteLength = dataPacket.getPayload().stream()
+            .mapToLong(data -> CodedOutputStream.computeTagSize(1) + CodedOutputStream.computeUInt32SizeNoTag(data.length)
+                + data.length
+            )
+            .sum();
+        return CodedOutputStream.computeTagSize(1) + CodedOutputStream.computeUInt32SizeNoTag(headerByteLength)
+            + headerByteLength
+            + CodedOutputStream.computeTagSize(2) + CodedOutputStream.computeUInt32SizeNoTag((int) payloadByteLength)
+            + payloadByteLength;
+    }
+
+    private ChannelFuture sendProtobuf(DataPacket wireDataPacket, DataPacket dataPacket) {
+        DataPacketHeader header = wireDataPacket.getHeader();
+        // 打包数据包head
+        NettyRpcProtobuf.DataPacketProto.HeaderProto headerProto = createHeaderProto(header);
         // 打包数据包payload
-        List<ByteString> payloadByteStringList = dataPacket.getPayload().stream()
+        List<ByteString> payloadByteStringList = wireDataPacket.getPayload().stream()
             .map(ByteString::copyFrom)
             .collect(Collectors.toList());
         NettyRpcProtobuf.DataPacketProto.PayloadProto payloadProto = NettyRpcProtobuf.DataPacketProto.PayloadProto
@@ -197,10 +368,21 @@ public class NettyRpc implements Rpc {
             .setHeaderProto(headerProto)
             .setPayloadProto(payloadProto)
             .build();
-        payloadByteLength += dataPacket.getPayload().stream().mapToInt(data -> data.length).sum();
-        sendByteLength += dataPacketProto.getSerializedSize();
-        dataPacketNum++;
-        dataSendManager.sendData(partyIdHashMap.get(header.getReceiverId()), dataPacketProto);
+        long serializedSize = dataPacketProto.getSerializedSize();
+        sendByteLength += serializedSize;
+        // the raw byte length is the wire byte length if the payload is not compressed
+        rawSendByteLength += wireDataPacket == dataPacket ? serializedSize : getProtobufByteLength(dataPacket);
+        return dataSendManager.sendData(partyIdHashMap.get(header.getReceiverId()), dataPacketProto);
+    }
+
+    private ChannelFuture sendBinary(DataPacket wireDataPacket, DataPacket dataPacket) {
+        DataPacketHeader header = wireDataPacket.getHeader();
+        // 先统计数据包大小，再发送数据包。负载不会被复制，发送完成前不能修改负载
+        long frameByteLength = BinaryDataPacketEncoder.getFrameByteLength(wireDataPacket);
+        sendByteLength += frameByteLength;
+        rawSendByteLength += wireDataPacket == dataPacket
+            ? frameByteLength : BinaryDataPacketEncoder.getFrameByteLength(dataPacket);
+        return dataSendManager.sendData(partyIdHashMap.get(header.getReceiverId()), wireDataPacket);
     }
 
     @Override
@@ -214,23 +396,51 @@ public class NettyRpc implements Rpc {
         );
         try {
             // 尝试从缓存区中读取数据
-            return dataPacketBuffer.take(header);
+            if (header.getPtoId() == NettyPtoDesc.getInstance().getPtoId()) {
+                return nettyPtoDataPacketBuffer.take(header);
+            }
+            return decompress(dataPacketBuffer.take(header));
         } catch (InterruptedException e) {
             // 线程中断，不需要等待，直接返回空
             return null;
         }
     }
 
+    @Override
+    public CompletableFuture<DataPacket> receiveAsync(DataPacketHeader header) {
+        Preconditions.checkArgument(
+            ownPartyId == header.getReceiverId(), "Receiver ID must be %s", ownPartyId
+        );
+        Preconditions.checkArgument(
+            partyIdHashMap.containsKey(header.getSenderId()),
+            "Party set does not contain Sender ID = %s", header.getSenderId()
+        );
+        if (header.getPtoId() == NettyPtoDesc.getInstance().getPtoId()) {
+            return nettyPtoDataPacketBuffer.takeAsync(header);
+        }
+        CompletableFuture<DataPacket> future = dataPacketBuffer.takeAsync(header);
+        // decompress outside the Netty thread that completes the future
+        return isCompressed(header.getSenderId(), header) ? future.thenApplyAsync(this::decompress) : future;
+    }
+
     @Override
     public DataPacket receiveAny() {
         try {
             // 尝试从缓存区中读取数据
-            return dataPacketBuffer.take(ownPartyId);
+            return decompress(dataPacketBuffer.take(ownPartyId));
         } catch (InterruptedException e) {
             return null;
         }
     }
 
+    private DataPacket decompress(DataPacket dataPacket) {
+        DataPacketHeader header = dataPacket.getHeader();
+        if (isCompressed(header.getSenderId(), header)) {
+            return DataPacket.fromByteArrayList(header, Lz4PayloadCompressor.decompress(dataPacket.getPayload()));
+        }
+        return dataPacket;
+    }
+
     @Override
     public long getPayloadByteLength() {
         return payloadByteLength;
@@ -241,6 +451,39 @@ public class NettyRpc implements Rpc {
         return sendByteLength;
     }
 
+    @Override
+    public long getRawSendByteLength() {
+        return rawSendByteLength;
+    }
+
+    /**
+     * Gets the send byte lengths of all channels to the party.
+     *
+     * @param partyId the party ID.
+     * @return the send byte lengths, indexed by the channel index.
+     */
+    public long[] getChannelSendByteLengths(int partyId) {
+        Preconditions.checkArgument(partyId != ownPartyId && partyIdHashMap.containsKey(partyId));
+        if (dataSendManager == null) {
+            return new long[channelNum];
+        }
+        return dataSendManager.getChannelSendByteLengths(partyIdHashMap.get(partyId));
+    }
+
+    /**
+     * Gets the numbers of data packets sent by all channels to the party.
+     *
+     * @param partyId the party ID.
+     * @return the numbers of sent data packets, indexed by the channel index.
+     */
+    public long[] getChannelSendDataPacketNums(int partyId) {
+        Preconditions.checkArgument(partyId != ownPartyId && partyIdHashMap.containsKey(partyId));
+        if (dataSendManager == null) {
+            return new long[channelNum];
+        }
+        return dataSendManager.getChannelSendDataPacketNums(partyIdHashMap.get(partyId));
+    }
+
     @Override
     public long getSendDataPacketNum() {
         return dataPacketNum;
@@ -250,7 +493,11 @@ public class NettyRpc implements Rpc {
     public void reset() {
         payloadByteLength = 0;
         sendByteLength = 0;
+        rawSendByteLength = 0;
         dataPacketNum = 0;
+        if (dataSendManager != null) {
+            dataSendManager.reset();
+        }
     }
 
     @Override
@@ -39,12 +39,49 @@ public class NettyRpcManager implements RpcManager {
     private final Map<Integer, NettyRpc> nettyRpcMap;
 
     /**
-     * 初始化Netty通信管理器。
+     * 初始化Netty通信管理器，使用protobuf编码数据包。
      *
      * @param partyNum 参与方数量。
      * @param startPort 起始端口。
      */
     public NettyRpcManager(int partyNum, int startPort) {
+        this(partyNum, startPort, NettyCodecType.PROTOBUF);
+    }
+
+    /**
+     * 初始化Netty通信管理器。
+     *
+     * @param partyNum  参与方数量。
+     * @param startPort 起始端口。
+     * @param codecType codec type.
+     */
+    public NettyRpcManager(int partyNum, int startPort, NettyCodecType codecType) {
+        this(partyNum, startPort, codecType, NettyRpc.NO_COMPRESS);
+    }
+
+    /**
+     * 初始化Netty通信管理器。
+     *
+     * @param partyNum          参与方数量。
+     * @param startPort         起始端口。
+     * @param codecType         codec type.
+     * @param compressThreshold payloads with byte length at least the threshold are compressed.
+     */
+    public NettyRpcManager(int partyNum, int startPort, NettyCodecType codecType, int compressThreshold) {
+        this(partyNum, startPort, codecType, compressThreshold, 1);
+    }
+
+    /**
+     * 初始化Netty通信管理器。
+     *
+     * @param partyNum          参与方数量。
+     * @param startPort         起始端口。
+     * @param codecType         codec type.
+     * @param compressThreshold payloads with byte length at least the threshold are compressed.
+     * @param channelNum        number of channels between each pair of parties.
+     */
+    public NettyRpcManager(int partyNum, int startPort, NettyCodecType codecType, int compressThreshold,
+                           int channelNum) {
         Preconditions.checkArgument(partyNum > 1, "Number of parties must be greater than 1");
         this.partyNum = partyNum;
         nettyPartySet = new HashSet<>(partyNum);
@@ -58,7 +95,9 @@ public class NettyRpcManager implements RpcManager {
         });
         // 将所有的NettyRpc对象放到一个集合里
         for (NettyParty nettyParty : nettyPartySet) {
-            NettyRpc nettyRpc = new NettyRpc(nettyParty, nettyPartySet);
+            NettyRpc nettyRpc = new NettyRpc(nettyParty, nettyPartySet, codecType);
+            nettyRpc.setCompressThreshold(compressThreshold);
+            nettyRpc.setChannelNum(channelNum);
             nettyRpcMap.put(nettyRpc.ownParty().getPartyId(), nettyRpc);
             LOGGER.debug("Add Netty party: {}", nettyParty);
         }
@@ -0,0 +1,157 @@
+package edu.alibaba.mpc4j.common.rpc.metrics;
+
+import edu.alibaba.mpc4j.common.rpc.Party;
+import edu.alibaba.mpc4j.common.rpc.Rpc;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacket;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * metrics RPC. It decorates another RPC and records the communication of each protocol into a protocol metrics
+ * registry. Protocols running on this RPC record their step times into the same registry, see
+ * {@link Rpc#getPtoMetricsRegistry()}.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/11
+ */
+public class MetricsRpc implements Rpc {
+    /**
+     * the underlying RPC
+     */
+    private final Rpc rpc;
+    /**
+     * the protocol metrics registry
+     */
+    private final PtoMetricsRegistry ptoMetricsRegistry;
+
+    /**
+     * Creates a metrics RPC.
+     *
+     * @param rpc the underlying RPC.
+     */
+    public MetricsRpc(Rpc rpc) {
+        this.rpc = rpc;
+        ptoMetricsRegistry = new PtoMetricsRegistry();
+    }
+
+    /**
+     * Gets the underlying RPC.
+     *
+     * @return the underlying RPC.
+     */
+    public Rpc getRpc() {
+        return rpc;
+    }
+
+    @Override
+    public PtoMetricsRegistry getPtoMetricsRegistry() {
+        return ptoMetricsRegistry;
+    }
+
+    @Override
+    public Party ownParty() {
+        return rpc.ownParty();
+    }
+
+    @Override
+    public Set<Party> getPartySet() {
+        return rpc.getPartySet();
+    }
+
+    @Override
+    public Party getParty(int partyId) {
+        return rpc.getParty(partyId);
+    }
+
+    @Override
+    public void connect() {
+        rpc.connect();
+    }
+
+    @Override
+    public void send(DataPacket dataPacket) {
+        rpc.send(dataPacket);
+        ptoMetricsRegistry.recordSend(dataPacket.getHeader(), getPayloadByteLength(dataPacket));
+    }
+
+    @Override
+    public DataPacket receive(DataPacketHeader header) {
+        DataPacket dataPacket = rpc.receive(header);
+        if (dataPacket != null) {
+            ptoMetricsRegistry.recordReceive(dataPacket.getHeader(), getPayloadByteLength(dataPacket));
+        }
+        return dataPacket;
+    }
+
+    @Override
+    public CompletableFuture<Void> sendAsync(DataPacket dataPacket) {
+        CompletableFuture<Void> future = rpc.sendAsync(dataPacket);
+        ptoMetricsRegistry.recordSend(dataPacket.getHeader(), getPayloadByteLength(dataPacket));
+        return future;
+    }
+
+    @Override
+    public CompletableFuture<DataPacket> receiveAsync(DataPacketHeader header) {
+        return rpc.receiveAsync(header).thenApply(dataPacket -> {
+            if (dataPacket != null) {
+                ptoMetricsRegistry.recordReceive(dataPacket.getHeader(), getPayloadByteLength(dataPacket));
+            }
+            return dataPacket;
+        });
+    }
+
+    @Override
+    public DataPacket receiveAny() {
+        DataPacket dataPacket = rpc.receiveAny();
+        if (dataPacket != null) {
+            ptoMetricsRegistry.recordReceive(dataPacket.getHeader(), getPayloadByteLength(dataPacket));
+        }
+        return dataPacket;
+    }
+
+    private static long getPayloadByteLength(DataPacket dataPacket) {
+        return dataPacket.getPayload().stream().mapToLong(data -> data.length).sum();
+    }
+
+    @Override
+    public long getPayloadByteLength() {
+        return rpc.getPayloadByteLength();
+    }
+
+    @Override
+    public long getSendByteLength() {
+        return rpc.getSendByteLength();
+    }
+
+    @Override
+    public long getRawSendByteLength() {
+        return rpc.getRawSendByteLength();
+    }
+
+    @Override
+    public long getSendDataPacketNum() {
+        return rpc.getSendDataPacketNum();
+    }
+
+    @Override
+    public void synchronize() {
+        rpc.synchronize();
+    }
+
+    /**
+     * Resets the statistics of the underlying RPC and the counters of the protocol metrics registry. The registered
+     * protocols are kept.
+     */
+    @Override
+    public void reset() {
+        rpc.reset();
+        ptoMetricsRegistry.reset();
+    }
+
+    @Override
+    public void disconnect() {
+        rpc.disconnect();
+    }
+}
@@ -0,0 +1,57 @@
+package edu.alibaba.mpc4j.common.rpc.metrics;
+
+import edu.alibaba.mpc4j.common.rpc.Party;
+import edu.alibaba.mpc4j.common.rpc.Rpc;
+import edu.alibaba.mpc4j.common.rpc.RpcManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * metrics RPC manager. It decorates all RPCs of another RPC manager.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/11
+ */
+public class MetricsRpcManager implements RpcManager {
+    /**
+     * the underlying RPC manager
+     */
+    private final RpcManager rpcManager;
+    /**
+     * all metrics RPCs
+     */
+    private final Map<Integer, MetricsRpc> metricsRpcMap;
+
+    /**
+     * Creates a metrics RPC manager.
+     *
+     * @param rpcManager the underlying RPC manager.
+     */
+    public MetricsRpcManager(RpcManager rpcManager) {
+        this.rpcManager = rpcManager;
+        metricsRpcMap = new HashMap<>(rpcManager.getPartyNum());
+        IntStream.range(0, rpcManager.getPartyNum()).forEach(partyId ->
+            metricsRpcMap.put(partyId, new MetricsRpc(rpcManager.getRpc(partyId)))
+        );
+    }
+
+    @Override
+    public Rpc getRpc(int partyId) {
+        // the underlying RPC manager checks the party ID
+        rpcManager.getRpc(partyId);
+        return metricsRpcMap.get(partyId);
+    }
+
+    @Override
+    public int getPartyNum() {
+        return rpcManager.getPartyNum();
+    }
+
+    @Override
+    public Set<Party> getPartySet() {
+        return rpcManager.getPartySet();
+    }
+}
@@ -0,0 +1,336 @@
+package edu.alibaba.mpc4j.common.rpc.metrics;
+
+import java.util.*;
+
+/**
+ * metrics of one protocol instance in the protocol tree, identified by (encodeTaskId, ptoId). It records the
+ * communication of each message step (keyed by the step ID in the data packet header) and the wall / CPU times of
+ * each logged protocol step. Times are inclusive, i.e., the time of a step contains the time of the sub-protocols
+ * invoked in that step.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/11
+ */
+public class PtoMetrics {
+    /**
+     * unknown tree level, for protocols that only appear in data packet headers
+     */
+    public static final int UNKNOWN_TREE_LEVEL = -1;
+    /**
+     * the encoded task ID
+     */
+    private final long encodeTaskId;
+    /**
+     * the protocol ID
+     */
+    private final int ptoId;
+    /**
+     * the protocol name
+     */
+    private String ptoName;
+    /**
+     * the tree level
+     */
+    private int treeLevel;
+    /**
+     * the parent protocol, null for a root protocol
+     */
+    private PtoMetrics parent;
+    /**
+     * sub-protocols, in the registered order
+     */
+    private final Set<PtoMetrics> subPtoMetricsSet;
+    /**
+     * step ID -> message metrics
+     */
+    private final TreeMap<Integer, MessageMetrics> messageMetricsMap;
+    /**
+     * step name -> step metrics, in the logged order
+     */
+    private final LinkedHashMap<String, StepMetrics> stepMetricsMap;
+
+    PtoMetrics(long encodeTaskId, int ptoId, String ptoName) {
+        this.encodeTaskId = encodeTaskId;
+        this.ptoId = ptoId;
+        this.ptoName = ptoName;
+        treeLevel = UNKNOWN_TREE_LEVEL;
+        subPtoMetricsSet = new LinkedHashSet<>();
+        messageMetricsMap = new TreeMap<>();
+        stepMetricsMap = new LinkedHashMap<>();
+    }
+
+    void setPtoName(String ptoName) {
+        this.ptoName = ptoName;
+    }
+
+    void setTreeLevel(int treeLevel) {
+        this.treeLevel = treeLevel;
+    }
+
+    void addSubPtoMetrics(PtoMetrics subPtoMetrics) {
+        if (subPtoMetrics.parent != null) {
+            subPtoMetrics.parent.subPtoMetricsSet.remove(subPtoMetrics);
+        }
+        subPtoMetrics.parent = this;
+        subPtoMetricsSet.add(subPtoMetrics);
+    }
+
+    void recordSend(int stepId, long payloadByteLength) {
+        MessageMetrics messageMetrics = messageMetricsMap.computeIfAbsent(stepId, MessageMetrics::new);
+        messageMetrics.sendDataPacketNum++;
+        messageMetrics.sendPayloadByteLength += payloadByteLength;
+    }
+
+    void recordReceive(int stepId, long payloadByteLength) {
+        MessageMetrics messageMetrics = messageMetricsMap.computeIfAbsent(stepId, MessageMetrics::new);
+        messageMetrics.receiveDataPacketNum++;
+        messageMetrics.receivePayloadByteLength += payloadByteLength;
+    }
+
+    void recordStep(String stepName, long wallTime, long cpuTime) {
+        StepMetrics stepMetrics = stepMetricsMap.computeIfAbsent(stepName, StepMetrics::new);
+        stepMetrics.num++;
+        stepMetrics.wallTime += wallTime;
+        stepMetrics.cpuTime += cpuTime;
+    }
+
+    /**
+     * Clears all counters. The protocol name, the tree level and the sub-protocols are kept.
+     */
+    void reset() {
+        messageMetricsMap.clear();
+        stepMetricsMap.clear();
+    }
+
+    /**
+     * Gets the encoded task ID.
+     *
+     * @return the encoded task ID.
+     */
+    public long getEncodeTaskId() {
+        return encodeTaskId;
+    }
+
+    /**
+     * Gets the task ID, i.e., the last 32 bits of the encoded task ID.
+     *
+     * @return the task ID.
+     */
+    public int getTaskId() {
+        return (int) encodeTaskId;
+    }
+
+    /**
+     * Gets the tree ID, i.e., the first 32 bits of the encoded task ID.
+     *
+     * @return the tree ID.
+     */
+    public int getTreeId() {
+        return (int) (encodeTaskId >>> Integer.SIZE);
+    }
+
+    /**
+     * Gets the protocol ID.
+     *
+     * @return the protocol ID.
+     */
+    public int getPtoId() {
+        return ptoId;
+    }
+
+    /**
+     * Gets the protocol name.
+     *
+     * @return the protocol name.
+     */
+    public String getPtoName() {
+        return ptoName;
+    }
+
+    /**
+     * Gets the tree level, or {@link #UNKNOWN_TREE_LEVEL} if the protocol is never registered.
+     *
+     * @return the tree level.
+     */
+    public int getTreeLevel() {
+        return treeLevel;
+    }
+
+    /**
+     * Gets the parent protocol metrics.
+     *
+     * @return the parent protocol metrics, or null for a root protocol.
+     */
+    public PtoMetrics getParent() {
+        return parent;
+    }
+
+    /**
+     * Gets the sub-protocol metrics.
+     *
+     * @return the sub-protocol metrics.
+     */
+    public List<PtoMetrics> getSubPtoMetrics() {
+        return new ArrayList<>(subPtoMetricsSet);
+    }
+
+    /**
+     * Gets the message metrics, ordered by the step ID.
+     *
+     * @return the message metrics.
+     */
+    public List<MessageMetrics> getMessageMetrics() {
+        return new ArrayList<>(messageMetricsMap.values());
+    }
+
+    /**
+     * Gets the step metrics, in the logged order.
+     *
+     * @return the step metrics.
+     */
+    public List<StepMetrics> getStepMetrics() {
+        return new ArrayList<>(stepMetricsMap.values());
+    }
+
+    /**
+     * Gets the payload byte length sent by this protocol.
+     *
+     * @param withSubPtos whether to include the sub-protocols.
+     * @return the sent payload byte length.
+     */
+    public long getSendPayloadByteLength(boolean withSubPtos) {
+        long sendPayloadByteLength = messageMetricsMap.values().stream()
+            .mapToLong(MessageMetrics::getSendPayloadByteLength)
+            .sum();
+        if (withSubPtos) {
+            for (PtoMetrics subPtoMetrics : subPtoMetricsSet) {
+                sendPayloadByteLength += subPtoMetrics.getSendPayloadByteLength(true);
+            }
+        }
+        return sendPayloadByteLength;
+    }
+
+    /**
+     * Gets the payload byte length received by this protocol.
+     *
+     * @param withSubPtos whether to include the sub-protocols.
+     * @return the received payload byte length.
+     */
+    public long getReceivePayloadByteLength(boolean withSubPtos) {
+        long receivePayloadByteLength = messageMetricsMap.values().stream()
+            .mapToLong(MessageMetrics::getReceivePayloadByteLength)
+            .sum();
+        if (withSubPtos) {
+            for (PtoMetrics subPtoMetrics : subPtoMetricsSet) {
+                receivePayloadByteLength += subPtoMetrics.getReceivePayloadByteLength(true);
+            }
+        }
+        return receivePayloadByteLength;
+    }
+
+    /**
+     * Gets the path from the root protocol, e.g., "PSU/OPRF/COT".
+     *
+     * @return the path.
+     */
+    public String getPath() {
+        return parent == null ? ptoName : parent.getPath() + "/" + ptoName;
+    }
+
+    @Override
+    public String toString() {
+        return ptoName + " (ptoId = " + ptoId + ", treeId = " + getTreeId() + ", taskId = " + getTaskId() + ")";
+    }
+
+    /**
+     * communication metrics of one message step.
+     */
+    public static class MessageMetrics {
+        /**
+         * the step ID
+         */
+        private final int stepId;
+        /**
+         * number of sent data packets
+         */
+        private long sendDataPacketNum;
+        /**
+         * sent payload byte length
+         */
+        private long sendPayloadByteLength;
+        /**
+         * number of received data packets
+         */
+        private long receiveDataPacketNum;
+        /**
+         * received payload byte length
+         */
+        private long receivePayloadByteLength;
+
+        private MessageMetrics(int stepId) {
+            this.stepId = stepId;
+        }
+
+        public int getStepId() {
+            return stepId;
+        }
+
+        public long getSendDataPacketNum() {
+            return sendDataPacketNum;
+        }
+
+        public long getSendPayloadByteLength() {
+            return sendPayloadByteLength;
+        }
+
+        public long getReceiveDataPacketNum() {
+            return receiveDataPacketNum;
+        }
+
+        public long getReceivePayloadByteLength() {
+            return receivePayloadByteLength;
+        }
+    }
+
+    /**
+     * time metrics of one logged step, e.g., "init 1/2" or "pto 2/3".
+     */
+    public static class StepMetrics {
+        /**
+         * the step name
+         */
+        private final String stepName;
+        /**
+         * number of times the step is logged
+         */
+        private long num;
+        /**
+         * wall time in milliseconds
+         */
+        private long wallTime;
+        /**
+         * CPU time of the protocol thread in nanoseconds
+         */
+        private long cpuTime;
+
+        private StepMetrics(String stepName) {
+            this.stepName = stepName;
+        }
+
+        public String getStepName() {
+            return stepName;
+        }
+
+        public long getNum() {
+            return num;
+        }
+
+        public long getWallTime() {
+            return wallTime;
+        }
+
+        public long getCpuTime() {
+            return cpuTime;
+        }
+    }
+}
@@ -0,0 +1,316 @@
+package edu.alibaba.mpc4j.common.rpc.metrics;
+
+import edu.alibaba.mpc4j.common.rpc.desc.PtoDesc;
+import edu.alibaba.mpc4j.common.rpc.desc.PtoDescManager;
+import edu.alibaba.mpc4j.common.rpc.metrics.PtoMetrics.MessageMetrics;
+import edu.alibaba.mpc4j.common.rpc.metrics.PtoMetrics.StepMetrics;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * protocol metrics registry of one party. Each protocol instance in the protocol tree is identified by the
+ * (encodeTaskId, ptoId) pair that is already encoded in each data packet header, so that the communication can be
+ * attributed to the protocol that sends or receives it. Protocols register themselves and their sub-protocols when
+ * they begin, so that the registry knows the protocol names, the tree levels and the tree structure.
+ * <p>
+ * The registry exports a hierarchical report (JSON or CSV) for all protocol runs or for the run of a given task ID.
+ * Resetting the registry clears all counters but keeps the protocol tree, so that later runs are still attributed to
+ * the right protocols.
+ * </p>
+ *
+ * @author Weiran Liu
+ * @date 2023/7/11
+ */
+public class PtoMetricsRegistry {
+    /**
+     * CSV header
+     */
+    public static final String CSV_HEADER = "path,taskId,treeId,treeLevel,ptoId,ptoName,type,step,"
+        + "sendDataPacketNum,sendPayloadByteLength,receiveDataPacketNum,receivePayloadByteLength,num,wallTime(ms),cpuTime(ms)";
+    /**
+     * (encodeTaskId, ptoId) -> protocol metrics, in the first-seen order
+     */
+    private final Map<Pair<Long, Integer>, PtoMetrics> ptoMetricsMap;
+
+    /**
+     * Creates a protocol metrics registry.
+     */
+    public PtoMetricsRegistry() {
+        ptoMetricsMap = new LinkedHashMap<>();
+    }
+
+    private PtoMetrics getOrCreate(long encodeTaskId, int ptoId) {
+        return ptoMetricsMap.computeIfAbsent(new ImmutablePair<>(encodeTaskId, ptoId), key -> {
+            PtoDesc ptoDesc = PtoDescManager.getPtoDesc(ptoId);
+            String ptoName = ptoDesc == null ? String.valueOf(ptoId) : ptoDesc.getPtoName();
+            return new PtoMetrics(encodeTaskId, ptoId, ptoName);
+        });
+    }
+
+    /**
+     * Registers a protocol.
+     *
+     * @param encodeTaskId the encoded task ID.
+     * @param ptoId        the protocol ID.
+     * @param ptoName      the protocol name.
+     * @param treeLevel    the tree level.
+     */
+    public synchronized void register(long encodeTaskId, int ptoId, String ptoName, int treeLevel) {
+        PtoMetrics ptoMetrics = getOrCreate(encodeTaskId, ptoId);
+        ptoMetrics.setPtoName(ptoName);
+        ptoMetrics.setTreeLevel(treeLevel);
+    }
+
+    /**
+     * Registers a sub-protocol of a registered protocol.
+     *
+     * @param encodeTaskId    the encoded task ID of the protocol.
+     * @param ptoId           the protocol ID.
+     * @param subEncodeTaskId the encoded task ID of the sub-protocol.
+     * @param subPtoId        the sub-protocol ID.
+     * @param subPtoName      the sub-protocol name.
+     * @param subTreeLevel    the tree level of the sub-protocol.
+     */
+    public synchronized void registerSubPto(long encodeTaskId, int ptoId,
+                                            long subEncodeTaskId, int subPtoId, String subPtoName, int subTreeLevel) {
+        PtoMetrics subPtoMetrics = getOrCreate(subEncodeTaskId, subPtoId);
+        subPtoMetrics.setPtoName(subPtoName);
+        subPtoMetrics.setTreeLevel(subTreeLevel);
+        getOrCreate(encodeTaskId, ptoId).addSubPtoMetrics(subPtoMetrics);
+    }
+
+    /**
+     * Records a sent data packet.
+     *
+     * @param header            the data packet header.
+     * @param payloadByteLength the payload byte length.
+     */
+    public synchronized void recordSend(DataPacketHeader header, long payloadByteLength) {
+        getOrCreate(header.getEncodeTaskId(), header.getPtoId()).recordSend(header.getStepId(), payloadByteLength);
+    }
+
+    /**
+     * Records a received data packet.
+     *
+     * @param header            the data packet header.
+     * @param payloadByteLength the payload byte length.
+     */
+    public synchronized void recordReceive(DataPacketHeader header, long payloadByteLength) {
+        getOrCreate(header.getEncodeTaskId(), header.getPtoId()).recordReceive(header.getStepId(), payloadByteLength);
+    }
+
+    /**
+     * Records the times of a logged step.
+     *
+     * @param encodeTaskId the encoded task ID.
+     * @param ptoId        the protocol ID.
+     * @param stepName     the step name.
+     * @param wallTime     the wall time in milliseconds.
+     * @param cpuTime      the CPU time in nanoseconds.
+     */
+    public synchronized void recordStep(long encodeTaskId, int ptoId, String stepName, long wallTime, long cpuTime) {
+        getOrCreate(encodeTaskId, ptoId).recordStep(stepName, wallTime, cpuTime);
+    }
+
+    /**
+     * Gets the protocol metrics.
+     *
+     * @param encodeTaskId the encoded task ID.
+     * @param ptoId        the protocol ID.
+     * @return the protocol metrics, or null if there is no record.
+     */
+    public synchronized PtoMetrics getPtoMetrics(long encodeTaskId, int ptoId) {
+        return ptoMetricsMap.get(new ImmutablePair<>(encodeTaskId, ptoId));
+    }
+
+    /**
+     * Gets the metrics of all root protocols.
+     *
+     * @return the metrics of all root protocols.
+     */
+    public synchronized List<PtoMetrics> getRootPtoMetrics() {
+        return ptoMetricsMap.values().stream()
+            .filter(ptoMetrics -> ptoMetrics.getParent() == null)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Gets the metrics of root protocols with the given task ID.
+     *
+     * @param taskId the task ID.
+     * @return the metrics of root protocols with the given task ID.
+     */
+    public synchronized List<PtoMetrics> getRootPtoMetrics(int taskId) {
+        return ptoMetricsMap.values().stream()
+            .filter(ptoMetrics -> ptoMetrics.getParent() == null && ptoMetrics.getTaskId() == taskId)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Clears all counters. The registered protocols and the protocol tree are kept.
+     */
+    public synchronized void reset() {
+        ptoMetricsMap.values().forEach(PtoMetrics::reset);
+    }
+
+    /**
+     * Exports the hierarchical report of all protocol runs in JSON.
+     *
+     * @return the report in JSON.
+     */
+    public synchronized String toJson() {
+        return toJson(getRootPtoMetrics());
+    }
+
+    /**
+     * Exports the hierarchical report of the protocol run with the given task ID in JSON.
+     *
+     * @param taskId the task ID.
+     * @return the report in JSON.
+     */
+    public synchronized String toJson(int taskId) {
+        return toJson(getRootPtoMetrics(taskId));
+    }
+
+    private static String toJson(List<PtoMetrics> rootPtoMetricsList) {
+        StringBuilder jsonBuilder = new StringBuilder();
+        jsonBuilder.append("[");
+        for (int index = 0; index < rootPtoMetricsList.size(); index++) {
+            if (index > 0) {
+                jsonBuilder.append(",");
+            }
+            appendJson(jsonBuilder, rootPtoMetricsList.get(index));
+        }
+        jsonBuilder.append("]");
+        return jsonBuilder.toString();
+    }
+
+    private static void appendJson(StringBuilder jsonBuilder, PtoMetrics ptoMetrics) {
+        jsonBuilder.append("{\"ptoName\":\"").append(escapeJson(ptoMetrics.getPtoName())).append("\"")
+            .append(",\"ptoId\":").append(ptoMetrics.getPtoId())
+            .append(",\"taskId\":").append(ptoMetrics.getTaskId())
+            .append(",\"treeId\":").append(ptoMetrics.getTreeId())
+            .append(",\"treeLevel\":").append(ptoMetrics.getTreeLevel())
+            .append(",\"totalSendPayloadByteLength\":").append(ptoMetrics.getSendPayloadByteLength(true))
+            .append(",\"totalReceivePayloadByteLength\":").append(ptoMetrics.getReceivePayloadByteLength(true));
+        jsonBuilder.append(",\"messages\":[");
+        List<MessageMetrics> messageMetricsList = ptoMetrics.getMessageMetrics();
+        for (int index = 0; index < messageMetricsList.size(); index++) {
+            MessageMetrics messageMetrics = messageMetricsList.get(index);
+            jsonBuilder.append(index > 0 ? "," : "")
+                .append("{\"stepId\":").append(messageMetrics.getStepId())
+                .append(",\"sendDataPacketNum\":").append(messageMetrics.getSendDataPacketNum())
+                .append(",\"sendPayloadByteLength\":").append(messageMetrics.getSendPayloadByteLength())
+                .append(",\"receiveDataPacketNum\":").append(messageMetrics.getReceiveDataPacketNum())
+                .append(",\"receivePayloadByteLength\":").append(messageMetrics.getReceivePayloadByteLength())
+                .append("}");
+        }
+        jsonBuilder.append("],\"steps\":[");
+        List<StepMetrics> stepMetricsList = ptoMetrics.getStepMetrics();
+        for (int index = 0; index < stepMetricsList.size(); index++) {
+            StepMetrics stepMetrics = stepMetricsList.get(index);
+            jsonBuilder.append(index > 0 ? "," : "")
+                .append("{\"step\":\"").append(escapeJson(stepMetrics.getStepName())).append("\"")
+                .append(",\"num\":").append(stepMetrics.getNum())
+                .append(",\"wallTimeMs\":").append(stepMetrics.getWallTime())
+                .append(",\"cpuTimeMs\":").append(stepMetrics.getCpuTime() / 1000000)
+                .append("}");
+        }
+        jsonBuilder.append("],\"subPtos\":[");
+        List<PtoMetrics> subPtoMetricsList = ptoMetrics.getSubPtoMetrics();
+        for (int index = 0; index < subPtoMetricsList.size(); index++) {
+            if (index > 0) {
+                jsonBuilder.append(",");
+            }
+            appendJson(jsonBuilder, subPtoMetricsList.get(index));
+        }
+        jsonBuilder.append("]}");
+    }
+
+    private static String escapeJson(String string) {
+        StringBuilder escapeBuilder = new StringBuilder(string.length());
+        for (char c : string.toCharArray()) {
+            switch (c) {
+                case '"':
+                    escapeBuilder.append("\\\"");
+                    break;
+                case '\\':
+                    escapeBuilder.append("\\\\");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        escapeBuilder.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        escapeBuilder.append(c);
+                    }
+            }
+        }
+        return escapeBuilder.toString();
+    }
+
+    /**
+     * Exports the report of all protocol runs in CSV. Each line is a message step or a logged step of a protocol,
+     * where the protocol tree is flattened in pre-order with the path from the root protocol.
+     *
+     * @return the report in CSV.
+     */
+    public synchronized String toCsv() {
+        return toCsv(getRootPtoMetrics());
+    }
+
+    /**
+     * Exports the report of the protocol run with the given task ID in CSV.
+     *
+     * @param taskId the task ID.
+     * @return the report in CSV.
+     */
+    public synchronized String toCsv(int taskId) {
+        return toCsv(getRootPtoMetrics(taskId));
+    }
+
+    private static String toCsv(List<PtoMetrics> rootPtoMetricsList) {
+        StringBuilder csvBuilder = new StringBuilder();
+        csvBuilder.append(CSV_HEADER).append("\n");
+        for (PtoMetrics rootPtoMetrics : rootPtoMetricsList) {
+            appendCsv(csvBuilder, rootPtoMetrics);
+        }
+        return csvBuilder.toString();
+    }
+
+    private static void appendCsv(StringBuilder csvBuilder, PtoMetrics ptoMetrics) {
+        String prefix = escapeCsv(ptoMetrics.getPath()) + "," + ptoMetrics.getTaskId() + "," + ptoMetrics.getTreeId()
+            + "," + ptoMetrics.getTreeLevel() + "," + ptoMetrics.getPtoId() + "," + escapeCsv(ptoMetrics.getPtoName());
+        for (MessageMetrics messageMetrics : ptoMetrics.getMessageMetrics()) {
+            csvBuilder.append(prefix).append(",message,").append(messageMetrics.getStepId())
+                .append(",").append(messageMetrics.getSendDataPacketNum())
+                .append(",").append(messageMetrics.getSendPayloadByteLength())
+                .append(",").append(messageMetrics.getReceiveDataPacketNum())
+                .append(",").append(messageMetrics.getReceivePayloadByteLength())
+                .append(",,,\n");
+        }
+        for (StepMetrics stepMetrics : ptoMetrics.getStepMetrics()) {
+            csvBuilder.append(prefix).append(",step,").append(escapeCsv(stepMetrics.getStepName()))
+                .append(",,,,")
+                .append(",").append(stepMetrics.getNum())
+                .append(",").append(stepMetrics.getWallTime())
+                .append(",").append(stepMetrics.getCpuTime() / 1000000)
+                .append("\n");
+        }
+        for (PtoMetrics subPtoMetrics : ptoMetrics.getSubPtoMetrics()) {
+            appendCsv(csvBuilder, subPtoMetrics);
+        }
+    }
+
+    private static String escapeCsv(String string) {
+        if (string.contains(",") || string.contains("\"") || string.contains("\n")) {
+            return "\"" + string.replace("\"", "\"\"") + "\"";
+        }
+        return string;
+    }
+}
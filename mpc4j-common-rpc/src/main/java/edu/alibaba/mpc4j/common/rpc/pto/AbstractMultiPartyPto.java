@@ -5,6 +5,7 @@ import edu.alibaba.mpc4j.common.rpc.PartyState;
 import edu.alibaba.mpc4j.common.rpc.PtoState;
 import edu.alibaba.mpc4j.common.rpc.Rpc;
 import edu.alibaba.mpc4j.common.rpc.desc.PtoDesc;
+import edu.alibaba.mpc4j.common.rpc.metrics.PtoMetricsRegistry;
 import edu.alibaba.mpc4j.common.tool.CommonConstants;
 import edu.alibaba.mpc4j.common.tool.EnvType;
 import edu.alibaba.mpc4j.common.tool.MathPreconditions;
@@ -14,6 +15,8 @@ import org.apache.commons.lang3.time.StopWatch;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 import java.security.SecureRandom;
 import java.util.ArrayList;
 import java.util.List;
@@ -39,6 +42,10 @@ public abstract class AbstractMultiPartyPto implements MultiPartyPto {
      * maximal tree level
      */
     protected static final int MAX_TREE_LEVEL = (int) Math.floor(Math.log(Integer.MAX_VALUE) / Math.log(MAX_SUB_PROTOCOL_NUM + 1));
+    /**
+     * thread MX bean, used to record CPU times for each step.
+     */
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
     /**
      * the PRF used to extend the task ID.
      */
@@ -95,6 +102,10 @@ public abstract class AbstractMultiPartyPto implements MultiPartyPto {
      * the log prefix for ending a task
      */
     private String ptoEndLogPrefix;
+    /**
+     * the CPU time of the protocol thread when the last step ends, used by the protocol metrics.
+     */
+    private long stepCpuTime;
     /**
      * the extra information
      */
@@ -311,6 +322,9 @@ public abstract class AbstractMultiPartyPto implements MultiPartyPto {
     }
 
     protected void logPhaseInfo(PtoState ptoState) {
+        if (ptoState == PtoState.INIT_BEGIN || ptoState == PtoState.PTO_BEGIN) {
+            beginPtoMetrics();
+        }
         switch (ptoState) {
             case INIT_BEGIN:
                 info("{}{} {} Init begin", ptoBeginLogPrefix, getPtoDesc().getPtoName(), ownParty().getPartyName());
@@ -330,6 +344,9 @@ public abstract class AbstractMultiPartyPto implements MultiPartyPto {
     }
 
     protected void logPhaseInfo(PtoState ptoState, String description) {
+        if (ptoState == PtoState.INIT_BEGIN || ptoState == PtoState.PTO_BEGIN) {
+            beginPtoMetrics();
+        }
         switch (ptoState) {
             case INIT_BEGIN:
                 info(
@@ -363,6 +380,7 @@ public abstract class AbstractMultiPartyPto implements MultiPartyPto {
     protected void logStepInfo(PtoState ptoState, int stepIndex, int totalStepIndex, long time) {
         assert stepIndex >= 0 && stepIndex <= totalStepIndex
             : "step index must be in range [0, " + totalStepIndex + "]: " + stepIndex;
+        recordStepPtoMetrics(ptoState, stepIndex + "/" + totalStepIndex, time);
         switch (ptoState) {
             case INIT_STEP:
                 info("{}{} {} init Step {}/{} ({}ms)",
@@ -384,6 +402,7 @@ public abstract class AbstractMultiPartyPto implements MultiPartyPto {
     protected void logStepInfo(PtoState ptoState, int stepIndex, int totalStepIndex, long time, String description) {
         assert stepIndex >= 0 && stepIndex <= totalStepIndex
             : "step index must be in range [0, " + totalStepIndex + "]: " + stepIndex;
+        recordStepPtoMetrics(ptoState, stepIndex + "/" + totalStepIndex, time);
         switch (ptoState) {
             case INIT_STEP:
                 info("{}{} {} init Step {}/{} ({}ms): {}",
@@ -406,6 +425,9 @@ public abstract class AbstractMultiPartyPto implements MultiPartyPto {
         assert stepIndex >= 0 : "step index must be non-negative: " + stepIndex;
         assert subStepIndex >= 0 && subStepIndex <= totalSubStepIndex
             : "current step index must be in range [0, " + totalSubStepIndex + "]: " + stepIndex;
+        recordStepPtoMetrics(
+            ptoState, stepIndex + "." + subStepIndex + "/" + stepIndex + "." + totalSubStepIndex, time
+        );
         switch (ptoState) {
             case INIT_STEP:
                 info("{}{} {} init Step {}.{}/{}.{} ({}ms)",
@@ -429,6 +451,9 @@ public abstract class AbstractMultiPartyPto implements MultiPartyPto {
         assert stepIndex >= 0 : "step index must be non-negative: " + stepIndex;
         assert subStepIndex >= 0 && subStepIndex <= totalSubStepIndex
             : "current step index must be in range [0, " + totalSubStepIndex + "]: " + stepIndex;
+        recordStepPtoMetrics(
+            ptoState, stepIndex + "." + subStepIndex + "/" + stepIndex + "." + totalSubStepIndex, time
+        );
         switch (ptoState) {
             case INIT_STEP:
                 info("{}{} {} init Step {}.{}/{}.{} ({}ms): {}",
@@ -447,6 +472,50 @@ public abstract class AbstractMultiPartyPto implements MultiPartyPto {
         }
     }
 
+    /**
+     * Registers this protocol and its sub-protocols into the protocol metrics registry of the RPC, if any.
+     */
+    private void beginPtoMetrics() {
+        PtoMetricsRegistry ptoMetricsRegistry = rpc.getPtoMetricsRegistry();
+        if (ptoMetricsRegistry == null) {
+            return;
+        }
+        int ptoId = ptoDesc.getPtoId();
+        ptoMetricsRegistry.register(encodeTaskId, ptoId, ptoDesc.getPtoName(), treeLevel);
+        for (MultiPartyPto subPto : subPtos) {
+            ptoMetricsRegistry.registerSubPto(
+                encodeTaskId, ptoId,
+                subPto.getEncodeTaskId(), subPto.getPtoDesc().getPtoId(), subPto.getPtoName(), treeLevel + 1
+            );
+        }
+        stepCpuTime = getCurrentThreadCpuTime();
+    }
+
+    /**
+     * Records the wall time and the CPU time of the protocol thread for a step into the protocol metrics registry of
+     * the RPC, if any. The CPU time is measured since the previous step (or since the phase begins).
+     *
+     * @param ptoState  the protocol state.
+     * @param stepIndex the step index.
+     * @param time      the wall time in milliseconds.
+     */
+    private void recordStepPtoMetrics(PtoState ptoState, String stepIndex, long time) {
+        PtoMetricsRegistry ptoMetricsRegistry = rpc.getPtoMetricsRegistry();
+        if (ptoMetricsRegistry == null) {
+            return;
+        }
+        long currentCpuTime = getCurrentThreadCpuTime();
+        String stepName = (ptoState == PtoState.INIT_STEP ? "init " : "pto ") + stepIndex;
+        ptoMetricsRegistry.recordStep(
+            encodeTaskId, ptoDesc.getPtoId(), stepName, time, Math.max(currentCpuTime - stepCpuTime, 0)
+        );
+        stepCpuTime = currentCpuTime;
+    }
+
+    private static long getCurrentThreadCpuTime() {
+        return THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported() ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : 0L;
+    }
+
     /**
      * Log a message at the INFO level if {@code logLevel} is not greater than {@code DISPLAY_LOG_LEVEL}.
      *
@@ -0,0 +1,490 @@
+package edu.alibaba.mpc4j.common.rpc.session;
+
+import edu.alibaba.mpc4j.common.rpc.Rpc;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacket;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacketBuffer;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
+import edu.alibaba.mpc4j.common.rpc.utils.IndexedDataPacketBuffer;
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * session multiplexer. It multiplexes many independent top-level protocol instances (sessions) over one shared RPC,
+ * e.g., one NettyRpc with its connection set. Each session is a {@link SessionRpc} with:
+ * <ul>
+ * <li>its own task ID namespace. The session ID is put into the high bits of extraInfo on the wire, so that sessions
+ * can reuse the same task IDs and headers. Therefore, extraInfo used in a session must be at most MAX_EXTRA_INFO.</li>
+ * <li>its own receive buffer. A dispatcher thread receives all data packets from the shared RPC and puts them into the
+ * buffers of their sessions, so that receiveAny in one session never steals data packets of another session.</li>
+ * <li>its own flow control. Data packets sent in a session are queued until the shared RPC finishes sending them, and
+ * sending blocks once the queued bytes of the session exceed the window.</li>
+ * <li>fair scheduling of sends. A scheduler thread hands queued data packets to the shared RPC by deficit round-robin
+ * over sessions, so that a session sending a large message does not starve sessions sending small messages.</li>
+ * </ul>
+ * The shared RPC must only be used via the multiplexer after {@link #connect()}.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/12
+ */
+public class SessionMultiplexer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SessionMultiplexer.class);
+    /**
+     * log(max session num)
+     */
+    public static final int LOG_MAX_SESSION_NUM = 16;
+    /**
+     * max session num
+     */
+    public static final int MAX_SESSION_NUM = 1 << LOG_MAX_SESSION_NUM;
+    /**
+     * the shift of the session ID in extraInfo
+     */
+    private static final int SESSION_ID_SHIFT = Long.SIZE - 1 - LOG_MAX_SESSION_NUM;
+    /**
+     * max extraInfo used in a session
+     */
+    public static final long MAX_EXTRA_INFO = (1L << SESSION_ID_SHIFT) - 1;
+    /**
+     * default send window in bytes
+     */
+    public static final long DEFAULT_WINDOW_BYTE_LENGTH = 1L << 24;
+    /**
+     * default quantum in bytes for deficit round-robin
+     */
+    public static final long DEFAULT_QUANTUM_BYTE_LENGTH = 1L << 16;
+    /**
+     * estimated byte length of a header
+     */
+    private static final int HEADER_BYTE_LENGTH = Long.BYTES * 2 + Integer.BYTES * 4;
+    /**
+     * the shared RPC
+     */
+    private final Rpc rpc;
+    /**
+     * send window in bytes
+     */
+    private final long windowByteLength;
+    /**
+     * quantum in bytes for deficit round-robin
+     */
+    private final long quantumByteLength;
+    /**
+     * session ID -> session state. States are created once data packets arrive, even if the session is not opened.
+     * Creations and removals are guarded by the map itself, so that a closed session is never resurrected.
+     */
+    private final Map<Integer, SessionState> sessionStateMap;
+    /**
+     * closed session IDs. Data packets of closed sessions are dropped until the session is opened again.
+     */
+    private final Set<Integer> closedSessionIdSet;
+    /**
+     * opened sessions
+     */
+    private final Map<Integer, SessionRpc> sessionRpcMap;
+    /**
+     * the lock guarding send queues
+     */
+    private final ReentrantLock sendLock;
+    /**
+     * the condition that there are sessions with queued data packets
+     */
+    private final Condition activeCondition;
+    /**
+     * sessions with queued data packets, in round-robin order
+     */
+    private final Deque<SessionState> activeSessionStates;
+    /**
+     * the dispatcher thread
+     */
+    private Thread dispatcherThread;
+    /**
+     * the scheduler thread
+     */
+    private Thread schedulerThread;
+    /**
+     * running or not
+     */
+    private volatile boolean running;
+
+    /**
+     * Creates a session multiplexer with the default window and quantum.
+     *
+     * @param rpc the shared RPC.
+     */
+    public SessionMultiplexer(Rpc rpc) {
+        this(rpc, DEFAULT_WINDOW_BYTE_LENGTH, DEFAULT_QUANTUM_BYTE_LENGTH);
+    }
+
+    /**
+     * Creates a session multiplexer.
+     *
+     * @param rpc               the shared RPC.
+     * @param windowByteLength  the send window in bytes for each session.
+     * @param quantumByteLength the quantum in bytes for deficit round-robin.
+     */
+    public SessionMultiplexer(Rpc rpc, long windowByteLength, long quantumByteLength) {
+        MathPreconditions.checkPositive("windowByteLength", windowByteLength);
+        MathPreconditions.checkPositive("quantumByteLength", quantumByteLength);
+        this.rpc = rpc;
+        this.windowByteLength = windowByteLength;
+        this.quantumByteLength = quantumByteLength;
+        sessionStateMap = new ConcurrentHashMap<>();
+        sessionRpcMap = new ConcurrentHashMap<>();
+        closedSessionIdSet = new HashSet<>();
+        sendLock = new ReentrantLock();
+        activeCondition = sendLock.newCondition();
+        activeSessionStates = new LinkedList<>();
+        running = false;
+    }
+
+    /**
+     * Gets the shared RPC.
+     *
+     * @return the shared RPC.
+     */
+    public Rpc getRpc() {
+        return rpc;
+    }
+
+    /**
+     * Connects the shared RPC and starts the dispatcher and the scheduler.
+     */
+    public void connect() {
+        rpc.connect();
+        running = true;
+        dispatcherThread = new Thread(this::dispatch, "session-dispatcher-" + rpc.ownParty().getPartyId());
+        dispatcherThread.setDaemon(true);
+        dispatcherThread.start();
+        schedulerThread = new Thread(this::schedule, "session-scheduler-" + rpc.ownParty().getPartyId());
+        schedulerThread.setDaemon(true);
+        schedulerThread.start();
+        LOGGER.info("{} session multiplexer connected", rpc.ownParty());
+    }
+
+    /**
+     * Opens a session. All parties must open the session with the same session ID.
+     *
+     * @param sessionId the session ID.
+     * @return the session RPC.
+     */
+    public SessionRpc openSession(int sessionId) {
+        MathPreconditions.checkNonNegativeInRange("sessionId", sessionId, MAX_SESSION_NUM);
+        synchronized (sessionStateMap) {
+            if (sessionRpcMap.containsKey(sessionId)) {
+                throw new IllegalArgumentException("Session " + sessionId + " is already opened");
+            }
+            closedSessionIdSet.remove(sessionId);
+            SessionState sessionState = sessionStateMap.computeIfAbsent(sessionId, key -> new SessionState());
+            SessionRpc sessionRpc = new SessionRpc(this, sessionId, sessionState.dataPacketBuffer);
+            sessionRpcMap.put(sessionId, sessionRpc);
+            return sessionRpc;
+        }
+    }
+
+    /**
+     * Gets the opened session.
+     *
+     * @param sessionId the session ID.
+     * @return the session RPC, or null if the session is not opened.
+     */
+    public SessionRpc getSession(int sessionId) {
+        return sessionRpcMap.get(sessionId);
+    }
+
+    /**
+     * Gets opened session IDs.
+     *
+     * @return opened session IDs.
+     */
+    public Set<Integer> getSessionIdSet() {
+        return Collections.unmodifiableSet(sessionRpcMap.keySet());
+    }
+
+    /**
+     * Closes the session. It waits until all queued data packets of the session are sent. Data packets of the session
+     * that arrive later are dropped.
+     *
+     * @param sessionId the session ID.
+     */
+    void closeSession(int sessionId) {
+        SessionState sessionState = getOpenedSessionState(sessionId);
+        sendLock.lock();
+        try {
+            while (!sessionState.sendQueue.isEmpty() || sessionState.queuedByteLength > 0) {
+                sessionState.windowCondition.awaitUninterruptibly();
+            }
+        } finally {
+            sendLock.unlock();
+        }
+        synchronized (sessionStateMap) {
+            sessionRpcMap.remove(sessionId);
+            sessionStateMap.remove(sessionId);
+            closedSessionIdSet.add(sessionId);
+        }
+    }
+
+    /**
+     * Stops the dispatcher and the scheduler, and disconnects the shared RPC. Data packets that are still queued are
+     * failed.
+     */
+    public void disconnect() {
+        running = false;
+        dispatcherThread.interrupt();
+        sendLock.lock();
+        try {
+            activeCondition.signalAll();
+        } finally {
+            sendLock.unlock();
+        }
+        try {
+            dispatcherThread.join();
+            schedulerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        rpc.disconnect();
+        LOGGER.info("{} session multiplexer disconnected", rpc.ownParty());
+    }
+
+    private SessionState getOpenedSessionState(int sessionId) {
+        SessionState sessionState = sessionRpcMap.containsKey(sessionId) ? sessionStateMap.get(sessionId) : null;
+        if (sessionState == null) {
+            throw new IllegalStateException("Session " + sessionId + " is not opened or is already closed");
+        }
+        return sessionState;
+    }
+
+    /**
+     * Gets the session state for the received data packet.
+     *
+     * @param sessionId the session ID.
+     * @return the session state, or null if the session is closed.
+     */
+    private SessionState getReceiveSessionState(int sessionId) {
+        synchronized (sessionStateMap) {
+            if (closedSessionIdSet.contains(sessionId)) {
+                return null;
+            }
+            return sessionStateMap.computeIfAbsent(sessionId, key -> new SessionState());
+        }
+    }
+
+    /**
+     * Queues a data packet of the session for sending. It blocks while the session window is full.
+     *
+     * @param sessionId  the session ID.
+     * @param dataPacket the data packet with the header in the session.
+     * @return a future that is completed once the shared RPC sends the data packet.
+     */
+    CompletableFuture<Void> enqueue(int sessionId, DataPacket dataPacket) {
+        if (!running) {
+            throw new IllegalStateException("Session multiplexer is not connected");
+        }
+        SessionState sessionState = getOpenedSessionState(sessionId);
+        DataPacketHeader wireHeader = toWireHeader(sessionId, dataPacket.getHeader());
+        List<byte[]> payload = dataPacket.getPayload();
+        long byteLength = HEADER_BYTE_LENGTH + payload.stream().mapToLong(data -> Integer.BYTES + data.length).sum();
+        SendTask sendTask = new SendTask(DataPacket.fromByteArrayList(wireHeader, payload), byteLength);
+        sendLock.lock();
+        try {
+            // always admit one data packet, otherwise a data packet larger than the window would block forever
+            while (running
+                && sessionState.queuedByteLength > 0 && sessionState.queuedByteLength + byteLength > windowByteLength) {
+                sessionState.windowCondition.await();
+            }
+            // the scheduler fails queued data packets under the lock when stopping, a data packet queued after that
+            // would never be sent
+            if (!running) {
+                throw new IllegalStateException("Session multiplexer is disconnected");
+            }
+            sessionState.sendQueue.add(sendTask);
+            sessionState.queuedByteLength += byteLength;
+            if (!sessionState.active) {
+                sessionState.active = true;
+                activeSessionStates.addLast(sessionState);
+                activeCondition.signal();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the send window of session " + sessionId);
+        } finally {
+            sendLock.unlock();
+        }
+        return sendTask.future;
+    }
+
+    private void schedule() {
+        List<SendTask> sendTasks = new LinkedList<>();
+        while (true) {
+            SessionState sessionState;
+            sendLock.lock();
+            try {
+                while (running && activeSessionStates.isEmpty()) {
+                    activeCondition.awaitUninterruptibly();
+                }
+                if (!running) {
+                    failQueuedSendTasks();
+                    return;
+                }
+                // deficit round-robin: a session sends data packets of at most its deficit, then yields
+                sessionState = activeSessionStates.pollFirst();
+                sessionState.deficit += quantumByteLength;
+                while (!sessionState.sendQueue.isEmpty() && sessionState.sendQueue.peek().byteLength <= sessionState.deficit) {
+                    SendTask sendTask = sessionState.sendQueue.poll();
+                    sessionState.deficit -= sendTask.byteLength;
+                    sendTasks.add(sendTask);
+                }
+                if (sessionState.sendQueue.isEmpty()) {
+                    sessionState.deficit = 0;
+                    sessionState.active = false;
+                } else {
+                    activeSessionStates.addLast(sessionState);
+                }
+            } finally {
+                sendLock.unlock();
+            }
+            for (SendTask sendTask : sendTasks) {
+                // the window is released once the shared RPC finishes sending, so that queued bytes track the transport
+                rpc.sendAsync(sendTask.dataPacket).whenComplete((ignored, throwable) -> {
+                    release(sessionState, sendTask.byteLength);
+                    if (throwable == null) {
+                        sendTask.future.complete(null);
+                    } else {
+                        sendTask.future.completeExceptionally(throwable);
+                    }
+                });
+            }
+            sendTasks.clear();
+        }
+    }
+
+    private void release(SessionState sessionState, long byteLength) {
+        sendLock.lock();
+        try {
+            sessionState.queuedByteLength -= byteLength;
+            sessionState.windowCondition.signalAll();
+        } finally {
+            sendLock.unlock();
+        }
+    }
+
+    private void failQueuedSendTasks() {
+        IllegalStateException exception = new IllegalStateException("Session multiplexer is disconnected");
+        for (SessionState sessionState : activeSessionStates) {
+            for (SendTask sendTask : sessionState.sendQueue) {
+                sendTask.future.completeExceptionally(exception);
+            }
+            sessionState.sendQueue.clear();
+            sessionState.queuedByteLength = 0;
+            sessionState.active = false;
+        }
+        activeSessionStates.clear();
+        // wake up all senders waiting for the window, including those whose data packets are being sent
+        for (SessionState sessionState : sessionStateMap.values()) {
+            sessionState.windowCondition.signalAll();
+        }
+    }
+
+    private void dispatch() {
+        while (running) {
+            DataPacket dataPacket = rpc.receiveAny();
+            if (dataPacket == null) {
+                // interrupted
+                break;
+            }
+            DataPacketHeader wireHeader = dataPacket.getHeader();
+            int sessionId = (int) (wireHeader.getExtraInfo() >>> SESSION_ID_SHIFT);
+            DataPacketHeader header = new DataPacketHeader(
+                wireHeader.getEncodeTaskId(), wireHeader.getPtoId(), wireHeader.getStepId(),
+                wireHeader.getExtraInfo() & MAX_EXTRA_INFO, wireHeader.getSenderId(), wireHeader.getReceiverId()
+            );
+            SessionState sessionState = getReceiveSessionState(sessionId);
+            if (sessionState == null) {
+                LOGGER.warn(
+                    "{} drops data packet (ptoId = {}, stepId = {}) of closed session {}",
+                    rpc.ownParty(), header.getPtoId(), header.getStepId(), sessionId
+                );
+                continue;
+            }
+            sessionState.dataPacketBuffer.put(DataPacket.fromByteArrayList(header, dataPacket.getPayload()));
+        }
+    }
+
+    private static DataPacketHeader toWireHeader(int sessionId, DataPacketHeader header) {
+        MathPreconditions.checkLessOrEqual("extraInfo", header.getExtraInfo(), MAX_EXTRA_INFO);
+        return new DataPacketHeader(
+            header.getEncodeTaskId(), header.getPtoId(), header.getStepId(),
+            ((long) sessionId << SESSION_ID_SHIFT) | header.getExtraInfo(), header.getSenderId(), header.getReceiverId()
+        );
+    }
+
+    /**
+     * a data packet waiting to be sent.
+     */
+    private static class SendTask {
+        /**
+         * the data packet with the wire header
+         */
+        private final DataPacket dataPacket;
+        /**
+         * estimated byte length
+         */
+        private final long byteLength;
+        /**
+         * the future completed once sent
+         */
+        private final CompletableFuture<Void> future;
+
+        private SendTask(DataPacket dataPacket, long byteLength) {
+            this.dataPacket = dataPacket;
+            this.byteLength = byteLength;
+            future = new CompletableFuture<>();
+        }
+    }
+
+    /**
+     * state of a session. Send fields must be accessed with the send lock held.
+     */
+    private class SessionState {
+        /**
+         * receive buffer with headers in the session
+         */
+        private final DataPacketBuffer dataPacketBuffer;
+        /**
+         * send queue
+         */
+        private final Queue<SendTask> sendQueue;
+        /**
+         * the condition that the window is released
+         */
+        private final Condition windowCondition;
+        /**
+         * bytes queued or being sent
+         */
+        private long queuedByteLength;
+        /**
+         * deficit of deficit round-robin
+         */
+        private long deficit;
+        /**
+         * in the active session queue or not
+         */
+        private boolean active;
+
+        private SessionState() {
+            dataPacketBuffer = new IndexedDataPacketBuffer();
+            sendQueue = new LinkedList<>();
+            windowCondition = sendLock.newCondition();
+            queuedByteLength = 0;
+            deficit = 0;
+            active = false;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package edu.alibaba.mpc4j.common.rpc.session;
+
+import edu.alibaba.mpc4j.common.rpc.desc.PtoDesc;
+import edu.alibaba.mpc4j.common.rpc.desc.PtoDescManager;
+
+/**
+ * session protocol description, used to synchronize parties within a session.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/12
+ */
+class SessionPtoDesc implements PtoDesc {
+    /**
+     * protocol ID
+     */
+    private static final int PTO_ID = Math.abs((int) 2781509935374211447L);
+    /**
+     * protocol name
+     */
+    private static final String PTO_NAME = "SESSION_CONNECT";
+
+    /**
+     * protocol step
+     */
+    enum StepEnum {
+        /**
+         * client synchronize
+         */
+        CLIENT_SYNCHRONIZE,
+        /**
+         * server synchronize
+         */
+        SERVER_SYNCHRONIZE,
+    }
+
+    /**
+     * singleton mode
+     */
+    private static final SessionPtoDesc INSTANCE = new SessionPtoDesc();
+
+    private SessionPtoDesc() {
+        // empty
+    }
+
+    public static PtoDesc getInstance() {
+        return INSTANCE;
+    }
+
+    static {
+        PtoDescManager.registerPtoDesc(INSTANCE);
+    }
+
+    @Override
+    public int getPtoId() {
+        return PTO_ID;
+    }
+
+    @Override
+    public String getPtoName() {
+        return PTO_NAME;
+    }
+}
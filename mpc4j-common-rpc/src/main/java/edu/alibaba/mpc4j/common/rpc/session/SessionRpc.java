@@ -0,0 +1,229 @@
+package edu.alibaba.mpc4j.common.rpc.session;
+
+import edu.alibaba.mpc4j.common.rpc.Party;
+import edu.alibaba.mpc4j.common.rpc.Rpc;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacket;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacketBuffer;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedList;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * session RPC. It is one session of a {@link SessionMultiplexer}, and can be used by a top-level protocol instance as
+ * if it were an exclusive RPC. Headers used in the session only need to be unique within the session. Statistics only
+ * count data packets sent in the session, and the send byte length is the payload byte length plus estimated headers.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/12
+ */
+public class SessionRpc implements Rpc {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SessionRpc.class);
+    /**
+     * the session multiplexer
+     */
+    private final SessionMultiplexer sessionMultiplexer;
+    /**
+     * the shared RPC
+     */
+    private final Rpc rpc;
+    /**
+     * session ID
+     */
+    private final int sessionId;
+    /**
+     * own party ID
+     */
+    private final int ownPartyId;
+    /**
+     * receive buffer
+     */
+    private final DataPacketBuffer dataPacketBuffer;
+    /**
+     * data packet num
+     */
+    private final AtomicLong dataPacketNum;
+    /**
+     * payload byte length
+     */
+    private final AtomicLong payloadByteLength;
+    /**
+     * send byte length
+     */
+    private final AtomicLong sendByteLength;
+    /**
+     * the first failure of sending data packets, null if no failure
+     */
+    private final AtomicReference<Throwable> sendFailure;
+
+    SessionRpc(SessionMultiplexer sessionMultiplexer, int sessionId, DataPacketBuffer dataPacketBuffer) {
+        this.sessionMultiplexer = sessionMultiplexer;
+        rpc = sessionMultiplexer.getRpc();
+        this.sessionId = sessionId;
+        ownPartyId = rpc.ownParty().getPartyId();
+        this.dataPacketBuffer = dataPacketBuffer;
+        dataPacketNum = new AtomicLong();
+        payloadByteLength = new AtomicLong();
+        sendByteLength = new AtomicLong();
+        sendFailure = new AtomicReference<>();
+    }
+
+    /**
+     * Gets the session ID.
+     *
+     * @return the session ID.
+     */
+    public int getSessionId() {
+        return sessionId;
+    }
+
+    @Override
+    public Party ownParty() {
+        return rpc.ownParty();
+    }
+
+    @Override
+    public Set<Party> getPartySet() {
+        return rpc.getPartySet();
+    }
+
+    @Override
+    public Party getParty(int partyId) {
+        return rpc.getParty(partyId);
+    }
+
+    /**
+     * The shared RPC is connected by the session multiplexer, and the session is ready once opened.
+     */
+    @Override
+    public void connect() {
+        LOGGER.info("{} session {} connected", rpc.ownParty(), sessionId);
+    }
+
+    /**
+     * Sends the data packet without waiting for the shared RPC. A failure is logged, and the next send in the session
+     * throws an {@link IllegalStateException}.
+     *
+     * @param dataPacket the data packet.
+     */
+    @Override
+    public void send(DataPacket dataPacket) {
+        sendAsync(dataPacket).whenComplete((ignored, throwable) -> {
+            if (throwable != null) {
+                LOGGER.error("{} session {} failed to send data packet", rpc.ownParty(), sessionId, throwable);
+                sendFailure.compareAndSet(null, throwable);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> sendAsync(DataPacket dataPacket) {
+        DataPacketHeader header = dataPacket.getHeader();
+        assert header.getSenderId() == ownPartyId;
+        assert rpc.getParty(header.getReceiverId()) != null;
+        Throwable failure = sendFailure.get();
+        if (failure != null) {
+            throw new IllegalStateException("Session " + sessionId + " failed to send a previous data packet", failure);
+        }
+        CompletableFuture<Void> future = sessionMultiplexer.enqueue(sessionId, dataPacket);
+        long payloadLength = dataPacket.getPayload().stream().mapToLong(data -> data.length).sum();
+        dataPacketNum.incrementAndGet();
+        payloadByteLength.addAndGet(payloadLength);
+        sendByteLength.addAndGet(payloadLength + Long.BYTES * 2 + Integer.BYTES * 4);
+        return future;
+    }
+
+    @Override
+    public DataPacket receive(DataPacketHeader header) {
+        assert header.getReceiverId() == ownPartyId;
+        try {
+            return dataPacketBuffer.take(header);
+        } catch (InterruptedException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public CompletableFuture<DataPacket> receiveAsync(DataPacketHeader header) {
+        assert header.getReceiverId() == ownPartyId;
+        return dataPacketBuffer.takeAsync(header);
+    }
+
+    @Override
+    public DataPacket receiveAny() {
+        try {
+            return dataPacketBuffer.take(ownPartyId);
+        } catch (InterruptedException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public long getPayloadByteLength() {
+        return payloadByteLength.get();
+    }
+
+    @Override
+    public long getSendByteLength() {
+        return sendByteLength.get();
+    }
+
+    @Override
+    public long getSendDataPacketNum() {
+        return dataPacketNum.get();
+    }
+
+    @Override
+    public void synchronize() {
+        // parties with smaller IDs are clients, parties with larger IDs are servers
+        getPartySet().stream().mapToInt(Party::getPartyId).sorted().forEach(otherPartyId -> {
+            DataPacketHeader clientSynchronizeHeader;
+            DataPacketHeader serverSynchronizeHeader;
+            if (otherPartyId < ownPartyId) {
+                clientSynchronizeHeader = new DataPacketHeader(
+                    Long.MAX_VALUE - ownPartyId, SessionPtoDesc.getInstance().getPtoId(), SessionPtoDesc.StepEnum.CLIENT_SYNCHRONIZE.ordinal(),
+                    ownPartyId, otherPartyId
+                );
+                send(DataPacket.fromByteArrayList(clientSynchronizeHeader, new LinkedList<>()));
+                serverSynchronizeHeader = new DataPacketHeader(
+                    Long.MAX_VALUE - otherPartyId, SessionPtoDesc.getInstance().getPtoId(), SessionPtoDesc.StepEnum.SERVER_SYNCHRONIZE.ordinal(),
+                    otherPartyId, ownPartyId
+                );
+                receive(serverSynchronizeHeader);
+            } else if (otherPartyId > ownPartyId) {
+                clientSynchronizeHeader = new DataPacketHeader(
+                    Long.MAX_VALUE - otherPartyId, SessionPtoDesc.getInstance().getPtoId(), SessionPtoDesc.StepEnum.CLIENT_SYNCHRONIZE.ordinal(),
+                    otherPartyId, ownPartyId
+                );
+                receive(clientSynchronizeHeader);
+                serverSynchronizeHeader = new DataPacketHeader(
+                    Long.MAX_VALUE - ownPartyId, SessionPtoDesc.getInstance().getPtoId(), SessionPtoDesc.StepEnum.SERVER_SYNCHRONIZE.ordinal(),
+                    ownPartyId, otherPartyId
+                );
+                send(DataPacket.fromByteArrayList(serverSynchronizeHeader, new LinkedList<>()));
+            }
+        });
+        LOGGER.info("{} session {} synchronized", rpc.ownParty(), sessionId);
+    }
+
+    @Override
+    public void reset() {
+        dataPacketNum.set(0);
+        payloadByteLength.set(0);
+        sendByteLength.set(0);
+    }
+
+    /**
+     * Closes the session after all its queued data packets are sent. The shared RPC is kept connected.
+     */
+    @Override
+    public void disconnect() {
+        sessionMultiplexer.closeSession(sessionId);
+        LOGGER.info("{} session {} disconnected", rpc.ownParty(), sessionId);
+    }
+}
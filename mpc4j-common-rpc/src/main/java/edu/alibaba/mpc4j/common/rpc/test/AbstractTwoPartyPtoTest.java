@@ -3,6 +3,9 @@ package edu.alibaba.mpc4j.common.rpc.test;
 import com.google.common.base.Preconditions;
 import edu.alibaba.mpc4j.common.rpc.Rpc;
 import edu.alibaba.mpc4j.common.rpc.RpcManager;
+import edu.alibaba.mpc4j.common.rpc.impl.emulation.NetworkEmulationRpc;
+import edu.alibaba.mpc4j.common.rpc.impl.emulation.NetworkEmulationRpcManager;
+import edu.alibaba.mpc4j.common.rpc.impl.emulation.NetworkProfile;
 import edu.alibaba.mpc4j.common.rpc.impl.memory.MemoryRpcManager;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.time.StopWatch;
@@ -12,15 +15,21 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.security.SecureRandom;
+import java.util.Arrays;
 
 /**
- * abstract two-party protocol test.
+ * abstract two-party protocol test. Network emulation is disabled by default, and can be enabled by setting the system
+ * property {@link #NETWORK_PROFILES_PROPERTY} to network profiles, e.g., "LAN,WAN".
  *
  * @author Weiran Liu
  * @date 2023/5/22
  */
 public abstract class AbstractTwoPartyPtoTest {
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractTwoPartyPtoTest.class);
+    /**
+     * the system property to enable network emulation, e.g., -Dmpc4j.test.network_profiles=LAN,WAN
+     */
+    public static final String NETWORK_PROFILES_PROPERTY = "mpc4j.test.network_profiles";
     /**
      * the random status
      */
@@ -42,7 +51,16 @@ public abstract class AbstractTwoPartyPtoTest {
         Preconditions.checkArgument(StringUtils.isNotBlank(name));
         // We cannot use NettyRPC in the test case since it needs multi-thread connect / disconnect.
         // In other word, we cannot connect / disconnect NettyRpc in @Before / @After, respectively.
+        // If network profiles are set by the system property, we emulate them over MemoryRpc to report the
+        // estimated wall time.
         RpcManager rpcManager = new MemoryRpcManager(2);
+        String networkProfilesString = System.getProperty(NETWORK_PROFILES_PROPERTY);
+        if (StringUtils.isNotBlank(networkProfilesString)) {
+            NetworkProfile[] profiles = Arrays.stream(networkProfilesString.split(","))
+                .map(NetworkProfile::parse)
+                .toArray(NetworkProfile[]::new);
+            rpcManager = new NetworkEmulationRpcManager(rpcManager, profiles);
+        }
         firstRpc = rpcManager.getRpc(0);
         secondRpc = rpcManager.getRpc(1);
     }
@@ -62,12 +80,33 @@ public abstract class AbstractTwoPartyPtoTest {
     protected void printAndResetRpc(long time) {
         long firstPartyByteLength = firstRpc.getSendByteLength();
         long secondPartyByteLength = secondRpc.getSendByteLength();
+        String emulatedTimeInfo = getEmulatedTimeInfo();
         firstRpc.reset();
         secondRpc.reset();
-        LOGGER.info("{} sends {}B, {} sends {}B, time = {}ms",
+        LOGGER.info("{} sends {}B, {} sends {}B, time = {}ms{}",
             firstRpc.ownParty().getPartyName(), firstPartyByteLength,
             secondRpc.ownParty().getPartyName(), secondPartyByteLength,
-            time
+            time, emulatedTimeInfo
         );
     }
+
+    private String getEmulatedTimeInfo() {
+        if (!(firstRpc instanceof NetworkEmulationRpc && secondRpc instanceof NetworkEmulationRpc)) {
+            return "";
+        }
+        NetworkEmulationRpc firstEmulationRpc = (NetworkEmulationRpc) firstRpc;
+        NetworkEmulationRpc secondEmulationRpc = (NetworkEmulationRpc) secondRpc;
+        NetworkProfile[] profiles = firstEmulationRpc.getProfiles();
+        StringBuilder emulatedTimeInfoBuilder = new StringBuilder();
+        for (int profileIndex = 0; profileIndex < profiles.length; profileIndex++) {
+            // the protocol finishes when both parties finish
+            double emulatedTime = Math.max(
+                firstEmulationRpc.getEmulatedTime(profileIndex), secondEmulationRpc.getEmulatedTime(profileIndex)
+            );
+            emulatedTimeInfoBuilder
+                .append(", ").append(profiles[profileIndex].getName())
+                .append(" = ").append(Math.round(emulatedTime)).append("ms");
+        }
+        return emulatedTimeInfoBuilder.toString();
+    }
 }
@@ -0,0 +1,71 @@
+package edu.alibaba.mpc4j.common.rpc.utils;
+
+import edu.alibaba.mpc4j.common.rpc.Rpc;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * data packet asynchronous utilities. They provide the fallback asynchronous API for RPCs that can only receive data
+ * packets by blocking the calling thread, e.g., FileRpc. Blocking receives run on a dedicated daemon thread pool, so
+ * that they do not occupy threads of the common fork-join pool used by parallel streams.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/11
+ */
+public class DataPacketAsyncUtils {
+    /**
+     * private constructor.
+     */
+    private DataPacketAsyncUtils() {
+        // empty
+    }
+
+    /**
+     * thread index
+     */
+    private static final AtomicInteger THREAD_INDEX = new AtomicInteger();
+    /**
+     * executor for blocking receives
+     */
+    private static final ExecutorService RECEIVE_EXECUTOR = Executors.newCachedThreadPool(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "rpc-async-receive-" + THREAD_INDEX.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    /**
+     * Receives a data packet asynchronously by running the blocking receive on the executor.
+     *
+     * @param rpc    the RPC.
+     * @param header the header.
+     * @return a future of the data packet.
+     */
+    public static CompletableFuture<DataPacket> receiveAsync(Rpc rpc, DataPacketHeader header) {
+        return CompletableFuture.supplyAsync(() -> rpc.receive(header), RECEIVE_EXECUTOR);
+    }
+
+    /**
+     * Sends a data packet by the blocking send. The returned future is completed when the send returns.
+     *
+     * @param rpc        the RPC.
+     * @param dataPacket the data packet.
+     * @return a completed future, or a future completed exceptionally if the send fails.
+     */
+    public static CompletableFuture<Void> sendAsync(Rpc rpc, DataPacket dataPacket) {
+        try {
+            rpc.send(dataPacket);
+            return CompletableFuture.completedFuture(null);
+        } catch (RuntimeException e) {
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+            return future;
+        }
+    }
+}
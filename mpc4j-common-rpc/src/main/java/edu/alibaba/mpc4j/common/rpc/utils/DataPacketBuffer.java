@@ -1,42 +1,21 @@
 package edu.alibaba.mpc4j.common.rpc.utils;
 
-import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
 
 /**
- * thread-safe data packet buffer. The design follows the Producer-Consumer pattern. See:
- * <p>
- * 《Java多线程设计模式》，第五章：Producer-Consumer，我来做，你来用。
- * </p>
+ * thread-safe data packet buffer. Producers put received data packets into the buffer, consumers take data packets
+ * that match the given condition, blocking until such a data packet exists.
  *
  * @author Weiran Liu
- * @date 2021/12/08
+ * @date 2023/7/6
  */
-public class DataPacketBuffer {
-    /**
-     * default buffer size
-     */
-    private static final int DEFAULT_BUFFER_SIZE = 1 << 10;
-    /**
-     * buffer
-     */
-    private final Map<DataPacketHeader, List<byte[]>> dataPacketBuffer;
-
-    public DataPacketBuffer() {
-        dataPacketBuffer = new ConcurrentHashMap<>(DEFAULT_BUFFER_SIZE);
-    }
-
+public interface DataPacketBuffer {
     /**
      * Puts a data packet into the buffer.
      *
      * @param dataPacket the data packet.
      */
-    public synchronized void put(DataPacket dataPacket) {
-        assert (dataPacket != null);
-        dataPacketBuffer.put(dataPacket.getHeader(), dataPacket.getPayload());
-        notifyAll();
-    }
+    void put(DataPacket dataPacket);
 
     /**
      * Takes a data packet that matches the header.
@@ -45,14 +24,7 @@ public class DataPacketBuffer {
      * @return a data packet.
      * @throws InterruptedException interrupted exception.
      */
-    public synchronized DataPacket take(DataPacketHeader header) throws InterruptedException {
-        assert (header != null);
-        // if there is no target data packet in the buffer, waiting until new data packet is added.
-        while (!dataPacketBuffer.containsKey(header)) {
-            wait();
-        }
-        return DataPacket.fromByteArrayList(header, dataPacketBuffer.remove(header));
-    }
+    DataPacket take(DataPacketHeader header) throws InterruptedException;
 
     /**
      * Takes a data packet that matches the receiver ID.
@@ -61,22 +33,7 @@ public class DataPacketBuffer {
      * @return a data packet.
      * @throws InterruptedException interrupted exception.
      */
-    public synchronized DataPacket take(int receiverId) throws InterruptedException {
-        DataPacketHeader targetHeader = null;
-        while (targetHeader == null) {
-            // we first try to find a candidate header
-            for (DataPacketHeader dataPacketHeader : dataPacketBuffer.keySet()) {
-                if (dataPacketHeader.getReceiverId() == receiverId) {
-                    targetHeader = dataPacketHeader;
-                }
-            }
-            if (targetHeader == null) {
-                // if we cannot find any candidate, wait for new data packets.
-                wait();
-            }
-        }
-        return DataPacket.fromByteArrayList(targetHeader, dataPacketBuffer.remove(targetHeader));
-    }
+    DataPacket take(int receiverId) throws InterruptedException;
 
     /**
      * Takes a data packet that matches the receiver ID and the protocol ID.
@@ -86,20 +43,16 @@ public class DataPacketBuffer {
      * @return a data packet.
      * @throws InterruptedException interrupted exception.
      */
-    public synchronized DataPacket take(int receiverId, int ptoId) throws InterruptedException {
-        DataPacketHeader targetHeader = null;
-        while (targetHeader == null) {
-            // we first try to find a candidate header
-            for (DataPacketHeader dataPacketHeader : dataPacketBuffer.keySet()) {
-                if (dataPacketHeader.getReceiverId() == receiverId && dataPacketHeader.getPtoId() == ptoId) {
-                    targetHeader = dataPacketHeader;
-                }
-            }
-            if (targetHeader == null) {
-                // if we cannot find any candidate, wait for new data packets.
-                wait();
-            }
-        }
-        return DataPacket.fromByteArrayList(targetHeader, dataPacketBuffer.remove(targetHeader));
-    }
+    DataPacket take(int receiverId, int ptoId) throws InterruptedException;
+
+    /**
+     * Takes a data packet that matches the header without blocking. If the data packet is already in the buffer, the
+     * returned future is completed. Otherwise, the future is completed by the thread that puts the data packet, and the
+     * data packet is handed to the future instead of being buffered. Dependent stages with heavy work should use the
+     * async variants, since the putting thread is usually the network thread. Cancelling the future gives up the take.
+     *
+     * @param header the header.
+     * @return a future of the data packet.
+     */
+    CompletableFuture<DataPacket> takeAsync(DataPacketHeader header);
 }
@@ -0,0 +1,47 @@
+package edu.alibaba.mpc4j.common.rpc.utils;
+
+/**
+ * data packet buffer factory.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/6
+ */
+public class DataPacketBufferFactory {
+    /**
+     * private constructor.
+     */
+    private DataPacketBufferFactory() {
+        // empty
+    }
+
+    /**
+     * data packet buffer type
+     */
+    public enum DataPacketBufferType {
+        /**
+         * guarded by a single monitor, all waiting threads are woken up for each put.
+         */
+        SYNC,
+        /**
+         * lock-striped by receiver ID, with secondary indexes and per-condition waiters.
+         */
+        INDEXED,
+    }
+
+    /**
+     * Creates a data packet buffer.
+     *
+     * @param type the type.
+     * @return a data packet buffer.
+     */
+    public static DataPacketBuffer createInstance(DataPacketBufferType type) {
+        switch (type) {
+            case SYNC:
+                return new SyncDataPacketBuffer();
+            case INDEXED:
+                return new IndexedDataPacketBuffer();
+            default:
+                throw new IllegalArgumentException("Invalid " + DataPacketBufferType.class.getSimpleName() + ": " + type.name());
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package edu.alibaba.mpc4j.common.rpc.utils;
+
+import edu.alibaba.mpc4j.common.rpc.Rpc;
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * data packet stream utilities. A stream is a logical message sent as a sequence of bounded chunks under one data
+ * packet header. Each chunk is sent as a separate data packet, so that the receiver can process chunks as they arrive.
+ * <p>
+ * The i-th chunk is sent with the header whose extraInfo is (extraInfo << LOG_MAX_CHUNK_NUM) | i, and the last element
+ * of each chunk payload is a 1-byte flag indicating whether the chunk is the last one. Note that a step must be either
+ * sent as a stream or sent as a single data packet, and the extraInfo of a stream must be at most MAX_EXTRA_INFO.
+ * </p>
+ *
+ * @author Weiran Liu
+ * @date 2023/7/7
+ */
+public class DataPacketStreamUtils {
+    /**
+     * private constructor.
+     */
+    private DataPacketStreamUtils() {
+        // empty
+    }
+
+    /**
+     * log(max number of chunks)
+     */
+    private static final int LOG_MAX_CHUNK_NUM = 20;
+    /**
+     * max number of chunks in a stream
+     */
+    public static final int MAX_CHUNK_NUM = 1 << LOG_MAX_CHUNK_NUM;
+    /**
+     * max extraInfo of a stream
+     */
+    public static final long MAX_EXTRA_INFO = Long.MAX_VALUE >> LOG_MAX_CHUNK_NUM;
+    /**
+     * flag of a middle chunk
+     */
+    private static final byte[] MIDDLE_CHUNK_FLAG = new byte[] {0x00};
+    /**
+     * flag of the last chunk
+     */
+    private static final byte[] LAST_CHUNK_FLAG = new byte[] {0x01};
+
+    /**
+     * Gets the header of the chunk.
+     *
+     * @param header     the stream header.
+     * @param chunkIndex the chunk index.
+     * @return the header of the chunk.
+     */
+    public static DataPacketHeader getChunkHeader(DataPacketHeader header, int chunkIndex) {
+        MathPreconditions.checkLessOrEqual("extraInfo", header.getExtraInfo(), MAX_EXTRA_INFO);
+        MathPreconditions.checkNonNegativeInRange("chunkIndex", chunkIndex, MAX_CHUNK_NUM);
+        return new DataPacketHeader(
+            header.getEncodeTaskId(), header.getPtoId(), header.getStepId(),
+            (header.getExtraInfo() << LOG_MAX_CHUNK_NUM) | chunkIndex,
+            header.getSenderId(), header.getReceiverId()
+        );
+    }
+
+    /**
+     * Sends a stream. Each chunk is sent once it is generated by the iterator, so that the chunk generation can be
+     * lazy and overlaps with the transmission.
+     *
+     * @param rpc           the rpc.
+     * @param header        the stream header.
+     * @param chunkIterator the chunk iterator.
+     */
+    public static void sendStream(Rpc rpc, DataPacketHeader header, Iterator<List<byte[]>> chunkIterator) {
+        int chunkIndex = 0;
+        // an empty stream is sent as an empty last chunk
+        boolean last = !chunkIterator.hasNext();
+        while (!last) {
+            List<byte[]> chunk = chunkIterator.next();
+            last = !chunkIterator.hasNext();
+            List<byte[]> chunkPayload = new ArrayList<>(chunk.size() + 1);
+            chunkPayload.addAll(chunk);
+            chunkPayload.add(last ? LAST_CHUNK_FLAG : MIDDLE_CHUNK_FLAG);
+            rpc.send(DataPacket.fromByteArrayList(getChunkHeader(header, chunkIndex), chunkPayload));
+            chunkIndex++;
+        }
+        if (chunkIndex == 0) {
+            List<byte[]> chunkPayload = new ArrayList<>(1);
+            chunkPayload.add(LAST_CHUNK_FLAG);
+            rpc.send(DataPacket.fromByteArrayList(getChunkHeader(header, chunkIndex), chunkPayload));
+        }
+    }
+
+    /**
+     * Receives a stream. The returned iterator blocks until the next chunk arrives. Note that a stream with only one
+     * empty chunk is received as an empty stream.
+     *
+     * @param rpc    the rpc.
+     * @param header the stream header.
+     * @return the chunk iterator.
+     */
+    public static Iterator<List<byte[]>> receiveStream(Rpc rpc, DataPacketHeader header) {
+        return new ChunkIterator(rpc, header);
+    }
+
+    /**
+     * chunk iterator for the receiver.
+     */
+    private static class ChunkIterator implements Iterator<List<byte[]>> {
+        /**
+         * the rpc
+         */
+        private final Rpc rpc;
+        /**
+         * the stream header
+         */
+        private final DataPacketHeader header;
+        /**
+         * the next chunk, null if it has not been received
+         */
+        private List<byte[]> nextChunk;
+        /**
+         * index of the next chunk to receive
+         */
+        private int chunkIndex;
+        /**
+         * whether the last chunk is received
+         */
+        private boolean last;
+
+        private ChunkIterator(Rpc rpc, DataPacketHeader header) {
+            this.rpc = rpc;
+            this.header = header;
+            nextChunk = null;
+            chunkIndex = 0;
+            last = false;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (nextChunk == null && !last) {
+                receiveChunk();
+            }
+            return nextChunk != null;
+        }
+
+        @Override
+        public List<byte[]> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            List<byte[]> chunk = nextChunk;
+            nextChunk = null;
+            return chunk;
+        }
+
+        private void receiveChunk() {
+            List<byte[]> chunkPayload = rpc.receive(getChunkHeader(header, chunkIndex)).getPayload();
+            // a chunk payload contains at least the flag
+            assert chunkPayload.size() > 0;
+            byte[] flag = chunkPayload.get(chunkPayload.size() - 1);
+            assert flag.length == 1;
+            last = (flag[0] == LAST_CHUNK_FLAG[0]);
+            List<byte[]> chunk = new ArrayList<>(chunkPayload.subList(0, chunkPayload.size() - 1));
+            // an empty stream is received as an empty last chunk
+            if (chunkIndex > 0 || !last || chunk.size() > 0) {
+                nextChunk = chunk;
+            }
+            chunkIndex++;
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package edu.alibaba.mpc4j.common.rpc.utils;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.IntStream;
+
+/**
+ * thread-safe data packet buffer with secondary indexes and per-condition waiters.
+ * <p>
+ * All operations for a data packet only involve its receiver ID, so the buffer is lock-striped by the receiver ID.
+ * Each stripe keeps the buffered data packets, an index by receiver ID and an index by (receiver ID, protocol ID), so
+ * that all take operations run in O(1) time. Waiting threads wait on the condition of what they are waiting for (the
+ * header, the receiver ID, or the (receiver ID, protocol ID) pair), and a put only wakes up the matching waiters.
+ * Futures returned by takeAsync are kept by their headers, and a put hands the data packet to the first pending one.
+ * </p>
+ *
+ * @author Weiran Liu
+ * @date 2023/7/6
+ */
+public class IndexedDataPacketBuffer implements DataPacketBuffer {
+    /**
+     * number of stripes
+     */
+    private static final int STRIPE_NUM = 1 << 4;
+    /**
+     * stripes
+     */
+    private final Stripe[] stripes;
+
+    public IndexedDataPacketBuffer() {
+        stripes = IntStream.range(0, STRIPE_NUM)
+            .mapToObj(stripeIndex -> new Stripe())
+            .toArray(Stripe[]::new);
+    }
+
+    private Stripe getStripe(int receiverId) {
+        return stripes[receiverId & (STRIPE_NUM - 1)];
+    }
+
+    private static long receiverPtoKey(int receiverId, int ptoId) {
+        return (((long) receiverId) << Integer.SIZE) | (ptoId & 0xFFFFFFFFL);
+    }
+
+    @Override
+    public void put(DataPacket dataPacket) {
+        assert (dataPacket != null);
+        DataPacketHeader header = dataPacket.getHeader();
+        Stripe stripe = getStripe(header.getReceiverId());
+        CompletableFuture<DataPacket> future;
+        stripe.lock.lock();
+        try {
+            future = stripe.pollFuture(header);
+            if (future == null) {
+                stripe.put(header, dataPacket.getPayload());
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+        // complete the future outside the lock, since the completion runs dependent stages
+        if (future != null && !future.complete(dataPacket)) {
+            // the future is cancelled after it is polled, buffer the data packet again
+            put(dataPacket);
+        }
+    }
+
+    @Override
+    public CompletableFuture<DataPacket> takeAsync(DataPacketHeader header) {
+        assert (header != null);
+        Stripe stripe = getStripe(header.getReceiverId());
+        stripe.lock.lock();
+        try {
+            if (stripe.packetMap.containsKey(header)) {
+                return CompletableFuture.completedFuture(DataPacket.fromByteArrayList(header, stripe.remove(header)));
+            }
+            CompletableFuture<DataPacket> future = new CompletableFuture<>();
+            stripe.headerFutureMap.computeIfAbsent(header, key -> new LinkedList<>()).add(future);
+            return future;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    @Override
+    public DataPacket take(DataPacketHeader header) throws InterruptedException {
+        assert (header != null);
+        Stripe stripe = getStripe(header.getReceiverId());
+        stripe.lock.lockInterruptibly();
+        try {
+            if (!stripe.packetMap.containsKey(header)) {
+                Waiter waiter = stripe.headerWaiterMap.computeIfAbsent(header, key -> new Waiter(stripe.lock));
+                waiter.num++;
+                try {
+                    while (!stripe.packetMap.containsKey(header)) {
+                        waiter.condition.await();
+                    }
+                } finally {
+                    waiter.num--;
+                    if (waiter.num == 0) {
+                        stripe.headerWaiterMap.remove(header);
+                    }
+                }
+            }
+            return DataPacket.fromByteArrayList(header, stripe.remove(header));
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    @Override
+    public DataPacket take(int receiverId) throws InterruptedException {
+        Stripe stripe = getStripe(receiverId);
+        stripe.lock.lockInterruptibly();
+        try {
+            DataPacketHeader header = stripe.first(stripe.receiverIndexMap, receiverId);
+            if (header == null) {
+                Waiter waiter = stripe.receiverWaiterMap.computeIfAbsent(receiverId, key -> new Waiter(stripe.lock));
+                waiter.num++;
+                try {
+                    while (header == null) {
+                        waiter.condition.await();
+                        header = stripe.first(stripe.receiverIndexMap, receiverId);
+                    }
+                } finally {
+                    waiter.num--;
+                    if (waiter.num == 0) {
+                        stripe.receiverWaiterMap.remove(receiverId);
+                    }
+                }
+            }
+            return DataPacket.fromByteArrayList(header, stripe.remove(header));
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    @Override
+    public DataPacket take(int receiverId, int ptoId) throws InterruptedException {
+        Stripe stripe = getStripe(receiverId);
+        long key = receiverPtoKey(receiverId, ptoId);
+        stripe.lock.lockInterruptibly();
+        try {
+            DataPacketHeader header = stripe.first(stripe.receiverPtoIndexMap, key);
+            if (header == null) {
+                Waiter waiter = stripe.receiverPtoWaiterMap.computeIfAbsent(key, k -> new Waiter(stripe.lock));
+                waiter.num++;
+                try {
+                    while (header == null) {
+                        waiter.condition.await();
+                        header = stripe.first(stripe.receiverPtoIndexMap, key);
+                    }
+                } finally {
+                    waiter.num--;
+                    if (waiter.num == 0) {
+                        stripe.receiverPtoWaiterMap.remove(key);
+                    }
+                }
+            }
+            return DataPacket.fromByteArrayList(header, stripe.remove(header));
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * threads waiting for the same condition.
+     */
+    private static class Waiter {
+        /**
+         * the condition
+         */
+        private final Condition condition;
+        /**
+         * number of waiting threads
+         */
+        private int num;
+
+        private Waiter(ReentrantLock lock) {
+            condition = lock.newCondition();
+            num = 0;
+        }
+    }
+
+    /**
+     * a stripe of the buffer. All fields must be accessed with the lock held.
+     */
+    private static class Stripe {
+        /**
+         * the lock
+         */
+        private final ReentrantLock lock;
+        /**
+         * buffered data packets
+         */
+        private final Map<DataPacketHeader, List<byte[]>> packetMap;
+        /**
+         * receiver ID -> buffered headers, in insertion order
+         */
+        private final Map<Integer, LinkedHashSet<DataPacketHeader>> receiverIndexMap;
+        /**
+         * (receiver ID, protocol ID) -> buffered headers, in insertion order
+         */
+        private final Map<Long, LinkedHashSet<DataPacketHeader>> receiverPtoIndexMap;
+        /**
+         * header -> waiters
+         */
+        private final Map<DataPacketHeader, Waiter> headerWaiterMap;
+        /**
+         * receiver ID -> waiters
+         */
+        private final Map<Integer, Waiter> receiverWaiterMap;
+        /**
+         * (receiver ID, protocol ID) -> waiters
+         */
+        private final Map<Long, Waiter> receiverPtoWaiterMap;
+        /**
+         * header -> futures waiting for the header, in takeAsync order
+         */
+        private final Map<DataPacketHeader, Deque<CompletableFuture<DataPacket>>> headerFutureMap;
+
+        private Stripe() {
+            lock = new ReentrantLock();
+            packetMap = new HashMap<>();
+            receiverIndexMap = new HashMap<>();
+            receiverPtoIndexMap = new HashMap<>();
+            headerWaiterMap = new HashMap<>();
+            receiverWaiterMap = new HashMap<>();
+            receiverPtoWaiterMap = new HashMap<>();
+            headerFutureMap = new HashMap<>();
+        }
+
+        private CompletableFuture<DataPacket> pollFuture(DataPacketHeader header) {
+            Deque<CompletableFuture<DataPacket>> futures = headerFutureMap.get(header);
+            if (futures == null) {
+                return null;
+            }
+            CompletableFuture<DataPacket> future = futures.poll();
+            // skip cancelled futures
+            while (future != null && future.isDone()) {
+                future = futures.poll();
+            }
+            if (futures.isEmpty()) {
+                headerFutureMap.remove(header);
+            }
+            return future;
+        }
+
+        private void put(DataPacketHeader header, List<byte[]> payload) {
+            int receiverId = header.getReceiverId();
+            long key = receiverPtoKey(receiverId, header.getPtoId());
+            packetMap.put(header, payload);
+            receiverIndexMap.computeIfAbsent(receiverId, k -> new LinkedHashSet<>()).add(header);
+            receiverPtoIndexMap.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(header);
+            // wake up matching waiters. Threads waiting for the same header are all woken up, since they compete for
+            // one data packet anyway. For other conditions, one data packet can satisfy one waiting thread.
+            Waiter headerWaiter = headerWaiterMap.get(header);
+            if (headerWaiter != null) {
+                headerWaiter.condition.signalAll();
+            }
+            Waiter receiverPtoWaiter = receiverPtoWaiterMap.get(key);
+            if (receiverPtoWaiter != null) {
+                receiverPtoWaiter.condition.signal();
+            }
+            Waiter receiverWaiter = receiverWaiterMap.get(receiverId);
+            if (receiverWaiter != null) {
+                receiverWaiter.condition.signal();
+            }
+        }
+
+        private <K> DataPacketHeader first(Map<K, LinkedHashSet<DataPacketHeader>> indexMap, K key) {
+            LinkedHashSet<DataPacketHeader> headers = indexMap.get(key);
+            if (headers == null) {
+                return null;
+            }
+            // index sets are removed once they become empty
+            return headers.iterator().next();
+        }
+
+        private List<byte[]> remove(DataPacketHeader header) {
+            int receiverId = header.getReceiverId();
+            long key = receiverPtoKey(receiverId, header.getPtoId());
+            List<byte[]> payload = packetMap.remove(header);
+            removeIndex(receiverIndexMap, receiverId, header);
+            removeIndex(receiverPtoIndexMap, key, header);
+            return payload;
+        }
+
+        private <K> void removeIndex(Map<K, LinkedHashSet<DataPacketHeader>> indexMap, K key, DataPacketHeader header) {
+            LinkedHashSet<DataPacketHeader> headers = indexMap.get(key);
+            headers.remove(header);
+            if (headers.isEmpty()) {
+                indexMap.remove(key);
+            }
+        }
+    }
+}
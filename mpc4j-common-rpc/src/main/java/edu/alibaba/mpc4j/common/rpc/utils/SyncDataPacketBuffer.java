@@ -0,0 +1,126 @@
+package edu.alibaba.mpc4j.common.rpc.utils;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * thread-safe data packet buffer guarded by a single monitor. Each put wakes all waiting threads, which then scan the
+ * whole buffer. The design follows the Producer-Consumer pattern. See:
+ * <p>
+ * 《Java多线程设计模式》，第五章：Producer-Consumer，我来做，你来用。
+ * </p>
+ *
+ * @author Weiran Liu
+ * @date 2021/12/08
+ */
+public class SyncDataPacketBuffer implements DataPacketBuffer {
+    /**
+     * default buffer size
+     */
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 10;
+    /**
+     * buffer
+     */
+    private final Map<DataPacketHeader, List<byte[]>> dataPacketBuffer;
+    /**
+     * futures waiting for headers
+     */
+    private final Map<DataPacketHeader, Deque<CompletableFuture<DataPacket>>> headerFutureMap;
+
+    public SyncDataPacketBuffer() {
+        dataPacketBuffer = new ConcurrentHashMap<>(DEFAULT_BUFFER_SIZE);
+        headerFutureMap = new HashMap<>();
+    }
+
+    @Override
+    public void put(DataPacket dataPacket) {
+        assert (dataPacket != null);
+        CompletableFuture<DataPacket> future;
+        synchronized (this) {
+            future = pollFuture(dataPacket.getHeader());
+            if (future == null) {
+                dataPacketBuffer.put(dataPacket.getHeader(), dataPacket.getPayload());
+                notifyAll();
+            }
+        }
+        // complete the future outside the monitor, since the completion runs dependent stages
+        if (future != null && !future.complete(dataPacket)) {
+            // the future is cancelled after it is polled, buffer the data packet again
+            put(dataPacket);
+        }
+    }
+
+    private CompletableFuture<DataPacket> pollFuture(DataPacketHeader header) {
+        Deque<CompletableFuture<DataPacket>> futures = headerFutureMap.get(header);
+        if (futures == null) {
+            return null;
+        }
+        CompletableFuture<DataPacket> future = futures.poll();
+        // skip cancelled futures
+        while (future != null && future.isDone()) {
+            future = futures.poll();
+        }
+        if (futures.isEmpty()) {
+            headerFutureMap.remove(header);
+        }
+        return future;
+    }
+
+    @Override
+    public synchronized CompletableFuture<DataPacket> takeAsync(DataPacketHeader header) {
+        assert (header != null);
+        if (dataPacketBuffer.containsKey(header)) {
+            return CompletableFuture.completedFuture(DataPacket.fromByteArrayList(header, dataPacketBuffer.remove(header)));
+        }
+        CompletableFuture<DataPacket> future = new CompletableFuture<>();
+        headerFutureMap.computeIfAbsent(header, key -> new LinkedList<>()).add(future);
+        return future;
+    }
+
+    @Override
+    public synchronized DataPacket take(DataPacketHeader header) throws InterruptedException {
+        assert (header != null);
+        // if there is no target data packet in the buffer, waiting until new data packet is added.
+        while (!dataPacketBuffer.containsKey(header)) {
+            wait();
+        }
+        return DataPacket.fromByteArrayList(header, dataPacketBuffer.remove(header));
+    }
+
+    @Override
+    public synchronized DataPacket take(int receiverId) throws InterruptedException {
+        DataPacketHeader targetHeader = null;
+        while (targetHeader == null) {
+            // we first try to find a candidate header
+            for (DataPacketHeader dataPacketHeader : dataPacketBuffer.keySet()) {
+                if (dataPacketHeader.getReceiverId() == receiverId) {
+                    targetHeader = dataPacketHeader;
+                }
+            }
+            if (targetHeader == null) {
+                // if we cannot find any candidate, wait for new data packets.
+                wait();
+            }
+        }
+        return DataPacket.fromByteArrayList(targetHeader, dataPacketBuffer.remove(targetHeader));
+    }
+
+    @Override
+    public synchronized DataPacket take(int receiverId, int ptoId) throws InterruptedException {
+        DataPacketHeader targetHeader = null;
+        while (targetHeader == null) {
+            // we first try to find a candidate header
+            for (DataPacketHeader dataPacketHeader : dataPacketBuffer.keySet()) {
+                if (dataPacketHeader.getReceiverId() == receiverId && dataPacketHeader.getPtoId() == ptoId) {
+                    targetHeader = dataPacketHeader;
+                }
+            }
+            if (targetHeader == null) {
+                // if we cannot find any candidate, wait for new data packets.
+                wait();
+            }
+        }
+        return DataPacket.fromByteArrayList(targetHeader, dataPacketBuffer.remove(targetHeader));
+    }
+}
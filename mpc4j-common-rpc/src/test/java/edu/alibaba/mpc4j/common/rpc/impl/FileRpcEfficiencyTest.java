@@ -0,0 +1,109 @@
+package edu.alibaba.mpc4j.common.rpc.impl;
+
+import edu.alibaba.mpc4j.common.rpc.Rpc;
+import edu.alibaba.mpc4j.common.rpc.RpcManager;
+import edu.alibaba.mpc4j.common.rpc.impl.file.FileRpcManager;
+import edu.alibaba.mpc4j.common.rpc.impl.file.MmapFileRpcManager;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacket;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.time.StopWatch;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.security.SecureRandom;
+import java.text.DecimalFormat;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * File RPC efficiency test. Compares the text-based FileRpc with the memory-mapped MmapFileRpc.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/9
+ */
+@Ignore
+public class FileRpcEfficiencyTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FileRpcEfficiencyTest.class);
+    /**
+     * number of data packets
+     */
+    private static final int DATA_PACKET_NUM = 1 << 4;
+    /**
+     * time format
+     */
+    private static final DecimalFormat TIME_DECIMAL_FORMAT = new DecimalFormat("0.00");
+    /**
+     * random state
+     */
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
+    @Test
+    public void testEfficiency() throws InterruptedException {
+        LOGGER.info("{}\t{}\t{}\t{}\t{}",
+            "         name", "     items", " item_byte", "  time(ms)", "    MB/s"
+        );
+        // many small items
+        testEfficiency("FileRpc", new FileRpcManager(2), 1 << 14, 16);
+        testEfficiency("MmapFileRpc", new MmapFileRpcManager(2), 1 << 14, 16);
+        // a few large items
+        testEfficiency("FileRpc", new FileRpcManager(2), 1 << 4, 1 << 16);
+        testEfficiency("MmapFileRpc", new MmapFileRpcManager(2), 1 << 4, 1 << 16);
+    }
+
+    private void testEfficiency(String name, RpcManager rpcManager, int itemNum, int itemByteLength)
+        throws InterruptedException {
+        Rpc senderRpc = rpcManager.getRpc(0);
+        Rpc receiverRpc = rpcManager.getRpc(1);
+        senderRpc.connect();
+        receiverRpc.connect();
+        int taskId = Math.abs(SECURE_RANDOM.nextInt());
+        List<byte[]> payload = IntStream.range(0, itemNum)
+            .mapToObj(index -> {
+                byte[] item = new byte[itemByteLength];
+                SECURE_RANDOM.nextBytes(item);
+                return item;
+            })
+            .collect(Collectors.toList());
+        StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+        Thread senderThread = new Thread(() -> {
+            for (int index = 0; index < DATA_PACKET_NUM; index++) {
+                DataPacketHeader header = new DataPacketHeader(
+                    taskId, RpcTestPtoDesc.getInstance().getPtoId(), RpcTestPtoDesc.PtoStep.THROUGHPUT.ordinal(),
+                    index, senderRpc.ownParty().getPartyId(), receiverRpc.ownParty().getPartyId()
+                );
+                senderRpc.send(DataPacket.fromByteArrayList(header, payload));
+            }
+        });
+        Thread receiverThread = new Thread(() -> {
+            for (int index = 0; index < DATA_PACKET_NUM; index++) {
+                DataPacketHeader header = new DataPacketHeader(
+                    taskId, RpcTestPtoDesc.getInstance().getPtoId(), RpcTestPtoDesc.PtoStep.THROUGHPUT.ordinal(),
+                    index, senderRpc.ownParty().getPartyId(), receiverRpc.ownParty().getPartyId()
+                );
+                receiverRpc.receive(header);
+            }
+        });
+        senderThread.start();
+        receiverThread.start();
+        senderThread.join();
+        receiverThread.join();
+        stopWatch.stop();
+        double time = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        double megaBytes = (double) DATA_PACKET_NUM * itemNum * itemByteLength / (1 << 20);
+        LOGGER.info("{}\t{}\t{}\t{}\t{}",
+            StringUtils.leftPad(name, 13),
+            StringUtils.leftPad(String.valueOf(itemNum), 10),
+            StringUtils.leftPad(String.valueOf(itemByteLength), 10),
+            StringUtils.leftPad(TIME_DECIMAL_FORMAT.format(time), 10),
+            StringUtils.leftPad(TIME_DECIMAL_FORMAT.format(megaBytes * 1000 / time), 10)
+        );
+        senderRpc.disconnect();
+        receiverRpc.disconnect();
+    }
+}
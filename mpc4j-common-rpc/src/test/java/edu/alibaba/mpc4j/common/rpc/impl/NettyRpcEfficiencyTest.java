@@ -0,0 +1,255 @@
+package edu.alibaba.mpc4j.common.rpc.impl;
+
+import edu.alibaba.mpc4j.common.rpc.Rpc;
+import edu.alibaba.mpc4j.common.rpc.RpcManager;
+import edu.alibaba.mpc4j.common.rpc.impl.netty.NettyCodecType;
+import edu.alibaba.mpc4j.common.rpc.impl.netty.NettyRpc;
+import edu.alibaba.mpc4j.common.rpc.impl.netty.NettyRpcManager;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacket;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.time.StopWatch;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.security.SecureRandom;
+import java.text.DecimalFormat;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Netty RPC efficiency test. Compares the throughput of different codecs, with and without LZ4 compression. Sparse
+ * payloads (only one non-zero byte in each item) show the case of highly compressible payloads. It also compares the
+ * throughput of concurrent sub-protocols with different numbers of channels.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/5
+ */
+@Ignore
+public class NettyRpcEfficiencyTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(NettyRpcEfficiencyTest.class);
+    /**
+     * start port
+     */
+    private static final int START_PORT = 8820;
+    /**
+     * number of data packets
+     */
+    private static final int DATA_PACKET_NUM = 1 << 4;
+    /**
+     * time format
+     */
+    private static final DecimalFormat TIME_DECIMAL_FORMAT = new DecimalFormat("0.00");
+    /**
+     * random state
+     */
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+    /**
+     * test codec types
+     */
+    private static final NettyCodecType[] TYPES = new NettyCodecType[] {
+        NettyCodecType.PROTOBUF,
+        NettyCodecType.BINARY,
+    };
+
+    /**
+     * compress thresholds
+     */
+    private static final int[] COMPRESS_THRESHOLDS = new int[] {NettyRpc.NO_COMPRESS, 1 << 10};
+    /**
+     * start port for the channel efficiency test
+     */
+    private static final int CHANNEL_START_PORT = 8890;
+    /**
+     * numbers of channels
+     */
+    private static final int[] CHANNEL_NUMS = new int[] {1, 2, 4, 8};
+    /**
+     * number of concurrent sub-protocols in the channel efficiency test
+     */
+    private static final int SUB_PTO_NUM = 8;
+
+    @Test
+    public void testEfficiency() throws InterruptedException {
+        LOGGER.info("{}\t{}\t{}\t{}\t{}\t{}\t{}\t{}\t{}",
+            "      name", "  compress", "    sparse", "     items", " item_byte",
+            "  time(ms)", "    MB/s", "   raw(MB)", "  wire(MB)"
+        );
+        int port = START_PORT;
+        for (NettyCodecType type : TYPES) {
+            for (int compressThreshold : COMPRESS_THRESHOLDS) {
+                for (boolean sparse : new boolean[] {false, true}) {
+                    // many small items
+                    testEfficiency(type, compressThreshold, sparse, port, 1 << 16, 16);
+                    port += 2;
+                    // a few large items
+                    testEfficiency(type, compressThreshold, sparse, port, 1 << 4, 1 << 20);
+                    port += 2;
+                }
+            }
+        }
+    }
+
+    private void testEfficiency(NettyCodecType type, int compressThreshold, boolean sparse, int port,
+                                int itemNum, int itemByteLength) throws InterruptedException {
+        RpcManager rpcManager = new NettyRpcManager(2, port, type, compressThreshold);
+        Rpc senderRpc = rpcManager.getRpc(0);
+        Rpc receiverRpc = rpcManager.getRpc(1);
+        Thread senderConnectThread = new Thread(senderRpc::connect);
+        Thread receiverConnectThread = new Thread(receiverRpc::connect);
+        senderConnectThread.start();
+        // wait for the sender to start its server, as in RpcTest
+        Thread.sleep(100);
+        receiverConnectThread.start();
+        senderConnectThread.join();
+        receiverConnectThread.join();
+        int taskId = Math.abs(SECURE_RANDOM.nextInt());
+        List<byte[]> payload = IntStream.range(0, itemNum)
+            .mapToObj(index -> {
+                byte[] item = new byte[itemByteLength];
+                if (sparse) {
+                    item[SECURE_RANDOM.nextInt(itemByteLength)] = (byte) SECURE_RANDOM.nextInt();
+                } else {
+                    SECURE_RANDOM.nextBytes(item);
+                }
+                return item;
+            })
+            .collect(Collectors.toList());
+        StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+        Thread senderThread = new Thread(() -> {
+            for (int index = 0; index < DATA_PACKET_NUM; index++) {
+                DataPacketHeader header = new DataPacketHeader(
+                    taskId, RpcTestPtoDesc.getInstance().getPtoId(), RpcTestPtoDesc.PtoStep.THROUGHPUT.ordinal(),
+                    index, senderRpc.ownParty().getPartyId(), receiverRpc.ownParty().getPartyId()
+                );
+                senderRpc.send(DataPacket.fromByteArrayList(header, payload));
+            }
+        });
+        Thread receiverThread = new Thread(() -> {
+            for (int index = 0; index < DATA_PACKET_NUM; index++) {
+                DataPacketHeader header = new DataPacketHeader(
+                    taskId, RpcTestPtoDesc.getInstance().getPtoId(), RpcTestPtoDesc.PtoStep.THROUGHPUT.ordinal(),
+                    index, senderRpc.ownParty().getPartyId(), receiverRpc.ownParty().getPartyId()
+                );
+                receiverRpc.receive(header);
+            }
+        });
+        senderThread.start();
+        receiverThread.start();
+        senderThread.join();
+        receiverThread.join();
+        stopWatch.stop();
+        double time = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        double megaBytes = (double) DATA_PACKET_NUM * itemNum * itemByteLength / (1 << 20);
+        double rawMegaBytes = (double) senderRpc.getRawSendByteLength() / (1 << 20);
+        double wireMegaBytes = (double) senderRpc.getSendByteLength() / (1 << 20);
+        LOGGER.info("{}\t{}\t{}\t{}\t{}\t{}\t{}\t{}\t{}",
+            StringUtils.leftPad(type.name(), 10),
+            StringUtils.leftPad(compressThreshold == NettyRpc.NO_COMPRESS ? "none" : "lz4", 10),
+            StringUtils.leftPad(String.valueOf(sparse), 10),
+            StringUtils.leftPad(String.valueOf(itemNum), 10),
+            StringUtils.leftPad(String.valueOf(itemByteLength), 10),
+            StringUtils.leftPad(TIME_DECIMAL_FORMAT.format(time), 10),
+            StringUtils.leftPad(TIME_DECIMAL_FORMAT.format(megaBytes * 1000 / time), 10),
+            StringUtils.leftPad(TIME_DECIMAL_FORMAT.format(rawMegaBytes), 10),
+            StringUtils.leftPad(TIME_DECIMAL_FORMAT.format(wireMegaBytes), 10)
+        );
+        Thread senderDisconnectThread = new Thread(senderRpc::disconnect);
+        Thread receiverDisconnectThread = new Thread(receiverRpc::disconnect);
+        senderDisconnectThread.start();
+        receiverDisconnectThread.start();
+        senderDisconnectThread.join();
+        receiverDisconnectThread.join();
+    }
+
+    @Test
+    public void testChannelEfficiency() throws InterruptedException {
+        LOGGER.info("{}\t{}\t{}\t{}\t{}\t{}",
+            "      name", "  channels", "  sub_ptos", "  time(ms)", "    MB/s", "channel_packets"
+        );
+        int port = CHANNEL_START_PORT;
+        for (NettyCodecType type : TYPES) {
+            for (int channelNum : CHANNEL_NUMS) {
+                testChannelEfficiency(type, channelNum, port, 1 << 4, 1 << 16);
+                port += 2;
+            }
+        }
+    }
+
+    private void testChannelEfficiency(NettyCodecType type, int channelNum, int port, int itemNum, int itemByteLength)
+        throws InterruptedException {
+        NettyRpcManager rpcManager = new NettyRpcManager(2, port, type, NettyRpc.NO_COMPRESS, channelNum);
+        NettyRpc senderRpc = (NettyRpc) rpcManager.getRpc(0);
+        NettyRpc receiverRpc = (NettyRpc) rpcManager.getRpc(1);
+        Thread senderConnectThread = new Thread(senderRpc::connect);
+        Thread receiverConnectThread = new Thread(receiverRpc::connect);
+        senderConnectThread.start();
+        Thread.sleep(100);
+        receiverConnectThread.start();
+        senderConnectThread.join();
+        receiverConnectThread.join();
+        senderRpc.reset();
+        int taskId = Math.abs(SECURE_RANDOM.nextInt());
+        List<byte[]> payload = IntStream.range(0, itemNum)
+            .mapToObj(index -> {
+                byte[] item = new byte[itemByteLength];
+                SECURE_RANDOM.nextBytes(item);
+                return item;
+            })
+            .collect(Collectors.toList());
+        // each sub-protocol uses its own protocol ID, and is sent and received by its own threads
+        int senderId = senderRpc.ownParty().getPartyId();
+        int receiverId = receiverRpc.ownParty().getPartyId();
+        Thread[] threads = new Thread[SUB_PTO_NUM * 2];
+        for (int subPtoIndex = 0; subPtoIndex < SUB_PTO_NUM; subPtoIndex++) {
+            int ptoId = subPtoIndex;
+            threads[subPtoIndex * 2] = new Thread(() -> {
+                for (int index = 0; index < DATA_PACKET_NUM; index++) {
+                    DataPacketHeader header = new DataPacketHeader(
+                        taskId, ptoId, RpcTestPtoDesc.PtoStep.THROUGHPUT.ordinal(), index, senderId, receiverId
+                    );
+                    senderRpc.send(DataPacket.fromByteArrayList(header, payload));
+                }
+            });
+            threads[subPtoIndex * 2 + 1] = new Thread(() -> {
+                for (int index = 0; index < DATA_PACKET_NUM; index++) {
+                    DataPacketHeader header = new DataPacketHeader(
+                        taskId, ptoId, RpcTestPtoDesc.PtoStep.THROUGHPUT.ordinal(), index, senderId, receiverId
+                    );
+                    receiverRpc.receive(header);
+                }
+            });
+        }
+        StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        stopWatch.stop();
+        double time = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        double megaBytes = (double) SUB_PTO_NUM * DATA_PACKET_NUM * itemNum * itemByteLength / (1 << 20);
+        LOGGER.info("{}\t{}\t{}\t{}\t{}\t{}",
+            StringUtils.leftPad(type.name(), 10),
+            StringUtils.leftPad(String.valueOf(channelNum), 10),
+            StringUtils.leftPad(String.valueOf(SUB_PTO_NUM), 10),
+            StringUtils.leftPad(TIME_DECIMAL_FORMAT.format(time), 10),
+            StringUtils.leftPad(TIME_DECIMAL_FORMAT.format(megaBytes * 1000 / time), 10),
+            Arrays.toString(senderRpc.getChannelSendDataPacketNums(receiverId))
+        );
+        Thread senderDisconnectThread = new Thread(senderRpc::disconnect);
+        Thread receiverDisconnectThread = new Thread(receiverRpc::disconnect);
+        senderDisconnectThread.start();
+        receiverDisconnectThread.start();
+        senderDisconnectThread.join();
+        receiverDisconnectThread.join();
+    }
+}
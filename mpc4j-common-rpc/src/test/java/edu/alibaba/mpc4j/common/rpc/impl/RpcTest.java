@@ -4,9 +4,13 @@ import com.google.common.base.Preconditions;
 import edu.alibaba.mpc4j.common.rpc.Rpc;
 import edu.alibaba.mpc4j.common.rpc.RpcManager;
 import edu.alibaba.mpc4j.common.rpc.impl.file.FileRpcManager;
+import edu.alibaba.mpc4j.common.rpc.impl.file.MmapFileRpcManager;
 import edu.alibaba.mpc4j.common.rpc.impl.memory.MemoryRpcManager;
+import edu.alibaba.mpc4j.common.rpc.impl.netty.NettyCodecType;
+import edu.alibaba.mpc4j.common.rpc.impl.netty.NettyRpc;
 import edu.alibaba.mpc4j.common.rpc.impl.netty.NettyRpcManager;
 import edu.alibaba.mpc4j.common.rpc.utils.DataPacket;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.After;
 import org.junit.Assert;
@@ -19,7 +23,9 @@ import java.security.SecureRandom;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 通信接口测试。
@@ -37,8 +43,26 @@ public class RpcTest {
         configurationParams.add(new Object[] {"MemoryRpc", new MemoryRpcManager(3),});
         // FileRpc
         configurationParams.add(new Object[] {"FileRpc", new FileRpcManager(3),});
+        // MmapFileRpc
+        configurationParams.add(new Object[] {"MmapFileRpc", new MmapFileRpcManager(3),});
         // NettyRpc
         configurationParams.add(new Object[] {"NettyRpc", new NettyRpcManager(3, 8800),});
+        // NettyRpc (binary codec)
+        configurationParams.add(new Object[] {
+            "NettyRpc (" + NettyCodecType.BINARY.name() + ")", new NettyRpcManager(3, 8810, NettyCodecType.BINARY),
+        });
+        // NettyRpc (LZ4)
+        configurationParams.add(new Object[] {
+            "NettyRpc (LZ4)", new NettyRpcManager(3, 8860, NettyCodecType.PROTOBUF, 0),
+        });
+        // NettyRpc (binary codec, LZ4)
+        configurationParams.add(new Object[] {
+            "NettyRpc (" + NettyCodecType.BINARY.name() + ", LZ4)", new NettyRpcManager(3, 8870, NettyCodecType.BINARY, 0),
+        });
+        // NettyRpc (4 channels)
+        configurationParams.add(new Object[] {
+            "NettyRpc (4 channels)", new NettyRpcManager(3, 8880, NettyCodecType.PROTOBUF, NettyRpc.NO_COMPRESS, 4),
+        });
 
         return configurationParams;
     }
@@ -57,11 +81,17 @@ public class RpcTest {
     @Before
     public void connect() throws InterruptedException {
         int partyNum = rpcManager.getPartyNum();
+        Thread[] connectThreads = new Thread[partyNum];
         for (int partyId = 0; partyId < partyNum; partyId++) {
             Rpc partyRpc = rpcManager.getRpc(partyId);
-            new Thread(partyRpc::connect).start();
+            connectThreads[partyId] = new Thread(partyRpc::connect);
+            connectThreads[partyId].start();
             Thread.sleep(100);
         }
+        // 等待所有参与方完成连接，连接时会协商是否压缩
+        for (Thread connectThread : connectThreads) {
+            connectThread.join();
+        }
     }
 
     @After
@@ -135,4 +165,43 @@ public class RpcTest {
         Assert.assertTrue(takeAnySendDataPacketSet.containsAll(takeAnyReceivedDataPacketSet));
         Assert.assertTrue(takeAnyReceivedDataPacketSet.containsAll(takeAnySendDataPacketSet));
     }
+
+    @Test
+    public void testAsync() {
+        Rpc senderRpc = rpcManager.getRpc(0);
+        Rpc receiverRpc = rpcManager.getRpc(1);
+        int randomTaskId = Math.abs(SECURE_RANDOM.nextInt());
+        int dataPacketNum = 10;
+        // receivers first wait for data packets, and then senders send them asynchronously
+        List<CompletableFuture<DataPacket>> receiveFutures = new ArrayList<>(dataPacketNum);
+        List<DataPacket> sendDataPackets = new ArrayList<>(dataPacketNum);
+        for (int index = 0; index < dataPacketNum; index++) {
+            DataPacketHeader header = new DataPacketHeader(
+                randomTaskId, RpcTestPtoDesc.getInstance().getPtoId(), RpcTestPtoDesc.PtoStep.ASYNC.ordinal(), index,
+                senderRpc.ownParty().getPartyId(), receiverRpc.ownParty().getPartyId()
+            );
+            byte[] data = new byte[index + 1];
+            SECURE_RANDOM.nextBytes(data);
+            List<byte[]> payload = new ArrayList<>();
+            payload.add(data);
+            sendDataPackets.add(DataPacket.fromByteArrayList(header, payload));
+            // receive half of the data packets before sending them
+            if (index % 2 == 0) {
+                receiveFutures.add(receiverRpc.receiveAsync(header));
+            }
+        }
+        List<CompletableFuture<Void>> sendFutures = new ArrayList<>(dataPacketNum);
+        for (DataPacket dataPacket : sendDataPackets) {
+            sendFutures.add(senderRpc.sendAsync(dataPacket));
+        }
+        for (int index = 1; index < dataPacketNum; index += 2) {
+            receiveFutures.add(receiverRpc.receiveAsync(sendDataPackets.get(index).getHeader()));
+        }
+        CompletableFuture.allOf(sendFutures.toArray(new CompletableFuture[0])).join();
+        Set<DataPacket> receivedDataPacketSet = new HashSet<>();
+        for (CompletableFuture<DataPacket> receiveFuture : receiveFutures) {
+            receivedDataPacketSet.add(receiveFuture.join());
+        }
+        Assert.assertEquals(new HashSet<>(sendDataPackets), receivedDataPacketSet);
+    }
 }
@@ -43,6 +43,14 @@ class RpcTestPtoDesc implements PtoDesc {
          * 任取数据包
          */
         TAKE_ANY,
+        /**
+         * throughput
+         */
+        THROUGHPUT,
+        /**
+         * asynchronous send and receive
+         */
+        ASYNC,
     }
 
     /**
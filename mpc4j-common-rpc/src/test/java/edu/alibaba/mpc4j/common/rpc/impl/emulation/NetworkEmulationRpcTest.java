@@ -0,0 +1,187 @@
+package edu.alibaba.mpc4j.common.rpc.impl.emulation;
+
+import edu.alibaba.mpc4j.common.rpc.Rpc;
+import edu.alibaba.mpc4j.common.rpc.impl.memory.MemoryRpcManager;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacket;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * network emulation RPC test.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/10
+ */
+public class NetworkEmulationRpcTest {
+    /**
+     * random state
+     */
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+    /**
+     * protocol ID
+     */
+    private static final int PTO_ID = 0;
+    /**
+     * max local computation time in milliseconds, including thread scheduling
+     */
+    private static final double MAX_COMPUTE_TIME = 500;
+    /**
+     * LAN profile index
+     */
+    private static final int LAN_INDEX = 0;
+    /**
+     * WAN profile index
+     */
+    private static final int WAN_INDEX = 1;
+
+    @Test
+    public void testPayload() throws InterruptedException {
+        NetworkEmulationRpcManager rpcManager = createRpcManager();
+        Rpc senderRpc = rpcManager.getRpc(0);
+        Rpc receiverRpc = rpcManager.getRpc(1);
+        connect(senderRpc, receiverRpc);
+        List<byte[]> payload = new ArrayList<>();
+        payload.add(new byte[0]);
+        byte[] data = new byte[16];
+        SECURE_RANDOM.nextBytes(data);
+        payload.add(data);
+        DataPacketHeader header = new DataPacketHeader(0, PTO_ID, 0, 0, 1);
+        senderRpc.send(DataPacket.fromByteArrayList(header, payload));
+        senderRpc.send(DataPacket.fromByteArrayList(new DataPacketHeader(0, PTO_ID, 1, 0, 1), new ArrayList<>()));
+        List<byte[]> receivedPayload = receiverRpc.receive(header).getPayload();
+        Assert.assertEquals(payload.size(), receivedPayload.size());
+        for (int index = 0; index < payload.size(); index++) {
+            Assert.assertArrayEquals(payload.get(index), receivedPayload.get(index));
+        }
+        Assert.assertEquals(0, receiverRpc.receiveAny().getPayload().size());
+        // the stamps are not counted
+        Assert.assertEquals(2, senderRpc.getSendDataPacketNum());
+        Assert.assertEquals(data.length, senderRpc.getPayloadByteLength());
+        Assert.assertEquals(data.length, senderRpc.getSendByteLength());
+        disconnect(senderRpc, receiverRpc);
+    }
+
+    @Test
+    public void testLatency() throws InterruptedException {
+        NetworkEmulationRpcManager rpcManager = createRpcManager();
+        NetworkEmulationRpc firstRpc = (NetworkEmulationRpc) rpcManager.getRpc(0);
+        NetworkEmulationRpc secondRpc = (NetworkEmulationRpc) rpcManager.getRpc(1);
+        connect(firstRpc, secondRpc);
+        int roundTripNum = 10;
+        Thread firstThread = new Thread(() -> {
+            for (int round = 0; round < roundTripNum; round++) {
+                firstRpc.send(DataPacket.fromByteArrayList(
+                    new DataPacketHeader(0, PTO_ID, 0, round, 0, 1), new ArrayList<>()
+                ));
+                firstRpc.receive(new DataPacketHeader(0, PTO_ID, 1, round, 1, 0));
+            }
+        });
+        Thread secondThread = new Thread(() -> {
+            for (int round = 0; round < roundTripNum; round++) {
+                secondRpc.receive(new DataPacketHeader(0, PTO_ID, 0, round, 0, 1));
+                secondRpc.send(DataPacket.fromByteArrayList(
+                    new DataPacketHeader(0, PTO_ID, 1, round, 1, 0), new ArrayList<>()
+                ));
+            }
+        });
+        firstThread.start();
+        secondThread.start();
+        firstThread.join();
+        secondThread.join();
+        // each round trip takes 2 one-way latencies
+        double wanLatency = 2 * roundTripNum * NetworkProfile.WAN.getLatencyNanos() / 1e6;
+        assertEmulatedTime(firstRpc.getEmulatedTime(WAN_INDEX), wanLatency);
+        double lanLatency = 2 * roundTripNum * NetworkProfile.LAN.getLatencyNanos() / 1e6;
+        assertEmulatedTime(firstRpc.getEmulatedTime(LAN_INDEX), lanLatency);
+        // steps are recorded by the receiver
+        Map<String, Double> firstStepTimeMap = firstRpc.getStepEmulatedTimes(WAN_INDEX);
+        Assert.assertEquals(1, firstStepTimeMap.size());
+        assertEmulatedTime(firstStepTimeMap.values().iterator().next(), wanLatency);
+        Assert.assertEquals(1, secondRpc.getStepEmulatedTimes(WAN_INDEX).size());
+        // reset emulated clocks
+        firstRpc.reset();
+        Assert.assertTrue(firstRpc.getEmulatedTime(WAN_INDEX) < MAX_COMPUTE_TIME);
+        Assert.assertEquals(0, firstRpc.getStepEmulatedTimes(WAN_INDEX).size());
+        disconnect(firstRpc, secondRpc);
+    }
+
+    @Test
+    public void testBandwidth() throws InterruptedException {
+        // 10 Mbps, 10ms latency, without bucket and with 1MB bucket
+        NetworkProfile profile = new NetworkProfile("10Mbps", 10, 10, 0, 0);
+        NetworkProfile bucketProfile = new NetworkProfile("10Mbps (bucket)", 10, 10, 0, 1 << 20);
+        NetworkEmulationRpcManager rpcManager = new NetworkEmulationRpcManager(
+            new MemoryRpcManager(2), profile, bucketProfile
+        );
+        NetworkEmulationRpc senderRpc = (NetworkEmulationRpc) rpcManager.getRpc(0);
+        NetworkEmulationRpc receiverRpc = (NetworkEmulationRpc) rpcManager.getRpc(1);
+        connect(senderRpc, receiverRpc);
+        // 2 data packets, each with 512KB
+        int byteLength = 1 << 19;
+        List<byte[]> payload = new ArrayList<>();
+        payload.add(new byte[byteLength]);
+        DataPacketHeader firstHeader = new DataPacketHeader(0, PTO_ID, 0, 0, 1);
+        DataPacketHeader secondHeader = new DataPacketHeader(0, PTO_ID, 1, 0, 1);
+        senderRpc.send(DataPacket.fromByteArrayList(firstHeader, payload));
+        senderRpc.send(DataPacket.fromByteArrayList(secondHeader, payload));
+        receiverRpc.receive(firstHeader);
+        receiverRpc.receive(secondHeader);
+        double latency = profile.getLatencyNanos() / 1e6;
+        double transmitTime = 2.0 * byteLength * Byte.SIZE / profile.getBandwidth() * 1e3;
+        assertEmulatedTime(receiverRpc.getEmulatedTime(0), latency + transmitTime);
+        // the bucket allows sending both data packets without waiting
+        assertEmulatedTime(receiverRpc.getEmulatedTime(1), latency);
+        disconnect(senderRpc, receiverRpc);
+    }
+
+    @Test
+    public void testLinkProfiles() throws InterruptedException {
+        NetworkEmulationRpcManager rpcManager = new NetworkEmulationRpcManager(
+            new MemoryRpcManager(3), NetworkProfile.LAN
+        );
+        // link between P_1 and P_3 is a WAN
+        rpcManager.setLinkProfiles(0, 2, NetworkProfile.WAN);
+        NetworkEmulationRpc firstRpc = (NetworkEmulationRpc) rpcManager.getRpc(0);
+        NetworkEmulationRpc secondRpc = (NetworkEmulationRpc) rpcManager.getRpc(1);
+        NetworkEmulationRpc thirdRpc = (NetworkEmulationRpc) rpcManager.getRpc(2);
+        firstRpc.connect();
+        secondRpc.connect();
+        thirdRpc.connect();
+        DataPacketHeader secondHeader = new DataPacketHeader(0, PTO_ID, 0, 0, 1);
+        DataPacketHeader thirdHeader = new DataPacketHeader(0, PTO_ID, 0, 0, 2);
+        firstRpc.send(DataPacket.fromByteArrayList(secondHeader, new ArrayList<>()));
+        firstRpc.send(DataPacket.fromByteArrayList(thirdHeader, new ArrayList<>()));
+        secondRpc.receive(secondHeader);
+        thirdRpc.receive(thirdHeader);
+        assertEmulatedTime(secondRpc.getEmulatedTime(0), NetworkProfile.LAN.getLatencyNanos() / 1e6);
+        assertEmulatedTime(thirdRpc.getEmulatedTime(0), NetworkProfile.WAN.getLatencyNanos() / 1e6);
+        firstRpc.disconnect();
+        secondRpc.disconnect();
+        thirdRpc.disconnect();
+    }
+
+    private static NetworkEmulationRpcManager createRpcManager() {
+        return new NetworkEmulationRpcManager(new MemoryRpcManager(2), NetworkProfile.LAN, NetworkProfile.WAN);
+    }
+
+    private static void connect(Rpc firstRpc, Rpc secondRpc) {
+        firstRpc.connect();
+        secondRpc.connect();
+    }
+
+    private static void disconnect(Rpc firstRpc, Rpc secondRpc) {
+        firstRpc.disconnect();
+        secondRpc.disconnect();
+    }
+
+    private static void assertEmulatedTime(double emulatedTime, double networkTime) {
+        Assert.assertTrue(emulatedTime + " < " + networkTime, emulatedTime >= networkTime);
+        Assert.assertTrue(emulatedTime + " > " + networkTime, emulatedTime < networkTime + MAX_COMPUTE_TIME);
+    }
+}
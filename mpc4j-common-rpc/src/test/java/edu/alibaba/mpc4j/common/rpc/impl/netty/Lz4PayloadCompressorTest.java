@@ -0,0 +1,89 @@
+package edu.alibaba.mpc4j.common.rpc.impl.netty;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * LZ4 payload compressor test.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/8
+ */
+public class Lz4PayloadCompressorTest {
+    /**
+     * random state
+     */
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+    /**
+     * compress threshold
+     */
+    private static final int THRESHOLD = 1 << 10;
+
+    @Test
+    public void testEmptyPayload() {
+        List<byte[]> payload = new ArrayList<>();
+        testCompress(payload, 0, false);
+        testCompress(payload, THRESHOLD, false);
+    }
+
+    @Test
+    public void testZeroLengthPayload() {
+        List<byte[]> payload = new ArrayList<>();
+        payload.add(new byte[0]);
+        payload.add(new byte[0]);
+        testCompress(payload, 0, false);
+    }
+
+    @Test
+    public void testRandomPayload() {
+        // random payloads are incompressible, so they are sent raw
+        List<byte[]> payload = generatePayload(1 << 10, 16, true);
+        testCompress(payload, 0, false);
+        testCompress(payload, THRESHOLD, false);
+    }
+
+    @Test
+    public void testCompressiblePayload() {
+        List<byte[]> payload = generatePayload(1 << 10, 16, false);
+        testCompress(payload, 0, true);
+        testCompress(payload, THRESHOLD, true);
+        // the payload is sent raw when its byte length is less than the threshold
+        testCompress(payload, (1 << 10) * 16 + 1, false);
+    }
+
+    private static List<byte[]> generatePayload(int num, int byteLength, boolean random) {
+        return IntStream.range(0, num)
+            .mapToObj(index -> {
+                byte[] data = new byte[byteLength];
+                if (random) {
+                    SECURE_RANDOM.nextBytes(data);
+                } else {
+                    data[index % byteLength] = (byte) SECURE_RANDOM.nextInt();
+                }
+                return data;
+            })
+            .collect(Collectors.toList());
+    }
+
+    private static void testCompress(List<byte[]> payload, int threshold, boolean compressed) {
+        List<byte[]> flaggedPayload = Lz4PayloadCompressor.compress(payload, threshold);
+        if (compressed) {
+            Assert.assertEquals(2, flaggedPayload.size());
+            long byteLength = payload.stream().mapToLong(data -> data.length).sum();
+            Assert.assertTrue(flaggedPayload.get(0).length < byteLength);
+        } else {
+            Assert.assertEquals(payload.size() + 1, flaggedPayload.size());
+        }
+        List<byte[]> decompressedPayload = Lz4PayloadCompressor.decompress(flaggedPayload);
+        Assert.assertEquals(payload.size(), decompressedPayload.size());
+        for (int index = 0; index < payload.size(); index++) {
+            Assert.assertArrayEquals(payload.get(index), decompressedPayload.get(index));
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package edu.alibaba.mpc4j.common.rpc.metrics;
+
+import edu.alibaba.mpc4j.common.rpc.Rpc;
+import edu.alibaba.mpc4j.common.rpc.RpcManager;
+import edu.alibaba.mpc4j.common.rpc.impl.emulation.NetworkEmulationRpc;
+import edu.alibaba.mpc4j.common.rpc.impl.emulation.NetworkProfile;
+import edu.alibaba.mpc4j.common.rpc.impl.memory.MemoryRpcManager;
+import edu.alibaba.mpc4j.common.rpc.metrics.MetricsTestPtoDesc.PtoStep;
+import edu.alibaba.mpc4j.common.rpc.metrics.PtoMetrics.MessageMetrics;
+import edu.alibaba.mpc4j.common.rpc.metrics.PtoMetrics.StepMetrics;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+/**
+ * metrics RPC test.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/11
+ */
+public class MetricsRpcTest {
+    /**
+     * task ID
+     */
+    private static final int TASK_ID = 5;
+    /**
+     * byte length sent by the root protocol
+     */
+    private static final int BYTE_LENGTH = 1 << 10;
+    /**
+     * sender RPC
+     */
+    private Rpc senderRpc;
+    /**
+     * receiver RPC
+     */
+    private Rpc receiverRpc;
+
+    @Before
+    public void connect() {
+        RpcManager rpcManager = new MetricsRpcManager(new MemoryRpcManager(2));
+        senderRpc = rpcManager.getRpc(0);
+        receiverRpc = rpcManager.getRpc(1);
+        senderRpc.connect();
+        receiverRpc.connect();
+    }
+
+    @After
+    public void disconnect() {
+        senderRpc.disconnect();
+        receiverRpc.disconnect();
+    }
+
+    @Test
+    public void testPtoTree() throws InterruptedException {
+        run();
+        assertPtoTree(senderRpc.getPtoMetricsRegistry(), true);
+        assertPtoTree(receiverRpc.getPtoMetricsRegistry(), false);
+        // other task IDs have no protocol runs
+        Assert.assertEquals(0, senderRpc.getPtoMetricsRegistry().getRootPtoMetrics(TASK_ID + 1).size());
+    }
+
+    @Test
+    public void testReset() throws InterruptedException {
+        run();
+        senderRpc.reset();
+        receiverRpc.reset();
+        PtoMetricsRegistry senderPtoMetricsRegistry = senderRpc.getPtoMetricsRegistry();
+        PtoMetrics rootPtoMetrics = senderPtoMetricsRegistry.getRootPtoMetrics(TASK_ID).get(0);
+        Assert.assertEquals(0, rootPtoMetrics.getSendPayloadByteLength(true));
+        Assert.assertEquals(0, rootPtoMetrics.getStepMetrics().size());
+        // the protocol tree is kept
+        Assert.assertEquals(1, rootPtoMetrics.getSubPtoMetrics().size());
+        // counters are not accumulated across the reset
+        run();
+        assertPtoTree(senderPtoMetricsRegistry, true);
+        assertPtoTree(receiverRpc.getPtoMetricsRegistry(), false);
+    }
+
+    @Test
+    public void testExport() throws InterruptedException {
+        run();
+        PtoMetricsRegistry ptoMetricsRegistry = senderRpc.getPtoMetricsRegistry();
+        String json = ptoMetricsRegistry.toJson(TASK_ID);
+        Assert.assertTrue(json.startsWith("[{\"ptoName\":\"METRICS_TEST\""));
+        Assert.assertTrue(json.contains("\"treeLevel\":1"));
+        Assert.assertTrue(json.contains("\"totalSendPayloadByteLength\":" + (BYTE_LENGTH + BYTE_LENGTH / 2)));
+        Assert.assertEquals("[]", ptoMetricsRegistry.toJson(TASK_ID + 1));
+        String[] lines = ptoMetricsRegistry.toCsv(TASK_ID).split("\n");
+        Assert.assertEquals(PtoMetricsRegistry.CSV_HEADER, lines[0]);
+        // 2 messages and 2 steps for both the root protocol and the sub-protocol
+        Assert.assertEquals(1 + 4 + 4, lines.length);
+        Assert.assertTrue(lines[1].startsWith("METRICS_TEST,"));
+        Assert.assertTrue(lines[lines.length - 1].startsWith("METRICS_TEST/METRICS_TEST,"));
+    }
+
+    @Test
+    public void testDecorate() {
+        NetworkEmulationRpc networkEmulationRpc = new NetworkEmulationRpc(senderRpc, NetworkProfile.LAN);
+        Assert.assertSame(senderRpc.getPtoMetricsRegistry(), networkEmulationRpc.getPtoMetricsRegistry());
+    }
+
+    private void run() throws InterruptedException {
+        MetricsTestPto senderPto = new MetricsTestPto(
+            senderRpc, receiverRpc.ownParty(), new MetricsTestPto(senderRpc, receiverRpc.ownParty())
+        );
+        MetricsTestPto receiverPto = new MetricsTestPto(
+            receiverRpc, senderRpc.ownParty(), new MetricsTestPto(receiverRpc, senderRpc.ownParty())
+        );
+        senderPto.setTaskId(TASK_ID);
+        receiverPto.setTaskId(TASK_ID);
+        Thread senderThread = new Thread(() -> senderPto.run(true, BYTE_LENGTH));
+        Thread receiverThread = new Thread(() -> receiverPto.run(false, BYTE_LENGTH));
+        senderThread.start();
+        receiverThread.start();
+        senderThread.join();
+        receiverThread.join();
+    }
+
+    private void assertPtoTree(PtoMetricsRegistry ptoMetricsRegistry, boolean sender) {
+        List<PtoMetrics> rootPtoMetricsList = ptoMetricsRegistry.getRootPtoMetrics(TASK_ID);
+        Assert.assertEquals(1, rootPtoMetricsList.size());
+        PtoMetrics rootPtoMetrics = rootPtoMetricsList.get(0);
+        Assert.assertEquals(MetricsTestPtoDesc.getInstance().getPtoId(), rootPtoMetrics.getPtoId());
+        Assert.assertEquals(0, rootPtoMetrics.getTreeLevel());
+        assertPtoMetrics(rootPtoMetrics, sender, BYTE_LENGTH);
+        Assert.assertEquals(1, rootPtoMetrics.getSubPtoMetrics().size());
+        PtoMetrics subPtoMetrics = rootPtoMetrics.getSubPtoMetrics().get(0);
+        Assert.assertEquals(1, subPtoMetrics.getTreeLevel());
+        Assert.assertEquals(TASK_ID, subPtoMetrics.getTaskId());
+        Assert.assertSame(rootPtoMetrics, subPtoMetrics.getParent());
+        assertPtoMetrics(subPtoMetrics, sender, BYTE_LENGTH / 2);
+        Assert.assertEquals(0, subPtoMetrics.getSubPtoMetrics().size());
+        // totals
+        long dataByteLength = BYTE_LENGTH + BYTE_LENGTH / 2;
+        long ackByteLength = 2L * MetricsTestPto.ACK_BYTE_LENGTH;
+        Assert.assertEquals(sender ? dataByteLength : ackByteLength, rootPtoMetrics.getSendPayloadByteLength(true));
+        Assert.assertEquals(sender ? ackByteLength : dataByteLength, rootPtoMetrics.getReceivePayloadByteLength(true));
+    }
+
+    private void assertPtoMetrics(PtoMetrics ptoMetrics, boolean sender, int byteLength) {
+        List<MessageMetrics> messageMetricsList = ptoMetrics.getMessageMetrics();
+        Assert.assertEquals(2, messageMetricsList.size());
+        MessageMetrics dataMessageMetrics = messageMetricsList.get(0);
+        Assert.assertEquals(PtoStep.SENDER_SEND_DATA.ordinal(), dataMessageMetrics.getStepId());
+        Assert.assertEquals(sender ? 1 : 0, dataMessageMetrics.getSendDataPacketNum());
+        Assert.assertEquals(sender ? byteLength : 0, dataMessageMetrics.getSendPayloadByteLength());
+        Assert.assertEquals(sender ? 0 : 1, dataMessageMetrics.getReceiveDataPacketNum());
+        Assert.assertEquals(sender ? 0 : byteLength, dataMessageMetrics.getReceivePayloadByteLength());
+        MessageMetrics ackMessageMetrics = messageMetricsList.get(1);
+        Assert.assertEquals(PtoStep.RECEIVER_SEND_ACK.ordinal(), ackMessageMetrics.getStepId());
+        Assert.assertEquals(sender ? 0 : MetricsTestPto.ACK_BYTE_LENGTH, ackMessageMetrics.getSendPayloadByteLength());
+        Assert.assertEquals(sender ? MetricsTestPto.ACK_BYTE_LENGTH : 0, ackMessageMetrics.getReceivePayloadByteLength());
+        List<StepMetrics> stepMetricsList = ptoMetrics.getStepMetrics();
+        Assert.assertEquals(2, stepMetricsList.size());
+        Assert.assertEquals("pto 1/2", stepMetricsList.get(0).getStepName());
+        Assert.assertEquals("pto 2/2", stepMetricsList.get(1).getStepName());
+        for (StepMetrics stepMetrics : stepMetricsList) {
+            Assert.assertEquals(1, stepMetrics.getNum());
+            Assert.assertTrue(stepMetrics.getWallTime() >= 0);
+            Assert.assertTrue(stepMetrics.getCpuTime() >= 0);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package edu.alibaba.mpc4j.common.rpc.metrics;
+
+import edu.alibaba.mpc4j.common.rpc.Party;
+import edu.alibaba.mpc4j.common.rpc.PtoState;
+import edu.alibaba.mpc4j.common.rpc.Rpc;
+import edu.alibaba.mpc4j.common.rpc.desc.SecurityModel;
+import edu.alibaba.mpc4j.common.rpc.metrics.MetricsTestPtoDesc.PtoStep;
+import edu.alibaba.mpc4j.common.rpc.pto.AbstractMultiPartyPtoConfig;
+import edu.alibaba.mpc4j.common.rpc.pto.AbstractTwoPartyPto;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacket;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * protocol metrics test protocol. The sender sends data to the receiver, the receiver replies an ack, and then the
+ * optional sub-protocol is invoked.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/11
+ */
+class MetricsTestPto extends AbstractTwoPartyPto {
+    /**
+     * ack byte length
+     */
+    static final int ACK_BYTE_LENGTH = 1;
+    /**
+     * sub-protocol
+     */
+    private final MetricsTestPto subPto;
+
+    MetricsTestPto(Rpc ownRpc, Party otherParty) {
+        this(ownRpc, otherParty, null);
+    }
+
+    MetricsTestPto(Rpc ownRpc, Party otherParty, MetricsTestPto subPto) {
+        super(MetricsTestPtoDesc.getInstance(), ownRpc, otherParty, new AbstractMultiPartyPtoConfig(SecurityModel.SEMI_HONEST) {});
+        this.subPto = subPto;
+        if (subPto != null) {
+            addSubPtos(subPto);
+        }
+    }
+
+    void run(boolean sender, int byteLength) {
+        logPhaseInfo(PtoState.PTO_BEGIN);
+
+        stopWatch.start();
+        DataPacketHeader dataHeader = new DataPacketHeader(
+            encodeTaskId, getPtoDesc().getPtoId(), PtoStep.SENDER_SEND_DATA.ordinal(), extraInfo,
+            sender ? ownParty().getPartyId() : otherParty().getPartyId(),
+            sender ? otherParty().getPartyId() : ownParty().getPartyId()
+        );
+        DataPacketHeader ackHeader = new DataPacketHeader(
+            encodeTaskId, getPtoDesc().getPtoId(), PtoStep.RECEIVER_SEND_ACK.ordinal(), extraInfo,
+            sender ? otherParty().getPartyId() : ownParty().getPartyId(),
+            sender ? ownParty().getPartyId() : otherParty().getPartyId()
+        );
+        if (sender) {
+            List<byte[]> dataPayload = Collections.singletonList(new byte[byteLength]);
+            rpc.send(DataPacket.fromByteArrayList(dataHeader, dataPayload));
+            rpc.receive(ackHeader);
+        } else {
+            rpc.receive(dataHeader);
+            List<byte[]> ackPayload = Collections.singletonList(new byte[ACK_BYTE_LENGTH]);
+            rpc.send(DataPacket.fromByteArrayList(ackHeader, ackPayload));
+        }
+        stopWatch.stop();
+        long dataTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        stopWatch.reset();
+        logStepInfo(PtoState.PTO_STEP, 1, 2, dataTime);
+
+        stopWatch.start();
+        if (subPto != null) {
+            subPto.run(sender, byteLength / 2);
+        }
+        stopWatch.stop();
+        long subPtoTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        stopWatch.reset();
+        logStepInfo(PtoState.PTO_STEP, 2, 2, subPtoTime);
+
+        logPhaseInfo(PtoState.PTO_END);
+    }
+}
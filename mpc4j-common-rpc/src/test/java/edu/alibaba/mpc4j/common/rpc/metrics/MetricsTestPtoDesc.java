@@ -0,0 +1,62 @@
+package edu.alibaba.mpc4j.common.rpc.metrics;
+
+import edu.alibaba.mpc4j.common.rpc.desc.PtoDesc;
+import edu.alibaba.mpc4j.common.rpc.desc.PtoDescManager;
+
+/**
+ * protocol metrics test protocol description.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/11
+ */
+class MetricsTestPtoDesc implements PtoDesc {
+    /**
+     * protocol ID
+     */
+    private static final int PTO_ID = Math.abs((int) 3468093124815736081L);
+    /**
+     * protocol name
+     */
+    private static final String PTO_NAME = "METRICS_TEST";
+
+    /**
+     * protocol step
+     */
+    enum PtoStep {
+        /**
+         * sender sends data
+         */
+        SENDER_SEND_DATA,
+        /**
+         * receiver sends ack
+         */
+        RECEIVER_SEND_ACK,
+    }
+
+    /**
+     * singleton mode
+     */
+    private static final MetricsTestPtoDesc INSTANCE = new MetricsTestPtoDesc();
+
+    private MetricsTestPtoDesc() {
+        // empty
+    }
+
+    public static PtoDesc getInstance() {
+        return INSTANCE;
+    }
+
+    static {
+        PtoDescManager.registerPtoDesc(MetricsTestPtoDesc.getInstance());
+    }
+
+    @Override
+    public int getPtoId() {
+        return PTO_ID;
+    }
+
+    @Override
+    public String getPtoName() {
+        return PTO_NAME;
+    }
+}
@@ -0,0 +1,187 @@
+package edu.alibaba.mpc4j.common.rpc.session;
+
+import edu.alibaba.mpc4j.common.rpc.Party;
+import edu.alibaba.mpc4j.common.rpc.Rpc;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacket;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
+
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * gated RPC for session tests. Once gated, asynchronous sends are held until they are released one by one, so that
+ * tests can control when the transport finishes sending.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/22
+ */
+class GatedRpc implements Rpc {
+    /**
+     * the RPC
+     */
+    private final Rpc rpc;
+    /**
+     * held sends
+     */
+    private final BlockingQueue<HeldSend> heldSends;
+    /**
+     * gated or not
+     */
+    private volatile boolean gated;
+
+    GatedRpc(Rpc rpc) {
+        this.rpc = rpc;
+        heldSends = new LinkedBlockingQueue<>();
+        gated = false;
+    }
+
+    /**
+     * Sets whether asynchronous sends are held. Held sends must be released before the gate is opened.
+     *
+     * @param gated gated or not.
+     */
+    void setGated(boolean gated) {
+        this.gated = gated;
+    }
+
+    /**
+     * Gets the number of held sends.
+     *
+     * @return the number of held sends.
+     */
+    int getHeldNum() {
+        return heldSends.size();
+    }
+
+    /**
+     * Waits until the number of held sends reaches the given number.
+     *
+     * @param heldNum the number of held sends.
+     * @throws InterruptedException interrupted exception.
+     */
+    void awaitHeldNum(int heldNum) throws InterruptedException {
+        while (heldSends.size() < heldNum) {
+            Thread.sleep(1);
+        }
+    }
+
+    /**
+     * Releases the earliest held send, waiting for it if there is none.
+     *
+     * @return the released data packet.
+     * @throws InterruptedException interrupted exception.
+     */
+    DataPacket releaseOne() throws InterruptedException {
+        HeldSend heldSend = heldSends.take();
+        rpc.send(heldSend.dataPacket);
+        heldSend.future.complete(null);
+        return heldSend.dataPacket;
+    }
+
+    /**
+     * Fails the earliest held send, waiting for it if there is none.
+     *
+     * @param throwable the failure.
+     * @throws InterruptedException interrupted exception.
+     */
+    void failOne(Throwable throwable) throws InterruptedException {
+        heldSends.take().future.completeExceptionally(throwable);
+    }
+
+    @Override
+    public Party ownParty() {
+        return rpc.ownParty();
+    }
+
+    @Override
+    public Set<Party> getPartySet() {
+        return rpc.getPartySet();
+    }
+
+    @Override
+    public Party getParty(int partyId) {
+        return rpc.getParty(partyId);
+    }
+
+    @Override
+    public void connect() {
+        rpc.connect();
+    }
+
+    @Override
+    public void send(DataPacket dataPacket) {
+        sendAsync(dataPacket).join();
+    }
+
+    @Override
+    public CompletableFuture<Void> sendAsync(DataPacket dataPacket) {
+        if (!gated) {
+            rpc.send(dataPacket);
+            return CompletableFuture.completedFuture(null);
+        }
+        HeldSend heldSend = new HeldSend(dataPacket);
+        heldSends.add(heldSend);
+        return heldSend.future;
+    }
+
+    @Override
+    public DataPacket receive(DataPacketHeader header) {
+        return rpc.receive(header);
+    }
+
+    @Override
+    public DataPacket receiveAny() {
+        return rpc.receiveAny();
+    }
+
+    @Override
+    public long getPayloadByteLength() {
+        return rpc.getPayloadByteLength();
+    }
+
+    @Override
+    public long getSendByteLength() {
+        return rpc.getSendByteLength();
+    }
+
+    @Override
+    public long getSendDataPacketNum() {
+        return rpc.getSendDataPacketNum();
+    }
+
+    @Override
+    public void synchronize() {
+        rpc.synchronize();
+    }
+
+    @Override
+    public void reset() {
+        rpc.reset();
+    }
+
+    @Override
+    public void disconnect() {
+        rpc.disconnect();
+    }
+
+    /**
+     * a held send.
+     */
+    private static class HeldSend {
+        /**
+         * the data packet
+         */
+        private final DataPacket dataPacket;
+        /**
+         * the future completed once released
+         */
+        private final CompletableFuture<Void> future;
+
+        private HeldSend(DataPacket dataPacket) {
+            this.dataPacket = dataPacket;
+            future = new CompletableFuture<>();
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package edu.alibaba.mpc4j.common.rpc.session;
+
+import edu.alibaba.mpc4j.common.rpc.RpcManager;
+import edu.alibaba.mpc4j.common.rpc.impl.netty.NettyRpcManager;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacket;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.time.StopWatch;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.security.SecureRandom;
+import java.text.DecimalFormat;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * session multiplexer efficiency test. Concurrent sessions run over one NettyRpc and send the same amount of data in
+ * total. It reports the aggregate throughput, and the fastest and the slowest session times to show the fairness.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/12
+ */
+@Ignore
+public class SessionMultiplexerEfficiencyTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SessionMultiplexerEfficiencyTest.class);
+    /**
+     * start port
+     */
+    private static final int START_PORT = 8930;
+    /**
+     * numbers of sessions
+     */
+    private static final int[] SESSION_NUMS = new int[] {1, 8, 64};
+    /**
+     * total byte length sent by all sessions
+     */
+    private static final int TOTAL_BYTE_LENGTH = 1 << 28;
+    /**
+     * item num in a data packet
+     */
+    private static final int ITEM_NUM = 1 << 4;
+    /**
+     * item byte length
+     */
+    private static final int ITEM_BYTE_LENGTH = 1 << 14;
+    /**
+     * time format
+     */
+    private static final DecimalFormat TIME_DECIMAL_FORMAT = new DecimalFormat("0.00");
+    /**
+     * random state
+     */
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
+    @Test
+    public void testEfficiency() throws InterruptedException {
+        LOGGER.info("{}\t{}\t{}\t{}\t{}\t{}",
+            "  sessions", "   packets", "  time(ms)", "      MB/s", "   min(ms)", "   max(ms)"
+        );
+        int port = START_PORT;
+        for (int sessionNum : SESSION_NUMS) {
+            testEfficiency(sessionNum, port);
+            port += 2;
+        }
+    }
+
+    private void testEfficiency(int sessionNum, int port) throws InterruptedException {
+        RpcManager rpcManager = new NettyRpcManager(2, port);
+        SessionMultiplexer senderMultiplexer = new SessionMultiplexer(rpcManager.getRpc(0));
+        SessionMultiplexer receiverMultiplexer = new SessionMultiplexer(rpcManager.getRpc(1));
+        Thread senderConnectThread = new Thread(senderMultiplexer::connect);
+        Thread receiverConnectThread = new Thread(receiverMultiplexer::connect);
+        senderConnectThread.start();
+        Thread.sleep(100);
+        receiverConnectThread.start();
+        senderConnectThread.join();
+        receiverConnectThread.join();
+        int taskId = Math.abs(SECURE_RANDOM.nextInt());
+        List<byte[]> payload = IntStream.range(0, ITEM_NUM)
+            .mapToObj(index -> {
+                byte[] item = new byte[ITEM_BYTE_LENGTH];
+                SECURE_RANDOM.nextBytes(item);
+                return item;
+            })
+            .collect(Collectors.toList());
+        int dataPacketNum = TOTAL_BYTE_LENGTH / ITEM_NUM / ITEM_BYTE_LENGTH / sessionNum;
+        SessionRpc[] senderRpcs = IntStream.range(0, sessionNum)
+            .mapToObj(senderMultiplexer::openSession)
+            .toArray(SessionRpc[]::new);
+        SessionRpc[] receiverRpcs = IntStream.range(0, sessionNum)
+            .mapToObj(receiverMultiplexer::openSession)
+            .toArray(SessionRpc[]::new);
+        long[] sessionTimes = new long[sessionNum];
+        Thread[] threads = new Thread[sessionNum * 2];
+        StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+        for (int sessionId = 0; sessionId < sessionNum; sessionId++) {
+            SessionRpc senderRpc = senderRpcs[sessionId];
+            SessionRpc receiverRpc = receiverRpcs[sessionId];
+            int finalSessionId = sessionId;
+            threads[sessionId * 2] = new Thread(() -> {
+                for (int index = 0; index < dataPacketNum; index++) {
+                    senderRpc.send(DataPacket.fromByteArrayList(createHeader(taskId, index), payload));
+                }
+            });
+            threads[sessionId * 2 + 1] = new Thread(() -> {
+                for (int index = 0; index < dataPacketNum; index++) {
+                    receiverRpc.receive(createHeader(taskId, index));
+                }
+                sessionTimes[finalSessionId] = stopWatch.getTime(TimeUnit.MILLISECONDS);
+            });
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        stopWatch.stop();
+        double time = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        double megaBytes = (double) dataPacketNum * sessionNum * ITEM_NUM * ITEM_BYTE_LENGTH / (1 << 20);
+        LOGGER.info("{}\t{}\t{}\t{}\t{}\t{}",
+            StringUtils.leftPad(String.valueOf(sessionNum), 10),
+            StringUtils.leftPad(String.valueOf(dataPacketNum), 10),
+            StringUtils.leftPad(TIME_DECIMAL_FORMAT.format(time), 10),
+            StringUtils.leftPad(TIME_DECIMAL_FORMAT.format(megaBytes * 1000 / time), 10),
+            StringUtils.leftPad(String.valueOf(Arrays.stream(sessionTimes).min().orElse(0)), 10),
+            StringUtils.leftPad(String.valueOf(Arrays.stream(sessionTimes).max().orElse(0)), 10)
+        );
+        for (int sessionId = 0; sessionId < sessionNum; sessionId++) {
+            senderRpcs[sessionId].disconnect();
+            receiverRpcs[sessionId].disconnect();
+        }
+        Thread senderDisconnectThread = new Thread(senderMultiplexer::disconnect);
+        Thread receiverDisconnectThread = new Thread(receiverMultiplexer::disconnect);
+        senderDisconnectThread.start();
+        receiverDisconnectThread.start();
+        senderDisconnectThread.join();
+        receiverDisconnectThread.join();
+    }
+
+    private static DataPacketHeader createHeader(int taskId, int index) {
+        return new DataPacketHeader(
+            taskId, SessionTestPtoDesc.getInstance().getPtoId(), SessionTestPtoDesc.PtoStep.SEND.ordinal(), index, 0, 1
+        );
+    }
+}
@@ -0,0 +1,370 @@
+package edu.alibaba.mpc4j.common.rpc.session;
+
+import edu.alibaba.mpc4j.common.rpc.RpcManager;
+import edu.alibaba.mpc4j.common.rpc.impl.memory.MemoryRpcManager;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacket;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
+import edu.alibaba.mpc4j.common.tool.utils.IntUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * session multiplexer test.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/12
+ */
+public class SessionMultiplexerTest {
+    /**
+     * task ID, shared by all sessions
+     */
+    private static final int TASK_ID = 3;
+    /**
+     * session num
+     */
+    private static final int SESSION_NUM = 8;
+    /**
+     * data packet num in each session
+     */
+    private static final int DATA_PACKET_NUM = 1 << 6;
+    /**
+     * small window, so that sending blocks on flow control
+     */
+    private static final long SMALL_WINDOW_BYTE_LENGTH = 1 << 8;
+    /**
+     * small quantum
+     */
+    private static final long SMALL_QUANTUM_BYTE_LENGTH = 1 << 6;
+    /**
+     * sender RPC, gated so that tests can control when the transport finishes sending
+     */
+    private GatedRpc senderGatedRpc;
+    /**
+     * sender multiplexer
+     */
+    private SessionMultiplexer senderMultiplexer;
+    /**
+     * receiver multiplexer
+     */
+    private SessionMultiplexer receiverMultiplexer;
+
+    @Before
+    public void connect() {
+        RpcManager rpcManager = new MemoryRpcManager(2);
+        senderGatedRpc = new GatedRpc(rpcManager.getRpc(0));
+        senderMultiplexer = new SessionMultiplexer(senderGatedRpc, SMALL_WINDOW_BYTE_LENGTH, SMALL_QUANTUM_BYTE_LENGTH);
+        receiverMultiplexer = new SessionMultiplexer(
+            rpcManager.getRpc(1), SMALL_WINDOW_BYTE_LENGTH, SMALL_QUANTUM_BYTE_LENGTH
+        );
+        senderMultiplexer.connect();
+        receiverMultiplexer.connect();
+    }
+
+    @After
+    public void disconnect() {
+        senderMultiplexer.disconnect();
+        receiverMultiplexer.disconnect();
+    }
+
+    @Test
+    public void testNamespace() throws InterruptedException {
+        // all sessions use the same headers, each data packet carries its session ID and its index
+        List<Thread> threads = new LinkedList<>();
+        List<Throwable> throwables = Collections.synchronizedList(new LinkedList<>());
+        for (int sessionId = 0; sessionId < SESSION_NUM; sessionId++) {
+            SessionRpc senderRpc = senderMultiplexer.openSession(sessionId);
+            SessionRpc receiverRpc = receiverMultiplexer.openSession(sessionId);
+            threads.add(new Thread(() -> {
+                for (int index = 0; index < DATA_PACKET_NUM; index++) {
+                    senderRpc.send(DataPacket.fromByteArrayList(
+                        createHeader(index), createPayload(senderRpc.getSessionId(), index)
+                    ));
+                }
+            }));
+            threads.add(new Thread(() -> {
+                try {
+                    for (int index = 0; index < DATA_PACKET_NUM; index++) {
+                        DataPacket dataPacket = receiverRpc.receive(createHeader(index));
+                        assertPayload(receiverRpc.getSessionId(), index, dataPacket.getPayload());
+                    }
+                } catch (Throwable throwable) {
+                    throwables.add(throwable);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assert.assertTrue(throwables.isEmpty());
+        for (int sessionId = 0; sessionId < SESSION_NUM; sessionId++) {
+            Assert.assertEquals(DATA_PACKET_NUM, senderMultiplexer.getSession(sessionId).getSendDataPacketNum());
+        }
+        closeSessions();
+    }
+
+    @Test
+    public void testReceiveAny() {
+        SessionRpc senderRpc0 = senderMultiplexer.openSession(0);
+        SessionRpc senderRpc1 = senderMultiplexer.openSession(1);
+        SessionRpc receiverRpc0 = receiverMultiplexer.openSession(0);
+        SessionRpc receiverRpc1 = receiverMultiplexer.openSession(1);
+        senderRpc0.send(DataPacket.fromByteArrayList(createHeader(0), createPayload(0, 0)));
+        senderRpc1.send(DataPacket.fromByteArrayList(createHeader(1), createPayload(1, 1)));
+        // receiveAny in one session never returns data packets of another session
+        DataPacket dataPacket1 = receiverRpc1.receiveAny();
+        Assert.assertEquals(createHeader(1), dataPacket1.getHeader());
+        assertPayload(1, 1, dataPacket1.getPayload());
+        DataPacket dataPacket0 = receiverRpc0.receiveAny();
+        Assert.assertEquals(createHeader(0), dataPacket0.getHeader());
+        assertPayload(0, 0, dataPacket0.getPayload());
+        closeSessions();
+    }
+
+    @Test
+    public void testAsync() {
+        SessionRpc senderRpc = senderMultiplexer.openSession(0);
+        SessionRpc receiverRpc = receiverMultiplexer.openSession(0);
+        // receive before send
+        DataPacket dataPacket = receiverRpc.receiveAsync(createHeader(0))
+            .thenCombine(senderRpc.sendAsync(DataPacket.fromByteArrayList(createHeader(0), createPayload(0, 0))),
+                (received, sent) -> received
+            )
+            .join();
+        assertPayload(0, 0, dataPacket.getPayload());
+        closeSessions();
+    }
+
+    @Test
+    public void testStream() {
+        SessionRpc senderRpc = senderMultiplexer.openSession(0);
+        SessionRpc receiverRpc = receiverMultiplexer.openSession(0);
+        DataPacketHeader header = new DataPacketHeader(
+            TASK_ID, SessionTestPtoDesc.getInstance().getPtoId(), SessionTestPtoDesc.PtoStep.STREAM.ordinal(),
+            senderRpc.ownParty().getPartyId(), receiverRpc.ownParty().getPartyId()
+        );
+        List<List<byte[]>> chunks = IntStream.range(0, DATA_PACKET_NUM)
+            .mapToObj(index -> createPayload(0, index))
+            .collect(Collectors.toList());
+        senderRpc.sendStream(header, chunks.iterator());
+        Iterator<List<byte[]>> chunkIterator = receiverRpc.receiveStream(header);
+        int index = 0;
+        while (chunkIterator.hasNext()) {
+            assertPayload(0, index, chunkIterator.next());
+            index++;
+        }
+        Assert.assertEquals(DATA_PACKET_NUM, index);
+        closeSessions();
+    }
+
+    @Test
+    public void testSynchronize() throws InterruptedException {
+        List<Thread> threads = new LinkedList<>();
+        for (int sessionId = 0; sessionId < SESSION_NUM; sessionId++) {
+            threads.add(new Thread(senderMultiplexer.openSession(sessionId)::synchronize));
+            threads.add(new Thread(receiverMultiplexer.openSession(sessionId)::synchronize));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        closeSessions();
+    }
+
+    @Test
+    public void testInvalidSession() {
+        senderMultiplexer.openSession(0);
+        // open the same session twice
+        Assert.assertThrows(IllegalArgumentException.class, () -> senderMultiplexer.openSession(0));
+        // invalid session ID
+        Assert.assertThrows(IllegalArgumentException.class, () -> senderMultiplexer.openSession(-1));
+        Assert.assertThrows(IllegalArgumentException.class, () ->
+            senderMultiplexer.openSession(SessionMultiplexer.MAX_SESSION_NUM)
+        );
+        // extraInfo that overlaps the session ID
+        DataPacketHeader header = new DataPacketHeader(
+            TASK_ID, SessionTestPtoDesc.getInstance().getPtoId(), SessionTestPtoDesc.PtoStep.SEND.ordinal(),
+            SessionMultiplexer.MAX_EXTRA_INFO + 1, 0, 1
+        );
+        Assert.assertThrows(IllegalArgumentException.class, () ->
+            senderMultiplexer.getSession(0).send(DataPacket.fromByteArrayList(header, new LinkedList<>()))
+        );
+        closeSessions();
+    }
+
+    @Test
+    public void testClosedSession() throws InterruptedException {
+        SessionRpc senderRpc0 = senderMultiplexer.openSession(0);
+        SessionRpc receiverRpc0 = receiverMultiplexer.openSession(0);
+        SessionRpc senderRpc1 = senderMultiplexer.openSession(1);
+        SessionRpc receiverRpc1 = receiverMultiplexer.openSession(1);
+        // the receiver closes session 0, data packets that arrive later are dropped instead of resurrecting the session
+        receiverRpc0.disconnect();
+        senderRpc0.sendAsync(DataPacket.fromByteArrayList(createHeader(0), createPayload(0, 0))).join();
+        // data packets are dispatched in order, so the dropped data packet is handled once session 1 receives
+        senderRpc1.send(DataPacket.fromByteArrayList(createHeader(1), createPayload(1, 1)));
+        assertPayload(1, 1, receiverRpc1.receive(createHeader(1)).getPayload());
+        SessionRpc reopenReceiverRpc0 = receiverMultiplexer.openSession(0);
+        CompletableFuture<DataPacket> future = reopenReceiverRpc0.receiveAsync(createHeader(0));
+        Assert.assertFalse(future.isDone());
+        future.cancel(false);
+        // the sender closes session 0, sending or closing again fails
+        senderRpc0.disconnect();
+        Assert.assertNull(senderMultiplexer.getSession(0));
+        Assert.assertThrows(IllegalStateException.class, () ->
+            senderRpc0.send(DataPacket.fromByteArrayList(createHeader(0), createPayload(0, 0)))
+        );
+        Assert.assertThrows(IllegalStateException.class, senderRpc0::disconnect);
+        closeSessions();
+    }
+
+    @Test
+    public void testBackPressure() throws InterruptedException {
+        SessionRpc senderRpc = senderMultiplexer.openSession(0);
+        SessionRpc receiverRpc = receiverMultiplexer.openSession(0);
+        senderGatedRpc.setGated(true);
+        // each data packet exceeds the window, so the second send blocks until the first one is sent
+        Thread senderThread = new Thread(() -> {
+            for (int index = 0; index < 2; index++) {
+                senderRpc.send(DataPacket.fromByteArrayList(createHeader(index), createPayload(0, index)));
+            }
+        });
+        senderThread.start();
+        senderGatedRpc.awaitHeldNum(1);
+        senderThread.join(100);
+        Assert.assertTrue(senderThread.isAlive());
+        Assert.assertEquals(1, senderRpc.getSendDataPacketNum());
+        Assert.assertEquals(1, senderGatedRpc.getHeldNum());
+        // sending the first data packet releases the window
+        senderGatedRpc.releaseOne();
+        senderGatedRpc.releaseOne();
+        senderThread.join();
+        Assert.assertEquals(2, senderRpc.getSendDataPacketNum());
+        for (int index = 0; index < 2; index++) {
+            assertPayload(0, index, receiverRpc.receive(createHeader(index)).getPayload());
+        }
+        senderGatedRpc.setGated(false);
+        closeSessions();
+    }
+
+    @Test
+    public void testNoStarvation() throws InterruptedException {
+        SessionRpc busySenderRpc = senderMultiplexer.openSession(0);
+        SessionRpc senderRpc = senderMultiplexer.openSession(1);
+        SessionRpc busyReceiverRpc = receiverMultiplexer.openSession(0);
+        SessionRpc receiverRpc = receiverMultiplexer.openSession(1);
+        senderGatedRpc.setGated(true);
+        // the busy session keeps sending large data packets
+        Thread busySenderThread = new Thread(() -> {
+            for (int index = 0; index < DATA_PACKET_NUM; index++) {
+                busySenderRpc.send(DataPacket.fromByteArrayList(createHeader(index), createPayload(0, index)));
+            }
+        });
+        busySenderThread.start();
+        senderGatedRpc.awaitHeldNum(1);
+        // the other session sends one data packet, it must be sent before the busy session finishes
+        senderRpc.send(DataPacket.fromByteArrayList(createHeader(0), createPayload(1, 0)));
+        senderGatedRpc.awaitHeldNum(2);
+        Set<Integer> releasedSessionIdSet = new HashSet<>();
+        for (int i = 0; i < 2; i++) {
+            releasedSessionIdSet.add(IntUtils.byteArrayToInt(senderGatedRpc.releaseOne().getPayload().get(0)));
+        }
+        Assert.assertTrue(releasedSessionIdSet.contains(1));
+        Assert.assertTrue(busySenderRpc.getSendDataPacketNum() < DATA_PACKET_NUM);
+        assertPayload(1, 0, receiverRpc.receive(createHeader(0)).getPayload());
+        // release the remaining data packets of the busy session
+        for (int index = 1; index < DATA_PACKET_NUM; index++) {
+            senderGatedRpc.releaseOne();
+        }
+        busySenderThread.join();
+        for (int index = 0; index < DATA_PACKET_NUM; index++) {
+            assertPayload(0, index, busyReceiverRpc.receive(createHeader(index)).getPayload());
+        }
+        senderGatedRpc.setGated(false);
+        closeSessions();
+    }
+
+    @Test
+    public void testSendFailure() throws InterruptedException {
+        SessionRpc senderRpc = senderMultiplexer.openSession(0);
+        receiverMultiplexer.openSession(0);
+        senderGatedRpc.setGated(true);
+        senderRpc.send(DataPacket.fromByteArrayList(createHeader(0), createPayload(0, 0)));
+        senderGatedRpc.failOne(new IllegalStateException("transport failure"));
+        senderGatedRpc.setGated(false);
+        // the failure of a previous send is propagated to the next send
+        Assert.assertThrows(IllegalStateException.class, () ->
+            senderRpc.send(DataPacket.fromByteArrayList(createHeader(1), createPayload(0, 1)))
+        );
+        closeSessions();
+    }
+
+    @Test
+    public void testDisconnectBlockedSend() throws InterruptedException {
+        SessionRpc senderRpc = senderMultiplexer.openSession(0);
+        receiverMultiplexer.openSession(0);
+        senderGatedRpc.setGated(true);
+        senderRpc.send(DataPacket.fromByteArrayList(createHeader(0), createPayload(0, 0)));
+        senderGatedRpc.awaitHeldNum(1);
+        // the first data packet is held in the transport, so the second one blocks on the window
+        AtomicReference<Throwable> throwable = new AtomicReference<>();
+        Thread sendThread = new Thread(() -> {
+            try {
+                senderRpc.send(DataPacket.fromByteArrayList(createHeader(1), createPayload(0, 1)));
+            } catch (Throwable t) {
+                throwable.set(t);
+            }
+        });
+        sendThread.start();
+        while (sendThread.getState() != Thread.State.WAITING) {
+            Thread.sleep(1);
+        }
+        senderMultiplexer.disconnect();
+        sendThread.join(TimeUnit.SECONDS.toMillis(10));
+        Assert.assertFalse(sendThread.isAlive());
+        Assert.assertTrue(throwable.get() instanceof IllegalStateException);
+    }
+
+    private void closeSessions() {
+        for (SessionMultiplexer sessionMultiplexer : new SessionMultiplexer[] {senderMultiplexer, receiverMultiplexer}) {
+            for (int sessionId : new ArrayList<>(sessionMultiplexer.getSessionIdSet())) {
+                sessionMultiplexer.getSession(sessionId).disconnect();
+            }
+        }
+    }
+
+    private DataPacketHeader createHeader(int index) {
+        return new DataPacketHeader(
+            TASK_ID, SessionTestPtoDesc.getInstance().getPtoId(), SessionTestPtoDesc.PtoStep.SEND.ordinal(), index,
+            senderMultiplexer.getRpc().ownParty().getPartyId(), receiverMultiplexer.getRpc().ownParty().getPartyId()
+        );
+    }
+
+    private static List<byte[]> createPayload(int sessionId, int index) {
+        List<byte[]> payload = new LinkedList<>();
+        payload.add(IntUtils.intToByteArray(sessionId));
+        payload.add(IntUtils.intToByteArray(index));
+        // a large item, so that the window is exceeded
+        payload.add(new byte[(int) SMALL_WINDOW_BYTE_LENGTH]);
+        return payload;
+    }
+
+    private static void assertPayload(int sessionId, int index, List<byte[]> payload) {
+        Assert.assertEquals(3, payload.size());
+        Assert.assertEquals(sessionId, IntUtils.byteArrayToInt(payload.get(0)));
+        Assert.assertEquals(index, IntUtils.byteArrayToInt(payload.get(1)));
+    }
+}
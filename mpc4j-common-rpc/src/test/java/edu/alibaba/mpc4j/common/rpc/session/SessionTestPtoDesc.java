@@ -0,0 +1,62 @@
+package edu.alibaba.mpc4j.common.rpc.session;
+
+import edu.alibaba.mpc4j.common.rpc.desc.PtoDesc;
+import edu.alibaba.mpc4j.common.rpc.desc.PtoDescManager;
+
+/**
+ * session test protocol description.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/12
+ */
+class SessionTestPtoDesc implements PtoDesc {
+    /**
+     * protocol ID
+     */
+    private static final int PTO_ID = Math.abs((int) 6248810127731952308L);
+    /**
+     * protocol name
+     */
+    private static final String PTO_NAME = "SESSION_TEST";
+
+    /**
+     * protocol step
+     */
+    enum PtoStep {
+        /**
+         * send data packets
+         */
+        SEND,
+        /**
+         * send a stream
+         */
+        STREAM,
+    }
+
+    /**
+     * singleton mode
+     */
+    private static final SessionTestPtoDesc INSTANCE = new SessionTestPtoDesc();
+
+    private SessionTestPtoDesc() {
+        // empty
+    }
+
+    public static PtoDesc getInstance() {
+        return INSTANCE;
+    }
+
+    static {
+        PtoDescManager.registerPtoDesc(INSTANCE);
+    }
+
+    @Override
+    public int getPtoId() {
+        return PTO_ID;
+    }
+
+    @Override
+    public String getPtoName() {
+        return PTO_NAME;
+    }
+}
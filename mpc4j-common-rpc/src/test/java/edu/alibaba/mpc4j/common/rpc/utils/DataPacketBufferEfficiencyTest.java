@@ -0,0 +1,104 @@
+package edu.alibaba.mpc4j.common.rpc.utils;
+
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacketBufferFactory.DataPacketBufferType;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.time.StopWatch;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * data packet buffer efficiency test. Many consumer threads wait for distinct data packets at the same time, which is
+ * the case when many sub-protocols and parallel tasks share one RPC.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/6
+ */
+@Ignore
+public class DataPacketBufferEfficiencyTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DataPacketBufferEfficiencyTest.class);
+    /**
+     * sender ID
+     */
+    private static final int SENDER_ID = 0;
+    /**
+     * receiver ID
+     */
+    private static final int RECEIVER_ID = 1;
+    /**
+     * number of data packets taken by each consumer
+     */
+    private static final int PACKET_NUM = 1 << 10;
+    /**
+     * stop watch
+     */
+    private static final StopWatch STOP_WATCH = new StopWatch();
+
+    @Test
+    public void testEfficiency() throws InterruptedException {
+        LOGGER.info("{}\t{}\t{}\t{}\t{}", "      name", "   take_by", " consumers", "   packets", "  time(ms)");
+        for (int consumerNum : new int[] {1, 4, 16, 64}) {
+            for (DataPacketBufferType type : DataPacketBufferType.values()) {
+                testEfficiency(type, consumerNum, false);
+            }
+            for (DataPacketBufferType type : DataPacketBufferType.values()) {
+                testEfficiency(type, consumerNum, true);
+            }
+        }
+    }
+
+    private void testEfficiency(DataPacketBufferType type, int consumerNum, boolean takeByPtoId)
+        throws InterruptedException {
+        DataPacketBuffer dataPacketBuffer = DataPacketBufferFactory.createInstance(type);
+        // each consumer takes data packets with its own protocol ID, one by one
+        Thread[] consumers = new Thread[consumerNum];
+        for (int consumerIndex = 0; consumerIndex < consumerNum; consumerIndex++) {
+            final int ptoId = consumerIndex;
+            consumers[consumerIndex] = new Thread(() -> {
+                try {
+                    for (int stepId = 0; stepId < PACKET_NUM; stepId++) {
+                        if (takeByPtoId) {
+                            dataPacketBuffer.take(RECEIVER_ID, ptoId);
+                        } else {
+                            dataPacketBuffer.take(new DataPacketHeader(0, ptoId, stepId, SENDER_ID, RECEIVER_ID));
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    e.printStackTrace();
+                }
+            });
+        }
+        // the producer puts data packets in the round-robin manner
+        Thread producer = new Thread(() -> {
+            for (int stepId = 0; stepId < PACKET_NUM; stepId++) {
+                for (int ptoId = 0; ptoId < consumerNum; ptoId++) {
+                    DataPacketHeader header = new DataPacketHeader(0, ptoId, stepId, SENDER_ID, RECEIVER_ID);
+                    dataPacketBuffer.put(DataPacket.fromByteArrayList(header, new LinkedList<>()));
+                }
+            }
+        });
+        STOP_WATCH.start();
+        for (Thread consumer : consumers) {
+            consumer.start();
+        }
+        producer.start();
+        producer.join();
+        for (Thread consumer : consumers) {
+            consumer.join();
+        }
+        STOP_WATCH.stop();
+        long time = STOP_WATCH.getTime(TimeUnit.MILLISECONDS);
+        STOP_WATCH.reset();
+        LOGGER.info("{}\t{}\t{}\t{}\t{}",
+            StringUtils.leftPad(type.name(), 10),
+            StringUtils.leftPad(takeByPtoId ? "pto" : "header", 10),
+            StringUtils.leftPad(String.valueOf(consumerNum), 10),
+            StringUtils.leftPad(String.valueOf(PACKET_NUM * consumerNum), 10),
+            StringUtils.leftPad(String.valueOf(time), 10)
+        );
+    }
+}
@@ -1,10 +1,18 @@
 package edu.alibaba.mpc4j.common.rpc.utils;
 
+import com.google.common.base.Preconditions;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacketBufferFactory.DataPacketBufferType;
+import org.apache.commons.lang3.StringUtils;
 import org.junit.Assert;
 import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import java.util.stream.LongStream;
 
@@ -14,7 +22,18 @@ import java.util.stream.LongStream;
  * @author Weiran Liu
  * @date 2023/2/9
  */
+@RunWith(Parameterized.class)
 public class DataPacketBufferTest {
+
+    @Parameterized.Parameters(name = "{0}")
+    public static Collection<Object[]> configurations() {
+        Collection<Object[]> configurations = new ArrayList<>();
+        for (DataPacketBufferType type : DataPacketBufferType.values()) {
+            configurations.add(new Object[] {type.name(), type,});
+        }
+        return configurations;
+    }
+
     /**
      * party 1's ID
      */
@@ -51,10 +70,19 @@ public class DataPacketBufferTest {
     private static final Set<Long> CORRECT_SET = LongStream.range(SET_START_INDEX, SET_END_INDEX)
         .boxed()
         .collect(Collectors.toSet());
+    /**
+     * the type
+     */
+    private final DataPacketBufferType type;
+
+    public DataPacketBufferTest(String name, DataPacketBufferType type) {
+        Preconditions.checkArgument(StringUtils.isNotBlank(name));
+        this.type = type;
+    }
 
     @Test
     public void testDataPacketBuffer() throws InterruptedException {
-        DataPacketBuffer dataPacketBuffer = new DataPacketBuffer();
+        DataPacketBuffer dataPacketBuffer = DataPacketBufferFactory.createInstance(type);
         DataPacketBufferParty1Thread party1Thread = new DataPacketBufferParty1Thread(dataPacketBuffer);
         DataPacketBufferParty2Thread party2Thread = new DataPacketBufferParty2Thread(dataPacketBuffer);
         party1Thread.start();
@@ -67,4 +95,39 @@ public class DataPacketBufferTest {
         Assert.assertEquals(CORRECT_SET, party1Thread.getPayloadSet());
         Assert.assertEquals(CORRECT_SET, party2Thread.getPayloadSet());
     }
+
+    @Test
+    public void testTakeAsync() throws InterruptedException {
+        DataPacketBuffer dataPacketBuffer = DataPacketBufferFactory.createInstance(type);
+        DataPacketHeader header = new DataPacketHeader(0, 0, 0, PARTY_1_ID, PARTY_2_ID);
+        List<byte[]> payload = new ArrayList<>();
+        payload.add(new byte[] {1, 2, 3});
+        // the data packet is already in the buffer
+        dataPacketBuffer.put(DataPacket.fromByteArrayList(header, payload));
+        CompletableFuture<DataPacket> bufferedFuture = dataPacketBuffer.takeAsync(header);
+        Assert.assertTrue(bufferedFuture.isDone());
+        Assert.assertArrayEquals(payload.get(0), bufferedFuture.join().getPayload().get(0));
+        // the data packet is put later
+        CompletableFuture<DataPacket> pendingFuture = dataPacketBuffer.takeAsync(header);
+        Assert.assertFalse(pendingFuture.isDone());
+        Thread putThread = new Thread(() -> dataPacketBuffer.put(DataPacket.fromByteArrayList(header, payload)));
+        putThread.start();
+        Assert.assertArrayEquals(payload.get(0), pendingFuture.join().getPayload().get(0));
+        putThread.join();
+        // the data packet is handed to the future, not buffered
+        Assert.assertFalse(dataPacketBuffer.takeAsync(header).isDone());
+    }
+
+    @Test
+    public void testCancelTakeAsync() throws InterruptedException {
+        DataPacketBuffer dataPacketBuffer = DataPacketBufferFactory.createInstance(type);
+        DataPacketHeader header = new DataPacketHeader(0, 0, 0, PARTY_1_ID, PARTY_2_ID);
+        List<byte[]> payload = new ArrayList<>();
+        payload.add(new byte[] {1, 2, 3});
+        CompletableFuture<DataPacket> cancelledFuture = dataPacketBuffer.takeAsync(header);
+        Assert.assertTrue(cancelledFuture.cancel(false));
+        // the data packet is buffered for blocking takes
+        dataPacketBuffer.put(DataPacket.fromByteArrayList(header, payload));
+        Assert.assertArrayEquals(payload.get(0), dataPacketBuffer.take(header).getPayload().get(0));
+    }
 }
@@ -0,0 +1,123 @@
+package edu.alibaba.mpc4j.common.rpc.utils;
+
+import edu.alibaba.mpc4j.common.rpc.Rpc;
+import edu.alibaba.mpc4j.common.rpc.RpcManager;
+import edu.alibaba.mpc4j.common.rpc.impl.memory.MemoryRpcManager;
+import edu.alibaba.mpc4j.common.tool.utils.IntUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * data packet stream test.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/7
+ */
+public class DataPacketStreamTest {
+    /**
+     * protocol ID
+     */
+    private static final int PTO_ID = 0;
+
+    @Test
+    public void testEmptyStream() throws InterruptedException {
+        testStream(0, 0, 0L);
+    }
+
+    @Test
+    public void testOneChunk() throws InterruptedException {
+        testStream(1, 10, 0L);
+    }
+
+    @Test
+    public void testManyChunks() throws InterruptedException {
+        testStream(100, 10, 0L);
+    }
+
+    @Test
+    public void testEmptyChunks() throws InterruptedException {
+        testStream(100, 0, 0L);
+    }
+
+    @Test
+    public void testExtraInfo() throws InterruptedException {
+        testStream(100, 10, 1L);
+        testStream(100, 10, DataPacketStreamUtils.MAX_EXTRA_INFO);
+    }
+
+    @Test
+    public void testConcurrentStreams() throws InterruptedException {
+        RpcManager rpcManager = new MemoryRpcManager(2);
+        Rpc senderRpc = rpcManager.getRpc(0);
+        Rpc receiverRpc = rpcManager.getRpc(1);
+        int streamNum = 4;
+        int chunkNum = 50;
+        int chunkSize = 5;
+        // all streams are sent before any of them is received
+        Thread senderThread = new Thread(() -> IntStream.range(0, streamNum).forEach(extraInfo -> {
+            DataPacketHeader header = new DataPacketHeader(
+                0L, PTO_ID, 0, extraInfo, senderRpc.ownParty().getPartyId(), receiverRpc.ownParty().getPartyId()
+            );
+            senderRpc.sendStream(header, generateChunks(chunkNum, chunkSize).iterator());
+        }));
+        senderThread.start();
+        senderThread.join();
+        for (int extraInfo = streamNum - 1; extraInfo >= 0; extraInfo--) {
+            DataPacketHeader header = new DataPacketHeader(
+                0L, PTO_ID, 0, extraInfo, senderRpc.ownParty().getPartyId(), receiverRpc.ownParty().getPartyId()
+            );
+            assertChunks(generateChunks(chunkNum, chunkSize), receiverRpc.receiveStream(header));
+        }
+        Assert.assertEquals(streamNum * chunkNum, senderRpc.getSendDataPacketNum());
+    }
+
+    private void testStream(int chunkNum, int chunkSize, long extraInfo) throws InterruptedException {
+        RpcManager rpcManager = new MemoryRpcManager(2);
+        Rpc senderRpc = rpcManager.getRpc(0);
+        Rpc receiverRpc = rpcManager.getRpc(1);
+        DataPacketHeader header = new DataPacketHeader(
+            0L, PTO_ID, 0, extraInfo, senderRpc.ownParty().getPartyId(), receiverRpc.ownParty().getPartyId()
+        );
+        List<List<byte[]>> chunks = generateChunks(chunkNum, chunkSize);
+        Thread senderThread = new Thread(() -> senderRpc.sendStream(header, chunks.iterator()));
+        senderThread.start();
+        // the receiver consumes the stream while the sender is sending it
+        List<List<byte[]>> receivedChunks = new ArrayList<>();
+        Iterator<List<byte[]>> chunkIterator = receiverRpc.receiveStream(header);
+        chunkIterator.forEachRemaining(receivedChunks::add);
+        senderThread.join();
+        assertChunks(chunks, receivedChunks.iterator());
+        Assert.assertEquals(Math.max(chunkNum, 1), senderRpc.getSendDataPacketNum());
+    }
+
+    private static List<List<byte[]>> generateChunks(int chunkNum, int chunkSize) {
+        return IntStream.range(0, chunkNum)
+            .mapToObj(chunkIndex -> IntStream.range(0, chunkSize)
+                .mapToObj(index -> IntUtils.intToByteArray(chunkIndex * chunkSize + index))
+                .collect(Collectors.toList()))
+            .collect(Collectors.toList());
+    }
+
+    private static void assertChunks(List<List<byte[]>> expectChunks, Iterator<List<byte[]>> actualChunkIterator) {
+        // a stream with only one empty chunk is received as an empty stream
+        if (expectChunks.size() == 1 && expectChunks.get(0).isEmpty()) {
+            expectChunks = Collections.emptyList();
+        }
+        for (List<byte[]> expectChunk : expectChunks) {
+            Assert.assertTrue(actualChunkIterator.hasNext());
+            List<byte[]> actualChunk = actualChunkIterator.next();
+            Assert.assertEquals(expectChunk.size(), actualChunk.size());
+            for (int index = 0; index < expectChunk.size(); index++) {
+                Assert.assertArrayEquals(expectChunk.get(index), actualChunk.get(index));
+            }
+        }
+        Assert.assertFalse(actualChunkIterator.hasNext());
+    }
+}
@@ -7,6 +7,7 @@ import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * 将矩阵按行分块，每块为column列、2^10行，转置时按照分块转置。libOTe代码中使用了此方法，很容易并行化处理。
@@ -158,4 +159,19 @@ abstract class AbstractSplitRowTransBitMatrix extends AbstractTransBitMatrix {
         );
         return b;
     }
+
+    @Override
+    public Stream<byte[][]> transposeStream() {
+        if (isTransposed) {
+            return super.transposeStream();
+        }
+        // 尚未转置，每个分块单独转置后输出，第一个分块要去掉补足的offset列
+        return IntStream.range(0, blockNum).mapToObj(blockIndex -> {
+            TransBitMatrix blockTranspose = blockData[blockIndex].transpose();
+            int fromColumnIndex = blockIndex == 0 ? offset : 0;
+            return IntStream.range(fromColumnIndex, ROWS_PER_BLOCK)
+                .mapToObj(blockTranspose::getColumn)
+                .toArray(byte[][]::new);
+        });
+    }
 }
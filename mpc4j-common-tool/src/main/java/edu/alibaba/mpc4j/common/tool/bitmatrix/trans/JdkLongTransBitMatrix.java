@@ -0,0 +1,197 @@
+package edu.alibaba.mpc4j.common.tool.bitmatrix.trans;
+
+import edu.alibaba.mpc4j.common.tool.bitmatrix.trans.TransBitMatrixFactory.TransBitMatrixType;
+import edu.alibaba.mpc4j.common.tool.utils.BinaryUtils;
+import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
+import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * 基于64*64 long分块转置的JDK转置布尔矩阵。每个64*64分块读入64个long，用递归交换掩码（recursive swap masks）在6轮内完成转置，
+ * 见Hacker's Delight第7.3节。分块按照缓存大小组织成512*512比特的瓦片（tile），瓦片的输入和输出都可以放在L1/L2缓存中。
+ * <p>
+ * 分块转置时，每个瓦片行（512行）为一个输出块，可以只转置部分行，从而支持流式转置。
+ * </p>
+ *
+ * @author Weiran Liu
+ * @date 2023/7/21
+ */
+class JdkLongTransBitMatrix extends AbstractTransBitMatrix {
+    /**
+     * 每个瓦片在每个维度上包含的64*64分块数量，8个分块对应512比特，即每列64字节（一个缓存行）
+     */
+    private static final int TILE_BLOCK_NUM = 8;
+    /**
+     * 每个瓦片在每个维度上包含的比特数量
+     */
+    private static final int TILE_BIT_LENGTH = TILE_BLOCK_NUM * Long.SIZE;
+    /**
+     * 用二维字节数组表示的矩阵
+     */
+    private final byte[][] data;
+    /**
+     * 字节行数
+     */
+    private final int rowBytes;
+    /**
+     * 行偏移量
+     */
+    private final int rowOffset;
+    /**
+     * 字节列数
+     */
+    private final int columnBytes;
+    /**
+     * 列偏移量
+     */
+    private final int columnOffset;
+    /**
+     * 64*64分块的列数量
+     */
+    private final int columnBlockNum;
+    /**
+     * 转置输出块数量
+     */
+    private final int chunkNum;
+
+    JdkLongTransBitMatrix(int rows, int columns) {
+        super(rows, columns);
+        rowBytes = CommonUtils.getByteLength(rows);
+        rowOffset = rowBytes * Byte.SIZE - rows;
+        columnBytes = CommonUtils.getByteLength(columns);
+        columnOffset = columnBytes * Byte.SIZE - columns;
+        columnBlockNum = CommonUtils.getUnitNum(columnBytes * Byte.SIZE, Long.SIZE);
+        chunkNum = CommonUtils.getUnitNum(rowBytes * Byte.SIZE, TILE_BIT_LENGTH);
+        data = new byte[columns][rowBytes];
+    }
+
+    @Override
+    public boolean get(int x, int y) {
+        assert (x >= 0 && x < rows);
+        assert (y >= 0 && y < columns);
+        return BinaryUtils.getBoolean(data[y], x + rowOffset);
+    }
+
+    @Override
+    public byte[] getColumn(int y) {
+        assert (y >= 0 && y < columns);
+        return data[y];
+    }
+
+    @Override
+    public void setColumn(int y, byte[] byteArray) {
+        assert (y >= 0 && y < columns);
+        assert (byteArray.length == rowBytes);
+        assert BytesUtils.isReduceByteArray(byteArray, rows);
+        data[y] = byteArray;
+    }
+
+    @Override
+    public TransBitMatrix transpose() {
+        // 创建一个新的转置矩阵，新矩阵的行数为原始矩阵的列数，新矩阵的列数为原始矩阵的行数
+        JdkLongTransBitMatrix b = new JdkLongTransBitMatrix(columns, rows);
+        int x = 0;
+        for (int chunkIndex = 0; chunkIndex < chunkNum; chunkIndex++) {
+            byte[][] chunk = transposeChunk(chunkIndex);
+            System.arraycopy(chunk, 0, b.data, x, chunk.length);
+            x += chunk.length;
+        }
+        return b;
+    }
+
+    @Override
+    public Stream<byte[][]> transposeStream() {
+        // 每个瓦片行独立转置，调用方可以并行处理
+        return IntStream.range(0, chunkNum).mapToObj(this::transposeChunk);
+    }
+
+    @Override
+    public TransBitMatrixType getTransBitMatrixType() {
+        return TransBitMatrixType.JDK_LONG;
+    }
+
+    /**
+     * 转置第{@code chunkIndex}个瓦片行，即得到转置矩阵中对应的列。
+     *
+     * @param chunkIndex 瓦片行索引值。
+     * @return 转置矩阵中对应的列。
+     */
+    private byte[][] transposeChunk(int chunkIndex) {
+        // 瓦片行包含补足后的第[fromPaddingX, toPaddingX)行，补足的行不输出
+        int fromPaddingX = chunkIndex * TILE_BIT_LENGTH;
+        int toPaddingX = Math.min(fromPaddingX + TILE_BIT_LENGTH, rowBytes * Byte.SIZE);
+        int fromX = Math.max(fromPaddingX - rowOffset, 0);
+        int toX = toPaddingX - rowOffset;
+        byte[][] chunk = new byte[toX - fromX][columnBytes];
+        int fromRowBlockIndex = fromPaddingX / Long.SIZE;
+        int toRowBlockIndex = CommonUtils.getUnitNum(toPaddingX, Long.SIZE);
+        long[] block = new long[Long.SIZE];
+        // 按列分块遍历，同一列分块内的各个行分块读取同一组列的连续字节
+        for (int columnBlockIndex = 0; columnBlockIndex < columnBlockNum; columnBlockIndex++) {
+            for (int rowBlockIndex = fromRowBlockIndex; rowBlockIndex < toRowBlockIndex; rowBlockIndex++) {
+                // 读取64列，每列读取64比特，补足的列为0
+                for (int i = 0; i < Long.SIZE; i++) {
+                    int y = columnBlockIndex * Long.SIZE + i - columnOffset;
+                    block[i] = (y >= 0 && y < columns) ? readLong(data[y], rowBlockIndex * Long.BYTES) : 0L;
+                }
+                transpose64x64(block);
+                // 写入64行，补足的行不写入
+                for (int t = 0; t < Long.SIZE; t++) {
+                    int x = rowBlockIndex * Long.SIZE + t - rowOffset;
+                    if (x >= fromX && x < toX) {
+                        writeLong(chunk[x - fromX], columnBlockIndex * Long.BYTES, block[t]);
+                    }
+                }
+            }
+        }
+        return chunk;
+    }
+
+    /**
+     * 原地转置64*64比特矩阵，第i个long的第j个比特（大端表示）与第j个long的第i个比特交换。
+     *
+     * @param block 64*64比特矩阵。
+     */
+    private static void transpose64x64(long[] block) {
+        long mask = 0x00000000FFFFFFFFL;
+        for (int j = Long.SIZE / 2; j != 0; j >>>= 1, mask ^= (mask << j)) {
+            for (int k = 0; k < Long.SIZE; k = (k + j + 1) & ~j) {
+                long t = (block[k] ^ (block[k + j] >>> j)) & mask;
+                block[k] ^= t;
+                block[k + j] ^= (t << j);
+            }
+        }
+    }
+
+    /**
+     * 从{@code byteArray}的{@code offset}处读取（最多）8个字节，大端表示，不足8个字节时右侧补0。
+     *
+     * @param byteArray 字节数组。
+     * @param offset    偏移量。
+     * @return 读取结果。
+     */
+    private static long readLong(byte[] byteArray, int offset) {
+        int length = Math.min(Long.BYTES, byteArray.length - offset);
+        long value = 0L;
+        for (int i = 0; i < length; i++) {
+            value |= (byteArray[offset + i] & 0xFFL) << ((Long.BYTES - 1 - i) * Byte.SIZE);
+        }
+        return value;
+    }
+
+    /**
+     * 将{@code value}写入{@code byteArray}的{@code offset}处，大端表示，超出数组长度的低位字节被丢弃。
+     *
+     * @param byteArray 字节数组。
+     * @param offset    偏移量。
+     * @param value     写入值。
+     */
+    private static void writeLong(byte[] byteArray, int offset, long value) {
+        int length = Math.min(Long.BYTES, byteArray.length - offset);
+        for (int i = 0; i < length; i++) {
+            byteArray[offset + i] = (byte) (value >>> ((Long.BYTES - 1 - i) * Byte.SIZE));
+        }
+    }
+}
@@ -2,6 +2,9 @@ package edu.alibaba.mpc4j.common.tool.bitmatrix.trans;
 
 import edu.alibaba.mpc4j.common.tool.bitmatrix.trans.TransBitMatrixFactory.TransBitMatrixType;
 
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
 /**
  * 转置布尔矩阵接口。
  *
@@ -55,6 +58,20 @@ public interface TransBitMatrix {
      */
     TransBitMatrix transpose();
 
+    /**
+     * 流式矩阵转置。按顺序分块输出转置矩阵的列，分块大小由具体实现决定。支持分块转置的实现不会构建完整的转置矩阵，
+     * 各个分块相互独立，调用方可以并行处理。默认实现先完整转置，再将所有列作为一个分块输出。
+     *
+     * @return 转置矩阵列的分块流。
+     */
+    default Stream<byte[][]> transposeStream() {
+        TransBitMatrix transpose = transpose();
+        byte[][] columns = IntStream.range(0, transpose.getColumns())
+            .mapToObj(transpose::getColumn)
+            .toArray(byte[][]::new);
+        return Stream.<byte[][]>of(columns);
+    }
+
     /**
      * 返回类型。
      *
@@ -48,6 +48,10 @@ public class TransBitMatrixFactory {
          * 最优列切分转置布尔矩阵
          */
         NATIVE_SPLIT_COL,
+        /**
+         * JDK long分块转置布尔矩阵
+         */
+        JDK_LONG,
     }
 
     /**
@@ -74,6 +78,8 @@ public class TransBitMatrixFactory {
                 return new JdkSplitColTransBitMatrix(rows, columns);
             case NATIVE_SPLIT_COL:
                 return new NativeSplitColTransBitMatrix(rows, columns);
+            case JDK_LONG:
+                return new JdkLongTransBitMatrix(rows, columns);
             default:
                 throw new IllegalArgumentException("Invalid BitMatrixType: " + type.name());
         }
@@ -113,7 +119,7 @@ public class TransBitMatrixFactory {
                         return createInstance(TransBitMatrixType.JDK_SPLIT_COL, rows, columns);
                     }
                 } else {
-                    return createInstance(TransBitMatrixType.NAIVE, rows, columns);
+                    return createInstance(TransBitMatrixType.JDK_LONG, rows, columns);
                 }
             default:
                 throw new IllegalArgumentException("Invalid EnvType: " + envType.name());
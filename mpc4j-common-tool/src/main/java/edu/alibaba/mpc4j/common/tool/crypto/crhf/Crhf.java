@@ -1,5 +1,8 @@
 package edu.alibaba.mpc4j.common.tool.crypto.crhf;
 
+import edu.alibaba.mpc4j.common.tool.CommonConstants;
+import edu.alibaba.mpc4j.common.tool.crypto.prp.PrpUtils;
+
 /**
  * 抗关联哈希函数（Correlation Robustness Hash Function，CRHF）接口。抗关联哈希函数以128比特为输入，输出128比特的哈希结果。
  * 下述论文给出了抗关联哈希函数的2种实现：
@@ -20,6 +23,36 @@ public interface Crhf {
      */
     byte[] hash(byte[] block);
 
+    /**
+     * 将一组依次存放的输入分组哈希为输出分组。哈希结果写入调用方提供的字节数组，可以与输入为同一个数组。默认实现逐个分组哈希。
+     *
+     * @param blocks  依次存放的输入分组，字节长度为κ比特的整数倍。
+     * @param outputs 哈希结果的输出缓存区，字节长度与输入相同。
+     */
+    default void hash(byte[] blocks, byte[] outputs) {
+        assert blocks.length % CommonConstants.BLOCK_BYTE_LENGTH == 0
+            : "blocks byte length must be a multiple of " + CommonConstants.BLOCK_BYTE_LENGTH;
+        assert outputs.length == blocks.length;
+        byte[] block = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
+        for (int offset = 0; offset < blocks.length; offset += CommonConstants.BLOCK_BYTE_LENGTH) {
+            System.arraycopy(blocks, offset, block, 0, CommonConstants.BLOCK_BYTE_LENGTH);
+            System.arraycopy(hash(block), 0, outputs, offset, CommonConstants.BLOCK_BYTE_LENGTH);
+        }
+    }
+
+    /**
+     * 将一组输入分组哈希为输出分组。哈希结果写入调用方提供的分组中，可以与输入为同一组分组。
+     *
+     * @param blocks  输入分组。
+     * @param outputs 哈希结果的输出缓存区。
+     */
+    default void hash(byte[][] blocks, byte[][] outputs) {
+        assert outputs.length == blocks.length;
+        byte[] flattenBlocks = PrpUtils.flatten(blocks);
+        hash(flattenBlocks, flattenBlocks);
+        PrpUtils.unflatten(flattenBlocks, outputs);
+    }
+
     /**
      * 返回抗关联哈希函数类型。
      *
@@ -39,6 +39,17 @@ class MmoCrhf implements Crhf {
         return output;
     }
 
+    @Override
+    public void hash(byte[] blocks, byte[] outputs) {
+        assert blocks.length % CommonConstants.BLOCK_BYTE_LENGTH == 0;
+        assert outputs.length == blocks.length;
+        // 输入和输出为同一个数组时，需要保留输入
+        byte[] inputs = blocks == outputs ? BytesUtils.clone(blocks) : blocks;
+        // MMO(x) = π(x) ⊕ x
+        prp.prp(inputs, outputs);
+        BytesUtils.xori(outputs, inputs);
+    }
+
     @Override
     public CrhfFactory.CrhfType getCrhfType() {
         return CrhfFactory.CrhfType.MMO;
@@ -53,6 +53,20 @@ class MmoSigmaCrhf implements Crhf {
         return output;
     }
 
+    @Override
+    public void hash(byte[] blocks, byte[] outputs) {
+        assert blocks.length % CommonConstants.BLOCK_BYTE_LENGTH == 0;
+        assert outputs.length == blocks.length;
+        // σ(x)
+        byte[] sigmaBlocks = new byte[blocks.length];
+        for (int offset = 0; offset < blocks.length; offset += CommonConstants.BLOCK_BYTE_LENGTH) {
+            sigma(blocks, offset, sigmaBlocks);
+        }
+        // π(σ(x)) ⊕ σ(x)
+        prp.prp(sigmaBlocks, outputs);
+        BytesUtils.xori(outputs, sigmaBlocks);
+    }
+
     @Override
     public CrhfFactory.CrhfType getCrhfType() {
         return CrhfFactory.CrhfType.MMO_SIGMA;
@@ -79,4 +93,23 @@ class MmoSigmaCrhf implements Crhf {
 
         return sigmaX;
     }
+
+    /**
+     * 对依次存放的分组中的一个分组实现σ(x)，即[a_0, a_1, a_2, a_3]映射为[a_0 ⊕ a_1, a_0 ⊕ a_1, a_3, a_2]。
+     *
+     * @param blocks      依次存放的分组。
+     * @param offset      分组的起始位置。
+     * @param sigmaBlocks σ(x)的输出缓存区。
+     */
+    private void sigma(byte[] blocks, int offset, byte[] sigmaBlocks) {
+        // mm_shuffle_epi32(a, 78)
+        System.arraycopy(blocks, offset + Integer.BYTES, sigmaBlocks, offset, Integer.BYTES);
+        System.arraycopy(blocks, offset, sigmaBlocks, offset + Integer.BYTES, Integer.BYTES);
+        System.arraycopy(blocks, offset + Integer.BYTES * 3, sigmaBlocks, offset + Integer.BYTES * 2, Integer.BYTES);
+        System.arraycopy(blocks, offset + Integer.BYTES * 2, sigmaBlocks, offset + Integer.BYTES * 3, Integer.BYTES);
+        // ⊕ and_si128(a, mask)
+        for (int i = 0; i < MASK.length; i++) {
+            sigmaBlocks[offset + i] ^= (byte) (blocks[offset + i] & MASK[i]);
+        }
+    }
 }
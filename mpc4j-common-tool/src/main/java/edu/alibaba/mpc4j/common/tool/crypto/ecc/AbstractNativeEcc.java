@@ -1,10 +1,14 @@
 package edu.alibaba.mpc4j.common.tool.crypto.ecc;
 
 import edu.alibaba.mpc4j.common.tool.CommonConstants;
+import edu.alibaba.mpc4j.common.tool.crypto.ecc.utils.BatchEccUtils;
+import org.bouncycastle.math.ec.ECCurve;
 import org.bouncycastle.math.ec.ECPoint;
+import org.bouncycastle.util.BigIntegers;
 
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -32,12 +36,22 @@ public abstract class AbstractNativeEcc extends AbstractEcc implements AutoClose
      * 预计算窗口映射
      */
     private final Map<ECPoint, ByteBuffer> windowHandlerMap;
+    /**
+     * 坐标字节长度
+     */
+    private final int coordinateByteLength;
+    /**
+     * 批量点乘时点的非压缩编码字节长度
+     */
+    private final int pointByteLength;
 
     public AbstractNativeEcc(NativeEcc nativeEcc, EccFactory.EccType eccType, String bcCurveName) {
         super(eccType, bcCurveName);
         // 初始化窗口指针映射表
         windowHandlerMap = new HashMap<>();
         this.nativeEcc = nativeEcc;
+        coordinateByteLength = (ecDomainParameters.getCurve().getFieldSize() + Byte.SIZE - 1) / Byte.SIZE;
+        pointByteLength = 1 + coordinateByteLength * 2;
     }
 
     @Override
@@ -73,6 +87,59 @@ public abstract class AbstractNativeEcc extends AbstractEcc implements AutoClose
         }
     }
 
+    @Override
+    public ECPoint[] multiply(ECPoint[] ps, BigInteger r, boolean parallel) {
+        String rString = r.toString(RADIX);
+        ECPoint[] mulPs = new ECPoint[ps.length];
+        BatchEccUtils.forEachChunk(ps.length, parallel, (fromIndex, toIndex) -> {
+            // 先批量归一化，这样查找预计算窗口时计算哈希值不需要再逐个求逆
+            ECPoint[] chunk = Arrays.copyOfRange(ps, fromIndex, toIndex);
+            ecDomainParameters.getCurve().normalizeAll(chunk);
+            // 已经进行过预计算的点用预计算乘法处理，其余的点每个分块只调用一次本地批量函数
+            int[] batchIndexes = new int[chunk.length];
+            int batchNum = 0;
+            for (int chunkIndex = 0; chunkIndex < chunk.length; chunkIndex++) {
+                ByteBuffer windowHandler = windowHandlerMap.isEmpty() ? null : windowHandlerMap.get(chunk[chunkIndex]);
+                if (windowHandler != null) {
+                    String mulPointString = nativeEcc.precomputeMultiply(windowHandler, rString);
+                    mulPs[fromIndex + chunkIndex] = nativePointStringToEcPoint(mulPointString);
+                } else {
+                    batchIndexes[batchNum] = chunkIndex;
+                    batchNum++;
+                }
+            }
+            if (batchNum == 0) {
+                return;
+            }
+            // 所有点的定长编码放在一个字节数组中传给本地函数，无穷远点保持全0
+            byte[] points = new byte[batchNum * pointByteLength];
+            for (int batchIndex = 0; batchIndex < batchNum; batchIndex++) {
+                ECPoint p = chunk[batchIndexes[batchIndex]];
+                if (!p.isInfinity()) {
+                    System.arraycopy(p.getEncoded(false), 0, points, batchIndex * pointByteLength, pointByteLength);
+                }
+            }
+            byte[] mulPoints = nativeEcc.batchMultiply(points, batchNum, rString);
+            for (int batchIndex = 0; batchIndex < batchNum; batchIndex++) {
+                int mulPointOffset = batchIndex * pointByteLength;
+                mulPs[fromIndex + batchIndexes[batchIndex]] = nativePointBytesToEcPoint(mulPoints, mulPointOffset);
+            }
+        });
+        return mulPs;
+    }
+
+    private ECPoint nativePointBytesToEcPoint(byte[] points, int offset) {
+        if (points[offset] == 0) {
+            return getInfinity();
+        }
+        // 本地函数返回的都是曲线上的点，因此直接用仿射坐标创建点，不再验证
+        ECCurve curve = ecDomainParameters.getCurve();
+        return curve.createPoint(
+            BigIntegers.fromUnsignedByteArray(points, offset + 1, coordinateByteLength),
+            BigIntegers.fromUnsignedByteArray(points, offset + 1 + coordinateByteLength, coordinateByteLength)
+        );
+    }
+
     /**
      * 将本地点的字符串转换为椭圆曲线点。
      *
@@ -0,0 +1,185 @@
+package edu.alibaba.mpc4j.common.tool.crypto.ecc;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * abstract fixed-base precomputation cache. Tables are built on first use and evicted in the least-recently-used order
+ * when the estimated memory of all cached tables exceeds the bound. The cache is thread-safe, so that one cache can be
+ * shared by concurrent sessions. Tables are built outside the lock, so that a slow build does not block hits of other
+ * points. Concurrent misses on the same point may build the table more than once, but only one table is kept.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/18
+ */
+public abstract class AbstractPrecomputeCache<K, V> {
+    /**
+     * max memory in bytes
+     */
+    private final long maxMemoryBytes;
+    /**
+     * tables in access order
+     */
+    private final LinkedHashMap<K, V> tableMap;
+    /**
+     * memory of cached tables in bytes
+     */
+    private long memoryBytes;
+    /**
+     * hit num
+     */
+    private final LongAdder hitNum;
+    /**
+     * miss num
+     */
+    private final LongAdder missNum;
+    /**
+     * eviction num
+     */
+    private final LongAdder evictionNum;
+
+    protected AbstractPrecomputeCache(long maxMemoryBytes) {
+        assert maxMemoryBytes > 0 : "max memory bytes must be greater than 0: " + maxMemoryBytes;
+        this.maxMemoryBytes = maxMemoryBytes;
+        tableMap = new LinkedHashMap<>(16, 0.75f, true);
+        memoryBytes = 0;
+        hitNum = new LongAdder();
+        missNum = new LongAdder();
+        evictionNum = new LongAdder();
+    }
+
+    /**
+     * Creates the initialized precomputation table.
+     *
+     * @param key the key.
+     * @return the precomputation table.
+     */
+    protected abstract V createTable(K key);
+
+    /**
+     * Gets the estimated memory of the precomputation table in bytes.
+     *
+     * @param table the precomputation table.
+     * @return the estimated memory in bytes.
+     */
+    protected abstract long getMemoryBytes(V table);
+
+    /**
+     * Gets the precomputation table, builds and caches the table if it is not cached.
+     *
+     * @param key the key.
+     * @return the precomputation table.
+     */
+    protected V getTable(K key) {
+        synchronized (tableMap) {
+            V table = tableMap.get(key);
+            if (table != null) {
+                hitNum.increment();
+                return table;
+            }
+        }
+        missNum.increment();
+        V table = createTable(key);
+        long tableMemoryBytes = getMemoryBytes(table);
+        if (tableMemoryBytes > maxMemoryBytes) {
+            // the table is too large to cache, use it only once
+            return table;
+        }
+        synchronized (tableMap) {
+            V existTable = tableMap.get(key);
+            if (existTable != null) {
+                return existTable;
+            }
+            tableMap.put(key, table);
+            memoryBytes += tableMemoryBytes;
+            // evict least-recently-used tables, the new table is the most recently used one
+            Iterator<Map.Entry<K, V>> iterator = tableMap.entrySet().iterator();
+            while (memoryBytes > maxMemoryBytes) {
+                V evictTable = iterator.next().getValue();
+                iterator.remove();
+                memoryBytes -= getMemoryBytes(evictTable);
+                evictionNum.increment();
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Removes all cached tables. Metrics are not reset.
+     */
+    public void clear() {
+        synchronized (tableMap) {
+            tableMap.clear();
+            memoryBytes = 0;
+        }
+    }
+
+    /**
+     * Gets the max memory in bytes.
+     *
+     * @return the max memory in bytes.
+     */
+    public long getMaxMemoryBytes() {
+        return maxMemoryBytes;
+    }
+
+    /**
+     * Gets the estimated memory of cached tables in bytes.
+     *
+     * @return the estimated memory in bytes.
+     */
+    public long getMemoryBytes() {
+        synchronized (tableMap) {
+            return memoryBytes;
+        }
+    }
+
+    /**
+     * Gets the number of cached tables.
+     *
+     * @return the number of cached tables.
+     */
+    public int getTableNum() {
+        synchronized (tableMap) {
+            return tableMap.size();
+        }
+    }
+
+    /**
+     * Gets the number of multiplications that hit a cached table.
+     *
+     * @return hit num.
+     */
+    public long getHitNum() {
+        return hitNum.sum();
+    }
+
+    /**
+     * Gets the number of multiplications that build a table.
+     *
+     * @return miss num.
+     */
+    public long getMissNum() {
+        return missNum.sum();
+    }
+
+    /**
+     * Gets the number of evicted tables.
+     *
+     * @return eviction num.
+     */
+    public long getEvictionNum() {
+        return evictionNum.sum();
+    }
+
+    /**
+     * Resets hit, miss and eviction metrics.
+     */
+    public void resetMetrics() {
+        hitNum.reset();
+        missNum.reset();
+        evictionNum.reset();
+    }
+}
@@ -0,0 +1,68 @@
+package edu.alibaba.mpc4j.common.tool.crypto.ecc;
+
+import java.nio.ByteBuffer;
+
+/**
+ * fixed-base precomputation cache for byte EC points. Each table is built by
+ * {@link ByteMulEcc#createFixedBaseTable(byte[])} on the first multiplication of the point. If the curve does not
+ * support fixed-base tables, multiplications fall back to {@link ByteMulEcc#mul(byte[], byte[])} and are not counted.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/18
+ */
+public class ByteEccPrecomputeCache extends AbstractPrecomputeCache<ByteBuffer, ByteFixedBaseTable> {
+    /**
+     * byte ECC
+     */
+    private final ByteMulEcc byteMulEcc;
+    /**
+     * support fixed-base tables or not
+     */
+    private final boolean supportTable;
+
+    /**
+     * Creates a cache.
+     *
+     * @param byteMulEcc     byte ECC.
+     * @param maxMemoryBytes max memory in bytes.
+     */
+    public ByteEccPrecomputeCache(ByteMulEcc byteMulEcc, long maxMemoryBytes) {
+        super(maxMemoryBytes);
+        this.byteMulEcc = byteMulEcc;
+        supportTable = byteMulEcc.supportFixedBaseTable();
+    }
+
+    @Override
+    protected ByteFixedBaseTable createTable(ByteBuffer p) {
+        return byteMulEcc.createFixedBaseTable(p.array());
+    }
+
+    @Override
+    protected long getMemoryBytes(ByteFixedBaseTable table) {
+        return table.getMemoryBytes();
+    }
+
+    /**
+     * Computes R = k · P with the precomputation table of P.
+     *
+     * @param p the EC point P.
+     * @param k the scalar k.
+     * @return R.
+     */
+    public byte[] mul(byte[] p, byte[] k) {
+        if (!supportTable) {
+            return byteMulEcc.mul(p, k);
+        }
+        // copy the point, so that the key is not changed by the caller
+        return getTable(ByteBuffer.wrap(p.clone())).mul(k);
+    }
+
+    /**
+     * Gets the byte ECC.
+     *
+     * @return the byte ECC.
+     */
+    public ByteMulEcc getByteMulEcc() {
+        return byteMulEcc;
+    }
+}
@@ -0,0 +1,24 @@
+package edu.alibaba.mpc4j.common.tool.crypto.ecc;
+
+/**
+ * fixed-base precomputation table for byte EC points.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/18
+ */
+public interface ByteFixedBaseTable {
+    /**
+     * Computes R = k · P, where P is the fixed base.
+     *
+     * @param k the scalar k.
+     * @return R.
+     */
+    byte[] mul(byte[] k);
+
+    /**
+     * Gets the estimated memory of the table in bytes.
+     *
+     * @return the estimated memory in bytes.
+     */
+    long getMemoryBytes();
+}
@@ -1,7 +1,11 @@
 package edu.alibaba.mpc4j.common.tool.crypto.ecc;
 
+import edu.alibaba.mpc4j.common.tool.crypto.ecc.utils.BatchEccUtils;
+import edu.alibaba.mpc4j.common.tool.crypto.ecc.utils.MsmUtils;
+
 import java.math.BigInteger;
 import java.security.SecureRandom;
+import java.util.Arrays;
 
 /**
  * 全功能字节椭圆曲线接口。
@@ -81,6 +85,24 @@ public interface ByteFullEcc extends ByteMulEcc {
      */
     byte[] mul(byte[] p, BigInteger k);
 
+    /**
+     * 批量计算R_i = k · P_i。
+     *
+     * @param ps       椭圆曲线点P_i。
+     * @param k        幂指数k。
+     * @param parallel 是否并发计算。
+     * @return 结果R_i。
+     */
+    default byte[][] mul(byte[][] ps, BigInteger k, boolean parallel) {
+        byte[][] rs = new byte[ps.length][];
+        BatchEccUtils.forEachChunk(ps.length, parallel, (fromIndex, toIndex) -> {
+            for (int index = fromIndex; index < toIndex; index++) {
+                rs[index] = mul(ps[index], k);
+            }
+        });
+        return rs;
+    }
+
     /**
      * 计算R = k · G。
      *
@@ -88,4 +110,41 @@ public interface ByteFullEcc extends ByteMulEcc {
      * @return 结果R。
      */
     byte[] baseMul(BigInteger k);
+
+    /**
+     * 计算多标量乘法R = Σ_i k_i · P_i。点数量较少时逐个计算乘法，否则使用桶（Pippenger）方法计算。
+     *
+     * @param ps 椭圆曲线点P_i。
+     * @param ks 幂指数k_i。
+     * @return 结果R。
+     */
+    default byte[] msm(byte[][] ps, BigInteger[] ks) {
+        assert ps.length == ks.length
+            : "# of points (" + ps.length + ") must be equal to # of scalars (" + ks.length + ")";
+        BigInteger n = getN();
+        if (ps.length <= MsmUtils.NAIVE_THRESHOLD) {
+            byte[] msm = getInfinity();
+            for (int index = 0; index < ps.length; index++) {
+                addi(msm, mul(ps[index], ks[index].mod(n)));
+            }
+            return msm;
+        }
+        BigInteger[] reducedKs = Arrays.stream(ks).map(k -> k.mod(n)).toArray(BigInteger[]::new);
+        return MsmUtils.pippenger(ps, reducedKs, n.bitLength(), getInfinity(), new MsmUtils.MsmGroup<byte[]>() {
+            @Override
+            public byte[] add(byte[] p, byte[] q) {
+                return ByteFullEcc.this.add(p, q);
+            }
+
+            @Override
+            public byte[] negate(byte[] p) {
+                return neg(p);
+            }
+
+            @Override
+            public byte[] doubling(byte[] p) {
+                return ByteFullEcc.this.add(p, p);
+            }
+        });
+    }
 }
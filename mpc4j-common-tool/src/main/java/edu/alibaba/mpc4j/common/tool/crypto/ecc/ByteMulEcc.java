@@ -1,5 +1,7 @@
 package edu.alibaba.mpc4j.common.tool.crypto.ecc;
 
+import edu.alibaba.mpc4j.common.tool.crypto.ecc.utils.BatchEccUtils;
+
 import java.security.SecureRandom;
 
 /**
@@ -55,6 +57,23 @@ public interface ByteMulEcc {
      */
     byte[] hashToCurve(byte[] message);
 
+    /**
+     * 将{@code byte[][]}表示的数据批量映射到椭圆曲线上。
+     *
+     * @param messages 数据。
+     * @param parallel 是否并发计算。
+     * @return 椭圆曲线映射点。
+     */
+    default byte[][] hashToCurve(byte[][] messages, boolean parallel) {
+        byte[][] ps = new byte[messages.length][];
+        BatchEccUtils.forEachChunk(messages.length, parallel, (fromIndex, toIndex) -> {
+            for (int index = fromIndex; index < toIndex; index++) {
+                ps[index] = hashToCurve(messages[index]);
+            }
+        });
+        return ps;
+    }
+
     /**
      * 计算R = k · P。
      *
@@ -64,6 +83,24 @@ public interface ByteMulEcc {
      */
     byte[] mul(byte[] p, byte[] k);
 
+    /**
+     * 批量计算R_i = k · P_i。
+     *
+     * @param ps       椭圆曲线点P_i。
+     * @param k        幂指数k。
+     * @param parallel 是否并发计算。
+     * @return 结果R_i。
+     */
+    default byte[][] mul(byte[][] ps, byte[] k, boolean parallel) {
+        byte[][] rs = new byte[ps.length][];
+        BatchEccUtils.forEachChunk(ps.length, parallel, (fromIndex, toIndex) -> {
+            for (int index = fromIndex; index < toIndex; index++) {
+                rs[index] = mul(ps[index], k);
+            }
+        });
+        return rs;
+    }
+
     /**
      * 计算R = k · G。
      *
@@ -72,6 +109,25 @@ public interface ByteMulEcc {
      */
     byte[] baseMul(byte[] k);
 
+    /**
+     * 返回是否支持定点预计算表。
+     *
+     * @return 是否支持定点预计算表。
+     */
+    default boolean supportFixedBaseTable() {
+        return false;
+    }
+
+    /**
+     * 创建以P为定点的预计算表。
+     *
+     * @param p 椭圆曲线点P。
+     * @return 预计算表。
+     */
+    default ByteFixedBaseTable createFixedBaseTable(byte[] p) {
+        throw new UnsupportedOperationException(getByteEccType().name() + " does not support fixed-base table");
+    }
+
     /**
      * 返回字节椭圆曲线类型。
      *
@@ -1,11 +1,14 @@
 package edu.alibaba.mpc4j.common.tool.crypto.ecc;
 
+import edu.alibaba.mpc4j.common.tool.crypto.ecc.utils.BatchEccUtils;
+import edu.alibaba.mpc4j.common.tool.crypto.ecc.utils.MsmUtils;
 import edu.alibaba.mpc4j.common.tool.utils.BigIntegerUtils;
 import org.bouncycastle.crypto.params.ECDomainParameters;
 import org.bouncycastle.math.ec.ECPoint;
 
 import java.math.BigInteger;
 import java.security.SecureRandom;
+import java.util.Arrays;
 
 /**
  * ECC interface.
@@ -83,6 +86,24 @@ public interface Ecc {
      */
     ECPoint hashToCurve(byte[] data);
 
+    /**
+     * Hashes the data to EC points in batch. The EC points are normalized with one simultaneous inversion per chunk.
+     *
+     * @param data     the data.
+     * @param parallel parallel operation.
+     * @return the hashed EC points.
+     */
+    default ECPoint[] hashToCurve(byte[][] data, boolean parallel) {
+        ECPoint[] ps = new ECPoint[data.length];
+        BatchEccUtils.forEachChunk(data.length, parallel, (fromIndex, toIndex) -> {
+            for (int index = fromIndex; index < toIndex; index++) {
+                ps[index] = hashToCurve(data[index]);
+            }
+            getEcDomainParameters().getCurve().normalizeAll(ps, fromIndex, toIndex - fromIndex, null);
+        });
+        return ps;
+    }
+
     /**
      * Encodes the EC point.
      *
@@ -94,6 +115,28 @@ public interface Ecc {
         return p.getEncoded(compressed);
     }
 
+    /**
+     * Encodes the EC points in batch. The EC points are normalized with one simultaneous inversion per chunk, instead
+     * of one inversion for each EC point.
+     *
+     * @param ps         the EC points.
+     * @param compressed compress encoding or not.
+     * @param parallel   parallel operation.
+     * @return the encoded points.
+     */
+    default byte[][] encode(ECPoint[] ps, boolean compressed, boolean parallel) {
+        byte[][] encodes = new byte[ps.length][];
+        BatchEccUtils.forEachChunk(ps.length, parallel, (fromIndex, toIndex) -> {
+            // normalizeAll replaces points in the array, so we normalize the copied points
+            ECPoint[] chunk = Arrays.copyOfRange(ps, fromIndex, toIndex);
+            getEcDomainParameters().getCurve().normalizeAll(chunk);
+            for (int index = fromIndex; index < toIndex; index++) {
+                encodes[index] = encode(chunk[index - fromIndex], compressed);
+            }
+        });
+        return encodes;
+    }
+
     /**
      * Decodes the EC point.
      *
@@ -104,6 +147,23 @@ public interface Ecc {
         return getEcDomainParameters().getCurve().decodePoint(encoded);
     }
 
+    /**
+     * Decodes the EC points in batch.
+     *
+     * @param encodes  the encoded points.
+     * @param parallel parallel operation.
+     * @return the decoded points.
+     */
+    default ECPoint[] decode(byte[][] encodes, boolean parallel) {
+        ECPoint[] ps = new ECPoint[encodes.length];
+        BatchEccUtils.forEachChunk(encodes.length, parallel, (fromIndex, toIndex) -> {
+            for (int index = fromIndex; index < toIndex; index++) {
+                ps[index] = decode(encodes[index]);
+            }
+        });
+        return ps;
+    }
+
     /**
      * Precomputes the EC point for multiplication.
      *
@@ -127,6 +187,25 @@ public interface Ecc {
      */
     ECPoint multiply(ECPoint p, BigInteger r);
 
+    /**
+     * Computes r · P_i for all P_i in batch. The results are normalized with one simultaneous inversion per chunk.
+     *
+     * @param ps       the EC points.
+     * @param r        the scalar r.
+     * @param parallel parallel operation.
+     * @return r · P_i.
+     */
+    default ECPoint[] multiply(ECPoint[] ps, BigInteger r, boolean parallel) {
+        ECPoint[] mulPs = new ECPoint[ps.length];
+        BatchEccUtils.forEachChunk(ps.length, parallel, (fromIndex, toIndex) -> {
+            for (int index = fromIndex; index < toIndex; index++) {
+                mulPs[index] = multiply(ps[index], r);
+            }
+            getEcDomainParameters().getCurve().normalizeAll(mulPs, fromIndex, toIndex - fromIndex, null);
+        });
+        return mulPs;
+    }
+
     /**
      * Adds two EC points, i.e., p + q.
      *
@@ -178,6 +257,46 @@ public interface Ecc {
         return innerProduct;
     }
 
+    /**
+     * Computes the multi-scalar multiplication Σ_i r_i · P_i. Small inputs are computed by separate multiplications,
+     * while large inputs are computed by the bucket (Pippenger) method, whose cost is about n / log(n) point additions
+     * for each scalar bit.
+     *
+     * @param ps the EC point array.
+     * @param rs the scalar array.
+     * @return the multi-scalar multiplication result.
+     */
+    default ECPoint msm(ECPoint[] ps, BigInteger[] rs) {
+        assert ps.length == rs.length
+            : "# of points (" + ps.length + ") must be equal to # of scalars (" + rs.length + ")";
+        BigInteger n = getN();
+        if (ps.length <= MsmUtils.NAIVE_THRESHOLD) {
+            ECPoint msm = getInfinity();
+            for (int index = 0; index < ps.length; index++) {
+                msm = msm.add(multiply(ps[index], rs[index].mod(n)));
+            }
+            return msm.normalize();
+        }
+        BigInteger[] reducedRs = Arrays.stream(rs).map(r -> r.mod(n)).toArray(BigInteger[]::new);
+        ECPoint msm = MsmUtils.pippenger(ps, reducedRs, n.bitLength(), getInfinity(), new MsmUtils.MsmGroup<ECPoint>() {
+            @Override
+            public ECPoint add(ECPoint p, ECPoint q) {
+                return p.add(q);
+            }
+
+            @Override
+            public ECPoint negate(ECPoint p) {
+                return p.negate();
+            }
+
+            @Override
+            public ECPoint doubling(ECPoint p) {
+                return p.twice();
+            }
+        });
+        return msm.normalize();
+    }
+
     /**
      * Gets the EC type.
      *
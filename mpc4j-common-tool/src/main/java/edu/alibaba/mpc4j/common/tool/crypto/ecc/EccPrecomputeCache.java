@@ -0,0 +1,82 @@
+package edu.alibaba.mpc4j.common.tool.crypto.ecc;
+
+import org.bouncycastle.math.ec.ECPoint;
+
+import java.math.BigInteger;
+
+/**
+ * fixed-base precomputation cache for EC points. Each table is a {@link WindowMethod} built on the first
+ * multiplication of the point. Unlike {@link Ecc#precompute(ECPoint)}, tables need not be destroyed by hand.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/18
+ */
+public class EccPrecomputeCache extends AbstractPrecomputeCache<ECPoint, WindowMethod> {
+    /**
+     * default window size. A table for 256-bit curves contains 32 · 2^8 points, about 1.5MB.
+     */
+    public static final int DEFAULT_WINDOW_SIZE = 8;
+    /**
+     * ECC
+     */
+    private final Ecc ecc;
+    /**
+     * window size
+     */
+    private final int windowSize;
+
+    /**
+     * Creates a cache with the default window size.
+     *
+     * @param ecc            ECC.
+     * @param maxMemoryBytes max memory in bytes.
+     */
+    public EccPrecomputeCache(Ecc ecc, long maxMemoryBytes) {
+        this(ecc, DEFAULT_WINDOW_SIZE, maxMemoryBytes);
+    }
+
+    /**
+     * Creates a cache.
+     *
+     * @param ecc            ECC.
+     * @param windowSize     window size.
+     * @param maxMemoryBytes max memory in bytes.
+     */
+    public EccPrecomputeCache(Ecc ecc, int windowSize, long maxMemoryBytes) {
+        super(maxMemoryBytes);
+        this.ecc = ecc;
+        this.windowSize = windowSize;
+    }
+
+    @Override
+    protected WindowMethod createTable(ECPoint p) {
+        WindowMethod windowMethod = new WindowMethod(ecc, p, windowSize);
+        windowMethod.init();
+        return windowMethod;
+    }
+
+    @Override
+    protected long getMemoryBytes(WindowMethod windowMethod) {
+        return windowMethod.getMemoryBytes();
+    }
+
+    /**
+     * Computes r · P with the precomputation table of P.
+     *
+     * @param p the EC point P.
+     * @param r the scalar r.
+     * @return r · P.
+     */
+    public ECPoint multiply(ECPoint p, BigInteger r) {
+        return getTable(p).multiply(r);
+    }
+
+    /**
+     * Gets the ECC.
+     *
+     * @return the ECC.
+     */
+    public Ecc getEcc() {
+        return ecc;
+    }
+}
@@ -47,6 +47,17 @@ public interface NativeEcc {
      */
     String multiply(String pointString, String rString);
 
+    /**
+     * 批量椭圆曲线点乘，所有点在一次本地调用中完成计算。每个点都用定长的非压缩编码（0x04 || X || Y）表示，无穷远点用全0表示，
+     * 所有点的编码连续存放在同一个字节数组中。
+     *
+     * @param points  椭圆曲线点的编码。
+     * @param num     椭圆曲线点的数量。
+     * @param rString 幂指数。
+     * @return 乘法结果的编码，格式与输入相同。
+     */
+    byte[] batchMultiply(byte[] points, int num, String rString);
+
     /**
      * 重置。
      */
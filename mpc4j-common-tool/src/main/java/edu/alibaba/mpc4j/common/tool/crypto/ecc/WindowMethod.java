@@ -15,6 +15,14 @@ import java.math.BigInteger;
  * @date 2022/8/21
  */
 public class WindowMethod {
+    /**
+     * 域元素的估计额外内存（对象头、数组头）
+     */
+    private static final int FIELD_ELEMENT_OVERHEAD = 32;
+    /**
+     * 椭圆曲线点的估计额外内存（对象头、引用、空的z坐标数组）
+     */
+    private static final int POINT_OVERHEAD = 48;
     /**
      * 椭圆曲线运算接口
      */
@@ -110,6 +118,16 @@ public class WindowMethod {
         init = true;
     }
 
+    /**
+     * 返回查找表的估计内存（字节）。每个仿射点包含2个域元素和对象头。
+     *
+     * @return 查找表的估计内存。
+     */
+    public long getMemoryBytes() {
+        int fieldByteLength = (ecc.getEcDomainParameters().getCurve().getFieldSize() + Byte.SIZE - 1) / Byte.SIZE;
+        return (long) totalTableSize * (2L * (fieldByteLength + FIELD_ELEMENT_OVERHEAD) + POINT_OVERHEAD);
+    }
+
     public ECPoint multiply(BigInteger r) {
         assert init : "Please init before using Window Method";
         // z.clear()
@@ -2,7 +2,9 @@ package edu.alibaba.mpc4j.common.tool.crypto.ecc.bc;
 
 import edu.alibaba.mpc4j.common.tool.crypto.ecc.ByteFullEcc;
 import edu.alibaba.mpc4j.common.tool.crypto.ecc.ByteEccFactory;
+import edu.alibaba.mpc4j.common.tool.crypto.ecc.utils.BatchEccUtils;
 import edu.alibaba.mpc4j.common.tool.crypto.ecc.utils.Ed25519ByteEccUtils;
+import edu.alibaba.mpc4j.common.tool.crypto.ecc.utils.MsmUtils;
 import edu.alibaba.mpc4j.common.tool.crypto.hash.Hash;
 import edu.alibaba.mpc4j.common.tool.crypto.hash.HashFactory;
 import edu.alibaba.mpc4j.common.tool.utils.BigIntegerUtils;
@@ -10,6 +12,8 @@ import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
 
 import java.math.BigInteger;
 import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.stream.IntStream;
 
 /**
  * Bouncy Castle实现的Ed25519全功能字节椭圆曲线。
@@ -78,6 +82,34 @@ public class Ed25519BcByteFullEcc implements ByteFullEcc {
 
     @Override
     public byte[] hashToCurve(byte[] message) {
+        byte[] p = hashToValidPoint(message);
+        // 需要乘以cofactor
+        byte[] r = new byte[Ed25519ByteEccUtils.POINT_BYTES];
+        Ed25519ByteEccUtils.scalarMulEncoded(Ed25519ByteEccUtils.SCALAR_COFACTOR, p, r);
+        return r;
+    }
+
+    @Override
+    public byte[][] hashToCurve(byte[][] messages, boolean parallel) {
+        byte[][] rs = new byte[messages.length][];
+        BatchEccUtils.forEachChunk(messages.length, parallel, (fromIndex, toIndex) -> {
+            byte[][] chunkPs = IntStream.range(fromIndex, toIndex)
+                .mapToObj(index -> hashToValidPoint(messages[index]))
+                .toArray(byte[][]::new);
+            // 需要乘以cofactor，批量计算时共用一次求逆
+            byte[][] chunkRs = Ed25519ByteEccUtils.scalarMulEncoded(Ed25519ByteEccUtils.SCALAR_COFACTOR, chunkPs);
+            System.arraycopy(chunkRs, 0, rs, fromIndex, chunkRs.length);
+        });
+        return rs;
+    }
+
+    /**
+     * 将数据映射为合法的椭圆曲线点，未乘以cofactor。
+     *
+     * @param message 数据。
+     * @return 椭圆曲线点。
+     */
+    private byte[] hashToValidPoint(byte[] message) {
         // 简单的重复哈希
         byte[] p = hash.digestToBytes(message);
         p[Ed25519ByteEccUtils.POINT_BYTES - 1] &= 0x7F;
@@ -89,10 +121,7 @@ public class Ed25519BcByteFullEcc implements ByteFullEcc {
                 p[Ed25519ByteEccUtils.POINT_BYTES - 1] &= 0x7F;
             }
         }
-        // 需要乘以cofactor
-        byte[] r = new byte[Ed25519ByteEccUtils.POINT_BYTES];
-        Ed25519ByteEccUtils.scalarMulEncoded(Ed25519ByteEccUtils.SCALAR_COFACTOR, p, r);
-        return r;
+        return p;
     }
 
     @Override
@@ -103,6 +132,14 @@ public class Ed25519BcByteFullEcc implements ByteFullEcc {
         return mul(p, bigIntegerK);
     }
 
+    @Override
+    public byte[][] mul(byte[][] ps, byte[] k, boolean parallel) {
+        assert k.length == Ed25519ByteEccUtils.SCALAR_BYTES;
+        byte[] byteK = BytesUtils.reverseByteArray(k);
+        BigInteger bigIntegerK = BigIntegerUtils.byteArrayToNonNegBigInteger(byteK);
+        return mul(ps, bigIntegerK, parallel);
+    }
+
     @Override
     public byte[] baseMul(byte[] k) {
         byte[] byteK = BytesUtils.reverseByteArray(k);
@@ -162,6 +199,17 @@ public class Ed25519BcByteFullEcc implements ByteFullEcc {
         return r;
     }
 
+    @Override
+    public byte[][] mul(byte[][] ps, BigInteger k, boolean parallel) {
+        byte[] byteK = Ed25519ByteEccUtils.toByteK(k);
+        byte[][] rs = new byte[ps.length][];
+        BatchEccUtils.forEachChunk(ps.length, parallel, (fromIndex, toIndex) -> {
+            byte[][] chunkRs = Ed25519ByteEccUtils.scalarMulEncoded(byteK, Arrays.copyOfRange(ps, fromIndex, toIndex));
+            System.arraycopy(chunkRs, 0, rs, fromIndex, chunkRs.length);
+        });
+        return rs;
+    }
+
     @Override
     public byte[] baseMul(BigInteger k) {
         byte[] byteK = Ed25519ByteEccUtils.toByteK(k);
@@ -170,6 +218,17 @@ public class Ed25519BcByteFullEcc implements ByteFullEcc {
         return r;
     }
 
+    @Override
+    public byte[] msm(byte[][] ps, BigInteger[] ks) {
+        if (ps.length <= MsmUtils.NAIVE_THRESHOLD) {
+            return ByteFullEcc.super.msm(ps, ks);
+        }
+        assert ps.length == ks.length
+            : "# of points (" + ps.length + ") must be equal to # of scalars (" + ks.length + ")";
+        BigInteger[] reducedKs = Arrays.stream(ks).map(k -> k.mod(Ed25519ByteEccUtils.N)).toArray(BigInteger[]::new);
+        return Ed25519ByteEccUtils.msm(ps, reducedKs);
+    }
+
     @Override
     public ByteEccFactory.ByteEccType getByteEccType() {
         return ByteEccFactory.ByteEccType.ED25519_BC;
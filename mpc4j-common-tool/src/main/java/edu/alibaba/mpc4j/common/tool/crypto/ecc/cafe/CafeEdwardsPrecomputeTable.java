@@ -19,6 +19,11 @@ public class CafeEdwardsPrecomputeTable {
      * precompute lookup table size
      */
     private static final int PRECOMPUTE_TABLE_SIZE = 32;
+    /**
+     * estimated memory in bytes. Each lookup table contains 8 affine Niels points, each point contains 3 field
+     * elements of 10 ints (about 56 bytes with the array header) and about 32 bytes of headers and references.
+     */
+    public static final long MEMORY_BYTES = PRECOMPUTE_TABLE_SIZE * 8L * (3 * 56 + 32);
     /**
      * lookup table, each contains 16 points.
      */
@@ -1,8 +1,10 @@
 package edu.alibaba.mpc4j.common.tool.crypto.ecc.cafe;
 
 import edu.alibaba.mpc4j.common.tool.crypto.ecc.ByteEccFactory;
+import edu.alibaba.mpc4j.common.tool.crypto.ecc.ByteFixedBaseTable;
 import edu.alibaba.mpc4j.common.tool.crypto.ecc.ByteFullEcc;
 import edu.alibaba.mpc4j.common.tool.crypto.ecc.utils.Ed25519ByteEccUtils;
+import edu.alibaba.mpc4j.common.tool.crypto.ecc.utils.MsmUtils;
 import edu.alibaba.mpc4j.common.tool.crypto.hash.Hash;
 import edu.alibaba.mpc4j.common.tool.crypto.hash.HashFactory;
 import edu.alibaba.mpc4j.common.tool.utils.BigIntegerUtils;
@@ -10,6 +12,7 @@ import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
 
 import java.math.BigInteger;
 import java.security.SecureRandom;
+import java.util.Arrays;
 
 /**
  * Cafe实现的Ed25519全功能字节椭圆曲线。
@@ -137,6 +140,38 @@ public class Ed25519CafeByteFullEcc implements ByteFullEcc {
         return CafeConstants.ED25519_BASE_POINT_TABLE.mul(cafeScalarK).compress().encode();
     }
 
+    @Override
+    public byte[] msm(byte[][] ps, BigInteger[] ks) {
+        if (ps.length <= MsmUtils.NAIVE_THRESHOLD) {
+            return ByteFullEcc.super.msm(ps, ks);
+        }
+        assert ps.length == ks.length
+            : "# of points (" + ps.length + ") must be equal to # of scalars (" + ks.length + ")";
+        // 只解压缩一次，在CafeEdwardsPoint上完成全部加法
+        CafeEdwardsPoint[] points = Arrays.stream(ps)
+            .map(p -> new CafeEdwardsCompressedPoint(p).decompress())
+            .toArray(CafeEdwardsPoint[]::new);
+        BigInteger[] reducedKs = Arrays.stream(ks).map(k -> k.mod(getN())).toArray(BigInteger[]::new);
+        CafeEdwardsPoint r = MsmUtils.pippenger(
+            points, reducedKs, getN().bitLength(), CafeEdwardsPoint.IDENTITY, new MsmUtils.MsmGroup<CafeEdwardsPoint>() {
+                @Override
+                public CafeEdwardsPoint add(CafeEdwardsPoint p, CafeEdwardsPoint q) {
+                    return p.add(q);
+                }
+
+                @Override
+                public CafeEdwardsPoint negate(CafeEdwardsPoint p) {
+                    return p.neg();
+                }
+
+                @Override
+                public CafeEdwardsPoint doubling(CafeEdwardsPoint p) {
+                    return p.dbl();
+                }
+            });
+        return r.compress().encode();
+    }
+
     @Override
     public boolean isValidPoint(byte[] p) {
         return Ed25519ByteEccUtils.validPoint(p);
@@ -166,6 +201,28 @@ public class Ed25519CafeByteFullEcc implements ByteFullEcc {
         return CafeConstants.ED25519_BASE_POINT_TABLE.mul(cafeScalarK).compress().encode();
     }
 
+    @Override
+    public boolean supportFixedBaseTable() {
+        return true;
+    }
+
+    @Override
+    public ByteFixedBaseTable createFixedBaseTable(byte[] p) {
+        assert p.length == Ed25519ByteEccUtils.POINT_BYTES;
+        CafeEdwardsPrecomputeTable table = new CafeEdwardsPrecomputeTable(new CafeEdwardsCompressedPoint(p).decompress());
+        return new ByteFixedBaseTable() {
+            @Override
+            public byte[] mul(byte[] k) {
+                return table.mul(new CafeScalar(k)).compress().encode();
+            }
+
+            @Override
+            public long getMemoryBytes() {
+                return CafeEdwardsPrecomputeTable.MEMORY_BYTES;
+            }
+        };
+    }
+
     @Override
     public ByteEccFactory.ByteEccType getByteEccType() {
         return ByteEccFactory.ByteEccType.ED25519_CAFE;
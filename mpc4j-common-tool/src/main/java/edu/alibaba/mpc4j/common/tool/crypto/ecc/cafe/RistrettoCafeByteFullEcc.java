@@ -1,8 +1,10 @@
 package edu.alibaba.mpc4j.common.tool.crypto.ecc.cafe;
 
 import edu.alibaba.mpc4j.common.tool.crypto.ecc.ByteEccFactory;
+import edu.alibaba.mpc4j.common.tool.crypto.ecc.ByteFixedBaseTable;
 import edu.alibaba.mpc4j.common.tool.crypto.ecc.ByteFullEcc;
 import edu.alibaba.mpc4j.common.tool.crypto.ecc.utils.Ed25519ByteEccUtils;
+import edu.alibaba.mpc4j.common.tool.crypto.ecc.utils.MsmUtils;
 import edu.alibaba.mpc4j.common.tool.crypto.hash.Hash;
 import edu.alibaba.mpc4j.common.tool.crypto.hash.HashFactory;
 import edu.alibaba.mpc4j.common.tool.utils.BigIntegerUtils;
@@ -10,6 +12,7 @@ import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
 
 import java.math.BigInteger;
 import java.security.SecureRandom;
+import java.util.Arrays;
 
 /**
  * Cafe实现的Ristretto全功能字节椭圆曲线。
@@ -130,6 +133,38 @@ public class RistrettoCafeByteFullEcc implements ByteFullEcc {
         return CafeConstants.RISTRETTO_GENERATOR_TABLE.mul(cafeScalarK).compress().encode();
     }
 
+    @Override
+    public byte[] msm(byte[][] ps, BigInteger[] ks) {
+        if (ps.length <= MsmUtils.NAIVE_THRESHOLD) {
+            return ByteFullEcc.super.msm(ps, ks);
+        }
+        assert ps.length == ks.length
+            : "# of points (" + ps.length + ") must be equal to # of scalars (" + ks.length + ")";
+        // 只解压缩一次，在CafeRistrettoPoint上完成全部加法
+        CafeRistrettoPoint[] points = Arrays.stream(ps)
+            .map(p -> new CafeRistrettoCompressedPoint(p).decompress())
+            .toArray(CafeRistrettoPoint[]::new);
+        BigInteger[] reducedKs = Arrays.stream(ks).map(k -> k.mod(getN())).toArray(BigInteger[]::new);
+        CafeRistrettoPoint r = MsmUtils.pippenger(
+            points, reducedKs, getN().bitLength(), CafeRistrettoPoint.IDENTITY, new MsmUtils.MsmGroup<CafeRistrettoPoint>() {
+                @Override
+                public CafeRistrettoPoint add(CafeRistrettoPoint p, CafeRistrettoPoint q) {
+                    return p.add(q);
+                }
+
+                @Override
+                public CafeRistrettoPoint negate(CafeRistrettoPoint p) {
+                    return p.neg();
+                }
+
+                @Override
+                public CafeRistrettoPoint doubling(CafeRistrettoPoint p) {
+                    return p.dbl();
+                }
+            });
+        return r.compress().encode();
+    }
+
     @Override
     public boolean isValidPoint(byte[] p) {
         try {
@@ -164,6 +199,28 @@ public class RistrettoCafeByteFullEcc implements ByteFullEcc {
         return CafeConstants.RISTRETTO_GENERATOR_TABLE.mul(cafeScalarK).compress().encode();
     }
 
+    @Override
+    public boolean supportFixedBaseTable() {
+        return true;
+    }
+
+    @Override
+    public ByteFixedBaseTable createFixedBaseTable(byte[] p) {
+        assert p.length == Ed25519ByteEccUtils.POINT_BYTES;
+        CafeRistrettoGeneratorTable table = new CafeRistrettoGeneratorTable(new CafeRistrettoCompressedPoint(p).decompress());
+        return new ByteFixedBaseTable() {
+            @Override
+            public byte[] mul(byte[] k) {
+                return table.mul(new CafeScalar(k)).compress().encode();
+            }
+
+            @Override
+            public long getMemoryBytes() {
+                return CafeEdwardsPrecomputeTable.MEMORY_BYTES;
+            }
+        };
+    }
+
     @Override
     public ByteEccFactory.ByteEccType getByteEccType() {
         return ByteEccFactory.ByteEccType.RISTRETTO_CAFE;
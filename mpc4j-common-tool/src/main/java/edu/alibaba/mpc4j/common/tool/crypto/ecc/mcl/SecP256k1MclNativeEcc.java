@@ -42,6 +42,9 @@ public class SecP256k1MclNativeEcc implements NativeEcc {
     @Override
     public native String multiply(String pointString, String rString);
 
+    @Override
+    public native byte[] batchMultiply(byte[] points, int num, String rString);
+
     @Override
     public native void reset();
 }
@@ -0,0 +1,64 @@
+package edu.alibaba.mpc4j.common.tool.crypto.ecc.utils;
+
+import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
+
+import java.util.stream.IntStream;
+
+/**
+ * batch ECC operation utilities. Batch operations split the inputs into chunks. Each chunk is handled by one task, so
+ * that per-chunk work (e.g., the simultaneous inversion for normalizing points, or one native call) is amortized over
+ * the chunk, while chunks are balanced by the work-stealing pool of parallel streams.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/15
+ */
+public class BatchEccUtils {
+    /**
+     * private constructor.
+     */
+    private BatchEccUtils() {
+        // empty
+    }
+
+    /**
+     * chunk size. One simultaneous inversion costs about 3 multiplications for each point, so that the cost of the
+     * only inversion is negligible for 2^8 points, while chunks are still small enough for load balancing.
+     */
+    public static final int CHUNK_SIZE = 1 << 8;
+
+    /**
+     * chunk operation.
+     */
+    @FunctionalInterface
+    public interface ChunkOperation {
+        /**
+         * Handles inputs in range [fromIndex, toIndex).
+         *
+         * @param fromIndex from index (inclusive).
+         * @param toIndex   to index (exclusive).
+         */
+        void apply(int fromIndex, int toIndex);
+    }
+
+    /**
+     * Applies the operation on each chunk of [0, num).
+     *
+     * @param num       number of inputs.
+     * @param parallel  parallel operation.
+     * @param operation the chunk operation.
+     */
+    public static void forEachChunk(int num, boolean parallel, ChunkOperation operation) {
+        assert num >= 0 : "num must be greater than or equal to 0: " + num;
+        if (num == 0) {
+            return;
+        }
+        int chunkNum = CommonUtils.getUnitNum(num, CHUNK_SIZE);
+        IntStream chunkIndexStream = IntStream.range(0, chunkNum);
+        chunkIndexStream = parallel ? chunkIndexStream.parallel() : chunkIndexStream;
+        chunkIndexStream.forEach(chunkIndex -> {
+            int fromIndex = chunkIndex * CHUNK_SIZE;
+            int toIndex = Math.min(fromIndex + CHUNK_SIZE, num);
+            operation.apply(fromIndex, toIndex);
+        });
+    }
+}
@@ -494,6 +494,56 @@ public class Ed25519ByteEccUtils {
         return result;
     }
 
+    /**
+     * 批量编码累计点，放置在指定字节数组中。使用Montgomery批量求逆，只需要一次求逆和3(n - 1)次乘法。
+     *
+     * @param ps 累积点。
+     * @param rs 指定字节数组。
+     * @return 如果全部成功，则返回非0值，否则返回0.
+     */
+    private static int encodePoints(PointAccum[] ps, byte[][] rs) {
+        assert ps.length == rs.length : "# of points (" + ps.length + ") must be equal to # of outputs (" + rs.length + ")";
+        int num = ps.length;
+        if (num == 0) {
+            return 1;
+        }
+        // prefixes[i] = z_0 * ... * z_i
+        int[][] prefixes = new int[num][];
+        prefixes[0] = Curve25519Field.create();
+        Curve25519Field.copy(ps[0].z, 0, prefixes[0], 0);
+        for (int index = 1; index < num; index++) {
+            prefixes[index] = Curve25519Field.create();
+            Curve25519Field.mul(prefixes[index - 1], ps[index].z, prefixes[index]);
+        }
+        // inv = (z_0 * ... * z_{n - 1})^{-1}
+        int[] inv = Curve25519Field.create();
+        Curve25519Field.inv(prefixes[num - 1], inv);
+        int[] zInv = Curve25519Field.create();
+        int[] x = Curve25519Field.create();
+        int[] y = Curve25519Field.create();
+        int result = 1;
+        for (int index = num - 1; index >= 0; index--) {
+            // z_i^{-1} = inv * (z_0 * ... * z_{i - 1}), then inv = inv * z_i = (z_0 * ... * z_{i - 1})^{-1}
+            if (index > 0) {
+                Curve25519Field.mul(inv, prefixes[index - 1], zInv);
+                Curve25519Field.mul(inv, ps[index].z, inv);
+            } else {
+                Curve25519Field.copy(inv, 0, zInv, 0);
+            }
+            Curve25519Field.mul(ps[index].x, zInv, x);
+            Curve25519Field.mul(ps[index].y, zInv, y);
+            Curve25519Field.normalize(x);
+            Curve25519Field.normalize(y);
+
+            result &= checkPoint(x, y);
+
+            Curve25519Field.encode(y, rs[index], 0);
+            // y的最高位永远为0，因此利用y的最高位编码点
+            rs[index][POINT_BYTES - 1] |= ((x[0] & 1) << 7);
+        }
+        return result;
+    }
+
     /**
      * 计算幂指数的WNAF表示，窗口长度固定为5。
      *
@@ -1104,6 +1154,31 @@ public class Ed25519ByteEccUtils {
         }
     }
 
+    /**
+     * 批量计算k·P_i。所有结果共用一次求逆（Montgomery批量求逆）转换为仿射坐标。
+     *
+     * @param k  幂指数k。
+     * @param ps 点P_i。
+     * @return 计算结果。
+     */
+    public static byte[][] scalarMulEncoded(byte[] k, byte[][] ps) {
+        PointAccum[] results = new PointAccum[ps.length];
+        for (int index = 0; index < ps.length; index++) {
+            // 解码点
+            PointAffine pointAffline = new PointAffine();
+            decodePointVar(ps[index], pointAffline);
+            // 计算结果
+            results[index] = new PointAccum();
+            scalarMul(k, pointAffline, results[index]);
+        }
+        // 编码点
+        byte[][] rs = new byte[ps.length][POINT_BYTES];
+        if (0 == encodePoints(results, rs)) {
+            throw new IllegalStateException();
+        }
+        return rs;
+    }
+
     /**
      * 计算k·G。
      *
@@ -1167,4 +1242,57 @@ public class Ed25519ByteEccUtils {
             throw new IllegalStateException();
         }
     }
+
+    /**
+     * 计算多标量乘法r = Σ_i k_i · p_i。所有点只解码一次，并在扩展坐标下使用桶（Pippenger）方法计算。
+     *
+     * @param ps 点p_i。
+     * @param ks 幂指数k_i，要求在[0, N)范围内。
+     * @return 计算结果。
+     */
+    public static byte[] msm(byte[][] ps, BigInteger[] ks) {
+        // 解码点
+        PointExt[] points = new PointExt[ps.length];
+        for (int index = 0; index < ps.length; index++) {
+            PointAffine pointAffine = new PointAffine();
+            decodePointVar(ps[index], pointAffine);
+            points[index] = pointCopy(pointAffine);
+        }
+        PointExt neutral = new PointExt();
+        pointSetNeutral(neutral);
+        // 计算结果，扩展坐标下的统一加法公式同样适用于倍点
+        PointExt result = MsmUtils.pippenger(points, ks, N.bitLength(), neutral, new MsmUtils.MsmGroup<PointExt>() {
+            @Override
+            public PointExt add(PointExt p, PointExt q) {
+                PointExt r = new PointExt();
+                pointAddVar(false, p, q, r);
+                return r;
+            }
+
+            @Override
+            public PointExt negate(PointExt p) {
+                PointExt r = pointCopy(p);
+                Curve25519Field.negate(r.x, r.x);
+                Curve25519Field.negate(r.t, r.t);
+                return r;
+            }
+
+            @Override
+            public PointExt doubling(PointExt p) {
+                PointExt r = new PointExt();
+                pointAddVar(false, p, p, r);
+                return r;
+            }
+        });
+        // 编码点
+        PointAccum resultAccum = new PointAccum();
+        Curve25519Field.copy(result.x, 0, resultAccum.x, 0);
+        Curve25519Field.copy(result.y, 0, resultAccum.y, 0);
+        Curve25519Field.copy(result.z, 0, resultAccum.z, 0);
+        byte[] r = new byte[POINT_BYTES];
+        if (0 == encodePoint(resultAccum, r)) {
+            throw new IllegalStateException();
+        }
+        return r;
+    }
 }
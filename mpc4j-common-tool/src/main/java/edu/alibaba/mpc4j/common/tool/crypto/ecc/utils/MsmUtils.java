@@ -0,0 +1,204 @@
+package edu.alibaba.mpc4j.common.tool.crypto.ecc.utils;
+
+import edu.alibaba.mpc4j.common.tool.utils.BigIntegerUtils;
+import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
+import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * multi-scalar multiplication (MSM) utilities. MSM computes Σ_i k_i · P_i using the bucket (Pippenger) method with
+ * signed digits:
+ * <p>
+ * 1. Each scalar is split into c-bit windows, and each window is recoded into a signed digit in
+ * [-2^(c - 1) + 1, 2^(c - 1)], so that only 2^(c - 1) buckets are needed.
+ * </p>
+ * <p>
+ * 2. For each window, P_i (or -P_i) is added into the bucket of its digit, and the window sum Σ_j j · B_j is computed
+ * with 2 · 2^(c - 1) additions by running sums.
+ * </p>
+ * <p>
+ * 3. Window sums are combined by c doublings per window.
+ * </p>
+ * The cost is about ⌈(l + 1) / c⌉ · (n + 2^c) additions plus l doublings for n terms with l-bit scalars, compared with
+ * about n · l doublings for computing each multiplication separately.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/15
+ */
+public class MsmUtils {
+    /**
+     * private constructor.
+     */
+    private MsmUtils() {
+        // empty
+    }
+
+    /**
+     * max window size, so that the window (with offset) can be read from 3 bytes.
+     */
+    private static final int MAX_WINDOW_SIZE = 15;
+    /**
+     * If the number of terms is not greater than this threshold, MSM is computed by separate multiplications.
+     */
+    public static final int NAIVE_THRESHOLD = 4;
+
+    /**
+     * group operations used in MSM.
+     *
+     * @param <T> the point type.
+     */
+    public interface MsmGroup<T> {
+        /**
+         * Computes p + q. The inputs must not be modified.
+         *
+         * @param p the point p.
+         * @param q the point q.
+         * @return p + q.
+         */
+        T add(T p, T q);
+
+        /**
+         * Computes -p. The input must not be modified.
+         *
+         * @param p the point p.
+         * @return -p.
+         */
+        T negate(T p);
+
+        /**
+         * Computes 2 · p. The input must not be modified.
+         *
+         * @param p the point p.
+         * @return 2 · p.
+         */
+        T doubling(T p);
+    }
+
+    /**
+     * Gets the window size for the given number of terms. The window size is about ln(n), which balances the n
+     * additions into buckets and the 2^c additions for summing buckets in each window.
+     *
+     * @param num the number of terms.
+     * @return the window size.
+     */
+    public static int getWindowSize(int num) {
+        assert num > 0 : "num must be greater than 0: " + num;
+        if (num < 32) {
+            return 3;
+        }
+        return Math.min(MAX_WINDOW_SIZE, (int) Math.ceil(Math.log(num)));
+    }
+
+    /**
+     * Computes Σ_i k_i · P_i using the Pippenger method.
+     *
+     * @param points    the points P_i.
+     * @param scalars   the scalars k_i, each of which must be in range [0, 2^bitLength).
+     * @param bitLength the bit length of the scalars.
+     * @param identity  the identity point, returned if the result is the identity.
+     * @param group     the group operations.
+     * @param <T>       the point type.
+     * @return Σ_i k_i · P_i.
+     */
+    public static <T> T pippenger(T[] points, BigInteger[] scalars, int bitLength, T identity, MsmGroup<T> group) {
+        assert points.length == scalars.length
+            : "# of points (" + points.length + ") must be equal to # of scalars (" + scalars.length + ")";
+        int num = points.length;
+        if (num == 0) {
+            return identity;
+        }
+        int windowSize = getWindowSize(num);
+        // signed digits need one more bit for the last carry
+        int windowNum = CommonUtils.getUnitNum(bitLength + 1, windowSize);
+        int windowMask = (1 << windowSize) - 1;
+        int bucketNum = 1 << (windowSize - 1);
+        // little-endian scalars
+        int scalarByteLength = CommonUtils.getByteLength(windowNum * windowSize) + 1;
+        byte[][] littleEndianScalars = Arrays.stream(scalars)
+            .map(scalar -> {
+                assert BigIntegerUtils.greaterOrEqual(scalar, BigInteger.ZERO) && scalar.bitLength() <= bitLength
+                    : "scalar must be in range [0, 2^" + bitLength + "): " + scalar;
+                byte[] littleEndianScalar = BigIntegerUtils.nonNegBigIntegerToByteArray(scalar, scalarByteLength);
+                BytesUtils.innerReverseByteArray(littleEndianScalar);
+                return littleEndianScalar;
+            })
+            .toArray(byte[][]::new);
+        boolean[] carries = new boolean[num];
+        Object[] windowSums = new Object[windowNum];
+        Object[] buckets = new Object[bucketNum];
+        for (int windowIndex = 0; windowIndex < windowNum; windowIndex++) {
+            Arrays.fill(buckets, null);
+            int bitOffset = windowIndex * windowSize;
+            for (int index = 0; index < num; index++) {
+                int digit = getWindow(littleEndianScalars[index], bitOffset, windowMask) + (carries[index] ? 1 : 0);
+                if (digit > bucketNum) {
+                    digit -= (1 << windowSize);
+                    carries[index] = true;
+                } else {
+                    carries[index] = false;
+                }
+                if (digit > 0) {
+                    buckets[digit - 1] = addNullable(buckets[digit - 1], points[index], group);
+                } else if (digit < 0) {
+                    buckets[-digit - 1] = addNullable(buckets[-digit - 1], group.negate(points[index]), group);
+                }
+            }
+            // Σ_j j · B_j = Σ_j (Σ_{j' >= j} B_j')
+            Object runningSum = null;
+            Object windowSum = null;
+            for (int bucketIndex = bucketNum - 1; bucketIndex >= 0; bucketIndex--) {
+                if (buckets[bucketIndex] != null) {
+                    runningSum = addNullable(runningSum, buckets[bucketIndex], group);
+                }
+                if (runningSum != null) {
+                    windowSum = addNullable(windowSum, runningSum, group);
+                }
+            }
+            windowSums[windowIndex] = windowSum;
+        }
+        // combine window sums from the most significant window
+        Object result = null;
+        for (int windowIndex = windowNum - 1; windowIndex >= 0; windowIndex--) {
+            if (result != null) {
+                for (int i = 0; i < windowSize; i++) {
+                    //noinspection unchecked
+                    result = group.doubling((T) result);
+                }
+            }
+            if (windowSums[windowIndex] != null) {
+                result = addNullable(result, windowSums[windowIndex], group);
+            }
+        }
+        //noinspection unchecked
+        return result == null ? identity : (T) result;
+    }
+
+    /**
+     * Computes p + q, where null represents the identity.
+     */
+    private static <T> Object addNullable(Object p, Object q, MsmGroup<T> group) {
+        if (p == null) {
+            return q;
+        }
+        //noinspection unchecked
+        return group.add((T) p, (T) q);
+    }
+
+    /**
+     * Gets the window starting from the bit offset. The little-endian scalar has at least one padding byte so that
+     * reading 3 bytes from any window is safe.
+     */
+    private static int getWindow(byte[] littleEndianScalar, int bitOffset, int windowMask) {
+        int byteOffset = bitOffset >>> 3;
+        int value = littleEndianScalar[byteOffset] & 0xFF;
+        if (byteOffset + 1 < littleEndianScalar.length) {
+            value |= (littleEndianScalar[byteOffset + 1] & 0xFF) << Byte.SIZE;
+        }
+        if (byteOffset + 2 < littleEndianScalar.length) {
+            value |= (littleEndianScalar[byteOffset + 2] & 0xFF) << (Byte.SIZE * 2);
+        }
+        return (value >>> (bitOffset & 7)) & windowMask;
+    }
+}
@@ -146,23 +146,6 @@ public class JdkSm4Engine {
         return L(tau(Z));
     }
 
-    // The round functions
-    private int F0(int[] X, int rk) {
-        return (X[0] ^ T(X[1] ^ X[2] ^ X[3] ^ rk));
-    }
-
-    private int F1(int[] X, int rk) {
-        return (X[1] ^ T(X[2] ^ X[3] ^ X[0] ^ rk));
-    }
-
-    private int F2(int[] X, int rk) {
-        return (X[2] ^ T(X[3] ^ X[0] ^ X[1] ^ rk));
-    }
-
-    private int F3(int[] X, int rk) {
-        return (X[3] ^ T(X[0] ^ X[1] ^ X[2] ^ rk));
-    }
-
     /**
      * 是否用于加密
      */
@@ -195,26 +178,39 @@ public class JdkSm4Engine {
                 throw new IllegalArgumentException(String.format("Invalid ciphertext length: %s bytes", input.length));
             }
         }
+        byte[] output = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
+        doFinal(input, 0, output, 0);
+        return output;
+    }
+
+    /**
+     * 执行一次分组运算，从输入数组的指定位置读取分组，并将结果写入输出数组的指定位置。此运算不分配内存，输入和输出可以重叠。
+     *
+     * @param input        输入。
+     * @param inputOffset  输入分组的起始位置。
+     * @param output       输出。
+     * @param outputOffset 输出分组的起始位置。
+     */
+    public void doFinal(byte[] input, int inputOffset, byte[] output, int outputOffset) {
+        if (rk == null) {
+            throw new IllegalStateException("SM4 not initialized");
+        }
         // 初始化内部状态，并把内部状态读取为4个整数
-        int[] state = new int[4];
-        state[0] = Pack.bigEndianToInt(input, 0);
-        state[1] = Pack.bigEndianToInt(input, 4);
-        state[2] = Pack.bigEndianToInt(input, 8);
-        state[3] = Pack.bigEndianToInt(input, 12);
+        int x0 = Pack.bigEndianToInt(input, inputOffset);
+        int x1 = Pack.bigEndianToInt(input, inputOffset + 4);
+        int x2 = Pack.bigEndianToInt(input, inputOffset + 8);
+        int x3 = Pack.bigEndianToInt(input, inputOffset + 12);
         // 执行32轮迭代
         for (int i = 0; i < 32; i += 4) {
-            state[0] = F0(state, rk[i]);
-            state[1] = F1(state, rk[i + 1]);
-            state[2] = F2(state, rk[i + 2]);
-            state[3] = F3(state, rk[i + 3]);
+            x0 ^= T(x1 ^ x2 ^ x3 ^ rk[i]);
+            x1 ^= T(x2 ^ x3 ^ x0 ^ rk[i + 1]);
+            x2 ^= T(x3 ^ x0 ^ x1 ^ rk[i + 2]);
+            x3 ^= T(x0 ^ x1 ^ x2 ^ rk[i + 3]);
         }
-        // 返回输出
-        byte[] output = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
-        Pack.intToBigEndian(state[3], output, 0);
-        Pack.intToBigEndian(state[2], output, 4);
-        Pack.intToBigEndian(state[1], output, 8);
-        Pack.intToBigEndian(state[0], output, 12);
-
-        return output;
+        // 写入输出
+        Pack.intToBigEndian(x3, output, outputOffset);
+        Pack.intToBigEndian(x2, output, outputOffset + 4);
+        Pack.intToBigEndian(x1, output, outputOffset + 8);
+        Pack.intToBigEndian(x0, output, outputOffset + 12);
     }
 }
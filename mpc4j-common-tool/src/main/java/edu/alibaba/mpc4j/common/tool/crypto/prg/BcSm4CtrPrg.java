@@ -8,6 +8,7 @@ import org.bouncycastle.crypto.engines.SM4Engine;
 import org.bouncycastle.crypto.modes.SICBlockCipher;
 import org.bouncycastle.crypto.params.KeyParameter;
 import org.bouncycastle.crypto.params.ParametersWithIV;
+import org.bouncycastle.util.Pack;
 
 /**
  * 使用Bouncy Castle的SM4/CTR模式实现的伪随机数生成器。
@@ -24,9 +25,24 @@ public class BcSm4CtrPrg implements Prg {
      * 输出字节长度
      */
     private final int outputByteLength;
+    /**
+     * PRG加密的全零明文。只会被读取，因此可以在线程间共享
+     */
+    private final byte[] zeroPlaintext;
+    /**
+     * SM4/CTR模式不是线程安全的，每个线程复用一个实例，每次扩展时用新的种子重新初始化
+     */
+    private final ThreadLocal<BufferedBlockCipher> sm4CtrCipher;
+    /**
+     * 扩展为{@code long[]}时的字节缓存区，每个线程复用一个
+     */
+    private final ThreadLocal<byte[]> outputBuffer;
 
     BcSm4CtrPrg(int outputByteLength) {
         this.outputByteLength = outputByteLength;
+        zeroPlaintext = new byte[outputByteLength];
+        sm4CtrCipher = ThreadLocal.withInitial(() -> new BufferedBlockCipher(new SICBlockCipher(new SM4Engine())));
+        outputBuffer = ThreadLocal.withInitial(() -> new byte[outputByteLength]);
     }
 
     @Override
@@ -36,26 +52,38 @@ public class BcSm4CtrPrg implements Prg {
 
     @Override
     public byte[] extendToBytes(byte[] seed) {
+        byte[] output = new byte[outputByteLength];
+        extendToBytes(seed, output, 0);
+        return output;
+    }
+
+    @Override
+    public void extendToBytes(byte[] seed, byte[] output, int offset) {
         assert seed.length == CommonConstants.BLOCK_BYTE_LENGTH;
-        // 经过测试，SM4/CTR模式不是线程安全的，每次扩展要创建新的实例
+        assert offset >= 0 && offset + outputByteLength <= output.length;
         try {
-            KeyParameter keyParameter = new KeyParameter(seed);
-            ParametersWithIV parametersWithIv = new ParametersWithIV(keyParameter, IV);
-            // 初始化SM4/CTR引擎
-            BufferedBlockCipher sm4CtrCipher = new BufferedBlockCipher(new SICBlockCipher(new SM4Engine()));
-            sm4CtrCipher.init(true, parametersWithIv);
+            BufferedBlockCipher threadCipher = sm4CtrCipher.get();
+            // 重新初始化SM4/CTR引擎，计数器也随之重置
+            threadCipher.init(true, new ParametersWithIV(new KeyParameter(seed), IV));
             // PRG加密的是一个全零的明文
-            byte[] plaintext = new byte[outputByteLength];
-            byte[] ciphertext = new byte[outputByteLength];
-            int offset = sm4CtrCipher.processBytes(plaintext, 0, plaintext.length, ciphertext, 0);
-            sm4CtrCipher.doFinal(ciphertext, offset);
-
-            return ciphertext;
+            int length = threadCipher.processBytes(zeroPlaintext, 0, outputByteLength, output, offset);
+            threadCipher.doFinal(output, offset + length);
         } catch (InvalidCipherTextException e) {
             throw new IllegalStateException(String.format("Invalid seed length: %s bytes", seed.length));
         }
     }
 
+    @Override
+    public void extendToLongs(byte[] seed, long[] output, int offset) {
+        assert outputByteLength % Long.BYTES == 0
+            : "output byte length must be a multiple of " + Long.BYTES + ": " + outputByteLength;
+        byte[] buffer = outputBuffer.get();
+        extendToBytes(seed, buffer, 0);
+        for (int index = 0; index < outputByteLength / Long.BYTES; index++) {
+            output[offset + index] = Pack.bigEndianToLong(buffer, index * Long.BYTES);
+        }
+    }
+
     @Override
     public PrgType getPrgType() {
         return PrgType.BC_SM4_CTR;
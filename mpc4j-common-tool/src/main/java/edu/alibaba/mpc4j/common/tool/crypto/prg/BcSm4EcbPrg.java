@@ -7,6 +7,7 @@ import edu.alibaba.mpc4j.common.tool.crypto.prp.PrpFactory;
 import edu.alibaba.mpc4j.common.tool.crypto.prp.PrpFactory.PrpType;
 import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
 import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
+import org.bouncycastle.util.Pack;
 
 import java.nio.ByteBuffer;
 import java.util.Arrays;
@@ -31,6 +32,10 @@ public class BcSm4EcbPrg implements Prg {
      * 是否需要截断处理
      */
     private final boolean needTruncate;
+    /**
+     * 分组缓存区，每个线程复用一个
+     */
+    private final ThreadLocal<byte[]> blockBuffer;
 
     BcSm4EcbPrg(int outputByteLength) {
         this.outputByteLength = outputByteLength;
@@ -49,6 +54,7 @@ public class BcSm4EcbPrg implements Prg {
                 return prp;
             })
             .toArray(Prp[]::new);
+        blockBuffer = ThreadLocal.withInitial(() -> new byte[CommonConstants.BLOCK_BYTE_LENGTH]);
     }
 
     @Override
@@ -82,6 +88,46 @@ public class BcSm4EcbPrg implements Prg {
         }
     }
 
+    @Override
+    public void extendToBytes(byte[] seed, byte[] output, int offset) {
+        assert seed.length == CommonConstants.BLOCK_BYTE_LENGTH;
+        assert offset >= 0 && offset + outputByteLength <= output.length;
+        byte[] block = blockBuffer.get();
+        for (int prpIndex = 0; prpIndex < prps.length; prpIndex++) {
+            // PRF_seed(k) \xor k
+            prps[prpIndex].prp(seed, block);
+            // 与extendToBytes(byte[])保持一致，输出小于一个分组时不异或种子
+            if (outputByteLength >= CommonConstants.BLOCK_BYTE_LENGTH) {
+                BytesUtils.xori(block, seed);
+            }
+            int outputOffset = prpIndex * CommonConstants.BLOCK_BYTE_LENGTH;
+            int length = Math.min(CommonConstants.BLOCK_BYTE_LENGTH, outputByteLength - outputOffset);
+            System.arraycopy(block, 0, output, offset + outputOffset, length);
+        }
+    }
+
+    @Override
+    public void extendToLongs(byte[] seed, long[] output, int offset) {
+        assert seed.length == CommonConstants.BLOCK_BYTE_LENGTH;
+        assert outputByteLength % Long.BYTES == 0
+            : "output byte length must be a multiple of " + Long.BYTES + ": " + outputByteLength;
+        int longNum = outputByteLength / Long.BYTES;
+        byte[] block = blockBuffer.get();
+        for (int prpIndex = 0; prpIndex < prps.length; prpIndex++) {
+            // PRF_seed(k) \xor k
+            prps[prpIndex].prp(seed, block);
+            // 与extendToBytes(byte[])保持一致，输出小于一个分组时不异或种子
+            if (outputByteLength >= CommonConstants.BLOCK_BYTE_LENGTH) {
+                BytesUtils.xori(block, seed);
+            }
+            int longIndex = prpIndex * 2;
+            output[offset + longIndex] = Pack.bigEndianToLong(block, 0);
+            if (longIndex + 1 < longNum) {
+                output[offset + longIndex + 1] = Pack.bigEndianToLong(block, Long.BYTES);
+            }
+        }
+    }
+
     @Override
     public PrgType getPrgType() {
         return PrgType.BC_SM4_ECB;
@@ -1,11 +1,13 @@
 package edu.alibaba.mpc4j.common.tool.crypto.prg;
 
 import edu.alibaba.mpc4j.common.tool.CommonConstants;
+import org.bouncycastle.util.Pack;
 
 import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
 import javax.crypto.IllegalBlockSizeException;
 import javax.crypto.NoSuchPaddingException;
+import javax.crypto.ShortBufferException;
 import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 import java.security.InvalidAlgorithmParameterException;
@@ -36,9 +38,30 @@ public class JdkAesCtrPrg implements Prg {
      * 输出字节长度
      */
     private final int outputByteLength;
+    /**
+     * PRG加密的全零明文。只会被读取，因此可以在线程间共享
+     */
+    private final byte[] zeroPlaintext;
+    /**
+     * AES/CTR模式不是线程安全的，每个线程复用一个实例，每次扩展时用新的种子重新初始化
+     */
+    private final ThreadLocal<Cipher> cipher;
+    /**
+     * 扩展为{@code long[]}时的字节缓存区，每个线程复用一个
+     */
+    private final ThreadLocal<byte[]> outputBuffer;
 
     JdkAesCtrPrg(int outputByteLength) {
         this.outputByteLength = outputByteLength;
+        zeroPlaintext = new byte[outputByteLength];
+        cipher = ThreadLocal.withInitial(() -> {
+            try {
+                return Cipher.getInstance(JDK_AES_MODE_NAME);
+            } catch (NoSuchPaddingException | NoSuchAlgorithmException e) {
+                throw new IllegalStateException("System does not support " + JDK_AES_MODE_NAME);
+            }
+        });
+        outputBuffer = ThreadLocal.withInitial(() -> new byte[outputByteLength]);
     }
 
     @Override
@@ -48,25 +71,41 @@ public class JdkAesCtrPrg implements Prg {
 
     @Override
     public byte[] extendToBytes(byte[] seed) {
+        byte[] output = new byte[outputByteLength];
+        extendToBytes(seed, output, 0);
+        return output;
+    }
+
+    @Override
+    public void extendToBytes(byte[] seed, byte[] output, int offset) {
         assert seed.length == CommonConstants.BLOCK_BYTE_LENGTH;
-        // 经过测试，AES/CTR模式不是线程安全的，每次扩展要创建新的实例
+        assert offset >= 0 && offset + outputByteLength <= output.length;
         try {
-            Cipher cipher = Cipher.getInstance(JDK_AES_MODE_NAME);
+            Cipher threadCipher = cipher.get();
             Key keySpec = new SecretKeySpec(seed, JDK_AES_ALGORITHM_NAME);
-            // 初始化AES/CTR/NoPadding
-            cipher.init(Cipher.ENCRYPT_MODE, keySpec, IV);
+            // 重新初始化AES/CTR/NoPadding，计数器也随之重置
+            threadCipher.init(Cipher.ENCRYPT_MODE, keySpec, IV);
             // PRG加密的是一个全零的明文
-            byte[] plaintext = new byte[outputByteLength];
-
-            return cipher.doFinal(plaintext);
+            threadCipher.doFinal(zeroPlaintext, 0, outputByteLength, output, offset);
         } catch (InvalidKeyException e) {
             throw new IllegalStateException(String.format("Invalid seed length: %s bytes", seed.length));
         } catch (InvalidAlgorithmParameterException | IllegalBlockSizeException | BadPaddingException
-            | NoSuchPaddingException | NoSuchAlgorithmException ignored) {
+            | ShortBufferException ignored) {
             throw new IllegalStateException("System does not support " + JDK_AES_MODE_NAME);
         }
     }
 
+    @Override
+    public void extendToLongs(byte[] seed, long[] output, int offset) {
+        assert outputByteLength % Long.BYTES == 0
+            : "output byte length must be a multiple of " + Long.BYTES + ": " + outputByteLength;
+        byte[] buffer = outputBuffer.get();
+        extendToBytes(seed, buffer, 0);
+        for (int index = 0; index < outputByteLength / Long.BYTES; index++) {
+            output[offset + index] = Pack.bigEndianToLong(buffer, index * Long.BYTES);
+        }
+    }
+
     @Override
     public PrgFactory.PrgType getPrgType() {
         return PrgFactory.PrgType.JDK_AES_CTR;
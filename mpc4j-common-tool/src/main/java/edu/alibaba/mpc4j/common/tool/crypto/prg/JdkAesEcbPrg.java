@@ -5,8 +5,10 @@ import edu.alibaba.mpc4j.common.tool.crypto.prg.PrgFactory.PrgType;
 import edu.alibaba.mpc4j.common.tool.crypto.prp.Prp;
 import edu.alibaba.mpc4j.common.tool.crypto.prp.PrpFactory;
 import edu.alibaba.mpc4j.common.tool.crypto.prp.PrpFactory.PrpType;
+import edu.alibaba.mpc4j.common.tool.crypto.prp.PrpUtils;
 import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
 import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
+import org.bouncycastle.util.Pack;
 
 import java.nio.ByteBuffer;
 import java.util.Arrays;
@@ -34,6 +36,10 @@ public class JdkAesEcbPrg implements Prg {
      * 是否需要截断处理
      */
     private final boolean needTruncate;
+    /**
+     * 分组缓存区，每个线程复用一个
+     */
+    private final ThreadLocal<byte[]> blockBuffer;
 
     JdkAesEcbPrg(int outputByteLength) {
         this.outputByteLength = outputByteLength;
@@ -52,6 +58,7 @@ public class JdkAesEcbPrg implements Prg {
                 return prp;
             })
             .toArray(Prp[]::new);
+        blockBuffer = ThreadLocal.withInitial(() -> new byte[CommonConstants.BLOCK_BYTE_LENGTH]);
     }
 
     @Override
@@ -87,6 +94,93 @@ public class JdkAesEcbPrg implements Prg {
 
     }
 
+    @Override
+    public void extendToBytes(byte[] seed, byte[] output, int offset) {
+        assert seed.length == CommonConstants.BLOCK_BYTE_LENGTH;
+        assert offset >= 0 && offset + outputByteLength <= output.length;
+        byte[] block = blockBuffer.get();
+        for (int prpIndex = 0; prpIndex < prps.length; prpIndex++) {
+            // PRF_seed(k) \xor k
+            prps[prpIndex].prp(seed, block);
+            BytesUtils.xori(block, seed);
+            int outputOffset = prpIndex * CommonConstants.BLOCK_BYTE_LENGTH;
+            int length = Math.min(CommonConstants.BLOCK_BYTE_LENGTH, outputByteLength - outputOffset);
+            System.arraycopy(block, 0, output, offset + outputOffset, length);
+        }
+    }
+
+    @Override
+    public void extendToLongs(byte[] seed, long[] output, int offset) {
+        assert seed.length == CommonConstants.BLOCK_BYTE_LENGTH;
+        assert outputByteLength % Long.BYTES == 0
+            : "output byte length must be a multiple of " + Long.BYTES + ": " + outputByteLength;
+        int longNum = outputByteLength / Long.BYTES;
+        byte[] block = blockBuffer.get();
+        for (int prpIndex = 0; prpIndex < prps.length; prpIndex++) {
+            // PRF_seed(k) \xor k
+            prps[prpIndex].prp(seed, block);
+            BytesUtils.xori(block, seed);
+            int longIndex = prpIndex * 2;
+            output[offset + longIndex] = Pack.bigEndianToLong(block, 0);
+            if (longIndex + 1 < longNum) {
+                output[offset + longIndex + 1] = Pack.bigEndianToLong(block, Long.BYTES);
+            }
+        }
+    }
+
+    /**
+     * 批量扩展时，每个伪随机置换用一次ECB调用处理所有种子，从而将调用次数从种子数量乘以置换数量降低到置换数量。
+     *
+     * @param seeds 种子。
+     * @return 扩展的随机数。
+     */
+    @Override
+    public byte[][] extendToBytes(byte[][] seeds) {
+        byte[] flattenSeeds = PrpUtils.flatten(seeds);
+        byte[] prpOutputs = new byte[flattenSeeds.length];
+        byte[][] outputs = new byte[seeds.length][outputByteLength];
+        for (int prpIndex = 0; prpIndex < prps.length; prpIndex++) {
+            // PRF_seed(k) \xor k
+            prps[prpIndex].prp(flattenSeeds, prpOutputs);
+            BytesUtils.xori(prpOutputs, flattenSeeds);
+            int outputOffset = prpIndex * CommonConstants.BLOCK_BYTE_LENGTH;
+            int length = Math.min(CommonConstants.BLOCK_BYTE_LENGTH, outputByteLength - outputOffset);
+            for (int index = 0; index < seeds.length; index++) {
+                System.arraycopy(prpOutputs, index * CommonConstants.BLOCK_BYTE_LENGTH, outputs[index], outputOffset, length);
+            }
+        }
+        return outputs;
+    }
+
+    /**
+     * 批量扩展时，每个伪随机置换用一次ECB调用处理所有拼接的种子，并直接写入拼接的输出。
+     *
+     * @param flattenSeeds   拼接的种子。
+     * @param flattenOutputs 拼接的输出缓存区。
+     */
+    @Override
+    public void extendToFlattenBytes(byte[] flattenSeeds, byte[] flattenOutputs) {
+        assert flattenSeeds.length % CommonConstants.BLOCK_BYTE_LENGTH == 0
+            : "seeds byte length must be a multiple of " + CommonConstants.BLOCK_BYTE_LENGTH + ": " + flattenSeeds.length;
+        int seedNum = flattenSeeds.length / CommonConstants.BLOCK_BYTE_LENGTH;
+        assert flattenOutputs.length == seedNum * outputByteLength
+            : "outputs byte length must be equal to " + seedNum * outputByteLength + ": " + flattenOutputs.length;
+        byte[] prpOutputs = new byte[flattenSeeds.length];
+        for (int prpIndex = 0; prpIndex < prps.length; prpIndex++) {
+            // PRF_seed(k) \xor k
+            prps[prpIndex].prp(flattenSeeds, prpOutputs);
+            BytesUtils.xori(prpOutputs, flattenSeeds);
+            int outputOffset = prpIndex * CommonConstants.BLOCK_BYTE_LENGTH;
+            int length = Math.min(CommonConstants.BLOCK_BYTE_LENGTH, outputByteLength - outputOffset);
+            for (int index = 0; index < seedNum; index++) {
+                System.arraycopy(
+                    prpOutputs, index * CommonConstants.BLOCK_BYTE_LENGTH,
+                    flattenOutputs, index * outputByteLength + outputOffset, length
+                );
+            }
+        }
+    }
+
     @Override
     public PrgType getPrgType() {
         return PrgType.JDK_AES_ECB;
@@ -1,5 +1,8 @@
 package edu.alibaba.mpc4j.common.tool.crypto.prg;
 
+import edu.alibaba.mpc4j.common.tool.CommonConstants;
+import org.bouncycastle.util.Pack;
+
 /**
  * 伪随机数生成器接口。
  *
@@ -22,6 +25,69 @@ public interface Prg {
      */
     byte[] extendToBytes(byte[] seed);
 
+    /**
+     * 将输入种子扩展为指定字节长度的随机数，并写入调用方提供的字节数组，结果与{@link #extendToBytes(byte[])}相同。
+     * 默认实现先扩展再拷贝，实现类应尽量避免分配内存。
+     *
+     * @param seed   种子。
+     * @param output 输出缓存区。
+     * @param offset 输出的起始位置。
+     */
+    default void extendToBytes(byte[] seed, byte[] output, int offset) {
+        System.arraycopy(extendToBytes(seed), 0, output, offset, getOutputByteLength());
+    }
+
+    /**
+     * 将输入种子扩展为随机数，并按大端表示写入调用方提供的{@code long[]}，结果与将{@link #extendToBytes(byte[])}的结果转换为
+     * {@code long[]}相同。要求输出字节长度可以被{@code Long.BYTES}整除。默认实现先扩展再转换，实现类应尽量避免分配内存。
+     *
+     * @param seed   种子。
+     * @param output 输出缓存区。
+     * @param offset 输出的起始位置。
+     */
+    default void extendToLongs(byte[] seed, long[] output, int offset) {
+        assert getOutputByteLength() % Long.BYTES == 0
+            : "output byte length must be a multiple of " + Long.BYTES + ": " + getOutputByteLength();
+        byte[] bytes = extendToBytes(seed);
+        for (int index = 0; index < bytes.length / Long.BYTES; index++) {
+            output[offset + index] = Pack.bigEndianToLong(bytes, index * Long.BYTES);
+        }
+    }
+
+    /**
+     * 将一组种子分别扩展为指定字节长度的随机数，结果与逐个调用{@link #extendToBytes(byte[])}相同。默认实现逐个种子扩展。
+     *
+     * @param seeds 种子。
+     * @return 扩展的随机数。
+     */
+    default byte[][] extendToBytes(byte[][] seeds) {
+        byte[][] outputs = new byte[seeds.length][];
+        for (int index = 0; index < seeds.length; index++) {
+            outputs[index] = extendToBytes(seeds[index]);
+        }
+        return outputs;
+    }
+
+    /**
+     * 将拼接在一起的一组种子分别扩展为指定字节长度的随机数，并按种子顺序拼接写入调用方提供的字节数组，结果与逐个调用
+     * {@link #extendToBytes(byte[])}后拼接相同。默认实现逐个种子扩展。
+     *
+     * @param flattenSeeds   拼接的种子。
+     * @param flattenOutputs 拼接的输出缓存区。
+     */
+    default void extendToFlattenBytes(byte[] flattenSeeds, byte[] flattenOutputs) {
+        assert flattenSeeds.length % CommonConstants.BLOCK_BYTE_LENGTH == 0
+            : "seeds byte length must be a multiple of " + CommonConstants.BLOCK_BYTE_LENGTH + ": " + flattenSeeds.length;
+        int seedNum = flattenSeeds.length / CommonConstants.BLOCK_BYTE_LENGTH;
+        assert flattenOutputs.length == seedNum * getOutputByteLength()
+            : "outputs byte length must be equal to " + seedNum * getOutputByteLength() + ": " + flattenOutputs.length;
+        byte[] seed = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
+        for (int index = 0; index < seedNum; index++) {
+            System.arraycopy(flattenSeeds, index * CommonConstants.BLOCK_BYTE_LENGTH, seed, 0, CommonConstants.BLOCK_BYTE_LENGTH);
+            extendToBytes(seed, flattenOutputs, index * getOutputByteLength());
+        }
+    }
+
     /**
      * 返回伪随机数生成器类型。
      *
@@ -41,6 +41,17 @@ public class BcSm4Prp implements Prp {
         return encryptCipher.doFinal(plaintext);
     }
 
+    @Override
+    public void prp(byte[] plaintexts, byte[] ciphertexts) {
+        assert encryptCipher != null;
+        assert plaintexts.length % CommonConstants.BLOCK_BYTE_LENGTH == 0;
+        assert ciphertexts.length == plaintexts.length;
+        // 逐个分组原地加密，不分配内存
+        for (int offset = 0; offset < plaintexts.length; offset += CommonConstants.BLOCK_BYTE_LENGTH) {
+            encryptCipher.doFinal(plaintexts, offset, ciphertexts, offset);
+        }
+    }
+
     @Override
     public byte[] invPrp(byte[] ciphertext) {
         assert decryptCipher != null;
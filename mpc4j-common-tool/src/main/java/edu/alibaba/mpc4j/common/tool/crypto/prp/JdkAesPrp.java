@@ -6,6 +6,7 @@ import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
 import javax.crypto.IllegalBlockSizeException;
 import javax.crypto.NoSuchPaddingException;
+import javax.crypto.ShortBufferException;
 import javax.crypto.spec.SecretKeySpec;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
@@ -33,6 +34,10 @@ class JdkAesPrp implements Prp {
      * 解密算法
      */
     private Cipher decryptCipher;
+    /**
+     * 批量加密算法。批量加密会在Cipher中缓存中间状态，因此每个线程使用独立的实例
+     */
+    private ThreadLocal<Cipher> batchEncryptCipher;
 
     JdkAesPrp() {
         // empty
@@ -48,6 +53,7 @@ class JdkAesPrp implements Prp {
             decryptCipher = Cipher.getInstance(JDK_AES_MODE_NAME);
             encryptCipher.init(Cipher.ENCRYPT_MODE, secretKeySpec);
             decryptCipher.init(Cipher.DECRYPT_MODE, secretKeySpec);
+            batchEncryptCipher = ThreadLocal.withInitial(() -> createCipher(Cipher.ENCRYPT_MODE, secretKeySpec));
         } catch (InvalidKeyException e) {
             throw new IllegalStateException(String.format("Invalid AES key length: %s bytes", key.length));
         } catch (NoSuchPaddingException | NoSuchAlgorithmException e) {
@@ -67,6 +73,31 @@ class JdkAesPrp implements Prp {
         }
     }
 
+    private static Cipher createCipher(int mode, SecretKeySpec secretKeySpec) {
+        try {
+            Cipher cipher = Cipher.getInstance(JDK_AES_MODE_NAME);
+            cipher.init(mode, secretKeySpec);
+            return cipher;
+        } catch (InvalidKeyException e) {
+            throw new IllegalStateException(String.format("Invalid AES key length: %s bytes", secretKeySpec.getEncoded().length));
+        } catch (NoSuchPaddingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("System does not support " + JDK_AES_MODE_NAME);
+        }
+    }
+
+    @Override
+    public void prp(byte[] plaintexts, byte[] ciphertexts) {
+        assert batchEncryptCipher != null;
+        assert plaintexts.length % CommonConstants.BLOCK_BYTE_LENGTH == 0;
+        assert ciphertexts.length == plaintexts.length;
+        try {
+            // 一次ECB调用加密所有分组，JDK允许输入和输出为同一个数组
+            batchEncryptCipher.get().doFinal(plaintexts, 0, plaintexts.length, ciphertexts, 0);
+        } catch (IllegalBlockSizeException | BadPaddingException | ShortBufferException e) {
+            throw new IllegalStateException(String.format("Invalid plaintexts length: %s bytes", plaintexts.length));
+        }
+    }
+
     @Override
     public byte[] invPrp(byte[] ciphertext) {
         assert decryptCipher != null;
@@ -43,6 +43,15 @@ public class NativeAesPrp implements Prp, Closeable {
      */
     private native byte[] nativeEncrypt(ByteBuffer keyPointer, byte[] plaintext);
 
+    /**
+     * 本地批量加密，每轮AES-NI指令流水处理8个分组。
+     *
+     * @param keyPointer  本地密钥指针。
+     * @param plaintexts  依次存放的明文分组。
+     * @param ciphertexts 密文分组的输出缓存区。
+     */
+    private native void nativeEncryptBlocks(ByteBuffer keyPointer, byte[] plaintexts, byte[] ciphertexts);
+
     /**
      * 本地解密。
      *
@@ -78,6 +87,15 @@ public class NativeAesPrp implements Prp, Closeable {
         return nativeEncrypt(keyPointer, plaintext);
     }
 
+    @Override
+    public void prp(byte[] plaintexts, byte[] ciphertexts) {
+        assert keyPointer != null : "Please set key before encryption";
+        assert plaintexts.length % CommonConstants.BLOCK_BYTE_LENGTH == 0
+            : "plaintexts byte length must be a multiple of " + CommonConstants.BLOCK_BYTE_LENGTH;
+        assert ciphertexts.length == plaintexts.length;
+        nativeEncryptBlocks(keyPointer, plaintexts, ciphertexts);
+    }
+
     @Override
     public byte[] invPrp(byte[] ciphertext) {
         assert keyPointer != null : "Please set key before encryption";
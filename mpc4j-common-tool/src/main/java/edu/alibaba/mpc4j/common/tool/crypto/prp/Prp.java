@@ -1,5 +1,6 @@
 package edu.alibaba.mpc4j.common.tool.crypto.prp;
 
+import edu.alibaba.mpc4j.common.tool.CommonConstants;
 import edu.alibaba.mpc4j.common.tool.crypto.prp.PrpFactory.PrpType;
 
 /**
@@ -24,6 +25,38 @@ public interface Prp {
      */
     byte[] prp(byte[] plaintext);
 
+    /**
+     * 对一组明文分组伪随机置换。明文分组依次存放在一个字节数组中，字节长度为κ比特的整数倍。密文分组写入调用方提供的字节数组，
+     * 可以与明文为同一个数组。批量接口避免逐个分组调用时的内存分配和函数调用开销，默认实现逐个分组置换。
+     *
+     * @param plaintexts  依次存放的明文分组。
+     * @param ciphertexts 密文分组的输出缓存区，字节长度与明文相同。
+     */
+    default void prp(byte[] plaintexts, byte[] ciphertexts) {
+        assert plaintexts.length % CommonConstants.BLOCK_BYTE_LENGTH == 0
+            : "plaintexts byte length must be a multiple of " + CommonConstants.BLOCK_BYTE_LENGTH;
+        assert ciphertexts.length == plaintexts.length;
+        byte[] plaintext = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
+        for (int offset = 0; offset < plaintexts.length; offset += CommonConstants.BLOCK_BYTE_LENGTH) {
+            System.arraycopy(plaintexts, offset, plaintext, 0, CommonConstants.BLOCK_BYTE_LENGTH);
+            byte[] ciphertext = prp(plaintext);
+            System.arraycopy(ciphertext, 0, ciphertexts, offset, CommonConstants.BLOCK_BYTE_LENGTH);
+        }
+    }
+
+    /**
+     * 对一组明文分组伪随机置换。密文分组写入调用方提供的分组中，可以与明文为同一组分组。
+     *
+     * @param plaintexts  κ比特长明文分组。
+     * @param ciphertexts κ比特长密文分组的输出缓存区。
+     */
+    default void prp(byte[][] plaintexts, byte[][] ciphertexts) {
+        assert ciphertexts.length == plaintexts.length;
+        byte[] blocks = PrpUtils.flatten(plaintexts);
+        prp(blocks, blocks);
+        PrpUtils.unflatten(blocks, ciphertexts);
+    }
+
     /**
      * 对密文逆伪随机置换。
      *
@@ -0,0 +1,54 @@
+package edu.alibaba.mpc4j.common.tool.crypto.prp;
+
+import edu.alibaba.mpc4j.common.tool.CommonConstants;
+
+/**
+ * batch PRP utilities. Batch PRP, CRHF and TCRHF APIs work on blocks stored one after another in a byte array, so that
+ * the underlying block cipher can process all blocks in one call.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/13
+ */
+public class PrpUtils {
+    /**
+     * private constructor.
+     */
+    private PrpUtils() {
+        // empty
+    }
+
+    /**
+     * Flattens blocks into a byte array.
+     *
+     * @param blocks the blocks, each of which is κ bits.
+     * @return the flattened blocks.
+     */
+    public static byte[] flatten(byte[][] blocks) {
+        byte[] flattenBlocks = new byte[blocks.length * CommonConstants.BLOCK_BYTE_LENGTH];
+        for (int index = 0; index < blocks.length; index++) {
+            assert blocks[index].length == CommonConstants.BLOCK_BYTE_LENGTH
+                : "block byte length must be " + CommonConstants.BLOCK_BYTE_LENGTH;
+            System.arraycopy(
+                blocks[index], 0, flattenBlocks, index * CommonConstants.BLOCK_BYTE_LENGTH, CommonConstants.BLOCK_BYTE_LENGTH
+            );
+        }
+        return flattenBlocks;
+    }
+
+    /**
+     * Copies flattened blocks into the given blocks.
+     *
+     * @param flattenBlocks the flattened blocks.
+     * @param blocks        the blocks, each of which is κ bits.
+     */
+    public static void unflatten(byte[] flattenBlocks, byte[][] blocks) {
+        assert flattenBlocks.length == blocks.length * CommonConstants.BLOCK_BYTE_LENGTH;
+        for (int index = 0; index < blocks.length; index++) {
+            assert blocks[index].length == CommonConstants.BLOCK_BYTE_LENGTH
+                : "block byte length must be " + CommonConstants.BLOCK_BYTE_LENGTH;
+            System.arraycopy(
+                flattenBlocks, index * CommonConstants.BLOCK_BYTE_LENGTH, blocks[index], 0, CommonConstants.BLOCK_BYTE_LENGTH
+            );
+        }
+    }
+}
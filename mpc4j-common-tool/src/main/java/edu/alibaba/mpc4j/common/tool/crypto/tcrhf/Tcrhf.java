@@ -1,5 +1,7 @@
 package edu.alibaba.mpc4j.common.tool.crypto.tcrhf;
 
+import edu.alibaba.mpc4j.common.tool.CommonConstants;
+import edu.alibaba.mpc4j.common.tool.crypto.prp.PrpUtils;
 import edu.alibaba.mpc4j.common.tool.crypto.tcrhf.TcrhfFactory.TcrhfType;
 
 /**
@@ -18,6 +20,41 @@ public interface Tcrhf {
      */
     byte[] hash(int index, byte[] block);
 
+    /**
+     * 将一组依次存放的输入分组哈希为输出分组，第i个分组使用索引值indexes[i]。哈希结果写入调用方提供的字节数组，可以与输入为同一个数组。
+     * 默认实现逐个分组哈希。
+     *
+     * @param indexes 索引值。
+     * @param blocks  依次存放的输入分组，字节长度为κ比特的整数倍。
+     * @param outputs 哈希结果的输出缓存区，字节长度与输入相同。
+     */
+    default void hash(int[] indexes, byte[] blocks, byte[] outputs) {
+        assert blocks.length == indexes.length * CommonConstants.BLOCK_BYTE_LENGTH
+            : "blocks byte length must be " + indexes.length * CommonConstants.BLOCK_BYTE_LENGTH;
+        assert outputs.length == blocks.length;
+        byte[] block = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
+        for (int i = 0; i < indexes.length; i++) {
+            int offset = i * CommonConstants.BLOCK_BYTE_LENGTH;
+            System.arraycopy(blocks, offset, block, 0, CommonConstants.BLOCK_BYTE_LENGTH);
+            System.arraycopy(hash(indexes[i], block), 0, outputs, offset, CommonConstants.BLOCK_BYTE_LENGTH);
+        }
+    }
+
+    /**
+     * 将一组输入分组哈希为输出分组，第i个分组使用索引值indexes[i]。哈希结果写入调用方提供的分组中，可以与输入为同一组分组。
+     *
+     * @param indexes 索引值。
+     * @param blocks  输入分组。
+     * @param outputs 哈希结果的输出缓存区。
+     */
+    default void hash(int[] indexes, byte[][] blocks, byte[][] outputs) {
+        assert blocks.length == indexes.length;
+        assert outputs.length == blocks.length;
+        byte[] flattenBlocks = PrpUtils.flatten(blocks);
+        hash(indexes, flattenBlocks, flattenBlocks);
+        PrpUtils.unflatten(flattenBlocks, outputs);
+    }
+
     /**
      * 将如数的分组哈希为输出分组。
      *
@@ -49,6 +49,27 @@ class TmmoTcrhf implements Tcrhf {
         return output;
     }
 
+    @Override
+    public void hash(int[] indexes, byte[] blocks, byte[] outputs) {
+        assert blocks.length == indexes.length * CommonConstants.BLOCK_BYTE_LENGTH;
+        assert outputs.length == blocks.length;
+        // π(x)
+        byte[] pais = new byte[blocks.length];
+        prp.prp(blocks, pais);
+        // π(x) ⊕ i，索引值为每个分组的最后4个字节
+        byte[] xorPais = BytesUtils.clone(pais);
+        for (int i = 0; i < indexes.length; i++) {
+            int offset = (i + 1) * CommonConstants.BLOCK_BYTE_LENGTH - Integer.BYTES;
+            xorPais[offset] ^= (byte) (indexes[i] >>> 24);
+            xorPais[offset + 1] ^= (byte) (indexes[i] >>> 16);
+            xorPais[offset + 2] ^= (byte) (indexes[i] >>> 8);
+            xorPais[offset + 3] ^= (byte) indexes[i];
+        }
+        // TMMO(x) = π(π(x) ⊕ i) ⊕ π(x)
+        prp.prp(xorPais, outputs);
+        BytesUtils.xori(outputs, pais);
+    }
+
     @Override
     public byte[] hash(int leftIndex, int rightIndex, byte[] block) {
         // 将两个索引值转换为indexBytes的最后8个字节
@@ -17,6 +17,33 @@ public interface Gf2k extends BytesField {
      */
     Gf2kType getGf2kType();
 
+    /**
+     * Computes the inner product Σ_i p_i · q_i.
+     *
+     * @param ps the elements p_i.
+     * @param qs the elements q_i.
+     * @return Σ_i p_i · q_i.
+     */
+    default byte[] innerProduct(byte[][] ps, byte[][] qs) {
+        assert ps.length == qs.length : "ps.length (" + ps.length + ") must be equal to qs.length (" + qs.length + ")";
+        byte[] result = createZero();
+        for (int i = 0; i < ps.length; i++) {
+            addi(result, mul(ps[i], qs[i]));
+        }
+        return result;
+    }
+
+    /**
+     * Creates a multiplier for repeated multiplications by the fixed element c.
+     *
+     * @param c the fixed element c.
+     * @return the multiplier.
+     */
+    default Gf2kFixedMultiplier createFixedMultiplier(byte[] c) {
+        assert validateElement(c);
+        return new Gf2kFixedMultiplier(c);
+    }
+
     /**
      * Gets the name.
      *
@@ -36,6 +36,10 @@ public class Gf2kFactory {
          * Rings
          */
         RINGS,
+        /**
+         * JDK
+         */
+        JDK,
     }
 
     /**
@@ -55,6 +59,8 @@ public class Gf2kFactory {
                 return new BcGf2k(envType);
             case RINGS:
                 return new RingsGf2k(envType);
+            case JDK:
+                return new JdkGf2k(envType);
             default:
                 throw new IllegalArgumentException("Invalid " + Gf2kType.class.getSimpleName() + ": " + type.name());
         }
@@ -73,7 +79,7 @@ public class Gf2kFactory {
             case STANDARD_JDK:
             case INLAND:
             case INLAND_JDK:
-                return new BcGf2k(envType);
+                return new JdkGf2k(envType);
             default:
                 throw new IllegalArgumentException("Invalid " + EnvType.class.getSimpleName() + ": " + envType.name());
         }
@@ -0,0 +1,188 @@
+package edu.alibaba.mpc4j.common.tool.galoisfield.gf2k;
+
+import edu.alibaba.mpc4j.common.tool.CommonConstants;
+
+/**
+ * GF(2^128) multiplier for a fixed element c, used when many elements are multiplied by the same c (e.g., Δ). The
+ * multiplier precomputes Shoup's tables M[d] = c · d for all w-bit d, and R[o] = o · X^128 mod f(X) for all w-bit o.
+ * Each multiplication is then a Horner evaluation over the w-bit digits of the other operand, with one table lookup
+ * and one shift per digit. See:
+ * <p>
+ * Victor Shoup. On fast and provably secure message authentication based on universal hashing. CRYPTO 1996.
+ * </p>
+ * The multiplier is immutable and thread-safe.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/19
+ */
+public class Gf2kFixedMultiplier {
+    /**
+     * default window size
+     */
+    public static final int DEFAULT_WINDOW_SIZE = 8;
+    /**
+     * window size
+     */
+    private final int windowSize;
+    /**
+     * digit mask
+     */
+    private final long digitMask;
+    /**
+     * number of digits
+     */
+    private final int digitNum;
+    /**
+     * the fixed element c
+     */
+    private final byte[] c;
+    /**
+     * high 64 bits of M[d] = c · d
+     */
+    private final long[] mHiTable;
+    /**
+     * low 64 bits of M[d] = c · d
+     */
+    private final long[] mLoTable;
+    /**
+     * R[o] = o · (X^7 + X^2 + X + 1), fits in 64 bits
+     */
+    private final long[] rTable;
+
+    /**
+     * Creates a multiplier with the default window size.
+     *
+     * @param c the fixed element c.
+     */
+    public Gf2kFixedMultiplier(byte[] c) {
+        this(c, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Creates a multiplier.
+     *
+     * @param c          the fixed element c.
+     * @param windowSize window size, must be 4 or 8.
+     */
+    public Gf2kFixedMultiplier(byte[] c, int windowSize) {
+        assert c.length == CommonConstants.BLOCK_BYTE_LENGTH
+            : "c must be in range [0, 2^" + CommonConstants.BLOCK_BIT_LENGTH + "): " + c.length;
+        assert windowSize == 4 || windowSize == 8 : "window size must be 4 or 8: " + windowSize;
+        this.c = c.clone();
+        this.windowSize = windowSize;
+        int tableSize = 1 << windowSize;
+        digitMask = tableSize - 1;
+        digitNum = CommonConstants.BLOCK_BIT_LENGTH / windowSize;
+        mHiTable = new long[tableSize];
+        mLoTable = new long[tableSize];
+        rTable = new long[tableSize];
+        mHiTable[1] = JdkGf2k.getHi(c);
+        mLoTable[1] = JdkGf2k.getLo(c);
+        for (int d = 2; d < tableSize; d++) {
+            if ((d & 1) == 0) {
+                // M[d] = M[d / 2] · X
+                long hi = mHiTable[d >>> 1];
+                long lo = mLoTable[d >>> 1];
+                long overflow = hi >>> 63;
+                mHiTable[d] = (hi << 1) | (lo >>> 63);
+                mLoTable[d] = (lo << 1) ^ (overflow * 0x87L);
+            } else {
+                // M[d] = M[d - 1] + c
+                mHiTable[d] = mHiTable[d - 1] ^ mHiTable[1];
+                mLoTable[d] = mLoTable[d - 1] ^ mLoTable[1];
+            }
+        }
+        for (int o = 0; o < tableSize; o++) {
+            long lo = o;
+            rTable[o] = lo ^ (lo << 1) ^ (lo << 2) ^ (lo << 7);
+        }
+    }
+
+    /**
+     * Computes c · (hi, lo).
+     *
+     * @param hi high 64 bits of the other operand.
+     * @param lo low 64 bits of the other operand.
+     * @param r  the result (hi, lo).
+     */
+    public void mul(long hi, long lo, long[] r) {
+        long zHi = 0L;
+        long zLo = 0L;
+        int shiftBack = Long.SIZE - windowSize;
+        for (int digitIndex = digitNum - 1; digitIndex >= 0; digitIndex--) {
+            // Z = Z · X^w
+            int overflow = (int) (zHi >>> shiftBack);
+            zHi = (zHi << windowSize) | (zLo >>> shiftBack);
+            zLo = (zLo << windowSize) ^ rTable[overflow];
+            // Z = Z + M[d]
+            int offset = digitIndex * windowSize;
+            int digit = offset >= Long.SIZE
+                ? (int) ((hi >>> (offset - Long.SIZE)) & digitMask)
+                : (int) ((lo >>> offset) & digitMask);
+            zHi ^= mHiTable[digit];
+            zLo ^= mLoTable[digit];
+        }
+        r[0] = zHi;
+        r[1] = zLo;
+    }
+
+    /**
+     * Computes c · q.
+     *
+     * @param q the other operand q.
+     * @return c · q.
+     */
+    public byte[] mul(byte[] q) {
+        assert q.length == CommonConstants.BLOCK_BYTE_LENGTH;
+        long[] r = new long[2];
+        mul(JdkGf2k.getHi(q), JdkGf2k.getLo(q), r);
+        return JdkGf2k.toByteArray(r[0], r[1]);
+    }
+
+    /**
+     * Computes q = c · q.
+     *
+     * @param q the other operand q.
+     */
+    public void muli(byte[] q) {
+        assert q.length == CommonConstants.BLOCK_BYTE_LENGTH;
+        long[] r = new long[2];
+        mul(JdkGf2k.getHi(q), JdkGf2k.getLo(q), r);
+        JdkGf2k.setLongs(q, r[0], r[1]);
+    }
+
+    /**
+     * Computes c · q_i for all q_i.
+     *
+     * @param qs the other operands q_i.
+     * @return c · q_i.
+     */
+    public byte[][] mul(byte[][] qs) {
+        byte[][] rs = new byte[qs.length][];
+        long[] r = new long[2];
+        for (int i = 0; i < qs.length; i++) {
+            assert qs[i].length == CommonConstants.BLOCK_BYTE_LENGTH;
+            mul(JdkGf2k.getHi(qs[i]), JdkGf2k.getLo(qs[i]), r);
+            rs[i] = JdkGf2k.toByteArray(r[0], r[1]);
+        }
+        return rs;
+    }
+
+    /**
+     * Gets the fixed element c.
+     *
+     * @return the fixed element c.
+     */
+    public byte[] getC() {
+        return c.clone();
+    }
+
+    /**
+     * Gets the window size.
+     *
+     * @return the window size.
+     */
+    public int getWindowSize() {
+        return windowSize;
+    }
+}
@@ -59,12 +59,7 @@ public class Gf2kGadget {
      */
     public byte[] innerProduct(byte[][] inputArray) {
         assert inputArray.length == l : "input array length must equal to " + l + ": " + inputArray.length;
-        byte[] result = new byte[byteL];
-        for (int i = 0; i < l; i++) {
-            byte[] product = gf2k.mul(gadgetArray[i], inputArray[i]);
-            gf2k.addi(result, product);
-        }
-        return result;
+        return gf2k.innerProduct(gadgetArray, inputArray);
     }
 
     /**
@@ -0,0 +1,283 @@
+package edu.alibaba.mpc4j.common.tool.galoisfield.gf2k;
+
+import edu.alibaba.mpc4j.common.tool.EnvType;
+
+/**
+ * JDK GF(2^128) with word-level carry-less multiplication. An element is represented by two longs (hi, lo) of its
+ * big-endian encoding, i.e., the i-th bit of (hi || lo) is the coefficient of X^i. The modulus is the GCM polynomial
+ * X^128 + X^7 + X^2 + X + 1, the same as other GF(2^128) implementations.
+ * <p>
+ * Multiplications use the Karatsuba method over 64-bit carry-less multiplications with 4-bit windows, so that no
+ * bit-reversal and no intermediate byte array is needed. Inner products accumulate unreduced 256-bit products and
+ * reduce only once.
+ * </p>
+ *
+ * @author Weiran Liu
+ * @date 2023/7/19
+ */
+class JdkGf2k extends AbstractGf2k {
+
+    JdkGf2k(EnvType envType) {
+        super(envType);
+    }
+
+    @Override
+    public Gf2kFactory.Gf2kType getGf2kType() {
+        return Gf2kFactory.Gf2kType.JDK;
+    }
+
+    @Override
+    public byte[] mul(byte[] p, byte[] q) {
+        assert validateElement(p);
+        assert validateElement(q);
+        long[] r = new long[2];
+        mul(getHi(p), getLo(p), getHi(q), getLo(q), r);
+        return toByteArray(r[0], r[1]);
+    }
+
+    @Override
+    public void muli(byte[] p, byte[] q) {
+        assert validateElement(p);
+        assert validateElement(q);
+        long[] r = new long[2];
+        mul(getHi(p), getLo(p), getHi(q), getLo(q), r);
+        setLongs(p, r[0], r[1]);
+    }
+
+    @Override
+    public byte[] div(byte[] p, byte[] q) {
+        byte[] qInv = inv(q);
+        return mul(p, qInv);
+    }
+
+    @Override
+    public void divi(byte[] p, byte[] q) {
+        byte[] qInv = inv(q);
+        muli(p, qInv);
+    }
+
+    @Override
+    public byte[] inv(byte[] p) {
+        assert validateNonZeroElement(p);
+        long[] r = new long[2];
+        inv(getHi(p), getLo(p), r);
+        return toByteArray(r[0], r[1]);
+    }
+
+    @Override
+    public void invi(byte[] p) {
+        assert validateNonZeroElement(p);
+        long[] r = new long[2];
+        inv(getHi(p), getLo(p), r);
+        setLongs(p, r[0], r[1]);
+    }
+
+    @Override
+    public byte[] innerProduct(byte[][] ps, byte[][] qs) {
+        assert ps.length == qs.length : "ps.length (" + ps.length + ") must be equal to qs.length (" + qs.length + ")";
+        // accumulate unreduced products, reduction is linear so that we only need to reduce once
+        long[] product = new long[4];
+        long[] sum = new long[4];
+        for (int i = 0; i < ps.length; i++) {
+            assert validateElement(ps[i]);
+            assert validateElement(qs[i]);
+            clmul128(getHi(ps[i]), getLo(ps[i]), getHi(qs[i]), getLo(qs[i]), product);
+            sum[0] ^= product[0];
+            sum[1] ^= product[1];
+            sum[2] ^= product[2];
+            sum[3] ^= product[3];
+        }
+        long[] r = new long[2];
+        reduce(sum, r);
+        return toByteArray(r[0], r[1]);
+    }
+
+    /**
+     * Gets the high 64 bits of the element.
+     *
+     * @param p the element.
+     * @return the high 64 bits.
+     */
+    static long getHi(byte[] p) {
+        return getLong(p, 0);
+    }
+
+    /**
+     * Gets the low 64 bits of the element.
+     *
+     * @param p the element.
+     * @return the low 64 bits.
+     */
+    static long getLo(byte[] p) {
+        return getLong(p, Long.BYTES);
+    }
+
+    private static long getLong(byte[] p, int offset) {
+        return ((long) p[offset] << 56)
+            | ((long) (p[offset + 1] & 0xFF) << 48)
+            | ((long) (p[offset + 2] & 0xFF) << 40)
+            | ((long) (p[offset + 3] & 0xFF) << 32)
+            | ((long) (p[offset + 4] & 0xFF) << 24)
+            | ((long) (p[offset + 5] & 0xFF) << 16)
+            | ((long) (p[offset + 6] & 0xFF) << 8)
+            | ((long) (p[offset + 7] & 0xFF));
+    }
+
+    /**
+     * Sets the element as (hi, lo).
+     *
+     * @param p  the element.
+     * @param hi the high 64 bits.
+     * @param lo the low 64 bits.
+     */
+    static void setLongs(byte[] p, long hi, long lo) {
+        for (int i = 0; i < Long.BYTES; i++) {
+            p[i] = (byte) (hi >>> (56 - (i << 3)));
+            p[Long.BYTES + i] = (byte) (lo >>> (56 - (i << 3)));
+        }
+    }
+
+    /**
+     * Creates the element (hi, lo).
+     *
+     * @param hi the high 64 bits.
+     * @param lo the low 64 bits.
+     * @return the element.
+     */
+    static byte[] toByteArray(long hi, long lo) {
+        byte[] p = new byte[BYTE_L];
+        setLongs(p, hi, lo);
+        return p;
+    }
+
+    /**
+     * Computes the 128-bit carry-less product of two 64-bit polynomials with 4-bit windows.
+     *
+     * @param a     the first polynomial.
+     * @param b     the second polynomial.
+     * @param table the scratch table with 32 longs.
+     * @param r     the product (hi, lo), stored in r[offset] and r[offset + 1].
+     */
+    private static void clmul64(long a, long b, long[] table, long[] r, int offset) {
+        // table[2u] || table[2u + 1] = a · u for all 4-bit u, the product has at most 67 bits
+        table[0] = 0L;
+        table[1] = 0L;
+        for (int u = 1; u < 16; u++) {
+            if ((u & 1) == 0) {
+                int half = u >>> 1;
+                table[u << 1] = (table[half << 1] << 1) | (table[(half << 1) + 1] >>> 63);
+                table[(u << 1) + 1] = table[(half << 1) + 1] << 1;
+            } else {
+                table[u << 1] = table[(u - 1) << 1];
+                table[(u << 1) + 1] = table[((u - 1) << 1) + 1] ^ a;
+            }
+        }
+        int nibble = (int) (b & 0x0F);
+        long hi = table[nibble << 1];
+        long lo = table[(nibble << 1) + 1];
+        for (int shift = 4; shift < Long.SIZE; shift += 4) {
+            nibble = (int) ((b >>> shift) & 0x0F);
+            long tableLo = table[(nibble << 1) + 1];
+            lo ^= tableLo << shift;
+            hi ^= (tableLo >>> (Long.SIZE - shift)) ^ (table[nibble << 1] << shift);
+        }
+        r[offset] = hi;
+        r[offset + 1] = lo;
+    }
+
+    /**
+     * Computes the unreduced 256-bit product of two 128-bit polynomials with the Karatsuba method.
+     *
+     * @param aHi high 64 bits of a.
+     * @param aLo low 64 bits of a.
+     * @param bHi high 64 bits of b.
+     * @param bLo low 64 bits of b.
+     * @param r   the product (r[0] || r[1] || r[2] || r[3]), r[0] contains the highest bits.
+     */
+    static void clmul128(long aHi, long aLo, long bHi, long bLo, long[] r) {
+        long[] table = new long[32];
+        // z2 = aHi · bHi, z0 = aLo · bLo, z1 = (aHi + aLo) · (bHi + bLo) - z2 - z0
+        clmul64(aHi, bHi, table, r, 0);
+        clmul64(aLo, bLo, table, r, 2);
+        long[] z1 = new long[2];
+        clmul64(aHi ^ aLo, bHi ^ bLo, table, z1, 0);
+        z1[0] ^= r[0] ^ r[2];
+        z1[1] ^= r[1] ^ r[3];
+        r[1] ^= z1[0];
+        r[2] ^= z1[1];
+    }
+
+    /**
+     * Reduces the 256-bit polynomial modulo X^128 + X^7 + X^2 + X + 1.
+     *
+     * @param w the 256-bit polynomial (w[0] || w[1] || w[2] || w[3]), w[0] contains the highest bits.
+     * @param r the result (hi, lo).
+     */
+    static void reduce(long[] w, long[] r) {
+        long w3 = w[0];
+        long w2 = w[1];
+        // H · X^128 = H · (X^7 + X^2 + X + 1), bits beyond 128 bits of H · (X^7 + X^2 + X) are reduced again
+        long overflow = (w3 >>> 63) ^ (w3 >>> 62) ^ (w3 >>> 57);
+        r[0] = w[2] ^ w3 ^ ((w3 << 1) | (w2 >>> 63)) ^ ((w3 << 2) | (w2 >>> 62)) ^ ((w3 << 7) | (w2 >>> 57));
+        r[1] = w[3] ^ w2 ^ (w2 << 1) ^ (w2 << 2) ^ (w2 << 7)
+            ^ overflow ^ (overflow << 1) ^ (overflow << 2) ^ (overflow << 7);
+    }
+
+    /**
+     * Computes a · b.
+     *
+     * @param aHi high 64 bits of a.
+     * @param aLo low 64 bits of a.
+     * @param bHi high 64 bits of b.
+     * @param bLo low 64 bits of b.
+     * @param r   the result (hi, lo).
+     */
+    static void mul(long aHi, long aLo, long bHi, long bLo, long[] r) {
+        long[] w = new long[4];
+        clmul128(aHi, aLo, bHi, bLo, w);
+        reduce(w, r);
+    }
+
+    /**
+     * Computes a^{-1} = a^{2^128 - 2} with the Itoh-Tsujii addition chain.
+     *
+     * @param aHi high 64 bits of a.
+     * @param aLo low 64 bits of a.
+     * @param r   the result (hi, lo).
+     */
+    static void inv(long aHi, long aLo, long[] r) {
+        // a^{2^128 - 2} = (a^{2^127 - 1})^2
+        long[] t = pow2kMinus1(aHi, aLo, 127);
+        mul(t[0], t[1], t[0], t[1], r);
+    }
+
+    /**
+     * Computes a^{2^k - 1} for k ≥ 1 with the binary addition chain of k.
+     *
+     * @param aHi high 64 bits of a.
+     * @param aLo low 64 bits of a.
+     * @param k   k.
+     * @return a^{2^k - 1}.
+     */
+    private static long[] pow2kMinus1(long aHi, long aLo, int k) {
+        // t = a^{2^m - 1}, initially m = 1
+        long[] t = new long[]{aHi, aLo};
+        int m = 1;
+        for (int bit = Integer.SIZE - Integer.numberOfLeadingZeros(k) - 2; bit >= 0; bit--) {
+            // t = t^{2^m} · t = a^{2^{2m} - 1}
+            long[] s = new long[]{t[0], t[1]};
+            for (int j = 0; j < m; j++) {
+                mul(s[0], s[1], s[0], s[1], s);
+            }
+            mul(t[0], t[1], s[0], s[1], t);
+            m <<= 1;
+            if (((k >>> bit) & 1) == 1) {
+                // t = t^2 · a = a^{2^{m + 1} - 1}
+                mul(t[0], t[1], t[0], t[1], t);
+                mul(t[0], t[1], aHi, aLo, t);
+                m++;
+            }
+        }
+        return t;
+    }
+}
@@ -0,0 +1,56 @@
+package edu.alibaba.mpc4j.common.tool.hashbin;
+
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasherFactory.MultiIndexHasherType;
+
+/**
+ * multi-index hasher. It maps an item to hashNum bin indexes in [0, binNum), where the i-th index is the bin given by
+ * the i-th hash function. All methods are thread-safe, so that bin indexes of different items can be computed in
+ * parallel.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/14
+ */
+public interface MultiIndexHasher {
+    /**
+     * Gets the number of hash functions.
+     *
+     * @return the number of hash functions.
+     */
+    int getHashNum();
+
+    /**
+     * Gets the hash keys.
+     *
+     * @return the hash keys.
+     */
+    byte[][] getKeys();
+
+    /**
+     * Computes all bin indexes of the item.
+     *
+     * @param item   the item.
+     * @param binNum the number of bins.
+     * @return the bin indexes, the i-th of which is the bin index given by the i-th hash function.
+     */
+    int[] getIndexes(byte[] item, int binNum);
+
+    /**
+     * Computes the bin index of the item given by the hash function.
+     *
+     * @param hashIndex the hash function index.
+     * @param item      the item.
+     * @param binNum    the number of bins.
+     * @return the bin index.
+     */
+    default int getIndex(int hashIndex, byte[] item, int binNum) {
+        assert hashIndex >= 0 && hashIndex < getHashNum() : "hashIndex must be in range [0, " + getHashNum() + ")";
+        return getIndexes(item, binNum)[hashIndex];
+    }
+
+    /**
+     * Gets the type.
+     *
+     * @return the type.
+     */
+    MultiIndexHasherType getType();
+}
@@ -0,0 +1,61 @@
+package edu.alibaba.mpc4j.common.tool.hashbin;
+
+import edu.alibaba.mpc4j.common.tool.EnvType;
+
+/**
+ * multi-index hasher factory.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/14
+ */
+public class MultiIndexHasherFactory {
+    /**
+     * private constructor.
+     */
+    private MultiIndexHasherFactory() {
+        // empty
+    }
+
+    /**
+     * multi-index hasher type
+     */
+    public enum MultiIndexHasherType {
+        /**
+         * one PRF for each hash function, keyed by the corresponding key. The bin indexes are the same as computing
+         * Prf.getInteger(item, binNum) for each key. Use it only when the bin indexes must match ones computed that way
+         * by a party that is not upgraded.
+         */
+        PRF,
+        /**
+         * one PRP evaluation (CBC-MAC) for each item, whose 128-bit output is split into 32-bit bin indexes. Only the
+         * first key is used.
+         */
+        PRP,
+    }
+
+    /**
+     * the default type. Both parties must use the same type, so protocols that recompute bin indexes from the hash
+     * keys create their hashers with this type as well.
+     */
+    public static final MultiIndexHasherType DEFAULT_TYPE = MultiIndexHasherType.PRP;
+
+    /**
+     * Creates a multi-index hasher.
+     *
+     * @param envType the environment.
+     * @param type    the type.
+     * @param keys    the hash keys, one for each hash function.
+     * @return a multi-index hasher.
+     */
+    public static MultiIndexHasher createInstance(EnvType envType, MultiIndexHasherType type, byte[][] keys) {
+        assert keys.length > 0 : "# of keys must be greater than 0: " + keys.length;
+        switch (type) {
+            case PRF:
+                return new PrfMultiIndexHasher(envType, keys);
+            case PRP:
+                return new PrpMultiIndexHasher(envType, keys);
+            default:
+                throw new IllegalArgumentException("Invalid " + MultiIndexHasherType.class.getSimpleName() + ": " + type.name());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package edu.alibaba.mpc4j.common.tool.hashbin;
+
+import edu.alibaba.mpc4j.common.tool.EnvType;
+import edu.alibaba.mpc4j.common.tool.crypto.prf.Prf;
+import edu.alibaba.mpc4j.common.tool.crypto.prf.PrfFactory;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasherFactory.MultiIndexHasherType;
+import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
+
+import java.util.Arrays;
+
+/**
+ * multi-index hasher with one PRF for each hash function. The i-th bin index is Prf.getInteger(item, binNum) under the
+ * i-th key. PRFs are not thread-safe, so each thread uses its own PRFs.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/14
+ */
+class PrfMultiIndexHasher implements MultiIndexHasher {
+    /**
+     * hash keys
+     */
+    private final byte[][] keys;
+    /**
+     * PRFs of each thread
+     */
+    private final ThreadLocal<Prf[]> hashes;
+
+    PrfMultiIndexHasher(EnvType envType, byte[][] keys) {
+        this.keys = BytesUtils.clone(keys);
+        hashes = ThreadLocal.withInitial(() -> Arrays.stream(this.keys)
+            .map(key -> {
+                Prf prf = PrfFactory.createInstance(envType, Integer.BYTES);
+                prf.setKey(key);
+                return prf;
+            })
+            .toArray(Prf[]::new)
+        );
+    }
+
+    @Override
+    public int getHashNum() {
+        return keys.length;
+    }
+
+    @Override
+    public byte[][] getKeys() {
+        return keys;
+    }
+
+    @Override
+    public int[] getIndexes(byte[] item, int binNum) {
+        Prf[] threadHashes = hashes.get();
+        int[] indexes = new int[threadHashes.length];
+        for (int hashIndex = 0; hashIndex < threadHashes.length; hashIndex++) {
+            indexes[hashIndex] = threadHashes[hashIndex].getInteger(item, binNum);
+        }
+        return indexes;
+    }
+
+    @Override
+    public int getIndex(int hashIndex, byte[] item, int binNum) {
+        assert hashIndex >= 0 && hashIndex < keys.length : "hashIndex must be in range [0, " + keys.length + ")";
+        return hashes.get()[hashIndex].getInteger(item, binNum);
+    }
+
+    @Override
+    public MultiIndexHasherType getType() {
+        return MultiIndexHasherType.PRF;
+    }
+}
@@ -0,0 +1,112 @@
+package edu.alibaba.mpc4j.common.tool.hashbin;
+
+import edu.alibaba.mpc4j.common.tool.CommonConstants;
+import edu.alibaba.mpc4j.common.tool.EnvType;
+import edu.alibaba.mpc4j.common.tool.crypto.prp.Prp;
+import edu.alibaba.mpc4j.common.tool.crypto.prp.PrpFactory;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasherFactory.MultiIndexHasherType;
+import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
+import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
+import org.bouncycastle.util.Pack;
+
+/**
+ * multi-index hasher with one PRP evaluation for each item. The item is left-padded with zeros to whole blocks and
+ * hashed by CBC-MAC with the item length as IV, using the PRP keyed by the first key. The 128-bit output is split into
+ * four 32-bit values, each of which gives one bin index. If there are more than four hash functions, the j-th extra
+ * block is π(MAC ⊕ j).
+ * <p>
+ * The PRP is evaluated by its batch API, which is thread-safe, so that the hasher can be shared by threads.
+ * </p>
+ *
+ * @author Weiran Liu
+ * @date 2023/7/14
+ */
+class PrpMultiIndexHasher implements MultiIndexHasher {
+    /**
+     * number of bin indexes given by one block
+     */
+    private static final int INDEX_NUM_PER_BLOCK = CommonConstants.BLOCK_BYTE_LENGTH / Integer.BYTES;
+    /**
+     * hash keys
+     */
+    private final byte[][] keys;
+    /**
+     * number of hash functions
+     */
+    private final int hashNum;
+    /**
+     * number of output blocks
+     */
+    private final int blockNum;
+    /**
+     * the PRP
+     */
+    private final Prp prp;
+
+    PrpMultiIndexHasher(EnvType envType, byte[][] keys) {
+        this.keys = BytesUtils.clone(keys);
+        hashNum = keys.length;
+        blockNum = CommonUtils.getUnitNum(hashNum, INDEX_NUM_PER_BLOCK);
+        prp = PrpFactory.createInstance(envType);
+        prp.setKey(keys[0]);
+    }
+
+    @Override
+    public int getHashNum() {
+        return hashNum;
+    }
+
+    @Override
+    public byte[][] getKeys() {
+        return keys;
+    }
+
+    @Override
+    public int[] getIndexes(byte[] item, int binNum) {
+        assert binNum > 0 : "binNum must be greater than 0: " + binNum;
+        int[] indexes = new int[hashNum];
+        if (binNum == 1) {
+            // all items are in the only bin
+            return indexes;
+        }
+        byte[] outputs = new byte[blockNum * CommonConstants.BLOCK_BYTE_LENGTH];
+        mac(item, outputs);
+        if (blockNum > 1) {
+            // the j-th extra block is π(MAC ⊕ j)
+            byte[] extraBlocks = new byte[(blockNum - 1) * CommonConstants.BLOCK_BYTE_LENGTH];
+            for (int blockIndex = 1; blockIndex < blockNum; blockIndex++) {
+                int offset = (blockIndex - 1) * CommonConstants.BLOCK_BYTE_LENGTH;
+                System.arraycopy(outputs, 0, extraBlocks, offset, CommonConstants.BLOCK_BYTE_LENGTH);
+                int counterOffset = offset + CommonConstants.BLOCK_BYTE_LENGTH - Integer.BYTES;
+                Pack.intToBigEndian(Pack.bigEndianToInt(extraBlocks, counterOffset) ^ blockIndex, extraBlocks, counterOffset);
+            }
+            prp.prp(extraBlocks, extraBlocks);
+            System.arraycopy(extraBlocks, 0, outputs, CommonConstants.BLOCK_BYTE_LENGTH, extraBlocks.length);
+        }
+        for (int hashIndex = 0; hashIndex < hashNum; hashIndex++) {
+            indexes[hashIndex] = Math.abs(Pack.bigEndianToInt(outputs, hashIndex * Integer.BYTES) % binNum);
+        }
+        return indexes;
+    }
+
+    private void mac(byte[] item, byte[] output) {
+        // IV is the item length, so that left-padding zeros does not lead to collisions
+        byte[] state = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
+        Pack.intToBigEndian(item.length, state, 0);
+        int itemBlockNum = Math.max(1, CommonUtils.getUnitNum(item.length, CommonConstants.BLOCK_BYTE_LENGTH));
+        int paddingByteLength = itemBlockNum * CommonConstants.BLOCK_BYTE_LENGTH - item.length;
+        for (int blockIndex = 0; blockIndex < itemBlockNum; blockIndex++) {
+            int blockOffset = blockIndex * CommonConstants.BLOCK_BYTE_LENGTH - paddingByteLength;
+            for (int byteIndex = Math.max(0, -blockOffset); byteIndex < CommonConstants.BLOCK_BYTE_LENGTH; byteIndex++) {
+                state[byteIndex] ^= item[blockOffset + byteIndex];
+            }
+            prp.prp(state, state);
+        }
+        System.arraycopy(state, 0, output, 0, CommonConstants.BLOCK_BYTE_LENGTH);
+    }
+
+    @Override
+    public MultiIndexHasherType getType() {
+        return MultiIndexHasherType.PRP;
+    }
+}
@@ -1,9 +1,10 @@
 package edu.alibaba.mpc4j.common.tool.hashbin.object;
 
 import edu.alibaba.mpc4j.common.tool.EnvType;
-import edu.alibaba.mpc4j.common.tool.crypto.prf.Prf;
-import edu.alibaba.mpc4j.common.tool.crypto.prf.PrfFactory;
 import edu.alibaba.mpc4j.common.tool.hashbin.MaxBinSizeUtils;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasher;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasherFactory;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasherFactory.MultiIndexHasherType;
 import edu.alibaba.mpc4j.common.tool.utils.BigIntegerUtils;
 
 import java.math.BigInteger;
@@ -34,7 +35,7 @@ public class PhaseHashBin implements HashBin<BigInteger> {
     /**
      * 带密钥哈希函数
      */
-    private final Prf hash;
+    private final MultiIndexHasher hasher;
     /**
      * 哈希桶个数
      */
@@ -98,6 +99,34 @@ public class PhaseHashBin implements HashBin<BigInteger> {
      * @param key 哈希密钥。
      */
     public PhaseHashBin(EnvType envType, int binNum, int maxBinSize, int maxItemSize, byte[] key) {
+        this(envType, MultiIndexHasherFactory.DEFAULT_TYPE, binNum, maxBinSize, maxItemSize, key);
+    }
+
+    /**
+     * 初始化Phase哈希桶。
+     *
+     * @param envType     环境类型。
+     * @param hasherType  多索引哈希函数类型。
+     * @param binNum      哈希桶数量。
+     * @param maxItemSize 元素总个数。
+     * @param key         哈希密钥。
+     */
+    public PhaseHashBin(EnvType envType, MultiIndexHasherType hasherType, int binNum, int maxItemSize, byte[] key) {
+        this(envType, hasherType, binNum, MaxBinSizeUtils.expectMaxBinSize(maxItemSize, binNum), maxItemSize, key);
+    }
+
+    /**
+     * 初始化Phase哈希桶。
+     *
+     * @param envType     环境类型。
+     * @param hasherType  多索引哈希函数类型。
+     * @param binNum      哈希桶数量。
+     * @param maxBinSize  哈希桶最大元素个数。
+     * @param maxItemSize 元素总个数。
+     * @param key         哈希密钥。
+     */
+    public PhaseHashBin(EnvType envType, MultiIndexHasherType hasherType, int binNum, int maxBinSize,
+                        int maxItemSize, byte[] key) {
         assert binNum > 0;
         assert maxBinSize > 0;
         // 哈希数量乘以最大元素数量 <= 桶数量 * 每个桶的最大数
@@ -107,8 +136,7 @@ public class PhaseHashBin implements HashBin<BigInteger> {
         this.maxBinSize = maxBinSize;
         this.maxItemSize = maxItemSize;
         // 初始化哈希函数
-        hash = PrfFactory.createInstance(envType, Integer.BYTES);
-        hash.setKey(key);
+        hasher = MultiIndexHasherFactory.createInstance(envType, hasherType, new byte[][] {key});
         // 初始化哈希桶
         bins = IntStream.range(0, binNum)
             .mapToObj(binIndex -> {
@@ -134,9 +162,7 @@ public class PhaseHashBin implements HashBin<BigInteger> {
 
     @Override
     public byte[][] getHashKeys() {
-        byte[][] hashKeys = new byte[1][];
-        hashKeys[0] = hash.getKey();
-        return hashKeys;
+        return hasher.getKeys();
     }
 
     @Override
@@ -160,9 +186,12 @@ public class PhaseHashBin implements HashBin<BigInteger> {
         // 一次插入的元素数量小于等于预先设定好的数量
         assert items.size() <= maxItemSize;
         itemSize = 0;
+        // 并行计算所有元素的桶索引值，再依次插入
+        int[] binIndexes = items.parallelStream().mapToInt(this::phaseIndex).toArray();
+        int itemIndex = 0;
         for (BigInteger item : items) {
             // Phase元素，放入到适当的桶中
-            int binIndex = phaseIndex(item);
+            int binIndex = binIndexes[itemIndex++];
             BigInteger binItem = phaseItem(item);
             HashBinEntry<BigInteger> binHashEntry = HashBinEntry.fromRealItem(0, binItem);
             ArrayList<HashBinEntry<BigInteger>> bin = bins.get(binIndex);
@@ -199,7 +228,7 @@ public class PhaseHashBin implements HashBin<BigInteger> {
         assert BigIntegerUtils.greaterOrEqual(item, BigInteger.ZERO);
         // 将输入的数据转换为正数
         return item
-            .add(BigInteger.valueOf(hash.getInteger(item.divide(bigIntBinNum).toByteArray(), binNum)))
+            .add(BigInteger.valueOf(hasher.getIndex(0, item.divide(bigIntBinNum).toByteArray(), binNum)))
             .remainder(bigIntBinNum).intValue();
     }
 
@@ -223,7 +252,7 @@ public class PhaseHashBin implements HashBin<BigInteger> {
      */
     public BigInteger dephaseItem(int phaseIndex, BigInteger phaseItem) {
         assert phaseIndex >= 0 && phaseIndex < binNum;
-        int mod = phaseIndex - hash.getInteger(phaseItem.toByteArray(), binNum);
+        int mod = phaseIndex - hasher.getIndex(0, phaseItem.toByteArray(), binNum);
         mod = mod < 0 ? mod + binNum : mod;
         return BigInteger.valueOf(mod).remainder(bigIntBinNum).add(phaseItem.multiply(bigIntBinNum));
     }
@@ -1,9 +1,11 @@
 package edu.alibaba.mpc4j.common.tool.hashbin.object;
 
 import edu.alibaba.mpc4j.common.tool.EnvType;
-import edu.alibaba.mpc4j.common.tool.crypto.prf.Prf;
-import edu.alibaba.mpc4j.common.tool.crypto.prf.PrfFactory;
 import edu.alibaba.mpc4j.common.tool.hashbin.MaxBinSizeUtils;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasher;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasherFactory;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasherFactory.MultiIndexHasherType;
+import edu.alibaba.mpc4j.common.tool.utils.ObjectUtils;
 
 import java.security.SecureRandom;
 import java.util.*;
@@ -29,9 +31,9 @@ import java.util.stream.IntStream;
  */
 public class RandomPadHashBin<T> implements HashBin<T> {
     /**
-     * 带密钥哈希函数
+     * 多索引哈希函数
      */
-    private final Prf[] hashes;
+    private final MultiIndexHasher hasher;
     /**
      * 哈希桶个数
      */
@@ -87,6 +89,36 @@ public class RandomPadHashBin<T> implements HashBin<T> {
      * @param keys 哈希密钥。
      */
     public RandomPadHashBin(EnvType envType, int binNum, int maxBinSize, int maxItemSize, byte[][] keys) {
+        this(envType, MultiIndexHasherFactory.DEFAULT_TYPE, binNum, maxBinSize, maxItemSize, keys);
+    }
+
+    /**
+     * 初始化随机填充哈希桶。
+     *
+     * @param envType     环境类型。
+     * @param hasherType  多索引哈希函数类型。
+     * @param binNum      哈希桶数量。
+     * @param maxItemSize 元素总个数。
+     * @param keys        哈希密钥。
+     */
+    public RandomPadHashBin(EnvType envType, MultiIndexHasherType hasherType, int binNum, int maxItemSize, byte[][] keys) {
+        this(envType, hasherType, binNum, MaxBinSizeUtils.expectMaxBinSize(keys.length * maxItemSize, binNum),
+            maxItemSize, keys
+        );
+    }
+
+    /**
+     * 初始化随机填充哈希桶。
+     *
+     * @param envType     环境类型。
+     * @param hasherType  多索引哈希函数类型。
+     * @param binNum      哈希桶数量。
+     * @param maxBinSize  哈希桶最大元素个数。
+     * @param maxItemSize 元素总个数。
+     * @param keys        哈希密钥。
+     */
+    public RandomPadHashBin(EnvType envType, MultiIndexHasherType hasherType, int binNum, int maxBinSize,
+                            int maxItemSize, byte[][] keys) {
         assert keys.length > 0;
         assert binNum > 0;
         assert maxBinSize > 0;
@@ -96,13 +128,7 @@ public class RandomPadHashBin<T> implements HashBin<T> {
         this.maxBinSize = maxBinSize;
         this.maxItemSize = maxItemSize;
         // 初始化哈希函数
-        hashes = Arrays.stream(keys)
-            .map(key -> {
-                Prf prf = PrfFactory.createInstance(envType, Integer.BYTES);
-                prf.setKey(key);
-                return prf;
-            })
-            .toArray(Prf[]::new);
+        hasher = MultiIndexHasherFactory.createInstance(envType, hasherType, keys);
         // 初始化哈希桶
         bins = IntStream.range(0, binNum)
             .mapToObj(binIndex -> new HashSet<HashBinEntry<T>>(maxBinSize))
@@ -115,14 +141,12 @@ public class RandomPadHashBin<T> implements HashBin<T> {
 
     @Override
     public int getHashNum() {
-        return hashes.length;
+        return hasher.getHashNum();
     }
 
     @Override
     public byte[][] getHashKeys() {
-        return Arrays.stream(hashes)
-            .map(Prf::getKey)
-            .toArray(byte[][]::new);
+        return hasher.getKeys();
     }
 
     @Override
@@ -146,11 +170,17 @@ public class RandomPadHashBin<T> implements HashBin<T> {
         // 一次插入的元素数量小于等于预先设定好的数量
         assert items.size() <= maxItemSize;
         itemSize = 0;
+        // 并行计算所有元素的桶索引值，再依次插入
+        int[][] itemsBinIndexes = items.parallelStream()
+            .map(item -> hasher.getIndexes(ObjectUtils.objectToByteArray(item), binNum))
+            .toArray(int[][]::new);
+        int itemIndex = 0;
         for (T item : items) {
             // 遍历所有的哈希函数，对插入的元素求哈希，并插入到对应的桶中
-            for (int hashIndex = 0; hashIndex < hashes.length; hashIndex++) {
+            int[] itemBinIndexes = itemsBinIndexes[itemIndex++];
+            for (int hashIndex = 0; hashIndex < itemBinIndexes.length; hashIndex++) {
                 HashBinEntry<T> hashBinEntry = HashBinEntry.fromRealItem(hashIndex, item);
-                int binIndex = hashes[hashIndex].getInteger(hashBinEntry.getItemByteArray(), binNum);
+                int binIndex = itemBinIndexes[hashIndex];
                 // 桶添加元素
                 Set<HashBinEntry<T>> setBin = bins.get(binIndex);
                 if (setBin.add(hashBinEntry)) {
@@ -162,7 +192,7 @@ public class RandomPadHashBin<T> implements HashBin<T> {
                 }
             }
         }
-        assert itemSize == items.size() * hashes.length;
+        assert itemSize == items.size() * hasher.getHashNum();
         // 计算各个桶的元素数量，看是否超过了预估的最大值
         IntStream.range(0, binNum).forEach(binIndex -> {
             int binSize = bins.get(binIndex).size();
@@ -189,7 +219,7 @@ public class RandomPadHashBin<T> implements HashBin<T> {
     public boolean contains(T item) {
         // 只要第0个哈希所对应的BinHashItem在简单哈希里面，就意味着简单哈希包含此元素
         HashBinEntry<T> hashBinEntry = HashBinEntry.fromRealItem(0, item);
-        int binIndex = hashes[0].getInteger(hashBinEntry.getItemByteArray(), binNum);
+        int binIndex = hasher.getIndex(0, hashBinEntry.getItemByteArray(), binNum);
         return bins.get(binIndex).contains(hashBinEntry);
     }
 
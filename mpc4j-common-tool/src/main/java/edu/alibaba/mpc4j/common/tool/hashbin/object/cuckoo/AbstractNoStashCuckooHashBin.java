@@ -1,9 +1,11 @@
 package edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo;
 
 import edu.alibaba.mpc4j.common.tool.EnvType;
-import edu.alibaba.mpc4j.common.tool.crypto.prf.Prf;
-import edu.alibaba.mpc4j.common.tool.crypto.prf.PrfFactory;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasher;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasherFactory;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasherFactory.MultiIndexHasherType;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.HashBinEntry;
+import edu.alibaba.mpc4j.common.tool.utils.ObjectUtils;
 
 import java.security.SecureRandom;
 import java.util.Arrays;
@@ -33,13 +35,17 @@ class AbstractNoStashCuckooHashBin<T> implements NoStashCuckooHashBin<T> {
      */
     private final int binNum;
     /**
-     * 使用到的伪随机函数，实际上是哈希函数的个数
+     * 多索引哈希函数
      */
-    private final Prf[] hashes;
+    private final MultiIndexHasher hasher;
     /**
      * 桶
      */
     private final HashBinEntry<T>[] bins;
+    /**
+     * 桶中元素的桶索引值，用于踢出元素时避免重复计算哈希
+     */
+    private final int[][] binsItemIndexes;
     /**
      * 哈希桶中存储的元素数量
      */
@@ -57,11 +63,13 @@ class AbstractNoStashCuckooHashBin<T> implements NoStashCuckooHashBin<T> {
      */
     private boolean insertedPaddingItems;
 
-    AbstractNoStashCuckooHashBin(EnvType envType, CuckooHashBinFactory.CuckooHashBinType type, int maxItemSize, byte[][] keys) {
-        this(envType, type, maxItemSize, CuckooHashBinFactory.getBinNum(type, maxItemSize), keys);
+    AbstractNoStashCuckooHashBin(EnvType envType, MultiIndexHasherType hasherType,
+                                 CuckooHashBinFactory.CuckooHashBinType type, int maxItemSize, byte[][] keys) {
+        this(envType, hasherType, type, maxItemSize, CuckooHashBinFactory.getBinNum(type, maxItemSize), keys);
     }
 
-    AbstractNoStashCuckooHashBin(EnvType envType, CuckooHashBinFactory.CuckooHashBinType type, int maxItemSize, int binNum, byte[][] keys) {
+    AbstractNoStashCuckooHashBin(EnvType envType, MultiIndexHasherType hasherType,
+                                 CuckooHashBinFactory.CuckooHashBinType type, int maxItemSize, int binNum, byte[][] keys) {
         // 初始化布谷鸟哈希类型
         this.type = type;
         // 设置参数
@@ -69,16 +77,12 @@ class AbstractNoStashCuckooHashBin<T> implements NoStashCuckooHashBin<T> {
         hashNum = keys.length;
         this.binNum = binNum;
         // 初始化带密钥哈希函数
-        hashes = Arrays.stream(keys).map(key -> {
-                Prf prf = PrfFactory.createInstance(envType, Integer.BYTES);
-                prf.setKey(key);
-                return prf;
-            })
-            .toArray(Prf[]::new);
+        hasher = MultiIndexHasherFactory.createInstance(envType, hasherType, keys);
         itemSize = 0;
         paddingItemSize = 0;
         //noinspection unchecked
         bins = new HashBinEntry[binNum];
+        binsItemIndexes = new int[binNum][];
         // 初始时未填充虚拟元素，暂时未插入元素
         insertedItems = false;
         insertedPaddingItems = false;
@@ -94,22 +98,27 @@ class AbstractNoStashCuckooHashBin<T> implements NoStashCuckooHashBin<T> {
         assert (!insertedItems && !insertedPaddingItems);
         // 一次插入的元素数量要小于等于预先设定好的数量
         assert items.size() <= maxItemSize;
+        // 并行计算所有元素的桶索引值，再依次插入
+        int[][] itemsBinIndexes = items.parallelStream()
+            .map(item -> hasher.getIndexes(ObjectUtils.objectToByteArray(item), binNum))
+            .toArray(int[][]::new);
+        int itemIndex = 0;
         for (T item : items) {
-            insertItem(item);
+            insertItem(item, itemsBinIndexes[itemIndex++]);
         }
         insertedItems = true;
     }
 
-    private void insertItem(T item) {
-        if (contains(item)) {
+    private void insertItem(T item, int[] itemBinIndexes) {
+        if (contains(item, itemBinIndexes)) {
             clear();
             throw new IllegalArgumentException("Inserted items contain duplicate item: " + item);
         } else {
-            insertItem(item, 0, 0);
+            insertItem(item, itemBinIndexes, 0, 0);
         }
     }
 
-    private void insertItem(T item, int hashIndex, int totalTries) {
+    private void insertItem(T item, int[] itemBinIndexes, int hashIndex, int totalTries) {
         if (totalTries > CuckooHashBinFactory.DEFAULT_MAX_TOTAL_TRIES) {
             int currentItemSize = itemSize;
             clear();
@@ -122,18 +131,21 @@ class AbstractNoStashCuckooHashBin<T> implements NoStashCuckooHashBin<T> {
             // 如果没有超过最大迭代次数，则继续迭代
             totalTries++;
             HashBinEntry<T> binHashEntry = HashBinEntry.fromRealItem(hashIndex, item);
-            int binIndex = hashes[hashIndex].getInteger(binHashEntry.getItemByteArray(), binNum);
+            int binIndex = itemBinIndexes[hashIndex];
             HashBinEntry<T> existBinHashEntry = bins[binIndex];
             if (existBinHashEntry == null) {
                 // 如果binIndex对应的数据为空，则将当前的数据放置在binIndex中
                 bins[binIndex] = binHashEntry;
+                binsItemIndexes[binIndex] = itemBinIndexes;
                 itemSize++;
             } else {
                 // 如果binAddress对应的数据不为空，则把这部分数据取出来，重新放置到另一个binAddress里面
                 T evictItem = existBinHashEntry.getItem();
                 int evictItemHashIndex = existBinHashEntry.getHashIndex();
+                int[] evictItemBinIndexes = binsItemIndexes[binIndex];
                 bins[binIndex] = binHashEntry;
-                insertItem(evictItem, ((evictItemHashIndex + 1) % hashNum), totalTries);
+                binsItemIndexes[binIndex] = itemBinIndexes;
+                insertItem(evictItem, evictItemBinIndexes, ((evictItemHashIndex + 1) % hashNum), totalTries);
             }
         }
     }
@@ -145,14 +157,12 @@ class AbstractNoStashCuckooHashBin<T> implements NoStashCuckooHashBin<T> {
 
     @Override
     public int getHashNum() {
-        return hashes.length;
+        return hasher.getHashNum();
     }
 
     @Override
     public byte[][] getHashKeys() {
-        return Arrays.stream(hashes)
-            .map(Prf::getKey)
-            .toArray(byte[][]::new);
+        return hasher.getKeys();
     }
 
     @Override
@@ -167,10 +177,14 @@ class AbstractNoStashCuckooHashBin<T> implements NoStashCuckooHashBin<T> {
 
     @Override
     public boolean contains(T item) {
+        return contains(item, hasher.getIndexes(ObjectUtils.objectToByteArray(item), binNum));
+    }
+
+    private boolean contains(T item, int[] itemBinIndexes) {
         // 判断不同哈希函数对应的桶是否包含给定的元素
         for (int hashIndex = 0; hashIndex < hashNum; hashIndex++) {
             HashBinEntry<T> binHashEntry = HashBinEntry.fromRealItem(hashIndex, item);
-            int binIndex = hashes[hashIndex].getInteger(binHashEntry.getItemByteArray(), binNum);
+            int binIndex = itemBinIndexes[hashIndex];
             if (bins[binIndex] == null) {
                 continue;
             }
@@ -183,9 +197,10 @@ class AbstractNoStashCuckooHashBin<T> implements NoStashCuckooHashBin<T> {
 
     @Override
     public HashBinEntry<T> get(T item) {
+        int[] itemBinIndexes = hasher.getIndexes(ObjectUtils.objectToByteArray(item), binNum);
         for (int hashIndex = 0; hashIndex < hashNum; hashIndex++) {
             HashBinEntry<T> binHashEntry = HashBinEntry.fromRealItem(hashIndex, item);
-            int binIndex = hashes[hashIndex].getInteger(binHashEntry.getItemByteArray(), binNum);
+            int binIndex = itemBinIndexes[hashIndex];
             if (bins[binIndex] == null) {
                 continue;
             }
@@ -260,6 +275,7 @@ class AbstractNoStashCuckooHashBin<T> implements NoStashCuckooHashBin<T> {
     @Override
     public void clear() {
         Arrays.fill(bins, null);
+        Arrays.fill(binsItemIndexes, null);
         paddingItemSize = 0;
         itemSize = 0;
         insertedPaddingItems = false;
@@ -0,0 +1,186 @@
+package edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo;
+
+import edu.alibaba.mpc4j.common.tool.hashbin.object.HashBinEntry;
+import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBinFactory.CuckooHashBinType;
+import edu.alibaba.mpc4j.common.tool.hashbin.primitive.cuckoo.BytesCuckooHashBin;
+import edu.alibaba.mpc4j.common.tool.utils.ObjectUtils;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+
+/**
+ * Adapter that stores objects in a byte array cuckoo hash bin. Each object is inserted as its byte array representation
+ * (the same as the object cuckoo hash bins), and bins only keep the index of the object, so that no HashBinEntry is
+ * created. The resulting bins are the same as the object cuckoo hash bin with the same type and hash keys.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/21
+ */
+public class BytesCuckooHashBinAdapter<T> {
+    /**
+     * byte array cuckoo hash bin
+     */
+    private final BytesCuckooHashBin bytesCuckooHashBin;
+    /**
+     * inserted items, ordered by item indexes
+     */
+    private final ArrayList<T> items;
+    /**
+     * empty item used as padding item
+     */
+    private T emptyItem;
+
+    BytesCuckooHashBinAdapter(BytesCuckooHashBin bytesCuckooHashBin, ArrayList<T> items) {
+        assert bytesCuckooHashBin.insertedItems() && bytesCuckooHashBin.itemSize() == items.size();
+        this.bytesCuckooHashBin = bytesCuckooHashBin;
+        this.items = items;
+        emptyItem = null;
+    }
+
+    /**
+     * Gets the type.
+     *
+     * @return type.
+     */
+    public CuckooHashBinType getType() {
+        return bytesCuckooHashBin.getType();
+    }
+
+    /**
+     * Gets the hash keys.
+     *
+     * @return hash keys.
+     */
+    public byte[][] getHashKeys() {
+        return bytesCuckooHashBin.getHashKeys();
+    }
+
+    /**
+     * Gets the bin num.
+     *
+     * @return bin num.
+     */
+    public int binNum() {
+        return bytesCuckooHashBin.binNum();
+    }
+
+    /**
+     * Gets the stash size.
+     *
+     * @return stash size.
+     */
+    public int stashSize() {
+        return bytesCuckooHashBin.stashSize();
+    }
+
+    /**
+     * Gets the number of inserted items.
+     *
+     * @return the number of inserted items.
+     */
+    public int itemSize() {
+        return bytesCuckooHashBin.itemSize();
+    }
+
+    /**
+     * Gets the number of (real and padding) items in the stash.
+     *
+     * @return the number of items in the stash.
+     */
+    public int itemNumInStash() {
+        return bytesCuckooHashBin.itemNumInStash();
+    }
+
+    /**
+     * Returns whether the bins or the stash contain the given item.
+     *
+     * @param item item.
+     * @return true if the bins or the stash contain the given item.
+     */
+    public boolean contains(T item) {
+        return bytesCuckooHashBin.contains(ObjectUtils.objectToByteArray(item));
+    }
+
+    /**
+     * Inserts random padding items into empty bins and the stash.
+     *
+     * @param secureRandom random state.
+     */
+    public void insertPaddingItems(SecureRandom secureRandom) {
+        bytesCuckooHashBin.insertPaddingItems(secureRandom);
+    }
+
+    /**
+     * Inserts the given empty item into empty bins and the stash.
+     *
+     * @param emptyItem empty item.
+     */
+    public void insertPaddingItems(T emptyItem) {
+        bytesCuckooHashBin.insertPaddingItems(ObjectUtils.objectToByteArray(emptyItem));
+        this.emptyItem = emptyItem;
+    }
+
+    /**
+     * Gets the hash index of the item in the bin.
+     *
+     * @param binIndex bin index.
+     * @return the hash index, or HashBinEntry.DUMMY_ITEM_HASH_INDEX if the bin contains a padding item.
+     */
+    public int getHashIndex(int binIndex) {
+        return bytesCuckooHashBin.getBinHashIndex(binIndex);
+    }
+
+    /**
+     * Gets the item in the bin.
+     *
+     * @param binIndex bin index.
+     * @return the item. For padding items, returns the empty item, or null if padding items are random.
+     */
+    public T getItem(int binIndex) {
+        int itemIndex = bytesCuckooHashBin.getBinItemIndex(binIndex);
+        return itemIndex >= 0 ? items.get(itemIndex) : emptyItem;
+    }
+
+    /**
+     * Gets the byte array of the item in the bin.
+     *
+     * @param binIndex bin index.
+     * @return the byte array of the item.
+     */
+    public byte[] getItemByteArray(int binIndex) {
+        return bytesCuckooHashBin.getBinItemByteArray(binIndex);
+    }
+
+    /**
+     * Gets the hash index of the item in the stash. As the object cuckoo hash bin, the hash index of a real item in the
+     * stash is the hash num.
+     *
+     * @param stashIndex stash index.
+     * @return the hash index, or HashBinEntry.DUMMY_ITEM_HASH_INDEX if the position contains a padding item.
+     */
+    public int getStashHashIndex(int stashIndex) {
+        return bytesCuckooHashBin.getStashItemIndex(stashIndex) >= 0
+            ? bytesCuckooHashBin.getHashNum() : HashBinEntry.DUMMY_ITEM_HASH_INDEX;
+    }
+
+    /**
+     * Gets the item in the stash.
+     *
+     * @param stashIndex stash index.
+     * @return the item. For padding items, returns the empty item, or null if padding items are random.
+     */
+    public T getStashItem(int stashIndex) {
+        int itemIndex = bytesCuckooHashBin.getStashItemIndex(stashIndex);
+        return itemIndex >= 0 ? items.get(itemIndex) : emptyItem;
+    }
+
+    /**
+     * Gets the byte array of the item in the stash.
+     *
+     * @param stashIndex stash index.
+     * @return the byte array of the item.
+     */
+    public byte[] getStashItemByteArray(int stashIndex) {
+        return bytesCuckooHashBin.getStashItemByteArray(stashIndex);
+    }
+}
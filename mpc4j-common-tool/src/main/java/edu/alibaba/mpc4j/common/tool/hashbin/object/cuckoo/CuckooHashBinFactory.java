@@ -2,10 +2,16 @@ package edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo;
 
 import com.google.common.base.Preconditions;
 import edu.alibaba.mpc4j.common.tool.EnvType;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasherFactory;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasherFactory.MultiIndexHasherType;
+import edu.alibaba.mpc4j.common.tool.hashbin.primitive.cuckoo.BytesCuckooHashBin;
 import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
+import edu.alibaba.mpc4j.common.tool.utils.ObjectUtils;
 
 import java.security.SecureRandom;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.stream.IntStream;
 
 /**
  * cuckoo hash bin factory.
@@ -88,6 +94,22 @@ public class CuckooHashBinFactory {
      */
     public static <T> CuckooHashBin<T> createCuckooHashBin(EnvType envType, CuckooHashBinType type,
                                                            int maxItemSize, byte[][] keys) {
+        return createCuckooHashBin(envType, MultiIndexHasherFactory.DEFAULT_TYPE, type, maxItemSize, keys);
+    }
+
+    /**
+     * Creates a cuckoo hash bin.
+     *
+     * @param envType     environment.
+     * @param hasherType  multi-index hasher type.
+     * @param type        type.
+     * @param maxItemSize max item size.
+     * @param keys        keys.
+     * @param <T>         type of data that will be inserted into the cuckoo hash bin.
+     * @return a cuckoo hash bin.
+     */
+    public static <T> CuckooHashBin<T> createCuckooHashBin(EnvType envType, MultiIndexHasherType hasherType,
+                                                           CuckooHashBinType type, int maxItemSize, byte[][] keys) {
         checkInputs(type, maxItemSize, keys);
         // 单哈希布谷鸟哈希必须要指定桶大小，因此不允许通过此函数构建单哈希布谷鸟哈希。
         switch (type) {
@@ -95,15 +117,15 @@ public class CuckooHashBinFactory {
             case NAIVE_3_HASH:
             case NAIVE_4_HASH:
             case NAIVE_5_HASH:
-                return new NaiveCuckooHashBin<>(envType, type, maxItemSize, keys);
+                return new NaiveCuckooHashBin<>(envType, hasherType, type, maxItemSize, keys);
             case NO_STASH_NAIVE:
-                return new NaiveNoStashCuckooHashBin<>(envType, maxItemSize, keys);
+                return new NaiveNoStashCuckooHashBin<>(envType, hasherType, maxItemSize, keys);
             case NO_STASH_DRRT18:
-                return new Drrt18NoStashCuckooHashBin<>(envType, maxItemSize, keys);
+                return new Drrt18NoStashCuckooHashBin<>(envType, hasherType, maxItemSize, keys);
             case NO_STASH_PSZ18_3_HASH:
             case NO_STASH_PSZ18_4_HASH:
             case NO_STASH_PSZ18_5_HASH:
-                return new Psz18NoStashCuckooHashBin<>(envType, type, maxItemSize, keys);
+                return new Psz18NoStashCuckooHashBin<>(envType, hasherType, type, maxItemSize, keys);
             default:
                 throw new IllegalArgumentException("Invalid " + CuckooHashBinType.class.getSimpleName() + ": " + type.name());
         }
@@ -123,6 +145,24 @@ public class CuckooHashBinFactory {
     public static <T> CuckooHashBin<T> createCuckooHashBin(EnvType envType, CuckooHashBinType type,
                                                            int maxItemSize, Collection<T> items,
                                                            SecureRandom secureRandom) {
+        return createCuckooHashBin(envType, MultiIndexHasherFactory.DEFAULT_TYPE, type, maxItemSize, items, secureRandom);
+    }
+
+    /**
+     * Creates a cuckoo hash bin.
+     *
+     * @param envType      environment.
+     * @param hasherType   multi-index hasher type.
+     * @param type         type.
+     * @param maxItemSize  max item size.
+     * @param items        items.
+     * @param secureRandom the random state to generate keys.
+     * @param <T>          type of data that will be inserted into the cuckoo hash bin.
+     * @return a cuckoo hash bin.
+     */
+    public static <T> CuckooHashBin<T> createCuckooHashBin(EnvType envType, MultiIndexHasherType hasherType,
+                                                           CuckooHashBinType type, int maxItemSize,
+                                                           Collection<T> items, SecureRandom secureRandom) {
         boolean success = false;
         int hashNum = getHashNum(type);
         byte[][] hashKeys;
@@ -131,7 +171,7 @@ public class CuckooHashBinFactory {
             try {
                 // construct the cuckoo hash bin iteratively and test if the stash is empty
                 hashKeys = CommonUtils.generateRandomKeys(hashNum, secureRandom);
-                cuckooHashBin = CuckooHashBinFactory.createCuckooHashBin(envType, type, maxItemSize, hashKeys);
+                cuckooHashBin = CuckooHashBinFactory.createCuckooHashBin(envType, hasherType, type, maxItemSize, hashKeys);
                 cuckooHashBin.insertItems(items);
                 success = true;
             } catch (ArithmeticException ignored) {
@@ -156,6 +196,28 @@ public class CuckooHashBinFactory {
     public static <T> CuckooHashBin<T> createEnforceNoStashCuckooHashBin(EnvType envType, CuckooHashBinType type,
                                                                          int maxItemSize, Collection<T> items,
                                                                          SecureRandom secureRandom) {
+        return createEnforceNoStashCuckooHashBin(
+            envType, MultiIndexHasherFactory.DEFAULT_TYPE, type, maxItemSize, items, secureRandom
+        );
+    }
+
+    /**
+     * Creates a cuckoo hash bin that enforce empty stash.
+     *
+     * @param envType      environment.
+     * @param hasherType   multi-index hasher type.
+     * @param type         type.
+     * @param maxItemSize  max item size.
+     * @param items        items.
+     * @param secureRandom the random state to generate keys.
+     * @param <T>          type of data that will be inserted into the cuckoo hash bin.
+     * @return a cuckoo hash bin.
+     */
+    public static <T> CuckooHashBin<T> createEnforceNoStashCuckooHashBin(EnvType envType,
+                                                                         MultiIndexHasherType hasherType,
+                                                                         CuckooHashBinType type, int maxItemSize,
+                                                                         Collection<T> items,
+                                                                         SecureRandom secureRandom) {
         boolean success = false;
         int hashNum = getHashNum(type);
         byte[][] hashKeys;
@@ -164,7 +226,7 @@ public class CuckooHashBinFactory {
             try {
                 // construct the cuckoo hash bin iteratively and test if the stash is empty
                 hashKeys = CommonUtils.generateRandomKeys(hashNum, secureRandom);
-                cuckooHashBin = CuckooHashBinFactory.createCuckooHashBin(envType, type, maxItemSize, hashKeys);
+                cuckooHashBin = CuckooHashBinFactory.createCuckooHashBin(envType, hasherType, type, maxItemSize, hashKeys);
                 cuckooHashBin.insertItems(items);
                 if (cuckooHashBin.itemNumInStash() == 0) {
                     success = true;
@@ -177,6 +239,72 @@ public class CuckooHashBinFactory {
         return cuckooHashBin;
     }
 
+    /**
+     * Creates a byte array cuckoo hash bin with items inserted. Items are converted into byte arrays only once, and
+     * bins only store item indexes instead of HashBinEntry objects.
+     *
+     * @param envType      environment.
+     * @param type         type.
+     * @param maxItemSize  max item size.
+     * @param items        items.
+     * @param secureRandom the random state to generate keys.
+     * @param parallel     convert and hash items in parallel.
+     * @param <T>          type of data that will be inserted into the cuckoo hash bin.
+     * @return a byte array cuckoo hash bin.
+     */
+    public static <T> BytesCuckooHashBinAdapter<T> createBytesCuckooHashBin(EnvType envType, CuckooHashBinType type,
+                                                                            int maxItemSize, Collection<T> items,
+                                                                            SecureRandom secureRandom,
+                                                                            boolean parallel) {
+        return createBytesCuckooHashBin(envType, type, maxItemSize, items, secureRandom, parallel, false);
+    }
+
+    /**
+     * Creates a byte array cuckoo hash bin that enforce empty stash.
+     *
+     * @param envType      environment.
+     * @param type         type.
+     * @param maxItemSize  max item size.
+     * @param items        items.
+     * @param secureRandom the random state to generate keys.
+     * @param parallel     convert and hash items in parallel.
+     * @param <T>          type of data that will be inserted into the cuckoo hash bin.
+     * @return a byte array cuckoo hash bin.
+     */
+    public static <T> BytesCuckooHashBinAdapter<T> createEnforceNoStashBytesCuckooHashBin(EnvType envType,
+                                                                                          CuckooHashBinType type,
+                                                                                          int maxItemSize,
+                                                                                          Collection<T> items,
+                                                                                          SecureRandom secureRandom,
+                                                                                          boolean parallel) {
+        return createBytesCuckooHashBin(envType, type, maxItemSize, items, secureRandom, parallel, true);
+    }
+
+    private static <T> BytesCuckooHashBinAdapter<T> createBytesCuckooHashBin(EnvType envType, CuckooHashBinType type,
+                                                                             int maxItemSize, Collection<T> items,
+                                                                             SecureRandom secureRandom,
+                                                                             boolean parallel, boolean enforceNoStash) {
+        ArrayList<T> itemArrayList = new ArrayList<>(items);
+        IntStream itemIndexIntStream = IntStream.range(0, itemArrayList.size());
+        itemIndexIntStream = parallel ? itemIndexIntStream.parallel() : itemIndexIntStream;
+        byte[][] itemByteArrays = itemIndexIntStream
+            .mapToObj(index -> ObjectUtils.objectToByteArray(itemArrayList.get(index)))
+            .toArray(byte[][]::new);
+        int hashNum = getHashNum(type);
+        while (true) {
+            try {
+                byte[][] hashKeys = CommonUtils.generateRandomKeys(hashNum, secureRandom);
+                BytesCuckooHashBin bytesCuckooHashBin = new BytesCuckooHashBin(envType, type, maxItemSize, hashKeys);
+                bytesCuckooHashBin.insertItems(itemByteArrays, parallel);
+                if (!enforceNoStash || bytesCuckooHashBin.itemNumInStash() == 0) {
+                    return new BytesCuckooHashBinAdapter<>(bytesCuckooHashBin, itemArrayList);
+                }
+            } catch (ArithmeticException ignored) {
+                // retry if failed
+            }
+        }
+    }
+
     /**
      * Creates a cuckoo hash bin.
      *
@@ -190,23 +318,41 @@ public class CuckooHashBinFactory {
      */
     public static <T> CuckooHashBin<T> createCuckooHashBin(EnvType envType, CuckooHashBinType type,
                                                            int maxItemSize, int binNum, byte[][] keys) {
+        return createCuckooHashBin(envType, MultiIndexHasherFactory.DEFAULT_TYPE, type, maxItemSize, binNum, keys);
+    }
+
+    /**
+     * Creates a cuckoo hash bin.
+     *
+     * @param envType     environment.
+     * @param hasherType  multi-index hasher type.
+     * @param type        type.
+     * @param maxItemSize max item size.
+     * @param binNum      bin num.
+     * @param keys        keys.
+     * @param <T>         type of data that will be inserted into the cuckoo hash bin.
+     * @return a cuckoo hash bin.
+     */
+    public static <T> CuckooHashBin<T> createCuckooHashBin(EnvType envType, MultiIndexHasherType hasherType,
+                                                           CuckooHashBinType type, int maxItemSize, int binNum,
+                                                           byte[][] keys) {
         checkInputs(type, maxItemSize, binNum, keys);
         switch (type) {
             case NO_STASH_ONE_HASH:
-                return new OneHashCuckooHashBin<>(envType, binNum, keys);
+                return new OneHashCuckooHashBin<>(envType, hasherType, binNum, keys);
             case NAIVE_2_HASH:
             case NAIVE_3_HASH:
             case NAIVE_4_HASH:
             case NAIVE_5_HASH:
-                return new NaiveCuckooHashBin<>(envType, type, maxItemSize, binNum, keys);
+                return new NaiveCuckooHashBin<>(envType, hasherType, type, maxItemSize, binNum, keys);
             case NO_STASH_NAIVE:
-                return new NaiveNoStashCuckooHashBin<>(envType, maxItemSize, binNum, keys);
+                return new NaiveNoStashCuckooHashBin<>(envType, hasherType, maxItemSize, binNum, keys);
             case NO_STASH_DRRT18:
-                return new Drrt18NoStashCuckooHashBin<>(envType, maxItemSize, binNum, keys);
+                return new Drrt18NoStashCuckooHashBin<>(envType, hasherType, maxItemSize, binNum, keys);
             case NO_STASH_PSZ18_3_HASH:
             case NO_STASH_PSZ18_4_HASH:
             case NO_STASH_PSZ18_5_HASH:
-                return new Psz18NoStashCuckooHashBin<>(envType, type, maxItemSize, binNum, keys);
+                return new Psz18NoStashCuckooHashBin<>(envType, hasherType, type, maxItemSize, binNum, keys);
             default:
                 throw new IllegalArgumentException("Invalid " + CuckooHashBinType.class.getSimpleName() + ": " + type.name());
         }
@@ -249,18 +395,36 @@ public class CuckooHashBinFactory {
      */
     public static <T> NoStashCuckooHashBin<T> createNoStashCuckooHashBin(EnvType envType, CuckooHashBinType type,
                                                                          int maxItemSize, byte[][] keys) {
+        return createNoStashCuckooHashBin(envType, MultiIndexHasherFactory.DEFAULT_TYPE, type, maxItemSize, keys);
+    }
+
+    /**
+     * Creates a no-stash cuckoo hash bin.
+     *
+     * @param envType     environment.
+     * @param hasherType  multi-index hasher type.
+     * @param type        type.
+     * @param maxItemSize max item size.
+     * @param keys        keys.
+     * @param <T>         type of data that will be inserted into the cuckoo hash bin.
+     * @return a no-stash cuckoo hash bin.
+     */
+    public static <T> NoStashCuckooHashBin<T> createNoStashCuckooHashBin(EnvType envType,
+                                                                         MultiIndexHasherType hasherType,
+                                                                         CuckooHashBinType type, int maxItemSize,
+                                                                         byte[][] keys) {
         Preconditions.checkArgument(isNoStashType(type));
         checkInputs(type, maxItemSize, keys);
         // 单哈希布谷鸟哈希必须要指定桶大小，因此不允许通过此函数构建单哈希布谷鸟哈希。
         switch (type) {
             case NO_STASH_NAIVE:
-                return new NaiveNoStashCuckooHashBin<>(envType, maxItemSize, keys);
+                return new NaiveNoStashCuckooHashBin<>(envType, hasherType, maxItemSize, keys);
             case NO_STASH_DRRT18:
-                return new Drrt18NoStashCuckooHashBin<>(envType, maxItemSize, keys);
+                return new Drrt18NoStashCuckooHashBin<>(envType, hasherType, maxItemSize, keys);
             case NO_STASH_PSZ18_3_HASH:
             case NO_STASH_PSZ18_4_HASH:
             case NO_STASH_PSZ18_5_HASH:
-                return new Psz18NoStashCuckooHashBin<>(envType, type, maxItemSize, keys);
+                return new Psz18NoStashCuckooHashBin<>(envType, hasherType, type, maxItemSize, keys);
             default:
                 throw new IllegalArgumentException("Invalid " + CuckooHashBinType.class.getSimpleName() + ": " + type.name());
         }
@@ -279,19 +443,40 @@ public class CuckooHashBinFactory {
      */
     public static <T> NoStashCuckooHashBin<T> createNoStashCuckooHashBin(EnvType envType, CuckooHashBinType type,
                                                                          int maxItemSize, int binNum, byte[][] keys) {
+        return createNoStashCuckooHashBin(
+            envType, MultiIndexHasherFactory.DEFAULT_TYPE, type, maxItemSize, binNum, keys
+        );
+    }
+
+    /**
+     * Creates a no-stash cuckoo hash bin.
+     *
+     * @param envType     environment.
+     * @param hasherType  multi-index hasher type.
+     * @param type        type.
+     * @param maxItemSize max item size.
+     * @param binNum      bin num.
+     * @param keys        keys.
+     * @param <T>         type of data that will be inserted into the cuckoo hash bin.
+     * @return a no-stash cuckoo hash bin.
+     */
+    public static <T> NoStashCuckooHashBin<T> createNoStashCuckooHashBin(EnvType envType,
+                                                                         MultiIndexHasherType hasherType,
+                                                                         CuckooHashBinType type, int maxItemSize,
+                                                                         int binNum, byte[][] keys) {
         Preconditions.checkArgument(isNoStashType(type));
         checkInputs(type, maxItemSize, binNum, keys);
         switch (type) {
             case NO_STASH_ONE_HASH:
-                return new OneHashCuckooHashBin<>(envType, binNum, keys);
+                return new OneHashCuckooHashBin<>(envType, hasherType, binNum, keys);
             case NO_STASH_NAIVE:
-                return new NaiveNoStashCuckooHashBin<>(envType, maxItemSize, binNum, keys);
+                return new NaiveNoStashCuckooHashBin<>(envType, hasherType, maxItemSize, binNum, keys);
             case NO_STASH_DRRT18:
-                return new Drrt18NoStashCuckooHashBin<>(envType, maxItemSize, binNum, keys);
+                return new Drrt18NoStashCuckooHashBin<>(envType, hasherType, maxItemSize, binNum, keys);
             case NO_STASH_PSZ18_3_HASH:
             case NO_STASH_PSZ18_4_HASH:
             case NO_STASH_PSZ18_5_HASH:
-                return new Psz18NoStashCuckooHashBin<>(envType, type, maxItemSize, binNum, keys);
+                return new Psz18NoStashCuckooHashBin<>(envType, hasherType, type, maxItemSize, binNum, keys);
             default:
                 throw new IllegalArgumentException("Invalid " + CuckooHashBinType.class.getSimpleName() + ": " + type.name());
         }
@@ -1,10 +1,12 @@
 package edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo;
 
 import edu.alibaba.mpc4j.common.tool.EnvType;
-import edu.alibaba.mpc4j.common.tool.crypto.prf.Prf;
-import edu.alibaba.mpc4j.common.tool.crypto.prf.PrfFactory;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasher;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasherFactory;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasherFactory.MultiIndexHasherType;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.HashBinEntry;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBinFactory.CuckooHashBinType;
+import edu.alibaba.mpc4j.common.tool.utils.ObjectUtils;
 
 import java.security.SecureRandom;
 import java.util.ArrayList;
@@ -140,13 +142,17 @@ class NaiveCuckooHashBin<T> implements CuckooHashBin<T> {
      */
     private final int binNum;
     /**
-     * 使用到的伪随机函数，实际上是哈希函数的个数
+     * 多索引哈希函数
      */
-    private final Prf[] hashes;
+    private final MultiIndexHasher hasher;
     /**
      * 桶
      */
     private final HashBinEntry<T>[] bins;
+    /**
+     * 桶中元素的桶索引值，用于踢出元素时避免重复计算哈希
+     */
+    private final int[][] binsItemIndexes;
     /**
      * 暂存区
      */
@@ -172,23 +178,27 @@ class NaiveCuckooHashBin<T> implements CuckooHashBin<T> {
      * 初始化朴素布谷鸟哈希。
      *
      * @param envType     环境类型。
+     * @param hasherType  多索引哈希函数类型。
      * @param type        布谷鸟哈希类型。
      * @param maxItemSize 最大元素数量。
      * @param keys        哈希密钥。
      */
-    NaiveCuckooHashBin(EnvType envType, CuckooHashBinType type, int maxItemSize, byte[][] keys) {
-        this(envType, type, maxItemSize, CuckooHashBinFactory.getBinNum(type, maxItemSize), keys);
+    NaiveCuckooHashBin(EnvType envType, MultiIndexHasherType hasherType, CuckooHashBinType type, int maxItemSize,
+                       byte[][] keys) {
+        this(envType, hasherType, type, maxItemSize, CuckooHashBinFactory.getBinNum(type, maxItemSize), keys);
     }
 
     /**
      * 初始化朴素布谷鸟哈希。
      *
      * @param envType     环境类型。
+     * @param hasherType  多索引哈希函数类型。
      * @param type        布谷鸟哈希类型。
      * @param maxItemSize 最大元素数量。
      * @param keys        哈希密钥。
      */
-    NaiveCuckooHashBin(EnvType envType, CuckooHashBinType type, int maxItemSize, int binNum, byte[][] keys) {
+    NaiveCuckooHashBin(EnvType envType, MultiIndexHasherType hasherType, CuckooHashBinType type, int maxItemSize,
+                       int binNum, byte[][] keys) {
         // 初始化布谷鸟哈希类型
         this.type = type;
         // 设置参数
@@ -196,18 +206,14 @@ class NaiveCuckooHashBin<T> implements CuckooHashBin<T> {
         hashNum = keys.length;
         this.binNum = binNum;
         // 初始化带密钥哈希函数
-        hashes = Arrays.stream(keys).map(key -> {
-                Prf prf = PrfFactory.createInstance(envType, Integer.BYTES);
-                prf.setKey(key);
-                return prf;
-            })
-            .toArray(Prf[]::new);
+        hasher = MultiIndexHasherFactory.createInstance(envType, hasherType, keys);
         itemSize = 0;
         paddingItemSize = 0;
         // 初始化储藏区大小
         stashSize = CuckooHashBinFactory.getStashSize(type, maxItemSize);
         //noinspection unchecked
         bins = new HashBinEntry[binNum];
+        binsItemIndexes = new int[binNum][];
         // 初始化Cuckoo Hash的贮藏区
         stash = new ArrayList<>(stashSize);
         // 初始时未填充虚拟元素，暂时未插入元素
@@ -245,22 +251,27 @@ class NaiveCuckooHashBin<T> implements CuckooHashBin<T> {
         assert (!insertedItems && !insertedPaddingItems);
         // 一次插入的元素数量要小于等于预先设定好的数量
         assert items.size() <= maxItemSize;
+        // 并行计算所有元素的桶索引值，再依次插入
+        int[][] itemsBinIndexes = items.parallelStream()
+            .map(item -> hasher.getIndexes(ObjectUtils.objectToByteArray(item), binNum))
+            .toArray(int[][]::new);
+        int itemIndex = 0;
         for (T item : items) {
-            insertItem(item);
+            insertItem(item, itemsBinIndexes[itemIndex++]);
         }
         insertedItems = true;
     }
 
-    private void insertItem(T item) {
-        if (contains(item)) {
+    private void insertItem(T item, int[] itemBinIndexes) {
+        if (contains(item, itemBinIndexes)) {
             clear();
             throw new IllegalArgumentException("Inserted items contain duplicate item: " + item);
         } else {
-            insertItem(item, 0, 0);
+            insertItem(item, itemBinIndexes, 0, 0);
         }
     }
 
-    private void insertItem(T item, int hashIndex, int totalTries) {
+    private void insertItem(T item, int[] itemBinIndexes, int hashIndex, int totalTries) {
         if (totalTries > CuckooHashBinFactory.DEFAULT_MAX_TOTAL_TRIES) {
             if (stash.size() >= stashSize) {
                 int currentItemSize = itemSize;
@@ -279,18 +290,21 @@ class NaiveCuckooHashBin<T> implements CuckooHashBin<T> {
             // 如果没有超过最大迭代次数，则继续迭代
             totalTries++;
             HashBinEntry<T> hashBinEntry = HashBinEntry.fromRealItem(hashIndex, item);
-            int binIndex = hashes[hashIndex].getInteger(hashBinEntry.getItemByteArray(), binNum);
+            int binIndex = itemBinIndexes[hashIndex];
             HashBinEntry<T> existHashBinEntry = bins[binIndex];
             if (existHashBinEntry == null) {
                 // 如果binIndex对应的数据为空，则将当前的数据放置在binAddress中
                 bins[binIndex] = hashBinEntry;
+                binsItemIndexes[binIndex] = itemBinIndexes;
                 itemSize++;
             } else {
                 // 如果binIndex对应的数据不为空，则把这部分数据取出来，重新放置到另一个binAddress里面
                 T evictItem = existHashBinEntry.getItem();
                 int evictItemHashIndex = existHashBinEntry.getHashIndex();
+                int[] evictItemBinIndexes = binsItemIndexes[binIndex];
                 bins[binIndex] = hashBinEntry;
-                insertItem(evictItem, ((evictItemHashIndex + 1) % hashNum), totalTries);
+                binsItemIndexes[binIndex] = itemBinIndexes;
+                insertItem(evictItem, evictItemBinIndexes, ((evictItemHashIndex + 1) % hashNum), totalTries);
             }
         }
     }
@@ -302,14 +316,12 @@ class NaiveCuckooHashBin<T> implements CuckooHashBin<T> {
 
     @Override
     public int getHashNum() {
-        return hashes.length;
+        return hasher.getHashNum();
     }
 
     @Override
     public byte[][] getHashKeys() {
-        return Arrays.stream(hashes)
-            .map(Prf::getKey)
-            .toArray(byte[][]::new);
+        return hasher.getKeys();
     }
 
     @Override
@@ -324,10 +336,14 @@ class NaiveCuckooHashBin<T> implements CuckooHashBin<T> {
 
     @Override
     public boolean contains(T item) {
+        return contains(item, hasher.getIndexes(ObjectUtils.objectToByteArray(item), binNum));
+    }
+
+    private boolean contains(T item, int[] itemBinIndexes) {
         // 判断不同哈希函数对应的桶是否包含给定的元素
         for (int hashIndex = 0; hashIndex < hashNum; hashIndex++) {
             HashBinEntry<T> hashBinEntry = HashBinEntry.fromRealItem(hashIndex, item);
-            int binIndex = hashes[hashIndex].getInteger(hashBinEntry.getItemByteArray(), binNum);
+            int binIndex = itemBinIndexes[hashIndex];
             if (bins[binIndex] == null) {
                 continue;
             }
@@ -342,9 +358,10 @@ class NaiveCuckooHashBin<T> implements CuckooHashBin<T> {
 
     @Override
     public HashBinEntry<T> get(T item) {
+        int[] itemBinIndexes = hasher.getIndexes(ObjectUtils.objectToByteArray(item), binNum);
         for (int hashIndex = 0; hashIndex < hashNum; hashIndex++) {
             HashBinEntry<T> hashBinEntry = HashBinEntry.fromRealItem(hashIndex, item);
-            int binIndex = hashes[hashIndex].getInteger(hashBinEntry.getItemByteArray(), binNum);
+            int binIndex = itemBinIndexes[hashIndex];
             if (bins[binIndex] == null) {
                 continue;
             }
@@ -438,6 +455,7 @@ class NaiveCuckooHashBin<T> implements CuckooHashBin<T> {
     @Override
     public void clear() {
         Arrays.fill(bins, null);
+        Arrays.fill(binsItemIndexes, null);
         stash.clear();
         paddingItemSize = 0;
         itemSize = 0;
@@ -1,6 +1,7 @@
 package edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo;
 
 import edu.alibaba.mpc4j.common.tool.EnvType;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasherFactory.MultiIndexHasherType;
 
 /**
  * 朴素无贮存区布谷鸟哈希，其主要思路将放缩倍数ε设置为1.5，使得贮存区为空的概率达到要求的程度。
@@ -54,11 +55,12 @@ class NaiveNoStashCuckooHashBin<T> extends AbstractNoStashCuckooHashBin<T> {
         return (int) Math.floor(binNum / EPSILON);
     }
 
-    NaiveNoStashCuckooHashBin(EnvType envType, int maxItemSize, byte[][] keys) {
-        super(envType, CuckooHashBinFactory.CuckooHashBinType.NO_STASH_NAIVE, maxItemSize, keys);
+    NaiveNoStashCuckooHashBin(EnvType envType, MultiIndexHasherType hasherType, int maxItemSize, byte[][] keys) {
+        super(envType, hasherType, CuckooHashBinFactory.CuckooHashBinType.NO_STASH_NAIVE, maxItemSize, keys);
     }
 
-    NaiveNoStashCuckooHashBin(EnvType envType, int maxItemSize, int binNum, byte[][] keys) {
-        super(envType, CuckooHashBinFactory.CuckooHashBinType.NO_STASH_NAIVE, maxItemSize, binNum, keys);
+    NaiveNoStashCuckooHashBin(EnvType envType, MultiIndexHasherType hasherType, int maxItemSize, int binNum,
+                              byte[][] keys) {
+        super(envType, hasherType, CuckooHashBinFactory.CuckooHashBinType.NO_STASH_NAIVE, maxItemSize, binNum, keys);
     }
 }
@@ -1,6 +1,7 @@
 package edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo;
 
 import edu.alibaba.mpc4j.common.tool.EnvType;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasherFactory.MultiIndexHasherType;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBinFactory.CuckooHashBinType;
 
 /**
@@ -17,7 +18,7 @@ import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBinFactory.
  */
 public class OneHashCuckooHashBin<T> extends AbstractNoStashCuckooHashBin<T> {
 
-    OneHashCuckooHashBin(EnvType envType, int binNum, byte[][] keys) {
-        super(envType, CuckooHashBinType.NO_STASH_ONE_HASH, 1, binNum, keys);
+    OneHashCuckooHashBin(EnvType envType, MultiIndexHasherType hasherType, int binNum, byte[][] keys) {
+        super(envType, hasherType, CuckooHashBinType.NO_STASH_ONE_HASH, 1, binNum, keys);
     }
 }
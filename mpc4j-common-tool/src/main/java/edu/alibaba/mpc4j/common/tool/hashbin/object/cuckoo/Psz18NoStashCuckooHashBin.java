@@ -1,6 +1,7 @@
 package edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo;
 
 import edu.alibaba.mpc4j.common.tool.EnvType;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasherFactory.MultiIndexHasherType;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBinFactory.CuckooHashBinType;
 
 /**
@@ -67,11 +68,13 @@ class Psz18NoStashCuckooHashBin<T> extends AbstractNoStashCuckooHashBin<T> {
         }
     }
 
-    Psz18NoStashCuckooHashBin(EnvType envType, CuckooHashBinType type, int maxItemSize, byte[][] keys) {
-        super(envType, type, maxItemSize, keys);
+    Psz18NoStashCuckooHashBin(EnvType envType, MultiIndexHasherType hasherType, CuckooHashBinType type,
+                              int maxItemSize, byte[][] keys) {
+        super(envType, hasherType, type, maxItemSize, keys);
     }
 
-    Psz18NoStashCuckooHashBin(EnvType envType, CuckooHashBinType type, int maxItemSize, int binNum, byte[][] keys) {
-        super(envType, type, maxItemSize, binNum, keys);
+    Psz18NoStashCuckooHashBin(EnvType envType, MultiIndexHasherType hasherType, CuckooHashBinType type,
+                              int maxItemSize, int binNum, byte[][] keys) {
+        super(envType, hasherType, type, maxItemSize, binNum, keys);
     }
 }
@@ -2,9 +2,10 @@ package edu.alibaba.mpc4j.common.tool.hashbin.primitive;
 
 import com.google.common.base.Preconditions;
 import edu.alibaba.mpc4j.common.tool.EnvType;
-import edu.alibaba.mpc4j.common.tool.crypto.prf.Prf;
-import edu.alibaba.mpc4j.common.tool.crypto.prf.PrfFactory;
 import edu.alibaba.mpc4j.common.tool.hashbin.MaxBinSizeUtils;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasher;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasherFactory;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasherFactory.MultiIndexHasherType;
 import edu.alibaba.mpc4j.common.tool.utils.IntUtils;
 
 import java.util.Arrays;
@@ -20,9 +21,9 @@ import java.util.stream.IntStream;
  */
 public class SimpleIntHashBin implements IntHashBin {
     /**
-     * 带密钥哈希函数
+     * 多索引哈希函数
      */
-    private final Prf[] hashes;
+    private final MultiIndexHasher hasher;
     /**
      * 哈希桶个数
      */
@@ -82,6 +83,37 @@ public class SimpleIntHashBin implements IntHashBin {
      * @param keys 哈希密钥。
      */
     public SimpleIntHashBin(EnvType envType, int binNum, int maxBinSize, int maxItemSize, byte[][] keys) {
+        this(envType, MultiIndexHasherFactory.DEFAULT_TYPE, binNum, maxBinSize, maxItemSize, keys);
+    }
+
+    /**
+     * 初始化简单整数哈希桶。
+     *
+     * @param envType     环境类型。
+     * @param hasherType  多索引哈希函数类型。
+     * @param binNum      哈希桶数量。
+     * @param maxItemSize 元素总个数。
+     * @param keys        哈希密钥。
+     */
+    public SimpleIntHashBin(EnvType envType, MultiIndexHasherType hasherType, int binNum, int maxItemSize,
+                            byte[][] keys) {
+        this(envType, hasherType, binNum, MaxBinSizeUtils.expectMaxBinSize(keys.length * maxItemSize, binNum),
+            maxItemSize, keys
+        );
+    }
+
+    /**
+     * 初始化简单整数哈希桶。
+     *
+     * @param envType     环境类型。
+     * @param hasherType  多索引哈希函数类型。
+     * @param binNum      哈希桶数量。
+     * @param maxBinSize  哈希桶最大元素个数。
+     * @param maxItemSize 元素总个数。
+     * @param keys        哈希密钥。
+     */
+    public SimpleIntHashBin(EnvType envType, MultiIndexHasherType hasherType, int binNum, int maxBinSize,
+                            int maxItemSize, byte[][] keys) {
         assert binNum > 0;
         assert maxBinSize > 0;
         assert maxItemSize > 0;
@@ -92,13 +124,7 @@ public class SimpleIntHashBin implements IntHashBin {
         this.maxItemSize = maxItemSize;
         itemSize = 0;
         // 初始化哈希函数
-        hashes = Arrays.stream(keys)
-            .map(key -> {
-                Prf prf = PrfFactory.createInstance(envType, Integer.BYTES);
-                prf.setKey(key);
-                return prf;
-            })
-            .toArray(Prf[]::new);
+        hasher = MultiIndexHasherFactory.createInstance(envType, hasherType, keys);
         // 初始化哈希桶
         bins = IntStream.range(0, binNum)
             .mapToObj(binIndex -> {
@@ -126,7 +152,7 @@ public class SimpleIntHashBin implements IntHashBin {
      * @return 哈希数量。
      */
     public int getHashNum() {
-        return hashes.length;
+        return hasher.getHashNum();
     }
 
     @Override
@@ -155,12 +181,17 @@ public class SimpleIntHashBin implements IntHashBin {
             })
             .distinct().count();
         Preconditions.checkArgument(distinctCount == items.length, "Inserted items contain duplicate item");
-        for (int item : items) {
-            int[] itemBinIndexes = new int[hashes.length];
-            for (int hashIndex = 0; hashIndex < hashes.length; hashIndex++) {
-                // 遍历所有的哈希函数，对插入的元素求哈希
-                int binIndex = hashes[hashIndex].getInteger(IntUtils.intToByteArray(item), binNum);
-                itemBinIndexes[hashIndex] = binIndex;
+        // 并行计算所有元素的桶索引值，再依次插入
+        int[][] itemsBinIndexes = Arrays.stream(items)
+            .parallel()
+            .mapToObj(item -> hasher.getIndexes(IntUtils.intToByteArray(item), binNum))
+            .toArray(int[][]::new);
+        for (int itemIndex = 0; itemIndex < items.length; itemIndex++) {
+            int item = items[itemIndex];
+            int[] itemBinIndexes = itemsBinIndexes[itemIndex];
+            for (int hashIndex = 0; hashIndex < itemBinIndexes.length; hashIndex++) {
+                // 遍历所有的哈希函数，将元素插入到对应哈希桶中
+                int binIndex = itemBinIndexes[hashIndex];
                 // 将元素插入到对应哈希桶中，可以包含重复元素
                 if (binSize[binIndex] < maxBinSize) {
                     bins[binIndex][binSize[binIndex]] = item;
@@ -2,8 +2,9 @@ package edu.alibaba.mpc4j.common.tool.hashbin.primitive.cuckoo;
 
 import com.google.common.base.Preconditions;
 import edu.alibaba.mpc4j.common.tool.EnvType;
-import edu.alibaba.mpc4j.common.tool.crypto.prf.Prf;
-import edu.alibaba.mpc4j.common.tool.crypto.prf.PrfFactory;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasher;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasherFactory;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasherFactory.MultiIndexHasherType;
 import edu.alibaba.mpc4j.common.tool.hashbin.primitive.cuckoo.IntCuckooHashBinFactory.IntCuckooHashBinType;
 import edu.alibaba.mpc4j.common.tool.utils.IntUtils;
 
@@ -33,9 +34,9 @@ abstract class AbstractIntNoStashCuckooHashBin implements IntNoStashCuckooHashBi
      */
     private final int binNum;
     /**
-     * 哈希函数
+     * 多索引哈希函数
      */
-    private final Prf[] hashes;
+    private final MultiIndexHasher hasher;
     /**
      * 桶
      */
@@ -44,6 +45,10 @@ abstract class AbstractIntNoStashCuckooHashBin implements IntNoStashCuckooHashBi
      * 插入元素对应的哈希值
      */
     private final int[] binHashIndexes;
+    /**
+     * 桶中元素的桶索引值，用于踢出元素时避免重复计算哈希
+     */
+    private final int[][] binsItemIndexes;
     /**
      * 哈希桶中存储的元素数量
      */
@@ -57,14 +62,18 @@ abstract class AbstractIntNoStashCuckooHashBin implements IntNoStashCuckooHashBi
      * 初始化整数布谷鸟哈希。
      *
      * @param envType     密码学组件。
+     * @param hasherType  多索引哈希函数类型。
+     * @param type        整数布谷鸟哈希类型。
      * @param maxItemSize 期望插入的最大元素数量。
      * @param keys        哈希函数密钥，如果为空则初始化新的密钥。
      */
-    AbstractIntNoStashCuckooHashBin(EnvType envType, IntCuckooHashBinType type, int maxItemSize, byte[][] keys) {
-        this(envType, type, maxItemSize, IntCuckooHashBinFactory.getBinNum(type, maxItemSize), keys);
+    AbstractIntNoStashCuckooHashBin(EnvType envType, MultiIndexHasherType hasherType, IntCuckooHashBinType type,
+                                    int maxItemSize, byte[][] keys) {
+        this(envType, hasherType, type, maxItemSize, IntCuckooHashBinFactory.getBinNum(type, maxItemSize), keys);
     }
 
-    AbstractIntNoStashCuckooHashBin(EnvType envType, IntCuckooHashBinType type, int maxItemSize, int binNum, byte[][] keys) {
+    AbstractIntNoStashCuckooHashBin(EnvType envType, MultiIndexHasherType hasherType, IntCuckooHashBinType type,
+                                    int maxItemSize, int binNum, byte[][] keys) {
         // 初始化布谷鸟哈希类型
         this.type = type;
         // 设置参数
@@ -72,17 +81,13 @@ abstract class AbstractIntNoStashCuckooHashBin implements IntNoStashCuckooHashBi
         hashNum = keys.length;
         this.binNum = binNum;
         // 初始化带密钥哈希函数
-        hashes = Arrays.stream(keys).map(key -> {
-                Prf prf = PrfFactory.createInstance(envType, Integer.BYTES);
-                prf.setKey(key);
-                return prf;
-            })
-            .toArray(Prf[]::new);
+        hasher = MultiIndexHasherFactory.createInstance(envType, hasherType, keys);
         itemSize = 0;
         bins = new int[binNum];
         Arrays.fill(bins, -1);
         binHashIndexes = new int[binNum];
         Arrays.fill(binHashIndexes, -1);
+        binsItemIndexes = new int[binNum][];
         insertedItems = false;
     }
 
@@ -102,13 +107,18 @@ abstract class AbstractIntNoStashCuckooHashBin implements IntNoStashCuckooHashBi
             })
             .distinct().count();
         Preconditions.checkArgument(distinctCount == items.length, "Inserted items contain duplicate item");
-        for (int item : items) {
-            insertItem(item, 0, 0);
+        // 并行计算所有元素的桶索引值，再依次插入
+        int[][] itemsBinIndexes = Arrays.stream(items)
+            .parallel()
+            .mapToObj(item -> hasher.getIndexes(IntUtils.intToByteArray(item), binNum))
+            .toArray(int[][]::new);
+        for (int itemIndex = 0; itemIndex < items.length; itemIndex++) {
+            insertItem(items[itemIndex], itemsBinIndexes[itemIndex], 0, 0);
         }
         insertedItems = true;
     }
 
-    private void insertItem(int item, int hashIndex, int totalTries) {
+    private void insertItem(int item, int[] itemBinIndexes, int hashIndex, int totalTries) {
         if (totalTries > IntCuckooHashBinFactory.DEFAULT_MAX_TOTAL_TRIES) {
             int currentItemSize = itemSize;
             clear();
@@ -120,20 +130,23 @@ abstract class AbstractIntNoStashCuckooHashBin implements IntNoStashCuckooHashBi
         } else {
             // 如果没有超过最大迭代次数，则继续迭代
             totalTries++;
-            int binIndex = hashes[hashIndex].getInteger(IntUtils.intToByteArray(item), binNum);
+            int binIndex = itemBinIndexes[hashIndex];
             int existItem = bins[binIndex];
             if (existItem < 0) {
                 // 如果binIndex对应的位置无数据，则将当前的数据放置在binIndex中
                 bins[binIndex] = item;
                 binHashIndexes[binIndex] = hashIndex;
+                binsItemIndexes[binIndex] = itemBinIndexes;
                 itemSize++;
             } else {
                 // 如果binIndex对应的数据不为空，则把这部分数据取出来，重新放置到另一个binIndex里面
                 int evictItem = bins[binIndex];
                 int evictItemHashIndex = binHashIndexes[binIndex];
+                int[] evictItemBinIndexes = binsItemIndexes[binIndex];
                 bins[binIndex] = item;
                 binHashIndexes[binIndex] = hashIndex;
-                insertItem(evictItem, ((evictItemHashIndex + 1) % hashNum), totalTries);
+                binsItemIndexes[binIndex] = itemBinIndexes;
+                insertItem(evictItem, evictItemBinIndexes, ((evictItemHashIndex + 1) % hashNum), totalTries);
             }
         }
     }
@@ -156,8 +169,9 @@ abstract class AbstractIntNoStashCuckooHashBin implements IntNoStashCuckooHashBi
     @Override
     public boolean contains(int item) {
         // 判断不同哈希函数对应的桶是否包含给定的元素
+        int[] itemBinIndexes = hasher.getIndexes(IntUtils.intToByteArray(item), binNum);
         for (int hashIndex = 0; hashIndex < hashNum; hashIndex++) {
-            int binIndex = hashes[hashIndex].getInteger(IntUtils.intToByteArray(item), binNum);
+            int binIndex = itemBinIndexes[hashIndex];
             if (bins[binIndex] < 0) {
                 continue;
             }
@@ -187,6 +201,7 @@ abstract class AbstractIntNoStashCuckooHashBin implements IntNoStashCuckooHashBi
     public void clear() {
         Arrays.fill(bins, -1);
         Arrays.fill(binHashIndexes, -1);
+        Arrays.fill(binsItemIndexes, null);
         itemSize = 0;
         insertedItems = false;
     }
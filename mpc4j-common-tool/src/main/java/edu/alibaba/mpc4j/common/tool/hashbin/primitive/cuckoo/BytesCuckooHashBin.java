@@ -0,0 +1,552 @@
+package edu.alibaba.mpc4j.common.tool.hashbin.primitive.cuckoo;
+
+import edu.alibaba.mpc4j.common.tool.CommonConstants;
+import edu.alibaba.mpc4j.common.tool.EnvType;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasher;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasherFactory;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasherFactory.MultiIndexHasherType;
+import edu.alibaba.mpc4j.common.tool.hashbin.object.HashBinEntry;
+import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBinFactory;
+import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBinFactory.CuckooHashBinType;
+
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Byte array cuckoo hash bin with structure-of-arrays layout. Items are copied into one byte array arena (with an
+ * int[] offset array), and the bins, the hash indexes and the candidate bin indexes of all items are stored in int[].
+ * No per-item objects are created, so that inserting 2^24 items does not stress the GC.
+ * <p>
+ * The insertion algorithm, the stash and the padding semantics are the same as the object cuckoo hash bins with the
+ * same CuckooHashBinType, so that parties using different implementations obtain the same bins.
+ * </p>
+ *
+ * @author Weiran Liu
+ * @date 2023/7/21
+ */
+public class BytesCuckooHashBin {
+    /**
+     * the bin / stash is empty
+     */
+    private static final int EMPTY = -1;
+    /**
+     * the bin / stash contains a padding item. Padding items are encoded as PADDING - paddingIndex.
+     */
+    private static final int PADDING = -2;
+    /**
+     * type
+     */
+    private final CuckooHashBinType type;
+    /**
+     * max item size
+     */
+    private final int maxItemSize;
+    /**
+     * hash num
+     */
+    private final int hashNum;
+    /**
+     * stash size
+     */
+    private final int stashSize;
+    /**
+     * bin num
+     */
+    private final int binNum;
+    /**
+     * multi-index hasher
+     */
+    private final MultiIndexHasher hasher;
+    /**
+     * bins, each bin stores the item index, EMPTY, or an encoded padding index
+     */
+    private final int[] bins;
+    /**
+     * hash index of the item in each bin
+     */
+    private final int[] binHashIndexes;
+    /**
+     * stash, each position stores the item index, EMPTY, or an encoded padding index
+     */
+    private final int[] stash;
+    /**
+     * item arena
+     */
+    private byte[] itemArena;
+    /**
+     * item offsets in the arena, the i-th item is itemArena[itemOffsets[i], itemOffsets[i + 1])
+     */
+    private int[] itemOffsets;
+    /**
+     * candidate bin indexes of all items, the i-th item has itemBinIndexes[i * hashNum, (i + 1) * hashNum)
+     */
+    private int[] itemBinIndexes;
+    /**
+     * random padding item arena, each padding item has CommonConstants.BLOCK_BYTE_LENGTH bytes
+     */
+    private byte[] paddingArena;
+    /**
+     * empty item used as padding item
+     */
+    private byte[] emptyItem;
+    /**
+     * number of items in the stash
+     */
+    private int stashItemNum;
+    /**
+     * item size
+     */
+    private int itemSize;
+    /**
+     * padding item size
+     */
+    private int paddingItemSize;
+    /**
+     * inserted items
+     */
+    private boolean insertedItems;
+    /**
+     * inserted padding items
+     */
+    private boolean insertedPaddingItems;
+
+    /**
+     * Creates a byte array cuckoo hash bin.
+     *
+     * @param envType     environment.
+     * @param type        type.
+     * @param maxItemSize max item size.
+     * @param keys        hash keys.
+     */
+    public BytesCuckooHashBin(EnvType envType, CuckooHashBinType type, int maxItemSize, byte[][] keys) {
+        this(envType, MultiIndexHasherFactory.DEFAULT_TYPE, type, maxItemSize, keys);
+    }
+
+    /**
+     * Creates a byte array cuckoo hash bin.
+     *
+     * @param envType     environment.
+     * @param hasherType  multi-index hasher type.
+     * @param type        type.
+     * @param maxItemSize max item size.
+     * @param keys        hash keys.
+     */
+    public BytesCuckooHashBin(EnvType envType, MultiIndexHasherType hasherType, CuckooHashBinType type,
+                              int maxItemSize, byte[][] keys) {
+        assert type != CuckooHashBinType.NO_STASH_ONE_HASH : type.name() + " is not supported";
+        assert keys.length == CuckooHashBinFactory.getHashNum(type)
+            : type.name() + " needs " + CuckooHashBinFactory.getHashNum(type) + " hash keys";
+        assert maxItemSize > 0 && maxItemSize <= IntCuckooHashBinFactory.MAX_ITEM_SIZE_UPPER_BOUND
+            : "maxItemSize must be in range (0, " + IntCuckooHashBinFactory.MAX_ITEM_SIZE_UPPER_BOUND + "]";
+        this.type = type;
+        this.maxItemSize = maxItemSize;
+        hashNum = keys.length;
+        binNum = CuckooHashBinFactory.getBinNum(type, maxItemSize);
+        stashSize = CuckooHashBinFactory.getStashSize(type, maxItemSize);
+        hasher = MultiIndexHasherFactory.createInstance(envType, hasherType, keys);
+        bins = new int[binNum];
+        binHashIndexes = new int[binNum];
+        stash = new int[stashSize];
+        clear();
+    }
+
+    /**
+     * Gets the type.
+     *
+     * @return type.
+     */
+    public CuckooHashBinType getType() {
+        return type;
+    }
+
+    /**
+     * Gets the hash num.
+     *
+     * @return hash num.
+     */
+    public int getHashNum() {
+        return hashNum;
+    }
+
+    /**
+     * Gets the hash keys.
+     *
+     * @return hash keys.
+     */
+    public byte[][] getHashKeys() {
+        return hasher.getKeys();
+    }
+
+    /**
+     * Gets the max item size.
+     *
+     * @return max item size.
+     */
+    public int maxItemSize() {
+        return maxItemSize;
+    }
+
+    /**
+     * Gets the bin num.
+     *
+     * @return bin num.
+     */
+    public int binNum() {
+        return binNum;
+    }
+
+    /**
+     * Gets the stash size.
+     *
+     * @return stash size.
+     */
+    public int stashSize() {
+        return stashSize;
+    }
+
+    /**
+     * Inserts items. The candidate bin indexes can be computed in parallel, and then items are inserted one by one.
+     *
+     * @param items    items.
+     * @param parallel compute the candidate bin indexes in parallel.
+     * @throws IllegalArgumentException if the items contain duplicate items.
+     * @throws ArithmeticException      if the stash is full, or no position to put for no-stash types.
+     */
+    public void insertItems(byte[][] items, boolean parallel) {
+        assert !insertedItems && !insertedPaddingItems;
+        assert items.length <= maxItemSize;
+        int itemNum = items.length;
+        // copy items into the arena
+        itemOffsets = new int[itemNum + 1];
+        for (int itemIndex = 0; itemIndex < itemNum; itemIndex++) {
+            itemOffsets[itemIndex + 1] = itemOffsets[itemIndex] + items[itemIndex].length;
+        }
+        itemArena = new byte[itemOffsets[itemNum]];
+        itemBinIndexes = new int[itemNum * hashNum];
+        IntStream itemIndexIntStream = IntStream.range(0, itemNum);
+        itemIndexIntStream = parallel ? itemIndexIntStream.parallel() : itemIndexIntStream;
+        itemIndexIntStream.forEach(itemIndex -> {
+            System.arraycopy(items[itemIndex], 0, itemArena, itemOffsets[itemIndex], items[itemIndex].length);
+            int[] binIndexes = hasher.getIndexes(items[itemIndex], binNum);
+            System.arraycopy(binIndexes, 0, itemBinIndexes, itemIndex * hashNum, hashNum);
+        });
+        for (int itemIndex = 0; itemIndex < itemNum; itemIndex++) {
+            if (containsItem(itemIndex)) {
+                clear();
+                throw new IllegalArgumentException("Inserted items contain duplicate item: " + Arrays.toString(items[itemIndex]));
+            }
+            insertItem(itemIndex);
+        }
+        insertedItems = true;
+    }
+
+    private boolean containsItem(int itemIndex) {
+        for (int hashIndex = 0; hashIndex < hashNum; hashIndex++) {
+            int binItemIndex = bins[itemBinIndexes[itemIndex * hashNum + hashIndex]];
+            if (binItemIndex >= 0 && equalItems(binItemIndex, itemIndex)) {
+                return true;
+            }
+        }
+        for (int stashIndex = 0; stashIndex < stashItemNum; stashIndex++) {
+            if (equalItems(stash[stashIndex], itemIndex)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void insertItem(int itemIndex) {
+        int hashIndex = 0;
+        for (int totalTries = 0; totalTries <= IntCuckooHashBinFactory.DEFAULT_MAX_TOTAL_TRIES; totalTries++) {
+            int binIndex = itemBinIndexes[itemIndex * hashNum + hashIndex];
+            int evictItemIndex = bins[binIndex];
+            int evictHashIndex = binHashIndexes[binIndex];
+            bins[binIndex] = itemIndex;
+            binHashIndexes[binIndex] = hashIndex;
+            if (evictItemIndex == EMPTY) {
+                itemSize++;
+                return;
+            }
+            // put the evicted item into its next candidate bin
+            itemIndex = evictItemIndex;
+            hashIndex = (evictHashIndex + 1) % hashNum;
+        }
+        if (stashItemNum >= stashSize) {
+            int currentItemSize = itemSize;
+            clear();
+            if (stashSize == 0) {
+                throw new ArithmeticException(
+                    String.format("Failed to insert items after %s items, no position to put by %s tries",
+                        currentItemSize, IntCuckooHashBinFactory.DEFAULT_MAX_TOTAL_TRIES
+                    )
+                );
+            } else {
+                throw new ArithmeticException(
+                    String.format("Failed to insert items after %s items, stash exceeding StashSize = %s",
+                        currentItemSize, stashSize
+                    )
+                );
+            }
+        }
+        stash[stashItemNum] = itemIndex;
+        stashItemNum++;
+        itemSize++;
+    }
+
+    private boolean equalItems(int thisItemIndex, int thatItemIndex) {
+        int thisOffset = itemOffsets[thisItemIndex];
+        int thatOffset = itemOffsets[thatItemIndex];
+        int length = itemOffsets[thisItemIndex + 1] - thisOffset;
+        if (length != itemOffsets[thatItemIndex + 1] - thatOffset) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (itemArena[thisOffset + i] != itemArena[thatOffset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean equalItem(int itemIndex, byte[] item) {
+        int offset = itemOffsets[itemIndex];
+        if (item.length != itemOffsets[itemIndex + 1] - offset) {
+            return false;
+        }
+        for (int i = 0; i < item.length; i++) {
+            if (itemArena[offset + i] != item[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether items have been inserted.
+     *
+     * @return whether items have been inserted.
+     */
+    public boolean insertedItems() {
+        return insertedItems;
+    }
+
+    /**
+     * Gets the number of inserted items.
+     *
+     * @return the number of inserted items.
+     */
+    public int itemSize() {
+        return itemSize;
+    }
+
+    /**
+     * Gets the number of (real and padding) items in bins.
+     *
+     * @return the number of items in bins.
+     */
+    public int itemNumInBins() {
+        return itemSize + paddingItemSize - itemNumInStash();
+    }
+
+    /**
+     * Gets the number of (real and padding) items in the stash.
+     *
+     * @return the number of items in the stash.
+     */
+    public int itemNumInStash() {
+        return insertedPaddingItems ? stashSize : stashItemNum;
+    }
+
+    /**
+     * Returns whether the bins or the stash contain the given item.
+     *
+     * @param item item.
+     * @return true if the bins or the stash contain the given item.
+     */
+    public boolean contains(byte[] item) {
+        if (itemOffsets == null) {
+            return false;
+        }
+        int[] binIndexes = hasher.getIndexes(item, binNum);
+        for (int hashIndex = 0; hashIndex < hashNum; hashIndex++) {
+            int binItemIndex = bins[binIndexes[hashIndex]];
+            if (binItemIndex >= 0 && equalItem(binItemIndex, item)) {
+                return true;
+            }
+        }
+        for (int stashIndex = 0; stashIndex < stashItemNum; stashIndex++) {
+            if (equalItem(stash[stashIndex], item)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the bin size, 0 or 1.
+     *
+     * @param binIndex bin index.
+     * @return bin size.
+     */
+    public int binSize(int binIndex) {
+        assert binIndex >= 0 && binIndex < binNum;
+        return bins[binIndex] == EMPTY ? 0 : 1;
+    }
+
+    /**
+     * Gets the index (in the inserted items) of the item in the bin.
+     *
+     * @param binIndex bin index.
+     * @return the item index, or -1 if the bin is empty or contains a padding item.
+     */
+    public int getBinItemIndex(int binIndex) {
+        assert binIndex >= 0 && binIndex < binNum;
+        return Math.max(bins[binIndex], EMPTY);
+    }
+
+    /**
+     * Gets the hash index of the item in the bin.
+     *
+     * @param binIndex bin index.
+     * @return the hash index, or HashBinEntry.DUMMY_ITEM_HASH_INDEX if the bin is empty or contains a padding item.
+     */
+    public int getBinHashIndex(int binIndex) {
+        assert binIndex >= 0 && binIndex < binNum;
+        return bins[binIndex] >= 0 ? binHashIndexes[binIndex] : HashBinEntry.DUMMY_ITEM_HASH_INDEX;
+    }
+
+    /**
+     * Gets the byte array of the item in the bin.
+     *
+     * @param binIndex bin index.
+     * @return the byte array of the item, or null if the bin is empty.
+     */
+    public byte[] getBinItemByteArray(int binIndex) {
+        assert binIndex >= 0 && binIndex < binNum;
+        return getItemByteArray(bins[binIndex]);
+    }
+
+    /**
+     * Gets the index (in the inserted items) of the item in the stash.
+     *
+     * @param stashIndex stash index.
+     * @return the item index, or -1 if the position is empty or contains a padding item.
+     */
+    public int getStashItemIndex(int stashIndex) {
+        assert stashIndex >= 0 && stashIndex < stashSize;
+        return Math.max(stash[stashIndex], EMPTY);
+    }
+
+    /**
+     * Gets the byte array of the item in the stash.
+     *
+     * @param stashIndex stash index.
+     * @return the byte array of the item, or null if the position is empty.
+     */
+    public byte[] getStashItemByteArray(int stashIndex) {
+        assert stashIndex >= 0 && stashIndex < stashSize;
+        return getItemByteArray(stash[stashIndex]);
+    }
+
+    private byte[] getItemByteArray(int entry) {
+        if (entry >= 0) {
+            return Arrays.copyOfRange(itemArena, itemOffsets[entry], itemOffsets[entry + 1]);
+        } else if (entry == EMPTY) {
+            return null;
+        } else if (emptyItem != null) {
+            return Arrays.copyOf(emptyItem, emptyItem.length);
+        } else {
+            int offset = (PADDING - entry) * CommonConstants.BLOCK_BYTE_LENGTH;
+            return Arrays.copyOfRange(paddingArena, offset, offset + CommonConstants.BLOCK_BYTE_LENGTH);
+        }
+    }
+
+    /**
+     * Inserts random padding items into empty bins and the stash.
+     *
+     * @param secureRandom random state.
+     */
+    public void insertPaddingItems(SecureRandom secureRandom) {
+        assert insertedItems && !insertedPaddingItems;
+        paddingItemSize = insertPaddingEntries();
+        paddingArena = new byte[paddingItemSize * CommonConstants.BLOCK_BYTE_LENGTH];
+        secureRandom.nextBytes(paddingArena);
+        insertedPaddingItems = true;
+    }
+
+    /**
+     * Inserts the given empty item into empty bins and the stash.
+     *
+     * @param emptyItem empty item.
+     */
+    public void insertPaddingItems(byte[] emptyItem) {
+        assert insertedItems && !insertedPaddingItems;
+        // the empty item cannot be an inserted item
+        assert !contains(emptyItem);
+        paddingItemSize = insertPaddingEntries();
+        this.emptyItem = Arrays.copyOf(emptyItem, emptyItem.length);
+        insertedPaddingItems = true;
+    }
+
+    private int insertPaddingEntries() {
+        int paddingIndex = 0;
+        for (int binIndex = 0; binIndex < binNum; binIndex++) {
+            if (bins[binIndex] == EMPTY) {
+                bins[binIndex] = PADDING - paddingIndex;
+                paddingIndex++;
+            }
+        }
+        for (int stashIndex = stashItemNum; stashIndex < stashSize; stashIndex++) {
+            stash[stashIndex] = PADDING - paddingIndex;
+            paddingIndex++;
+        }
+        return paddingIndex;
+    }
+
+    /**
+     * Returns whether padding items have been inserted.
+     *
+     * @return whether padding items have been inserted.
+     */
+    public boolean insertedPaddingItems() {
+        return insertedPaddingItems;
+    }
+
+    /**
+     * Gets the number of padding items.
+     *
+     * @return the number of padding items.
+     */
+    public int paddingItemSize() {
+        return paddingItemSize;
+    }
+
+    /**
+     * Gets the number of (real and padding) items.
+     *
+     * @return the number of items.
+     */
+    public int size() {
+        return itemSize + paddingItemSize;
+    }
+
+    /**
+     * Clears the cuckoo hash bin.
+     */
+    public void clear() {
+        Arrays.fill(bins, EMPTY);
+        Arrays.fill(binHashIndexes, HashBinEntry.DUMMY_ITEM_HASH_INDEX);
+        Arrays.fill(stash, EMPTY);
+        itemArena = null;
+        itemOffsets = null;
+        itemBinIndexes = null;
+        paddingArena = null;
+        emptyItem = null;
+        stashItemNum = 0;
+        itemSize = 0;
+        paddingItemSize = 0;
+        insertedItems = false;
+        insertedPaddingItems = false;
+    }
+}
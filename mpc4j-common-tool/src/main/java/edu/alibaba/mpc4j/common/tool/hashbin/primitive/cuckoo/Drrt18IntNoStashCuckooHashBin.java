@@ -1,6 +1,7 @@
 package edu.alibaba.mpc4j.common.tool.hashbin.primitive.cuckoo;
 
 import edu.alibaba.mpc4j.common.tool.EnvType;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasherFactory.MultiIndexHasherType;
 
 /**
  * Demmler等人提出的无贮存区布谷鸟哈希，其主要思路是放大放缩倍数ε，使得贮存区为空的概率达到要求的程度。与朴素无贮存区布谷鸟哈希的区别是，
@@ -13,11 +14,12 @@ import edu.alibaba.mpc4j.common.tool.EnvType;
  */
 class Drrt18IntNoStashCuckooHashBin extends AbstractIntNoStashCuckooHashBin {
 
-    Drrt18IntNoStashCuckooHashBin(EnvType envType, int maxItemSize, byte[][] keys) {
-        super(envType, IntCuckooHashBinFactory.IntCuckooHashBinType.NO_STASH_DRRT18, maxItemSize, keys);
+    Drrt18IntNoStashCuckooHashBin(EnvType envType, MultiIndexHasherType hasherType, int maxItemSize, byte[][] keys) {
+        super(envType, hasherType, IntCuckooHashBinFactory.IntCuckooHashBinType.NO_STASH_DRRT18, maxItemSize, keys);
     }
 
-    Drrt18IntNoStashCuckooHashBin(EnvType envType, int maxItemSize, int binNum, byte[][] keys) {
-        super(envType, IntCuckooHashBinFactory.IntCuckooHashBinType.NO_STASH_DRRT18, maxItemSize, binNum, keys);
+    Drrt18IntNoStashCuckooHashBin(EnvType envType, MultiIndexHasherType hasherType, int maxItemSize, int binNum,
+                                  byte[][] keys) {
+        super(envType, hasherType, IntCuckooHashBinFactory.IntCuckooHashBinType.NO_STASH_DRRT18, maxItemSize, binNum, keys);
     }
 }
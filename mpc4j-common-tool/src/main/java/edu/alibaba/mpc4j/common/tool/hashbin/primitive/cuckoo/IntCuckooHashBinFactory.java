@@ -1,6 +1,8 @@
 package edu.alibaba.mpc4j.common.tool.hashbin.primitive.cuckoo;
 
 import edu.alibaba.mpc4j.common.tool.EnvType;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasherFactory;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasherFactory.MultiIndexHasherType;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBinFactory;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBinFactory.CuckooHashBinType;
 
@@ -64,17 +66,32 @@ public class IntCuckooHashBinFactory {
      */
     public static IntNoStashCuckooHashBin createInstance(EnvType envType, IntCuckooHashBinType type,
                                                          int maxItemSize, byte[][] keys) {
+        return createInstance(envType, MultiIndexHasherFactory.DEFAULT_TYPE, type, maxItemSize, keys);
+    }
+
+    /**
+     * 构建整数布谷鸟哈希。
+     *
+     * @param envType     环境类型。
+     * @param hasherType  多索引哈希函数类型。
+     * @param type        整数布谷鸟哈希类型。
+     * @param maxItemSize 插入的元素数量。
+     * @param keys        密钥。
+     * @return 整数布谷鸟哈希。
+     */
+    public static IntNoStashCuckooHashBin createInstance(EnvType envType, MultiIndexHasherType hasherType,
+                                                         IntCuckooHashBinType type, int maxItemSize, byte[][] keys) {
         checkInputs(type, maxItemSize, keys);
         assert keys.length == getHashNum(type) : type.name() + " needs " + getHashNum(type) + " hash keys";
         switch (type) {
             case NO_STASH_NAIVE:
-                return new NaiveIntNoStashCuckooHashBin(envType, maxItemSize, keys);
+                return new NaiveIntNoStashCuckooHashBin(envType, hasherType, maxItemSize, keys);
             case NO_STASH_DRRT18:
-                return new Drrt18IntNoStashCuckooHashBin(envType, maxItemSize, keys);
+                return new Drrt18IntNoStashCuckooHashBin(envType, hasherType, maxItemSize, keys);
             case NO_STASH_PSZ18_3_HASH:
             case NO_STASH_PSZ18_4_HASH:
             case NO_STASH_PSZ18_5_HASH:
-                return new Psz18IntNoStashCuckooHashBin(envType, type, maxItemSize, keys);
+                return new Psz18IntNoStashCuckooHashBin(envType, hasherType, type, maxItemSize, keys);
             default:
                 throw new IllegalArgumentException("Invalid IntCuckooHashBinType: " + type.name());
         }
@@ -92,17 +109,33 @@ public class IntCuckooHashBinFactory {
      */
     public static IntNoStashCuckooHashBin createInstance(EnvType envType, IntCuckooHashBinType type,
                                                          int maxItemSize, int binNum, byte[][] keys) {
+        return createInstance(envType, MultiIndexHasherFactory.DEFAULT_TYPE, type, maxItemSize, binNum, keys);
+    }
+
+    /**
+     * 构建整数布谷鸟哈希。
+     *
+     * @param envType     环境类型。
+     * @param hasherType  多索引哈希函数类型。
+     * @param type        整数布谷鸟哈希类型。
+     * @param maxItemSize 插入的元素数量。
+     * @param binNum      指定哈希桶数量。
+     * @param keys        密钥。
+     * @return 整数布谷鸟哈希。
+     */
+    public static IntNoStashCuckooHashBin createInstance(EnvType envType, MultiIndexHasherType hasherType,
+                                                         IntCuckooHashBinType type, int maxItemSize, int binNum, byte[][] keys) {
         checkInputs(type, maxItemSize, binNum, keys);
         assert keys.length == getHashNum(type) : type.name() + " needs " + getHashNum(type) + " hash keys";
         switch (type) {
             case NO_STASH_NAIVE:
-                return new NaiveIntNoStashCuckooHashBin(envType, maxItemSize, binNum, keys);
+                return new NaiveIntNoStashCuckooHashBin(envType, hasherType, maxItemSize, binNum, keys);
             case NO_STASH_DRRT18:
-                return new Drrt18IntNoStashCuckooHashBin(envType, maxItemSize, binNum, keys);
+                return new Drrt18IntNoStashCuckooHashBin(envType, hasherType, maxItemSize, binNum, keys);
             case NO_STASH_PSZ18_3_HASH:
             case NO_STASH_PSZ18_4_HASH:
             case NO_STASH_PSZ18_5_HASH:
-                return new Psz18IntNoStashCuckooHashBin(envType, type, maxItemSize, binNum, keys);
+                return new Psz18IntNoStashCuckooHashBin(envType, hasherType, type, maxItemSize, binNum, keys);
             default:
                 throw new IllegalArgumentException("Invalid IntCuckooHashBinType: " + type.name());
         }
@@ -1,6 +1,7 @@
 package edu.alibaba.mpc4j.common.tool.hashbin.primitive.cuckoo;
 
 import edu.alibaba.mpc4j.common.tool.EnvType;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasherFactory.MultiIndexHasherType;
 
 /**
  * PSZ18布谷鸟哈希，无暂存区。其主要思路是放大放缩倍数ε，使得贮存区为空的概率达到要求的程度。论文来源：
@@ -12,11 +13,14 @@ import edu.alibaba.mpc4j.common.tool.EnvType;
  */
 class Psz18IntNoStashCuckooHashBin extends AbstractIntNoStashCuckooHashBin {
 
-    Psz18IntNoStashCuckooHashBin(EnvType envType, IntCuckooHashBinFactory.IntCuckooHashBinType type, int maxItemSize, byte[][] keys) {
-        super(envType, type, maxItemSize, keys);
+    Psz18IntNoStashCuckooHashBin(EnvType envType, MultiIndexHasherType hasherType,
+                                 IntCuckooHashBinFactory.IntCuckooHashBinType type, int maxItemSize, byte[][] keys) {
+        super(envType, hasherType, type, maxItemSize, keys);
     }
 
-    Psz18IntNoStashCuckooHashBin(EnvType envType, IntCuckooHashBinFactory.IntCuckooHashBinType type, int maxItemSize, int binNum, byte[][] keys) {
-        super(envType, type, maxItemSize, binNum, keys);
+    Psz18IntNoStashCuckooHashBin(EnvType envType, MultiIndexHasherType hasherType,
+                                 IntCuckooHashBinFactory.IntCuckooHashBinType type, int maxItemSize, int binNum,
+                                 byte[][] keys) {
+        super(envType, hasherType, type, maxItemSize, binNum, keys);
     }
 }
@@ -1,5 +1,6 @@
 package edu.alibaba.mpc4j.common.tool.utils;
 
+import java.math.BigInteger;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.LongBuffer;
@@ -47,6 +48,55 @@ public class LongUtils {
         return ByteBuffer.wrap(value).getLong();
     }
 
+    /**
+     * 将无符号{@code long}转换为指定字节长度的{@code byte[]}，大端表示。结果与
+     * {@code BigIntegerUtils.nonNegBigIntegerToByteArray}对相同数值的转换结果一致。
+     *
+     * @param value      待转换的无符号{@code long}。
+     * @param byteLength 字节长度，要求小于等于{@code Long.BYTES}。
+     * @return 转换结果。
+     */
+    public static byte[] unsignedLongToByteArray(long value, int byteLength) {
+        assert byteLength > 0 && byteLength <= Long.BYTES : "byteLength must be in range (0, " + Long.BYTES + "]: " + byteLength;
+        assert byteLength == Long.BYTES || (value >>> (byteLength * Byte.SIZE)) == 0
+            : "value must be in range [0, 2^" + (byteLength * Byte.SIZE) + "): " + Long.toUnsignedString(value);
+        byte[] byteArray = new byte[byteLength];
+        for (int index = byteLength - 1; index >= 0; index--) {
+            byteArray[index] = (byte) value;
+            value >>>= Byte.SIZE;
+        }
+        return byteArray;
+    }
+
+    /**
+     * 将{@code byte[]}转换为无符号{@code long}，大端表示。要求{@code byte[]}的长度小于等于{@code Long.BYTES}。
+     *
+     * @param byteArray 待转换的{@code byte[]}。
+     * @return 转换结果。
+     */
+    public static long byteArrayToUnsignedLong(byte[] byteArray) {
+        assert byteArray.length <= Long.BYTES : "byteArray.length must be less than or equal to " + Long.BYTES + ": " + byteArray.length;
+        long value = 0L;
+        for (byte b : byteArray) {
+            value = (value << Byte.SIZE) | (b & 0xFF);
+        }
+        return value;
+    }
+
+    /**
+     * 将无符号{@code long}转换为非负数的{@code BigInteger}。
+     *
+     * @param value 待转换的无符号{@code long}。
+     * @return 转换结果。
+     */
+    public static BigInteger unsignedLongToBigInteger(long value) {
+        if (value >= 0) {
+            return BigInteger.valueOf(value);
+        } else {
+            return BigInteger.valueOf(value >>> 1).shiftLeft(1).or(BigInteger.valueOf(value & 1L));
+        }
+    }
+
     /**
      * 将{@code long[]}转换为{@code byte[]}。
      *
@@ -55,6 +55,7 @@ public class TransBitMatrixEfficiencyTest {
         TransBitMatrixFactory.TransBitMatrixType.JDK_SPLIT_ROW,
         TransBitMatrixFactory.TransBitMatrixType.NATIVE_SPLIT_COL,
         TransBitMatrixFactory.TransBitMatrixType.JDK_SPLIT_COL,
+        TransBitMatrixFactory.TransBitMatrixType.JDK_LONG,
     };
 
     @Test
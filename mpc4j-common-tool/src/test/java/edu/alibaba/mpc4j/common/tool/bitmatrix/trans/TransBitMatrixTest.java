@@ -47,6 +47,8 @@ public class TransBitMatrixTest {
         configurationParams.add(new Object[] {TransBitMatrixType.JDK_SPLIT_COL.name(), TransBitMatrixType.JDK_SPLIT_COL, });
         // 最优列切分布尔矩阵
         configurationParams.add(new Object[] {TransBitMatrixType.NATIVE_SPLIT_COL.name(), TransBitMatrixType.NATIVE_SPLIT_COL, });
+        // Java long分块布尔矩阵
+        configurationParams.add(new Object[] {TransBitMatrixType.JDK_LONG.name(), TransBitMatrixType.JDK_LONG, });
         return configurationParams;
     }
 
@@ -347,4 +349,44 @@ public class TransBitMatrixTest {
             Assert.assertArrayEquals(a.getColumn(columnIndex), aPrime.getColumn(columnIndex));
         }
     }
+
+    @Test
+    public void testTransposeStream() {
+        testTransposeStream(1, 1);
+        testTransposeStream(5, 7);
+        testTransposeStream(1025, 129);
+        testTransposeStream(1023, 127);
+        testTransposeStream(3000, 128);
+        testTransposeStream(128, 3000);
+    }
+
+    private void testTransposeStream(int rows, int columns) {
+        TransBitMatrix a = TransBitMatrixFactory.createInstance(transBitMatrixType, rows, columns);
+        int rowBytes = CommonUtils.getByteLength(rows);
+        IntStream.range(0, columns).forEach(columnIndex -> {
+            byte[] column = new byte[rowBytes];
+            SECURE_RANDOM.nextBytes(column);
+            BytesUtils.reduceByteArray(column, rows);
+            a.setColumn(columnIndex, column);
+        });
+        TransBitMatrix b = a.transpose();
+        // 串行分块转置
+        byte[][] bColumns = a.transposeStream().flatMap(Arrays::stream).toArray(byte[][]::new);
+        Assert.assertEquals(rows, bColumns.length);
+        for (int bColumnIndex = 0; bColumnIndex < rows; bColumnIndex++) {
+            Assert.assertArrayEquals(b.getColumn(bColumnIndex), bColumns[bColumnIndex]);
+        }
+        // 并行分块转置
+        byte[][] parallelBColumns = a.transposeStream().parallel().flatMap(Arrays::stream).toArray(byte[][]::new);
+        Assert.assertEquals(rows, parallelBColumns.length);
+        for (int bColumnIndex = 0; bColumnIndex < rows; bColumnIndex++) {
+            Assert.assertArrayEquals(b.getColumn(bColumnIndex), parallelBColumns[bColumnIndex]);
+        }
+        // 转置矩阵的分块转置
+        byte[][] aColumns = b.transposeStream().flatMap(Arrays::stream).toArray(byte[][]::new);
+        Assert.assertEquals(columns, aColumns.length);
+        for (int aColumnIndex = 0; aColumnIndex < columns; aColumnIndex++) {
+            Assert.assertArrayEquals(a.getColumn(aColumnIndex), aColumns[aColumnIndex]);
+        }
+    }
 }
@@ -4,6 +4,7 @@ import com.google.common.base.Preconditions;
 import edu.alibaba.mpc4j.common.tool.CommonConstants;
 import edu.alibaba.mpc4j.common.tool.EnvType;
 import edu.alibaba.mpc4j.common.tool.crypto.crhf.CrhfFactory.CrhfType;
+import edu.alibaba.mpc4j.common.tool.crypto.prp.PrpUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.Assert;
 import org.junit.Test;
@@ -13,6 +14,7 @@ import org.junit.runners.Parameterized;
 import java.nio.ByteBuffer;
 import java.security.SecureRandom;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
@@ -125,4 +127,22 @@ public class CrhfTest {
             .collect(Collectors.toSet());
         Assert.assertEquals(1, hashSet.size());
     }
+
+    @Test
+    public void testBatchCrhf() {
+        Crhf crhf = CrhfFactory.createInstance(EnvType.STANDARD, type);
+        // 批量哈希的结果与逐个哈希相同
+        byte[][] blocks = new byte[MAX_RANDOM_ROUND][CommonConstants.BLOCK_BYTE_LENGTH];
+        for (int index = 0; index < MAX_RANDOM_ROUND; index++) {
+            SECURE_RANDOM.nextBytes(blocks[index]);
+        }
+        byte[][] expectOutputs = Arrays.stream(blocks).map(crhf::hash).toArray(byte[][]::new);
+        byte[][] outputs = new byte[MAX_RANDOM_ROUND][CommonConstants.BLOCK_BYTE_LENGTH];
+        crhf.hash(blocks, outputs);
+        Assert.assertArrayEquals(expectOutputs, outputs);
+        // 输入和输出为同一个数组
+        byte[] flattenBlocks = PrpUtils.flatten(blocks);
+        crhf.hash(flattenBlocks, flattenBlocks);
+        Assert.assertArrayEquals(PrpUtils.flatten(expectOutputs), flattenBlocks);
+    }
 }
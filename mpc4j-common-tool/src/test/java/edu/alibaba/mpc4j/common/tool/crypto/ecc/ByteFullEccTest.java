@@ -3,6 +3,7 @@ package edu.alibaba.mpc4j.common.tool.crypto.ecc;
 import com.google.common.base.Preconditions;
 import edu.alibaba.mpc4j.common.tool.CommonConstants;
 import edu.alibaba.mpc4j.common.tool.crypto.ecc.ByteEccFactory.ByteEccType;
+import edu.alibaba.mpc4j.common.tool.crypto.ecc.utils.BatchEccUtils;
 import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.Assert;
@@ -190,6 +191,59 @@ public class ByteFullEccTest {
         Assert.assertArrayEquals(negative, expect);
     }
 
+    @Test
+    public void testMsm() {
+        testMsm(0);
+        testMsm(1);
+        testMsm(MAX_RANDOM_ROUND);
+        testMsm(CommonConstants.BLOCK_BIT_LENGTH * 3);
+    }
+
+    private void testMsm(int num) {
+        ByteFullEcc byteFullEcc = ByteEccFactory.createFullInstance(byteEccType);
+        BigInteger n = byteFullEcc.getN();
+        byte[][] ps = IntStream.range(0, num)
+            .mapToObj(index -> byteFullEcc.randomPoint(SECURE_RANDOM))
+            .toArray(byte[][]::new);
+        BigInteger[] rs = IntStream.range(0, num)
+            .mapToObj(index -> byteFullEcc.randomZn(SECURE_RANDOM))
+            .toArray(BigInteger[]::new);
+        // 包含边界幂指数
+        if (num > 1) {
+            rs[0] = BigInteger.ZERO;
+            rs[1] = n.subtract(BigInteger.ONE);
+        }
+        byte[] expect = byteFullEcc.getInfinity();
+        for (int index = 0; index < num; index++) {
+            expect = byteFullEcc.add(expect, byteFullEcc.mul(ps[index], rs[index]));
+        }
+        Assert.assertArrayEquals(expect, byteFullEcc.msm(ps, rs));
+        // 幂指数不在[0, n)范围内
+        BigInteger[] unreducedRs = Arrays.stream(rs).map(r -> r.subtract(n)).toArray(BigInteger[]::new);
+        Assert.assertArrayEquals(expect, byteFullEcc.msm(ps, unreducedRs));
+    }
+
+    @Test
+    public void testBatchMul() {
+        testBatchMul(0, false);
+        testBatchMul(1, false);
+        testBatchMul(BatchEccUtils.CHUNK_SIZE * 2 + 1, false);
+        testBatchMul(BatchEccUtils.CHUNK_SIZE * 2 + 1, true);
+    }
+
+    private void testBatchMul(int num, boolean parallel) {
+        ByteFullEcc byteFullEcc = ByteEccFactory.createFullInstance(byteEccType);
+        byte[][] ps = IntStream.range(0, num)
+            .mapToObj(index -> byteFullEcc.randomPoint(SECURE_RANDOM))
+            .toArray(byte[][]::new);
+        BigInteger k = byteFullEcc.randomZn(SECURE_RANDOM);
+        byte[][] kps = byteFullEcc.mul(ps, k, parallel);
+        Assert.assertEquals(num, kps.length);
+        for (int index = 0; index < num; index++) {
+            Assert.assertArrayEquals(byteFullEcc.mul(ps[index], k), kps[index]);
+        }
+    }
+
     @Test
     public void testParallel() {
         ByteFullEcc byteFullEcc = ByteEccFactory.createFullInstance(byteEccType);
@@ -3,6 +3,7 @@ package edu.alibaba.mpc4j.common.tool.crypto.ecc;
 import com.google.common.base.Preconditions;
 import edu.alibaba.mpc4j.common.tool.CommonConstants;
 import edu.alibaba.mpc4j.common.tool.crypto.ecc.ByteEccFactory.ByteEccType;
+import edu.alibaba.mpc4j.common.tool.crypto.ecc.utils.BatchEccUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.Assert;
 import org.junit.Test;
@@ -153,6 +154,38 @@ public class ByteMulEccTest {
         }
     }
 
+    @Test
+    public void testBatch() {
+        testBatch(0, false);
+        testBatch(1, false);
+        testBatch(BatchEccUtils.CHUNK_SIZE * 2 + 1, false);
+        testBatch(BatchEccUtils.CHUNK_SIZE * 2 + 1, true);
+    }
+
+    private void testBatch(int num, boolean parallel) {
+        ByteMulEcc byteMulEcc = ByteEccFactory.createMulInstance(byteEccType);
+        byte[][] messages = IntStream.range(0, num)
+            .mapToObj(index -> {
+                byte[] message = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
+                SECURE_RANDOM.nextBytes(message);
+                return message;
+            })
+            .toArray(byte[][]::new);
+        // 批量HashToCurve
+        byte[][] ps = byteMulEcc.hashToCurve(messages, parallel);
+        Assert.assertEquals(num, ps.length);
+        for (int index = 0; index < num; index++) {
+            Assert.assertArrayEquals(byteMulEcc.hashToCurve(messages[index]), ps[index]);
+        }
+        // 批量乘法
+        byte[] k = byteMulEcc.randomScalar(SECURE_RANDOM);
+        byte[][] kps = byteMulEcc.mul(ps, k, parallel);
+        Assert.assertEquals(num, kps.length);
+        for (int index = 0; index < num; index++) {
+            Assert.assertArrayEquals(byteMulEcc.mul(ps[index], k), kps[index]);
+        }
+    }
+
     @Test
     public void testParallel() {
         ByteMulEcc byteMulEcc = ByteEccFactory.createMulInstance(byteEccType);
@@ -3,6 +3,7 @@ package edu.alibaba.mpc4j.common.tool.crypto.ecc;
 import com.google.common.base.Preconditions;
 import edu.alibaba.mpc4j.common.tool.CommonConstants;
 import edu.alibaba.mpc4j.common.tool.crypto.ecc.EccFactory.EccType;
+import edu.alibaba.mpc4j.common.tool.crypto.ecc.utils.BatchEccUtils;
 import edu.alibaba.mpc4j.common.tool.utils.BigIntegerUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.bouncycastle.math.ec.ECPoint;
@@ -272,6 +273,111 @@ public class EccTest {
         Assert.assertEquals(ecc.multiply(g, BigInteger.valueOf(num)), ecc.innerProduct(binary, gs));
     }
 
+    @Test
+    public void testMsm() {
+        testMsm(0);
+        testMsm(1);
+        testMsm(MAX_ARRAY_LENGTH);
+        testMsm(CommonConstants.BLOCK_BIT_LENGTH * 3);
+    }
+
+    private void testMsm(int num) {
+        Ecc ecc = EccFactory.createInstance(eccType);
+        BigInteger n = ecc.getN();
+        ECPoint[] ps = IntStream.range(0, num)
+            .mapToObj(index -> ecc.randomPoint(SECURE_RANDOM))
+            .toArray(ECPoint[]::new);
+        BigInteger[] rs = IntStream.range(0, num)
+            .mapToObj(index -> ecc.randomZn(SECURE_RANDOM))
+            .toArray(BigInteger[]::new);
+        // 包含边界幂指数
+        if (num > 1) {
+            rs[0] = BigInteger.ZERO;
+            rs[1] = n.subtract(BigInteger.ONE);
+        }
+        ECPoint expect = ecc.getInfinity();
+        for (int index = 0; index < num; index++) {
+            expect = expect.add(ecc.multiply(ps[index], rs[index]));
+        }
+        Assert.assertEquals(expect.normalize(), ecc.msm(ps, rs));
+        // 幂指数不在[0, n)范围内
+        BigInteger[] unreducedRs = Arrays.stream(rs).map(r -> r.subtract(n)).toArray(BigInteger[]::new);
+        Assert.assertEquals(expect.normalize(), ecc.msm(ps, unreducedRs));
+    }
+
+    @Test
+    public void testBatch() {
+        testBatch(0, false);
+        testBatch(1, false);
+        testBatch(BatchEccUtils.CHUNK_SIZE * 2 + 1, false);
+        testBatch(BatchEccUtils.CHUNK_SIZE * 2 + 1, true);
+    }
+
+    private void testBatch(int num, boolean parallel) {
+        Ecc ecc = EccFactory.createInstance(eccType);
+        byte[][] messages = IntStream.range(0, num)
+            .mapToObj(index -> {
+                byte[] message = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
+                SECURE_RANDOM.nextBytes(message);
+                return message;
+            })
+            .toArray(byte[][]::new);
+        // 批量HashToCurve
+        ECPoint[] ps = ecc.hashToCurve(messages, parallel);
+        Assert.assertEquals(num, ps.length);
+        for (int index = 0; index < num; index++) {
+            Assert.assertEquals(ecc.hashToCurve(messages[index]), ps[index]);
+        }
+        // 批量乘法
+        BigInteger r = ecc.randomZn(SECURE_RANDOM);
+        ECPoint[] rps = ecc.multiply(ps, r, parallel);
+        Assert.assertEquals(num, rps.length);
+        for (int index = 0; index < num; index++) {
+            Assert.assertEquals(ecc.multiply(ps[index], r), rps[index]);
+        }
+        // 批量编码和解码
+        for (boolean compressed : new boolean[] {true, false}) {
+            byte[][] encodes = ecc.encode(rps, compressed, parallel);
+            Assert.assertEquals(num, encodes.length);
+            for (int index = 0; index < num; index++) {
+                Assert.assertArrayEquals(ecc.encode(rps[index], compressed), encodes[index]);
+            }
+            ECPoint[] decodes = ecc.decode(encodes, parallel);
+            Assert.assertArrayEquals(rps, decodes);
+        }
+    }
+
+    @Test
+    public void testInfinityBatchMultiply() {
+        Ecc ecc = EccFactory.createInstance(eccType);
+        // 无穷远点和普通点混合进行批量乘法
+        ECPoint[] ps = new ECPoint[] {ecc.getInfinity(), ecc.getG(), ecc.getInfinity()};
+        BigInteger r = ecc.randomZn(SECURE_RANDOM);
+        ECPoint[] rps = ecc.multiply(ps, r, false);
+        Assert.assertTrue(rps[0].isInfinity());
+        Assert.assertEquals(ecc.multiply(ecc.getG(), r), rps[1]);
+        Assert.assertTrue(rps[2].isInfinity());
+    }
+
+    @Test
+    public void testPrecomputeBatchMultiply() {
+        Ecc ecc = EccFactory.createInstance(eccType);
+        int num = BatchEccUtils.CHUNK_SIZE + 1;
+        // 两个分块中各有一个点进行预计算，批量乘法要混合处理预计算和未预计算的点
+        ECPoint[] ps = IntStream.range(0, num)
+            .mapToObj(index -> ecc.multiply(ecc.getG(), ecc.randomZn(SECURE_RANDOM)))
+            .toArray(ECPoint[]::new);
+        ecc.precompute(ps[0]);
+        ecc.precompute(ps[num - 1]);
+        BigInteger r = ecc.randomZn(SECURE_RANDOM);
+        ECPoint[] rps = ecc.multiply(ps, r, false);
+        ecc.destroyPrecompute(ps[0]);
+        ecc.destroyPrecompute(ps[num - 1]);
+        for (int index = 0; index < num; index++) {
+            Assert.assertEquals(ecc.multiply(ps[index], r), rps[index]);
+        }
+    }
+
     @Test
     public void testParallel() {
         Ecc ecc = EccFactory.createInstance(eccType);
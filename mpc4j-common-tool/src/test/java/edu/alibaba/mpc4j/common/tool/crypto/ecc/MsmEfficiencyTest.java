@@ -0,0 +1,175 @@
+package edu.alibaba.mpc4j.common.tool.crypto.ecc;
+
+import edu.alibaba.mpc4j.common.tool.crypto.ecc.ByteEccFactory.ByteEccType;
+import edu.alibaba.mpc4j.common.tool.crypto.ecc.EccFactory.EccType;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.time.StopWatch;
+import org.bouncycastle.math.ec.ECPoint;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.text.DecimalFormat;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * multi-scalar multiplication efficiency test.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/15
+ */
+@Ignore
+public class MsmEfficiencyTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MsmEfficiencyTest.class);
+    /**
+     * min log(n)
+     */
+    private static final int MIN_LOG_N = 8;
+    /**
+     * max log(n)
+     */
+    private static final int MAX_LOG_N = 20;
+    /**
+     * max log(n) for naive computation, larger n takes too much time.
+     */
+    private static final int MAX_NAIVE_LOG_N = 14;
+    /**
+     * log(n) format
+     */
+    private static final DecimalFormat LOG_N_DECIMAL_FORMAT = new DecimalFormat("00");
+    /**
+     * time format
+     */
+    private static final DecimalFormat TIME_DECIMAL_FORMAT = new DecimalFormat("0.0000");
+    /**
+     * random state
+     */
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+    /**
+     * stop watch
+     */
+    private static final StopWatch STOP_WATCH = new StopWatch();
+    /**
+     * ECC types
+     */
+    private static final EccType[] ECC_TYPES = new EccType[] {
+        EccType.SEC_P256_K1_MCL,
+        EccType.SEC_P256_K1_OPENSSL,
+        EccType.SEC_P256_K1_BC,
+        EccType.SEC_P256_R1_OPENSSL,
+        EccType.SEC_P256_R1_BC,
+        EccType.ED25519_BC,
+    };
+    /**
+     * byte full ECC types
+     */
+    private static final ByteEccType[] BYTE_FULL_ECC_TYPES = new ByteEccType[] {
+        ByteEccType.ED25519_BC,
+        ByteEccType.ED25519_CAFE,
+        ByteEccType.RISTRETTO_CAFE,
+        ByteEccType.FOUR_Q,
+    };
+
+    @Test
+    public void testEfficiency() {
+        LOGGER.info(
+            "{}\t{}\t{}\t{}",
+            "                name", "    log(n)", "Naive.(ms)", "  MSM.(ms)"
+        );
+        for (EccType type : ECC_TYPES) {
+            Ecc ecc = EccFactory.createInstance(type);
+            for (int logN = MIN_LOG_N; logN <= MAX_LOG_N; logN += 2) {
+                testEfficiency(ecc, logN);
+            }
+        }
+        for (ByteEccType type : BYTE_FULL_ECC_TYPES) {
+            ByteFullEcc byteFullEcc = ByteEccFactory.createFullInstance(type);
+            for (int logN = MIN_LOG_N; logN <= MAX_LOG_N; logN += 2) {
+                testEfficiency(byteFullEcc, logN);
+            }
+        }
+    }
+
+    private void testEfficiency(Ecc ecc, int logN) {
+        int n = 1 << logN;
+        // generate points by additions, which is much faster than generating random points
+        ECPoint h = ecc.randomPoint(SECURE_RANDOM);
+        ECPoint[] ps = new ECPoint[n];
+        ps[0] = h;
+        for (int index = 1; index < n; index++) {
+            ps[index] = ps[index - 1].add(h).normalize();
+        }
+        BigInteger[] rs = IntStream.range(0, n)
+            .mapToObj(index -> ecc.randomZn(SECURE_RANDOM))
+            .toArray(BigInteger[]::new);
+        // naive
+        String naiveTimeString = "    --    ";
+        if (logN <= MAX_NAIVE_LOG_N) {
+            STOP_WATCH.start();
+            ECPoint naive = ecc.getInfinity();
+            for (int index = 0; index < n; index++) {
+                naive = naive.add(ecc.multiply(ps[index], rs[index]));
+            }
+            naive.normalize();
+            STOP_WATCH.stop();
+            naiveTimeString = TIME_DECIMAL_FORMAT.format((double) STOP_WATCH.getTime(TimeUnit.MILLISECONDS) / n);
+            STOP_WATCH.reset();
+        }
+        // MSM
+        STOP_WATCH.start();
+        ecc.msm(ps, rs);
+        STOP_WATCH.stop();
+        double msmTime = (double) STOP_WATCH.getTime(TimeUnit.MILLISECONDS) / n;
+        STOP_WATCH.reset();
+        LOGGER.info(
+            "{}\t{}\t{}\t{}",
+            StringUtils.leftPad(ecc.getEccType().name(), 20),
+            StringUtils.leftPad(LOG_N_DECIMAL_FORMAT.format(logN), 10),
+            StringUtils.leftPad(naiveTimeString, 10),
+            StringUtils.leftPad(TIME_DECIMAL_FORMAT.format(msmTime), 10)
+        );
+    }
+
+    private void testEfficiency(ByteFullEcc byteFullEcc, int logN) {
+        int n = 1 << logN;
+        // generate points by additions, which is much faster than generating random points
+        byte[] h = byteFullEcc.randomPoint(SECURE_RANDOM);
+        byte[][] ps = new byte[n][];
+        ps[0] = h;
+        for (int index = 1; index < n; index++) {
+            ps[index] = byteFullEcc.add(ps[index - 1], h);
+        }
+        BigInteger[] rs = IntStream.range(0, n)
+            .mapToObj(index -> byteFullEcc.randomZn(SECURE_RANDOM))
+            .toArray(BigInteger[]::new);
+        // naive
+        String naiveTimeString = "    --    ";
+        if (logN <= MAX_NAIVE_LOG_N) {
+            STOP_WATCH.start();
+            byte[] naive = byteFullEcc.getInfinity();
+            for (int index = 0; index < n; index++) {
+                byteFullEcc.addi(naive, byteFullEcc.mul(ps[index], rs[index]));
+            }
+            STOP_WATCH.stop();
+            naiveTimeString = TIME_DECIMAL_FORMAT.format((double) STOP_WATCH.getTime(TimeUnit.MILLISECONDS) / n);
+            STOP_WATCH.reset();
+        }
+        // MSM
+        STOP_WATCH.start();
+        byteFullEcc.msm(ps, rs);
+        STOP_WATCH.stop();
+        double msmTime = (double) STOP_WATCH.getTime(TimeUnit.MILLISECONDS) / n;
+        STOP_WATCH.reset();
+        LOGGER.info(
+            "{}\t{}\t{}\t{}",
+            StringUtils.leftPad("(B) " + byteFullEcc.getByteEccType().name(), 20),
+            StringUtils.leftPad(LOG_N_DECIMAL_FORMAT.format(logN), 10),
+            StringUtils.leftPad(naiveTimeString, 10),
+            StringUtils.leftPad(TIME_DECIMAL_FORMAT.format(msmTime), 10)
+        );
+    }
+}
@@ -0,0 +1,115 @@
+package edu.alibaba.mpc4j.common.tool.crypto.ecc;
+
+import edu.alibaba.mpc4j.common.tool.crypto.ecc.ByteEccFactory.ByteEccType;
+import edu.alibaba.mpc4j.common.tool.crypto.ecc.EccFactory.EccType;
+import org.bouncycastle.math.ec.ECPoint;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.stream.IntStream;
+
+/**
+ * fixed-base precomputation cache test.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/18
+ */
+public class PrecomputeCacheTest {
+    /**
+     * random round
+     */
+    private static final int RANDOM_ROUND = 10;
+    /**
+     * parallel num
+     */
+    private static final int PARALLEL_NUM = 200;
+    /**
+     * random state
+     */
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
+    @Test
+    public void testEccPrecomputeCache() {
+        Ecc ecc = EccFactory.createInstance(EccType.SEC_P256_K1_BC);
+        EccPrecomputeCache cache = new EccPrecomputeCache(ecc, Long.MAX_VALUE);
+        ECPoint p = ecc.randomPoint(SECURE_RANDOM);
+        for (int round = 0; round < RANDOM_ROUND; round++) {
+            BigInteger r = ecc.randomZn(SECURE_RANDOM);
+            Assert.assertEquals(ecc.multiply(p, r).normalize(), cache.multiply(p, r).normalize());
+        }
+        Assert.assertEquals(1, cache.getMissNum());
+        Assert.assertEquals(RANDOM_ROUND - 1, cache.getHitNum());
+        Assert.assertEquals(1, cache.getTableNum());
+        Assert.assertTrue(cache.getMemoryBytes() > 0);
+    }
+
+    @Test
+    public void testEccEviction() {
+        Ecc ecc = EccFactory.createInstance(EccType.SEC_P256_K1_BC);
+        ECPoint p = ecc.randomPoint(SECURE_RANDOM);
+        ECPoint q = ecc.randomPoint(SECURE_RANDOM);
+        // first compute the memory of one table, then bound the cache to hold only one table
+        EccPrecomputeCache probeCache = new EccPrecomputeCache(ecc, 4, Long.MAX_VALUE);
+        probeCache.multiply(p, BigInteger.ONE);
+        EccPrecomputeCache cache = new EccPrecomputeCache(ecc, 4, probeCache.getMemoryBytes());
+        BigInteger r = ecc.randomZn(SECURE_RANDOM);
+        Assert.assertEquals(ecc.multiply(p, r).normalize(), cache.multiply(p, r).normalize());
+        Assert.assertEquals(ecc.multiply(q, r).normalize(), cache.multiply(q, r).normalize());
+        Assert.assertEquals(ecc.multiply(p, r).normalize(), cache.multiply(p, r).normalize());
+        Assert.assertEquals(3, cache.getMissNum());
+        Assert.assertEquals(0, cache.getHitNum());
+        Assert.assertEquals(2, cache.getEvictionNum());
+        Assert.assertEquals(1, cache.getTableNum());
+        // a cache that cannot hold any table still computes correct results
+        EccPrecomputeCache tinyCache = new EccPrecomputeCache(ecc, 4, 1);
+        Assert.assertEquals(ecc.multiply(p, r).normalize(), tinyCache.multiply(p, r).normalize());
+        Assert.assertEquals(0, tinyCache.getTableNum());
+    }
+
+    @Test
+    public void testEccParallel() {
+        Ecc ecc = EccFactory.createInstance(EccType.SEC_P256_K1_BC);
+        EccPrecomputeCache cache = new EccPrecomputeCache(ecc, Long.MAX_VALUE);
+        ECPoint p = ecc.randomPoint(SECURE_RANDOM);
+        BigInteger[] rs = IntStream.range(0, PARALLEL_NUM)
+            .mapToObj(index -> ecc.randomZn(SECURE_RANDOM))
+            .toArray(BigInteger[]::new);
+        ECPoint[] results = IntStream.range(0, PARALLEL_NUM)
+            .parallel()
+            .mapToObj(index -> cache.multiply(p, rs[index]))
+            .toArray(ECPoint[]::new);
+        for (int index = 0; index < PARALLEL_NUM; index++) {
+            Assert.assertEquals(ecc.multiply(p, rs[index]).normalize(), results[index].normalize());
+        }
+        Assert.assertEquals(PARALLEL_NUM, cache.getHitNum() + cache.getMissNum());
+        Assert.assertEquals(1, cache.getTableNum());
+    }
+
+    @Test
+    public void testByteEccPrecomputeCache() {
+        testByteEccPrecomputeCache(ByteEccType.ED25519_CAFE, true);
+        testByteEccPrecomputeCache(ByteEccType.RISTRETTO_CAFE, true);
+        testByteEccPrecomputeCache(ByteEccType.X25519_BC, false);
+    }
+
+    private void testByteEccPrecomputeCache(ByteEccType byteEccType, boolean supportTable) {
+        ByteMulEcc byteMulEcc = ByteEccFactory.createMulInstance(byteEccType);
+        Assert.assertEquals(supportTable, byteMulEcc.supportFixedBaseTable());
+        ByteEccPrecomputeCache cache = new ByteEccPrecomputeCache(byteMulEcc, Long.MAX_VALUE);
+        byte[] p = byteMulEcc.randomPoint(SECURE_RANDOM);
+        for (int round = 0; round < RANDOM_ROUND; round++) {
+            byte[] k = byteMulEcc.randomScalar(SECURE_RANDOM);
+            Assert.assertArrayEquals(byteMulEcc.mul(p, k), cache.mul(p, k));
+        }
+        if (supportTable) {
+            Assert.assertEquals(1, cache.getMissNum());
+            Assert.assertEquals(RANDOM_ROUND - 1, cache.getHitNum());
+            Assert.assertEquals(1, cache.getTableNum());
+        } else {
+            Assert.assertEquals(0, cache.getMissNum());
+            Assert.assertEquals(0, cache.getTableNum());
+        }
+    }
+}
@@ -82,4 +82,55 @@ public class PrgEfficiencyTest {
         }
         LOGGER.info(StringUtils.rightPad("", 60, '-'));
     }
+
+    @Test
+    public void testBufferEfficiency() {
+        LOGGER.info("{}\t{}\t{}\t{}\t{}\t{}",
+            "                name", "    log(n)", "output_len", "alloc(ns/B)", "bytes(ns/B)", "longs(ns/B)"
+        );
+        testBufferEfficiency(1 << 4);
+        testBufferEfficiency(1 << 5);
+        testBufferEfficiency(1 << 7);
+        testBufferEfficiency(1 << 10);
+    }
+
+    private void testBufferEfficiency(int outputByteLength) {
+        int n = 1 << LOG_N;
+        double totalByteLength = (double) n * outputByteLength;
+        for (PrgType type : TYPES) {
+            Prg prg = PrgFactory.createInstance(type, outputByteLength);
+            byte[] byteBuffer = new byte[outputByteLength];
+            long[] longBuffer = new long[outputByteLength / Long.BYTES];
+            // 预热
+            IntStream.range(0, n).forEach(index -> prg.extendToBytes(ZERO_SEED));
+            IntStream.range(0, n).forEach(index -> prg.extendToBytes(ZERO_SEED, byteBuffer, 0));
+            // 每次扩展都分配输出
+            STOP_WATCH.start();
+            IntStream.range(0, n).forEach(index -> prg.extendToBytes(ZERO_SEED));
+            STOP_WATCH.stop();
+            double allocTime = STOP_WATCH.getNanoTime() / totalByteLength;
+            STOP_WATCH.reset();
+            // 扩展到调用方提供的byte[]
+            STOP_WATCH.start();
+            IntStream.range(0, n).forEach(index -> prg.extendToBytes(ZERO_SEED, byteBuffer, 0));
+            STOP_WATCH.stop();
+            double bytesTime = STOP_WATCH.getNanoTime() / totalByteLength;
+            STOP_WATCH.reset();
+            // 扩展到调用方提供的long[]
+            STOP_WATCH.start();
+            IntStream.range(0, n).forEach(index -> prg.extendToLongs(ZERO_SEED, longBuffer, 0));
+            STOP_WATCH.stop();
+            double longsTime = STOP_WATCH.getNanoTime() / totalByteLength;
+            STOP_WATCH.reset();
+            LOGGER.info("{}\t{}\t{}\t{}\t{}\t{}",
+                StringUtils.leftPad(type.name(), 20),
+                StringUtils.leftPad(String.valueOf(LOG_N), 10),
+                StringUtils.leftPad(String.valueOf(outputByteLength), 10),
+                StringUtils.leftPad(TIME_DECIMAL_FORMAT.format(allocTime), 11),
+                StringUtils.leftPad(TIME_DECIMAL_FORMAT.format(bytesTime), 11),
+                StringUtils.leftPad(TIME_DECIMAL_FORMAT.format(longsTime), 11)
+            );
+        }
+        LOGGER.info(StringUtils.rightPad("", 60, '-'));
+    }
 }
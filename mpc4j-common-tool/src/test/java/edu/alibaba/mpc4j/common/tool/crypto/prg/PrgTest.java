@@ -3,6 +3,7 @@ package edu.alibaba.mpc4j.common.tool.crypto.prg;
 import com.google.common.base.Preconditions;
 import edu.alibaba.mpc4j.common.tool.CommonConstants;
 import edu.alibaba.mpc4j.common.tool.crypto.prg.PrgFactory.PrgType;
+import edu.alibaba.mpc4j.common.tool.utils.LongUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.Assert;
 import org.junit.Test;
@@ -12,6 +13,7 @@ import org.junit.runners.Parameterized;
 import java.nio.ByteBuffer;
 import java.security.SecureRandom;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
@@ -145,4 +147,70 @@ public class PrgTest {
             .collect(Collectors.toSet());
         Assert.assertEquals(1, extendSet.size());
     }
+
+    @Test
+    public void testBatch() {
+        testBatch(1);
+        testBatch(CommonConstants.BLOCK_BYTE_LENGTH - 1);
+        testBatch(CommonConstants.BLOCK_BYTE_LENGTH);
+        testBatch(2 * CommonConstants.BLOCK_BYTE_LENGTH);
+        testBatch(2 * CommonConstants.BLOCK_BYTE_LENGTH + 1);
+    }
+
+    private void testBatch(int outputByteLength) {
+        Prg prg = PrgFactory.createInstance(type, outputByteLength);
+        byte[][] seeds = new byte[MAX_RANDOM_ROUND][CommonConstants.BLOCK_BYTE_LENGTH];
+        for (int index = 0; index < MAX_RANDOM_ROUND; index++) {
+            SECURE_RANDOM.nextBytes(seeds[index]);
+        }
+        // batch extension gives the same outputs as extending seeds one by one
+        byte[][] expectOutputs = Arrays.stream(seeds).map(prg::extendToBytes).toArray(byte[][]::new);
+        Assert.assertArrayEquals(expectOutputs, prg.extendToBytes(seeds));
+    }
+
+    @Test
+    public void testExtendToBuffer() {
+        testExtendToBuffer(1);
+        testExtendToBuffer(Long.BYTES);
+        testExtendToBuffer(CommonConstants.BLOCK_BYTE_LENGTH - 1);
+        testExtendToBuffer(CommonConstants.BLOCK_BYTE_LENGTH);
+        testExtendToBuffer(CommonConstants.BLOCK_BYTE_LENGTH + Long.BYTES);
+        testExtendToBuffer(2 * CommonConstants.BLOCK_BYTE_LENGTH);
+        testExtendToBuffer(2 * CommonConstants.BLOCK_BYTE_LENGTH + 1);
+    }
+
+    private void testExtendToBuffer(int outputByteLength) {
+        Prg prg = PrgFactory.createInstance(type, outputByteLength);
+        int offset = 3;
+        byte[] seed = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
+        for (int round = 0; round < MAX_RANDOM_ROUND; round++) {
+            SECURE_RANDOM.nextBytes(seed);
+            byte[] expectOutput = prg.extendToBytes(seed);
+            // extend into a byte buffer at an offset, leaving other bytes unchanged
+            byte[] byteBuffer = new byte[offset + outputByteLength + offset];
+            prg.extendToBytes(seed, byteBuffer, offset);
+            Assert.assertArrayEquals(new byte[offset], Arrays.copyOfRange(byteBuffer, 0, offset));
+            Assert.assertArrayEquals(expectOutput, Arrays.copyOfRange(byteBuffer, offset, offset + outputByteLength));
+            Assert.assertArrayEquals(new byte[offset], Arrays.copyOfRange(byteBuffer, offset + outputByteLength, byteBuffer.length));
+            if (outputByteLength % Long.BYTES == 0) {
+                // extend into a long buffer at an offset
+                long[] longBuffer = new long[offset + outputByteLength / Long.BYTES];
+                prg.extendToLongs(seed, longBuffer, offset);
+                Assert.assertArrayEquals(
+                    LongUtils.byteArrayToLongArray(expectOutput), Arrays.copyOfRange(longBuffer, offset, longBuffer.length)
+                );
+            }
+        }
+    }
+
+    @Test
+    public void testParallelExtendToBuffer() {
+        Prg prg = PrgFactory.createInstance(type, 2 * CommonConstants.BLOCK_BYTE_LENGTH);
+        byte[] expectOutput = prg.extendToBytes(ZERO_SEED);
+        byte[][] outputs = new byte[MAX_PARALLEL][2 * CommonConstants.BLOCK_BYTE_LENGTH];
+        IntStream.range(0, MAX_PARALLEL).parallel().forEach(index -> prg.extendToBytes(ZERO_SEED, outputs[index], 0));
+        for (byte[] output : outputs) {
+            Assert.assertArrayEquals(expectOutput, output);
+        }
+    }
 }
@@ -93,7 +93,7 @@ public class PrpEfficiencyTest {
 
     @Test
     public void testFastEfficiency() {
-        LOGGER.info("{}\t{}\t{}\t{}", "                name", "    log(n)", "   PRP(us)", "InvPRP(us)");
+        LOGGER.info("{}\t{}\t{}\t{}\t{}", "                name", "    log(n)", "   PRP(us)", "InvPRP(us)", " Batch(us)");
         for (PrpType type : FAST_TYPES) {
             testEfficiency(type,  FAST_LOG_N);
         }
@@ -101,7 +101,7 @@ public class PrpEfficiencyTest {
 
     @Test
     public void testSlowEfficiency() {
-        LOGGER.info("{}\t{}\t{}\t{}", "                name", "    log(n)", "   PRP(us)", "InvPRP(us)");
+        LOGGER.info("{}\t{}\t{}\t{}\t{}", "                name", "    log(n)", "   PRP(us)", "InvPRP(us)", " Batch(us)");
         for (PrpType type : SLOW_TYPES) {
             testEfficiency(type, SLOW_LOG_N);
         }
@@ -127,11 +127,20 @@ public class PrpEfficiencyTest {
         STOP_WATCH.stop();
         double invPrpTime = (double) STOP_WATCH.getTime(TimeUnit.MICROSECONDS) / n;
         STOP_WATCH.reset();
-        LOGGER.info("{}\t{}\t{}\t{}",
+        // 批量Prp性能
+        byte[] blocks = new byte[n * CommonConstants.BLOCK_BYTE_LENGTH];
+        prp.prp(blocks, blocks);
+        STOP_WATCH.start();
+        prp.prp(blocks, blocks);
+        STOP_WATCH.stop();
+        double batchPrpTime = (double) STOP_WATCH.getTime(TimeUnit.MICROSECONDS) / n;
+        STOP_WATCH.reset();
+        LOGGER.info("{}\t{}\t{}\t{}\t{}",
             StringUtils.leftPad(type.name(), 20),
             StringUtils.leftPad(LOG_N_DECIMAL_FORMAT.format(logN), 10),
             StringUtils.leftPad(TIME_DECIMAL_FORMAT.format(prpTime), 10),
-            StringUtils.leftPad(TIME_DECIMAL_FORMAT.format(invPrpTime), 10)
+            StringUtils.leftPad(TIME_DECIMAL_FORMAT.format(invPrpTime), 10),
+            StringUtils.leftPad(TIME_DECIMAL_FORMAT.format(batchPrpTime), 10)
         );
     }
 }
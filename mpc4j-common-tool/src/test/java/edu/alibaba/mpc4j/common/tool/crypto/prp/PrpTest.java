@@ -12,6 +12,7 @@ import org.junit.runners.Parameterized;
 import java.nio.ByteBuffer;
 import java.security.SecureRandom;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
@@ -274,4 +275,26 @@ public class PrpTest {
             .collect(Collectors.toSet());
         Assert.assertEquals(1, plaintextSet.size());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testBatchPrp() {
+        Prp prp = PrpFactory.createInstance(type);
+        prp.setKey(ZERO_KEY);
+        // 批量置换的结果与逐个置换相同，包括不足流水线长度的分组数量
+        for (int num : new int[] {1, 7, 8, 9, MAX_RANDOM_ROUND}) {
+            byte[][] plaintexts = new byte[num][CommonConstants.BLOCK_BYTE_LENGTH];
+            for (int index = 0; index < num; index++) {
+                SECURE_RANDOM.nextBytes(plaintexts[index]);
+            }
+            byte[][] expectCiphertexts = Arrays.stream(plaintexts).map(prp::prp).toArray(byte[][]::new);
+            // 分组数组形式
+            byte[][] ciphertexts = new byte[num][CommonConstants.BLOCK_BYTE_LENGTH];
+            prp.prp(plaintexts, ciphertexts);
+            Assert.assertArrayEquals(expectCiphertexts, ciphertexts);
+            // 依次存放形式，输入和输出为同一个数组
+            byte[] blocks = PrpUtils.flatten(plaintexts);
+            prp.prp(blocks, blocks);
+            Assert.assertArrayEquals(PrpUtils.flatten(expectCiphertexts), blocks);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package edu.alibaba.mpc4j.common.tool.crypto.tcrhf;
 import com.google.common.base.Preconditions;
 import edu.alibaba.mpc4j.common.tool.CommonConstants;
 import edu.alibaba.mpc4j.common.tool.EnvType;
+import edu.alibaba.mpc4j.common.tool.crypto.prp.PrpUtils;
 import edu.alibaba.mpc4j.common.tool.crypto.tcrhf.TcrhfFactory.TcrhfType;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.Assert;
@@ -127,4 +128,26 @@ public class TcrhfTest {
             .collect(Collectors.toSet());
         Assert.assertEquals(1, hashSet.size());
     }
+
+    @Test
+    public void testBatchTcrhf() {
+        Tcrhf tcrhf = TcrhfFactory.createInstance(EnvType.STANDARD, type);
+        // 批量哈希的结果与逐个哈希相同
+        byte[][] blocks = new byte[MAX_RANDOM_ROUND][CommonConstants.BLOCK_BYTE_LENGTH];
+        int[] indexes = new int[MAX_RANDOM_ROUND];
+        for (int index = 0; index < MAX_RANDOM_ROUND; index++) {
+            SECURE_RANDOM.nextBytes(blocks[index]);
+            indexes[index] = SECURE_RANDOM.nextInt();
+        }
+        byte[][] expectOutputs = IntStream.range(0, MAX_RANDOM_ROUND)
+            .mapToObj(index -> tcrhf.hash(indexes[index], blocks[index]))
+            .toArray(byte[][]::new);
+        byte[][] outputs = new byte[MAX_RANDOM_ROUND][CommonConstants.BLOCK_BYTE_LENGTH];
+        tcrhf.hash(indexes, blocks, outputs);
+        Assert.assertArrayEquals(expectOutputs, outputs);
+        // 输入和输出为同一个数组
+        byte[] flattenBlocks = PrpUtils.flatten(blocks);
+        tcrhf.hash(indexes, flattenBlocks, flattenBlocks);
+        Assert.assertArrayEquals(PrpUtils.flatten(expectOutputs), flattenBlocks);
+    }
 }
@@ -57,7 +57,7 @@ public class BytesFieldTest {
             }
         }
         // GF2K
-        Gf2kType[] gf2kTypes = new Gf2kType[]{Gf2kType.COMBINED, Gf2kType.NTL, Gf2kType.BC, Gf2kType.RINGS};
+        Gf2kType[] gf2kTypes = new Gf2kType[]{Gf2kType.COMBINED, Gf2kType.NTL, Gf2kType.BC, Gf2kType.RINGS, Gf2kType.JDK};
         for (Gf2kType type : gf2kTypes) {
             configurations.add(new Object[]{
                 Gf2kType.class.getSimpleName() + " (" + type.name() + ")",
@@ -52,7 +52,7 @@ public class BytesRingEfficiencyTest {
             "   add(us)", "  addi(us)", "   neg(us)", "  negi(us)", "   sub(us)", "  subi(us)", "   mul(us)", "  muli(us)"
         );
         Gf2kType[] gf2kTypes = new Gf2kType[]{
-            Gf2kType.COMBINED, Gf2kType.NTL, Gf2kType.BC, Gf2kType.RINGS,
+            Gf2kType.COMBINED, Gf2kType.NTL, Gf2kType.BC, Gf2kType.RINGS, Gf2kType.JDK,
         };
         for (Gf2kType type : gf2kTypes) {
             Gf2k gf2k = Gf2kFactory.createInstance(EnvType.STANDARD, type);
@@ -43,6 +43,8 @@ public class Gf2kConsistencyTest {
         configurations.add(new Object[]{"BC V.S. NTL", Gf2kType.BC, Gf2kType.NTL});
         // BC V.S. RINGS
         configurations.add(new Object[]{"BC V.S. RINGS", Gf2kType.BC, Gf2kType.RINGS});
+        // BC V.S. JDK
+        configurations.add(new Object[]{"BC V.S. JDK", Gf2kType.BC, Gf2kType.JDK});
 
         return configurations;
     }
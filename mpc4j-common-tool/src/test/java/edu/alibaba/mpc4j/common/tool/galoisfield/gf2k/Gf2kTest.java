@@ -10,8 +10,10 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 
+import java.security.SecureRandom;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.stream.IntStream;
 
 /**
  * GF(2^128) test.
@@ -27,7 +29,7 @@ public class Gf2kTest {
         Collection<Object[]> configurations = new ArrayList<>();
 
         // GF2K
-        Gf2kType[] gf2kTypes = new Gf2kType[]{Gf2kType.COMBINED, Gf2kType.NTL, Gf2kType.BC, Gf2kType.RINGS};
+        Gf2kType[] gf2kTypes = new Gf2kType[]{Gf2kType.COMBINED, Gf2kType.NTL, Gf2kType.BC, Gf2kType.RINGS, Gf2kType.JDK};
         for (Gf2kType type : gf2kTypes) {
             configurations.add(new Object[]{
                 type.name(), type,
@@ -156,4 +158,42 @@ public class Gf2kTest {
         gf2k.divi(copyP, q);
         Assert.assertArrayEquals(truth, copyP);
     }
+
+    @Test
+    public void testInnerProduct() {
+        SecureRandom secureRandom = new SecureRandom();
+        for (int num : new int[]{0, 1, 2, 128, 129}) {
+            byte[][] ps = IntStream.range(0, num).mapToObj(i -> gf2k.createRandom(secureRandom)).toArray(byte[][]::new);
+            byte[][] qs = IntStream.range(0, num).mapToObj(i -> gf2k.createRandom(secureRandom)).toArray(byte[][]::new);
+            byte[] expect = gf2k.createZero();
+            for (int i = 0; i < num; i++) {
+                gf2k.addi(expect, gf2k.mul(ps[i], qs[i]));
+            }
+            Assert.assertArrayEquals(expect, gf2k.innerProduct(ps, qs));
+        }
+    }
+
+    @Test
+    public void testFixedMultiplier() {
+        SecureRandom secureRandom = new SecureRandom();
+        for (int windowSize : new int[]{4, 8}) {
+            for (int round = 0; round < 10; round++) {
+                byte[] c = gf2k.createRandom(secureRandom);
+                Gf2kFixedMultiplier multiplier = new Gf2kFixedMultiplier(c, windowSize);
+                // zero and one
+                Assert.assertArrayEquals(gf2k.createZero(), multiplier.mul(gf2k.createZero()));
+                Assert.assertArrayEquals(c, multiplier.mul(gf2k.createOne()));
+                byte[][] qs = IntStream.range(0, 10).mapToObj(i -> gf2k.createRandom(secureRandom)).toArray(byte[][]::new);
+                byte[][] rs = multiplier.mul(qs);
+                for (int i = 0; i < qs.length; i++) {
+                    byte[] expect = gf2k.mul(c, qs[i]);
+                    Assert.assertArrayEquals(expect, multiplier.mul(qs[i]));
+                    Assert.assertArrayEquals(expect, rs[i]);
+                    byte[] q = BytesUtils.clone(qs[i]);
+                    multiplier.muli(q);
+                    Assert.assertArrayEquals(expect, q);
+                }
+            }
+        }
+    }
 }
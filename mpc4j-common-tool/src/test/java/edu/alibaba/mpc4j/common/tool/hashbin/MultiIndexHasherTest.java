@@ -0,0 +1,187 @@
+package edu.alibaba.mpc4j.common.tool.hashbin;
+
+import com.google.common.base.Preconditions;
+import edu.alibaba.mpc4j.common.tool.EnvType;
+import edu.alibaba.mpc4j.common.tool.crypto.prf.Prf;
+import edu.alibaba.mpc4j.common.tool.crypto.prf.PrfFactory;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasherFactory.MultiIndexHasherType;
+import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBin;
+import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBinFactory;
+import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBinFactory.CuckooHashBinType;
+import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
+import edu.alibaba.mpc4j.common.tool.utils.ObjectUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * multi-index hasher test.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/14
+ */
+@RunWith(Parameterized.class)
+public class MultiIndexHasherTest {
+    /**
+     * max hash num
+     */
+    private static final int MAX_HASH_NUM = 9;
+    /**
+     * default item num
+     */
+    private static final int DEFAULT_ITEM_NUM = 1 << 10;
+    /**
+     * bin nums
+     */
+    private static final int[] BIN_NUMS = new int[] {1, 2, 3, 1 << 10, (1 << 20) + 1};
+
+    @Parameterized.Parameters(name = "{0}")
+    public static Collection<Object[]> configurations() {
+        Collection<Object[]> configurations = new ArrayList<>();
+
+        // PRP
+        configurations.add(new Object[] {MultiIndexHasherType.PRP.name(), MultiIndexHasherType.PRP});
+        // PRF
+        configurations.add(new Object[] {MultiIndexHasherType.PRF.name(), MultiIndexHasherType.PRF});
+
+        return configurations;
+    }
+
+    /**
+     * the type
+     */
+    private final MultiIndexHasherType type;
+
+    public MultiIndexHasherTest(String name, MultiIndexHasherType type) {
+        Preconditions.checkArgument(StringUtils.isNotBlank(name));
+        this.type = type;
+    }
+
+    @Test
+    public void testType() {
+        byte[][] keys = CommonUtils.generateRandomKeys(1, HashBinTestUtils.SECURE_RANDOM);
+        MultiIndexHasher hasher = MultiIndexHasherFactory.createInstance(EnvType.STANDARD, type, keys);
+        Assert.assertEquals(type, hasher.getType());
+        Assert.assertEquals(1, hasher.getHashNum());
+        Assert.assertArrayEquals(keys, hasher.getKeys());
+    }
+
+    @Test
+    public void testIndexes() {
+        for (int hashNum = 1; hashNum <= MAX_HASH_NUM; hashNum++) {
+            testIndexes(hashNum);
+        }
+    }
+
+    private void testIndexes(int hashNum) {
+        byte[][] keys = CommonUtils.generateRandomKeys(hashNum, HashBinTestUtils.SECURE_RANDOM);
+        MultiIndexHasher hasher = MultiIndexHasherFactory.createInstance(EnvType.STANDARD, type, keys);
+        List<ByteBuffer> items = HashBinTestUtils.randomByteBufferItems(DEFAULT_ITEM_NUM);
+        for (int binNum : BIN_NUMS) {
+            for (ByteBuffer item : items) {
+                byte[] itemByteArray = ObjectUtils.objectToByteArray(item);
+                int[] indexes = hasher.getIndexes(itemByteArray, binNum);
+                Assert.assertEquals(hashNum, indexes.length);
+                // indexes are in range and deterministic
+                Assert.assertArrayEquals(indexes, hasher.getIndexes(itemByteArray, binNum));
+                for (int hashIndex = 0; hashIndex < hashNum; hashIndex++) {
+                    Assert.assertTrue(indexes[hashIndex] >= 0 && indexes[hashIndex] < binNum);
+                    Assert.assertEquals(indexes[hashIndex], hasher.getIndex(hashIndex, itemByteArray, binNum));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testItemLength() {
+        if (!type.equals(MultiIndexHasherType.PRP)) {
+            return;
+        }
+        byte[][] keys = CommonUtils.generateRandomKeys(MAX_HASH_NUM, HashBinTestUtils.SECURE_RANDOM);
+        MultiIndexHasher hasher = MultiIndexHasherFactory.createInstance(EnvType.STANDARD, type, keys);
+        int binNum = 1 << 20;
+        // PRP type left-pads items with zeros, items with different lengths should still have different indexes
+        int[] lastIndexes = hasher.getIndexes(new byte[1], binNum);
+        for (int length = 2; length <= 40; length++) {
+            int[] indexes = hasher.getIndexes(new byte[length], binNum);
+            Assert.assertNotEquals(lastIndexes[0], indexes[0]);
+            lastIndexes = indexes;
+        }
+    }
+
+    @Test
+    public void testCompatibility() {
+        if (!type.equals(MultiIndexHasherType.PRF)) {
+            return;
+        }
+        // PRF type outputs the same bin indexes as computing Prf.getInteger for each key
+        byte[][] keys = CommonUtils.generateRandomKeys(MAX_HASH_NUM, HashBinTestUtils.SECURE_RANDOM);
+        MultiIndexHasher hasher = MultiIndexHasherFactory.createInstance(EnvType.STANDARD, type, keys);
+        Prf[] prfs = IntStream.range(0, MAX_HASH_NUM)
+            .mapToObj(hashIndex -> {
+                Prf prf = PrfFactory.createInstance(EnvType.STANDARD, Integer.BYTES);
+                prf.setKey(keys[hashIndex]);
+                return prf;
+            })
+            .toArray(Prf[]::new);
+        List<ByteBuffer> items = HashBinTestUtils.randomByteBufferItems(DEFAULT_ITEM_NUM);
+        for (int binNum : BIN_NUMS) {
+            for (ByteBuffer item : items) {
+                byte[] itemByteArray = ObjectUtils.objectToByteArray(item);
+                int[] indexes = hasher.getIndexes(itemByteArray, binNum);
+                for (int hashIndex = 0; hashIndex < MAX_HASH_NUM; hashIndex++) {
+                    Assert.assertEquals(prfs[hashIndex].getInteger(itemByteArray, binNum), indexes[hashIndex]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testParallel() {
+        byte[][] keys = CommonUtils.generateRandomKeys(MAX_HASH_NUM, HashBinTestUtils.SECURE_RANDOM);
+        MultiIndexHasher hasher = MultiIndexHasherFactory.createInstance(EnvType.STANDARD, type, keys);
+        List<ByteBuffer> items = HashBinTestUtils.randomByteBufferItems(DEFAULT_ITEM_NUM);
+        int binNum = 1 << 10;
+        int[][] indexes = items.stream()
+            .map(item -> hasher.getIndexes(ObjectUtils.objectToByteArray(item), binNum))
+            .toArray(int[][]::new);
+        int[][] parallelIndexes = items.parallelStream()
+            .map(item -> hasher.getIndexes(ObjectUtils.objectToByteArray(item), binNum))
+            .toArray(int[][]::new);
+        Assert.assertArrayEquals(indexes, parallelIndexes);
+    }
+
+    @Test
+    public void testCuckooHashBin() {
+        CuckooHashBinType[] cuckooHashBinTypes = new CuckooHashBinType[] {
+            CuckooHashBinType.NAIVE_3_HASH, CuckooHashBinType.NO_STASH_PSZ18_3_HASH, CuckooHashBinType.NO_STASH_PSZ18_5_HASH,
+        };
+        for (CuckooHashBinType cuckooHashBinType : cuckooHashBinTypes) {
+            List<ByteBuffer> items = HashBinTestUtils.randomByteBufferItems(DEFAULT_ITEM_NUM);
+            CuckooHashBin<ByteBuffer> hashBin = CuckooHashBinFactory.createCuckooHashBin(
+                EnvType.STANDARD, type, cuckooHashBinType, DEFAULT_ITEM_NUM, items, HashBinTestUtils.SECURE_RANDOM
+            );
+            MultiIndexHasher hasher = MultiIndexHasherFactory.createInstance(
+                EnvType.STANDARD, type, hashBin.getHashKeys()
+            );
+            for (ByteBuffer item : items) {
+                Assert.assertTrue(hashBin.contains(item));
+                int[] indexes = hasher.getIndexes(ObjectUtils.objectToByteArray(item), hashBin.binNum());
+                int hashIndex = hashBin.get(item).getHashIndex();
+                if (hashIndex < hasher.getHashNum()) {
+                    // the item is in the bin given by its hash index
+                    Assert.assertEquals(item, hashBin.getHashBinEntry(indexes[hashIndex]).getItem());
+                }
+            }
+            Assert.assertFalse(hashBin.contains(ByteBuffer.wrap(new byte[1])));
+        }
+    }
+}
@@ -3,9 +3,9 @@ package edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo;
 import com.google.common.base.Preconditions;
 import edu.alibaba.mpc4j.common.tool.CommonConstants;
 import edu.alibaba.mpc4j.common.tool.EnvType;
-import edu.alibaba.mpc4j.common.tool.crypto.prf.Prf;
-import edu.alibaba.mpc4j.common.tool.crypto.prf.PrfFactory;
 import edu.alibaba.mpc4j.common.tool.hashbin.HashBinTestUtils;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasher;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasherFactory;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.HashBinEntry;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBinFactory.CuckooHashBinType;
 import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
@@ -19,7 +19,6 @@ import org.junit.runners.Parameterized;
 import java.nio.ByteBuffer;
 import java.util.*;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 /**
  * 布谷鸟哈希测试。
@@ -339,16 +338,11 @@ public class CuckooHashBinTest {
 
     private void assertHashBinPosition(CuckooHashBin<ByteBuffer> cuckooHashBin, List<ByteBuffer> items, byte[][] keys) {
         // 外部初始化哈希函数，计算位置，验证外部计算的结果与内部计算结果相同
-        Prf[] hashes = Arrays.stream(keys).map(key -> {
-                Prf prf = PrfFactory.createInstance(EnvType.STANDARD, Integer.BYTES);
-                prf.setKey(key);
-                return prf;
-            })
-            .toArray(Prf[]::new);
+        MultiIndexHasher hasher = MultiIndexHasherFactory.createInstance(
+            EnvType.STANDARD, MultiIndexHasherFactory.DEFAULT_TYPE, keys
+        );
         items.forEach(item -> {
-            int[] positions = IntStream.range(0, keys.length)
-                .map(index -> hashes[index].getInteger(ObjectUtils.objectToByteArray(item), cuckooHashBin.binNum()))
-                .toArray();
+            int[] positions = hasher.getIndexes(ObjectUtils.objectToByteArray(item), cuckooHashBin.binNum());
             Set<ByteBuffer> positionItems = Arrays.stream(positions)
                 .mapToObj(cuckooHashBin::getHashBinEntry)
                 .filter(Objects::nonNull)
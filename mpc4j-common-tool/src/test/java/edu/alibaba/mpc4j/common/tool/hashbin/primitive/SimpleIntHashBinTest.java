@@ -3,9 +3,9 @@ package edu.alibaba.mpc4j.common.tool.hashbin.primitive;
 import com.google.common.base.Preconditions;
 import edu.alibaba.mpc4j.common.tool.CommonConstants;
 import edu.alibaba.mpc4j.common.tool.EnvType;
-import edu.alibaba.mpc4j.common.tool.crypto.prf.Prf;
-import edu.alibaba.mpc4j.common.tool.crypto.prf.PrfFactory;
 import edu.alibaba.mpc4j.common.tool.hashbin.HashBinTestUtils;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasher;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasherFactory;
 import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
 import edu.alibaba.mpc4j.common.tool.utils.IntUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -193,18 +193,11 @@ public class SimpleIntHashBinTest {
 
     private void assertItemBinIndexes(SimpleIntHashBin intHashBin, byte[][] keys, int[] items) {
         // 外部初始化哈希函数，计算位置，验证外部计算的结果与内部计算结果相同
-        Prf[] hashes = Arrays.stream(keys).map(key -> {
-                Prf prf = PrfFactory.createInstance(EnvType.STANDARD, Integer.BYTES);
-                prf.setKey(key);
-                return prf;
-            })
-            .toArray(Prf[]::new);
+        MultiIndexHasher hasher = MultiIndexHasherFactory.createInstance(
+            EnvType.STANDARD, MultiIndexHasherFactory.DEFAULT_TYPE, keys
+        );
         for (int item : items) {
-            int[] itemBinIndexes = new int[keys.length];
-            for (int hashIndex = 0; hashIndex < keys.length; hashIndex++) {
-                itemBinIndexes[hashIndex] = hashes[hashIndex]
-                    .getInteger(IntUtils.intToByteArray(item), intHashBin.binNum());
-            }
+            int[] itemBinIndexes = hasher.getIndexes(IntUtils.intToByteArray(item), intHashBin.binNum());
             Assert.assertArrayEquals(itemBinIndexes, intHashBin.getItemBinIndexes(item));
         }
     }
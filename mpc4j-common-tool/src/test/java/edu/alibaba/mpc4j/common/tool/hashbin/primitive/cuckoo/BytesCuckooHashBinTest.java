@@ -0,0 +1,239 @@
+package edu.alibaba.mpc4j.common.tool.hashbin.primitive.cuckoo;
+
+import com.google.common.base.Preconditions;
+import edu.alibaba.mpc4j.common.tool.CommonConstants;
+import edu.alibaba.mpc4j.common.tool.EnvType;
+import edu.alibaba.mpc4j.common.tool.hashbin.HashBinTestUtils;
+import edu.alibaba.mpc4j.common.tool.hashbin.object.HashBinEntry;
+import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.BytesCuckooHashBinAdapter;
+import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBin;
+import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBinFactory;
+import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBinFactory.CuckooHashBinType;
+import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
+import edu.alibaba.mpc4j.common.tool.utils.ObjectUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * byte array cuckoo hash bin test.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/21
+ */
+@RunWith(Parameterized.class)
+public class BytesCuckooHashBinTest {
+    /**
+     * random test round
+     */
+    private static final int MAX_RANDOM_ROUND = 10;
+    /**
+     * default item size
+     */
+    private static final int DEFAULT_N = 1 << 12;
+
+    @Parameterized.Parameters(name = "{0}")
+    public static Collection<Object[]> configurations() {
+        Collection<Object[]> configurations = new ArrayList<>();
+        CuckooHashBinType[] types = new CuckooHashBinType[]{
+            CuckooHashBinType.NAIVE_2_HASH,
+            CuckooHashBinType.NAIVE_3_HASH,
+            CuckooHashBinType.NAIVE_4_HASH,
+            CuckooHashBinType.NAIVE_5_HASH,
+            CuckooHashBinType.NO_STASH_NAIVE,
+            CuckooHashBinType.NO_STASH_DRRT18,
+            CuckooHashBinType.NO_STASH_PSZ18_3_HASH,
+            CuckooHashBinType.NO_STASH_PSZ18_4_HASH,
+            CuckooHashBinType.NO_STASH_PSZ18_5_HASH,
+        };
+        for (CuckooHashBinType type : types) {
+            configurations.add(new Object[]{type.name(), type});
+        }
+
+        return configurations;
+    }
+
+    /**
+     * type
+     */
+    private final CuckooHashBinType type;
+    /**
+     * hash num
+     */
+    private final int hashNum;
+
+    public BytesCuckooHashBinTest(String name, CuckooHashBinType type) {
+        Preconditions.checkArgument(StringUtils.isNotBlank(name));
+        this.type = type;
+        hashNum = CuckooHashBinFactory.getHashNum(type);
+    }
+
+    @Test
+    public void testIllegalInputs() {
+        byte[][] keys = CommonUtils.generateRandomKeys(hashNum, HashBinTestUtils.SECURE_RANDOM);
+        // insert duplicate items
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            BytesCuckooHashBin bytesCuckooHashBin = new BytesCuckooHashBin(EnvType.STANDARD, type, DEFAULT_N, keys);
+            byte[][] items = IntStream.range(0, DEFAULT_N)
+                .mapToObj(index -> new byte[]{(byte) (index % 2)})
+                .toArray(byte[][]::new);
+            bytesCuckooHashBin.insertItems(items, false);
+        });
+        // insert too many items
+        Assert.assertThrows(AssertionError.class, () -> {
+            BytesCuckooHashBin bytesCuckooHashBin = new BytesCuckooHashBin(EnvType.STANDARD, type, DEFAULT_N, keys);
+            bytesCuckooHashBin.insertItems(randomItems(DEFAULT_N + 1), false);
+        });
+    }
+
+    @Test
+    public void test1() {
+        testSameAsObjectCuckooHashBin(1, false);
+    }
+
+    @Test
+    public void test2() {
+        testSameAsObjectCuckooHashBin(2, false);
+    }
+
+    @Test
+    public void testDefault() {
+        testSameAsObjectCuckooHashBin(DEFAULT_N, false);
+    }
+
+    @Test
+    public void testParallelDefault() {
+        testSameAsObjectCuckooHashBin(DEFAULT_N, true);
+    }
+
+    private void testSameAsObjectCuckooHashBin(int n, boolean parallel) {
+        for (int round = 0; round < MAX_RANDOM_ROUND; round++) {
+            List<ByteBuffer> items = HashBinTestUtils.randomByteBufferItems(n);
+            byte[][] itemByteArrays = items.stream().map(ObjectUtils::objectToByteArray).toArray(byte[][]::new);
+            byte[][] keys = CommonUtils.generateRandomKeys(hashNum, HashBinTestUtils.SECURE_RANDOM);
+            CuckooHashBin<ByteBuffer> cuckooHashBin = CuckooHashBinFactory.createCuckooHashBin(
+                EnvType.STANDARD, type, n, keys
+            );
+            BytesCuckooHashBin bytesCuckooHashBin = new BytesCuckooHashBin(EnvType.STANDARD, type, n, keys);
+            boolean success;
+            try {
+                cuckooHashBin.insertItems(items);
+                success = true;
+            } catch (ArithmeticException e) {
+                success = false;
+            }
+            if (success) {
+                bytesCuckooHashBin.insertItems(itemByteArrays, parallel);
+            } else {
+                Assert.assertThrows(
+                    ArithmeticException.class, () -> bytesCuckooHashBin.insertItems(itemByteArrays, parallel)
+                );
+                continue;
+            }
+            Assert.assertEquals(cuckooHashBin.binNum(), bytesCuckooHashBin.binNum());
+            Assert.assertEquals(cuckooHashBin.stashSize(), bytesCuckooHashBin.stashSize());
+            Assert.assertEquals(cuckooHashBin.itemNumInBins(), bytesCuckooHashBin.itemNumInBins());
+            Assert.assertEquals(cuckooHashBin.itemNumInStash(), bytesCuckooHashBin.itemNumInStash());
+            for (byte[] itemByteArray : itemByteArrays) {
+                Assert.assertTrue(bytesCuckooHashBin.contains(itemByteArray));
+            }
+            // bins and stash must be the same as the object cuckoo hash bin
+            for (int binIndex = 0; binIndex < cuckooHashBin.binNum(); binIndex++) {
+                if (cuckooHashBin.getHashBinEntry(binIndex) == null) {
+                    Assert.assertEquals(0, bytesCuckooHashBin.binSize(binIndex));
+                } else {
+                    HashBinEntry<ByteBuffer> hashBinEntry = cuckooHashBin.getHashBinEntry(binIndex);
+                    Assert.assertEquals(hashBinEntry.getHashIndex(), bytesCuckooHashBin.getBinHashIndex(binIndex));
+                    Assert.assertArrayEquals(hashBinEntry.getItemByteArray(), bytesCuckooHashBin.getBinItemByteArray(binIndex));
+                }
+            }
+            ArrayList<HashBinEntry<ByteBuffer>> stash = cuckooHashBin.getStash();
+            for (int stashIndex = 0; stashIndex < stash.size(); stashIndex++) {
+                Assert.assertArrayEquals(
+                    stash.get(stashIndex).getItemByteArray(), bytesCuckooHashBin.getStashItemByteArray(stashIndex)
+                );
+            }
+            // insert padding items
+            bytesCuckooHashBin.insertPaddingItems(HashBinTestUtils.SECURE_RANDOM);
+            Assert.assertEquals(bytesCuckooHashBin.binNum() + bytesCuckooHashBin.stashSize(), bytesCuckooHashBin.size());
+            for (int binIndex = 0; binIndex < bytesCuckooHashBin.binNum(); binIndex++) {
+                Assert.assertEquals(1, bytesCuckooHashBin.binSize(binIndex));
+                if (bytesCuckooHashBin.getBinItemIndex(binIndex) < 0) {
+                    Assert.assertEquals(HashBinEntry.DUMMY_ITEM_HASH_INDEX, bytesCuckooHashBin.getBinHashIndex(binIndex));
+                    Assert.assertEquals(
+                        CommonConstants.BLOCK_BYTE_LENGTH, bytesCuckooHashBin.getBinItemByteArray(binIndex).length
+                    );
+                }
+            }
+            for (int stashIndex = 0; stashIndex < bytesCuckooHashBin.stashSize(); stashIndex++) {
+                Assert.assertNotNull(bytesCuckooHashBin.getStashItemByteArray(stashIndex));
+            }
+            bytesCuckooHashBin.clear();
+            Assert.assertEquals(0, bytesCuckooHashBin.size());
+        }
+    }
+
+    @Test
+    public void testAdapter() {
+        for (int round = 0; round < MAX_RANDOM_ROUND; round++) {
+            List<ByteBuffer> items = HashBinTestUtils.randomByteBufferItems(DEFAULT_N);
+            BytesCuckooHashBinAdapter<ByteBuffer> cuckooHashBin = CuckooHashBinFactory.createBytesCuckooHashBin(
+                EnvType.STANDARD, type, DEFAULT_N, items, HashBinTestUtils.SECURE_RANDOM, false
+            );
+            for (ByteBuffer item : items) {
+                Assert.assertTrue(cuckooHashBin.contains(item));
+            }
+            ByteBuffer emptyItem = ByteBuffer.wrap(new byte[CommonConstants.BLOCK_BYTE_LENGTH]);
+            cuckooHashBin.insertPaddingItems(emptyItem);
+            int itemNum = 0;
+            for (int binIndex = 0; binIndex < cuckooHashBin.binNum(); binIndex++) {
+                ByteBuffer item = cuckooHashBin.getItem(binIndex);
+                if (cuckooHashBin.getHashIndex(binIndex) == HashBinEntry.DUMMY_ITEM_HASH_INDEX) {
+                    Assert.assertEquals(emptyItem, item);
+                } else {
+                    Assert.assertArrayEquals(ObjectUtils.objectToByteArray(item), cuckooHashBin.getItemByteArray(binIndex));
+                    itemNum++;
+                }
+            }
+            for (int stashIndex = 0; stashIndex < cuckooHashBin.stashSize(); stashIndex++) {
+                if (cuckooHashBin.getStashHashIndex(stashIndex) == hashNum) {
+                    Assert.assertTrue(items.contains(cuckooHashBin.getStashItem(stashIndex)));
+                    itemNum++;
+                } else {
+                    Assert.assertEquals(emptyItem, cuckooHashBin.getStashItem(stashIndex));
+                }
+            }
+            Assert.assertEquals(DEFAULT_N, itemNum);
+        }
+    }
+
+    @Test
+    public void testEnforceNoStashAdapter() {
+        for (int round = 0; round < MAX_RANDOM_ROUND; round++) {
+            List<ByteBuffer> items = HashBinTestUtils.randomByteBufferItems(DEFAULT_N);
+            BytesCuckooHashBinAdapter<ByteBuffer> cuckooHashBin = CuckooHashBinFactory.createEnforceNoStashBytesCuckooHashBin(
+                EnvType.STANDARD, type, DEFAULT_N, items, HashBinTestUtils.SECURE_RANDOM, false
+            );
+            Assert.assertEquals(0, cuckooHashBin.itemNumInStash());
+            cuckooHashBin.insertPaddingItems(HashBinTestUtils.SECURE_RANDOM);
+            long realItemNum = IntStream.range(0, cuckooHashBin.binNum())
+                .filter(binIndex -> cuckooHashBin.getHashIndex(binIndex) != HashBinEntry.DUMMY_ITEM_HASH_INDEX)
+                .count();
+            Assert.assertEquals(DEFAULT_N, realItemNum);
+        }
+    }
+
+    private static byte[][] randomItems(int size) {
+        return HashBinTestUtils.randomByteBufferItems(size).stream()
+            .map(ObjectUtils::objectToByteArray)
+            .toArray(byte[][]::new);
+    }
+}
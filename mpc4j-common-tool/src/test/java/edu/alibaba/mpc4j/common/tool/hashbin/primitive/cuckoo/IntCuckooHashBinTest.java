@@ -2,9 +2,9 @@ package edu.alibaba.mpc4j.common.tool.hashbin.primitive.cuckoo;
 
 import com.google.common.base.Preconditions;
 import edu.alibaba.mpc4j.common.tool.EnvType;
-import edu.alibaba.mpc4j.common.tool.crypto.prf.Prf;
-import edu.alibaba.mpc4j.common.tool.crypto.prf.PrfFactory;
 import edu.alibaba.mpc4j.common.tool.hashbin.HashBinTestUtils;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasher;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasherFactory;
 import edu.alibaba.mpc4j.common.tool.hashbin.primitive.cuckoo.IntCuckooHashBinFactory.IntCuckooHashBinType;
 import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
 import edu.alibaba.mpc4j.common.tool.utils.IntUtils;
@@ -277,16 +277,12 @@ public class IntCuckooHashBinTest {
 
     private void assertItemBinIndexes(IntNoStashCuckooHashBin intHashBin, byte[][] keys, int[] items) {
         // 外部初始化哈希函数，计算位置，验证外部计算的结果与内部计算结果相同
-        Prf[] hashes = Arrays.stream(keys).map(key -> {
-                Prf prf = PrfFactory.createInstance(EnvType.STANDARD, Integer.BYTES);
-                prf.setKey(key);
-                return prf;
-            })
-            .toArray(Prf[]::new);
+        MultiIndexHasher hasher = MultiIndexHasherFactory.createInstance(
+            EnvType.STANDARD, MultiIndexHasherFactory.DEFAULT_TYPE, keys
+        );
         Arrays.stream(items).forEach(item -> {
-            Set<Integer> itemBinIndexSet = IntStream.range(0, keys.length)
-                .map(hashIndex -> hashes[hashIndex]
-                    .getInteger(IntUtils.intToByteArray(item), intHashBin.binNum()))
+            int[] itemBinIndexes = hasher.getIndexes(IntUtils.intToByteArray(item), intHashBin.binNum());
+            Set<Integer> itemBinIndexSet = Arrays.stream(itemBinIndexes)
                 .map(intHashBin::getBinEntry)
                 .boxed()
                 .collect(Collectors.toSet());
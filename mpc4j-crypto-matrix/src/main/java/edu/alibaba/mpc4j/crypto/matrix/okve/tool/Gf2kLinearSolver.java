@@ -4,6 +4,7 @@ import cc.redberry.rings.linear.LinearSolver;
 import cc.redberry.rings.util.ArraysUtil;
 import edu.alibaba.mpc4j.common.tool.MathPreconditions;
 import edu.alibaba.mpc4j.common.tool.galoisfield.gf2k.Gf2k;
+import edu.alibaba.mpc4j.common.tool.galoisfield.gf2k.Gf2kFixedMultiplier;
 import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
 import gnu.trove.list.array.TIntArrayList;
 import gnu.trove.set.TIntSet;
@@ -23,6 +24,11 @@ import static cc.redberry.rings.linear.LinearSolver.SystemInfo.Inconsistent;
  * @date 2023/7/3
  */
 public class Gf2kLinearSolver {
+    /**
+     * window size of fixed multipliers. A multiplier is created for each pivot / row pair and used for one row tail,
+     * so the 16-entry tables of window 4 are cheaper than the 256-entry tables of window 8.
+     */
+    private static final int FIXED_MULTIPLIER_WINDOW_SIZE = 4;
     /**
      * GF(2^κ) instance
      */
@@ -41,6 +47,11 @@ public class Gf2kLinearSolver {
         this.secureRandom = secureRandom;
     }
 
+    private Gf2kFixedMultiplier createFixedMultiplier(byte[] c) {
+        assert gf2k.validateElement(c);
+        return new Gf2kFixedMultiplier(c, FIXED_MULTIPLIER_WINDOW_SIZE);
+    }
+
     /**
      * Gives the row echelon form of the linear system {@code lhs.x = rhs}. Note that here we only allow
      * <p> m (number of columns) >= n (number of rows) </p>
@@ -91,10 +102,12 @@ public class Gf2kLinearSolver {
             // forward Gaussian elimination
             for (int iRow = row + 1; iRow < nRows; ++iRow) {
                 byte[] alpha = gf2k.div(lhs[iRow][iColumn], lhs[row][iColumn]);
-                rhs[iRow] = gf2k.sub(rhs[iRow], gf2k.mul(rhs[row], alpha));
                 if (!gf2k.isZero(alpha)) {
+                    // the whole row is multiplied by the same alpha
+                    Gf2kFixedMultiplier alphaMultiplier = createFixedMultiplier(alpha);
+                    rhs[iRow] = gf2k.sub(rhs[iRow], alphaMultiplier.mul(rhs[row]));
                     for (int iCol = iColumn; iCol < nColumns; ++iCol) {
-                        lhs[iRow][iCol] = gf2k.sub(lhs[iRow][iCol], gf2k.mul(alpha, lhs[row][iCol]));
+                        lhs[iRow][iCol] = gf2k.sub(lhs[iRow][iCol], alphaMultiplier.mul(lhs[row][iCol]));
                     }
                 }
             }
@@ -265,10 +278,11 @@ public class Gf2kLinearSolver {
             // we will modify row[iColumn], copy val
             byte[] val = BytesUtils.clone(row[iColumn]);
             byte[] valInv = gf2k.inv(val);
+            Gf2kFixedMultiplier valInvMultiplier = createFixedMultiplier(valInv);
             for (int i = iColumn; i < nColumns; i++) {
-                row[i] = gf2k.mul(valInv, row[i]);
+                row[i] = valInvMultiplier.mul(row[i]);
             }
-            rhs[iRow] = gf2k.mul(rhs[iRow], valInv);
+            rhs[iRow] = valInvMultiplier.mul(rhs[iRow]);
             // scale all rows before
             for (int i = 0; i < iRow; i++) {
                 byte[][] pRow = lhs[i];
@@ -277,10 +291,11 @@ public class Gf2kLinearSolver {
                 if (gf2k.isZero(v)) {
                     continue;
                 }
+                Gf2kFixedMultiplier vMultiplier = createFixedMultiplier(v);
                 for (int j = iColumn; j < nColumns; ++j) {
-                    pRow[j] = gf2k.sub(pRow[j], gf2k.mul(v, row[j]));
+                    pRow[j] = gf2k.sub(pRow[j], vMultiplier.mul(row[j]));
                 }
-                gf2k.subi(rhs[i], gf2k.mul(rhs[iRow], v));
+                gf2k.subi(rhs[i], vMultiplier.mul(rhs[iRow]));
             }
             if (!gf2k.isZero(rhs[iRow]) && gf2k.isZero(lhs[iRow][iColumn])) {
                 return Inconsistent;
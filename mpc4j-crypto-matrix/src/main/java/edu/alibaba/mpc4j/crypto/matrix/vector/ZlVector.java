@@ -3,6 +3,8 @@ package edu.alibaba.mpc4j.crypto.matrix.vector;
 import com.google.common.base.Preconditions;
 import edu.alibaba.mpc4j.common.tool.MathPreconditions;
 import edu.alibaba.mpc4j.common.tool.galoisfield.zl.Zl;
+import edu.alibaba.mpc4j.common.tool.utils.BigIntegerUtils;
+import edu.alibaba.mpc4j.common.tool.utils.LongUtils;
 import edu.alibaba.mpc4j.crypto.matrix.MatrixUtils;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
@@ -13,7 +15,8 @@ import java.util.Arrays;
 import java.util.stream.IntStream;
 
 /**
- * the Zl vector.
+ * the Zl vector. When l <= 64, elements are packed into long[] and all operations are done using mask arithmetic, so
+ * that no element is boxed into BigInteger. Otherwise, elements are stored as BigInteger[].
  *
  * @author Weiran Liu
  * @date 2023/4/10
@@ -61,9 +64,61 @@ public class ZlVector implements RingVector {
     public static ZlVector create(Zl zl, BigInteger[] elements) {
         ZlVector vector = new ZlVector(zl);
         MathPreconditions.checkPositive("num", elements.length);
-        vector.elements = Arrays.stream(elements)
-            .peek(element -> Preconditions.checkArgument(zl.validateElement(element)))
-            .toArray(BigInteger[]::new);
+        if (vector.longPacked) {
+            vector.longElements = Arrays.stream(elements)
+                .peek(element -> Preconditions.checkArgument(zl.validateElement(element)))
+                .mapToLong(BigInteger::longValue)
+                .toArray();
+        } else {
+            vector.elements = Arrays.stream(elements)
+                .peek(element -> Preconditions.checkArgument(zl.validateElement(element)))
+                .toArray(BigInteger[]::new);
+        }
+        return vector;
+    }
+
+    /**
+     * Creates a vector with l <= 64. Elements are treated as unsigned long values. Note that elements are not copied.
+     *
+     * @param zl       Zl instance.
+     * @param elements elements.
+     * @return a vector.
+     */
+    public static ZlVector create(Zl zl, long[] elements) {
+        ZlVector vector = new ZlVector(zl);
+        Preconditions.checkArgument(vector.longPacked, "l must be in range (0, %s]: %s", Long.SIZE, zl.getL());
+        MathPreconditions.checkPositive("num", elements.length);
+        for (long element : elements) {
+            Preconditions.checkArgument((element & ~vector.mask) == 0L);
+        }
+        vector.longElements = elements;
+        return vector;
+    }
+
+    /**
+     * Creates a vector from element byte arrays, each of which is the big-endian byteL-byte representation of the
+     * element. This is the inverse of {@link #getElementByteArray(int)}.
+     *
+     * @param zl         Zl instance.
+     * @param byteArrays element byte arrays.
+     * @return a vector.
+     */
+    public static ZlVector createFromByteArrays(Zl zl, byte[][] byteArrays) {
+        ZlVector vector = new ZlVector(zl);
+        MathPreconditions.checkPositive("num", byteArrays.length);
+        if (vector.longPacked) {
+            vector.longElements = new long[byteArrays.length];
+            for (int index = 0; index < byteArrays.length; index++) {
+                long element = LongUtils.byteArrayToUnsignedLong(byteArrays[index]);
+                Preconditions.checkArgument((element & ~vector.mask) == 0L);
+                vector.longElements[index] = element;
+            }
+        } else {
+            vector.elements = Arrays.stream(byteArrays)
+                .map(BigIntegerUtils::byteArrayToNonNegBigInteger)
+                .peek(element -> Preconditions.checkArgument(zl.validateElement(element)))
+                .toArray(BigInteger[]::new);
+        }
         return vector;
     }
 
@@ -78,9 +133,16 @@ public class ZlVector implements RingVector {
     public static ZlVector createRandom(Zl zl, int num, SecureRandom secureRandom) {
         ZlVector vector = new ZlVector(zl);
         MathPreconditions.checkPositive("num", num);
-        vector.elements = IntStream.range(0, num)
-            .mapToObj(index -> zl.createRandom(secureRandom))
-            .toArray(BigInteger[]::new);
+        if (vector.longPacked) {
+            vector.longElements = new long[num];
+            for (int index = 0; index < num; index++) {
+                vector.longElements[index] = secureRandom.nextLong() & vector.mask;
+            }
+        } else {
+            vector.elements = IntStream.range(0, num)
+                .mapToObj(index -> zl.createRandom(secureRandom))
+                .toArray(BigInteger[]::new);
+        }
         return vector;
     }
 
@@ -94,9 +156,14 @@ public class ZlVector implements RingVector {
     public static ZlVector createOnes(Zl zl, int num) {
         ZlVector vector = new ZlVector(zl);
         MathPreconditions.checkPositive("num", num);
-        vector.elements = IntStream.range(0, num)
-            .mapToObj(index -> zl.createOne())
-            .toArray(BigInteger[]::new);
+        if (vector.longPacked) {
+            vector.longElements = new long[num];
+            Arrays.fill(vector.longElements, 1L);
+        } else {
+            vector.elements = IntStream.range(0, num)
+                .mapToObj(index -> zl.createOne())
+                .toArray(BigInteger[]::new);
+        }
         return vector;
     }
 
@@ -110,9 +177,13 @@ public class ZlVector implements RingVector {
     public static ZlVector createZeros(Zl zl, int num) {
         ZlVector vector = new ZlVector(zl);
         MathPreconditions.checkPositive("num", num);
-        vector.elements = IntStream.range(0, num)
-            .mapToObj(index -> zl.createZero())
-            .toArray(BigInteger[]::new);
+        if (vector.longPacked) {
+            vector.longElements = new long[num];
+        } else {
+            vector.elements = IntStream.range(0, num)
+                .mapToObj(index -> zl.createZero())
+                .toArray(BigInteger[]::new);
+        }
         return vector;
     }
 
@@ -124,8 +195,11 @@ public class ZlVector implements RingVector {
      */
     public static ZlVector createEmpty(Zl zl) {
         ZlVector vector = new ZlVector(zl);
-        vector.elements = new BigInteger[0];
-
+        if (vector.longPacked) {
+            vector.longElements = new long[0];
+        } else {
+            vector.elements = new BigInteger[0];
+        }
         return vector;
     }
 
@@ -134,9 +208,21 @@ public class ZlVector implements RingVector {
      */
     private final Zl zl;
     /**
-     * elements
+     * whether elements are packed into long[], i.e., l <= 64.
+     */
+    private final boolean longPacked;
+    /**
+     * the mask 2^l - 1 used when elements are packed into long[].
+     */
+    private final long mask;
+    /**
+     * elements, used when l > 64.
      */
     private BigInteger[] elements;
+    /**
+     * long elements, used when l <= 64.
+     */
+    private long[] longElements;
     /**
      * parallel operation.
      */
@@ -144,6 +230,9 @@ public class ZlVector implements RingVector {
 
     private ZlVector(Zl zl) {
         this.zl = zl;
+        int l = zl.getL();
+        longPacked = l <= Long.SIZE;
+        mask = longPacked ? (l == Long.SIZE ? -1L : (1L << l) - 1) : 0L;
     }
 
     @Override
@@ -153,6 +242,9 @@ public class ZlVector implements RingVector {
 
     @Override
     public ZlVector copy() {
+        if (longPacked) {
+            return ZlVector.create(zl, Arrays.copyOf(longElements, longElements.length));
+        }
         BigInteger[] copyElements = Arrays.copyOf(elements, elements.length);
         return ZlVector.create(zl, copyElements);
     }
@@ -162,18 +254,30 @@ public class ZlVector implements RingVector {
         ZlVector that = (ZlVector) other;
         MathPreconditions.checkEqual("this.num", "that.num", this.getNum(), that.getNum());
         int num = getNum();
-        System.arraycopy(that.elements, 0, this.elements, 0, num);
+        if (longPacked) {
+            System.arraycopy(that.longElements, 0, this.longElements, 0, num);
+        } else {
+            System.arraycopy(that.elements, 0, this.elements, 0, num);
+        }
     }
 
     @Override
     public int getNum() {
-        return elements.length;
+        return longPacked ? longElements.length : elements.length;
     }
 
     @Override
     public ZlVector split(int splitNum) {
         int num = getNum();
         MathPreconditions.checkPositiveInRangeClosed("splitNum", splitNum, num);
+        if (longPacked) {
+            long[] subElements = new long[splitNum];
+            long[] remainElements = new long[num - splitNum];
+            System.arraycopy(longElements, 0, subElements, 0, splitNum);
+            System.arraycopy(longElements, splitNum, remainElements, 0, num - splitNum);
+            longElements = remainElements;
+            return ZlVector.create(zl, subElements);
+        }
         BigInteger[] subElements = new BigInteger[splitNum];
         BigInteger[] remainElements = new BigInteger[num - splitNum];
         System.arraycopy(elements, 0, subElements, 0, splitNum);
@@ -186,7 +290,9 @@ public class ZlVector implements RingVector {
     public void reduce(int reduceNum) {
         int num = getNum();
         MathPreconditions.checkPositiveInRangeClosed("reduceNum", reduceNum, num);
-        if (reduceNum < num) {
+        if (reduceNum < num && longPacked) {
+            longElements = Arrays.copyOf(longElements, reduceNum);
+        } else if (reduceNum < num) {
             // reduce if the reduced rows is less than rows.
             BigInteger[] remainElements = new BigInteger[reduceNum];
             System.arraycopy(elements, 0, remainElements, 0, reduceNum);
@@ -198,6 +304,13 @@ public class ZlVector implements RingVector {
     public void merge(Vector other) {
         ZlVector that = (ZlVector) other;
         Preconditions.checkArgument(this.zl.equals(that.zl));
+        if (longPacked) {
+            long[] mergeElements = new long[this.longElements.length + that.longElements.length];
+            System.arraycopy(this.longElements, 0, mergeElements, 0, this.longElements.length);
+            System.arraycopy(that.longElements, 0, mergeElements, this.longElements.length, that.longElements.length);
+            longElements = mergeElements;
+            return;
+        }
         BigInteger[] mergeElements = new BigInteger[this.elements.length + that.elements.length];
         System.arraycopy(this.elements, 0, mergeElements, 0, this.elements.length);
         System.arraycopy(that.elements, 0, mergeElements, this.elements.length, that.elements.length);
@@ -211,6 +324,11 @@ public class ZlVector implements RingVector {
         int num = getNum();
         IntStream indexIntStream = IntStream.range(0, num);
         indexIntStream = parallel ? indexIntStream.parallel() : indexIntStream;
+        if (longPacked) {
+            long[] results = new long[num];
+            indexIntStream.forEach(index -> results[index] = (this.longElements[index] + that.longElements[index]) & mask);
+            return ZlVector.create(zl, results);
+        }
         BigInteger[] results = indexIntStream
             .mapToObj(index -> zl.add(this.elements[index], that.elements[index]))
             .toArray(BigInteger[]::new);
@@ -224,7 +342,11 @@ public class ZlVector implements RingVector {
         int num = getNum();
         IntStream indexIntStream = IntStream.range(0, num);
         indexIntStream = parallel ? indexIntStream.parallel() : indexIntStream;
-        indexIntStream.forEach(index -> this.elements[index] = zl.add(this.elements[index], that.elements[index]));
+        if (longPacked) {
+            indexIntStream.forEach(index -> this.longElements[index] = (this.longElements[index] + that.longElements[index]) & mask);
+        } else {
+            indexIntStream.forEach(index -> this.elements[index] = zl.add(this.elements[index], that.elements[index]));
+        }
     }
 
     @Override
@@ -232,6 +354,11 @@ public class ZlVector implements RingVector {
         int num = getNum();
         IntStream indexIntStream = IntStream.range(0, num);
         indexIntStream = parallel ? indexIntStream.parallel() : indexIntStream;
+        if (longPacked) {
+            long[] results = new long[num];
+            indexIntStream.forEach(index -> results[index] = (-longElements[index]) & mask);
+            return ZlVector.create(zl, results);
+        }
         BigInteger[] results = indexIntStream
             .mapToObj(index -> zl.neg(elements[index]))
             .toArray(BigInteger[]::new);
@@ -243,7 +370,11 @@ public class ZlVector implements RingVector {
         int num = getNum();
         IntStream indexIntStream = IntStream.range(0, num);
         indexIntStream = parallel ? indexIntStream.parallel() : indexIntStream;
-        indexIntStream.forEach(index -> elements[index] = zl.neg(elements[index]));
+        if (longPacked) {
+            indexIntStream.forEach(index -> longElements[index] = (-longElements[index]) & mask);
+        } else {
+            indexIntStream.forEach(index -> elements[index] = zl.neg(elements[index]));
+        }
     }
 
     @Override
@@ -253,6 +384,11 @@ public class ZlVector implements RingVector {
         int num = getNum();
         IntStream indexIntStream = IntStream.range(0, num);
         indexIntStream = parallel ? indexIntStream.parallel() : indexIntStream;
+        if (longPacked) {
+            long[] results = new long[num];
+            indexIntStream.forEach(index -> results[index] = (this.longElements[index] - that.longElements[index]) & mask);
+            return ZlVector.create(zl, results);
+        }
         BigInteger[] results = indexIntStream
             .mapToObj(index -> zl.sub(this.elements[index], that.elements[index]))
             .toArray(BigInteger[]::new);
@@ -266,7 +402,11 @@ public class ZlVector implements RingVector {
         int num = getNum();
         IntStream indexIntStream = IntStream.range(0, num);
         indexIntStream = parallel ? indexIntStream.parallel() : indexIntStream;
-        indexIntStream.forEach(index -> this.elements[index] = zl.sub(this.elements[index], that.elements[index]));
+        if (longPacked) {
+            indexIntStream.forEach(index -> this.longElements[index] = (this.longElements[index] - that.longElements[index]) & mask);
+        } else {
+            indexIntStream.forEach(index -> this.elements[index] = zl.sub(this.elements[index], that.elements[index]));
+        }
     }
 
     @Override
@@ -276,6 +416,11 @@ public class ZlVector implements RingVector {
         int num = getNum();
         IntStream indexIntStream = IntStream.range(0, num);
         indexIntStream = parallel ? indexIntStream.parallel() : indexIntStream;
+        if (longPacked) {
+            long[] results = new long[num];
+            indexIntStream.forEach(index -> results[index] = (this.longElements[index] * that.longElements[index]) & mask);
+            return ZlVector.create(zl, results);
+        }
         BigInteger[] results = indexIntStream
             .mapToObj(index -> zl.mul(this.elements[index], that.elements[index]))
             .toArray(BigInteger[]::new);
@@ -289,7 +434,11 @@ public class ZlVector implements RingVector {
         int num = getNum();
         IntStream indexIntStream = IntStream.range(0, num);
         indexIntStream = parallel ? indexIntStream.parallel() : indexIntStream;
-        indexIntStream.forEach(index -> this.elements[index] = zl.mul(this.elements[index], that.elements[index]));
+        if (longPacked) {
+            indexIntStream.forEach(index -> this.longElements[index] = (this.longElements[index] * that.longElements[index]) & mask);
+        } else {
+            indexIntStream.forEach(index -> this.elements[index] = zl.mul(this.elements[index], that.elements[index]));
+        }
     }
 
     private void checkInputs(ZlVector that) {
@@ -313,23 +462,73 @@ public class ZlVector implements RingVector {
      * @return the element.
      */
     public BigInteger getElement(int index) {
-        return elements[index];
+        return longPacked ? LongUtils.unsignedLongToBigInteger(longElements[index]) : elements[index];
     }
 
     /**
-     * Gets the elements.
+     * Gets the elements. If the vector is long-packed, the elements are converted to BigInteger[] on each invocation,
+     * and modifying the returned array does not change the vector.
      *
      * @return the elements.
      */
     public BigInteger[] getElements() {
+        if (longPacked) {
+            return Arrays.stream(longElements)
+                .mapToObj(LongUtils::unsignedLongToBigInteger)
+                .toArray(BigInteger[]::new);
+        }
         return elements;
     }
 
+    /**
+     * Returns if the elements are packed into long[], i.e., l <= 64.
+     *
+     * @return true if the elements are packed into long[].
+     */
+    public boolean isLongPacked() {
+        return longPacked;
+    }
+
+    /**
+     * Gets the element as an unsigned long value. Only supported when the vector is long-packed.
+     *
+     * @param index the index.
+     * @return the element.
+     */
+    public long getLongElement(int index) {
+        Preconditions.checkArgument(longPacked, "l must be in range (0, %s]: %s", Long.SIZE, zl.getL());
+        return longElements[index];
+    }
+
+    /**
+     * Gets the elements as unsigned long values. Only supported when the vector is long-packed.
+     *
+     * @return the elements.
+     */
+    public long[] getLongElements() {
+        Preconditions.checkArgument(longPacked, "l must be in range (0, %s]: %s", Long.SIZE, zl.getL());
+        return longElements;
+    }
+
+    /**
+     * Gets the big-endian byteL-byte representation of the element.
+     *
+     * @param index the index.
+     * @return the element byte array.
+     */
+    public byte[] getElementByteArray(int index) {
+        if (longPacked) {
+            return LongUtils.unsignedLongToByteArray(longElements[index], zl.getByteL());
+        }
+        return BigIntegerUtils.nonNegBigIntegerToByteArray(elements[index], zl.getByteL());
+    }
+
     @Override
     public int hashCode() {
         return new HashCodeBuilder()
             .append(zl)
             .append(elements)
+            .append(longElements)
             .hashCode();
     }
 
@@ -346,6 +545,7 @@ public class ZlVector implements RingVector {
             return new EqualsBuilder()
                 .append(this.zl, that.zl)
                 .append(this.elements, that.elements)
+                .append(this.longElements, that.longElements)
                 .isEquals();
         }
         return false;
@@ -353,9 +553,10 @@ public class ZlVector implements RingVector {
 
     @Override
     public String toString() {
-        String[] stringData = Arrays.stream(Arrays.copyOf(elements, Math.min(elements.length, MatrixUtils.DISPLAY_NUM)))
-            .map(BigInteger::toString)
-            .toArray(String[]::new);
+        int displayNum = Math.min(getNum(), MatrixUtils.DISPLAY_NUM);
+        String[] stringData = longPacked
+            ? Arrays.stream(Arrays.copyOf(longElements, displayNum)).mapToObj(Long::toUnsignedString).toArray(String[]::new)
+            : Arrays.stream(Arrays.copyOf(elements, displayNum)).map(BigInteger::toString).toArray(String[]::new);
         return this.getClass().getSimpleName() + " (l = " + zl.getL() + "): " + Arrays.toString(stringData);
     }
 }
@@ -238,4 +238,41 @@ public class ZlVectorTest {
         ZlVector vectorDisplayNum1 = ZlVector.createRandom(DEFAULT_ZL, MatrixUtils.DISPLAY_NUM + 1, SECURE_RANDOM);
         LOGGER.info(vectorDisplayNum1.toString());
     }
+
+    @Test
+    public void testLongPackedOperations() {
+        // l = 64 is the largest long-packed ring, l = 65 falls back to BigInteger
+        for (int l : new int[]{1, 7, 8, Integer.SIZE, Long.SIZE - 1, Long.SIZE, Long.SIZE + 1}) {
+            Zl zl = ZlFactory.createInstance(EnvType.STANDARD, l);
+            ZlVector x = ZlVector.createRandom(zl, MAX_NUM, SECURE_RANDOM);
+            ZlVector y = ZlVector.createRandom(zl, MAX_NUM, SECURE_RANDOM);
+            Assert.assertEquals(l <= Long.SIZE, x.isLongPacked());
+            ZlVector add = x.add(y);
+            ZlVector sub = x.sub(y);
+            ZlVector mul = x.mul(y);
+            ZlVector neg = x.neg();
+            byte[][] xByteArrays = new byte[MAX_NUM][];
+            for (int index = 0; index < MAX_NUM; index++) {
+                BigInteger xi = x.getElement(index);
+                BigInteger yi = y.getElement(index);
+                Assert.assertTrue(zl.validateElement(xi));
+                Assert.assertEquals(xi, x.getElements()[index]);
+                Assert.assertEquals(zl.add(xi, yi), add.getElement(index));
+                Assert.assertEquals(zl.sub(xi, yi), sub.getElement(index));
+                Assert.assertEquals(zl.mul(xi, yi), mul.getElement(index));
+                Assert.assertEquals(zl.neg(xi), neg.getElement(index));
+                xByteArrays[index] = x.getElementByteArray(index);
+                Assert.assertEquals(zl.getByteL(), xByteArrays[index].length);
+                Assert.assertEquals(xi, new BigInteger(1, xByteArrays[index]));
+            }
+            Assert.assertEquals(x, ZlVector.createFromByteArrays(zl, xByteArrays));
+            Assert.assertEquals(x, ZlVector.create(zl, x.getElements()));
+            // the maximal element
+            BigInteger max = zl.getRangeBound().subtract(BigInteger.ONE);
+            ZlVector maxVector = ZlVector.create(zl, new BigInteger[]{max});
+            Assert.assertEquals(max, maxVector.getElement(0));
+            Assert.assertEquals(BigInteger.ONE, maxVector.neg().getElement(0));
+            Assert.assertEquals(zl.createZero(), maxVector.add(ZlVector.createOnes(zl, 1)).getElement(0));
+        }
+    }
 }
@@ -178,6 +178,71 @@ inline void aes_ecb_encrypt(uint8_t *plaintext, const AES_KEY *key) {
 
 #endif
 
+/**
+ * number of blocks encrypted in parallel. AES-NI instructions have a latency of several cycles but a throughput of one
+ * instruction per cycle, so interleaving independent blocks in each round keeps the pipeline full.
+ */
+#define AES_PIPELINE_BLOCK_NUM 8
+/**
+ * number of blocks in a chunk for batch encryption via JNI.
+ */
+#define AES_BATCH_CHUNK_BLOCK_NUM 512
+
+#ifdef __x86_64__
+__attribute__((target("aes,sse2")))
+inline void aes_ecb_encrypt_blocks(uint8_t *blocks, size_t num, const AES_KEY *key) {
+    size_t index = 0;
+    __m128i m[AES_PIPELINE_BLOCK_NUM];
+    for (; index + AES_PIPELINE_BLOCK_NUM <= num; index += AES_PIPELINE_BLOCK_NUM) {
+        auto *pipelineBlocks = (__m128i *) (blocks + index * BLOCK_BYTE_LENGTH);
+        for (int j = 0; j < AES_PIPELINE_BLOCK_NUM; j++) {
+            m[j] = _mm_xor_si128(_mm_loadu_si128(pipelineBlocks + j), key->rd_key[0]);
+        }
+        for (int round = 1; round < 10; round++) {
+            for (int j = 0; j < AES_PIPELINE_BLOCK_NUM; j++) {
+                m[j] = _mm_aesenc_si128(m[j], key->rd_key[round]);
+            }
+        }
+        for (int j = 0; j < AES_PIPELINE_BLOCK_NUM; j++) {
+            _mm_storeu_si128(pipelineBlocks + j, _mm_aesenclast_si128(m[j], key->rd_key[10]));
+        }
+    }
+    // remaining blocks
+    for (; index < num; index++) {
+        aes_ecb_encrypt(blocks + index * BLOCK_BYTE_LENGTH, key);
+    }
+}
+#elif __aarch64__
+
+inline void aes_ecb_encrypt_blocks(uint8_t *blocks, size_t num, const AES_KEY *key) {
+    size_t index = 0;
+    auto *keys = (uint8x16_t *) (key->rd_key);
+    uint8x16_t m[AES_PIPELINE_BLOCK_NUM];
+    for (; index + AES_PIPELINE_BLOCK_NUM <= num; index += AES_PIPELINE_BLOCK_NUM) {
+        uint8_t *pipelineBlocks = blocks + index * BLOCK_BYTE_LENGTH;
+        for (int j = 0; j < AES_PIPELINE_BLOCK_NUM; j++) {
+            m[j] = vld1q_u8(pipelineBlocks + j * BLOCK_BYTE_LENGTH);
+        }
+        // Round 1-9: single round encryption + mix columns
+        for (int round = 0; round < 9; round++) {
+            for (int j = 0; j < AES_PIPELINE_BLOCK_NUM; j++) {
+                m[j] = vaesmcq_u8(vaeseq_u8(m[j], keys[round]));
+            }
+        }
+        // Round 10: single round encryption + bitwise XOR
+        for (int j = 0; j < AES_PIPELINE_BLOCK_NUM; j++) {
+            m[j] = veorq_u8(vaeseq_u8(m[j], keys[9]), keys[10]);
+            vst1q_u8(pipelineBlocks + j * BLOCK_BYTE_LENGTH, m[j]);
+        }
+    }
+    // remaining blocks
+    for (; index < num; index++) {
+        aes_ecb_encrypt(blocks + index * BLOCK_BYTE_LENGTH, key);
+    }
+}
+
+#endif
+
 #ifdef __x86_64__
 __attribute__((target("aes,sse2")))
 inline void aes_ecb_decrypt(uint8_t *plaintext, const AES_KEY *key) {
@@ -40,6 +40,23 @@ JNIEXPORT jbyteArray JNICALL Java_edu_alibaba_mpc4j_common_tool_crypto_prp_Nativ
     return jCiphertextByteArray;
 }
 
+JNIEXPORT void JNICALL Java_edu_alibaba_mpc4j_common_tool_crypto_prp_NativeAesPrp_nativeEncryptBlocks
+        (JNIEnv *env, jobject context, jobject jKeyPointer, jbyteArray jPlaintexts, jbyteArray jCiphertexts) {
+    auto * aesKey = (AES_KEY *)(*env).GetDirectBufferAddress(jKeyPointer);
+    jsize byteLength = (*env).GetArrayLength(jPlaintexts);
+    // copy blocks chunk by chunk into a stack buffer, so that there is no heap allocation and no pinned array
+    uint8_t blocks[AES_BATCH_CHUNK_BLOCK_NUM * BLOCK_BYTE_LENGTH];
+    for (jsize offset = 0; offset < byteLength; offset += AES_BATCH_CHUNK_BLOCK_NUM * BLOCK_BYTE_LENGTH) {
+        jsize chunkByteLength = byteLength - offset;
+        if (chunkByteLength > AES_BATCH_CHUNK_BLOCK_NUM * BLOCK_BYTE_LENGTH) {
+            chunkByteLength = AES_BATCH_CHUNK_BLOCK_NUM * BLOCK_BYTE_LENGTH;
+        }
+        (*env).GetByteArrayRegion(jPlaintexts, offset, chunkByteLength, reinterpret_cast<jbyte*>(blocks));
+        aes_ecb_encrypt_blocks(blocks, chunkByteLength / BLOCK_BYTE_LENGTH, aesKey);
+        (*env).SetByteArrayRegion(jCiphertexts, offset, chunkByteLength, reinterpret_cast<const jbyte*>(blocks));
+    }
+}
+
 JNIEXPORT jbyteArray JNICALL Java_edu_alibaba_mpc4j_common_tool_crypto_prp_NativeAesPrp_nativeDecrypt
         (JNIEnv *env, jobject context, jobject jKeyPointer, jbyteArray jCiphertextByteArray) {
     auto * aesKey = (AES_KEY *)(*env).GetDirectBufferAddress(jKeyPointer);
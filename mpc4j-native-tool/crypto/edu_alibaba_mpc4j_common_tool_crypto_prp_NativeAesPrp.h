@@ -23,6 +23,14 @@ JNIEXPORT jobject JNICALL Java_edu_alibaba_mpc4j_common_tool_crypto_prp_NativeAe
 JNIEXPORT jbyteArray JNICALL Java_edu_alibaba_mpc4j_common_tool_crypto_prp_NativeAesPrp_nativeEncrypt
   (JNIEnv *, jobject, jobject, jbyteArray);
 
+/*
+ * Class:     edu_alibaba_mpc4j_common_tool_crypto_prp_NativeAesPrp
+ * Method:    nativeEncryptBlocks
+ * Signature: (Ljava/nio/ByteBuffer;[B[B)V
+ */
+JNIEXPORT void JNICALL Java_edu_alibaba_mpc4j_common_tool_crypto_prp_NativeAesPrp_nativeEncryptBlocks
+  (JNIEnv *, jobject, jobject, jbyteArray, jbyteArray);
+
 /*
  * Class:     edu_alibaba_mpc4j_common_tool_crypto_prp_NativeAesPrp
  * Method:    nativeDecrypt
@@ -30,6 +30,11 @@ JNIEXPORT jstring JNICALL Java_edu_alibaba_mpc4j_common_tool_crypto_ecc_mcl_SecP
     return mcl_multiply(env, jEcString, jZnString);
 }
 
+JNIEXPORT jbyteArray JNICALL Java_edu_alibaba_mpc4j_common_tool_crypto_ecc_mcl_SecP256k1MclNativeEcc_batchMultiply
+    (JNIEnv *env, jobject context, jbyteArray jEcByteArray, jint num, jstring jZnString) {
+    return mcl_batch_multiply(env, jEcByteArray, num, jZnString);
+}
+
 JNIEXPORT void JNICALL Java_edu_alibaba_mpc4j_common_tool_crypto_ecc_mcl_SecP256k1MclNativeEcc_reset
         (JNIEnv *env, jobject context) {
     // do nothing
@@ -47,6 +47,14 @@ JNIEXPORT jstring JNICALL Java_edu_alibaba_mpc4j_common_tool_crypto_ecc_mcl_SecP
 JNIEXPORT jstring JNICALL Java_edu_alibaba_mpc4j_common_tool_crypto_ecc_mcl_SecP256k1MclNativeEcc_multiply
   (JNIEnv *, jobject, jstring, jstring);
 
+/*
+ * Class:     edu_alibaba_mpc4j_common_tool_crypto_ecc_mcl_SecP256k1MclNativeEcc
+ * Method:    batchMultiply
+ * Signature: ([BILjava/lang/String;)[B
+ */
+JNIEXPORT jbyteArray JNICALL Java_edu_alibaba_mpc4j_common_tool_crypto_ecc_mcl_SecP256k1MclNativeEcc_batchMultiply
+    (JNIEnv *, jobject, jbyteArray, jint, jstring);
+
 /*
  * Class:     edu_alibaba_mpc4j_common_tool_crypto_ecc_mcl_SecP256k1MclNativeEcc
  * Method:    reset
@@ -8,6 +8,23 @@ void ecFromString(const std::string &ecString, Ec &ecPoint) {
     ecPoint.load(is, MCL_RADIX);
 }
 
+/**
+ * 读取大端表示的坐标。MCL序列化的格式是小端表示，因此先反转字节序再反序列化。
+ */
+void fpFromBigEndian(const uint8_t *buffer, size_t fpByteLength, Fp &fp) {
+    std::vector<uint8_t> littleEndianBuffer(buffer, buffer + fpByteLength);
+    std::reverse(littleEndianBuffer.begin(), littleEndianBuffer.end());
+    fp.deserialize(littleEndianBuffer.data(), fpByteLength);
+}
+
+/**
+ * 将坐标写为大端表示。
+ */
+void fpToBigEndian(const Fp &fp, size_t fpByteLength, uint8_t *buffer) {
+    fp.serialize(buffer, fpByteLength);
+    std::reverse(buffer, buffer + fpByteLength);
+}
+
 void znFromString(const std::string &znString, Zn &zn) {
     cybozu::StringInputStream is(znString);
     zn.load(is, MCL_RADIX);
@@ -72,4 +89,92 @@ jstring mcl_multiply(JNIEnv *env, jstring jEcString, jstring jZnString) {
     // 返回结果
     std::string mulEcString = mulEc.getStr(MCL_RADIX);
     return (*env).NewStringUTF(mulEcString.data());
-}
\ No newline at end of file
+}
+
+/**
+ * 用Montgomery批量求逆将一组射影坐标点转换为仿射坐标，整组点只需要一次域求逆。
+ *
+ * @param ecs 椭圆曲线点。
+ */
+void mcl_normalize_all(std::vector<Ec> &ecs) {
+    size_t num = ecs.size();
+    // prefixes[i] = z_0 * ... * z_{i - 1}，跳过无穷远点和已经是仿射坐标的点
+    std::vector<Fp> prefixes(num);
+    Fp product = 1;
+    for (size_t i = 0; i < num; i++) {
+        prefixes[i] = product;
+        if (!ecs[i].isZero() && !ecs[i].z.isOne()) {
+            product *= ecs[i].z;
+        }
+    }
+    // 只求逆一次，inverse = 1 / (z_0 * ... * z_{i})
+    Fp inverse;
+    Fp::inv(inverse, product);
+    Fp rz;
+    Fp rz2;
+    for (size_t i = num; i-- > 0;) {
+        if (ecs[i].isZero() || ecs[i].z.isOne()) {
+            continue;
+        }
+        // rz = 1 / z_i
+        Fp::mul(rz, inverse, prefixes[i]);
+        Fp::mul(inverse, inverse, ecs[i].z);
+        if (Ec::mode_ == mcl::ec::Jacobi) {
+            // (x, y, z) -> (x / z^2, y / z^3, 1)
+            Fp::sqr(rz2, rz);
+            Fp::mul(ecs[i].x, ecs[i].x, rz2);
+            Fp::mul(rz2, rz2, rz);
+            Fp::mul(ecs[i].y, ecs[i].y, rz2);
+        } else {
+            // (x, y, z) -> (x / z, y / z, 1)
+            Fp::mul(ecs[i].x, ecs[i].x, rz);
+            Fp::mul(ecs[i].y, ecs[i].y, rz);
+        }
+        ecs[i].z = 1;
+    }
+}
+
+jbyteArray mcl_batch_multiply(JNIEnv *env, jbyteArray jEcByteArray, jint num, jstring jZnString) {
+    // 读取幂指数
+    const char* jZnStringHandler = (*env).GetStringUTFChars(jZnString, JNI_FALSE);
+    std::string znString = std::string(jZnStringHandler);
+    (*env).ReleaseStringUTFChars(jZnString, jZnStringHandler);
+    Zn zn;
+    znFromString(znString, zn);
+    // 读取椭圆曲线点并计算乘法，每个点都是定长的非压缩编码（0x04 || X || Y），无穷远点为全0，结果保留射影坐标
+    size_t fpByteLength = Fp::getByteSize();
+    size_t ecByteLength = 1 + fpByteLength * 2;
+    jbyte* jEcBuffer = (*env).GetByteArrayElements(jEcByteArray, nullptr);
+    auto *ecBuffer = (uint8_t *) jEcBuffer;
+    std::vector<Ec> mulEcs(num);
+    Ec ec;
+    for (jint i = 0; i < num; i++) {
+        const uint8_t *ecBytes = ecBuffer + i * ecByteLength;
+        if (ecBytes[0] == 0) {
+            mulEcs[i].clear();
+            continue;
+        }
+        fpFromBigEndian(ecBytes + 1, fpByteLength, ec.x);
+        fpFromBigEndian(ecBytes + 1 + fpByteLength, fpByteLength, ec.y);
+        ec.z = 1;
+        Ec::mul(mulEcs[i], ec, zn);
+    }
+    (*env).ReleaseByteArrayElements(jEcByteArray, jEcBuffer, JNI_ABORT);
+    // 所有结果共用一次求逆转换为仿射坐标
+    mcl_normalize_all(mulEcs);
+    // 返回结果，格式与输入相同
+    std::vector<uint8_t> mulEcBuffer(num * ecByteLength, 0);
+    for (jint i = 0; i < num; i++) {
+        if (mulEcs[i].isZero()) {
+            continue;
+        }
+        uint8_t *mulEcBytes = mulEcBuffer.data() + i * ecByteLength;
+        mulEcBytes[0] = 0x04;
+        fpToBigEndian(mulEcs[i].x, fpByteLength, mulEcBytes + 1);
+        fpToBigEndian(mulEcs[i].y, fpByteLength, mulEcBytes + 1 + fpByteLength);
+    }
+    auto mulEcByteLength = (jsize)mulEcBuffer.size();
+    jbyteArray jMulEcByteArray = (*env).NewByteArray(mulEcByteLength);
+    (*env).SetByteArrayRegion(jMulEcByteArray, 0, mulEcByteLength, reinterpret_cast<const jbyte*>(mulEcBuffer.data()));
+    return jMulEcByteArray;
+}
@@ -5,6 +5,7 @@
 #include <mcl/fp.hpp>
 #include <mcl/op.hpp>
 #include <jni.h>
+#include <algorithm>
 #include <vector>
 #include "../common/defines.h"
 
@@ -35,4 +36,8 @@ jstring mcl_precompute_multiply(JNIEnv *env, jobject jWindowHandler, jstring jZn
 
 jstring mcl_multiply(JNIEnv *env, jstring jEcString, jstring jZnString);
 
+void mcl_normalize_all(std::vector<Ec> &ecs);
+
+jbyteArray mcl_batch_multiply(JNIEnv *env, jbyteArray jEcByteArray, jint num, jstring jZnString);
+
 #endif //MPC4J_NATIVE_TOOL_ECC_MCL_H
@@ -30,6 +30,11 @@ JNIEXPORT jstring JNICALL Java_edu_alibaba_mpc4j_common_tool_crypto_ecc_openssl_
     return openssl_multiply(env, 0, jPointString, jBnString);
 }
 
+JNIEXPORT jbyteArray JNICALL Java_edu_alibaba_mpc4j_common_tool_crypto_ecc_openssl_SecP256k1OpensslNativeEcc_batchMultiply
+    (JNIEnv *env, jobject context, jbyteArray jPointByteArray, jint num, jstring jBnString) {
+    return openssl_batch_multiply(env, 0, jPointByteArray, num, jBnString);
+}
+
 JNIEXPORT void JNICALL Java_edu_alibaba_mpc4j_common_tool_crypto_ecc_openssl_SecP256k1OpensslNativeEcc_reset
     (JNIEnv *env, jobject context) {
     // do nothing
@@ -47,6 +47,14 @@ JNIEXPORT jstring JNICALL Java_edu_alibaba_mpc4j_common_tool_crypto_ecc_openssl_
 JNIEXPORT jstring JNICALL Java_edu_alibaba_mpc4j_common_tool_crypto_ecc_openssl_SecP256k1OpensslNativeEcc_multiply
     (JNIEnv *, jobject, jstring, jstring);
 
+/*
+ * Class:     edu_alibaba_mpc4j_common_tool_crypto_ecc_openssl_SecP256k1OpensslNativeEcc
+ * Method:    batchMultiply
+ * Signature: ([BILjava/lang/String;)[B
+ */
+JNIEXPORT jbyteArray JNICALL Java_edu_alibaba_mpc4j_common_tool_crypto_ecc_openssl_SecP256k1OpensslNativeEcc_batchMultiply
+    (JNIEnv *, jobject, jbyteArray, jint, jstring);
+
 /*
  * Class:     edu_alibaba_mpc4j_common_tool_crypto_ecc_openssl_SecP256k1OpensslNativeEcc
  * Method:    reset
@@ -93,4 +93,53 @@ jstring openssl_multiply(JNIEnv *env, int curveIndex, jstring jPointString, jstr
     EC_POINT_free(mulPoint);
     BN_CTX_free(ctx);
     return (*env).NewStringUTF(mulPointString.data());
-}
\ No newline at end of file
+}
+
+jbyteArray openssl_batch_multiply(JNIEnv *env, int curveIndex, jbyteArray jPointByteArray, jint num, jstring jBnString) {
+    BN_CTX *ctx = BN_CTX_new();
+    // 读取幂指数
+    const char* jBnStringHandler = (*env).GetStringUTFChars(jBnString, JNI_FALSE);
+    std::string bnString = std::string(jBnStringHandler);
+    (*env).ReleaseStringUTFChars(jBnString, jBnStringHandler);
+    BIGNUM *bn = BN_new();
+    bnFromString(bnString, bn);
+    // 读取椭圆曲线点并计算乘法，每个点都是定长的非压缩编码，无穷远点为全0
+    size_t pointByteLength = 1 + (EC_GROUP_get_degree(openssl_ec_group[curveIndex]) + 7) / 8 * 2;
+    jbyte* jPointBuffer = (*env).GetByteArrayElements(jPointByteArray, nullptr);
+    auto *pointBuffer = (uint8_t *) jPointBuffer;
+    auto **mulPoints = new EC_POINT *[num];
+    EC_POINT *point = EC_POINT_new(openssl_ec_group[curveIndex]);
+    for (jint i = 0; i < num; i++) {
+        mulPoints[i] = EC_POINT_new(openssl_ec_group[curveIndex]);
+        const uint8_t *pointBytes = pointBuffer + i * pointByteLength;
+        if (pointBytes[0] == 0) {
+            EC_POINT_set_to_infinity(openssl_ec_group[curveIndex], mulPoints[i]);
+            continue;
+        }
+        EC_POINT_oct2point(openssl_ec_group[curveIndex], point, pointBytes, pointByteLength, ctx);
+        EC_POINT_mul(openssl_ec_group[curveIndex], mulPoints[i], nullptr, point, bn, ctx);
+    }
+    (*env).ReleaseByteArrayElements(jPointByteArray, jPointBuffer, JNI_ABORT);
+    BN_free(bn);
+    EC_POINT_free(point);
+    // 批量转换为仿射坐标，所有点共用一次求逆
+    EC_POINTs_make_affine(openssl_ec_group[curveIndex], num, mulPoints, ctx);
+    // 返回结果，格式与输入相同
+    auto *mulPointBuffer = new uint8_t[num * pointByteLength]();
+    for (jint i = 0; i < num; i++) {
+        if (!EC_POINT_is_at_infinity(openssl_ec_group[curveIndex], mulPoints[i])) {
+            EC_POINT_point2oct(
+                openssl_ec_group[curveIndex], mulPoints[i], POINT_CONVERSION_UNCOMPRESSED,
+                mulPointBuffer + i * pointByteLength, pointByteLength, ctx
+            );
+        }
+        EC_POINT_free(mulPoints[i]);
+    }
+    delete[] mulPoints;
+    BN_CTX_free(ctx);
+    auto mulPointByteLength = (jsize)(num * pointByteLength);
+    jbyteArray jMulPointByteArray = (*env).NewByteArray(mulPointByteLength);
+    (*env).SetByteArrayRegion(jMulPointByteArray, 0, mulPointByteLength, reinterpret_cast<const jbyte*>(mulPointBuffer));
+    delete[] mulPointBuffer;
+    return jMulPointByteArray;
+}
@@ -42,4 +42,6 @@ jstring openssl_precompute_multiply(JNIEnv *env, int curveIndex, jobject jWindow
 
 jstring openssl_multiply(JNIEnv *env, int curveIndex, jstring jPointString, jstring jBnString);
 
+jbyteArray openssl_batch_multiply(JNIEnv *env, int curveIndex, jbyteArray jPointByteArray, jint num, jstring jBnString);
+
 #endif //MPC4J_NATIVE_TOOL_OPENSSL_ECC_H
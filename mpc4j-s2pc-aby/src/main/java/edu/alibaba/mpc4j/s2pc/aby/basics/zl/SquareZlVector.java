@@ -43,6 +43,22 @@ public class SquareZlVector implements MpcZlVector {
         return shareVector;
     }
 
+    /**
+     * Create a share vector with l <= 64, where elements are packed into long[].
+     *
+     * @param zl       Zl instance.
+     * @param elements the elements.
+     * @param plain    the plain state.
+     * @return a share vector.
+     */
+    public static SquareZlVector create(Zl zl, long[] elements, boolean plain) {
+        SquareZlVector shareVector = new SquareZlVector();
+        shareVector.zlVector = ZlVector.create(zl, elements);
+        shareVector.plain = plain;
+
+        return shareVector;
+    }
+
     /**
      * Create a share vector.
      *
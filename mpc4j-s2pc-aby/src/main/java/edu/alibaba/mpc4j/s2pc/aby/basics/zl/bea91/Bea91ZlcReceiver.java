@@ -5,7 +5,6 @@ import edu.alibaba.mpc4j.common.rpc.*;
 import edu.alibaba.mpc4j.common.rpc.utils.DataPacket;
 import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
 import edu.alibaba.mpc4j.common.tool.galoisfield.zl.Zl;
-import edu.alibaba.mpc4j.common.tool.utils.BigIntegerUtils;
 import edu.alibaba.mpc4j.crypto.matrix.vector.ZlVector;
 import edu.alibaba.mpc4j.s2pc.aby.basics.zl.AbstractZlcParty;
 import edu.alibaba.mpc4j.s2pc.aby.basics.zl.SquareZlVector;
@@ -14,11 +13,10 @@ import edu.alibaba.mpc4j.s2pc.pcg.mtg.zl.ZlMtgFactory;
 import edu.alibaba.mpc4j.s2pc.pcg.mtg.zl.ZlMtgParty;
 import edu.alibaba.mpc4j.s2pc.pcg.mtg.zl.ZlTriple;
 
-import java.math.BigInteger;
-import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Bea91 Zl circuit receiver.
@@ -72,8 +70,8 @@ public class Bea91ZlcReceiver extends AbstractZlcParty {
         stopWatch.start();
         ZlVector x1Vector = ZlVector.createRandom(zl, num, secureRandom);
         ZlVector x0Vector = x1.sub(x1Vector);
-        List<byte[]> x0Payload = Arrays.stream(x0Vector.getElements())
-            .map(element -> BigIntegerUtils.nonNegBigIntegerToByteArray(element, byteL))
+        List<byte[]> x0Payload = IntStream.range(0, num)
+            .mapToObj(x0Vector::getElementByteArray)
             .collect(Collectors.toList());
         DataPacketHeader x0Header = new DataPacketHeader(
             encodeTaskId, getPtoDesc().getPtoId(), PtoStep.RECEIVER_SEND_INPUT_SHARE.ordinal(), extraInfo,
@@ -101,10 +99,7 @@ public class Bea91ZlcReceiver extends AbstractZlcParty {
         );
         List<byte[]> x1Payload = rpc.receive(x1Header).getPayload();
         MpcAbortPreconditions.checkArgument(x1Payload.size() == num);
-        BigInteger[] x1Array = x1Payload.stream()
-            .map(BigIntegerUtils::byteArrayToNonNegBigInteger)
-            .toArray(BigInteger[]::new);
-        ZlVector x1Vector = ZlVector.create(zl, x1Array);
+        ZlVector x1Vector = ZlVector.createFromByteArrays(zl, x1Payload.toArray(new byte[0][]));
         stopWatch.stop();
         long shareTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
@@ -130,10 +125,7 @@ public class Bea91ZlcReceiver extends AbstractZlcParty {
             );
             List<byte[]> x0Payload = rpc.receive(x0Header).getPayload();
             MpcAbortPreconditions.checkArgument(x0Payload.size() == num);
-            BigInteger[] x0Array = x0Payload.stream()
-                .map(BigIntegerUtils::byteArrayToNonNegBigInteger)
-                .toArray(BigInteger[]::new);
-            ZlVector x0Vector = ZlVector.create(zl, x0Array);
+            ZlVector x0Vector = ZlVector.createFromByteArrays(zl, x0Payload.toArray(new byte[0][]));
             ZlVector x1Vector = x1.getZlVector();
             stopWatch.stop();
             long revealTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
@@ -153,8 +145,8 @@ public class Bea91ZlcReceiver extends AbstractZlcParty {
             logPhaseInfo(PtoState.PTO_BEGIN, "send share");
 
             stopWatch.start();
-            List<byte[]> x1Payload = Arrays.stream(x1.getZlVector().getElements())
-                .map(element -> BigIntegerUtils.nonNegBigIntegerToByteArray(element, byteL))
+            List<byte[]> x1Payload = IntStream.range(0, num)
+                .mapToObj(x1.getZlVector()::getElementByteArray)
                 .collect(Collectors.toList());
             DataPacketHeader x1Header = new DataPacketHeader(
                 encodeTaskId, getPtoDesc().getPtoId(), PtoStep.RECEIVER_SEND_OUTPUT_SHARE.ordinal(), extraInfo,
@@ -263,18 +255,21 @@ public class Bea91ZlcReceiver extends AbstractZlcParty {
             logStepInfo(PtoState.PTO_STEP, 1, 3, mtgTime, "and (gen. Boolean triples)");
 
             stopWatch.start();
-            ZlVector a1 = ZlVector.create(zl, triple.getA());
-            ZlVector b1 = ZlVector.create(zl, triple.getB());
-            ZlVector c1 = ZlVector.create(zl, triple.getC());
+            ZlVector a1 = triple.isLongPacked()
+                ? ZlVector.create(zl, triple.getLongA()) : ZlVector.create(zl, triple.getA());
+            ZlVector b1 = triple.isLongPacked()
+                ? ZlVector.create(zl, triple.getLongB()) : ZlVector.create(zl, triple.getB());
+            ZlVector c1 = triple.isLongPacked()
+                ? ZlVector.create(zl, triple.getLongC()) : ZlVector.create(zl, triple.getC());
             // e1 = x1 - a1
             ZlVector e1 = x1.getZlVector().sub(a1);
             // f1 = y1 - b1
             ZlVector f1 = y1.getZlVector().sub(b1);
-            List<byte[]> e1f1Payload = Arrays.stream(e1.getElements())
-                .map(element -> BigIntegerUtils.nonNegBigIntegerToByteArray(element, byteL))
+            List<byte[]> e1f1Payload = IntStream.range(0, num)
+                .mapToObj(e1::getElementByteArray)
                 .collect(Collectors.toList());
-            List<byte[]> f1Payload = Arrays.stream(f1.getElements())
-                .map(element -> BigIntegerUtils.nonNegBigIntegerToByteArray(element, byteL))
+            List<byte[]> f1Payload = IntStream.range(0, num)
+                .mapToObj(f1::getElementByteArray)
                 .collect(Collectors.toList());
             e1f1Payload.addAll(f1Payload);
             DataPacketHeader e1f1Header = new DataPacketHeader(
@@ -294,17 +289,15 @@ public class Bea91ZlcReceiver extends AbstractZlcParty {
             );
             List<byte[]> e0f0Payload = rpc.receive(e0f0Header).getPayload();
             MpcAbortPreconditions.checkArgument(e0f0Payload.size() == 2 * num);
-            BigInteger[] e0f0 = e0f0Payload.stream()
-                .map(BigIntegerUtils::byteArrayToNonNegBigInteger)
-                .toArray(BigInteger[]::new);
-            BigInteger[] e0 = new BigInteger[num];
+            byte[][] e0f0 = e0f0Payload.toArray(new byte[0][]);
+            byte[][] e0 = new byte[num][];
             System.arraycopy(e0f0, 0, e0, 0, num);
-            BigInteger[] f0 = new BigInteger[num];
+            byte[][] f0 = new byte[num][];
             System.arraycopy(e0f0, num, f0, 0, num);
             // e = (e0 + e1)
-            ZlVector z1 = ZlVector.create(zl, e0).add(e1);
+            ZlVector z1 = ZlVector.createFromByteArrays(zl, e0).add(e1);
             // f = (f0 + f1)
-            ZlVector f = ZlVector.create(zl, f0).add(f1);
+            ZlVector f = ZlVector.createFromByteArrays(zl, f0).add(f1);
             // z1 = (e * b1) + (f * a1) + c1 + (e * f)
             ZlVector ef = z1.mul(f);
             z1.muli(b1);
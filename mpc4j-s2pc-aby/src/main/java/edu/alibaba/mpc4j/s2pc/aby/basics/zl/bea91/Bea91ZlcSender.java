@@ -5,7 +5,6 @@ import edu.alibaba.mpc4j.common.rpc.*;
 import edu.alibaba.mpc4j.common.rpc.utils.DataPacket;
 import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
 import edu.alibaba.mpc4j.common.tool.galoisfield.zl.Zl;
-import edu.alibaba.mpc4j.common.tool.utils.BigIntegerUtils;
 import edu.alibaba.mpc4j.crypto.matrix.vector.ZlVector;
 import edu.alibaba.mpc4j.s2pc.aby.basics.zl.AbstractZlcParty;
 import edu.alibaba.mpc4j.s2pc.aby.basics.zl.SquareZlVector;
@@ -14,11 +13,10 @@ import edu.alibaba.mpc4j.s2pc.pcg.mtg.zl.ZlMtgFactory;
 import edu.alibaba.mpc4j.s2pc.pcg.mtg.zl.ZlMtgParty;
 import edu.alibaba.mpc4j.s2pc.pcg.mtg.zl.ZlTriple;
 
-import java.math.BigInteger;
-import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Bea91 Zl circuit sender.
@@ -72,8 +70,8 @@ public class Bea91ZlcSender extends AbstractZlcParty {
         stopWatch.start();
         ZlVector x0Vector = ZlVector.createRandom(zl, num, secureRandom);
         ZlVector x1Vector = x0.sub(x0Vector);
-        List<byte[]> x1Payload = Arrays.stream(x1Vector.getElements())
-            .map(element -> BigIntegerUtils.nonNegBigIntegerToByteArray(element, byteL))
+        List<byte[]> x1Payload = IntStream.range(0, num)
+            .mapToObj(x1Vector::getElementByteArray)
             .collect(Collectors.toList());
         DataPacketHeader x1Header = new DataPacketHeader(
             encodeTaskId, getPtoDesc().getPtoId(), PtoStep.SENDER_SEND_INPUT_SHARE.ordinal(), extraInfo,
@@ -101,10 +99,7 @@ public class Bea91ZlcSender extends AbstractZlcParty {
         );
         List<byte[]> x0Payload = rpc.receive(x0Header).getPayload();
         MpcAbortPreconditions.checkArgument(x0Payload.size() == num);
-        BigInteger[] x0Array = x0Payload.stream()
-            .map(BigIntegerUtils::byteArrayToNonNegBigInteger)
-            .toArray(BigInteger[]::new);
-        ZlVector x0Vector = ZlVector.create(zl, x0Array);
+        ZlVector x0Vector = ZlVector.createFromByteArrays(zl, x0Payload.toArray(new byte[0][]));
         stopWatch.stop();
         long shareTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
@@ -130,11 +125,8 @@ public class Bea91ZlcSender extends AbstractZlcParty {
             );
             List<byte[]> x1Payload = rpc.receive(x1Header).getPayload();
             MpcAbortPreconditions.checkArgument(x1Payload.size() == num);
-            BigInteger[] x1Array = x1Payload.stream()
-                .map(BigIntegerUtils::byteArrayToNonNegBigInteger)
-                .toArray(BigInteger[]::new);
             ZlVector x0Vector = x0.getZlVector();
-            ZlVector x1Vector = ZlVector.create(zl, x1Array);
+            ZlVector x1Vector = ZlVector.createFromByteArrays(zl, x1Payload.toArray(new byte[0][]));
             stopWatch.stop();
             long revealTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
             stopWatch.reset();
@@ -153,8 +145,8 @@ public class Bea91ZlcSender extends AbstractZlcParty {
             logPhaseInfo(PtoState.PTO_BEGIN, "send share");
 
             stopWatch.start();
-            List<byte[]> x0Payload = Arrays.stream(x0.getZlVector().getElements())
-                .map(element -> BigIntegerUtils.nonNegBigIntegerToByteArray(element, byteL))
+            List<byte[]> x0Payload = IntStream.range(0, num)
+                .mapToObj(x0.getZlVector()::getElementByteArray)
                 .collect(Collectors.toList());
             DataPacketHeader x0Header = new DataPacketHeader(
                 encodeTaskId, getPtoDesc().getPtoId(), PtoStep.SENDER_SEND_OUTPUT_SHARE.ordinal(), extraInfo,
@@ -256,18 +248,21 @@ public class Bea91ZlcSender extends AbstractZlcParty {
 
             // compute e0 and f0
             stopWatch.start();
-            ZlVector a0 = ZlVector.create(zl, triple.getA());
-            ZlVector b0 = ZlVector.create(zl, triple.getB());
-            ZlVector c0 = ZlVector.create(zl, triple.getC());
+            ZlVector a0 = triple.isLongPacked()
+                ? ZlVector.create(zl, triple.getLongA()) : ZlVector.create(zl, triple.getA());
+            ZlVector b0 = triple.isLongPacked()
+                ? ZlVector.create(zl, triple.getLongB()) : ZlVector.create(zl, triple.getB());
+            ZlVector c0 = triple.isLongPacked()
+                ? ZlVector.create(zl, triple.getLongC()) : ZlVector.create(zl, triple.getC());
             // e0 = x0 - a0
             ZlVector e0 = x0.getZlVector().sub(a0);
             // f0 = y0 - b0
             ZlVector f0 = y0.getZlVector().sub(b0);
-            List<byte[]> e0f0Payload = Arrays.stream(e0.getElements())
-                .map(element -> BigIntegerUtils.nonNegBigIntegerToByteArray(element, byteL))
+            List<byte[]> e0f0Payload = IntStream.range(0, num)
+                .mapToObj(e0::getElementByteArray)
                 .collect(Collectors.toList());
-            List<byte[]> f0Payload = Arrays.stream(f0.getElements())
-                .map(element -> BigIntegerUtils.nonNegBigIntegerToByteArray(element, byteL))
+            List<byte[]> f0Payload = IntStream.range(0, num)
+                .mapToObj(f0::getElementByteArray)
                 .collect(Collectors.toList());
             e0f0Payload.addAll(f0Payload);
             DataPacketHeader e0f0Header = new DataPacketHeader(
@@ -287,23 +282,21 @@ public class Bea91ZlcSender extends AbstractZlcParty {
             );
             List<byte[]> e1f1Payload = rpc.receive(e1f1Header).getPayload();
             MpcAbortPreconditions.checkArgument(e1f1Payload.size() == 2 * num);
-            BigInteger[] e1f1 = e1f1Payload.stream()
-                .map(BigIntegerUtils::byteArrayToNonNegBigInteger)
-                .toArray(BigInteger[]::new);
-            BigInteger[] e1 = new BigInteger[num];
+            byte[][] e1f1 = e1f1Payload.toArray(new byte[0][]);
+            byte[][] e1 = new byte[num][];
             System.arraycopy(e1f1, 0, e1, 0, num);
-            BigInteger[] f1 = new BigInteger[num];
+            byte[][] f1 = new byte[num][];
             System.arraycopy(e1f1, num, f1, 0, num);
             // e = (e0 + e1)
-            ZlVector z0 = e0.add(ZlVector.create(zl, e1));
+            ZlVector z0 = e0.add(ZlVector.createFromByteArrays(zl, e1));
             // f = (f0 + f1)
-            ZlVector f = f0.add(ZlVector.create(zl, f1));
+            ZlVector f = f0.add(ZlVector.createFromByteArrays(zl, f1));
             // z0 = (e * b0) + (f * a0) + c0
             z0.muli(b0);
             f.muli(a0);
             z0.addi(f);
             z0.addi(c0);
-            SquareZlVector z0SquareVector = SquareZlVector.create(zl, z0.getElements(), false);
+            SquareZlVector z0SquareVector = SquareZlVector.create(z0, false);
             stopWatch.stop();
             long z0Time = stopWatch.getTime(TimeUnit.MILLISECONDS);
             stopWatch.reset();
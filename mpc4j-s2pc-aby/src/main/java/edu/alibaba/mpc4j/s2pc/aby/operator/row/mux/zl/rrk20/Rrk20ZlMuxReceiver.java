@@ -7,7 +7,6 @@ import edu.alibaba.mpc4j.common.tool.CommonConstants;
 import edu.alibaba.mpc4j.common.tool.bitvector.BitVector;
 import edu.alibaba.mpc4j.common.tool.crypto.prg.Prg;
 import edu.alibaba.mpc4j.common.tool.crypto.prg.PrgFactory;
-import edu.alibaba.mpc4j.common.tool.utils.BigIntegerUtils;
 import edu.alibaba.mpc4j.common.tool.utils.BinaryUtils;
 import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
 import edu.alibaba.mpc4j.crypto.matrix.vector.ZlVector;
@@ -17,7 +16,6 @@ import edu.alibaba.mpc4j.s2pc.aby.operator.row.mux.zl.AbstractZlMuxParty;
 import edu.alibaba.mpc4j.s2pc.aby.operator.row.mux.zl.rrk20.Rrk20ZlMuxPtoDesc.PtoStep;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.*;
 
-import java.math.BigInteger;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -132,9 +130,9 @@ public class Rrk20ZlMuxReceiver extends AbstractZlMuxParty {
         // P1 picks r1 ∈ Zn
         r1ZlVector = ZlVector.createRandom(zl, num, secureRandom);
         ZlVector negR1ZlVector = r1ZlVector.neg();
+        ZlVector negR1AddY1ZlVector = negR1ZlVector.add(y1.getZlVector());
         // if x1 = 0, P1 sets (t0, t1) = (-r1, -r1 + y1), else, P1 sets (t0, t1) = (-r1 + y1, -r1).
         BitVector x1BitVector = x1.getBitVector();
-        ZlVector y1ZlVector = y1.getZlVector();
         t0s = new byte[num][];
         t1s = new byte[num][];
         IntStream indexIntStream = IntStream.range(0, num);
@@ -142,19 +140,11 @@ public class Rrk20ZlMuxReceiver extends AbstractZlMuxParty {
         indexIntStream.forEach(index -> {
             boolean x = x1BitVector.get(index);
             if (!x) {
-                t0s[index] = BigIntegerUtils.nonNegBigIntegerToByteArray(
-                    negR1ZlVector.getElement(index), byteL
-                );
-                t1s[index] = BigIntegerUtils.nonNegBigIntegerToByteArray(
-                    zl.add(negR1ZlVector.getElement(index), y1ZlVector.getElement(index)), byteL
-                );
+                t0s[index] = negR1ZlVector.getElementByteArray(index);
+                t1s[index] = negR1AddY1ZlVector.getElementByteArray(index);
             } else {
-                t0s[index] = BigIntegerUtils.nonNegBigIntegerToByteArray(
-                    zl.add(negR1ZlVector.getElement(index), y1ZlVector.getElement(index)), byteL
-                );
-                t1s[index] = BigIntegerUtils.nonNegBigIntegerToByteArray(
-                    negR1ZlVector.getElement(index), byteL
-                );
+                t0s[index] = negR1AddY1ZlVector.getElementByteArray(index);
+                t1s[index] = negR1ZlVector.getElementByteArray(index);
             }
         });
     }
@@ -199,7 +189,7 @@ public class Rrk20ZlMuxReceiver extends AbstractZlMuxParty {
         // Let P1's output be a1
         IntStream s0IntStream = IntStream.range(0, num);
         s0IntStream = parallel ? s0IntStream.parallel() : s0IntStream;
-        BigInteger[] a1s = s0IntStream
+        byte[][] a1s = s0IntStream
             .mapToObj(index -> {
                 boolean x1 = cotReceiverOutput.getChoice(index);
                 byte[] a1 = prg.extendToBytes(cotReceiverOutput.getRb(index));
@@ -210,9 +200,8 @@ public class Rrk20ZlMuxReceiver extends AbstractZlMuxParty {
                 }
                 return a1;
             })
-            .map(BigIntegerUtils::byteArrayToNonNegBigInteger)
-            .toArray(BigInteger[]::new);
-        ZlVector z1ZlVector = ZlVector.create(zl, a1s);
+            .toArray(byte[][]::new);
+        ZlVector z1ZlVector = ZlVector.createFromByteArrays(zl, a1s);
         z1ZlVector.addi(r1ZlVector);
         return SquareZlVector.create(z1ZlVector, false);
     }
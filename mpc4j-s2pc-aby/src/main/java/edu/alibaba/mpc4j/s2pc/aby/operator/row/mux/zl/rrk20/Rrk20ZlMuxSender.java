@@ -7,7 +7,6 @@ import edu.alibaba.mpc4j.common.tool.CommonConstants;
 import edu.alibaba.mpc4j.common.tool.bitvector.BitVector;
 import edu.alibaba.mpc4j.common.tool.crypto.prg.Prg;
 import edu.alibaba.mpc4j.common.tool.crypto.prg.PrgFactory;
-import edu.alibaba.mpc4j.common.tool.utils.BigIntegerUtils;
 import edu.alibaba.mpc4j.common.tool.utils.BinaryUtils;
 import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
 import edu.alibaba.mpc4j.crypto.matrix.vector.ZlVector;
@@ -17,7 +16,6 @@ import edu.alibaba.mpc4j.s2pc.aby.operator.row.mux.zl.AbstractZlMuxParty;
 import edu.alibaba.mpc4j.s2pc.aby.operator.row.mux.zl.rrk20.Rrk20ZlMuxPtoDesc.PtoStep;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.*;
 
-import java.math.BigInteger;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -132,9 +130,9 @@ public class Rrk20ZlMuxSender extends AbstractZlMuxParty {
         // P0 picks r0 ∈ Zn
         r0ZlVector = ZlVector.createRandom(zl, num, secureRandom);
         ZlVector negR0ZlVector = r0ZlVector.neg();
+        ZlVector negR0AddY0ZlVector = negR0ZlVector.add(y0.getZlVector());
         // if x0 = 0, P0 sets (s0, s1) = (-r0, -r0 + y0), else, P0 sets (s0, s1) = (-r0 + y0, -r0).
         BitVector x0BitVector = x0.getBitVector();
-        ZlVector y0ZlVector = y0.getZlVector();
         s0s = new byte[num][];
         s1s = new byte[num][];
         IntStream indexIntStream = IntStream.range(0, num);
@@ -142,19 +140,11 @@ public class Rrk20ZlMuxSender extends AbstractZlMuxParty {
         indexIntStream.forEach(index -> {
             boolean x = x0BitVector.get(index);
             if (!x) {
-                s0s[index] = BigIntegerUtils.nonNegBigIntegerToByteArray(
-                    negR0ZlVector.getElement(index), byteL
-                );
-                s1s[index] = BigIntegerUtils.nonNegBigIntegerToByteArray(
-                    zl.add(negR0ZlVector.getElement(index), y0ZlVector.getElement(index)), byteL
-                );
+                s0s[index] = negR0ZlVector.getElementByteArray(index);
+                s1s[index] = negR0AddY0ZlVector.getElementByteArray(index);
             } else {
-                s0s[index] = BigIntegerUtils.nonNegBigIntegerToByteArray(
-                    zl.add(negR0ZlVector.getElement(index), y0ZlVector.getElement(index)), byteL
-                );
-                s1s[index] = BigIntegerUtils.nonNegBigIntegerToByteArray(
-                    negR0ZlVector.getElement(index), byteL
-                );
+                s0s[index] = negR0AddY0ZlVector.getElementByteArray(index);
+                s1s[index] = negR0ZlVector.getElementByteArray(index);
             }
         });
     }
@@ -199,7 +189,7 @@ public class Rrk20ZlMuxSender extends AbstractZlMuxParty {
         // Let P0's output be a0
         IntStream t0IntStream = IntStream.range(0, num);
         t0IntStream = parallel ? t0IntStream.parallel() : t0IntStream;
-        BigInteger[] a0s = t0IntStream
+        byte[][] a0s = t0IntStream
             .mapToObj(index -> {
                 boolean x0 = cotReceiverOutput.getChoice(index);
                 byte[] a0 = prg.extendToBytes(cotReceiverOutput.getRb(index));
@@ -210,9 +200,8 @@ public class Rrk20ZlMuxSender extends AbstractZlMuxParty {
                 }
                 return a0;
             })
-            .map(BigIntegerUtils::byteArrayToNonNegBigInteger)
-            .toArray(BigInteger[]::new);
-        ZlVector z0ZlVector = ZlVector.create(zl, a0s);
+            .toArray(byte[][]::new);
+        ZlVector z0ZlVector = ZlVector.createFromByteArrays(zl, a0s);
         z0ZlVector.addi(r0ZlVector);
         return SquareZlVector.create(z0ZlVector, false);
     }
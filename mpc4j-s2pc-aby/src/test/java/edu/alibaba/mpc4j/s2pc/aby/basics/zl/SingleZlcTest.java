@@ -50,6 +50,8 @@ public class SingleZlcTest extends AbstractTwoPartyPtoTest {
             ZlFactory.createInstance(EnvType.STANDARD, LongUtils.MAX_L - 1),
             ZlFactory.createInstance(EnvType.STANDARD, LongUtils.MAX_L),
             ZlFactory.createInstance(EnvType.STANDARD, LongUtils.MAX_L + 1),
+            ZlFactory.createInstance(EnvType.STANDARD, Long.SIZE),
+            ZlFactory.createInstance(EnvType.STANDARD, Long.SIZE + 1),
         };
 
         for (Zl zl : zls) {
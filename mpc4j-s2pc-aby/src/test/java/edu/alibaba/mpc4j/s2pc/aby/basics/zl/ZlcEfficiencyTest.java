@@ -0,0 +1,179 @@
+package edu.alibaba.mpc4j.s2pc.aby.basics.zl;
+
+import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
+import edu.alibaba.mpc4j.common.rpc.desc.SecurityModel;
+import edu.alibaba.mpc4j.common.rpc.test.AbstractThreePartyPtoTest;
+import edu.alibaba.mpc4j.common.tool.EnvType;
+import edu.alibaba.mpc4j.common.tool.bitvector.BitVector;
+import edu.alibaba.mpc4j.common.tool.bitvector.BitVectorFactory;
+import edu.alibaba.mpc4j.common.tool.galoisfield.zl.Zl;
+import edu.alibaba.mpc4j.common.tool.galoisfield.zl.ZlFactory;
+import edu.alibaba.mpc4j.crypto.matrix.vector.ZlVector;
+import edu.alibaba.mpc4j.s2pc.aby.basics.z2.SquareZ2Vector;
+import edu.alibaba.mpc4j.s2pc.aby.basics.zl.bea91.Bea91ZlcConfig;
+import edu.alibaba.mpc4j.s2pc.aby.operator.row.mux.zl.ZlMuxFactory;
+import edu.alibaba.mpc4j.s2pc.aby.operator.row.mux.zl.ZlMuxParty;
+import edu.alibaba.mpc4j.s2pc.aby.operator.row.mux.zl.rrk20.Rrk20ZlMuxConfig;
+import edu.alibaba.mpc4j.s2pc.pcg.aid.AiderThread;
+import edu.alibaba.mpc4j.s2pc.pcg.aid.TrustDealAider;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Zl circuit efficiency test. For l <= 64, ZlVector and ZlTriple are packed into long[]. Plain mul is compared with
+ * element-wise BigInteger mul on the same l, which is what ZlVector did before introducing the long-packed path. Secure
+ * mul and mux only time the operations (not init), run the test on the tree before and after packing to compare them.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/20
+ */
+@Ignore
+public class ZlcEfficiencyTest extends AbstractThreePartyPtoTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ZlcEfficiencyTest.class);
+    /**
+     * log(num)
+     */
+    private static final int LOG_NUM = 20;
+    /**
+     * tested l
+     */
+    private static final int[] LS = new int[]{Integer.SIZE, Long.SIZE};
+
+    public ZlcEfficiencyTest() {
+        super("Zl efficiency");
+    }
+
+    @Test
+    public void testEfficiency() throws InterruptedException {
+        int num = 1 << LOG_NUM;
+        LOGGER.info("{}\t{}\t{}\t{}\t{}\t{}",
+            "    l", "log(n)", " BigInteger mul(ms)", " plain mul(ms)", "secure mul(ms)", "secure mux(ms)"
+        );
+        for (int l : LS) {
+            Zl zl = ZlFactory.createInstance(EnvType.STANDARD, l);
+            ZlVector x0 = ZlVector.createRandom(zl, num, SECURE_RANDOM);
+            ZlVector x1 = ZlVector.createRandom(zl, num, SECURE_RANDOM);
+            ZlVector y0 = ZlVector.createRandom(zl, num, SECURE_RANDOM);
+            ZlVector y1 = ZlVector.createRandom(zl, num, SECURE_RANDOM);
+            // BigInteger mul
+            BigInteger[] x0Elements = x0.getElements();
+            BigInteger[] y0Elements = y0.getElements();
+            STOP_WATCH.start();
+            IntStream.range(0, num)
+                .mapToObj(index -> zl.mul(x0Elements[index], y0Elements[index]))
+                .toArray(BigInteger[]::new);
+            STOP_WATCH.stop();
+            long bigIntegerMulTime = STOP_WATCH.getTime(TimeUnit.MILLISECONDS);
+            STOP_WATCH.reset();
+            // plain mul
+            STOP_WATCH.start();
+            x0.mul(y0);
+            STOP_WATCH.stop();
+            long plainMulTime = STOP_WATCH.getTime(TimeUnit.MILLISECONDS);
+            STOP_WATCH.reset();
+            long mulTime = testMul(zl, x0, x1, y0, y1);
+            long muxTime = testMux(x0, x1, y0, y1);
+            LOGGER.info("{}\t{}\t{}\t{}\t{}\t{}",
+                StringUtils.leftPad(String.valueOf(l), 5),
+                StringUtils.leftPad(String.valueOf(LOG_NUM), 6),
+                StringUtils.leftPad(String.valueOf(bigIntegerMulTime), 19),
+                StringUtils.leftPad(String.valueOf(plainMulTime), 14),
+                StringUtils.leftPad(String.valueOf(mulTime), 14),
+                StringUtils.leftPad(String.valueOf(muxTime), 14)
+            );
+        }
+    }
+
+    private long testMul(Zl zl, ZlVector x0, ZlVector x1, ZlVector y0, ZlVector y1) throws InterruptedException {
+        int num = x0.getNum();
+        // use trust dealer so that the time is dominated by Zl operations instead of triple generations
+        ZlcConfig config = new Bea91ZlcConfig.Builder(SecurityModel.TRUSTED_DEALER, zl).build();
+        ZlcParty sender = ZlcFactory.createSender(firstRpc, secondRpc.ownParty(), thirdRpc.ownParty(), config);
+        ZlcParty receiver = ZlcFactory.createReceiver(secondRpc, firstRpc.ownParty(), thirdRpc.ownParty(), config);
+        TrustDealAider aider = new TrustDealAider(thirdRpc, firstRpc.ownParty(), secondRpc.ownParty());
+        AiderThread aiderThread = new AiderThread(aider);
+        aiderThread.start();
+        runParties(() -> sender.init(num), () -> receiver.init(num));
+        resetRpc();
+        STOP_WATCH.start();
+        runParties(
+            () -> sender.mul(SquareZlVector.create(x0, false), SquareZlVector.create(y0, false)),
+            () -> receiver.mul(SquareZlVector.create(x1, false), SquareZlVector.create(y1, false))
+        );
+        STOP_WATCH.stop();
+        long time = STOP_WATCH.getTime(TimeUnit.MILLISECONDS);
+        STOP_WATCH.reset();
+        printAndResetRpc(time);
+        // destroy
+        runParties(sender::destroy, receiver::destroy);
+        aiderThread.join();
+        aider.destroy();
+        return time;
+    }
+
+    private long testMux(ZlVector x0, ZlVector x1, ZlVector y0, ZlVector y1) throws InterruptedException {
+        int num = x0.getNum();
+        BitVector b0 = BitVectorFactory.createRandom(num, SECURE_RANDOM);
+        BitVector b1 = BitVectorFactory.createRandom(num, SECURE_RANDOM);
+        SquareZlVector z0 = SquareZlVector.create(x0.add(y0), false);
+        SquareZlVector z1 = SquareZlVector.create(x1.add(y1), false);
+        ZlMuxParty sender = ZlMuxFactory.createSender(firstRpc, secondRpc.ownParty(), new Rrk20ZlMuxConfig.Builder().build());
+        ZlMuxParty receiver = ZlMuxFactory.createReceiver(secondRpc, firstRpc.ownParty(), new Rrk20ZlMuxConfig.Builder().build());
+        runParties(() -> sender.init(num), () -> receiver.init(num));
+        resetRpc();
+        STOP_WATCH.start();
+        runParties(
+            () -> sender.mux(SquareZ2Vector.create(b0, false), z0),
+            () -> receiver.mux(SquareZ2Vector.create(b1, false), z1)
+        );
+        STOP_WATCH.stop();
+        long time = STOP_WATCH.getTime(TimeUnit.MILLISECONDS);
+        STOP_WATCH.reset();
+        printAndResetRpc(time);
+        // destroy
+        runParties(sender::destroy, receiver::destroy);
+        return time;
+    }
+
+    private void resetRpc() {
+        firstRpc.reset();
+        secondRpc.reset();
+        thirdRpc.reset();
+    }
+
+    private void runParties(PartyTask senderTask, PartyTask receiverTask) throws InterruptedException {
+        Thread senderThread = new Thread(() -> runTask(senderTask));
+        Thread receiverThread = new Thread(() -> runTask(receiverTask));
+        senderThread.start();
+        receiverThread.start();
+        senderThread.join();
+        receiverThread.join();
+    }
+
+    private static void runTask(PartyTask task) {
+        try {
+            task.run();
+        } catch (MpcAbortException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * a task run by one party.
+     */
+    private interface PartyTask {
+        /**
+         * Runs the task.
+         *
+         * @throws MpcAbortException the protocol failure aborts.
+         */
+        void run() throws MpcAbortException;
+    }
+}
@@ -5,6 +5,8 @@ import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
 import edu.alibaba.mpc4j.common.tool.CommonConstants;
 import edu.alibaba.mpc4j.common.tool.crypto.prf.Prf;
 import edu.alibaba.mpc4j.common.tool.crypto.prf.PrfFactory;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasher;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasherFactory;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBinFactory;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBinFactory.CuckooHashBinType;
 import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
@@ -14,7 +16,6 @@ import edu.alibaba.mpc4j.s2pc.opf.oprf.OprfFactory;
 import edu.alibaba.mpc4j.s2pc.opf.oprf.OprfReceiver;
 import edu.alibaba.mpc4j.s2pc.opf.oprf.OprfReceiverOutput;
 
-import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.IntStream;
@@ -41,7 +42,7 @@ public class Cgs22RbopprfReceiver extends AbstractRbopprfReceiver {
     /**
      * h_1, ... h_d
      */
-    private Prf[] binHashes;
+    private MultiIndexHasher binHasher;
 
     public Cgs22RbopprfReceiver(Rpc receiverRpc, Party senderParty, Cgs22RbopprfConfig config) {
         super(Cgs22RbopprfPtoDesc.getInstance(), receiverRpc, senderParty, config);
@@ -115,13 +116,7 @@ public class Cgs22RbopprfReceiver extends AbstractRbopprfReceiver {
         // parse garbled table keys
         MpcAbortPreconditions.checkArgument(garbledTableKeysPayload.size() == d);
         byte[][] garbledTableKeys = garbledTableKeysPayload.toArray(new byte[0][]);
-        binHashes = Arrays.stream(garbledTableKeys)
-            .map(key -> {
-                Prf prf = PrfFactory.createInstance(envType, Integer.BYTES);
-                prf.setKey(key);
-                return prf;
-            })
-            .toArray(Prf[]::new);
+        binHasher = MultiIndexHasherFactory.createInstance(envType, MultiIndexHasherFactory.DEFAULT_TYPE, garbledTableKeys);
     }
 
     private byte[][][] handleGarbledTablePayload(OprfReceiverOutput oprfReceiverOutput, List<byte[]> garbledTablePayload)
@@ -142,9 +137,10 @@ public class Cgs22RbopprfReceiver extends AbstractRbopprfReceiver {
                 // Compute f_1 || f_2 || f_3 ← F(k, x), where f_b ∈ {0,1}^l for all b ∈ [3].
                 byte[] inputPrf = oprfReceiverOutput.getPrf(j);
                 inputPrf = prf.getBytes(inputPrf);
+                // Compute pos_b ← h_b(x) for all b ∈ [d].
+                int[] positions = binHasher.getIndexes(input, binNum);
                 for (int b = 0; b < d; b++) {
-                    // Compute pos_b ← h_b(x) for all b ∈ [d].
-                    int posb = binHashes[b].getInteger(input, binNum);
+                    int posb = positions[b];
                     // Return list W = [f_b ⊕ GT[pos_b]]_{b ∈ [d]}
                     prfs[b] = new byte[byteL];
                     System.arraycopy(inputPrf, byteL * b, prfs[b], 0, byteL);
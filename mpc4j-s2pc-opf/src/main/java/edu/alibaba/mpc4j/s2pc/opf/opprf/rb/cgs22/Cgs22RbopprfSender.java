@@ -9,6 +9,8 @@ import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
 import edu.alibaba.mpc4j.common.tool.CommonConstants;
 import edu.alibaba.mpc4j.common.tool.crypto.prf.Prf;
 import edu.alibaba.mpc4j.common.tool.crypto.prf.PrfFactory;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasher;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasherFactory;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.HashBinEntry;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBin;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBinFactory;
@@ -52,7 +54,7 @@ public class Cgs22RbopprfSender extends AbstractRbopprfSender {
     /**
      * h_1, ... h_d
      */
-    private Prf[] binHashes;
+    private MultiIndexHasher binHasher;
 
     public Cgs22RbopprfSender(Rpc senderRpc, Party receiverParty, Cgs22RbopprfConfig config) {
         super(Cgs22RbopprfPtoDesc.getInstance(), senderRpc, receiverParty, config);
@@ -129,13 +131,7 @@ public class Cgs22RbopprfSender extends AbstractRbopprfSender {
         );
         // init bin hashes
         byte[][] hashKeys = cuckooHashTable.getHashKeys();
-        binHashes = Arrays.stream(cuckooHashTable.getHashKeys())
-            .map(key -> {
-                Prf prf = PrfFactory.createInstance(envType, Integer.BYTES);
-                prf.setKey(key);
-                return prf;
-            })
-            .toArray(Prf[]::new);
+        binHasher = MultiIndexHasherFactory.createInstance(envType, MultiIndexHasherFactory.DEFAULT_TYPE, hashKeys);
         return Arrays.stream(hashKeys).collect(Collectors.toList());
     }
 
@@ -170,14 +166,14 @@ public class Cgs22RbopprfSender extends AbstractRbopprfSender {
                 inputPrf = prf.getBytes(inputPrf);
                 // For idx ← E(X_j(i)), and pos ← h_{idx}(X_j(i)), set GT[pos] ← f_{idx} ⊕ T_j(i).
                 int idx = eMap.get(ByteBuffer.wrap(input));
-                int pos = binHashes[idx].getInteger(input, binNum);
+                int pos = binHasher.getIndex(idx, input, binNum);
                 garbledTable[pos] = new byte[byteL];
                 System.arraycopy(inputPrf, idx * byteL, garbledTable[pos], 0, byteL);
                 BytesUtils.reduceByteArray(garbledTable[pos], l);
                 BytesUtils.xori(garbledTable[pos], target);
             }
         });
-        binHashes = null;
+        binHasher = null;
         // For every empty bin i in GT, pick r_i ← {0,1}^l and set GT[i] ← r_i.
         for (int i = 0; i < garbledTable.length; i++) {
             if (garbledTable[i] == null) {
@@ -14,10 +14,11 @@ import edu.alibaba.mpc4j.s2pc.opf.sqoprf.ra17.Ra17EccSqOprfPtoDesc.PtoStep;
 import org.bouncycastle.math.ec.ECPoint;
 
 import java.math.BigInteger;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * RA17 ECC single-query OPRF receiver.
@@ -96,35 +97,35 @@ public class Ra17EccSqOprfReceiver extends AbstractSqOprfReceiver {
     private List<byte[]> generateBlindPayload() {
         BigInteger n = ecc.getN();
         inverseBetas = new BigInteger[batchSize];
+        // hash to point
+        ECPoint[] elements = ecc.hashToCurve(inputs, parallel);
         IntStream batchIntStream = IntStream.range(0, batchSize);
         batchIntStream = parallel ? batchIntStream.parallel() : batchIntStream;
-        return batchIntStream
+        ECPoint[] blinds = batchIntStream
             .mapToObj(index -> {
                 // generate β
                 BigInteger beta = ecc.randomZn(secureRandom);
                 inverseBetas[index] = BigIntegerUtils.modInverse(beta, n);
-                // hash to point
-                ECPoint element = ecc.hashToCurve(inputs[index]);
                 // blind
-                return ecc.multiply(element, beta);
+                return ecc.multiply(elements[index], beta);
             })
-            .map(element -> ecc.encode(element, compressEncode))
-            .collect(Collectors.toList());
+            .toArray(ECPoint[]::new);
+        return Arrays.asList(ecc.encode(blinds, compressEncode, parallel));
     }
 
     private SqOprfReceiverOutput handleBlindPrfPayload(List<byte[]> blindPrfPayload) throws MpcAbortException {
         MpcAbortPreconditions.checkArgument(blindPrfPayload.size() == batchSize);
-        byte[][] blindPrfArray = blindPrfPayload.toArray(new byte[0][]);
+        // decode
+        ECPoint[] blindPrfs = ecc.decode(blindPrfPayload.toArray(new byte[0][]), parallel);
         IntStream batchIntStream = IntStream.range(0, batchSize);
         batchIntStream = parallel ? batchIntStream.parallel() : batchIntStream;
-        byte[][] prfs = batchIntStream
-            .mapToObj(index -> {
-                // decode
-                ECPoint element = ecc.decode(blindPrfArray[index]);
-                // de-blind
-                return ecc.multiply(element, inverseBetas[index]);
-            })
-            .map(element -> ecc.encode(element, false))
+        // de-blind
+        ECPoint[] elements = batchIntStream
+            .mapToObj(index -> ecc.multiply(blindPrfs[index], inverseBetas[index]))
+            .toArray(ECPoint[]::new);
+        Stream<byte[]> encodeStream = Arrays.stream(ecc.encode(elements, false, parallel));
+        encodeStream = parallel ? encodeStream.parallel() : encodeStream;
+        byte[][] prfs = encodeStream
             .map(kdf::deriveKey)
             .toArray(byte[][]::new);
         return new SqOprfReceiverOutput(inputs, prfs);
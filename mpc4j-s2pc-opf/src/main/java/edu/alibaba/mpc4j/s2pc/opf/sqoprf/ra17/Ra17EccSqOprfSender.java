@@ -8,11 +8,11 @@ import edu.alibaba.mpc4j.common.tool.crypto.ecc.EccFactory;
 import edu.alibaba.mpc4j.s2pc.opf.sqoprf.AbstractSqOprfSender;
 import edu.alibaba.mpc4j.s2pc.opf.sqoprf.SqOprfKey;
 import edu.alibaba.mpc4j.s2pc.opf.sqoprf.ra17.Ra17EccSqOprfPtoDesc.PtoStep;
+import org.bouncycastle.math.ec.ECPoint;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * RA17 ECC single-query OPRF sender.
@@ -89,15 +89,11 @@ public class Ra17EccSqOprfSender extends AbstractSqOprfSender {
 
     private List<byte[]> handleBlindPayload(List<byte[]> blindPayload) throws MpcAbortException {
         MpcAbortPreconditions.checkArgument(blindPayload.size() == batchSize);
-        Stream<byte[]> blindStream = blindPayload.stream();
-        blindStream = parallel ? blindStream.parallel() : blindStream;
-        return blindStream
-            // decode H(m_c)^β
-            .map(ecc::decode)
-            // compute H(m_c)^βα
-            .map(element -> ecc.multiply(element, ra17EccSqOprfKey.getAlpha()))
-            // encode
-            .map(element -> ecc.encode(element, compressEncode))
-            .collect(Collectors.toList());
+        // decode H(m_c)^β
+        ECPoint[] blinds = ecc.decode(blindPayload.toArray(new byte[0][]), parallel);
+        // compute H(m_c)^βα
+        ECPoint[] blindPrfs = ecc.multiply(blinds, ra17EccSqOprfKey.getAlpha(), parallel);
+        // encode
+        return Arrays.asList(ecc.encode(blindPrfs, compressEncode, parallel));
     }
 }
@@ -0,0 +1,62 @@
+package edu.alibaba.mpc4j.s2pc.pcg;
+
+import edu.alibaba.mpc4j.common.rpc.desc.PtoDesc;
+import edu.alibaba.mpc4j.common.rpc.desc.PtoDescManager;
+
+/**
+ * PCG buffer refill protocol description. The refill control messages use this protocol ID with the encode task ID of
+ * the protocol that owns the buffer, so that they never collide with messages of the owner or its sub-protocols.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/22
+ */
+class PcgBufferRefillPtoDesc implements PtoDesc {
+    /**
+     * protocol ID
+     */
+    private static final int PTO_ID = Math.abs((int) 3216657468128519623L);
+    /**
+     * protocol name
+     */
+    private static final String PTO_NAME = "PCG_BUFFER_REFILL";
+
+    /**
+     * protocol step
+     */
+    enum PtoStep {
+        /**
+         * the leader sends the refill control
+         */
+        LEADER_SEND_REFILL_CONTROL,
+    }
+
+    /**
+     * singleton mode
+     */
+    private static final PcgBufferRefillPtoDesc INSTANCE = new PcgBufferRefillPtoDesc();
+
+    /**
+     * private constructor.
+     */
+    private PcgBufferRefillPtoDesc() {
+        // empty
+    }
+
+    public static PtoDesc getInstance() {
+        return INSTANCE;
+    }
+
+    static {
+        PtoDescManager.registerPtoDesc(getInstance());
+    }
+
+    @Override
+    public int getPtoId() {
+        return PTO_ID;
+    }
+
+    @Override
+    public String getPtoName() {
+        return PTO_NAME;
+    }
+}
@@ -0,0 +1,561 @@
+package edu.alibaba.mpc4j.s2pc.pcg;
+
+import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
+import edu.alibaba.mpc4j.common.rpc.MpcAbortPreconditions;
+import edu.alibaba.mpc4j.common.rpc.Party;
+import edu.alibaba.mpc4j.common.rpc.Rpc;
+import edu.alibaba.mpc4j.common.rpc.metrics.PtoMetricsRegistry;
+import edu.alibaba.mpc4j.common.rpc.pto.TwoPartyPto;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacket;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
+import edu.alibaba.mpc4j.s2pc.pcg.PcgBufferRefillPtoDesc.PtoStep;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * PCG buffer refiller. A worker thread keeps the buffer of a two-party PCG between the low watermark and the high
+ * watermark, so that rounds of the underlying generator run during idle time instead of on the online critical path.
+ * <p>
+ * Rounds of the generator are interactive, so both parties must run the same number of rounds in the same order. The
+ * leader (the sender) decides when to run a round, and sends a refill control message to the follower (the receiver)
+ * before each round. The follower runs a round once it receives the control. Control messages are sent under
+ * {@link PcgBufferRefillPtoDesc} with the encode task ID of the owner protocol. Since both parties split the same
+ * numbers in the same order, the follower's buffer always catches up with the leader's buffer.
+ * </p>
+ * <p>
+ * The generator runs in the worker thread concurrently with other sub-protocols of the owner in the caller thread, so
+ * the RPC must support concurrent receiving with different headers, and the generator must not be used by others.
+ * </p>
+ *
+ * @author Weiran Liu
+ * @date 2023/7/22
+ */
+public class PcgBufferRefiller<T extends MergedPcgPartyOutput> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PcgBufferRefiller.class);
+    /**
+     * thread MX bean for the CPU time of the worker thread
+     */
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+    /**
+     * step name in the protocol metrics
+     */
+    private static final String REFILL_STEP_NAME = "refill";
+    /**
+     * control: run a refill round
+     */
+    private static final byte REFILL_CONTROL = 1;
+    /**
+     * control: stop
+     */
+    private static final byte STOP_CONTROL = 0;
+    /**
+     * control: the leader failed
+     */
+    private static final byte FAIL_CONTROL = 2;
+
+    /**
+     * round generator, generating the output of one round of the underlying PCG.
+     */
+    @FunctionalInterface
+    public interface RoundGenerator<T> {
+        /**
+         * Generates the output of one round.
+         *
+         * @return the output of one round.
+         * @throws MpcAbortException the protocol failure aborts.
+         */
+        T generate() throws MpcAbortException;
+    }
+
+    /**
+     * owner protocol
+     */
+    private final TwoPartyPto ownerPto;
+    /**
+     * other party
+     */
+    private final Party otherParty;
+    /**
+     * whether the party is the leader
+     */
+    private final boolean leader;
+    /**
+     * low watermark
+     */
+    private final int lowWatermark;
+    /**
+     * high watermark
+     */
+    private final int highWatermark;
+    /**
+     * round generator
+     */
+    private final RoundGenerator<T> roundGenerator;
+    /**
+     * the lock guarding the buffer and metrics
+     */
+    private final ReentrantLock lock;
+    /**
+     * the condition that the buffer or the state changes
+     */
+    private final Condition changeCondition;
+    /**
+     * buffer
+     */
+    private final T buffer;
+    /**
+     * the num requested by the pending split, 0 if there is no pending split
+     */
+    private int demandNum;
+    /**
+     * running or not
+     */
+    private boolean running;
+    /**
+     * whether the worker thread is alive
+     */
+    private boolean workerAlive;
+    /**
+     * the failure of the worker
+     */
+    private Throwable failure;
+    /**
+     * worker thread
+     */
+    private Thread workerThread;
+    /**
+     * index of the next control message
+     */
+    private long controlIndex;
+    /**
+     * number of refill rounds
+     */
+    private long refillRoundNum;
+    /**
+     * total refill time in milliseconds
+     */
+    private long totalRefillTime;
+    /**
+     * max refill time in milliseconds
+     */
+    private long maxRefillTime;
+    /**
+     * number of splits
+     */
+    private long splitNum;
+    /**
+     * number of splits that wait for refilling
+     */
+    private long waitSplitNum;
+    /**
+     * total time waiting for refilling in milliseconds
+     */
+    private long totalWaitTime;
+    /**
+     * the min buffer num seen by splits
+     */
+    private int minBufferNum;
+
+    /**
+     * Creates a PCG buffer refiller.
+     *
+     * @param ownerPto       the owner protocol.
+     * @param leader         whether the party is the leader.
+     * @param lowWatermark   low watermark. The leader starts refilling once the buffer num is less than it.
+     * @param highWatermark  high watermark. The leader stops refilling once the buffer num reaches it.
+     * @param roundGenerator round generator.
+     * @param emptyBuffer    an empty buffer.
+     */
+    public PcgBufferRefiller(TwoPartyPto ownerPto, boolean leader, int lowWatermark, int highWatermark,
+                             RoundGenerator<T> roundGenerator, T emptyBuffer) {
+        MathPreconditions.checkNonNegative("lowWatermark", lowWatermark);
+        MathPreconditions.checkPositive("highWatermark", highWatermark);
+        MathPreconditions.checkGreaterOrEqual("highWatermark", highWatermark, lowWatermark);
+        MathPreconditions.checkEqual("buffer num", "0", emptyBuffer.getNum(), 0);
+        this.ownerPto = ownerPto;
+        otherParty = ownerPto.otherParty();
+        this.leader = leader;
+        this.lowWatermark = lowWatermark;
+        this.highWatermark = highWatermark;
+        this.roundGenerator = roundGenerator;
+        buffer = emptyBuffer;
+        lock = new ReentrantLock();
+        changeCondition = lock.newCondition();
+        minBufferNum = Integer.MAX_VALUE;
+    }
+
+    /**
+     * Starts the worker thread.
+     */
+    public void start() {
+        lock.lock();
+        try {
+            assert workerThread == null : "refiller has been started";
+            running = true;
+            workerAlive = true;
+            workerThread = new Thread(leader ? this::runLeader : this::runFollower,
+                ownerPto.getPtoName() + "-" + ownerPto.ownParty().getPartyName() + "-refiller"
+            );
+            workerThread.setDaemon(true);
+            workerThread.start();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops the worker thread. The leader finishes the running round and then notifies the follower to stop. The
+     * follower waits until the leader notifies it to stop or that the leader failed.
+     */
+    public void stop() {
+        lock.lock();
+        try {
+            running = false;
+            changeCondition.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        if (workerThread != null) {
+            try {
+                workerThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            workerThread = null;
+        }
+    }
+
+    /**
+     * Splits the output with the split num from the buffer, waiting for refilling if the buffer does not have enough
+     * outputs.
+     *
+     * @param num the split num.
+     * @return the output.
+     * @throws MpcAbortException the protocol failure aborts.
+     */
+    @SuppressWarnings("unchecked")
+    public T split(int num) throws MpcAbortException {
+        MathPreconditions.checkPositive("num", num);
+        lock.lock();
+        try {
+            long startTime = System.nanoTime();
+            boolean wait = false;
+            minBufferNum = Math.min(minBufferNum, buffer.getNum());
+            demandNum = num;
+            changeCondition.signalAll();
+            while (buffer.getNum() < num) {
+                checkFailure();
+                if (!workerAlive) {
+                    throw new IllegalStateException("refiller is not running");
+                }
+                wait = true;
+                changeCondition.awaitUninterruptibly();
+            }
+            demandNum = 0;
+            splitNum++;
+            if (wait) {
+                waitSplitNum++;
+                totalWaitTime += TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+            }
+            T output = (T) buffer.split(num);
+            // the buffer may go below the low watermark
+            changeCondition.signalAll();
+            return output;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void checkFailure() throws MpcAbortException {
+        if (failure != null) {
+            if (failure instanceof MpcAbortException) {
+                throw (MpcAbortException) failure;
+            }
+            throw new IllegalStateException("refiller failed", failure);
+        }
+    }
+
+    private void runLeader() {
+        try {
+            while (awaitRefill()) {
+                do {
+                    sendControl(REFILL_CONTROL);
+                    runRound();
+                } while (needRefill());
+            }
+            sendControl(STOP_CONTROL);
+        } catch (MpcAbortException | RuntimeException e) {
+            fail(e);
+            // the follower is waiting for a control, notify it so that it does not block forever
+            sendFailControl();
+        } finally {
+            exit();
+        }
+    }
+
+    private boolean awaitRefill() {
+        lock.lock();
+        try {
+            while (running && !needRefillUnderLock(lowWatermark)) {
+                changeCondition.awaitUninterruptibly();
+            }
+            return running;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean needRefill() {
+        lock.lock();
+        try {
+            return running && needRefillUnderLock(highWatermark);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean needRefillUnderLock(int watermark) {
+        return buffer.getNum() < watermark || buffer.getNum() < demandNum;
+    }
+
+    private void runFollower() {
+        try {
+            byte control;
+            while ((control = receiveControl()) == REFILL_CONTROL) {
+                runRound();
+            }
+            MpcAbortPreconditions.checkArgument(control == STOP_CONTROL, "leader refiller failed");
+        } catch (MpcAbortException | RuntimeException e) {
+            fail(e);
+        } finally {
+            exit();
+        }
+    }
+
+    private void runRound() throws MpcAbortException {
+        long startCpuTime = getCurrentThreadCpuTime();
+        long startTime = System.nanoTime();
+        T output = roundGenerator.generate();
+        long refillTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        long refillCpuTime = Math.max(getCurrentThreadCpuTime() - startCpuTime, 0);
+        int bufferNum;
+        lock.lock();
+        try {
+            buffer.merge(output);
+            bufferNum = buffer.getNum();
+            refillRoundNum++;
+            totalRefillTime += refillTime;
+            maxRefillTime = Math.max(maxRefillTime, refillTime);
+            changeCondition.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        PtoMetricsRegistry ptoMetricsRegistry = ownerPto.getRpc().getPtoMetricsRegistry();
+        if (ptoMetricsRegistry != null) {
+            ptoMetricsRegistry.recordStep(
+                ownerPto.getEncodeTaskId(), ownerPto.getPtoDesc().getPtoId(), REFILL_STEP_NAME, refillTime, refillCpuTime
+            );
+        }
+        LOGGER.debug("{} {} refill round ({}ms), buffer num = {}",
+            ownerPto.getPtoName(), ownerPto.ownParty().getPartyName(), refillTime, bufferNum
+        );
+    }
+
+    private void exit() {
+        lock.lock();
+        try {
+            workerAlive = false;
+            changeCondition.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void fail(Throwable e) {
+        LOGGER.error("{} {} refiller failed", ownerPto.getPtoName(), ownerPto.ownParty().getPartyName(), e);
+        lock.lock();
+        try {
+            failure = e;
+            running = false;
+            changeCondition.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void sendControl(byte control) {
+        Rpc rpc = ownerPto.getRpc();
+        DataPacketHeader controlHeader = new DataPacketHeader(
+            ownerPto.getEncodeTaskId(), PcgBufferRefillPtoDesc.getInstance().getPtoId(),
+            PtoStep.LEADER_SEND_REFILL_CONTROL.ordinal(), controlIndex++,
+            rpc.ownParty().getPartyId(), otherParty.getPartyId()
+        );
+        List<byte[]> controlPayload = Collections.singletonList(new byte[]{control});
+        rpc.send(DataPacket.fromByteArrayList(controlHeader, controlPayload));
+    }
+
+    private void sendFailControl() {
+        try {
+            sendControl(FAIL_CONTROL);
+        } catch (RuntimeException e) {
+            LOGGER.error("{} {} refiller failed to notify the failure",
+                ownerPto.getPtoName(), ownerPto.ownParty().getPartyName(), e
+            );
+        }
+    }
+
+    private byte receiveControl() throws MpcAbortException {
+        Rpc rpc = ownerPto.getRpc();
+        DataPacketHeader controlHeader = new DataPacketHeader(
+            ownerPto.getEncodeTaskId(), PcgBufferRefillPtoDesc.getInstance().getPtoId(),
+            PtoStep.LEADER_SEND_REFILL_CONTROL.ordinal(), controlIndex++,
+            otherParty.getPartyId(), rpc.ownParty().getPartyId()
+        );
+        List<byte[]> controlPayload = rpc.receive(controlHeader).getPayload();
+        MpcAbortPreconditions.checkArgument(controlPayload.size() == 1 && controlPayload.get(0).length == 1);
+        return controlPayload.get(0)[0];
+    }
+
+    private static long getCurrentThreadCpuTime() {
+        return THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported() ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : 0L;
+    }
+
+    /**
+     * Gets the low watermark.
+     *
+     * @return the low watermark.
+     */
+    public int getLowWatermark() {
+        return lowWatermark;
+    }
+
+    /**
+     * Gets the high watermark.
+     *
+     * @return the high watermark.
+     */
+    public int getHighWatermark() {
+        return highWatermark;
+    }
+
+    /**
+     * Gets the current buffer num.
+     *
+     * @return the current buffer num.
+     */
+    public int getBufferNum() {
+        lock.lock();
+        try {
+            return buffer.getNum();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the min buffer num seen by splits, i.e., the lowest buffer level before a split.
+     *
+     * @return the min buffer num seen by splits, or 0 if there is no split.
+     */
+    public int getMinBufferNum() {
+        lock.lock();
+        try {
+            return minBufferNum == Integer.MAX_VALUE ? 0 : minBufferNum;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of refill rounds.
+     *
+     * @return the number of refill rounds.
+     */
+    public long getRefillRoundNum() {
+        lock.lock();
+        try {
+            return refillRoundNum;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the total refill time in milliseconds.
+     *
+     * @return the total refill time in milliseconds.
+     */
+    public long getTotalRefillTime() {
+        lock.lock();
+        try {
+            return totalRefillTime;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the max refill time of a round in milliseconds.
+     *
+     * @return the max refill time of a round in milliseconds.
+     */
+    public long getMaxRefillTime() {
+        lock.lock();
+        try {
+            return maxRefillTime;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of splits.
+     *
+     * @return the number of splits.
+     */
+    public long getSplitNum() {
+        lock.lock();
+        try {
+            return splitNum;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of splits that wait for refilling, i.e., splits that hit an under-filled buffer.
+     *
+     * @return the number of splits that wait for refilling.
+     */
+    public long getWaitSplitNum() {
+        lock.lock();
+        try {
+            return waitSplitNum;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the total time that splits wait for refilling in milliseconds.
+     *
+     * @return the total time that splits wait for refilling in milliseconds.
+     */
+    public long getTotalWaitTime() {
+        lock.lock();
+        try {
+            return totalWaitTime;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
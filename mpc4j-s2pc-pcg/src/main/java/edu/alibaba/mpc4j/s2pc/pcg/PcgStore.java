@@ -0,0 +1,467 @@
+package edu.alibaba.mpc4j.s2pc.pcg;
+
+import edu.alibaba.mpc4j.common.tool.CommonConstants;
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
+import edu.alibaba.mpc4j.common.tool.crypto.hash.Hash;
+import edu.alibaba.mpc4j.common.tool.crypto.hash.HashFactory;
+import edu.alibaba.mpc4j.common.tool.utils.LongUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * PCG store, keeping PCG outputs in memory-mapped, append-only segment files so that correlations generated by one
+ * process can be consumed in order by later processes.
+ * <p>
+ * Each appended output is written as a segment file with the format (int) magic || (int) version || (long) fingerprint
+ * || (int) num || (int) meta length || meta || (int) encoded length || encoded output. As MmapFileRpc, a segment is
+ * first written to a temporary file and then atomically renamed, so that a segment file is always complete. The
+ * consumption cursor (int) segment index || (int) offset || (long) consumed num is kept in a memory-mapped cursor file,
+ * and is persisted before consumed outputs are returned, so that no correlation is returned twice across restarts.
+ * Fully consumed segments are deleted.
+ * </p>
+ * <p>
+ * The store contains secret correlations (e.g., Δ of COT senders) in plaintext. The directory must be protected as the
+ * key materials of the party.
+ * </p>
+ *
+ * @author Weiran Liu
+ * @date 2023/7/22
+ */
+public class PcgStore<T extends MergedPcgPartyOutput> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PcgStore.class);
+    /**
+     * magic number, "PCGS"
+     */
+    private static final int MAGIC = 0x50434753;
+    /**
+     * format version
+     */
+    private static final int VERSION = 1;
+    /**
+     * segment file name prefix
+     */
+    private static final String SEGMENT_PREFIX = "SEGMENT_";
+    /**
+     * segment file name suffix
+     */
+    private static final String SEGMENT_SUFFIX = ".PCG";
+    /**
+     * temporary file suffix
+     */
+    private static final String WRITING_SUFFIX = ".WRITING";
+    /**
+     * cursor file name
+     */
+    private static final String CURSOR_FILE_NAME = "CURSOR";
+    /**
+     * cursor byte length: (int) segment index || (int) offset || (long) consumed num
+     */
+    private static final int CURSOR_BYTE_LENGTH = Integer.BYTES * 2 + Long.BYTES;
+    /**
+     * segment header byte length without meta
+     */
+    private static final int HEADER_BYTE_LENGTH = Integer.BYTES * 2 + Long.BYTES + Integer.BYTES * 2;
+
+    /**
+     * directory
+     */
+    private final Path directory;
+    /**
+     * protocol fingerprint
+     */
+    private final long fingerprint;
+    /**
+     * codec
+     */
+    private final PcgStoreCodec<T> codec;
+    /**
+     * meta data
+     */
+    private final byte[] meta;
+    /**
+     * memory-mapped cursor
+     */
+    private final MappedByteBuffer cursorBuffer;
+    /**
+     * segment index -> num, for all segments that are not fully consumed
+     */
+    private final TreeMap<Integer, Integer> segmentNumMap;
+    /**
+     * index of the segment containing the next correlation
+     */
+    private int readSegmentIndex;
+    /**
+     * offset of the next correlation in the segment
+     */
+    private int readOffset;
+    /**
+     * number of consumed correlations
+     */
+    private long consumedNum;
+    /**
+     * index of the next segment to load
+     */
+    private int loadSegmentIndex;
+    /**
+     * loaded but not consumed correlations
+     */
+    private T readBuffer;
+    /**
+     * index of the next appended segment
+     */
+    private int appendSegmentIndex;
+    /**
+     * number of stored correlations that are not consumed
+     */
+    private long num;
+
+    /**
+     * Computes the protocol fingerprint from the description of the protocol generating the stored correlations.
+     *
+     * @param description description.
+     * @return protocol fingerprint.
+     */
+    public static long fingerprint(String description) {
+        Hash hash = HashFactory.createInstance(HashFactory.HashType.JDK_SHA256, Long.BYTES);
+        return LongUtils.byteArrayToLong(hash.digestToBytes(description.getBytes(CommonConstants.DEFAULT_CHARSET)));
+    }
+
+    /**
+     * Reads the meta data (e.g., Δ of COT senders) of the stored correlations.
+     *
+     * @param directory directory.
+     * @return the meta data, or null if there is no stored correlation.
+     */
+    public static byte[] readMeta(String directory) {
+        Path directoryPath = Paths.get(directory);
+        if (!Files.isDirectory(directoryPath)) {
+            return null;
+        }
+        int readSegmentIndex = 0;
+        Path cursorPath = directoryPath.resolve(CURSOR_FILE_NAME);
+        if (Files.exists(cursorPath)) {
+            try {
+                readSegmentIndex = ByteBuffer.wrap(Files.readAllBytes(cursorPath)).getInt();
+            } catch (IOException e) {
+                e.printStackTrace();
+                throw new IllegalStateException("Unknown IOException for file: " + cursorPath);
+            }
+        }
+        Path segmentPath = directoryPath.resolve(getSegmentFileName(readSegmentIndex));
+        if (!Files.exists(segmentPath)) {
+            return null;
+        }
+        try (FileChannel fileChannel = FileChannel.open(segmentPath, StandardOpenOption.READ)) {
+            MappedByteBuffer mappedByteBuffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileChannel.size());
+            mappedByteBuffer.position(Integer.BYTES * 3 + Long.BYTES);
+            byte[] meta = new byte[mappedByteBuffer.getInt()];
+            mappedByteBuffer.get(meta);
+            return meta;
+        } catch (IOException e) {
+            e.printStackTrace();
+            throw new IllegalStateException("Unknown IOException for file: " + segmentPath);
+        }
+    }
+
+    /**
+     * Opens a store. The directory is created if it does not exist.
+     *
+     * @param directory   directory.
+     * @param fingerprint protocol fingerprint.
+     * @param codec       codec.
+     * @throws IllegalArgumentException if stored segments have different fingerprint or meta data.
+     * @throws IllegalStateException    if the store is corrupted.
+     */
+    public PcgStore(String directory, long fingerprint, PcgStoreCodec<T> codec) {
+        this.directory = Paths.get(directory);
+        this.fingerprint = fingerprint;
+        this.codec = codec;
+        meta = codec.getMeta();
+        try {
+            Files.createDirectories(this.directory);
+            try (FileChannel fileChannel = FileChannel.open(this.directory.resolve(CURSOR_FILE_NAME),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE
+            )) {
+                // a new cursor file is filled with zeros
+                cursorBuffer = fileChannel.map(FileChannel.MapMode.READ_WRITE, 0, CURSOR_BYTE_LENGTH);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            throw new IllegalStateException("Cannot open store directory: " + directory);
+        }
+        readSegmentIndex = cursorBuffer.getInt(0);
+        readOffset = cursorBuffer.getInt(Integer.BYTES);
+        consumedNum = cursorBuffer.getLong(Integer.BYTES * 2);
+        segmentNumMap = new TreeMap<>();
+        List<Path> paths;
+        try (Stream<Path> pathStream = Files.list(this.directory)) {
+            paths = new ArrayList<>();
+            pathStream.forEach(paths::add);
+        } catch (IOException e) {
+            e.printStackTrace();
+            throw new IllegalStateException("Cannot list store directory: " + directory);
+        }
+        for (Path path : paths) {
+            String fileName = path.getFileName().toString();
+            if (fileName.endsWith(WRITING_SUFFIX)) {
+                // the process exited when writing the segment
+                deleteFile(path);
+            } else if (fileName.startsWith(SEGMENT_PREFIX) && fileName.endsWith(SEGMENT_SUFFIX)) {
+                int segmentIndex = Integer.parseInt(
+                    fileName.substring(SEGMENT_PREFIX.length(), fileName.length() - SEGMENT_SUFFIX.length())
+                );
+                if (segmentIndex < readSegmentIndex) {
+                    // the process exited before deleting the consumed segment
+                    deleteFile(path);
+                } else {
+                    segmentNumMap.put(segmentIndex, readSegmentNum(path));
+                }
+            }
+        }
+        if (segmentNumMap.isEmpty()) {
+            if (readOffset != 0) {
+                throw new IllegalStateException("Missing segment " + readSegmentIndex + " in " + directory);
+            }
+            appendSegmentIndex = readSegmentIndex;
+        } else {
+            if (segmentNumMap.firstKey() != readSegmentIndex
+                || segmentNumMap.lastKey() - segmentNumMap.firstKey() + 1 != segmentNumMap.size()) {
+                throw new IllegalStateException("Missing segments in " + directory + ": " + segmentNumMap.keySet());
+            }
+            if (readOffset > segmentNumMap.firstEntry().getValue()) {
+                throw new IllegalStateException("Invalid cursor offset in " + directory + ": " + readOffset);
+            }
+            appendSegmentIndex = segmentNumMap.lastKey() + 1;
+        }
+        num = segmentNumMap.values().stream().mapToLong(segmentNum -> segmentNum).sum() - readOffset;
+        loadSegmentIndex = readSegmentIndex;
+        readBuffer = codec.createEmpty();
+        LOGGER.debug("Open store {}: {} stored, {} consumed", directory, num, consumedNum);
+    }
+
+    /**
+     * Gets the number of stored correlations that are not consumed.
+     *
+     * @return the number of stored correlations that are not consumed.
+     */
+    public long getNum() {
+        return num;
+    }
+
+    /**
+     * Gets the number of consumed correlations.
+     *
+     * @return the number of consumed correlations.
+     */
+    public long getConsumedNum() {
+        return consumedNum;
+    }
+
+    /**
+     * Appends the output as a new segment.
+     *
+     * @param output the output.
+     */
+    public void append(T output) {
+        int outputNum = output.getNum();
+        MathPreconditions.checkPositive("num", outputNum);
+        writeSegment(appendSegmentIndex, outputNum, codec.encode(output));
+        segmentNumMap.put(appendSegmentIndex, outputNum);
+        appendSegmentIndex++;
+        num += outputNum;
+    }
+
+    /**
+     * Takes the next correlations. The cursor is persisted before returning the correlations.
+     *
+     * @param num the number of correlations.
+     * @return the correlations.
+     */
+    @SuppressWarnings("unchecked")
+    public T take(int num) {
+        MathPreconditions.checkPositiveInRangeClosed("num", (long) num, this.num);
+        while (readBuffer.getNum() < num) {
+            loadSegment();
+        }
+        T output = (T) readBuffer.split(num);
+        readOffset += num;
+        consumedNum += num;
+        this.num -= num;
+        List<Integer> consumedSegmentIndexes = new LinkedList<>();
+        while (!segmentNumMap.isEmpty() && readOffset > 0 && segmentNumMap.firstEntry().getValue() <= readOffset) {
+            readOffset -= segmentNumMap.pollFirstEntry().getValue();
+            consumedSegmentIndexes.add(readSegmentIndex);
+            readSegmentIndex++;
+        }
+        writeCursor();
+        for (int consumedSegmentIndex : consumedSegmentIndexes) {
+            deleteFile(getSegmentPath(consumedSegmentIndex));
+        }
+        return output;
+    }
+
+    /**
+     * Skips the next correlations. Skipped correlations are treated as consumed.
+     *
+     * @param num the number of correlations to skip.
+     */
+    public void skip(long num) {
+        MathPreconditions.checkNonNegativeInRangeClosed("num", num, this.num);
+        while (num > 0) {
+            int skipNum = (int) Math.min(num, Integer.MAX_VALUE);
+            take(skipNum);
+            num -= skipNum;
+        }
+    }
+
+    /**
+     * Keeps the first given number of stored correlations that are not consumed, and removes the others.
+     *
+     * @param num the number of stored correlations to keep.
+     */
+    public void truncate(long num) {
+        MathPreconditions.checkNonNegativeInRangeClosed("num", num, this.num);
+        if (num == this.num) {
+            return;
+        }
+        // the position is counted from the beginning of the first segment
+        long position = num + readOffset;
+        for (int segmentIndex : new ArrayList<>(segmentNumMap.keySet())) {
+            int segmentNum = segmentNumMap.get(segmentIndex);
+            if (position >= segmentNum) {
+                position -= segmentNum;
+            } else if (position > 0) {
+                T segment = readSegment(segmentIndex, segmentNum);
+                segment.reduce((int) position);
+                writeSegment(segmentIndex, (int) position, codec.encode(segment));
+                segmentNumMap.put(segmentIndex, (int) position);
+                position = 0;
+            } else {
+                deleteFile(getSegmentPath(segmentIndex));
+                segmentNumMap.remove(segmentIndex);
+            }
+        }
+        appendSegmentIndex = segmentNumMap.isEmpty() ? readSegmentIndex : segmentNumMap.lastKey() + 1;
+        this.num = num;
+        // reload from the cursor
+        loadSegmentIndex = readSegmentIndex;
+        readBuffer = codec.createEmpty();
+    }
+
+    private void loadSegment() {
+        T segment = readSegment(loadSegmentIndex, segmentNumMap.get(loadSegmentIndex));
+        if (loadSegmentIndex == readSegmentIndex && readOffset > 0) {
+            // drop correlations consumed before the restart
+            segment.split(readOffset);
+        }
+        if (segment.getNum() > 0) {
+            readBuffer.merge(segment);
+        }
+        loadSegmentIndex++;
+    }
+
+    private void writeCursor() {
+        cursorBuffer.putInt(0, readSegmentIndex);
+        cursorBuffer.putInt(Integer.BYTES, readOffset);
+        cursorBuffer.putLong(Integer.BYTES * 2, consumedNum);
+        cursorBuffer.force();
+    }
+
+    private void writeSegment(int segmentIndex, int segmentNum, byte[] encoded) {
+        Path segmentPath = getSegmentPath(segmentIndex);
+        Path writingPath = directory.resolve(getSegmentFileName(segmentIndex) + WRITING_SUFFIX);
+        long byteLength = HEADER_BYTE_LENGTH + meta.length + Integer.BYTES + encoded.length;
+        try {
+            try (FileChannel fileChannel = FileChannel.open(writingPath,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE
+            )) {
+                MappedByteBuffer mappedByteBuffer = fileChannel.map(FileChannel.MapMode.READ_WRITE, 0, byteLength);
+                mappedByteBuffer.putInt(MAGIC);
+                mappedByteBuffer.putInt(VERSION);
+                mappedByteBuffer.putLong(fingerprint);
+                mappedByteBuffer.putInt(segmentNum);
+                mappedByteBuffer.putInt(meta.length);
+                mappedByteBuffer.put(meta);
+                mappedByteBuffer.putInt(encoded.length);
+                mappedByteBuffer.put(encoded);
+                mappedByteBuffer.force();
+            }
+            // after the atomic renaming, the segment is visible
+            Files.move(writingPath, segmentPath, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            e.printStackTrace();
+            throw new IllegalStateException("Unknown IOException for file: " + segmentPath);
+        }
+    }
+
+    private int readSegmentNum(Path segmentPath) {
+        try (FileChannel fileChannel = FileChannel.open(segmentPath, StandardOpenOption.READ)) {
+            MappedByteBuffer mappedByteBuffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileChannel.size());
+            return readHeader(segmentPath, mappedByteBuffer);
+        } catch (IOException e) {
+            e.printStackTrace();
+            throw new IllegalStateException("Unknown IOException for file: " + segmentPath);
+        }
+    }
+
+    private T readSegment(int segmentIndex, int segmentNum) {
+        Path segmentPath = getSegmentPath(segmentIndex);
+        try (FileChannel fileChannel = FileChannel.open(segmentPath, StandardOpenOption.READ)) {
+            MappedByteBuffer mappedByteBuffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileChannel.size());
+            int headerNum = readHeader(segmentPath, mappedByteBuffer);
+            if (headerNum != segmentNum) {
+                throw new IllegalStateException("Segment " + segmentPath + " is changed");
+            }
+            // copy the encoded segment out of the mapped region, since the codec decodes from a byte array
+            byte[] encoded = new byte[mappedByteBuffer.getInt()];
+            mappedByteBuffer.get(encoded);
+            return codec.decode(segmentNum, encoded);
+        } catch (IOException e) {
+            e.printStackTrace();
+            throw new IllegalStateException("Unknown IOException for file: " + segmentPath);
+        }
+    }
+
+    private int readHeader(Path segmentPath, MappedByteBuffer mappedByteBuffer) {
+        if (mappedByteBuffer.remaining() < HEADER_BYTE_LENGTH
+            || mappedByteBuffer.getInt() != MAGIC || mappedByteBuffer.getInt() != VERSION) {
+            throw new IllegalStateException(segmentPath + " is not a valid segment");
+        }
+        if (mappedByteBuffer.getLong() != fingerprint) {
+            throw new IllegalArgumentException(segmentPath + " is generated by another protocol");
+        }
+        int segmentNum = mappedByteBuffer.getInt();
+        byte[] segmentMeta = new byte[mappedByteBuffer.getInt()];
+        mappedByteBuffer.get(segmentMeta);
+        if (!Arrays.equals(meta, segmentMeta)) {
+            throw new IllegalArgumentException(segmentPath + " has different meta data");
+        }
+        return segmentNum;
+    }
+
+    private Path getSegmentPath(int segmentIndex) {
+        return directory.resolve(getSegmentFileName(segmentIndex));
+    }
+
+    private static String getSegmentFileName(int segmentIndex) {
+        return String.format("%s%010d%s", SEGMENT_PREFIX, segmentIndex, SEGMENT_SUFFIX);
+    }
+
+    private static void deleteFile(Path path) {
+        // some platforms cannot delete the file before the mapping is released, delete it when exiting
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            path.toFile().deleteOnExit();
+        }
+    }
+}
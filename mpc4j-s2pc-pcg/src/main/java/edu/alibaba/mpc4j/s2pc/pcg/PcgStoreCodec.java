@@ -0,0 +1,41 @@
+package edu.alibaba.mpc4j.s2pc.pcg;
+
+/**
+ * PCG store codec, encoding and decoding PCG outputs stored in {@link PcgStore}.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/22
+ */
+public interface PcgStoreCodec<T extends MergedPcgPartyOutput> {
+    /**
+     * Gets the meta data shared by all stored outputs, e.g., Δ of COT sender outputs. All segments in a store must have
+     * the same meta data.
+     *
+     * @return the meta data, can be empty.
+     */
+    byte[] getMeta();
+
+    /**
+     * Encodes the output.
+     *
+     * @param output the output.
+     * @return the encoded output.
+     */
+    byte[] encode(T output);
+
+    /**
+     * Decodes the output.
+     *
+     * @param num     the number of correlations in the output.
+     * @param encoded the encoded output.
+     * @return the output.
+     */
+    T decode(int num, byte[] encoded);
+
+    /**
+     * Creates an empty output.
+     *
+     * @return an empty output.
+     */
+    T createEmpty();
+}
@@ -0,0 +1,176 @@
+package edu.alibaba.mpc4j.s2pc.pcg;
+
+import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
+import edu.alibaba.mpc4j.common.rpc.MpcAbortPreconditions;
+import edu.alibaba.mpc4j.common.rpc.Party;
+import edu.alibaba.mpc4j.common.rpc.Rpc;
+import edu.alibaba.mpc4j.common.rpc.pto.TwoPartyPto;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacket;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
+import edu.alibaba.mpc4j.common.tool.utils.LongUtils;
+import edu.alibaba.mpc4j.s2pc.pcg.PcgStorePtoDesc.PtoStep;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * PCG store manager. The manager keeps the stores of the two parties aligned, and appends rounds of the underlying
+ * PCG to the store, either in advance by {@link #precompute(int)}, or on demand when the store does not have enough
+ * outputs.
+ * <p>
+ * A party may exit after consuming outputs but before the other party consumes them, or after appending a round but
+ * before the other party appends it. When opening the stores, both parties exchange their consumed num and stored num,
+ * skip to the larger consumed num and truncate to the smaller stored num. State messages are sent under
+ * {@link PcgStorePtoDesc} with the encode task ID of the owner protocol.
+ * </p>
+ *
+ * @author Weiran Liu
+ * @date 2023/7/22
+ */
+public class PcgStoreManager<T extends MergedPcgPartyOutput> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PcgStoreManager.class);
+
+    /**
+     * round generator, generating the output of one round of the underlying PCG.
+     */
+    @FunctionalInterface
+    public interface RoundGenerator<T> {
+        /**
+         * Generates the output of one round.
+         *
+         * @return the output of one round.
+         * @throws MpcAbortException the protocol failure aborts.
+         */
+        T generate() throws MpcAbortException;
+    }
+
+    /**
+     * owner protocol
+     */
+    private final TwoPartyPto ownerPto;
+    /**
+     * whether the party is the sender
+     */
+    private final boolean sender;
+    /**
+     * store
+     */
+    private final PcgStore<T> store;
+    /**
+     * num per round
+     */
+    private final int roundNum;
+    /**
+     * round generator
+     */
+    private final RoundGenerator<T> roundGenerator;
+
+    /**
+     * Creates a PCG store manager. The underlying PCG must be initialized before generating outputs.
+     *
+     * @param ownerPto       the owner protocol.
+     * @param sender         whether the party is the sender.
+     * @param store          the store.
+     * @param roundNum       num per round.
+     * @param roundGenerator round generator.
+     */
+    public PcgStoreManager(TwoPartyPto ownerPto, boolean sender, PcgStore<T> store, int roundNum,
+                           RoundGenerator<T> roundGenerator) {
+        MathPreconditions.checkPositive("roundNum", roundNum);
+        this.ownerPto = ownerPto;
+        this.sender = sender;
+        this.store = store;
+        this.roundNum = roundNum;
+        this.roundGenerator = roundGenerator;
+    }
+
+    /**
+     * Aligns the store with the store of the other party.
+     *
+     * @throws MpcAbortException the protocol failure aborts.
+     */
+    public void synchronize() throws MpcAbortException {
+        Rpc rpc = ownerPto.getRpc();
+        Party otherParty = ownerPto.otherParty();
+        PtoStep ownStep = sender ? PtoStep.SENDER_SEND_STORE_STATE : PtoStep.RECEIVER_SEND_STORE_STATE;
+        PtoStep otherStep = sender ? PtoStep.RECEIVER_SEND_STORE_STATE : PtoStep.SENDER_SEND_STORE_STATE;
+        List<byte[]> ownStatePayload = new LinkedList<>();
+        ownStatePayload.add(LongUtils.longToByteArray(store.getConsumedNum()));
+        ownStatePayload.add(LongUtils.longToByteArray(store.getNum()));
+        DataPacketHeader ownStateHeader = new DataPacketHeader(
+            ownerPto.getEncodeTaskId(), PcgStorePtoDesc.getInstance().getPtoId(), ownStep.ordinal(),
+            rpc.ownParty().getPartyId(), otherParty.getPartyId()
+        );
+        rpc.send(DataPacket.fromByteArrayList(ownStateHeader, ownStatePayload));
+
+        DataPacketHeader otherStateHeader = new DataPacketHeader(
+            ownerPto.getEncodeTaskId(), PcgStorePtoDesc.getInstance().getPtoId(), otherStep.ordinal(),
+            otherParty.getPartyId(), rpc.ownParty().getPartyId()
+        );
+        List<byte[]> otherStatePayload = rpc.receive(otherStateHeader).getPayload();
+        MpcAbortPreconditions.checkArgument(otherStatePayload.size() == 2);
+        long otherConsumedNum = LongUtils.byteArrayToLong(otherStatePayload.remove(0));
+        long otherStoredNum = LongUtils.byteArrayToLong(otherStatePayload.remove(0));
+        // a party consumes less if it exits before consuming, skip so that both parties start from the same offset
+        long skipNum = otherConsumedNum - store.getConsumedNum();
+        MpcAbortPreconditions.checkArgument(skipNum <= store.getNum());
+        MpcAbortPreconditions.checkArgument(-skipNum <= otherStoredNum);
+        if (skipNum > 0) {
+            store.skip(skipNum);
+        } else {
+            otherStoredNum += skipNum;
+        }
+        // a party stores more if the other party exits before appending, drop so that both parties store the same
+        store.truncate(Math.min(store.getNum(), otherStoredNum));
+    }
+
+    /**
+     * Generates at least the given number of outputs and appends them to the store. Both parties must invoke it with
+     * the same number.
+     *
+     * @param num the number of outputs.
+     * @throws MpcAbortException the protocol failure aborts.
+     */
+    public void precompute(int num) throws MpcAbortException {
+        MathPreconditions.checkPositive("num", num);
+        appendRounds((int) Math.ceil((double) num / roundNum));
+    }
+
+    /**
+     * Takes the next outputs, generating rounds if the store does not have enough outputs.
+     *
+     * @param num the number of outputs.
+     * @return the outputs.
+     * @throws MpcAbortException the protocol failure aborts.
+     */
+    public T take(int num) throws MpcAbortException {
+        if (num > store.getNum()) {
+            // both parties store the same number of outputs, so that both parties generate the same rounds
+            appendRounds((int) Math.ceil((double) (num - store.getNum()) / roundNum));
+        }
+        return store.take(num);
+    }
+
+    /**
+     * Gets the number of stored outputs that are not consumed.
+     *
+     * @return the number of stored outputs that are not consumed.
+     */
+    public long getNum() {
+        return store.getNum();
+    }
+
+    private void appendRounds(int totalRound) throws MpcAbortException {
+        for (int round = 1; round <= totalRound; round++) {
+            long startTime = System.currentTimeMillis();
+            store.append(roundGenerator.generate());
+            LOGGER.debug("{} {} append round {}/{} ({}ms), stored num = {}",
+                ownerPto.getPtoName(), ownerPto.ownParty().getPartyName(), round, totalRound,
+                System.currentTimeMillis() - startTime, store.getNum()
+            );
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package edu.alibaba.mpc4j.s2pc.pcg;
+
+import edu.alibaba.mpc4j.common.rpc.desc.PtoDesc;
+import edu.alibaba.mpc4j.common.rpc.desc.PtoDescManager;
+
+/**
+ * PCG store protocol description. The store state messages use this protocol ID with the encode task ID of the protocol
+ * that owns the store, so that they never collide with messages of the owner or its sub-protocols.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/22
+ */
+class PcgStorePtoDesc implements PtoDesc {
+    /**
+     * protocol ID
+     */
+    private static final int PTO_ID = Math.abs((int) 8421417068397114517L);
+    /**
+     * protocol name
+     */
+    private static final String PTO_NAME = "PCG_STORE";
+
+    /**
+     * protocol step
+     */
+    enum PtoStep {
+        /**
+         * the sender sends the store state
+         */
+        SENDER_SEND_STORE_STATE,
+        /**
+         * the receiver sends the store state
+         */
+        RECEIVER_SEND_STORE_STATE,
+    }
+
+    /**
+     * singleton mode
+     */
+    private static final PcgStorePtoDesc INSTANCE = new PcgStorePtoDesc();
+
+    /**
+     * private constructor.
+     */
+    private PcgStorePtoDesc() {
+        // empty
+    }
+
+    public static PtoDesc getInstance() {
+        return INSTANCE;
+    }
+
+    static {
+        PtoDescManager.registerPtoDesc(getInstance());
+    }
+
+    @Override
+    public int getPtoId() {
+        return PTO_ID;
+    }
+
+    @Override
+    public String getPtoName() {
+        return PTO_NAME;
+    }
+}
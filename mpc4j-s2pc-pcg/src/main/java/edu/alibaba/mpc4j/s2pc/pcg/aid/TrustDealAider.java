@@ -4,16 +4,14 @@ import edu.alibaba.mpc4j.common.rpc.*;
 import edu.alibaba.mpc4j.common.rpc.pto.AbstractThreePartyPto;
 import edu.alibaba.mpc4j.common.rpc.utils.DataPacket;
 import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
-import edu.alibaba.mpc4j.common.tool.bitvector.BitVector;
-import edu.alibaba.mpc4j.common.tool.bitvector.BitVectorFactory;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacketStreamUtils;
 import edu.alibaba.mpc4j.common.tool.galoisfield.zl.Zl;
 import edu.alibaba.mpc4j.common.tool.galoisfield.zl.ZlFactory;
-import edu.alibaba.mpc4j.common.tool.utils.BigIntegerUtils;
+import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
 import edu.alibaba.mpc4j.common.tool.utils.IntUtils;
 import edu.alibaba.mpc4j.crypto.matrix.vector.ZlVector;
 import edu.alibaba.mpc4j.s2pc.pcg.aid.TrustDealPtoDesc.AidPtoStep;
 
-import java.nio.ByteBuffer;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
 
@@ -141,18 +139,22 @@ public class TrustDealAider extends AbstractThreePartyPto {
             default:
                 throw new MpcAbortException("Invalid " + TrustDealType.class.getSimpleName() + ": " + trustDealType.name());
         }
-        // response to the left party
+        // response to the left party, the left party is the seed party
+        List<byte[]> leftResponsePayload = new LinkedList<>();
+        leftResponsePayload.add(new byte[]{TrustDealUtils.SEED_PARTY});
         DataPacketHeader leftResponseHeader = new DataPacketHeader(
             initEncodeTaskId, getPtoDesc().getPtoId(), AidPtoStep.INIT_RESPONSE.ordinal(), initExtraInfo,
             ownParty().getPartyId(), leftParty().getPartyId()
         );
-        rpc.send(DataPacket.fromByteArrayList(leftResponseHeader, new LinkedList<>()));
-        // response to the right party
+        rpc.send(DataPacket.fromByteArrayList(leftResponseHeader, leftResponsePayload));
+        // response to the right party, the right party is the correction party
+        List<byte[]> rightResponsePayload = new LinkedList<>();
+        rightResponsePayload.add(new byte[]{TrustDealUtils.CORRECTION_PARTY});
         DataPacketHeader rightResponseHeader = new DataPacketHeader(
             initEncodeTaskId, getPtoDesc().getPtoId(), AidPtoStep.INIT_RESPONSE.ordinal(), initExtraInfo,
             ownParty().getPartyId(), rightParty().getPartyId()
         );
-        rpc.send(DataPacket.fromByteArrayList(rightResponseHeader, new LinkedList<>()));
+        rpc.send(DataPacket.fromByteArrayList(rightResponseHeader, rightResponsePayload));
     }
 
     private void requestResponse(DataPacket thisRequestDataPacket) throws MpcAbortException {
@@ -194,95 +196,80 @@ public class TrustDealAider extends AbstractThreePartyPto {
     }
 
     private void z2TripleResponse(long requestEncodeTaskId, long requestExtraInfo, int num) {
-        // generate Z2 triple
-        BitVector aVector = BitVectorFactory.createRandom(num, secureRandom);
-        BitVector bVector = BitVectorFactory.createRandom(num, secureRandom);
-        BitVector cVector = aVector.and(bVector);
-        BitVector a0Vector = BitVectorFactory.createRandom(num, secureRandom);
-        BitVector a1Vector = aVector.xor(a0Vector);
-        BitVector b0Vector = BitVectorFactory.createRandom(num, secureRandom);
-        BitVector b1Vector = bVector.xor(b0Vector);
-        BitVector c0Vector = BitVectorFactory.createRandom(num, secureRandom);
-        BitVector c1Vector = cVector.xor(c0Vector);
-        // response to the left party
-        List<byte[]> leftResponsePayload = new LinkedList<>();
-        leftResponsePayload.add(a0Vector.getBytes());
-        leftResponsePayload.add(b0Vector.getBytes());
-        leftResponsePayload.add(c0Vector.getBytes());
+        // the left party is the seed party, the right party is the correction party
         DataPacketHeader leftResponseHeader = new DataPacketHeader(
             requestEncodeTaskId, getPtoDesc().getPtoId(), AidPtoStep.REQUEST_RESPONSE.ordinal(), requestExtraInfo,
             ownParty().getPartyId(), leftParty().getPartyId()
         );
-        rpc.send(DataPacket.fromByteArrayList(leftResponseHeader, leftResponsePayload));
-        // response to the right party
-        List<byte[]> rightResponsePayload = new LinkedList<>();
-        rightResponsePayload.add(a1Vector.getBytes());
-        rightResponsePayload.add(b1Vector.getBytes());
-        rightResponsePayload.add(c1Vector.getBytes());
         DataPacketHeader rightResponseHeader = new DataPacketHeader(
             requestEncodeTaskId, getPtoDesc().getPtoId(), AidPtoStep.REQUEST_RESPONSE.ordinal(), requestExtraInfo,
             ownParty().getPartyId(), rightParty().getPartyId()
         );
-        rpc.send(DataPacket.fromByteArrayList(rightResponseHeader, rightResponsePayload));
+        // generate and send Z2 triples chunk by chunk, so that full vectors are never generated
+        int[] chunkNums = TrustDealUtils.chunkNums(num);
+        for (int chunkIndex = 0; chunkIndex < chunkNums.length; chunkIndex++) {
+            int chunkNum = chunkNums[chunkIndex];
+            byte[] leftSeed = new byte[TrustDealUtils.SEED_BYTE_LENGTH];
+            secureRandom.nextBytes(leftSeed);
+            byte[] rightSeed = new byte[TrustDealUtils.SEED_BYTE_LENGTH];
+            secureRandom.nextBytes(rightSeed);
+            byte[][] leftVectors = TrustDealUtils.expandZ2(envType, leftSeed, chunkNum, 3);
+            byte[][] rightVectors = TrustDealUtils.expandZ2(envType, rightSeed, chunkNum, 2);
+            // c1 = (a0 ⊕ a1) · (b0 ⊕ b1) ⊕ c0
+            byte[] c1 = BytesUtils.xor(leftVectors[0], rightVectors[0]);
+            BytesUtils.andi(c1, BytesUtils.xor(leftVectors[1], rightVectors[1]));
+            BytesUtils.xori(c1, leftVectors[2]);
+            sendChunkResponse(leftResponseHeader, rightResponseHeader, chunkIndex, leftSeed, rightSeed, c1);
+        }
     }
 
     private void zlTripleResponse(long requestEncodeTaskId, long requestExtraInfo, int num) {
-        // generate Zl triple
         Zl zl = (Zl) encodeTaskIdParamMap.get(requestEncodeTaskId);
-        int byteL = zl.getByteL();
-        ZlVector aVector = ZlVector.createRandom(zl, num, secureRandom);
-        ZlVector bVector = ZlVector.createRandom(zl, num, secureRandom);
-        ZlVector cVector = aVector.mul(bVector);
-        ZlVector a0Vector = ZlVector.createRandom(zl, num, secureRandom);
-        ZlVector a1Vector = aVector.sub(a0Vector);
-        ZlVector b0Vector = ZlVector.createRandom(zl, num, secureRandom);
-        ZlVector b1Vector = bVector.sub(b0Vector);
-        ZlVector c0Vector = ZlVector.createRandom(zl, num, secureRandom);
-        ZlVector c1Vector = cVector.sub(c0Vector);
-        // response to the left party
-        ByteBuffer a0ByteBuffer = ByteBuffer.allocate(num * byteL);
-        for (int index = 0; index < num; index++) {
-            a0ByteBuffer.put(BigIntegerUtils.nonNegBigIntegerToByteArray(a0Vector.getElement(index), byteL));
-        }
-        ByteBuffer b0ByteBuffer = ByteBuffer.allocate(num * byteL);
-        for (int index = 0; index < num; index++) {
-            b0ByteBuffer.put(BigIntegerUtils.nonNegBigIntegerToByteArray(b0Vector.getElement(index), byteL));
-        }
-        ByteBuffer c0ByteBuffer = ByteBuffer.allocate(num * byteL);
-        for (int index = 0; index < num; index++) {
-            c0ByteBuffer.put(BigIntegerUtils.nonNegBigIntegerToByteArray(c0Vector.getElement(index), byteL));
-        }
-        List<byte[]> leftResponsePayload = new LinkedList<>();
-        leftResponsePayload.add(a0ByteBuffer.array());
-        leftResponsePayload.add(b0ByteBuffer.array());
-        leftResponsePayload.add(c0ByteBuffer.array());
+        // the left party is the seed party, the right party is the correction party
         DataPacketHeader leftResponseHeader = new DataPacketHeader(
             requestEncodeTaskId, getPtoDesc().getPtoId(), AidPtoStep.REQUEST_RESPONSE.ordinal(), requestExtraInfo,
             ownParty().getPartyId(), leftParty().getPartyId()
         );
-        rpc.send(DataPacket.fromByteArrayList(leftResponseHeader, leftResponsePayload));
-        // response to the right party
-        ByteBuffer a1ByteBuffer = ByteBuffer.allocate(num * byteL);
-        for (int index = 0; index < num; index++) {
-            a1ByteBuffer.put(BigIntegerUtils.nonNegBigIntegerToByteArray(a1Vector.getElement(index), byteL));
-        }
-        ByteBuffer b1ByteBuffer = ByteBuffer.allocate(num * byteL);
-        for (int index = 0; index < num; index++) {
-            b1ByteBuffer.put(BigIntegerUtils.nonNegBigIntegerToByteArray(b1Vector.getElement(index), byteL));
-        }
-        ByteBuffer c1ByteBuffer = ByteBuffer.allocate(num * byteL);
-        for (int index = 0; index < num; index++) {
-            c1ByteBuffer.put(BigIntegerUtils.nonNegBigIntegerToByteArray(c1Vector.getElement(index), byteL));
-        }
-        List<byte[]> rightResponsePayload = new LinkedList<>();
-        rightResponsePayload.add(a1ByteBuffer.array());
-        rightResponsePayload.add(b1ByteBuffer.array());
-        rightResponsePayload.add(c1ByteBuffer.array());
         DataPacketHeader rightResponseHeader = new DataPacketHeader(
             requestEncodeTaskId, getPtoDesc().getPtoId(), AidPtoStep.REQUEST_RESPONSE.ordinal(), requestExtraInfo,
             ownParty().getPartyId(), rightParty().getPartyId()
         );
-        rpc.send(DataPacket.fromByteArrayList(rightResponseHeader, rightResponsePayload));
+        // generate and send Zl triples chunk by chunk, so that full vectors are never generated
+        int[] chunkNums = TrustDealUtils.chunkNums(num);
+        for (int chunkIndex = 0; chunkIndex < chunkNums.length; chunkIndex++) {
+            int chunkNum = chunkNums[chunkIndex];
+            byte[] leftSeed = new byte[TrustDealUtils.SEED_BYTE_LENGTH];
+            secureRandom.nextBytes(leftSeed);
+            byte[] rightSeed = new byte[TrustDealUtils.SEED_BYTE_LENGTH];
+            secureRandom.nextBytes(rightSeed);
+            ZlVector[] leftVectors = TrustDealUtils.expandZl(envType, zl, leftSeed, chunkNum, 3);
+            ZlVector[] rightVectors = TrustDealUtils.expandZl(envType, zl, rightSeed, chunkNum, 2);
+            // c1 = (a0 + a1) · (b0 + b1) - c0
+            ZlVector c1Vector = leftVectors[0];
+            c1Vector.addi(rightVectors[0]);
+            leftVectors[1].addi(rightVectors[1]);
+            c1Vector.muli(leftVectors[1]);
+            c1Vector.subi(leftVectors[2]);
+            byte[] c1 = TrustDealUtils.encodeZl(c1Vector);
+            sendChunkResponse(leftResponseHeader, rightResponseHeader, chunkIndex, leftSeed, rightSeed, c1);
+        }
+    }
+
+    private void sendChunkResponse(DataPacketHeader leftResponseHeader, DataPacketHeader rightResponseHeader,
+                                   int chunkIndex, byte[] leftSeed, byte[] rightSeed, byte[] c1) {
+        // response to the left party with the seed
+        List<byte[]> leftResponsePayload = new LinkedList<>();
+        leftResponsePayload.add(leftSeed);
+        rpc.send(DataPacket.fromByteArrayList(
+            DataPacketStreamUtils.getChunkHeader(leftResponseHeader, chunkIndex), leftResponsePayload
+        ));
+        // response to the right party with the seed and the correction
+        List<byte[]> rightResponsePayload = new LinkedList<>();
+        rightResponsePayload.add(rightSeed);
+        rightResponsePayload.add(c1);
+        rpc.send(DataPacket.fromByteArrayList(
+            DataPacketStreamUtils.getChunkHeader(rightResponseHeader, chunkIndex), rightResponsePayload
+        ));
     }
 
     private void destroyResponse(DataPacket thisDataPacket) throws MpcAbortException {
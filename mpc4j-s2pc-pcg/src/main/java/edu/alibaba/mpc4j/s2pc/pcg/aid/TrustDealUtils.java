@@ -0,0 +1,213 @@
+package edu.alibaba.mpc4j.s2pc.pcg.aid;
+
+import edu.alibaba.mpc4j.common.tool.CommonConstants;
+import edu.alibaba.mpc4j.common.tool.EnvType;
+import edu.alibaba.mpc4j.common.tool.crypto.prg.Prg;
+import edu.alibaba.mpc4j.common.tool.crypto.prg.PrgFactory;
+import edu.alibaba.mpc4j.common.tool.crypto.prg.PrgFactory.PrgType;
+import edu.alibaba.mpc4j.common.tool.galoisfield.zl.Zl;
+import edu.alibaba.mpc4j.common.tool.utils.BigIntegerUtils;
+import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
+import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
+import edu.alibaba.mpc4j.common.tool.utils.LongUtils;
+import edu.alibaba.mpc4j.crypto.matrix.vector.ZlVector;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * trust deal utilities for seed-compressed dealing.
+ * <p>
+ * The correlation is dealt in chunks. For each chunk, the aider sends a seed to the seed party, who expands all its
+ * shares from the seed. The aider sends another seed to the correction party, who expands all its shares except the
+ * last one from the seed, and receives the last share (the correction) in plain. The first chunk contains the
+ * remaining num so that the other chunks are byte-aligned, and the chunks can be directly concatenated. Each chunk is
+ * sent in a separate data packet with the chunk index encoded in extraInfo, so that parties expand chunks as they arrive.
+ * </p>
+ *
+ * @author Weiran Liu
+ * @date 2023/7/22
+ */
+public class TrustDealUtils {
+    /**
+     * private constructor.
+     */
+    private TrustDealUtils() {
+        // empty
+    }
+
+    /**
+     * max num in each chunk, must be a multiple of Byte.SIZE.
+     */
+    public static final int CHUNK_NUM = 1 << 16;
+    /**
+     * seed byte length
+     */
+    public static final int SEED_BYTE_LENGTH = CommonConstants.BLOCK_BYTE_LENGTH;
+    /**
+     * role of the seed party, sent in the init response
+     */
+    public static final byte SEED_PARTY = 0;
+    /**
+     * role of the correction party, sent in the init response
+     */
+    public static final byte CORRECTION_PARTY = 1;
+
+    /**
+     * Gets the nums in chunks. The first chunk contains the remaining num, other chunks contain CHUNK_NUM.
+     *
+     * @param num num.
+     * @return nums in chunks.
+     */
+    public static int[] chunkNums(int num) {
+        assert num > 0 : "num must be greater than 0: " + num;
+        int chunkSize = CommonUtils.getUnitNum(num, CHUNK_NUM);
+        int[] chunkNums = new int[chunkSize];
+        Arrays.fill(chunkNums, CHUNK_NUM);
+        chunkNums[0] = num - (chunkSize - 1) * CHUNK_NUM;
+        return chunkNums;
+    }
+
+    /**
+     * Expands Z2 vectors from the seed. Each vector is represented as a big-endian {@code byte[]} with front padding.
+     *
+     * @param envType environment.
+     * @param seed    seed.
+     * @param num     num in each vector.
+     * @param count   number of vectors.
+     * @return the vectors.
+     */
+    public static byte[][] expandZ2(EnvType envType, byte[] seed, int num, int count) {
+        int byteNum = CommonUtils.getByteLength(num);
+        byte[] bytes = expand(envType, seed, count * byteNum);
+        byte[][] vectors = new byte[count][];
+        for (int i = 0; i < count; i++) {
+            vectors[i] = Arrays.copyOfRange(bytes, i * byteNum, (i + 1) * byteNum);
+            BytesUtils.reduceByteArray(vectors[i], num);
+        }
+        return vectors;
+    }
+
+    /**
+     * Expands Zl vectors from the seed.
+     *
+     * @param envType environment.
+     * @param zl      Zl instance.
+     * @param seed    seed.
+     * @param num     num in each vector.
+     * @param count   number of vectors.
+     * @return the vectors.
+     */
+    public static ZlVector[] expandZl(EnvType envType, Zl zl, byte[] seed, int num, int count) {
+        int byteNum = num * zl.getByteL();
+        byte[] bytes = expand(envType, seed, count * byteNum);
+        ZlVector[] vectors = new ZlVector[count];
+        for (int i = 0; i < count; i++) {
+            vectors[i] = decodeZl(zl, bytes, i * byteNum, num, true);
+        }
+        return vectors;
+    }
+
+    /**
+     * Encodes the Zl vector to a {@code byte[]} with byteL bytes (big-endian) per element.
+     *
+     * @param vector the Zl vector.
+     * @return the encoded vector.
+     */
+    public static byte[] encodeZl(ZlVector vector) {
+        int num = vector.getNum();
+        int byteL = vector.getZl().getByteL();
+        byte[] bytes = new byte[num * byteL];
+        for (int index = 0; index < num; index++) {
+            System.arraycopy(vector.getElementByteArray(index), 0, bytes, index * byteL, byteL);
+        }
+        return bytes;
+    }
+
+    /**
+     * Decodes the Zl vector from a {@code byte[]} with byteL bytes (big-endian) per element.
+     *
+     * @param zl    Zl instance.
+     * @param bytes the encoded vector.
+     * @param num   num.
+     * @return the Zl vector.
+     */
+    public static ZlVector decodeZl(Zl zl, byte[] bytes, int num) {
+        assert bytes.length == num * zl.getByteL()
+            : "byte length must be equal to " + num * zl.getByteL() + ": " + bytes.length;
+        return decodeZl(zl, bytes, 0, num, false);
+    }
+
+    /**
+     * Checks if the encoded Zl vector is valid, i.e., it has byteL bytes per element and each element is in [0, 2^l).
+     *
+     * @param zl    Zl instance.
+     * @param bytes the encoded vector.
+     * @param num   num.
+     * @return true if the encoded Zl vector is valid.
+     */
+    public static boolean isValidZl(Zl zl, byte[] bytes, int num) {
+        int byteL = zl.getByteL();
+        if (bytes.length != num * byteL) {
+            return false;
+        }
+        // only the first byte of each element contains padding bits
+        int headBitLength = zl.getL() - (byteL - 1) * Byte.SIZE;
+        if (headBitLength == Byte.SIZE) {
+            return true;
+        }
+        for (int index = 0; index < num; index++) {
+            if ((bytes[index * byteL] & 0xFF) >>> headBitLength != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static ZlVector decodeZl(Zl zl, byte[] bytes, int offset, int num, boolean reduce) {
+        int l = zl.getL();
+        int byteL = zl.getByteL();
+        byte[] elementByteArray = new byte[byteL];
+        if (l <= Long.SIZE) {
+            long mask = l == Long.SIZE ? -1L : (1L << l) - 1;
+            long[] elements = new long[num];
+            for (int index = 0; index < num; index++) {
+                System.arraycopy(bytes, offset + index * byteL, elementByteArray, 0, byteL);
+                elements[index] = LongUtils.byteArrayToUnsignedLong(elementByteArray);
+                if (reduce) {
+                    elements[index] &= mask;
+                }
+            }
+            return ZlVector.create(zl, elements);
+        }
+        BigInteger[] elements = new BigInteger[num];
+        for (int index = 0; index < num; index++) {
+            System.arraycopy(bytes, offset + index * byteL, elementByteArray, 0, byteL);
+            if (reduce) {
+                BytesUtils.reduceByteArray(elementByteArray, l);
+            }
+            elements[index] = BigIntegerUtils.byteArrayToNonNegBigInteger(elementByteArray);
+        }
+        return ZlVector.create(zl, elements);
+    }
+
+    private static byte[] expand(EnvType envType, byte[] seed, int byteLength) {
+        assert seed.length == SEED_BYTE_LENGTH : "seed byte length must be equal to " + SEED_BYTE_LENGTH + ": " + seed.length;
+        // a chunk is expanded to a long output, use the CTR-mode PRG so that the key is set up only once
+        PrgType prgType;
+        switch (envType) {
+            case STANDARD:
+            case STANDARD_JDK:
+                prgType = PrgType.JDK_AES_CTR;
+                break;
+            case INLAND:
+            case INLAND_JDK:
+                prgType = PrgType.BC_SM4_CTR;
+                break;
+            default:
+                throw new IllegalArgumentException("Invalid " + EnvType.class.getSimpleName() + ": " + envType.name());
+        }
+        Prg prg = PrgFactory.createInstance(prgType, byteLength);
+        return prg.extendToBytes(seed);
+    }
+}
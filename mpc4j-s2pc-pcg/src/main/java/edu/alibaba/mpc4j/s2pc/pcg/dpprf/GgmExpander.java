@@ -0,0 +1,222 @@
+package edu.alibaba.mpc4j.s2pc.pcg.dpprf;
+
+import edu.alibaba.mpc4j.common.tool.CommonConstants;
+import edu.alibaba.mpc4j.common.tool.EnvType;
+import edu.alibaba.mpc4j.common.tool.crypto.prg.Prg;
+import edu.alibaba.mpc4j.common.tool.crypto.prg.PrgFactory;
+import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
+import org.bouncycastle.util.Pack;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * level-batched GGM tree expander.
+ * <p>
+ * All GGM trees with the same height are expanded level by level. The nodes of a level are stored in a flat
+ * {@code byte[]} in tree-major order, so that the children of the j-th node are the (2j)-th and the (2j + 1)-th nodes
+ * in the next level, and the whole level is expanded by one batched fixed-key AES call for each PRG key. The XOR sums
+ * K_0^i / K_1^i used in correction words are computed right after the level is produced. When parallel, the trees are
+ * split into groups, and the groups are expanded in the fork-join pool.
+ * </p>
+ *
+ * @author Weiran Liu
+ * @date 2023/7/22
+ */
+public class GgmExpander {
+    /**
+     * the PRG G: {0,1}^κ -> {0,1}^{2κ}
+     */
+    private final Prg prg;
+    /**
+     * tree height
+     */
+    private final int h;
+    /**
+     * number of output leaves for each tree
+     */
+    private final int leafNum;
+    /**
+     * parallel
+     */
+    private boolean parallel;
+
+    /**
+     * Creates a GGM expander.
+     *
+     * @param envType environment.
+     * @param h       tree height.
+     * @param leafNum number of output leaves for each tree, must be in range (0, 2^h].
+     */
+    public GgmExpander(EnvType envType, int h, int leafNum) {
+        assert h > 0 && h < Integer.SIZE - 1 : "h must be in range (0, " + (Integer.SIZE - 1) + "): " + h;
+        assert leafNum > 0 && leafNum <= (1 << h) : "leafNum must be in range (0, " + (1 << h) + "]: " + leafNum;
+        prg = PrgFactory.createInstance(envType, 2 * CommonConstants.BLOCK_BYTE_LENGTH);
+        this.h = h;
+        this.leafNum = leafNum;
+        parallel = false;
+    }
+
+    /**
+     * Sets parallel.
+     *
+     * @param parallel parallel.
+     */
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    /**
+     * Expands GGM trees from the roots. For each tree and each i ∈ {1,...,h}, K_0^i = ⊕_{j ∈ [2^{i - 1}]} s_{2j}^i and
+     * K_1^i = ⊕_{j ∈ [2^{i - 1}]} s_{2j + 1}^i are written to the (i - 1)-th positions of k0sArray and k1sArray.
+     *
+     * @param roots    roots s_0^0.
+     * @param k0sArray K_0^i for all trees, each has h elements.
+     * @param k1sArray K_1^i for all trees, each has h elements.
+     * @return the first leafNum leaves for all trees.
+     */
+    public byte[][][] expand(byte[][] roots, byte[][][] k0sArray, byte[][][] k1sArray) {
+        int treeNum = roots.length;
+        assert k0sArray.length == treeNum && k1sArray.length == treeNum;
+        byte[][][] leavesArray = new byte[treeNum][][];
+        int[] groupOffsets = groupOffsets(treeNum);
+        IntStream groupIndexIntStream = IntStream.range(0, groupOffsets.length - 1);
+        groupIndexIntStream = parallel ? groupIndexIntStream.parallel() : groupIndexIntStream;
+        groupIndexIntStream.forEach(groupIndex -> {
+            int from = groupOffsets[groupIndex];
+            int groupTreeNum = groupOffsets[groupIndex + 1] - from;
+            byte[] level = new byte[groupTreeNum * CommonConstants.BLOCK_BYTE_LENGTH];
+            for (int treeIndex = 0; treeIndex < groupTreeNum; treeIndex++) {
+                assert roots[from + treeIndex].length == CommonConstants.BLOCK_BYTE_LENGTH;
+                System.arraycopy(
+                    roots[from + treeIndex], 0, level, treeIndex * CommonConstants.BLOCK_BYTE_LENGTH,
+                    CommonConstants.BLOCK_BYTE_LENGTH
+                );
+            }
+            for (int i = 1; i <= h; i++) {
+                // (s_{2j}^i, s_{2j + 1}^i) = G(s_j^{i - 1}) for all nodes in the level
+                byte[] nextLevel = new byte[level.length * 2];
+                prg.extendToFlattenBytes(level, nextLevel);
+                level = nextLevel;
+                int halfNodeNum = 1 << (i - 1);
+                for (int treeIndex = 0; treeIndex < groupTreeNum; treeIndex++) {
+                    long k00 = 0L, k01 = 0L, k10 = 0L, k11 = 0L;
+                    int offset = treeIndex * (halfNodeNum << 1) * CommonConstants.BLOCK_BYTE_LENGTH;
+                    for (int j = 0; j < halfNodeNum; j++) {
+                        int position = offset + j * 2 * CommonConstants.BLOCK_BYTE_LENGTH;
+                        k00 ^= Pack.bigEndianToLong(level, position);
+                        k01 ^= Pack.bigEndianToLong(level, position + Long.BYTES);
+                        k10 ^= Pack.bigEndianToLong(level, position + CommonConstants.BLOCK_BYTE_LENGTH);
+                        k11 ^= Pack.bigEndianToLong(level, position + CommonConstants.BLOCK_BYTE_LENGTH + Long.BYTES);
+                    }
+                    k0sArray[from + treeIndex][i - 1] = toBlock(k00, k01);
+                    k1sArray[from + treeIndex][i - 1] = toBlock(k10, k11);
+                }
+            }
+            for (int treeIndex = 0; treeIndex < groupTreeNum; treeIndex++) {
+                leavesArray[from + treeIndex] = leaves(level, treeIndex, -1);
+            }
+        });
+        return leavesArray;
+    }
+
+    /**
+     * Expands GGM trees punctured at α. For each tree and each i ∈ {1,...,h}, the receiver has K_{β_i}^i with
+     * β_i = ¬α_i, and sets s_{α_1...α_{i - 1}β_i}^i = K_{β_i}^i ⊕ (⊕_{j ∈ [2^{i - 1}], j ≠ α_1...α_{i - 1}} s_{2j + β_i}^i).
+     *
+     * @param kNotsArray       K_{β_i}^i for all trees, each has h elements.
+     * @param alphaBinaryArray α_1...α_h for all trees.
+     * @return the first leafNum leaves for all trees, the leaf at α is null.
+     */
+    public byte[][][] puncturedExpand(byte[][][] kNotsArray, boolean[][] alphaBinaryArray) {
+        int treeNum = kNotsArray.length;
+        assert alphaBinaryArray.length == treeNum;
+        byte[][][] leavesArray = new byte[treeNum][][];
+        int[] groupOffsets = groupOffsets(treeNum);
+        IntStream groupIndexIntStream = IntStream.range(0, groupOffsets.length - 1);
+        groupIndexIntStream = parallel ? groupIndexIntStream.parallel() : groupIndexIntStream;
+        groupIndexIntStream.forEach(groupIndex -> {
+            int from = groupOffsets[groupIndex];
+            int groupTreeNum = groupOffsets[groupIndex + 1] - from;
+            int[] alphaPrefixes = new int[groupTreeNum];
+            // If i = 1, define s_{β_1}^1 = K_{β_1}^1, s_{α_1}^1 is unknown and set to 0
+            byte[] level = new byte[groupTreeNum * 2 * CommonConstants.BLOCK_BYTE_LENGTH];
+            for (int treeIndex = 0; treeIndex < groupTreeNum; treeIndex++) {
+                assert kNotsArray[from + treeIndex].length == h && alphaBinaryArray[from + treeIndex].length == h;
+                int alpha1 = alphaBinaryArray[from + treeIndex][0] ? 1 : 0;
+                System.arraycopy(
+                    kNotsArray[from + treeIndex][0], 0,
+                    level, (treeIndex * 2 + (1 - alpha1)) * CommonConstants.BLOCK_BYTE_LENGTH,
+                    CommonConstants.BLOCK_BYTE_LENGTH
+                );
+                alphaPrefixes[treeIndex] = alpha1;
+            }
+            for (int i = 2; i <= h; i++) {
+                // expand all nodes including the unknown ones, children of unknown nodes are fixed below
+                byte[] nextLevel = new byte[level.length * 2];
+                prg.extendToFlattenBytes(level, nextLevel);
+                level = nextLevel;
+                int halfNodeNum = 1 << (i - 1);
+                for (int treeIndex = 0; treeIndex < groupTreeNum; treeIndex++) {
+                    int alphai = alphaBinaryArray[from + treeIndex][i - 1] ? 1 : 0;
+                    int betai = 1 - alphai;
+                    byte[] kNot = kNotsArray[from + treeIndex][i - 1];
+                    long s0 = Pack.bigEndianToLong(kNot, 0);
+                    long s1 = Pack.bigEndianToLong(kNot, Long.BYTES);
+                    int offset = treeIndex * (halfNodeNum << 1);
+                    for (int j = 0; j < halfNodeNum; j++) {
+                        int position = (offset + 2 * j + betai) * CommonConstants.BLOCK_BYTE_LENGTH;
+                        s0 ^= Pack.bigEndianToLong(level, position);
+                        s1 ^= Pack.bigEndianToLong(level, position + Long.BYTES);
+                    }
+                    // the sum above includes the child of the unknown node at α_1...α_{i - 1}β_i, remove it
+                    int alphaPrefix = alphaPrefixes[treeIndex];
+                    int starPosition = (offset + 2 * alphaPrefix + betai) * CommonConstants.BLOCK_BYTE_LENGTH;
+                    s0 ^= Pack.bigEndianToLong(level, starPosition);
+                    s1 ^= Pack.bigEndianToLong(level, starPosition + Long.BYTES);
+                    Pack.longToBigEndian(s0, level, starPosition);
+                    Pack.longToBigEndian(s1, level, starPosition + Long.BYTES);
+                    // s_{α_1...α_i}^i is unknown and set to 0
+                    int unknownPosition = (offset + 2 * alphaPrefix + alphai) * CommonConstants.BLOCK_BYTE_LENGTH;
+                    Arrays.fill(level, unknownPosition, unknownPosition + CommonConstants.BLOCK_BYTE_LENGTH, (byte) 0);
+                    alphaPrefixes[treeIndex] = (alphaPrefix << 1) + alphai;
+                }
+            }
+            for (int treeIndex = 0; treeIndex < groupTreeNum; treeIndex++) {
+                leavesArray[from + treeIndex] = leaves(level, treeIndex, alphaPrefixes[treeIndex]);
+            }
+        });
+        return leavesArray;
+    }
+
+    private int[] groupOffsets(int treeNum) {
+        int groupNum = parallel ? Math.min(treeNum, ForkJoinPool.getCommonPoolParallelism()) : 1;
+        int groupTreeNum = CommonUtils.getUnitNum(treeNum, groupNum);
+        groupNum = CommonUtils.getUnitNum(treeNum, groupTreeNum);
+        int[] groupOffsets = new int[groupNum + 1];
+        for (int groupIndex = 0; groupIndex < groupNum; groupIndex++) {
+            groupOffsets[groupIndex + 1] = Math.min(treeNum, groupOffsets[groupIndex] + groupTreeNum);
+        }
+        return groupOffsets;
+    }
+
+    private byte[][] leaves(byte[] level, int treeIndex, int alpha) {
+        byte[][] leaves = new byte[leafNum][];
+        int offset = (treeIndex << h) * CommonConstants.BLOCK_BYTE_LENGTH;
+        for (int j = 0; j < leafNum; j++) {
+            if (j != alpha) {
+                int position = offset + j * CommonConstants.BLOCK_BYTE_LENGTH;
+                leaves[j] = Arrays.copyOfRange(level, position, position + CommonConstants.BLOCK_BYTE_LENGTH);
+            }
+        }
+        return leaves;
+    }
+
+    private static byte[] toBlock(long high, long low) {
+        byte[] block = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
+        Pack.longToBigEndian(high, block, 0);
+        Pack.longToBigEndian(low, block, Long.BYTES);
+        return block;
+    }
+}
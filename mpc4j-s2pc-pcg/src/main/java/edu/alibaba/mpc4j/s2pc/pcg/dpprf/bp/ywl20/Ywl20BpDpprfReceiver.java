@@ -2,12 +2,10 @@ package edu.alibaba.mpc4j.s2pc.pcg.dpprf.bp.ywl20;
 
 import edu.alibaba.mpc4j.common.rpc.*;
 import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
-import edu.alibaba.mpc4j.common.tool.CommonConstants;
 import edu.alibaba.mpc4j.common.tool.crypto.crhf.Crhf;
 import edu.alibaba.mpc4j.common.tool.crypto.crhf.CrhfFactory;
-import edu.alibaba.mpc4j.common.tool.crypto.prg.Prg;
-import edu.alibaba.mpc4j.common.tool.crypto.prg.PrgFactory;
 import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
+import edu.alibaba.mpc4j.s2pc.pcg.dpprf.GgmExpander;
 import edu.alibaba.mpc4j.s2pc.pcg.dpprf.bp.AbstractBpDpprfReceiver;
 import edu.alibaba.mpc4j.s2pc.pcg.dpprf.bp.BpDpprfReceiverOutput;
 import edu.alibaba.mpc4j.s2pc.pcg.dpprf.sp.SpDpprfReceiverOutput;
@@ -18,10 +16,8 @@ import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.core.CoreCotReceiver;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.pre.PreCotFactory;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.pre.PreCotReceiver;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 /**
@@ -44,9 +40,9 @@ public class Ywl20BpDpprfReceiver extends AbstractBpDpprfReceiver {
      */
     private CotReceiverOutput cotReceiverOutput;
     /**
-     * the GGM trees. Each tree contains (l + 1)-level keys. The i-th level contains 2^i keys.
+     * the PPRF keys, i.e., the first alphaBound leaves of the punctured GGM trees.
      */
-    private ArrayList<ArrayList<byte[][]>> ggmTrees;
+    private byte[][][] pprfKeysArray;
 
     public Ywl20BpDpprfReceiver(Rpc receiverRpc, Party senderParty, Ywl20BpDpprfConfig config) {
         super(Ywl20BpDpprfPtoDesc.getInstance(), receiverRpc, senderParty, config);
@@ -131,91 +127,38 @@ public class Ywl20BpDpprfReceiver extends AbstractBpDpprfReceiver {
         MpcAbortPreconditions.checkArgument(messagePayload.size() == 2 * h * batchNum);
         byte[][] messagesArray = messagePayload.toArray(new byte[0][]);
         Crhf crhf = CrhfFactory.createInstance(envType, CrhfFactory.CrhfType.MMO);
-        Prg prg = PrgFactory.createInstance(envType, 2 * CommonConstants.BLOCK_BYTE_LENGTH);
         IntStream batchIndexIntStream = IntStream.range(0, batchNum);
         batchIndexIntStream = parallel ? batchIndexIntStream.parallel() : batchIndexIntStream;
-        ggmTrees = batchIndexIntStream
+        byte[][][] kiNotsArray = batchIndexIntStream
             .mapToObj(batchIndex -> {
-                ArrayList<byte[][]> treeKeys = new ArrayList<>(h + 1);
-                // 把一个空字节作为第0项占位
-                treeKeys.add(new byte[0][]);
-                int alphaPrefix = 0;
-                // For each i ∈ {1,...,h}
-                for (int i = 1; i <= h; i++) {
-                    int hIndex = i - 1;
-                    byte[][] currentLevelSeeds = new byte[1 << i][];
-                    // R defines an i-bit string α_i^* = α_1 ... α_{i − 1} β_i
-                    boolean alphai = alphaBinaryArray[batchIndex][hIndex];
-                    int alphaiInt = alphai ? 1 : 0;
-                    boolean betai = notAlphaBinaryArray[batchIndex][hIndex];
-                    int betaiInt = betai ? 1 : 0;
-                    // Compute K_{β_i}^i = M_{β_i}^i ⊕ H(t_i, i || l)
-                    byte[] kiNot = BytesUtils.clone(cotReceiverOutput.getRb(h * batchIndex + hIndex));
-                    kiNot = crhf.hash(kiNot);
-                    if (betai) {
-                        BytesUtils.xori(kiNot, messagesArray[batchIndex * h * 2 + 2 * hIndex + 1]);
-                    } else {
-                        BytesUtils.xori(kiNot, messagesArray[batchIndex * h * 2 + 2 * hIndex]);
-                    }
-                    if (i == 1) {
-                        // If i = 1, define s_{β_i}^i = K_{β_i}^i
-                        currentLevelSeeds[alphaiInt] = null;
-                        currentLevelSeeds[betaiInt] = kiNot;
-                    } else {
-                        // If i ≥ 2
-                        byte[][] lowLevelSeeds = treeKeys.get(i - 1);
-                        // for j ∈ [2^i − 1], j ≠ α_1...α_{i − 1}, compute (s_{2j}^i, s_{2j + 1}^i = G(s_ja^{i - 1}).
-                        for (int j = 0; j < (1 << (i - 1)); j++) {
-                            if (j != alphaPrefix) {
-                                byte[] extendSeeds = prg.extendToBytes(lowLevelSeeds[j]);
-                                currentLevelSeeds[2 * j] = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
-                                System.arraycopy(
-                                    extendSeeds, 0,
-                                    currentLevelSeeds[2 * j], 0,
-                                    CommonConstants.BLOCK_BYTE_LENGTH
-                                );
-                                currentLevelSeeds[2 * j + 1] = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
-                                System.arraycopy(
-                                    extendSeeds, CommonConstants.BLOCK_BYTE_LENGTH,
-                                    currentLevelSeeds[2 * j + 1], 0,
-                                    CommonConstants.BLOCK_BYTE_LENGTH
-                                );
-                            }
-                        }
-                        // compute the remaining seeds
-                        int alphaStar = (alphaPrefix << 1) + betaiInt;
-                        currentLevelSeeds[alphaStar] = kiNot;
-                        for (int j = 0; j < (1 << (i - 1)); j++) {
-                            if (j != alphaPrefix) {
-                                BytesUtils.xori(currentLevelSeeds[alphaStar], currentLevelSeeds[2 * j + betaiInt]);
-                            }
-                        }
-                    }
-                    // update α_1...α_{i − 1}
-                    alphaPrefix = (alphaPrefix << 1) + alphaiInt;
-                    treeKeys.add(currentLevelSeeds);
+                // hash all t_i in the batch by one batch CRHF call
+                byte[][] kiNots = new byte[h][];
+                for (int hIndex = 0; hIndex < h; hIndex++) {
+                    kiNots[hIndex] = BytesUtils.clone(cotReceiverOutput.getRb(h * batchIndex + hIndex));
                 }
-                return treeKeys;
+                crhf.hash(kiNots, kiNots);
+                // For each i ∈ {1,...,h}, compute K_{β_i}^i = M_{β_i}^i ⊕ H(t_i, i || l)
+                for (int hIndex = 0; hIndex < h; hIndex++) {
+                    int betaiInt = notAlphaBinaryArray[batchIndex][hIndex] ? 1 : 0;
+                    BytesUtils.xori(kiNots[hIndex], messagesArray[batchIndex * h * 2 + 2 * hIndex + betaiInt]);
+                }
+                return kiNots;
             })
-            .collect(Collectors.toCollection(ArrayList::new));
+            .toArray(byte[][][]::new);
+        // R defines s_{β_1}^1 = K_{β_1}^1, and for each i ∈ {2,...,h}, computes (s_{2j}^i, s_{2j + 1}^i = G(s_j^{i - 1})
+        // for j ∈ [2^{i − 1}], j ≠ α_1...α_{i − 1}, and the remaining seed, all trees level by level
+        GgmExpander ggmExpander = new GgmExpander(envType, h, alphaBound);
+        ggmExpander.setParallel(parallel);
+        pprfKeysArray = ggmExpander.puncturedExpand(kiNotsArray, alphaBinaryArray);
         cotReceiverOutput = null;
     }
 
     private BpDpprfReceiverOutput generateReceiverOutput() {
+        // R sets w[i] = s_i^h for i ∈ [n] \ {α}, the expander already reduces the key num to alphaBound
         SpDpprfReceiverOutput[] receiverOutputs = IntStream.range(0, batchNum)
-            .mapToObj(batchIndex -> {
-                // R sets w[i] = s_i^h for i ∈ [n] \ {α}
-                byte[][] pprfKeys = ggmTrees.get(batchIndex).get(h);
-                // number of key is 2^h, reduce the key num to alphaBound
-                if (alphaBound < (1 << h)) {
-                    byte[][] reducePprfKeys = new byte[alphaBound][];
-                    System.arraycopy(pprfKeys, 0, reducePprfKeys, 0, alphaBound);
-                    pprfKeys = reducePprfKeys;
-                }
-                return new SpDpprfReceiverOutput(alphaBound, alphaArray[batchIndex], pprfKeys);
-            })
+            .mapToObj(batchIndex -> new SpDpprfReceiverOutput(alphaBound, alphaArray[batchIndex], pprfKeysArray[batchIndex]))
             .toArray(SpDpprfReceiverOutput[]::new);
-        ggmTrees = null;
+        pprfKeysArray = null;
         return new BpDpprfReceiverOutput(receiverOutputs);
     }
 }
@@ -6,9 +6,8 @@ import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
 import edu.alibaba.mpc4j.common.tool.CommonConstants;
 import edu.alibaba.mpc4j.common.tool.crypto.crhf.Crhf;
 import edu.alibaba.mpc4j.common.tool.crypto.crhf.CrhfFactory;
-import edu.alibaba.mpc4j.common.tool.crypto.prg.Prg;
-import edu.alibaba.mpc4j.common.tool.crypto.prg.PrgFactory;
 import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
+import edu.alibaba.mpc4j.s2pc.pcg.dpprf.GgmExpander;
 import edu.alibaba.mpc4j.s2pc.pcg.dpprf.bp.AbstractBpDpprfSender;
 import edu.alibaba.mpc4j.s2pc.pcg.dpprf.bp.BpDpprfSenderOutput;
 import edu.alibaba.mpc4j.s2pc.pcg.dpprf.sp.SpDpprfSenderOutput;
@@ -19,7 +18,6 @@ import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.core.CoreCotSender;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.pre.PreCotFactory;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.pre.PreCotSender;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
@@ -47,9 +45,9 @@ public class Ywl20BpDpprfSender extends AbstractBpDpprfSender {
      */
     private CotSenderOutput cotSenderOutput;
     /**
-     * the GGM trees. Each tree contains (l + 1)-level keys. The i-th level contains 2^i keys.
+     * the PRF keys, i.e., the first alphaBound leaves of the GGM trees.
      */
-    private ArrayList<ArrayList<byte[][]>> ggmTree;
+    private byte[][][] prfKeysArray;
     /**
      * K_0^i = ⊕_{j ∈ [2^{i - 1}]} s_{2j}^i
      */
@@ -144,56 +142,16 @@ public class Ywl20BpDpprfSender extends AbstractBpDpprfSender {
     private void generatePprfKeys() {
         k0sArray = new byte[batchNum][h][];
         k1sArray = new byte[batchNum][h][];
-        Prg prg = PrgFactory.createInstance(envType, 2 * CommonConstants.BLOCK_BYTE_LENGTH);
-        IntStream batchIndexIntStream = IntStream.range(0, batchNum);
-        batchIndexIntStream = parallel ? batchIndexIntStream.parallel() : batchIndexIntStream;
-        ggmTree = batchIndexIntStream
-            .mapToObj(batchIndex -> {
-                ArrayList<byte[][]> treeKeys = new ArrayList<>(h + 1);
-                // S picks a random s_0^0 ∈ {0, 1}^κ
-                byte[][] s0 = new byte[1][CommonConstants.BLOCK_BYTE_LENGTH];
-                secureRandom.nextBytes(s0[0]);
-                // 把s0作为第0项，从而方便后续迭代
-                treeKeys.add(s0);
-                // For each i ∈ {1,...,h}, j ∈ [2^{i − 1}], S computes (s_{2j}^i, s_{2j + 1}^i) = G(s_j^{i - 1})
-                for (int i = 1; i <= h; i++) {
-                    byte[][] lowLevelSeeds = treeKeys.get(i - 1);
-                    byte[][] currentLevelSeeds = new byte[1 << i][];
-                    for (int j = 0; j < (1 << (i - 1)); j++) {
-                        byte[] extendSeeds = prg.extendToBytes(lowLevelSeeds[j]);
-                        currentLevelSeeds[2 * j] = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
-                        System.arraycopy(
-                            extendSeeds, 0,
-                            currentLevelSeeds[2 * j], 0,
-                            CommonConstants.BLOCK_BYTE_LENGTH
-                        );
-                        currentLevelSeeds[2 * j + 1] = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
-                        System.arraycopy(
-                            extendSeeds, CommonConstants.BLOCK_BYTE_LENGTH,
-                            currentLevelSeeds[2 * j + 1], 0,
-                            CommonConstants.BLOCK_BYTE_LENGTH
-                        );
-                    }
-                    treeKeys.add(currentLevelSeeds);
-                }
-                // For each i ∈ {1,..., h}
-                for (int i = 1; i <= h; i++) {
-                    int hIndex = i - 1;
-                    byte[][] currentLevelSeeds = treeKeys.get(i);
-                    // S then computes K_0^i = ⊕_{j ∈ [2^{i - 1}]} s_{2j}^i
-                    k0sArray[batchIndex][hIndex] = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
-                    for (int j = 0; j < (1 << (i - 1)); j++) {
-                        BytesUtils.xori(k0sArray[batchIndex][hIndex], currentLevelSeeds[2 * j]);
-                    }
-                    // and K_1^i = ⊕_{j ∈ [2^{i - 1}]} s_{2j + 1}^i
-                    k1sArray[batchIndex][hIndex] = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
-                    for (int j = 0; j < (1 << (i - 1)); j++) {
-                        BytesUtils.xori(k1sArray[batchIndex][hIndex], currentLevelSeeds[2 * j + 1]);
-                    }
-                }
-                return treeKeys;
-            })
-            .collect(Collectors.toCollection(ArrayList::new));
+        // S picks a random s_0^0 ∈ {0, 1}^κ for each tree
+        byte[][] roots = new byte[batchNum][CommonConstants.BLOCK_BYTE_LENGTH];
+        for (byte[] root : roots) {
+            secureRandom.nextBytes(root);
+        }
+        // For each i ∈ {1,...,h}, j ∈ [2^{i − 1}], S computes (s_{2j}^i, s_{2j + 1}^i) = G(s_j^{i - 1}),
+        // K_0^i = ⊕_{j ∈ [2^{i - 1}]} s_{2j}^i and K_1^i = ⊕_{j ∈ [2^{i - 1}]} s_{2j + 1}^i, all trees level by level
+        GgmExpander ggmExpander = new GgmExpander(envType, h, alphaBound);
+        ggmExpander.setParallel(parallel);
+        prfKeysArray = ggmExpander.expand(roots, k0sArray, k1sArray);
     }
 
     private List<byte[]> generateMessagePayload() {
@@ -201,21 +159,27 @@ public class Ywl20BpDpprfSender extends AbstractBpDpprfSender {
         IntStream batchIndexIntStream = IntStream.range(0, batchNum);
         batchIndexIntStream = parallel ? batchIndexIntStream.parallel() : batchIndexIntStream;
         List<byte[]> messagePayload = batchIndexIntStream
-            .mapToObj(batchIndex ->
-                IntStream.range(0, h)
+            .mapToObj(batchIndex -> {
+                byte[][] message0s = new byte[h][];
+                byte[][] message1s = new byte[h][];
+                for (int lIndex = 0; lIndex < h; lIndex++) {
+                    message0s[lIndex] = BytesUtils.clone(cotSenderOutput.getR0(batchIndex * h + lIndex));
+                    message1s[lIndex] = BytesUtils.clone(cotSenderOutput.getR1(batchIndex * h + lIndex));
+                }
+                // hash all q_i and q_i ⊕ ∆ in the batch by batch CRHF calls
+                crhf.hash(message0s, message0s);
+                crhf.hash(message1s, message1s);
+                return IntStream.range(0, h)
                     .mapToObj(lIndex -> {
                         // S sends M_0^i = K_0^i ⊕ H(q_i, i || l)
-                        byte[] message0 = BytesUtils.clone(cotSenderOutput.getR0(batchIndex * h + lIndex));
-                        message0 = crhf.hash(message0);
-                        BytesUtils.xori(message0, k0sArray[batchIndex][lIndex]);
+                        BytesUtils.xori(message0s[lIndex], k0sArray[batchIndex][lIndex]);
                         // and M_1^i = K_1^i ⊕ H(q_i ⊕ ∆, i || l)
-                        byte[] message1 = BytesUtils.clone(cotSenderOutput.getR1(batchIndex * h + lIndex));
-                        message1 = crhf.hash(message1);
-                        BytesUtils.xori(message1, k1sArray[batchIndex][lIndex]);
-                        return new byte[][]{message0, message1};
+                        BytesUtils.xori(message1s[lIndex], k1sArray[batchIndex][lIndex]);
+                        return new byte[][]{message0s[lIndex], message1s[lIndex]};
                     })
                     .flatMap(Arrays::stream)
-                    .collect(Collectors.toList()))
+                    .collect(Collectors.toList());
+            })
             .flatMap(Collection::stream)
             .collect(Collectors.toList());
         k0sArray = null;
@@ -225,19 +189,11 @@ public class Ywl20BpDpprfSender extends AbstractBpDpprfSender {
     }
 
     private BpDpprfSenderOutput generateSenderOutput() {
+        // number of key is 2^h, the expander already reduces the key num to alphaBound
         SpDpprfSenderOutput[] senderOutputs = IntStream.range(0, batchNum)
-            .mapToObj(batchIndex -> {
-                // number of key is 2^h, reduce the key num to alphaBound
-                byte[][] prfkeys = ggmTree.get(batchIndex).get(h);
-                if (alphaBound < (1 << h)) {
-                    byte[][] reducePrfKeys = new byte[alphaBound][];
-                    System.arraycopy(prfkeys, 0, reducePrfKeys, 0, alphaBound);
-                    prfkeys = reducePrfKeys;
-                }
-                return new SpDpprfSenderOutput(alphaBound, prfkeys);
-            })
+            .mapToObj(batchIndex -> new SpDpprfSenderOutput(alphaBound, prfKeysArray[batchIndex]))
             .toArray(SpDpprfSenderOutput[]::new);
-        ggmTree = null;
+        prfKeysArray = null;
         return new BpDpprfSenderOutput(senderOutputs);
     }
 }
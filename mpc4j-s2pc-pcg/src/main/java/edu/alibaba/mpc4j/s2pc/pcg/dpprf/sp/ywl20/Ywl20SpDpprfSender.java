@@ -6,9 +6,8 @@ import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
 import edu.alibaba.mpc4j.common.tool.CommonConstants;
 import edu.alibaba.mpc4j.common.tool.crypto.crhf.Crhf;
 import edu.alibaba.mpc4j.common.tool.crypto.crhf.CrhfFactory;
-import edu.alibaba.mpc4j.common.tool.crypto.prg.Prg;
-import edu.alibaba.mpc4j.common.tool.crypto.prg.PrgFactory;
 import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
+import edu.alibaba.mpc4j.s2pc.pcg.dpprf.GgmExpander;
 import edu.alibaba.mpc4j.s2pc.pcg.dpprf.sp.AbstractSpDpprfSender;
 import edu.alibaba.mpc4j.s2pc.pcg.dpprf.sp.SpDpprfSenderOutput;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotSenderOutput;
@@ -43,9 +42,9 @@ public class Ywl20SpDpprfSender extends AbstractSpDpprfSender {
      */
     private CotSenderOutput cotSenderOutput;
     /**
-     * the GGM tree. It contains (l + 1)-level keys. The i-th level contains 2^i keys.
+     * the PRF keys, i.e., the first alphaBound leaves of the GGM tree.
      */
-    private ArrayList<byte[][]> ggmTree;
+    private byte[][] prfKeys;
     /**
      * K_0^i = ⊕_{j ∈ [2^{i - 1}]} s_{2j}^i
      */
@@ -137,68 +136,39 @@ public class Ywl20SpDpprfSender extends AbstractSpDpprfSender {
     }
 
     private void generatePprfKeys() {
-        k0s = new byte[h][];
-        k1s = new byte[h][];
-        Prg prg = PrgFactory.createInstance(envType, 2 * CommonConstants.BLOCK_BYTE_LENGTH);
-        ggmTree = new ArrayList<>(h + 1);
+        byte[][][] k0sArray = new byte[1][h][];
+        byte[][][] k1sArray = new byte[1][h][];
         // S picks a random s_0^0 ∈ {0, 1}^κ
-        byte[][] s0 = new byte[1][CommonConstants.BLOCK_BYTE_LENGTH];
-        secureRandom.nextBytes(s0[0]);
-        // adds s0 into level-0 GGM tree
-        ggmTree.add(s0);
-        // For each i ∈ {1,...,h}, j ∈ [2^{i − 1}], S computes (s_{2j}^i, s_{2j + 1}^i) = G(s_j^{i - 1})
-        for (int i = 1; i <= h; i++) {
-            byte[][] lowLevelSeeds = ggmTree.get(i - 1);
-            byte[][] currentLevelSeeds = new byte[1 << i][];
-            for (int j = 0; j < (1 << (i - 1)); j++) {
-                byte[] extendSeeds = prg.extendToBytes(lowLevelSeeds[j]);
-                currentLevelSeeds[2 * j] = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
-                System.arraycopy(
-                    extendSeeds, 0,
-                    currentLevelSeeds[2 * j], 0,
-                    CommonConstants.BLOCK_BYTE_LENGTH
-                );
-                currentLevelSeeds[2 * j + 1] = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
-                System.arraycopy(
-                    extendSeeds, CommonConstants.BLOCK_BYTE_LENGTH,
-                    currentLevelSeeds[2 * j + 1], 0,
-                    CommonConstants.BLOCK_BYTE_LENGTH
-                );
-            }
-            ggmTree.add(currentLevelSeeds);
-        }
-        // For each i ∈ {1,..., h}
-        for (int i = 1; i <= h; i++) {
-            int hIndex = i - 1;
-            byte[][] currentLevelSeeds = ggmTree.get(i);
-            // S then computes K_0^i = ⊕_{j ∈ [2^{i - 1}]} s_{2j}^i
-            k0s[hIndex] = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
-            for (int j = 0; j < (1 << (i - 1)); j++) {
-                BytesUtils.xori(k0s[hIndex], currentLevelSeeds[2 * j]);
-            }
-            // and K_1^i = ⊕_{j ∈ [2^{i - 1}]} s_{2j + 1}^i
-            k1s[hIndex] = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
-            for (int j = 0; j < (1 << (i - 1)); j++) {
-                BytesUtils.xori(k1s[hIndex], currentLevelSeeds[2 * j + 1]);
-            }
-        }
+        byte[][] roots = new byte[1][CommonConstants.BLOCK_BYTE_LENGTH];
+        secureRandom.nextBytes(roots[0]);
+        // For each i ∈ {1,...,h}, j ∈ [2^{i − 1}], S computes (s_{2j}^i, s_{2j + 1}^i) = G(s_j^{i - 1}),
+        // K_0^i = ⊕_{j ∈ [2^{i - 1}]} s_{2j}^i and K_1^i = ⊕_{j ∈ [2^{i - 1}]} s_{2j + 1}^i, level by level
+        GgmExpander ggmExpander = new GgmExpander(envType, h, alphaBound);
+        prfKeys = ggmExpander.expand(roots, k0sArray, k1sArray)[0];
+        k0s = k0sArray[0];
+        k1s = k1sArray[0];
     }
 
     private List<byte[]> generateMessagePayload() {
         Crhf crhf = CrhfFactory.createInstance(envType, CrhfFactory.CrhfType.MMO);
+        byte[][] message0s = new byte[h][];
+        byte[][] message1s = new byte[h][];
+        for (int hIndex = 0; hIndex < h; hIndex++) {
+            message0s[hIndex] = BytesUtils.clone(cotSenderOutput.getR0(hIndex));
+            message1s[hIndex] = BytesUtils.clone(cotSenderOutput.getR1(hIndex));
+        }
+        // hash all q_i and q_i ⊕ \not ∆ by batch CRHF calls
+        crhf.hash(message0s, message0s);
+        crhf.hash(message1s, message1s);
         IntStream hIntStream = IntStream.range(0, h);
         hIntStream = parallel ? hIntStream.parallel() : hIntStream;
         List<byte[]> messagePayload = hIntStream
             .mapToObj(hIndex -> {
                 // S sends M_0^i = K_0^i ⊕ H(q_i, i || l)
-                byte[] message0 = BytesUtils.clone(cotSenderOutput.getR0(hIndex));
-                message0 = crhf.hash(message0);
-                BytesUtils.xori(message0, k0s[hIndex]);
+                BytesUtils.xori(message0s[hIndex], k0s[hIndex]);
                 // and M_1^i = K_1^i ⊕ H(q_i ⊕ \not ∆, i || l)
-                byte[] message1 = BytesUtils.clone(cotSenderOutput.getR1(hIndex));
-                message1 = crhf.hash(message1);
-                BytesUtils.xori(message1, k1s[hIndex]);
-                return new byte[][]{message0, message1};
+                BytesUtils.xori(message1s[hIndex], k1s[hIndex]);
+                return new byte[][]{message0s[hIndex], message1s[hIndex]};
             })
             .flatMap(Arrays::stream)
             .collect(Collectors.toList());
@@ -209,13 +179,9 @@ public class Ywl20SpDpprfSender extends AbstractSpDpprfSender {
     }
 
     private SpDpprfSenderOutput generateSenderOutput() {
-        byte[][] prfkeys = ggmTree.get(h);
-        if (alphaBound < (1 << h)) {
-            byte[][] reducePrfKeys = new byte[alphaBound][];
-            System.arraycopy(prfkeys, 0, reducePrfKeys, 0, alphaBound);
-            prfkeys = reducePrfKeys;
-        }
-        ggmTree = null;
-        return new SpDpprfSenderOutput(alphaBound, prfkeys);
+        // number of key is 2^h, the expander already reduces the key num to alphaBound
+        SpDpprfSenderOutput senderOutput = new SpDpprfSenderOutput(alphaBound, prfKeys);
+        prfKeys = null;
+        return senderOutput;
     }
 }
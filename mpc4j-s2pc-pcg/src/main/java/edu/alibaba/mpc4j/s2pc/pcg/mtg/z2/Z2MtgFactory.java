@@ -11,6 +11,9 @@ import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.impl.cache.CacheZ2MtgSender;
 import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.impl.offline.OfflineZ2MtgConfig;
 import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.impl.offline.OfflineZ2MtgReceiver;
 import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.impl.offline.OfflineZ2MtgSender;
+import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.impl.store.StoreZ2MtgConfig;
+import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.impl.store.StoreZ2MtgReceiver;
+import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.impl.store.StoreZ2MtgSender;
 
 /**
  * Zl multiplication triple generator factory.
@@ -38,6 +41,10 @@ public class Z2MtgFactory implements PtoFactory {
          * cache
          */
         CACHE,
+        /**
+         * store
+         */
+        STORE,
     }
 
     /**
@@ -55,6 +62,8 @@ public class Z2MtgFactory implements PtoFactory {
                 return new OfflineZ2MtgSender(senderRpc, receiverParty, (OfflineZ2MtgConfig) config);
             case CACHE:
                 return new CacheZ2MtgSender(senderRpc, receiverParty, (CacheZ2MtgConfig) config);
+            case STORE:
+                return new StoreZ2MtgSender(senderRpc, receiverParty, (StoreZ2MtgConfig) config);
             default:
                 throw new IllegalArgumentException("Invalid " + Z2MtgType.class.getSimpleName() + ": " + type.name());
         }
@@ -76,6 +85,8 @@ public class Z2MtgFactory implements PtoFactory {
                 return new OfflineZ2MtgSender(senderRpc, receiverParty, aiderParty, (OfflineZ2MtgConfig) config);
             case CACHE:
                 return new CacheZ2MtgSender(senderRpc, receiverParty, aiderParty, (CacheZ2MtgConfig) config);
+            case STORE:
+                return new StoreZ2MtgSender(senderRpc, receiverParty, aiderParty, (StoreZ2MtgConfig) config);
             default:
                 throw new IllegalArgumentException("Invalid " + Z2MtgType.class.getSimpleName() + ": " + type.name());
         }
@@ -96,6 +107,8 @@ public class Z2MtgFactory implements PtoFactory {
                 return new OfflineZ2MtgReceiver(receiverRpc, senderParty, (OfflineZ2MtgConfig) config);
             case CACHE:
                 return new CacheZ2MtgReceiver(receiverRpc, senderParty, (CacheZ2MtgConfig) config);
+            case STORE:
+                return new StoreZ2MtgReceiver(receiverRpc, senderParty, (StoreZ2MtgConfig) config);
             default:
                 throw new IllegalArgumentException("Invalid " + Z2MtgType.class.getSimpleName() + ": " + type.name());
         }
@@ -116,6 +129,8 @@ public class Z2MtgFactory implements PtoFactory {
                 return new OfflineZ2MtgReceiver(receiverRpc, senderParty, aiderParty, (OfflineZ2MtgConfig) config);
             case CACHE:
                 return new CacheZ2MtgReceiver(receiverRpc, senderParty, aiderParty, (CacheZ2MtgConfig) config);
+            case STORE:
+                return new StoreZ2MtgReceiver(receiverRpc, senderParty, aiderParty, (StoreZ2MtgConfig) config);
             default:
                 throw new IllegalArgumentException("Invalid " + Z2MtgType.class.getSimpleName() + ": " + type.name());
         }
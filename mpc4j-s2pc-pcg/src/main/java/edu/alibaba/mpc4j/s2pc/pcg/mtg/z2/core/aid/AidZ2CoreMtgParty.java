@@ -4,15 +4,20 @@ import edu.alibaba.mpc4j.common.rpc.*;
 import edu.alibaba.mpc4j.common.rpc.pto.AbstractThreePartyPto;
 import edu.alibaba.mpc4j.common.rpc.utils.DataPacket;
 import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacketStreamUtils;
 import edu.alibaba.mpc4j.common.tool.MathPreconditions;
+import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
+import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
 import edu.alibaba.mpc4j.common.tool.utils.IntUtils;
 import edu.alibaba.mpc4j.s2pc.pcg.aid.TrustDealPtoDesc;
 import edu.alibaba.mpc4j.s2pc.pcg.aid.TrustDealType;
+import edu.alibaba.mpc4j.s2pc.pcg.aid.TrustDealUtils;
 import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.Z2Triple;
 import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.core.Z2CoreMtgParty;
 
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -30,6 +35,10 @@ public class AidZ2CoreMtgParty extends AbstractThreePartyPto implements Z2CoreMt
      * max num
      */
     private int maxNum;
+    /**
+     * whether this party is the seed party, otherwise it is the correction party
+     */
+    private boolean seedParty;
 
     public AidZ2CoreMtgParty(Rpc ownRpc, Party otherParty, Party aiderParty, AidZ2CoreMtgConfig config) {
         super(TrustDealPtoDesc.getInstance(), ownRpc, otherParty, aiderParty, config);
@@ -64,7 +73,13 @@ public class AidZ2CoreMtgParty extends AbstractThreePartyPto implements Z2CoreMt
 
         stopWatch.start();
         // handle init response
-        MpcAbortPreconditions.checkArgument(initResponsePayload.size() == 0);
+        MpcAbortPreconditions.checkArgument(initResponsePayload.size() == 1);
+        byte[] role = initResponsePayload.remove(0);
+        MpcAbortPreconditions.checkArgument(role.length == 1);
+        MpcAbortPreconditions.checkArgument(
+            role[0] == TrustDealUtils.SEED_PARTY || role[0] == TrustDealUtils.CORRECTION_PARTY
+        );
+        seedParty = (role[0] == TrustDealUtils.SEED_PARTY);
         stopWatch.stop();
         long initResponseTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
@@ -101,20 +116,53 @@ public class AidZ2CoreMtgParty extends AbstractThreePartyPto implements Z2CoreMt
             encodeTaskId, getPtoDesc().getPtoId(), TrustDealPtoDesc.AidPtoStep.REQUEST_RESPONSE.ordinal(), extraInfo,
             rightParty().getPartyId(), ownParty().getPartyId()
         );
-        List<byte[]> requestResponsePayload = rpc.receive(requestResponseHeader).getPayload();
 
         stopWatch.start();
-        MpcAbortPreconditions.checkArgument(requestResponsePayload.size() == 3);
-        byte[] a0 = requestResponsePayload.remove(0);
-        byte[] b0 = requestResponsePayload.remove(0);
-        byte[] c0 = requestResponsePayload.remove(0);
+        // the seed party receives a seed for each chunk, the correction party also receives c1 for each chunk.
+        // each chunk is expanded once it is received, so that the expansion overlaps with receiving other chunks.
+        int[] chunkNums = TrustDealUtils.chunkNums(num);
+        int byteNum = CommonUtils.getByteLength(num);
+        byte[] ai = new byte[byteNum];
+        byte[] bi = new byte[byteNum];
+        byte[] ci = new byte[byteNum];
+        List<CompletableFuture<Void>> expandFutures = new LinkedList<>();
+        // all chunks except the first one are byte-aligned
+        int chunkByteOffset = 0;
+        for (int chunkIndex = 0; chunkIndex < chunkNums.length; chunkIndex++) {
+            DataPacketHeader chunkResponseHeader = DataPacketStreamUtils.getChunkHeader(requestResponseHeader, chunkIndex);
+            List<byte[]> chunkResponsePayload = rpc.receive(chunkResponseHeader).getPayload();
+            int chunkNum = chunkNums[chunkIndex];
+            int chunkByteNum = CommonUtils.getByteLength(chunkNum);
+            MpcAbortPreconditions.checkArgument(chunkResponsePayload.size() == (seedParty ? 1 : 2));
+            byte[] seed = chunkResponsePayload.get(0);
+            MpcAbortPreconditions.checkArgument(seed.length == TrustDealUtils.SEED_BYTE_LENGTH);
+            byte[] c1 = seedParty ? null : chunkResponsePayload.get(1);
+            if (!seedParty) {
+                MpcAbortPreconditions.checkArgument(c1.length == chunkByteNum);
+                MpcAbortPreconditions.checkArgument(BytesUtils.isReduceByteArray(c1, chunkNum));
+            }
+            int offset = chunkByteOffset;
+            Runnable expandChunk = () -> {
+                byte[][] vectors = TrustDealUtils.expandZ2(envType, seed, chunkNum, seedParty ? 3 : 2);
+                System.arraycopy(vectors[0], 0, ai, offset, chunkByteNum);
+                System.arraycopy(vectors[1], 0, bi, offset, chunkByteNum);
+                System.arraycopy(seedParty ? vectors[2] : c1, 0, ci, offset, chunkByteNum);
+            };
+            if (parallel) {
+                expandFutures.add(CompletableFuture.runAsync(expandChunk));
+            } else {
+                expandChunk.run();
+            }
+            chunkByteOffset += chunkByteNum;
+        }
+        expandFutures.forEach(CompletableFuture::join);
         stopWatch.stop();
         long requestResponseTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
         logStepInfo(PtoState.PTO_STEP, 2, 2, requestResponseTime);
 
         logPhaseInfo(PtoState.PTO_END);
-        return Z2Triple.create(num, a0, b0, c0);
+        return Z2Triple.create(num, ai, bi, ci);
     }
 
     protected void setPtoInput(int num) {
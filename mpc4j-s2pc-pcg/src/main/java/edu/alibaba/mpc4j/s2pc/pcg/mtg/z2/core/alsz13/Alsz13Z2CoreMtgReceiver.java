@@ -135,10 +135,11 @@ public class Alsz13Z2CoreMtgReceiver extends AbstractZ2CoreMtgParty {
         RotReceiverOutput rotReceiverOutput = new RotReceiverOutput(envType, CrhfType.MMO, cotReceiverOutput);
         a1 = BinaryUtils.binaryToRoundByteArray(cotReceiverOutput.getChoices());
         // R sets u = xa
-        byte[][] rbArray = rotReceiverOutput.getRbArray();
+        byte[] flattenRbArray = rotReceiverOutput.getFlattenRbArray();
         IntStream.range(0, num).forEach(tripleIndex -> {
             // 只取每个ROT的最高位1比特
-            BinaryUtils.setBoolean(c1, offset + tripleIndex, rbArray[tripleIndex][0] % 2 == 1);
+            int blockOffset = tripleIndex * CommonConstants.BLOCK_BYTE_LENGTH;
+            BinaryUtils.setBoolean(c1, offset + tripleIndex, flattenRbArray[blockOffset] % 2 == 1);
         });
     }
 
@@ -147,16 +148,17 @@ public class Alsz13Z2CoreMtgReceiver extends AbstractZ2CoreMtgParty {
         CotSenderOutput cotSenderOutput = ncCotSender.send();
         cotSenderOutput.reduce(num);
         RotSenderOutput rotSenderOutput = new RotSenderOutput(envType, CrhfType.MMO, cotSenderOutput);
-        byte[][] r0Array = rotSenderOutput.getR0Array();
-        byte[][] r1Array = rotSenderOutput.getR1Array();
+        byte[] flattenR0Array = rotSenderOutput.getFlattenR0Array();
+        byte[] flattenR1Array = rotSenderOutput.getFlattenR1Array();
         // S sets b = x0 ⊕ x1 and v = x0.
         byte[] cb = new byte[byteNum];
         byte[] x1 = new byte[byteNum];
         IntStream.range(0, num).forEach(tripleIndex -> {
             // 只取每一组ROT的最高位1比特
-            BinaryUtils.setBoolean(cb, offset + tripleIndex, r0Array[tripleIndex][0] % 2 == 1);
-            BinaryUtils.setBoolean(b1, offset + tripleIndex, r0Array[tripleIndex][0] % 2 == 1);
-            BinaryUtils.setBoolean(x1, offset + tripleIndex, r1Array[tripleIndex][0] % 2 == 1);
+            int blockOffset = tripleIndex * CommonConstants.BLOCK_BYTE_LENGTH;
+            BinaryUtils.setBoolean(cb, offset + tripleIndex, flattenR0Array[blockOffset] % 2 == 1);
+            BinaryUtils.setBoolean(b1, offset + tripleIndex, flattenR0Array[blockOffset] % 2 == 1);
+            BinaryUtils.setBoolean(x1, offset + tripleIndex, flattenR1Array[blockOffset] % 2 == 1);
         });
         BytesUtils.xori(b1, x1);
         // Finally, each Pi sets ci = (ai ⊙ bi) ⊕ ui ⊕ vi. This is the ui ⊕ vi part.
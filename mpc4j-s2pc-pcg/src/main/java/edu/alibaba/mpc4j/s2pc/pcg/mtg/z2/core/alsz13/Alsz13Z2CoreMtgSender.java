@@ -133,14 +133,15 @@ public class Alsz13Z2CoreMtgSender extends AbstractZ2CoreMtgParty {
         CotSenderOutput cotSenderOutput = ncCotSender.send();
         cotSenderOutput.reduce(num);
         RotSenderOutput rotSenderOutput = new RotSenderOutput(envType, CrhfType.MMO, cotSenderOutput);
-        byte[][] r0Array = rotSenderOutput.getR0Array();
-        byte[][] r1Array = rotSenderOutput.getR1Array();
+        byte[] flattenR0Array = rotSenderOutput.getFlattenR0Array();
+        byte[] flattenR1Array = rotSenderOutput.getFlattenR1Array();
         byte[] x1 = new byte[byteNum];
         IntStream.range(0, num).forEach(tripleIndex -> {
             // 只取每一组ROT的最高位1比特
-            BinaryUtils.setBoolean(c0, offset + tripleIndex, r0Array[tripleIndex][0] % 2 == 1);
-            BinaryUtils.setBoolean(b0, offset + tripleIndex, r0Array[tripleIndex][0] % 2 == 1);
-            BinaryUtils.setBoolean(x1, offset + tripleIndex, r1Array[tripleIndex][0] % 2 == 1);
+            int blockOffset = tripleIndex * CommonConstants.BLOCK_BYTE_LENGTH;
+            BinaryUtils.setBoolean(c0, offset + tripleIndex, flattenR0Array[blockOffset] % 2 == 1);
+            BinaryUtils.setBoolean(b0, offset + tripleIndex, flattenR0Array[blockOffset] % 2 == 1);
+            BinaryUtils.setBoolean(x1, offset + tripleIndex, flattenR1Array[blockOffset] % 2 == 1);
         });
         BytesUtils.xori(b0, x1);
     }
@@ -151,12 +152,13 @@ public class Alsz13Z2CoreMtgSender extends AbstractZ2CoreMtgParty {
         cotReceiverOutput.reduce(num);
         RotReceiverOutput rotReceiverOutput = new RotReceiverOutput(envType, CrhfType.MMO, cotReceiverOutput);
         a0 = BinaryUtils.binaryToRoundByteArray(cotReceiverOutput.getChoices());
-        byte[][] rbArray = rotReceiverOutput.getRbArray();
+        byte[] flattenRbArray = rotReceiverOutput.getFlattenRbArray();
         // R sets u = xa
         byte[] cb = new byte[byteNum];
         IntStream.range(0, num).forEach(tripleIndex -> {
             // 只取每个ROT的最高位1比特
-            BinaryUtils.setBoolean(cb, offset + tripleIndex, rbArray[tripleIndex][0] % 2 == 1);
+            int blockOffset = tripleIndex * CommonConstants.BLOCK_BYTE_LENGTH;
+            BinaryUtils.setBoolean(cb, offset + tripleIndex, flattenRbArray[blockOffset] % 2 == 1);
         });
         // Finally, each Pi sets ci = (ai ⊙ bi) ⊕ ui ⊕ vi. This is the ui ⊕ vi part.
         BytesUtils.xori(c0, cb);
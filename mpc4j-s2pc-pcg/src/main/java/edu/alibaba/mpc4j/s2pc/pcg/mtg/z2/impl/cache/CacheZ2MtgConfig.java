@@ -2,6 +2,7 @@ package edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.impl.cache;
 
 import edu.alibaba.mpc4j.common.rpc.desc.SecurityModel;
 import edu.alibaba.mpc4j.common.rpc.pto.AbstractMultiPartyPtoConfig;
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
 import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.Z2MtgConfig;
 import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.Z2MtgFactory;
 import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.core.Z2CoreMtgConfig;
@@ -18,16 +19,43 @@ public class CacheZ2MtgConfig extends AbstractMultiPartyPtoConfig implements Z2M
      * core multiplication triple generator config
      */
     private final Z2CoreMtgConfig coreMtgConfig;
+    /**
+     * low watermark of the background refill
+     */
+    private final int lowWatermark;
+    /**
+     * high watermark of the background refill, 0 if the background refill is disabled
+     */
+    private final int highWatermark;
 
     private CacheZ2MtgConfig(Builder builder) {
         super(builder.coreMtgConfig);
         coreMtgConfig = builder.coreMtgConfig;
+        lowWatermark = builder.lowWatermark;
+        highWatermark = builder.highWatermark;
     }
 
     public Z2CoreMtgConfig getCoreMtgConfig() {
         return coreMtgConfig;
     }
 
+    /**
+     * Returns whether a background worker keeps the buffer between the low watermark and the high watermark.
+     *
+     * @return whether the background refill is enabled.
+     */
+    public boolean isBackgroundRefill() {
+        return highWatermark > 0;
+    }
+
+    public int getLowWatermark() {
+        return lowWatermark;
+    }
+
+    public int getHighWatermark() {
+        return highWatermark;
+    }
+
     @Override
     public Z2MtgFactory.Z2MtgType getPtoType() {
         return Z2MtgFactory.Z2MtgType.CACHE;
@@ -38,6 +66,14 @@ public class CacheZ2MtgConfig extends AbstractMultiPartyPtoConfig implements Z2M
          * core multiplication triple generator config
          */
         private Z2CoreMtgConfig coreMtgConfig;
+        /**
+         * low watermark of the background refill
+         */
+        private int lowWatermark;
+        /**
+         * high watermark of the background refill, 0 if the background refill is disabled
+         */
+        private int highWatermark;
 
         public Builder(SecurityModel securityModel) {
             coreMtgConfig = Z2CoreMtgFactory.createDefaultConfig(securityModel, true);
@@ -48,6 +84,23 @@ public class CacheZ2MtgConfig extends AbstractMultiPartyPtoConfig implements Z2M
             return this;
         }
 
+        /**
+         * Enables the background refill. The sender starts refilling once the buffer has less than the low watermark
+         * outputs, and stops refilling once the buffer has at least the high watermark outputs.
+         *
+         * @param lowWatermark  low watermark.
+         * @param highWatermark high watermark.
+         * @return the builder.
+         */
+        public Builder setRefillWatermarks(int lowWatermark, int highWatermark) {
+            MathPreconditions.checkNonNegative("lowWatermark", lowWatermark);
+            MathPreconditions.checkPositive("highWatermark", highWatermark);
+            MathPreconditions.checkGreaterOrEqual("highWatermark", highWatermark, lowWatermark);
+            this.lowWatermark = lowWatermark;
+            this.highWatermark = highWatermark;
+            return this;
+        }
+
         @Override
         public CacheZ2MtgConfig build() {
             return new CacheZ2MtgConfig(this);
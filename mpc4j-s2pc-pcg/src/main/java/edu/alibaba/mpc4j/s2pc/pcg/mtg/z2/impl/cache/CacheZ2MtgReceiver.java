@@ -4,6 +4,7 @@ import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
 import edu.alibaba.mpc4j.common.rpc.Party;
 import edu.alibaba.mpc4j.common.rpc.PtoState;
 import edu.alibaba.mpc4j.common.rpc.Rpc;
+import edu.alibaba.mpc4j.s2pc.pcg.PcgBufferRefiller;
 import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.AbstractZ2MtgParty;
 import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.Z2Triple;
 import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.core.Z2CoreMtgConfig;
@@ -39,9 +40,23 @@ public class CacheZ2MtgReceiver extends AbstractZ2MtgParty {
      * triple buffer
      */
     private Z2Triple tripleBuffer;
+    /**
+     * low watermark of the background refill
+     */
+    private final int lowWatermark;
+    /**
+     * high watermark of the background refill, 0 if the background refill is disabled
+     */
+    private final int highWatermark;
+    /**
+     * background buffer refiller, null if the background refill is disabled
+     */
+    private PcgBufferRefiller<Z2Triple> bufferRefiller;
 
     public CacheZ2MtgReceiver(Rpc receiverRpc, Party senderParty, CacheZ2MtgConfig config) {
         super(CacheZ2MtgPtoDesc.getInstance(), receiverRpc, senderParty, config);
+        lowWatermark = config.getLowWatermark();
+        highWatermark = config.getHighWatermark();
         Z2CoreMtgConfig coreMtgConfig = config.getCoreMtgConfig();
         coreMtgReceiver = Z2CoreMtgFactory.createReceiver(receiverRpc, senderParty, coreMtgConfig);
         addSubPtos(coreMtgReceiver);
@@ -50,6 +65,8 @@ public class CacheZ2MtgReceiver extends AbstractZ2MtgParty {
 
     public CacheZ2MtgReceiver(Rpc receiverRpc, Party senderParty, Party aiderParty, CacheZ2MtgConfig config) {
         super(CacheZ2MtgPtoDesc.getInstance(), receiverRpc, senderParty, config);
+        lowWatermark = config.getLowWatermark();
+        highWatermark = config.getHighWatermark();
         Z2CoreMtgConfig coreMtgConfig = config.getCoreMtgConfig();
         coreMtgReceiver = Z2CoreMtgFactory.createReceiver(receiverRpc, senderParty, aiderParty, coreMtgConfig);
         addSubPtos(coreMtgReceiver);
@@ -61,6 +78,9 @@ public class CacheZ2MtgReceiver extends AbstractZ2MtgParty {
         setInitInput(updateNum);
         logPhaseInfo(PtoState.INIT_BEGIN);
 
+        // stop the worker of the last initialization before re-initializing the generator
+        stopBufferRefiller();
+
         stopWatch.start();
         if (updateNum <= maxBaseNum) {
             // we only need to run one round
@@ -73,6 +93,11 @@ public class CacheZ2MtgReceiver extends AbstractZ2MtgParty {
         }
         coreMtgReceiver.init(updateRoundNum);
         tripleBuffer = Z2Triple.createEmpty();
+        if (highWatermark > 0) {
+            // the refiller owns the buffer
+            bufferRefiller = new PcgBufferRefiller<>(this, false, lowWatermark, highWatermark, () -> coreMtgReceiver.generate(updateRoundNum), tripleBuffer);
+            bufferRefiller.start();
+        }
         stopWatch.stop();
         long initTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
@@ -86,21 +111,23 @@ public class CacheZ2MtgReceiver extends AbstractZ2MtgParty {
         setPtoInput(num);
         logPhaseInfo(PtoState.PTO_BEGIN);
 
-        while (num > tripleBuffer.getNum()) {
-            // generate if we do not have enough triples
-            for (int round = 1; round <= updateRound; round++) {
-                stopWatch.start();
-                Z2Triple triple = coreMtgReceiver.generate(updateRoundNum);
-                tripleBuffer.merge(triple);
-                stopWatch.stop();
-                long roundTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
-                stopWatch.reset();
-                logSubStepInfo(PtoState.PTO_STEP, 0, round, updateRound, roundTime);
+        if (bufferRefiller == null) {
+            while (num > tripleBuffer.getNum()) {
+                // generate if we do not have enough triples
+                for (int round = 1; round <= updateRound; round++) {
+                    stopWatch.start();
+                    Z2Triple triple = coreMtgReceiver.generate(updateRoundNum);
+                    tripleBuffer.merge(triple);
+                    stopWatch.stop();
+                    long roundTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+                    stopWatch.reset();
+                    logSubStepInfo(PtoState.PTO_STEP, 0, round, updateRound, roundTime);
+                }
             }
         }
 
         stopWatch.start();
-        Z2Triple receiverOutput = tripleBuffer.split(num);
+        Z2Triple receiverOutput = bufferRefiller == null ? tripleBuffer.split(num) : bufferRefiller.split(num);
         stopWatch.stop();
         long splitTripleTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
@@ -109,4 +136,26 @@ public class CacheZ2MtgReceiver extends AbstractZ2MtgParty {
         logPhaseInfo(PtoState.PTO_END);
         return receiverOutput;
     }
+
+    /**
+     * Gets the background buffer refiller, which exposes buffer-level and refill-latency metrics.
+     *
+     * @return the background buffer refiller, or null if the background refill is disabled.
+     */
+    public PcgBufferRefiller<Z2Triple> getBufferRefiller() {
+        return bufferRefiller;
+    }
+
+    private void stopBufferRefiller() {
+        if (bufferRefiller != null) {
+            bufferRefiller.stop();
+            bufferRefiller = null;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        stopBufferRefiller();
+        super.destroy();
+    }
 }
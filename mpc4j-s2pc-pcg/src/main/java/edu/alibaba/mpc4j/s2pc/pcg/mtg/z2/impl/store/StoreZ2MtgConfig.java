@@ -0,0 +1,74 @@
+package edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.impl.store;
+
+import com.google.common.base.Preconditions;
+import edu.alibaba.mpc4j.common.rpc.desc.SecurityModel;
+import edu.alibaba.mpc4j.common.rpc.pto.AbstractMultiPartyPtoConfig;
+import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.Z2MtgConfig;
+import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.Z2MtgFactory;
+import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.core.Z2CoreMtgConfig;
+import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.core.Z2CoreMtgFactory;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * store Z2 multiplication triple generator config. Triples are stored in the given directory and consumed in order
+ * across process restarts. Each party must use its own directory.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/22
+ */
+public class StoreZ2MtgConfig extends AbstractMultiPartyPtoConfig implements Z2MtgConfig {
+    /**
+     * core multiplication triple generator config
+     */
+    private final Z2CoreMtgConfig coreMtgConfig;
+    /**
+     * store directory
+     */
+    private final String directory;
+
+    private StoreZ2MtgConfig(Builder builder) {
+        super(builder.coreMtgConfig);
+        coreMtgConfig = builder.coreMtgConfig;
+        directory = builder.directory;
+    }
+
+    public Z2CoreMtgConfig getCoreMtgConfig() {
+        return coreMtgConfig;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    @Override
+    public Z2MtgFactory.Z2MtgType getPtoType() {
+        return Z2MtgFactory.Z2MtgType.STORE;
+    }
+
+    public static class Builder implements org.apache.commons.lang3.builder.Builder<StoreZ2MtgConfig> {
+        /**
+         * core multiplication triple generator config
+         */
+        private Z2CoreMtgConfig coreMtgConfig;
+        /**
+         * store directory
+         */
+        private final String directory;
+
+        public Builder(SecurityModel securityModel, String directory) {
+            Preconditions.checkArgument(StringUtils.isNotBlank(directory), "directory must not be blank");
+            coreMtgConfig = Z2CoreMtgFactory.createDefaultConfig(securityModel, true);
+            this.directory = directory;
+        }
+
+        public Builder setCoreMtgConfig(Z2CoreMtgConfig coreMtgConfig) {
+            this.coreMtgConfig = coreMtgConfig;
+            return this;
+        }
+
+        @Override
+        public StoreZ2MtgConfig build() {
+            return new StoreZ2MtgConfig(this);
+        }
+    }
+}
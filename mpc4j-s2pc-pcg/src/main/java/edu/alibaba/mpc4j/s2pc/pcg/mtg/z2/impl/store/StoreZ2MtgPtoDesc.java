@@ -0,0 +1,51 @@
+package edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.impl.store;
+
+import edu.alibaba.mpc4j.common.rpc.desc.PtoDesc;
+import edu.alibaba.mpc4j.common.rpc.desc.PtoDescManager;
+
+/**
+ * store Z2 multiplication triple generator protocol description.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/22
+ */
+class StoreZ2MtgPtoDesc implements PtoDesc {
+    /**
+     * protocol ID
+     */
+    private static final int PTO_ID = Math.abs((int) 2185726930149786237L);
+    /**
+     * protocol name
+     */
+    private static final String PTO_NAME = "STORE_Z2_MTG";
+
+    /**
+     * singleton mode
+     */
+    private static final StoreZ2MtgPtoDesc INSTANCE = new StoreZ2MtgPtoDesc();
+
+    /**
+     * private constructor.
+     */
+    private StoreZ2MtgPtoDesc() {
+        // empty
+    }
+
+    public static PtoDesc getInstance() {
+        return INSTANCE;
+    }
+
+    static {
+        PtoDescManager.registerPtoDesc(getInstance());
+    }
+
+    @Override
+    public int getPtoId() {
+        return PTO_ID;
+    }
+
+    @Override
+    public String getPtoName() {
+        return PTO_NAME;
+    }
+}
@@ -0,0 +1,146 @@
+package edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.impl.store;
+
+import edu.alibaba.mpc4j.common.rpc.*;
+import edu.alibaba.mpc4j.s2pc.pcg.PcgStore;
+import edu.alibaba.mpc4j.s2pc.pcg.PcgStoreManager;
+import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.AbstractZ2MtgParty;
+import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.Z2Triple;
+import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.core.Z2CoreMtgConfig;
+import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.core.Z2CoreMtgFactory;
+import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.core.Z2CoreMtgParty;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * store Z2 multiplication triple generator receiver. Triples are generated by the core multiplication triple generator
+ * and appended to the store, either in advance by {@link #precompute(int)}, or on demand when the store does not have
+ * enough triples.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/22
+ */
+public class StoreZ2MtgReceiver extends AbstractZ2MtgParty {
+    /**
+     * core multiplication triple generator
+     */
+    private final Z2CoreMtgParty coreMtgReceiver;
+    /**
+     * max base num
+     */
+    private final int maxBaseNum;
+    /**
+     * store directory
+     */
+    private final String directory;
+    /**
+     * protocol fingerprint
+     */
+    private final long fingerprint;
+    /**
+     * num per round
+     */
+    private int roundNum;
+    /**
+     * store manager
+     */
+    private PcgStoreManager<Z2Triple> storeManager;
+
+    public StoreZ2MtgReceiver(Rpc receiverRpc, Party senderParty, StoreZ2MtgConfig config) {
+        super(StoreZ2MtgPtoDesc.getInstance(), receiverRpc, senderParty, config);
+        Z2CoreMtgConfig coreMtgConfig = config.getCoreMtgConfig();
+        coreMtgReceiver = Z2CoreMtgFactory.createReceiver(receiverRpc, senderParty, coreMtgConfig);
+        addSubPtos(coreMtgReceiver);
+        maxBaseNum = coreMtgConfig.maxNum();
+        directory = config.getDirectory();
+        fingerprint = computeFingerprint(config);
+    }
+
+    public StoreZ2MtgReceiver(Rpc receiverRpc, Party senderParty, Party aiderParty, StoreZ2MtgConfig config) {
+        super(StoreZ2MtgPtoDesc.getInstance(), receiverRpc, senderParty, config);
+        Z2CoreMtgConfig coreMtgConfig = config.getCoreMtgConfig();
+        coreMtgReceiver = Z2CoreMtgFactory.createReceiver(receiverRpc, senderParty, aiderParty, coreMtgConfig);
+        addSubPtos(coreMtgReceiver);
+        maxBaseNum = coreMtgConfig.maxNum();
+        directory = config.getDirectory();
+        fingerprint = computeFingerprint(config);
+    }
+
+    private long computeFingerprint(StoreZ2MtgConfig config) {
+        Z2CoreMtgConfig coreMtgConfig = config.getCoreMtgConfig();
+        return PcgStore.fingerprint(
+            getPtoName() + "_RECEIVER_" + coreMtgConfig.getPtoType().name() + "_" + config.getSecurityModel().name()
+        );
+    }
+
+    @Override
+    public void init(int updateNum) throws MpcAbortException {
+        setInitInput(updateNum);
+        logPhaseInfo(PtoState.INIT_BEGIN);
+
+        stopWatch.start();
+        roundNum = Math.min(updateNum, maxBaseNum);
+        PcgStore<Z2Triple> store = new PcgStore<>(directory, fingerprint, new Z2TripleStoreCodec());
+        storeManager = new PcgStoreManager<>(this, false, store, roundNum, () -> coreMtgReceiver.generate(roundNum));
+        coreMtgReceiver.init(roundNum);
+        stopWatch.stop();
+        long openTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        stopWatch.reset();
+        logStepInfo(PtoState.INIT_STEP, 1, 2, openTime);
+
+        stopWatch.start();
+        storeManager.synchronize();
+        stopWatch.stop();
+        long synchronizeTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        stopWatch.reset();
+        logStepInfo(PtoState.INIT_STEP, 2, 2, synchronizeTime, "stored num = " + storeManager.getNum());
+
+        logPhaseInfo(PtoState.INIT_END);
+    }
+
+    /**
+     * Generates at least the given number of triples and appends them to the store. Both parties must invoke it with
+     * the same number.
+     *
+     * @param num the number of triples.
+     * @throws MpcAbortException the protocol failure aborts.
+     */
+    public void precompute(int num) throws MpcAbortException {
+        checkInitialized();
+        logPhaseInfo(PtoState.PTO_BEGIN, "precompute");
+
+        stopWatch.start();
+        storeManager.precompute(num);
+        stopWatch.stop();
+        long precomputeTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        stopWatch.reset();
+        logStepInfo(PtoState.PTO_STEP, 1, 1, precomputeTime, "stored num = " + storeManager.getNum());
+
+        logPhaseInfo(PtoState.PTO_END, "precompute");
+    }
+
+    @Override
+    public Z2Triple generate(int num) throws MpcAbortException {
+        setPtoInput(num);
+        logPhaseInfo(PtoState.PTO_BEGIN);
+
+        stopWatch.start();
+        Z2Triple receiverOutput = storeManager.take(num);
+        stopWatch.stop();
+        long takeTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        stopWatch.reset();
+        logStepInfo(PtoState.PTO_STEP, 1, 1, takeTime);
+
+        logPhaseInfo(PtoState.PTO_END);
+        return receiverOutput;
+    }
+
+    /**
+     * Gets the number of stored triples that are not consumed.
+     *
+     * @return the number of stored triples that are not consumed.
+     */
+    public long getStoredNum() {
+        checkInitialized();
+        return storeManager.getNum();
+    }
+}
@@ -0,0 +1,49 @@
+package edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.impl.store;
+
+import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
+import edu.alibaba.mpc4j.s2pc.pcg.PcgStoreCodec;
+import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.Z2Triple;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Z2 triple store codec. There is no meta data, and the triple is encoded as a || b || c, each represented by bytes.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/22
+ */
+class Z2TripleStoreCodec implements PcgStoreCodec<Z2Triple> {
+
+    @Override
+    public byte[] getMeta() {
+        return new byte[0];
+    }
+
+    @Override
+    public byte[] encode(Z2Triple output) {
+        ByteBuffer byteBuffer = ByteBuffer.allocate(output.getByteNum() * 3);
+        byteBuffer.put(output.getA());
+        byteBuffer.put(output.getB());
+        byteBuffer.put(output.getC());
+        return byteBuffer.array();
+    }
+
+    @Override
+    public Z2Triple decode(int num, byte[] encoded) {
+        int byteNum = CommonUtils.getByteLength(num);
+        assert encoded.length == byteNum * 3;
+        ByteBuffer byteBuffer = ByteBuffer.wrap(encoded);
+        byte[] a = new byte[byteNum];
+        byteBuffer.get(a);
+        byte[] b = new byte[byteNum];
+        byteBuffer.get(b);
+        byte[] c = new byte[byteNum];
+        byteBuffer.get(c);
+        return Z2Triple.create(num, a, b, c);
+    }
+
+    @Override
+    public Z2Triple createEmpty() {
+        return Z2Triple.createEmpty();
+    }
+}
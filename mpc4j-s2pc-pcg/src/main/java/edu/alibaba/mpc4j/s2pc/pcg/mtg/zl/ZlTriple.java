@@ -1,13 +1,14 @@
 package edu.alibaba.mpc4j.s2pc.pcg.mtg.zl;
 
 import edu.alibaba.mpc4j.common.tool.galoisfield.zl.Zl;
+import edu.alibaba.mpc4j.common.tool.utils.LongUtils;
 import edu.alibaba.mpc4j.s2pc.pcg.MergedPcgPartyOutput;
 
 import java.math.BigInteger;
 import java.util.Arrays;
 
 /**
- * ZL triple.
+ * ZL triple. When l <= 64, a, b and c are packed into long[] so that no element is boxed into BigInteger.
  *
  * @author Weiran Liu
  * @date 2022/4/11
@@ -33,6 +34,22 @@ public class ZlTriple implements MergedPcgPartyOutput {
      * c
      */
     private BigInteger[] cs;
+    /**
+     * whether a, b and c are packed into long[], i.e., l <= 64.
+     */
+    private boolean longPacked;
+    /**
+     * a, used when l <= 64
+     */
+    private long[] longAs;
+    /**
+     * b, used when l <= 64
+     */
+    private long[] longBs;
+    /**
+     * c, used when l <= 64
+     */
+    private long[] longCs;
 
     /**
      * Creates a triple.
@@ -53,6 +70,28 @@ public class ZlTriple implements MergedPcgPartyOutput {
         ZlTriple triple = new ZlTriple();
         triple.zl = zl;
         triple.num = num;
+        triple.longPacked = isLongPacked(zl);
+        if (triple.longPacked) {
+            triple.longAs = Arrays.stream(as)
+                .peek(a -> {
+                    assert triple.zl.validateElement(a);
+                })
+                .mapToLong(BigInteger::longValue)
+                .toArray();
+            triple.longBs = Arrays.stream(bs)
+                .peek(b -> {
+                    assert triple.zl.validateElement(b);
+                })
+                .mapToLong(BigInteger::longValue)
+                .toArray();
+            triple.longCs = Arrays.stream(cs)
+                .peek(c -> {
+                    assert triple.zl.validateElement(c);
+                })
+                .mapToLong(BigInteger::longValue)
+                .toArray();
+            return triple;
+        }
         triple.as = Arrays.stream(as)
             .peek(a -> {
                 assert triple.zl.validateElement(a);
@@ -72,6 +111,39 @@ public class ZlTriple implements MergedPcgPartyOutput {
         return triple;
     }
 
+    /**
+     * Creates a triple with l <= 64, where a, b and c are treated as unsigned long values. Note that a, b and c are not
+     * copied.
+     *
+     * @param zl  the Zl instance.
+     * @param num num.
+     * @param as  a.
+     * @param bs  b.
+     * @param cs  c.
+     * @return a triple.
+     */
+    public static ZlTriple create(Zl zl, int num, long[] as, long[] bs, long[] cs) {
+        assert isLongPacked(zl) : "l must be in range (0, " + Long.SIZE + "]: " + zl.getL();
+        assert num > 0 : "num must be greater than 0: " + num;
+        assert as.length == num : "a.length must be equal to num = " + num + ": " + as.length;
+        assert bs.length == num : "b.length must be equal to num = " + num + ": " + bs.length;
+        assert cs.length == num : "c.length must be equal to num = " + num + ": " + cs.length;
+
+        ZlTriple triple = new ZlTriple();
+        triple.zl = zl;
+        triple.num = num;
+        triple.longPacked = true;
+        triple.longAs = as;
+        triple.longBs = bs;
+        triple.longCs = cs;
+
+        return triple;
+    }
+
+    private static boolean isLongPacked(Zl zl) {
+        return zl.getL() <= Long.SIZE;
+    }
+
     /**
      * Creates an empty triple.
      *
@@ -82,9 +154,16 @@ public class ZlTriple implements MergedPcgPartyOutput {
         ZlTriple emptyTriple = new ZlTriple();
         emptyTriple.zl = zl;
         emptyTriple.num = 0;
-        emptyTriple.as = new BigInteger[0];
-        emptyTriple.bs = new BigInteger[0];
-        emptyTriple.cs = new BigInteger[0];
+        emptyTriple.longPacked = isLongPacked(zl);
+        if (emptyTriple.longPacked) {
+            emptyTriple.longAs = new long[0];
+            emptyTriple.longBs = new long[0];
+            emptyTriple.longCs = new long[0];
+        } else {
+            emptyTriple.as = new BigInteger[0];
+            emptyTriple.bs = new BigInteger[0];
+            emptyTriple.cs = new BigInteger[0];
+        }
 
         return emptyTriple;
     }
@@ -104,6 +183,16 @@ public class ZlTriple implements MergedPcgPartyOutput {
     @Override
     public ZlTriple split(int splitNum) {
         assert splitNum > 0 && splitNum <= num : "splitNum must be in range (0, " + num + "]: " + splitNum;
+        if (longPacked) {
+            long[] aSubs = Arrays.copyOf(longAs, splitNum);
+            longAs = Arrays.copyOfRange(longAs, splitNum, num);
+            long[] bSubs = Arrays.copyOf(longBs, splitNum);
+            longBs = Arrays.copyOfRange(longBs, splitNum, num);
+            long[] cSubs = Arrays.copyOf(longCs, splitNum);
+            longCs = Arrays.copyOfRange(longCs, splitNum, num);
+            num = num - splitNum;
+            return ZlTriple.create(zl, splitNum, aSubs, bSubs, cSubs);
+        }
         // split a
         BigInteger[] aSubs = new BigInteger[splitNum];
         BigInteger[] aRemains = new BigInteger[num - splitNum];
@@ -132,7 +221,12 @@ public class ZlTriple implements MergedPcgPartyOutput {
     public void reduce(int reduceNum) {
         assert reduceNum > 0 && reduceNum <= num : "reduceNum must be in range (0, " + num + "]: " + reduceNum;
         // if the reduced num is less than num, split the triple. If not, keep the current state.
-        if (reduceNum < num) {
+        if (reduceNum < num && longPacked) {
+            longAs = Arrays.copyOf(longAs, reduceNum);
+            longBs = Arrays.copyOf(longBs, reduceNum);
+            longCs = Arrays.copyOf(longCs, reduceNum);
+            num = reduceNum;
+        } else if (reduceNum < num) {
             // reduce a
             BigInteger[] aRemains = new BigInteger[reduceNum];
             System.arraycopy(as, 0, aRemains, 0, reduceNum);
@@ -156,6 +250,13 @@ public class ZlTriple implements MergedPcgPartyOutput {
         assert this.zl.equals(that.zl) : "merged " + this.getClass().getSimpleName()
             + " must have the same " + zl.getClass().getSimpleName() + " instance:"
             + " (" + this.zl + " : " + that.zl + ")";
+        if (longPacked) {
+            longAs = mergeLongs(this.longAs, that.longAs);
+            longBs = mergeLongs(this.longBs, that.longBs);
+            longCs = mergeLongs(this.longCs, that.longCs);
+            num += that.num;
+            return;
+        }
         // merge a
         BigInteger[] mergeAs = new BigInteger[this.as.length + that.as.length];
         System.arraycopy(this.as, 0, mergeAs, 0, this.as.length);
@@ -175,6 +276,12 @@ public class ZlTriple implements MergedPcgPartyOutput {
         num += that.num;
     }
 
+    private static long[] mergeLongs(long[] thisLongs, long[] thatLongs) {
+        long[] mergeLongs = Arrays.copyOf(thisLongs, thisLongs.length + thatLongs.length);
+        System.arraycopy(thatLongs, 0, mergeLongs, thisLongs.length, thatLongs.length);
+        return mergeLongs;
+    }
+
     /**
      * Gets the Zl instance.
      *
@@ -184,6 +291,15 @@ public class ZlTriple implements MergedPcgPartyOutput {
         return zl;
     }
 
+    /**
+     * Returns if a, b and c are packed into long[], i.e., l <= 64.
+     *
+     * @return true if a, b and c are packed into long[].
+     */
+    public boolean isLongPacked() {
+        return longPacked;
+    }
+
     /**
      * Gets a[i]。
      *
@@ -191,7 +307,7 @@ public class ZlTriple implements MergedPcgPartyOutput {
      * @return a[i].
      */
     public BigInteger getA(int index) {
-        return as[index];
+        return longPacked ? LongUtils.unsignedLongToBigInteger(longAs[index]) : as[index];
     }
 
     /**
@@ -200,9 +316,22 @@ public class ZlTriple implements MergedPcgPartyOutput {
      * @return a.
      */
     public BigInteger[] getA() {
+        if (longPacked) {
+            return Arrays.stream(longAs).mapToObj(LongUtils::unsignedLongToBigInteger).toArray(BigInteger[]::new);
+        }
         return as;
     }
 
+    /**
+     * Gets a as unsigned long values. Only supported when l <= 64.
+     *
+     * @return a.
+     */
+    public long[] getLongA() {
+        assert longPacked : "l must be in range (0, " + Long.SIZE + "]: " + zl.getL();
+        return longAs;
+    }
+
     /**
      * Gets b[i].
      *
@@ -210,7 +339,7 @@ public class ZlTriple implements MergedPcgPartyOutput {
      * @return b[i].
      */
     public BigInteger getB(int index) {
-        return bs[index];
+        return longPacked ? LongUtils.unsignedLongToBigInteger(longBs[index]) : bs[index];
     }
 
     /**
@@ -219,9 +348,22 @@ public class ZlTriple implements MergedPcgPartyOutput {
      * @return b.
      */
     public BigInteger[] getB() {
+        if (longPacked) {
+            return Arrays.stream(longBs).mapToObj(LongUtils::unsignedLongToBigInteger).toArray(BigInteger[]::new);
+        }
         return bs;
     }
 
+    /**
+     * Gets b as unsigned long values. Only supported when l <= 64.
+     *
+     * @return b.
+     */
+    public long[] getLongB() {
+        assert longPacked : "l must be in range (0, " + Long.SIZE + "]: " + zl.getL();
+        return longBs;
+    }
+
     /**
      * Gets c[i].
      *
@@ -229,7 +371,7 @@ public class ZlTriple implements MergedPcgPartyOutput {
      * @return c[i].
      */
     public BigInteger getC(int index) {
-        return cs[index];
+        return longPacked ? LongUtils.unsignedLongToBigInteger(longCs[index]) : cs[index];
     }
 
     /**
@@ -238,6 +380,19 @@ public class ZlTriple implements MergedPcgPartyOutput {
      * @return c.
      */
     public BigInteger[] getC() {
+        if (longPacked) {
+            return Arrays.stream(longCs).mapToObj(LongUtils::unsignedLongToBigInteger).toArray(BigInteger[]::new);
+        }
         return cs;
     }
+
+    /**
+     * Gets c as unsigned long values. Only supported when l <= 64.
+     *
+     * @return c.
+     */
+    public long[] getLongC() {
+        assert longPacked : "l must be in range (0, " + Long.SIZE + "]: " + zl.getL();
+        return longCs;
+    }
 }
@@ -4,19 +4,21 @@ import edu.alibaba.mpc4j.common.rpc.*;
 import edu.alibaba.mpc4j.common.rpc.pto.AbstractThreePartyPto;
 import edu.alibaba.mpc4j.common.rpc.utils.DataPacket;
 import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacketStreamUtils;
 import edu.alibaba.mpc4j.common.tool.MathPreconditions;
 import edu.alibaba.mpc4j.common.tool.galoisfield.zl.Zl;
-import edu.alibaba.mpc4j.common.tool.utils.BigIntegerUtils;
 import edu.alibaba.mpc4j.common.tool.utils.IntUtils;
+import edu.alibaba.mpc4j.crypto.matrix.vector.ZlVector;
 import edu.alibaba.mpc4j.s2pc.pcg.aid.TrustDealPtoDesc;
 import edu.alibaba.mpc4j.s2pc.pcg.aid.TrustDealType;
+import edu.alibaba.mpc4j.s2pc.pcg.aid.TrustDealUtils;
 import edu.alibaba.mpc4j.s2pc.pcg.mtg.zl.ZlTriple;
 import edu.alibaba.mpc4j.s2pc.pcg.mtg.zl.core.ZlCoreMtgParty;
 
 import java.math.BigInteger;
-import java.nio.ByteBuffer;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -38,6 +40,10 @@ public class AidZlCoreMtgParty extends AbstractThreePartyPto implements ZlCoreMt
      * max num
      */
     private int maxNum;
+    /**
+     * whether this party is the seed party, otherwise it is the correction party
+     */
+    private boolean seedParty;
 
     public AidZlCoreMtgParty(Rpc ownRpc, Party otherParty, Party aiderParty, AidZlCoreMtgConfig config) {
         super(TrustDealPtoDesc.getInstance(), ownRpc, otherParty, aiderParty, config);
@@ -74,7 +80,13 @@ public class AidZlCoreMtgParty extends AbstractThreePartyPto implements ZlCoreMt
 
         stopWatch.start();
         // handle init response
-        MpcAbortPreconditions.checkArgument(initResponsePayload.size() == 0);
+        MpcAbortPreconditions.checkArgument(initResponsePayload.size() == 1);
+        byte[] role = initResponsePayload.remove(0);
+        MpcAbortPreconditions.checkArgument(role.length == 1);
+        MpcAbortPreconditions.checkArgument(
+            role[0] == TrustDealUtils.SEED_PARTY || role[0] == TrustDealUtils.CORRECTION_PARTY
+        );
+        seedParty = (role[0] == TrustDealUtils.SEED_PARTY);
         stopWatch.stop();
         long initResponseTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
@@ -111,38 +123,71 @@ public class AidZlCoreMtgParty extends AbstractThreePartyPto implements ZlCoreMt
             encodeTaskId, getPtoDesc().getPtoId(), TrustDealPtoDesc.AidPtoStep.REQUEST_RESPONSE.ordinal(), extraInfo,
             rightParty().getPartyId(), ownParty().getPartyId()
         );
-        List<byte[]> requestResponsePayload = rpc.receive(requestResponseHeader).getPayload();
 
         stopWatch.start();
-        MpcAbortPreconditions.checkArgument(requestResponsePayload.size() == 3);
-        ByteBuffer aiBuffer = ByteBuffer.wrap(requestResponsePayload.remove(0));
-        ByteBuffer biBuffer = ByteBuffer.wrap(requestResponsePayload.remove(0));
-        ByteBuffer ciBuffer = ByteBuffer.wrap(requestResponsePayload.remove(0));
-        // convert to (ai, bi, ci)
-        int byteL = zl.getByteL();
-        byte[] byteBufferArray = new byte[byteL];
-        BigInteger[] aiArray = new BigInteger[num];
-        for (int index = 0; index < num; index++) {
-            aiBuffer.get(byteBufferArray);
-            aiArray[index] = BigIntegerUtils.byteArrayToNonNegBigInteger(byteBufferArray);
-        }
-        BigInteger[] biArray = new BigInteger[num];
-        for (int index = 0; index < num; index++) {
-            biBuffer.get(byteBufferArray);
-            biArray[index] = BigIntegerUtils.byteArrayToNonNegBigInteger(byteBufferArray);
-        }
-        BigInteger[] ciArray = new BigInteger[num];
-        for (int index = 0; index < num; index++) {
-            ciBuffer.get(byteBufferArray);
-            ciArray[index] = BigIntegerUtils.byteArrayToNonNegBigInteger(byteBufferArray);
+        // the seed party receives a seed for each chunk, the correction party also receives c1 for each chunk.
+        // each chunk is expanded once it is received, so that the expansion overlaps with receiving other chunks.
+        int[] chunkNums = TrustDealUtils.chunkNums(num);
+        // l <= 64, directly copy long[] without boxing
+        boolean longElement = zl.getL() <= Long.SIZE;
+        long[] aiLongArray = longElement ? new long[num] : null;
+        long[] biLongArray = longElement ? new long[num] : null;
+        long[] ciLongArray = longElement ? new long[num] : null;
+        BigInteger[] aiArray = longElement ? null : new BigInteger[num];
+        BigInteger[] biArray = longElement ? null : new BigInteger[num];
+        BigInteger[] ciArray = longElement ? null : new BigInteger[num];
+        List<CompletableFuture<Void>> expandFutures = new LinkedList<>();
+        int chunkOffset = 0;
+        for (int chunkIndex = 0; chunkIndex < chunkNums.length; chunkIndex++) {
+            DataPacketHeader chunkResponseHeader = DataPacketStreamUtils.getChunkHeader(requestResponseHeader, chunkIndex);
+            List<byte[]> chunkResponsePayload = rpc.receive(chunkResponseHeader).getPayload();
+            int chunkNum = chunkNums[chunkIndex];
+            MpcAbortPreconditions.checkArgument(chunkResponsePayload.size() == (seedParty ? 1 : 2));
+            byte[] seed = chunkResponsePayload.get(0);
+            MpcAbortPreconditions.checkArgument(seed.length == TrustDealUtils.SEED_BYTE_LENGTH);
+            byte[] c1 = seedParty ? null : chunkResponsePayload.get(1);
+            if (!seedParty) {
+                // each element of c1 must be in [0, 2^l)
+                MpcAbortPreconditions.checkArgument(TrustDealUtils.isValidZl(zl, c1, chunkNum));
+            }
+            int offset = chunkOffset;
+            Runnable expandChunk = () -> {
+                ZlVector[] vectors;
+                if (seedParty) {
+                    vectors = TrustDealUtils.expandZl(envType, zl, seed, chunkNum, 3);
+                } else {
+                    ZlVector[] seedVectors = TrustDealUtils.expandZl(envType, zl, seed, chunkNum, 2);
+                    ZlVector c1Vector = TrustDealUtils.decodeZl(zl, c1, chunkNum);
+                    vectors = new ZlVector[] {seedVectors[0], seedVectors[1], c1Vector};
+                }
+                if (longElement) {
+                    System.arraycopy(vectors[0].getLongElements(), 0, aiLongArray, offset, chunkNum);
+                    System.arraycopy(vectors[1].getLongElements(), 0, biLongArray, offset, chunkNum);
+                    System.arraycopy(vectors[2].getLongElements(), 0, ciLongArray, offset, chunkNum);
+                } else {
+                    System.arraycopy(vectors[0].getElements(), 0, aiArray, offset, chunkNum);
+                    System.arraycopy(vectors[1].getElements(), 0, biArray, offset, chunkNum);
+                    System.arraycopy(vectors[2].getElements(), 0, ciArray, offset, chunkNum);
+                }
+            };
+            if (parallel) {
+                expandFutures.add(CompletableFuture.runAsync(expandChunk));
+            } else {
+                expandChunk.run();
+            }
+            chunkOffset += chunkNum;
         }
+        expandFutures.forEach(CompletableFuture::join);
+        ZlTriple triple = longElement
+            ? ZlTriple.create(zl, num, aiLongArray, biLongArray, ciLongArray)
+            : ZlTriple.create(zl, num, aiArray, biArray, ciArray);
         stopWatch.stop();
         long requestResponseTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
         logStepInfo(PtoState.PTO_STEP, 2, 2, requestResponseTime);
 
         logPhaseInfo(PtoState.PTO_END);
-        return ZlTriple.create(zl, num, aiArray, biArray, ciArray);
+        return triple;
     }
 
     protected void setPtoInput(int num) {
@@ -2,6 +2,7 @@ package edu.alibaba.mpc4j.s2pc.pcg.mtg.zl.impl.cache;
 
 import edu.alibaba.mpc4j.common.rpc.desc.SecurityModel;
 import edu.alibaba.mpc4j.common.rpc.pto.AbstractMultiPartyPtoConfig;
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
 import edu.alibaba.mpc4j.common.tool.galoisfield.zl.Zl;
 import edu.alibaba.mpc4j.s2pc.pcg.mtg.zl.ZlMtgConfig;
 import edu.alibaba.mpc4j.s2pc.pcg.mtg.zl.ZlMtgFactory;
@@ -19,16 +20,43 @@ public class CacheZlMtgConfig extends AbstractMultiPartyPtoConfig implements ZlM
      * core multiplication triple generator config
      */
     private final ZlCoreMtgConfig coreMtgConfig;
+    /**
+     * low watermark of the background refill
+     */
+    private final int lowWatermark;
+    /**
+     * high watermark of the background refill, 0 if the background refill is disabled
+     */
+    private final int highWatermark;
 
     private CacheZlMtgConfig(Builder builder) {
         super(builder.coreMtgConfig);
         coreMtgConfig = builder.coreMtgConfig;
+        lowWatermark = builder.lowWatermark;
+        highWatermark = builder.highWatermark;
     }
 
     public ZlCoreMtgConfig getCoreMtgConfig() {
         return coreMtgConfig;
     }
 
+    /**
+     * Returns whether a background worker keeps the buffer between the low watermark and the high watermark.
+     *
+     * @return whether the background refill is enabled.
+     */
+    public boolean isBackgroundRefill() {
+        return highWatermark > 0;
+    }
+
+    public int getLowWatermark() {
+        return lowWatermark;
+    }
+
+    public int getHighWatermark() {
+        return highWatermark;
+    }
+
     @Override
     public ZlMtgFactory.ZlMtgType getPtoType() {
         return ZlMtgFactory.ZlMtgType.CACHE;
@@ -44,6 +72,14 @@ public class CacheZlMtgConfig extends AbstractMultiPartyPtoConfig implements ZlM
          * core multiplication triple generator config
          */
         private ZlCoreMtgConfig coreMtgConfig;
+        /**
+         * low watermark of the background refill
+         */
+        private int lowWatermark;
+        /**
+         * high watermark of the background refill, 0 if the background refill is disabled
+         */
+        private int highWatermark;
 
         public Builder(SecurityModel securityModel, Zl zl) {
             coreMtgConfig = ZlCoreMtgFactory.createDefaultConfig(securityModel, zl);
@@ -54,6 +90,23 @@ public class CacheZlMtgConfig extends AbstractMultiPartyPtoConfig implements ZlM
             return this;
         }
 
+        /**
+         * Enables the background refill. The sender starts refilling once the buffer has less than the low watermark
+         * outputs, and stops refilling once the buffer has at least the high watermark outputs.
+         *
+         * @param lowWatermark  low watermark.
+         * @param highWatermark high watermark.
+         * @return the builder.
+         */
+        public Builder setRefillWatermarks(int lowWatermark, int highWatermark) {
+            MathPreconditions.checkNonNegative("lowWatermark", lowWatermark);
+            MathPreconditions.checkPositive("highWatermark", highWatermark);
+            MathPreconditions.checkGreaterOrEqual("highWatermark", highWatermark, lowWatermark);
+            this.lowWatermark = lowWatermark;
+            this.highWatermark = highWatermark;
+            return this;
+        }
+
         @Override
         public CacheZlMtgConfig build() {
             return new CacheZlMtgConfig(this);
@@ -4,6 +4,7 @@ import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
 import edu.alibaba.mpc4j.common.rpc.Party;
 import edu.alibaba.mpc4j.common.rpc.PtoState;
 import edu.alibaba.mpc4j.common.rpc.Rpc;
+import edu.alibaba.mpc4j.s2pc.pcg.PcgBufferRefiller;
 import edu.alibaba.mpc4j.s2pc.pcg.mtg.zl.AbstractZlMtgParty;
 import edu.alibaba.mpc4j.s2pc.pcg.mtg.zl.ZlTriple;
 import edu.alibaba.mpc4j.s2pc.pcg.mtg.zl.core.ZlCoreMtgConfig;
@@ -39,9 +40,23 @@ public class CacheZlMtgSender extends AbstractZlMtgParty {
      * triple buffer
      */
     private ZlTriple tripleBuffer;
+    /**
+     * low watermark of the background refill
+     */
+    private final int lowWatermark;
+    /**
+     * high watermark of the background refill, 0 if the background refill is disabled
+     */
+    private final int highWatermark;
+    /**
+     * background buffer refiller, null if the background refill is disabled
+     */
+    private PcgBufferRefiller<ZlTriple> bufferRefiller;
 
     public CacheZlMtgSender(Rpc senderRpc, Party receiverParty, CacheZlMtgConfig config) {
         super(CacheZlMtgPtoDesc.getInstance(), senderRpc, receiverParty, config);
+        lowWatermark = config.getLowWatermark();
+        highWatermark = config.getHighWatermark();
         ZlCoreMtgConfig coreMtgConfig = config.getCoreMtgConfig();
         coreMtgSender = ZlCoreMtgFactory.createSender(senderRpc, receiverParty, coreMtgConfig);
         addSubPtos(coreMtgSender);
@@ -50,6 +65,8 @@ public class CacheZlMtgSender extends AbstractZlMtgParty {
 
     public CacheZlMtgSender(Rpc senderRpc, Party receiverParty, Party aiderParty, CacheZlMtgConfig config) {
         super(CacheZlMtgPtoDesc.getInstance(), senderRpc, receiverParty, config);
+        lowWatermark = config.getLowWatermark();
+        highWatermark = config.getHighWatermark();
         ZlCoreMtgConfig coreMtgConfig = config.getCoreMtgConfig();
         coreMtgSender = ZlCoreMtgFactory.createSender(senderRpc, receiverParty, aiderParty, coreMtgConfig);
         addSubPtos(coreMtgSender);
@@ -61,6 +78,9 @@ public class CacheZlMtgSender extends AbstractZlMtgParty {
         setInitInput(updateNum);
         logPhaseInfo(PtoState.INIT_BEGIN);
 
+        // stop the worker of the last initialization before re-initializing the generator
+        stopBufferRefiller();
+
         stopWatch.start();
         if (updateNum <= maxBaseNum) {
             // we only need to run one round
@@ -73,6 +93,11 @@ public class CacheZlMtgSender extends AbstractZlMtgParty {
         }
         coreMtgSender.init(updateRoundNum);
         tripleBuffer = ZlTriple.createEmpty(zl);
+        if (highWatermark > 0) {
+            // the refiller owns the buffer
+            bufferRefiller = new PcgBufferRefiller<>(this, true, lowWatermark, highWatermark, () -> coreMtgSender.generate(updateRoundNum), tripleBuffer);
+            bufferRefiller.start();
+        }
         stopWatch.stop();
         long initTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
@@ -86,21 +111,23 @@ public class CacheZlMtgSender extends AbstractZlMtgParty {
         setPtoInput(num);
         logPhaseInfo(PtoState.PTO_BEGIN);
 
-        while (num > tripleBuffer.getNum()) {
-            // generate if we do not have enough triples
-            for (int round = 1; round <= updateRound; round++) {
-                stopWatch.start();
-                ZlTriple triple = coreMtgSender.generate(updateRoundNum);
-                tripleBuffer.merge(triple);
-                stopWatch.stop();
-                long roundTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
-                stopWatch.reset();
-                logSubStepInfo(PtoState.PTO_STEP, 0, round, updateRound, roundTime);
+        if (bufferRefiller == null) {
+            while (num > tripleBuffer.getNum()) {
+                // generate if we do not have enough triples
+                for (int round = 1; round <= updateRound; round++) {
+                    stopWatch.start();
+                    ZlTriple triple = coreMtgSender.generate(updateRoundNum);
+                    tripleBuffer.merge(triple);
+                    stopWatch.stop();
+                    long roundTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+                    stopWatch.reset();
+                    logSubStepInfo(PtoState.PTO_STEP, 0, round, updateRound, roundTime);
+                }
             }
         }
 
         stopWatch.start();
-        ZlTriple senderOutput = tripleBuffer.split(num);
+        ZlTriple senderOutput = bufferRefiller == null ? tripleBuffer.split(num) : bufferRefiller.split(num);
         stopWatch.stop();
         long splitTripleTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
@@ -109,4 +136,26 @@ public class CacheZlMtgSender extends AbstractZlMtgParty {
         logPhaseInfo(PtoState.PTO_END);
         return senderOutput;
     }
+
+    /**
+     * Gets the background buffer refiller, which exposes buffer-level and refill-latency metrics.
+     *
+     * @return the background buffer refiller, or null if the background refill is disabled.
+     */
+    public PcgBufferRefiller<ZlTriple> getBufferRefiller() {
+        return bufferRefiller;
+    }
+
+    private void stopBufferRefiller() {
+        if (bufferRefiller != null) {
+            bufferRefiller.stop();
+            bufferRefiller = null;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        stopBufferRefiller();
+        super.destroy();
+    }
 }
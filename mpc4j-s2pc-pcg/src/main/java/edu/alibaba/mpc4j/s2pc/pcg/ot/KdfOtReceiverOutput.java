@@ -4,6 +4,7 @@ import edu.alibaba.mpc4j.common.tool.CommonConstants;
 import edu.alibaba.mpc4j.common.tool.EnvType;
 import edu.alibaba.mpc4j.common.tool.crypto.kdf.Kdf;
 import edu.alibaba.mpc4j.common.tool.crypto.kdf.KdfFactory;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotReceiverOutput;
 
 import java.nio.ByteBuffer;
 
@@ -18,6 +19,10 @@ public class KdfOtReceiverOutput {
      * correlated oblivious transfer receiver output
      */
     private final OtReceiverOutput otReceiverOutput;
+    /**
+     * COT receiver output if the output is a COT receiver output, otherwise null
+     */
+    private final CotReceiverOutput cotReceiverOutput;
     /**
      * key derivation function
      */
@@ -25,6 +30,7 @@ public class KdfOtReceiverOutput {
 
     public KdfOtReceiverOutput(EnvType envType, OtReceiverOutput otReceiverOutput) {
         this.otReceiverOutput = otReceiverOutput;
+        cotReceiverOutput = otReceiverOutput instanceof CotReceiverOutput ? (CotReceiverOutput) otReceiverOutput : null;
         kdf = KdfFactory.createInstance(envType);
     }
 
@@ -36,10 +42,14 @@ public class KdfOtReceiverOutput {
      * @return R0.
      */
     public byte[] getKb(int index, long counter) {
-        byte[] seed = ByteBuffer.allocate(Long.BYTES + CommonConstants.BLOCK_BYTE_LENGTH)
-            .putLong(counter).put(otReceiverOutput.getRb(index))
-            .array();
-        return kdf.deriveKey(seed);
+        ByteBuffer seedBuffer = ByteBuffer.allocate(Long.BYTES + CommonConstants.BLOCK_BYTE_LENGTH).putLong(counter);
+        if (cotReceiverOutput != null) {
+            // read the packed Rb, without creating byte[] for Rb
+            seedBuffer.putLong(cotReceiverOutput.getLongRb(index, 0)).putLong(cotReceiverOutput.getLongRb(index, 1));
+        } else {
+            seedBuffer.put(otReceiverOutput.getRb(index));
+        }
+        return kdf.deriveKey(seedBuffer.array());
     }
 
     /**
@@ -4,6 +4,7 @@ import edu.alibaba.mpc4j.common.tool.CommonConstants;
 import edu.alibaba.mpc4j.common.tool.EnvType;
 import edu.alibaba.mpc4j.common.tool.crypto.kdf.Kdf;
 import edu.alibaba.mpc4j.common.tool.crypto.kdf.KdfFactory;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotSenderOutput;
 
 import java.nio.ByteBuffer;
 
@@ -18,6 +19,10 @@ public class KdfOtSenderOutput {
      * correlated oblivious transfer sender output
      */
     private final OtSenderOutput otSenderOutput;
+    /**
+     * COT sender output if the output is a COT sender output, otherwise null
+     */
+    private final CotSenderOutput cotSenderOutput;
     /**
      * key derivation function
      */
@@ -25,6 +30,7 @@ public class KdfOtSenderOutput {
 
     public KdfOtSenderOutput(EnvType envType, OtSenderOutput otSenderOutput) {
         this.otSenderOutput = otSenderOutput;
+        cotSenderOutput = otSenderOutput instanceof CotSenderOutput ? (CotSenderOutput) otSenderOutput : null;
         kdf = KdfFactory.createInstance(envType);
     }
 
@@ -36,10 +42,14 @@ public class KdfOtSenderOutput {
      * @return R0.
      */
     public byte[] getK0(int index, long counter) {
-        byte[] seed = ByteBuffer.allocate(Long.BYTES + CommonConstants.BLOCK_BYTE_LENGTH)
-            .putLong(counter).put(otSenderOutput.getR0(index))
-            .array();
-        return kdf.deriveKey(seed);
+        ByteBuffer seedBuffer = ByteBuffer.allocate(Long.BYTES + CommonConstants.BLOCK_BYTE_LENGTH).putLong(counter);
+        if (cotSenderOutput != null) {
+            // read the packed R0, without creating byte[] for R0
+            seedBuffer.putLong(cotSenderOutput.getLongR0(index, 0)).putLong(cotSenderOutput.getLongR0(index, 1));
+        } else {
+            seedBuffer.put(otSenderOutput.getR0(index));
+        }
+        return kdf.deriveKey(seedBuffer.array());
     }
 
     /**
@@ -49,10 +59,14 @@ public class KdfOtSenderOutput {
      * @return R1.
      */
     public byte[] getK1(int index, long counter) {
-        byte[] seed = ByteBuffer.allocate(Long.BYTES + CommonConstants.BLOCK_BYTE_LENGTH)
-            .putLong(counter).put(otSenderOutput.getR1(index))
-            .array();
-        return kdf.deriveKey(seed);
+        ByteBuffer seedBuffer = ByteBuffer.allocate(Long.BYTES + CommonConstants.BLOCK_BYTE_LENGTH).putLong(counter);
+        if (cotSenderOutput != null) {
+            // read the packed R1, without creating byte[] for R1
+            seedBuffer.putLong(cotSenderOutput.getLongR1(index, 0)).putLong(cotSenderOutput.getLongR1(index, 1));
+        } else {
+            seedBuffer.put(otSenderOutput.getR1(index));
+        }
+        return kdf.deriveKey(seedBuffer.array());
     }
 
     /**
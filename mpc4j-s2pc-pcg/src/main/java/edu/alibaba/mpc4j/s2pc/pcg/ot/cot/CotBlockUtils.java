@@ -0,0 +1,65 @@
+package edu.alibaba.mpc4j.s2pc.pcg.ot.cot;
+
+import edu.alibaba.mpc4j.common.tool.CommonConstants;
+
+/**
+ * COT block utilities. A 128-bit block is packed into two longs in big-endian order, so that the packed form is
+ * bit-identical to the {@code byte[]} form.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/22
+ */
+class CotBlockUtils {
+    /**
+     * private constructor.
+     */
+    private CotBlockUtils() {
+        // empty
+    }
+
+    /**
+     * Packs blocks into longs.
+     *
+     * @param blocks blocks.
+     * @return packed blocks.
+     */
+    static long[] pack(byte[][] blocks) {
+        long[] longArray = new long[blocks.length * CommonConstants.BLOCK_LONG_LENGTH];
+        for (int index = 0; index < blocks.length; index++) {
+            assert blocks[index].length == CommonConstants.BLOCK_BYTE_LENGTH
+                : "block byte length must be equal to " + CommonConstants.BLOCK_BYTE_LENGTH + ": " + blocks[index].length;
+            int longPos = index * CommonConstants.BLOCK_LONG_LENGTH;
+            longArray[longPos] = toLong(blocks[index], 0);
+            longArray[longPos + 1] = toLong(blocks[index], Long.BYTES);
+        }
+        return longArray;
+    }
+
+    /**
+     * Unpacks a block.
+     *
+     * @param longArray the packed blocks.
+     * @param longPos   the position of the block in longs.
+     * @param dest      the destination.
+     * @param destPos   the position in the destination.
+     */
+    static void unpack(long[] longArray, int longPos, byte[] dest, int destPos) {
+        fromLong(longArray[longPos], dest, destPos);
+        fromLong(longArray[longPos + 1], dest, destPos + Long.BYTES);
+    }
+
+    private static long toLong(byte[] bytes, int pos) {
+        long value = 0L;
+        for (int i = 0; i < Long.BYTES; i++) {
+            value = (value << Byte.SIZE) | (bytes[pos + i] & 0xFFL);
+        }
+        return value;
+    }
+
+    private static void fromLong(long value, byte[] bytes, int pos) {
+        for (int i = Long.BYTES - 1; i >= 0; i--) {
+            bytes[pos + i] = (byte) value;
+            value >>>= Byte.SIZE;
+        }
+    }
+}
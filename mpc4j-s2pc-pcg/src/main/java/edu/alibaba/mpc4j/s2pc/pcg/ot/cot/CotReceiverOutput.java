@@ -9,19 +9,40 @@ import edu.alibaba.mpc4j.s2pc.pcg.ot.OtReceiverOutput;
 
 /**
  * COT协议接收方输出。
+ * <p>
+ * Rb is packed into a {@code long[]} with two longs (big-endian) per COT. An output is a view [offset, offset + num)
+ * of the choices and the packed array, so that split and reduce only move the view, and merge appends in place when
+ * possible. Outputs split from the same output share the arrays, and the arrays must not be modified.
+ * </p>
  *
  * @author Weiran Liu
  * @date 2021/12/26
  */
 public class CotReceiverOutput implements OtReceiverOutput, MergedPcgPartyOutput {
+    /**
+     * max num of COTs in the packed array
+     */
+    private static final int MAX_CAPACITY = (Integer.MAX_VALUE - 8) / CommonConstants.BLOCK_LONG_LENGTH;
     /**
      * 选择比特
      */
     private boolean[] choices;
     /**
-     * Rb数组
+     * packed Rb array
+     */
+    private long[] rbLongArray;
+    /**
+     * offset of the view
+     */
+    private int offset;
+    /**
+     * num of the view
      */
-    private byte[][] rbArray;
+    private int num;
+    /**
+     * whether the view owns the unused capacity after it, i.e., no other output would see appended COTs.
+     */
+    private boolean exclusive;
 
     /**
      * 创建接收方输出。
@@ -31,17 +52,28 @@ public class CotReceiverOutput implements OtReceiverOutput, MergedPcgPartyOutput
      * @return 接收方输出。
      */
     public static CotReceiverOutput create(boolean[] choices, byte[][] rbArray) {
-        CotReceiverOutput receiverOutput = new CotReceiverOutput();
+        assert choices.length > 0 : "num must be greater than 0: " + choices.length;
+        assert rbArray.length == choices.length : "# of Rb must be equal to " + choices.length + ": " + rbArray.length;
+        return create(BinaryUtils.clone(choices), CotBlockUtils.pack(rbArray));
+    }
+
+    /**
+     * Creates a receiver output from packed Rb array, with two longs (big-endian) per COT. The choices and the packed
+     * array are not copied.
+     *
+     * @param choices     choices.
+     * @param rbLongArray packed Rb array.
+     * @return a receiver output.
+     */
+    public static CotReceiverOutput create(boolean[] choices, long[] rbLongArray) {
         assert choices.length > 0 : "num must be greater than 0: " + choices.length;
         int num = choices.length;
-        assert rbArray.length == num : "# of Rb must be equal to " + num + ": " + rbArray.length;
-        receiverOutput.choices = BinaryUtils.clone(choices);
-        receiverOutput.rbArray = Arrays.stream(rbArray)
-            .peek(rb -> {
-                assert rb.length == CommonConstants.BLOCK_BYTE_LENGTH
-                    : "rb byte length must be equal to " + CommonConstants.BLOCK_BYTE_LENGTH + ": " + rb.length;
-            })
-            .toArray(byte[][]::new);
+        assert rbLongArray.length == num * CommonConstants.BLOCK_LONG_LENGTH
+            : "packed length must be equal to " + num * CommonConstants.BLOCK_LONG_LENGTH + ": " + rbLongArray.length;
+        CotReceiverOutput receiverOutput = createEmpty();
+        receiverOutput.choices = choices;
+        receiverOutput.rbLongArray = rbLongArray;
+        receiverOutput.num = num;
 
         return receiverOutput;
     }
@@ -54,7 +86,10 @@ public class CotReceiverOutput implements OtReceiverOutput, MergedPcgPartyOutput
     public static CotReceiverOutput createEmpty() {
         CotReceiverOutput receiverOutput = new CotReceiverOutput();
         receiverOutput.choices = new boolean[0];
-        receiverOutput.rbArray = new byte[0][];
+        receiverOutput.rbLongArray = new long[0];
+        receiverOutput.offset = 0;
+        receiverOutput.num = 0;
+        receiverOutput.exclusive = false;
 
         return receiverOutput;
     }
@@ -68,76 +103,152 @@ public class CotReceiverOutput implements OtReceiverOutput, MergedPcgPartyOutput
 
     @Override
     public CotReceiverOutput split(int splitNum) {
-        int num = getNum();
         assert splitNum > 0 && splitNum <= num : "split length must be in range (0, " + num + "]: " + splitNum;
-        // 拆分选择比特
-        boolean[] subChoices = new boolean[splitNum];
-        boolean[] remainChoices = new boolean[num - splitNum];
-        System.arraycopy(choices, 0, subChoices, 0, splitNum);
-        System.arraycopy(choices, splitNum, remainChoices, 0, num - splitNum);
-        choices = remainChoices;
-        // 拆分选择密钥
-        byte[][] rbSubArray = new byte[splitNum][];
-        byte[][] rbRemainArray = new byte[num - splitNum][];
-        System.arraycopy(rbArray, 0, rbSubArray, 0, splitNum);
-        System.arraycopy(rbArray, splitNum, rbRemainArray, 0, num - splitNum);
-        rbArray = rbRemainArray;
-
-        return CotReceiverOutput.create(subChoices, rbSubArray);
+        // the split output is in front of this output, it never owns the capacity
+        CotReceiverOutput splitOutput = createEmpty();
+        splitOutput.choices = choices;
+        splitOutput.rbLongArray = rbLongArray;
+        splitOutput.offset = offset;
+        splitOutput.num = splitNum;
+        offset += splitNum;
+        num -= splitNum;
+
+        return splitOutput;
     }
 
     @Override
     public void reduce(int reduceNum) {
-        int num = getNum();
         assert reduceNum > 0 && reduceNum <= num : "reduceNum must be in range (0, " + num + "]: " + reduceNum;
-        if (reduceNum < num) {
-            // 如果给定的数量小于当前数量，则裁剪，否则保持原样不动
-            boolean[] remainChoices = new boolean[reduceNum];
-            System.arraycopy(choices, 0, remainChoices, 0, reduceNum);
-            choices = remainChoices;
-            byte[][] rbRemainArray = new byte[reduceNum][];
-            System.arraycopy(rbArray, 0, rbRemainArray, 0, reduceNum);
-            rbArray = rbRemainArray;
-        }
+        // 如果给定的数量小于当前数量，则裁剪，否则保持原样不动
+        num = reduceNum;
     }
 
     @Override
     public void merge(MergedPcgPartyOutput other) {
         CotReceiverOutput that = (CotReceiverOutput) other;
-        // 拷贝选择比特数组
-        boolean[] mergeChoices = new boolean[this.choices.length + that.choices.length];
-        System.arraycopy(this.choices, 0, mergeChoices, 0, this.choices.length);
-        System.arraycopy(that.choices, 0, mergeChoices, this.choices.length, that.choices.length);
-        choices = mergeChoices;
-        // 拷贝Rb数组
-        byte[][] mergeRbArray = new byte[this.rbArray.length + that.rbArray.length][];
-        System.arraycopy(this.rbArray, 0, mergeRbArray, 0, this.rbArray.length);
-        System.arraycopy(that.rbArray, 0, mergeRbArray, this.rbArray.length, that.rbArray.length);
-        rbArray = mergeRbArray;
+        if (that.num == 0) {
+            return;
+        }
+        if (this.num == 0 || (this.rbLongArray == that.rbLongArray && this.offset + this.num == that.offset)) {
+            // take over the view of the other output if this output is empty, or the views are adjacent
+            if (this.num == 0) {
+                this.choices = that.choices;
+                this.rbLongArray = that.rbLongArray;
+                this.offset = that.offset;
+            }
+            this.num += that.num;
+            this.exclusive = that.exclusive;
+            that.exclusive = false;
+            return;
+        }
+        int mergeNum = this.num + that.num;
+        assert mergeNum > 0 && mergeNum <= MAX_CAPACITY : "merged num must be in range (0, " + MAX_CAPACITY + "]: " + mergeNum;
+        if (!exclusive || offset + mergeNum > choices.length) {
+            // grow the arrays, like ArrayList
+            int capacity = (int) Math.min(MAX_CAPACITY, Math.max(mergeNum, (long) this.num + (this.num >> 1)));
+            boolean[] mergeChoices = new boolean[capacity];
+            System.arraycopy(choices, offset, mergeChoices, 0, this.num);
+            long[] mergeRbLongArray = new long[capacity * CommonConstants.BLOCK_LONG_LENGTH];
+            System.arraycopy(
+                rbLongArray, offset * CommonConstants.BLOCK_LONG_LENGTH,
+                mergeRbLongArray, 0, this.num * CommonConstants.BLOCK_LONG_LENGTH
+            );
+            choices = mergeChoices;
+            rbLongArray = mergeRbLongArray;
+            offset = 0;
+            exclusive = true;
+        }
+        System.arraycopy(that.choices, that.offset, choices, offset + this.num, that.num);
+        System.arraycopy(
+            that.rbLongArray, that.offset * CommonConstants.BLOCK_LONG_LENGTH,
+            rbLongArray, (offset + this.num) * CommonConstants.BLOCK_LONG_LENGTH, that.num * CommonConstants.BLOCK_LONG_LENGTH
+        );
+        num = mergeNum;
     }
 
     @Override
     public boolean getChoice(int index) {
-        return choices[index];
+        assert index >= 0 && index < num : "index must be in range [0, " + num + "): " + index;
+        return choices[offset + index];
     }
 
+    /**
+     * Gets the choices. The choices are returned without copying if the output covers the whole choice array, and must
+     * not be modified.
+     *
+     * @return the choices.
+     */
     @Override
     public boolean[] getChoices() {
-        return choices;
+        if (offset == 0 && num == choices.length) {
+            return choices;
+        }
+        return Arrays.copyOfRange(choices, offset, offset + num);
     }
 
     @Override
     public byte[] getRb(int index) {
-        return rbArray[index];
+        byte[] rb = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
+        CotBlockUtils.unpack(rbLongArray, longPosition(index), rb, 0);
+        return rb;
     }
 
     @Override
     public byte[][] getRbArray() {
+        byte[][] rbArray = new byte[num][CommonConstants.BLOCK_BYTE_LENGTH];
+        for (int index = 0; index < num; index++) {
+            CotBlockUtils.unpack(rbLongArray, longPosition(index), rbArray[index], 0);
+        }
         return rbArray;
     }
 
+    /**
+     * Gets a long of Rb at the index without creating {@code byte[]}.
+     *
+     * @param index     the index.
+     * @param longIndex the long index in Rb, 0 for the first 8 bytes, 1 for the last 8 bytes.
+     * @return the long of Rb.
+     */
+    public long getLongRb(int index, int longIndex) {
+        assert longIndex >= 0 && longIndex < CommonConstants.BLOCK_LONG_LENGTH;
+        return rbLongArray[longPosition(index) + longIndex];
+    }
+
+    /**
+     * Gets the packed Rb array, with two longs (big-endian) per COT. The packed array is returned without copying if
+     * the output covers the whole packed array, and must not be modified.
+     *
+     * @return the packed Rb array.
+     */
+    public long[] getLongRbArray() {
+        int from = offset * CommonConstants.BLOCK_LONG_LENGTH;
+        int to = (offset + num) * CommonConstants.BLOCK_LONG_LENGTH;
+        if (from == 0 && to == rbLongArray.length) {
+            return rbLongArray;
+        }
+        return Arrays.copyOfRange(rbLongArray, from, to);
+    }
+
+    /**
+     * Gets the flatten Rb array, i.e., all Rb concatenated into one {@code byte[]}.
+     *
+     * @return the flatten Rb array.
+     */
+    public byte[] getFlattenRbArray() {
+        byte[] flattenRbArray = new byte[num * CommonConstants.BLOCK_BYTE_LENGTH];
+        for (int index = 0; index < num; index++) {
+            CotBlockUtils.unpack(rbLongArray, longPosition(index), flattenRbArray, index * CommonConstants.BLOCK_BYTE_LENGTH);
+        }
+        return flattenRbArray;
+    }
+
     @Override
     public int getNum() {
-        return rbArray.length;
+        return num;
+    }
+
+    private int longPosition(int index) {
+        assert index >= 0 && index < num : "index must be in range [0, " + num + "): " + index;
+        return (offset + index) * CommonConstants.BLOCK_LONG_LENGTH;
     }
 }
@@ -9,19 +9,44 @@ import edu.alibaba.mpc4j.s2pc.pcg.ot.OtSenderOutput;
 
 /**
  * COT协议发送方输出。
+ * <p>
+ * R0 is packed into a {@code long[]} with two longs (big-endian) per COT. An output is a view [offset, offset + num)
+ * of the packed array, so that split and reduce only move the view, and merge appends in place when possible. Outputs
+ * split from the same output share the packed array, and the packed array must not be modified.
+ * </p>
  *
  * @author Weiran Liu
  * @date 2021/12/26
  */
 public class CotSenderOutput implements OtSenderOutput, MergedPcgPartyOutput {
+    /**
+     * max num of COTs in the packed array
+     */
+    private static final int MAX_CAPACITY = (Integer.MAX_VALUE - 8) / CommonConstants.BLOCK_LONG_LENGTH;
     /**
      * 关联值Δ
      */
     private byte[] delta;
     /**
-     * R0数组
+     * packed Δ
+     */
+    private long[] longDelta;
+    /**
+     * packed R0 array
+     */
+    private long[] r0LongArray;
+    /**
+     * offset of the view
+     */
+    private int offset;
+    /**
+     * num of the view
      */
-    private byte[][] r0Array;
+    private int num;
+    /**
+     * whether the view owns the unused capacity after it, i.e., no other output would see appended COTs.
+     */
+    private boolean exclusive;
 
     /**
      * 创建发送方输出。
@@ -31,17 +56,23 @@ public class CotSenderOutput implements OtSenderOutput, MergedPcgPartyOutput {
      * @return 发送方输出。
      */
     public static CotSenderOutput create(byte[] delta, byte[][] r0Array) {
-        CotSenderOutput senderOutput = new CotSenderOutput();
-        assert delta.length == CommonConstants.BLOCK_BYTE_LENGTH
-            : "Δ byte length must be equal to " + CommonConstants.BLOCK_BYTE_LENGTH + ": " + delta.length;
-        senderOutput.delta = BytesUtils.clone(delta);
         assert r0Array.length > 0 : "num must be greater than 0: " + r0Array.length;
-        senderOutput.r0Array = Arrays.stream(r0Array)
-            .peek(r0 -> {
-                assert r0.length == CommonConstants.BLOCK_BYTE_LENGTH
-                    : "r0 byte length must be equal to " + CommonConstants.BLOCK_BYTE_LENGTH + ": " + r0.length;
-            })
-            .toArray(byte[][]::new);
+        return create(delta, CotBlockUtils.pack(r0Array));
+    }
+
+    /**
+     * Creates a sender output from packed R0 array, with two longs (big-endian) per COT. The packed array is not copied.
+     *
+     * @param delta       Δ.
+     * @param r0LongArray packed R0 array.
+     * @return a sender output.
+     */
+    public static CotSenderOutput create(byte[] delta, long[] r0LongArray) {
+        assert r0LongArray.length > 0 && r0LongArray.length % CommonConstants.BLOCK_LONG_LENGTH == 0
+            : "packed length must be a positive multiple of " + CommonConstants.BLOCK_LONG_LENGTH + ": " + r0LongArray.length;
+        CotSenderOutput senderOutput = createEmpty(delta);
+        senderOutput.r0LongArray = r0LongArray;
+        senderOutput.num = r0LongArray.length / CommonConstants.BLOCK_LONG_LENGTH;
 
         return senderOutput;
     }
@@ -54,9 +85,14 @@ public class CotSenderOutput implements OtSenderOutput, MergedPcgPartyOutput {
      */
     public static CotSenderOutput createEmpty(byte[] delta) {
         CotSenderOutput senderOutput = new CotSenderOutput();
-        assert delta.length == CommonConstants.BLOCK_BYTE_LENGTH;
+        assert delta.length == CommonConstants.BLOCK_BYTE_LENGTH
+            : "Δ byte length must be equal to " + CommonConstants.BLOCK_BYTE_LENGTH + ": " + delta.length;
         senderOutput.delta = BytesUtils.clone(delta);
-        senderOutput.r0Array = new byte[0][];
+        senderOutput.longDelta = CotBlockUtils.pack(new byte[][]{delta});
+        senderOutput.r0LongArray = new long[0];
+        senderOutput.offset = 0;
+        senderOutput.num = 0;
+        senderOutput.exclusive = false;
 
         return senderOutput;
     }
@@ -70,37 +106,62 @@ public class CotSenderOutput implements OtSenderOutput, MergedPcgPartyOutput {
 
     @Override
     public CotSenderOutput split(int splitNum) {
-        int num = getNum();
         assert splitNum > 0 && splitNum <= num : "splitNum must be in range (0, " + num + "]: " + splitNum;
-        byte[][] r0SubArray = new byte[splitNum][];
-        byte[][] r0RemainArray = new byte[num - splitNum][];
-        System.arraycopy(r0Array, 0, r0SubArray, 0, splitNum);
-        System.arraycopy(r0Array, splitNum, r0RemainArray, 0, num - splitNum);
-        r0Array = r0RemainArray;
+        // the split output is in front of this output, it never owns the capacity
+        CotSenderOutput splitOutput = createEmpty(delta);
+        splitOutput.r0LongArray = r0LongArray;
+        splitOutput.offset = offset;
+        splitOutput.num = splitNum;
+        offset += splitNum;
+        num -= splitNum;
 
-        return CotSenderOutput.create(delta, r0SubArray);
+        return splitOutput;
     }
 
     @Override
     public void reduce(int reduceNum) {
-        int num = getNum();
         assert reduceNum > 0 && reduceNum <= num : "reduceNum must be in range (0, " + num + "]: " + reduceNum;
-        if (reduceNum < num) {
-            // 如果给定的数量小于当前数量，则裁剪，否则保持原样不动
-            byte[][] r0RemainArray = new byte[reduceNum][];
-            System.arraycopy(r0Array, 0, r0RemainArray, 0, reduceNum);
-            r0Array = r0RemainArray;
-        }
+        // 如果给定的数量小于当前数量，则裁剪，否则保持原样不动
+        num = reduceNum;
     }
 
     @Override
     public void merge(MergedPcgPartyOutput other) {
         CotSenderOutput that = (CotSenderOutput) other;
         assert Arrays.equals(this.delta, that.delta) : "merged outputs must have the same Δ";
-        byte[][] mergeR0Array = new byte[this.r0Array.length + that.r0Array.length][];
-        System.arraycopy(this.r0Array, 0, mergeR0Array, 0, this.r0Array.length);
-        System.arraycopy(that.r0Array, 0, mergeR0Array, this.r0Array.length, that.r0Array.length);
-        r0Array = mergeR0Array;
+        if (that.num == 0) {
+            return;
+        }
+        if (this.num == 0 || (this.r0LongArray == that.r0LongArray && this.offset + this.num == that.offset)) {
+            // take over the view of the other output if this output is empty, or the views are adjacent
+            if (this.num == 0) {
+                this.r0LongArray = that.r0LongArray;
+                this.offset = that.offset;
+            }
+            this.num += that.num;
+            this.exclusive = that.exclusive;
+            that.exclusive = false;
+            return;
+        }
+        int mergeNum = this.num + that.num;
+        assert mergeNum > 0 && mergeNum <= MAX_CAPACITY : "merged num must be in range (0, " + MAX_CAPACITY + "]: " + mergeNum;
+        if (!exclusive || (offset + mergeNum) * CommonConstants.BLOCK_LONG_LENGTH > r0LongArray.length) {
+            // grow the packed array, like ArrayList
+            int capacity = (int) Math.min(MAX_CAPACITY, Math.max(mergeNum, (long) this.num + (this.num >> 1)));
+            long[] mergeR0LongArray = new long[capacity * CommonConstants.BLOCK_LONG_LENGTH];
+            System.arraycopy(
+                r0LongArray, offset * CommonConstants.BLOCK_LONG_LENGTH,
+                mergeR0LongArray, 0, this.num * CommonConstants.BLOCK_LONG_LENGTH
+            );
+            r0LongArray = mergeR0LongArray;
+            offset = 0;
+            exclusive = true;
+        }
+        System.arraycopy(
+            that.r0LongArray, that.offset * CommonConstants.BLOCK_LONG_LENGTH,
+            r0LongArray, (offset + this.num) * CommonConstants.BLOCK_LONG_LENGTH, that.num * CommonConstants.BLOCK_LONG_LENGTH
+        );
+        num = mergeNum;
     }
 
     /**
@@ -114,28 +175,110 @@ public class CotSenderOutput implements OtSenderOutput, MergedPcgPartyOutput {
 
     @Override
     public byte[] getR0(int index) {
-        return r0Array[index];
+        byte[] r0 = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
+        CotBlockUtils.unpack(r0LongArray, longPosition(index), r0, 0);
+        return r0;
     }
 
     @Override
     public byte[][] getR0Array() {
+        byte[][] r0Array = new byte[num][CommonConstants.BLOCK_BYTE_LENGTH];
+        for (int index = 0; index < num; index++) {
+            CotBlockUtils.unpack(r0LongArray, longPosition(index), r0Array[index], 0);
+        }
         return r0Array;
     }
 
     @Override
     public byte[] getR1(int index) {
-        return BytesUtils.xor(delta, getR0(index));
+        byte[] r1 = getR0(index);
+        BytesUtils.xori(r1, delta);
+        return r1;
     }
 
     @Override
     public byte[][] getR1Array() {
-        return Arrays.stream(r0Array)
-            .map(r0 -> BytesUtils.xor(delta, r0))
-            .toArray(byte[][]::new);
+        byte[][] r1Array = getR0Array();
+        for (byte[] r1 : r1Array) {
+            BytesUtils.xori(r1, delta);
+        }
+        return r1Array;
+    }
+
+    /**
+     * Gets a long of R0 at the index without creating {@code byte[]}.
+     *
+     * @param index     the index.
+     * @param longIndex the long index in R0, 0 for the first 8 bytes, 1 for the last 8 bytes.
+     * @return the long of R0.
+     */
+    public long getLongR0(int index, int longIndex) {
+        assert longIndex >= 0 && longIndex < CommonConstants.BLOCK_LONG_LENGTH;
+        return r0LongArray[longPosition(index) + longIndex];
+    }
+
+    /**
+     * Gets a long of R1 at the index without creating {@code byte[]}.
+     *
+     * @param index     the index.
+     * @param longIndex the long index in R1, 0 for the first 8 bytes, 1 for the last 8 bytes.
+     * @return the long of R1.
+     */
+    public long getLongR1(int index, int longIndex) {
+        return getLongR0(index, longIndex) ^ longDelta[longIndex];
+    }
+
+    /**
+     * Gets the packed R0 array, with two longs (big-endian) per COT. The packed array is returned without copying if
+     * the output covers the whole packed array, and must not be modified.
+     *
+     * @return the packed R0 array.
+     */
+    public long[] getLongR0Array() {
+        int from = offset * CommonConstants.BLOCK_LONG_LENGTH;
+        int to = (offset + num) * CommonConstants.BLOCK_LONG_LENGTH;
+        if (from == 0 && to == r0LongArray.length) {
+            return r0LongArray;
+        }
+        return Arrays.copyOfRange(r0LongArray, from, to);
+    }
+
+    /**
+     * Gets the flatten R0 array, i.e., all R0 concatenated into one {@code byte[]}.
+     *
+     * @return the flatten R0 array.
+     */
+    public byte[] getFlattenR0Array() {
+        byte[] flattenR0Array = new byte[num * CommonConstants.BLOCK_BYTE_LENGTH];
+        for (int index = 0; index < num; index++) {
+            CotBlockUtils.unpack(r0LongArray, longPosition(index), flattenR0Array, index * CommonConstants.BLOCK_BYTE_LENGTH);
+        }
+        return flattenR0Array;
+    }
+
+    /**
+     * Gets the flatten R1 array, i.e., all R1 concatenated into one {@code byte[]}.
+     *
+     * @return the flatten R1 array.
+     */
+    public byte[] getFlattenR1Array() {
+        byte[] flattenR1Array = getFlattenR0Array();
+        for (int index = 0; index < num; index++) {
+            int pos = index * CommonConstants.BLOCK_BYTE_LENGTH;
+            for (int i = 0; i < CommonConstants.BLOCK_BYTE_LENGTH; i++) {
+                flattenR1Array[pos + i] ^= delta[i];
+            }
+        }
+        return flattenR1Array;
     }
 
     @Override
     public int getNum() {
-        return r0Array.length;
+        return num;
+    }
+
+    private int longPosition(int index) {
+        assert index >= 0 && index < num : "index must be in range [0, " + num + "): " + index;
+        return (offset + index) * CommonConstants.BLOCK_LONG_LENGTH;
     }
 }
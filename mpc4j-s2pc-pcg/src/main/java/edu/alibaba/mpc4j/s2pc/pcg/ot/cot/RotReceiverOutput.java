@@ -1,12 +1,12 @@
 package edu.alibaba.mpc4j.s2pc.pcg.ot.cot;
 
+import edu.alibaba.mpc4j.common.tool.CommonConstants;
 import edu.alibaba.mpc4j.common.tool.EnvType;
 import edu.alibaba.mpc4j.common.tool.crypto.crhf.Crhf;
 import edu.alibaba.mpc4j.common.tool.crypto.crhf.CrhfFactory;
+import edu.alibaba.mpc4j.common.tool.crypto.prp.PrpUtils;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.OtReceiverOutput;
 
-import java.util.Arrays;
-
 /**
  * Random oblivious transfer receiver output.
  *
@@ -45,9 +45,20 @@ public class RotReceiverOutput implements OtReceiverOutput {
 
     @Override
     public byte[][] getRbArray() {
-        return Arrays.stream(cotReceiverOutput.getRbArray())
-            .map(crhf::hash)
-            .toArray(byte[][]::new);
+        byte[][] hashRbArray = new byte[getNum()][CommonConstants.BLOCK_BYTE_LENGTH];
+        PrpUtils.unflatten(getFlattenRbArray(), hashRbArray);
+        return hashRbArray;
+    }
+
+    /**
+     * Gets the flatten Rb array, i.e., all Rb concatenated into one {@code byte[]}. All Rb are hashed in one batch.
+     *
+     * @return the flatten Rb array.
+     */
+    public byte[] getFlattenRbArray() {
+        byte[] flattenRbArray = cotReceiverOutput.getFlattenRbArray();
+        crhf.hash(flattenRbArray, flattenRbArray);
+        return flattenRbArray;
     }
 
     @Override
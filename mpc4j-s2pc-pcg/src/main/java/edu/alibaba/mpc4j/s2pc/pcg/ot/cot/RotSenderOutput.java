@@ -1,12 +1,12 @@
 package edu.alibaba.mpc4j.s2pc.pcg.ot.cot;
 
+import edu.alibaba.mpc4j.common.tool.CommonConstants;
 import edu.alibaba.mpc4j.common.tool.EnvType;
 import edu.alibaba.mpc4j.common.tool.crypto.crhf.Crhf;
 import edu.alibaba.mpc4j.common.tool.crypto.crhf.CrhfFactory;
+import edu.alibaba.mpc4j.common.tool.crypto.prp.PrpUtils;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.OtSenderOutput;
 
-import java.util.Arrays;
-
 /**
  * Random oblivious transfer sender output.
  *
@@ -35,9 +35,9 @@ public class RotSenderOutput implements OtSenderOutput {
 
     @Override
     public byte[][] getR0Array() {
-        return Arrays.stream(cotSenderOutput.getR0Array())
-            .map(crhf::hash)
-            .toArray(byte[][]::new);
+        byte[][] hashR0Array = new byte[getNum()][CommonConstants.BLOCK_BYTE_LENGTH];
+        PrpUtils.unflatten(getFlattenR0Array(), hashR0Array);
+        return hashR0Array;
     }
 
     @Override
@@ -47,9 +47,31 @@ public class RotSenderOutput implements OtSenderOutput {
 
     @Override
     public byte[][] getR1Array() {
-        return Arrays.stream(cotSenderOutput.getR1Array())
-            .map(crhf::hash)
-            .toArray(byte[][]::new);
+        byte[][] hashR1Array = new byte[getNum()][CommonConstants.BLOCK_BYTE_LENGTH];
+        PrpUtils.unflatten(getFlattenR1Array(), hashR1Array);
+        return hashR1Array;
+    }
+
+    /**
+     * Gets the flatten R0 array, i.e., all R0 concatenated into one {@code byte[]}. All R0 are hashed in one batch.
+     *
+     * @return the flatten R0 array.
+     */
+    public byte[] getFlattenR0Array() {
+        byte[] flattenR0Array = cotSenderOutput.getFlattenR0Array();
+        crhf.hash(flattenR0Array, flattenR0Array);
+        return flattenR0Array;
+    }
+
+    /**
+     * Gets the flatten R1 array, i.e., all R1 concatenated into one {@code byte[]}. All R1 are hashed in one batch.
+     *
+     * @return the flatten R1 array.
+     */
+    public byte[] getFlattenR1Array() {
+        byte[] flattenR1Array = cotSenderOutput.getFlattenR1Array();
+        crhf.hash(flattenR1Array, flattenR1Array);
+        return flattenR1Array;
     }
 
     @Override
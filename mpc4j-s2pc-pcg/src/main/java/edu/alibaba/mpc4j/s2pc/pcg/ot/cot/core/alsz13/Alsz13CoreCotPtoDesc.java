@@ -2,6 +2,7 @@ package edu.alibaba.mpc4j.s2pc.pcg.ot.cot.core.alsz13;
 
 import edu.alibaba.mpc4j.common.rpc.desc.PtoDesc;
 import edu.alibaba.mpc4j.common.rpc.desc.PtoDescManager;
+import edu.alibaba.mpc4j.common.tool.CommonConstants;
 
 /**
  * ALSZ13-核COT协议信息。论文来源：
@@ -33,6 +34,15 @@ class Alsz13CoreCotPtoDesc implements PtoDesc {
         RECEIVER_SEND_MATRIX,
     }
 
+    /**
+     * 批量扩展的列数量。每批列的种子通过一次批量PRG扩展，每个伪随机置换用一次调用处理整批种子，各批之间可并行处理
+     */
+    static final int BATCH_COLUMN_NUM = 8;
+    /**
+     * 批量数量
+     */
+    static final int BATCH_NUM = CommonConstants.BLOCK_BIT_LENGTH / BATCH_COLUMN_NUM;
+
     /**
      * 单例模式
      */
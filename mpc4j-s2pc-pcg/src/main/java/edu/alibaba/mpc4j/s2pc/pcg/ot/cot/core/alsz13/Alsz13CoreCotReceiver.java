@@ -1,9 +1,11 @@
 package edu.alibaba.mpc4j.s2pc.pcg.ot.cot.core.alsz13;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
 import edu.alibaba.mpc4j.common.rpc.Party;
@@ -97,32 +99,44 @@ public class Alsz13CoreCotReceiver extends AbstractCoreCotReceiver {
         // 构建矩阵tMatrix
         tMatrix = TransBitMatrixFactory.createInstance(envType, num, CommonConstants.BLOCK_BIT_LENGTH, parallel);
         // 用密钥扩展得到矩阵T
-        IntStream columnIndexIntStream = IntStream.range(0, CommonConstants.BLOCK_BIT_LENGTH);
-        columnIndexIntStream = parallel ? columnIndexIntStream.parallel() : columnIndexIntStream;
-        return columnIndexIntStream
-            .mapToObj(columnIndex -> {
-                // R computes t^i = G(k^0_i)
-                byte[] tBytes = prg.extendToBytes(kdfOtSenderOutput.getK0(columnIndex, extraInfo));
-                BytesUtils.reduceByteArray(tBytes, num);
-                tMatrix.setColumn(columnIndex, tBytes);
-                // and u^i = t^i ⊕ G(k_i^1) ⊕ r
-                byte[] uBytes = prg.extendToBytes(kdfOtSenderOutput.getK1(columnIndex, extraInfo));
-                BytesUtils.reduceByteArray(uBytes, num);
-                BytesUtils.xori(uBytes, tBytes);
-                BytesUtils.xori(uBytes, rBytes);
-
-                return uBytes;
+        IntStream batchIndexIntStream = IntStream.range(0, Alsz13CoreCotPtoDesc.BATCH_NUM);
+        batchIndexIntStream = parallel ? batchIndexIntStream.parallel() : batchIndexIntStream;
+        return batchIndexIntStream
+            .mapToObj(batchIndex -> {
+                int fromColumnIndex = batchIndex * Alsz13CoreCotPtoDesc.BATCH_COLUMN_NUM;
+                // 一次批量扩展本批所有列的k^0_i和k^1_i
+                byte[][] keyArray = new byte[Alsz13CoreCotPtoDesc.BATCH_COLUMN_NUM * 2][];
+                for (int batchColumnIndex = 0; batchColumnIndex < Alsz13CoreCotPtoDesc.BATCH_COLUMN_NUM; batchColumnIndex++) {
+                    int columnIndex = fromColumnIndex + batchColumnIndex;
+                    keyArray[batchColumnIndex] = kdfOtSenderOutput.getK0(columnIndex, extraInfo);
+                    keyArray[Alsz13CoreCotPtoDesc.BATCH_COLUMN_NUM + batchColumnIndex] = kdfOtSenderOutput.getK1(columnIndex, extraInfo);
+                }
+                byte[][] extendBytesArray = prg.extendToBytes(keyArray);
+                byte[][] batchUArray = new byte[Alsz13CoreCotPtoDesc.BATCH_COLUMN_NUM][];
+                for (int batchColumnIndex = 0; batchColumnIndex < Alsz13CoreCotPtoDesc.BATCH_COLUMN_NUM; batchColumnIndex++) {
+                    // R computes t^i = G(k^0_i)
+                    byte[] tBytes = extendBytesArray[batchColumnIndex];
+                    BytesUtils.reduceByteArray(tBytes, num);
+                    tMatrix.setColumn(fromColumnIndex + batchColumnIndex, tBytes);
+                    // and u^i = t^i ⊕ G(k_i^1) ⊕ r
+                    byte[] uBytes = extendBytesArray[Alsz13CoreCotPtoDesc.BATCH_COLUMN_NUM + batchColumnIndex];
+                    BytesUtils.reduceByteArray(uBytes, num);
+                    BytesUtils.xori(uBytes, tBytes);
+                    BytesUtils.xori(uBytes, rBytes);
+                    batchUArray[batchColumnIndex] = uBytes;
+                }
+                return batchUArray;
             })
+            .flatMap(Arrays::stream)
             .collect(Collectors.toList());
     }
 
     private CotReceiverOutput generateReceiverOutput() {
-        // 将矩阵T转置，按行获取
-        TransBitMatrix tMatrixTranspose = tMatrix.transpose();
+        // 将矩阵T分块转置，按行获取，不构建完整的转置矩阵
+        Stream<byte[][]> tTransposeStream = tMatrix.transposeStream();
+        tTransposeStream = parallel ? tTransposeStream.parallel() : tTransposeStream;
+        byte[][] rbArray = tTransposeStream.flatMap(Arrays::stream).toArray(byte[][]::new);
         tMatrix = null;
-        byte[][] rbArray = IntStream.range(0, num)
-            .mapToObj(tMatrixTranspose::getColumn)
-            .toArray(byte[][]::new);
         // 打包u^i
         return CotReceiverOutput.create(choices, rbArray);
     }
@@ -1,8 +1,10 @@
 package edu.alibaba.mpc4j.s2pc.pcg.ot.cot.core.alsz13;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import edu.alibaba.mpc4j.common.rpc.*;
 import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
@@ -86,22 +88,29 @@ public class Alsz13CoreCotSender extends AbstractCoreCotSender {
         TransBitMatrix qMatrix = TransBitMatrixFactory.createInstance(envType, num, CommonConstants.BLOCK_BIT_LENGTH, parallel);
         // 设置矩阵Q的每一列
         byte[][] uArray = matrixPayload.toArray(new byte[0][]);
-        IntStream qMatrixIntStream = IntStream.range(0, CommonConstants.BLOCK_BIT_LENGTH);
-        qMatrixIntStream = parallel ? qMatrixIntStream.parallel() : qMatrixIntStream;
-        qMatrixIntStream.forEach(columnIndex -> {
-            byte[] columnBytes = prg.extendToBytes(kdfOtReceiverOutput.getKb(columnIndex, extraInfo));
-            BytesUtils.reduceByteArray(columnBytes, num);
-            if (deltaBinary[columnIndex]) {
-                BytesUtils.xori(columnBytes, uArray[columnIndex]);
+        IntStream batchIndexIntStream = IntStream.range(0, Alsz13CoreCotPtoDesc.BATCH_NUM);
+        batchIndexIntStream = parallel ? batchIndexIntStream.parallel() : batchIndexIntStream;
+        batchIndexIntStream.forEach(batchIndex -> {
+            int fromColumnIndex = batchIndex * Alsz13CoreCotPtoDesc.BATCH_COLUMN_NUM;
+            byte[][] kbArray = IntStream.range(0, Alsz13CoreCotPtoDesc.BATCH_COLUMN_NUM)
+                .mapToObj(batchColumnIndex -> kdfOtReceiverOutput.getKb(fromColumnIndex + batchColumnIndex, extraInfo))
+                .toArray(byte[][]::new);
+            byte[][] columnBytesArray = prg.extendToBytes(kbArray);
+            for (int batchColumnIndex = 0; batchColumnIndex < Alsz13CoreCotPtoDesc.BATCH_COLUMN_NUM; batchColumnIndex++) {
+                int columnIndex = fromColumnIndex + batchColumnIndex;
+                byte[] columnBytes = columnBytesArray[batchColumnIndex];
+                BytesUtils.reduceByteArray(columnBytes, num);
+                if (deltaBinary[columnIndex]) {
+                    BytesUtils.xori(columnBytes, uArray[columnIndex]);
+                }
+                qMatrix.setColumn(columnIndex, columnBytes);
             }
-            qMatrix.setColumn(columnIndex, columnBytes);
         });
-        // 矩阵转置，方便按行获取Q
-        TransBitMatrix qMatrixTranspose = qMatrix.transpose();
+        // 矩阵分块转置，按行获取Q，不构建完整的转置矩阵
+        Stream<byte[][]> qTransposeStream = qMatrix.transposeStream();
+        qTransposeStream = parallel ? qTransposeStream.parallel() : qTransposeStream;
         // 生成r0
-        byte[][] r0Array = IntStream.range(0, num)
-            .mapToObj(qMatrixTranspose::getColumn)
-            .toArray(byte[][]::new);
+        byte[][] r0Array = qTransposeStream.flatMap(Arrays::stream).toArray(byte[][]::new);
 
         return CotSenderOutput.create(delta, r0Array);
     }
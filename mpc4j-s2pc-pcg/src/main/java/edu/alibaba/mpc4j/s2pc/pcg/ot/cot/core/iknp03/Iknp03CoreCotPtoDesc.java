@@ -2,6 +2,7 @@ package edu.alibaba.mpc4j.s2pc.pcg.ot.cot.core.iknp03;
 
 import edu.alibaba.mpc4j.common.rpc.desc.PtoDesc;
 import edu.alibaba.mpc4j.common.rpc.desc.PtoDescManager;
+import edu.alibaba.mpc4j.common.tool.CommonConstants;
 
 /**
  * IKNP03-核COT协议信息。论文来源：
@@ -33,6 +34,15 @@ class Iknp03CoreCotPtoDesc implements PtoDesc {
         RECEIVER_SEND_MATRIX,
     }
 
+    /**
+     * number of matrix columns in each stream chunk
+     */
+    static final int CHUNK_COLUMN_NUM = 8;
+    /**
+     * number of stream chunks for the matrix
+     */
+    static final int CHUNK_NUM = CommonConstants.BLOCK_BIT_LENGTH / CHUNK_COLUMN_NUM;
+
     /**
      * 单例模式
      */
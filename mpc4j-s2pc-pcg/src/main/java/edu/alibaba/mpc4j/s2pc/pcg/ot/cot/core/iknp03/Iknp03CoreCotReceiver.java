@@ -1,16 +1,17 @@
 package edu.alibaba.mpc4j.s2pc.pcg.ot.cot.core.iknp03;
 
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
 import edu.alibaba.mpc4j.common.rpc.Party;
 import edu.alibaba.mpc4j.common.rpc.PtoState;
 import edu.alibaba.mpc4j.common.rpc.Rpc;
-import edu.alibaba.mpc4j.common.rpc.utils.DataPacket;
 import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
 import edu.alibaba.mpc4j.common.tool.CommonConstants;
 import edu.alibaba.mpc4j.common.tool.bitmatrix.trans.TransBitMatrix;
@@ -74,12 +75,13 @@ public class Iknp03CoreCotReceiver extends AbstractCoreCotReceiver {
         logPhaseInfo(PtoState.PTO_BEGIN);
 
         stopWatch.start();
-        List<byte[]> matrixPayload = generateMatrixPayload();
+        // the matrix is streamed by chunks, so that the sender can handle columns once they arrive
+        Iterator<List<byte[]>> matrixChunkIterator = generateMatrixChunkIterator();
         DataPacketHeader matrixHeader = new DataPacketHeader(
             encodeTaskId, getPtoDesc().getPtoId(), PtoStep.RECEIVER_SEND_MATRIX.ordinal(), extraInfo,
             ownParty().getPartyId(), otherParty().getPartyId()
         );
-        rpc.send(DataPacket.fromByteArrayList(matrixHeader, matrixPayload));
+        rpc.sendStream(matrixHeader, matrixChunkIterator);
         CotReceiverOutput receiverOutput = generateReceiverOutput();
         stopWatch.stop();
         long keyGenTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
@@ -90,30 +92,44 @@ public class Iknp03CoreCotReceiver extends AbstractCoreCotReceiver {
         return receiverOutput;
     }
 
-    private List<byte[]> generateMatrixPayload() {
+    private Iterator<List<byte[]>> generateMatrixChunkIterator() {
         // 将选择比特组合成byte[]，方便在矩阵中执行xor运算
         byte[] choiceBytes = BinaryUtils.binaryToRoundByteArray(choices);
         // 初始化伪随机数生成器
         Prg prg = PrgFactory.createInstance(envType, choiceBytes.length);
         // 构建矩阵tMatrix
         tMatrix = TransBitMatrixFactory.createInstance(envType, num, CommonConstants.BLOCK_BIT_LENGTH, parallel);
+        // 按块惰性生成矩阵列密文，每个块在发送时才生成
+        return IntStream.range(0, Iknp03CoreCotPtoDesc.CHUNK_NUM)
+            .mapToObj(chunkIndex -> generateMatrixChunk(chunkIndex, prg, choiceBytes))
+            .iterator();
+    }
+
+    private List<byte[]> generateMatrixChunk(int chunkIndex, Prg prg, byte[] choiceBytes) {
         // 矩阵列加密流
-        IntStream columnIndexIntStream = IntStream.range(0, CommonConstants.BLOCK_BIT_LENGTH);
+        int fromColumnIndex = chunkIndex * Iknp03CoreCotPtoDesc.CHUNK_COLUMN_NUM;
+        IntStream columnIndexIntStream = IntStream.range(
+            fromColumnIndex, fromColumnIndex + Iknp03CoreCotPtoDesc.CHUNK_COLUMN_NUM
+        );
         columnIndexIntStream = parallel ? columnIndexIntStream.parallel() : columnIndexIntStream;
         return columnIndexIntStream
             .mapToObj(columnIndex -> {
                 // Receiver forms m \times k matrices T_0, T_1 such that t_{j, 0} \oplus t_{j, 1} = (r_j || \cdots || r_j)
                 byte[] columnSeed = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
                 secureRandom.nextBytes(columnSeed);
-                byte[] column0Bytes = prg.extendToBytes(columnSeed);
+                // the column seed and the two OT keys are extended by one batch PRG call
+                byte[][] extendBytesArray = prg.extendToBytes(new byte[][] {
+                    columnSeed, kdfOtSenderOutput.getK0(columnIndex, extraInfo), kdfOtSenderOutput.getK1(columnIndex, extraInfo),
+                });
+                byte[] column0Bytes = extendBytesArray[0];
                 BytesUtils.reduceByteArray(column0Bytes, num);
                 tMatrix.setColumn(columnIndex, column0Bytes);
                 byte[] column1Bytes = BytesUtils.xor(column0Bytes, choiceBytes);
                 // Sender and receiver interact with OT^k_m: the receiver acts as OT sender with input t_0, t_1
-                byte[] message0 = prg.extendToBytes(kdfOtSenderOutput.getK0(columnIndex, extraInfo));
+                byte[] message0 = extendBytesArray[1];
                 BytesUtils.reduceByteArray(message0, num);
                 BytesUtils.xori(message0, column0Bytes);
-                byte[] message1 = prg.extendToBytes(kdfOtSenderOutput.getK1(columnIndex, extraInfo));
+                byte[] message1 = extendBytesArray[2];
                 BytesUtils.reduceByteArray(message1, num);
                 BytesUtils.xori(message1, column1Bytes);
 
@@ -124,12 +140,11 @@ public class Iknp03CoreCotReceiver extends AbstractCoreCotReceiver {
     }
 
     private CotReceiverOutput generateReceiverOutput() {
-        // 生成密钥数组，将矩阵T转置，按行获取
-        TransBitMatrix tMatrixTranspose = tMatrix.transpose();
+        // 生成密钥数组，将矩阵T分块转置，按行获取，不构建完整的转置矩阵
+        Stream<byte[][]> tTransposeStream = tMatrix.transposeStream();
+        tTransposeStream = parallel ? tTransposeStream.parallel() : tTransposeStream;
+        byte[][] rbArray = tTransposeStream.flatMap(Arrays::stream).toArray(byte[][]::new);
         tMatrix = null;
-        byte[][] rbArray = IntStream.range(0, num)
-            .mapToObj(tMatrixTranspose::getColumn)
-            .toArray(byte[][]::new);
 
         return CotReceiverOutput.create(choices, rbArray);
     }
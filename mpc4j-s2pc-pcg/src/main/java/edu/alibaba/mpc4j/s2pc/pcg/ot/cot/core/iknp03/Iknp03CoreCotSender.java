@@ -1,8 +1,11 @@
 package edu.alibaba.mpc4j.s2pc.pcg.ot.cot.core.iknp03;
 
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import edu.alibaba.mpc4j.common.rpc.*;
 import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
@@ -68,8 +71,8 @@ public class Iknp03CoreCotSender extends AbstractCoreCotSender {
             encodeTaskId, getPtoDesc().getPtoId(), PtoStep.RECEIVER_SEND_MATRIX.ordinal(), extraInfo,
             otherParty().getPartyId(), ownParty().getPartyId()
         );
-        List<byte[]> matrixPayload = rpc.receive(matrixHeader).getPayload();
-        CotSenderOutput senderOutput = handleMatrixPayload(matrixPayload);
+        Iterator<List<byte[]>> matrixChunkIterator = rpc.receiveStream(matrixHeader);
+        CotSenderOutput senderOutput = handleMatrixChunks(matrixChunkIterator);
         stopWatch.stop();
         long matrixTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
@@ -79,28 +82,37 @@ public class Iknp03CoreCotSender extends AbstractCoreCotSender {
         return senderOutput;
     }
 
-    private CotSenderOutput handleMatrixPayload(List<byte[]> matrixPayload) throws MpcAbortException {
-        MpcAbortPreconditions.checkArgument(matrixPayload.size() == CommonConstants.BLOCK_BIT_LENGTH * 2);
+    private CotSenderOutput handleMatrixChunks(Iterator<List<byte[]>> matrixChunkIterator) throws MpcAbortException {
         Prg prg = PrgFactory.createInstance(envType, CommonUtils.getByteLength(num));
         // 定义并设置矩阵Q
         TransBitMatrix qMatrix = TransBitMatrixFactory.createInstance(envType, num, CommonConstants.BLOCK_BIT_LENGTH, parallel);
-        byte[][] tMatrixFlattenedCiphertext = matrixPayload.toArray(new byte[0][]);
-        // 矩阵生成流
-        IntStream matrixColumnIntStream = IntStream.range(0, CommonConstants.BLOCK_BIT_LENGTH);
-        matrixColumnIntStream = parallel ? matrixColumnIntStream.parallel() : matrixColumnIntStream;
-        matrixColumnIntStream.forEach(columnIndex -> {
-            byte[] columnBytes = prg.extendToBytes(kdfOtReceiverOutput.getKb(columnIndex, extraInfo));
-            BytesUtils.reduceByteArray(columnBytes, num);
-            byte[] message = kdfOtReceiverOutput.getChoice(columnIndex) ?
-                tMatrixFlattenedCiphertext[2 * columnIndex + 1] : tMatrixFlattenedCiphertext[2 * columnIndex];
-            BytesUtils.xori(columnBytes, message);
-            qMatrix.setColumn(columnIndex, columnBytes);
-        });
-        // 矩阵转置，方便按行获取Q
-        TransBitMatrix qMatrixTranspose = qMatrix.transpose();
-        byte[][] r0Array = IntStream.range(0, num)
-            .mapToObj(qMatrixTranspose::getColumn)
-            .toArray(byte[][]::new);
+        // 每收到一个块就处理对应的矩阵列
+        int chunkIndex = 0;
+        while (matrixChunkIterator.hasNext()) {
+            List<byte[]> matrixChunk = matrixChunkIterator.next();
+            MpcAbortPreconditions.checkArgument(chunkIndex < Iknp03CoreCotPtoDesc.CHUNK_NUM);
+            MpcAbortPreconditions.checkArgument(matrixChunk.size() == Iknp03CoreCotPtoDesc.CHUNK_COLUMN_NUM * 2);
+            byte[][] tMatrixFlattenedCiphertext = matrixChunk.toArray(new byte[0][]);
+            int fromColumnIndex = chunkIndex * Iknp03CoreCotPtoDesc.CHUNK_COLUMN_NUM;
+            // 矩阵生成流
+            IntStream matrixColumnIntStream = IntStream.range(0, Iknp03CoreCotPtoDesc.CHUNK_COLUMN_NUM);
+            matrixColumnIntStream = parallel ? matrixColumnIntStream.parallel() : matrixColumnIntStream;
+            matrixColumnIntStream.forEach(chunkColumnIndex -> {
+                int columnIndex = fromColumnIndex + chunkColumnIndex;
+                byte[] columnBytes = prg.extendToBytes(kdfOtReceiverOutput.getKb(columnIndex, extraInfo));
+                BytesUtils.reduceByteArray(columnBytes, num);
+                byte[] message = kdfOtReceiverOutput.getChoice(columnIndex) ?
+                    tMatrixFlattenedCiphertext[2 * chunkColumnIndex + 1] : tMatrixFlattenedCiphertext[2 * chunkColumnIndex];
+                BytesUtils.xori(columnBytes, message);
+                qMatrix.setColumn(columnIndex, columnBytes);
+            });
+            chunkIndex++;
+        }
+        MpcAbortPreconditions.checkArgument(chunkIndex == Iknp03CoreCotPtoDesc.CHUNK_NUM);
+        // 矩阵分块转置，按行获取Q，不构建完整的转置矩阵
+        Stream<byte[][]> qTransposeStream = qMatrix.transposeStream();
+        qTransposeStream = parallel ? qTransposeStream.parallel() : qTransposeStream;
+        byte[][] r0Array = qTransposeStream.flatMap(Arrays::stream).toArray(byte[][]::new);
 
         return CotSenderOutput.create(delta, r0Array);
     }
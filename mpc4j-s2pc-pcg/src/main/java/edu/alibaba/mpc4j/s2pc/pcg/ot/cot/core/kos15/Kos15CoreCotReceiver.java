@@ -23,11 +23,13 @@ import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotReceiverOutput;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.core.kos15.Kos15CoreCotPtoDesc.PtoStep;
 
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * KOS15-核COT协议接收方。
@@ -65,9 +67,9 @@ public class Kos15CoreCotReceiver extends AbstractCoreCotReceiver {
      */
     private TransBitMatrix tMatrix;
     /**
-     * 转置矩阵T
+     * Rb数组，即矩阵T的前l行
      */
-    private TransBitMatrix tTransposeMatrix;
+    private byte[][] rbArray;
 
     public Kos15CoreCotReceiver(Rpc receiverRpc, Party senderParty, Kos15CoreCotConfig config) {
         super(Kos15CoreCotPtoDesc.getInstance(), receiverRpc, senderParty, config);
@@ -132,7 +134,6 @@ public class Kos15CoreCotReceiver extends AbstractCoreCotReceiver {
         );
         rpc.send(DataPacket.fromByteArrayList(correlateCheckHeader, correlateCheckPayload));
         CotReceiverOutput receiverOutput = generateReceiverOutput();
-        tTransposeMatrix = null;
         stopWatch.stop();
         long checkTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
@@ -161,55 +162,77 @@ public class Kos15CoreCotReceiver extends AbstractCoreCotReceiver {
         // 构建矩阵tMatrix，共有l'行，λ列
         tMatrix = TransBitMatrixFactory.createInstance(envType, extendNum, CommonConstants.BLOCK_BIT_LENGTH, parallel);
         // 用密钥扩展得到矩阵T
-        IntStream columnIndexIntStream = IntStream.range(0, CommonConstants.BLOCK_BIT_LENGTH);
-        columnIndexIntStream = parallel ? columnIndexIntStream.parallel() : columnIndexIntStream;
-        return columnIndexIntStream
-            .mapToObj(columnIndex -> {
-                // R computes t^i = G(k^0_i)
-                byte[] tExtendBytes = prg.extendToBytes(kdfOtSenderOutput.getK0(columnIndex, extraInfo));
-                BytesUtils.reduceByteArray(tExtendBytes, extendNum);
-                tMatrix.setColumn(columnIndex, tExtendBytes);
-                // and u^i = t^i ⊕ G(k_i^1) ⊕ r
-                byte[] uExtendBytes = prg.extendToBytes(kdfOtSenderOutput.getK1(columnIndex, extraInfo));
-                BytesUtils.reduceByteArray(uExtendBytes, extendNum);
-                BytesUtils.xori(uExtendBytes, tExtendBytes);
-                BytesUtils.xori(uExtendBytes, rExtendBytes);
-
-                return uExtendBytes;
+        IntStream batchIndexIntStream = IntStream.range(0, Kos15CoreCotPtoDesc.BATCH_NUM);
+        batchIndexIntStream = parallel ? batchIndexIntStream.parallel() : batchIndexIntStream;
+        return batchIndexIntStream
+            .mapToObj(batchIndex -> {
+                int fromColumnIndex = batchIndex * Kos15CoreCotPtoDesc.BATCH_COLUMN_NUM;
+                // 一次批量扩展本批所有列的k^0_i和k^1_i
+                byte[][] keyArray = new byte[Kos15CoreCotPtoDesc.BATCH_COLUMN_NUM * 2][];
+                for (int batchColumnIndex = 0; batchColumnIndex < Kos15CoreCotPtoDesc.BATCH_COLUMN_NUM; batchColumnIndex++) {
+                    int columnIndex = fromColumnIndex + batchColumnIndex;
+                    keyArray[batchColumnIndex] = kdfOtSenderOutput.getK0(columnIndex, extraInfo);
+                    keyArray[Kos15CoreCotPtoDesc.BATCH_COLUMN_NUM + batchColumnIndex] = kdfOtSenderOutput.getK1(columnIndex, extraInfo);
+                }
+                byte[][] extendBytesArray = prg.extendToBytes(keyArray);
+                byte[][] batchUArray = new byte[Kos15CoreCotPtoDesc.BATCH_COLUMN_NUM][];
+                for (int batchColumnIndex = 0; batchColumnIndex < Kos15CoreCotPtoDesc.BATCH_COLUMN_NUM; batchColumnIndex++) {
+                    // R computes t^i = G(k^0_i)
+                    byte[] tExtendBytes = extendBytesArray[batchColumnIndex];
+                    BytesUtils.reduceByteArray(tExtendBytes, extendNum);
+                    tMatrix.setColumn(fromColumnIndex + batchColumnIndex, tExtendBytes);
+                    // and u^i = t^i ⊕ G(k_i^1) ⊕ r
+                    byte[] uExtendBytes = extendBytesArray[Kos15CoreCotPtoDesc.BATCH_COLUMN_NUM + batchColumnIndex];
+                    BytesUtils.reduceByteArray(uExtendBytes, extendNum);
+                    BytesUtils.xori(uExtendBytes, tExtendBytes);
+                    BytesUtils.xori(uExtendBytes, rExtendBytes);
+                    batchUArray[batchColumnIndex] = uExtendBytes;
+                }
+                return batchUArray;
             })
+            .flatMap(Arrays::stream)
             .collect(Collectors.toList());
     }
 
     private List<byte[]> generateCorrelateCheckPayload() {
-        // 矩阵转置，得到t
-        tTransposeMatrix = tMatrix.transpose();
-        tMatrix = null;
-        byte[][] chiPolynomials = new byte[extendNum][];
-        byte[][] tPolynomials = new byte[extendNum][];
-        IntStream extendIndexIntStream = IntStream.range(0, extendNum);
-        extendIndexIntStream = parallel ? extendIndexIntStream.parallel() : extendIndexIntStream;
-        extendIndexIntStream.forEach(extendIndex -> {
-            // 调用随机预言的输入是ExtraInfo || extendIndex
-            byte[] indexMessage = ByteBuffer.allocate(Long.BYTES + Integer.BYTES)
-                .putLong(extraInfo).putInt(extendIndex).array();
-            // Sample (χ_1, ..., χ_{l'}) ← F_{Rand}(F_{2^κ}^{l'}).
-            chiPolynomials[extendIndex] = randomOracle.getBytes(indexMessage);
-            // t_j·χ_j
-            tPolynomials[extendIndex] = gf2k.mul(chiPolynomials[extendIndex], tTransposeMatrix.getColumn(extendIndex));
-        });
+        rbArray = new byte[num][];
         byte[] xPolynomial = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
-        // x = Σ_{j = 1}^{l'} (x_j · χ_j)
-        for (int extendIndex = 0; extendIndex < extendNum; extendIndex++) {
-            // 如果x_j = 1，则x = x + χ_j
-            if (extendChoices[extendIndex]) {
-                gf2k.addi(xPolynomial, chiPolynomials[extendIndex]);
-            }
-        }
-        // t = Σ_{j = 1}^{l'} (t_j · χ_j)
         byte[] tPolynomial = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
-        for (int extendIndex = 0; extendIndex < extendNum; extendIndex++) {
-            gf2k.addi(tPolynomial, tPolynomials[extendIndex]);
-        }
+        // 矩阵分块转置，每个分块转置后立即累加相关性检查项，只保留前l行，不构建完整的转置矩阵
+        int[] fromExtendIndex = new int[1];
+        Stream<byte[][]> tTransposeStream = tMatrix.transposeStream();
+        tTransposeStream = parallel ? tTransposeStream.parallel() : tTransposeStream;
+        tTransposeStream.forEachOrdered(tChunk -> {
+            int from = fromExtendIndex[0];
+            IntStream chunkIndexIntStream = IntStream.range(0, tChunk.length);
+            chunkIndexIntStream = parallel ? chunkIndexIntStream.parallel() : chunkIndexIntStream;
+            byte[][][] chunkPolynomials = chunkIndexIntStream
+                .mapToObj(chunkIndex -> {
+                    // 调用随机预言的输入是ExtraInfo || extendIndex
+                    byte[] indexMessage = ByteBuffer.allocate(Long.BYTES + Integer.BYTES)
+                        .putLong(extraInfo).putInt(from + chunkIndex).array();
+                    // Sample (χ_1, ..., χ_{l'}) ← F_{Rand}(F_{2^κ}^{l'}).
+                    byte[] chiPolynomial = randomOracle.getBytes(indexMessage);
+                    // t_j·χ_j
+                    return new byte[][]{chiPolynomial, gf2k.mul(chiPolynomial, tChunk[chunkIndex])};
+                })
+                .toArray(byte[][][]::new);
+            for (int chunkIndex = 0; chunkIndex < tChunk.length; chunkIndex++) {
+                int extendIndex = from + chunkIndex;
+                // x = Σ_{j = 1}^{l'} (x_j · χ_j)，如果x_j = 1，则x = x + χ_j
+                if (extendChoices[extendIndex]) {
+                    gf2k.addi(xPolynomial, chunkPolynomials[chunkIndex][0]);
+                }
+                // t = Σ_{j = 1}^{l'} (t_j · χ_j)
+                gf2k.addi(tPolynomial, chunkPolynomials[chunkIndex][1]);
+                if (extendIndex < num) {
+                    rbArray[extendIndex] = tChunk[chunkIndex];
+                }
+            }
+            fromExtendIndex[0] = from + tChunk.length;
+        });
+        assert fromExtendIndex[0] == extendNum;
+        tMatrix = null;
         List<byte[]> correlateCheckPayload = new LinkedList<>();
         correlateCheckPayload.add(xPolynomial);
         correlateCheckPayload.add(tPolynomial);
@@ -218,9 +241,8 @@ public class Kos15CoreCotReceiver extends AbstractCoreCotReceiver {
     }
 
     private CotReceiverOutput generateReceiverOutput() {
-        byte[][] rbArray = IntStream.range(0, num)
-            .mapToObj(tTransposeMatrix::getColumn)
-            .toArray(byte[][]::new);
-        return CotReceiverOutput.create(choices, rbArray);
+        CotReceiverOutput receiverOutput = CotReceiverOutput.create(choices, rbArray);
+        rbArray = null;
+        return receiverOutput;
     }
 }
@@ -27,6 +27,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * KOS15-核COT协议发送方。
@@ -60,9 +61,13 @@ public class Kos15CoreCotSender extends AbstractCoreCotSender {
      */
     private int extendByteNum;
     /**
-     * Q的转置矩阵
+     * R0数组，即矩阵Q的前l行
      */
-    private TransBitMatrix qTransposeMatrix;
+    private byte[][] r0Array;
+    /**
+     * q = Σ_{j = 1}^{l'} (q_j · χ_j)
+     */
+    private byte[] qPolynomial;
 
     public Kos15CoreCotSender(Rpc senderRpc, Party receiverParty, Kos15CoreCotConfig config) {
         super(Kos15CoreCotPtoDesc.getInstance(), senderRpc, receiverParty, config);
@@ -150,18 +155,57 @@ public class Kos15CoreCotSender extends AbstractCoreCotSender {
         );
         // 设置矩阵Q的每一列
         byte[][] uArray = matrixPayload.toArray(new byte[0][]);
-        IntStream qMatrixIntStream = IntStream.range(0, CommonConstants.BLOCK_BIT_LENGTH);
-        qMatrixIntStream = parallel ? qMatrixIntStream.parallel() : qMatrixIntStream;
-        qMatrixIntStream.forEach(columnIndex -> {
-            byte[] columnBytes = prg.extendToBytes(kdfOtReceiverOutput.getKb(columnIndex, extraInfo));
-            BytesUtils.reduceByteArray(columnBytes, extendNum);
-            if (deltaBinary[columnIndex]) {
-                BytesUtils.xori(columnBytes, uArray[columnIndex]);
+        IntStream batchIndexIntStream = IntStream.range(0, Kos15CoreCotPtoDesc.BATCH_NUM);
+        batchIndexIntStream = parallel ? batchIndexIntStream.parallel() : batchIndexIntStream;
+        batchIndexIntStream.forEach(batchIndex -> {
+            int fromColumnIndex = batchIndex * Kos15CoreCotPtoDesc.BATCH_COLUMN_NUM;
+            byte[][] kbArray = IntStream.range(0, Kos15CoreCotPtoDesc.BATCH_COLUMN_NUM)
+                .mapToObj(batchColumnIndex -> kdfOtReceiverOutput.getKb(fromColumnIndex + batchColumnIndex, extraInfo))
+                .toArray(byte[][]::new);
+            byte[][] columnBytesArray = prg.extendToBytes(kbArray);
+            for (int batchColumnIndex = 0; batchColumnIndex < Kos15CoreCotPtoDesc.BATCH_COLUMN_NUM; batchColumnIndex++) {
+                int columnIndex = fromColumnIndex + batchColumnIndex;
+                byte[] columnBytes = columnBytesArray[batchColumnIndex];
+                BytesUtils.reduceByteArray(columnBytes, extendNum);
+                if (deltaBinary[columnIndex]) {
+                    BytesUtils.xori(columnBytes, uArray[columnIndex]);
+                }
+                qMatrix.setColumn(columnIndex, columnBytes);
             }
-            qMatrix.setColumn(columnIndex, columnBytes);
         });
-        // 矩阵转置，方便按行获取Q
-        qTransposeMatrix = qMatrix.transpose();
+        r0Array = new byte[num][];
+        qPolynomial = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
+        // 矩阵分块转置，每个分块转置后立即累加相关性检查项，只保留前l行，不构建完整的转置矩阵
+        int[] fromExtendIndex = new int[1];
+        Stream<byte[][]> qTransposeStream = qMatrix.transposeStream();
+        qTransposeStream = parallel ? qTransposeStream.parallel() : qTransposeStream;
+        qTransposeStream.forEachOrdered(qChunk -> {
+            int from = fromExtendIndex[0];
+            IntStream chunkIndexIntStream = IntStream.range(0, qChunk.length);
+            chunkIndexIntStream = parallel ? chunkIndexIntStream.parallel() : chunkIndexIntStream;
+            // q_j · χ_j
+            byte[][] chunkPolynomials = chunkIndexIntStream
+                .mapToObj(chunkIndex -> {
+                    // 调用随机预言的输入是ExtraInfo || extendIndex
+                    byte[] indexMessage = ByteBuffer.allocate(Long.BYTES + Integer.BYTES)
+                        .putLong(extraInfo).putInt(from + chunkIndex).array();
+                    // Sample (χ_1, ..., χ_{l'}) ← F_{Rand}(F_{2^κ}^{l'}).
+                    byte[] chiPolynomial = randomOracle.getBytes(indexMessage);
+                    gf2k.muli(chiPolynomial, qChunk[chunkIndex]);
+                    return chiPolynomial;
+                })
+                .toArray(byte[][]::new);
+            for (int chunkIndex = 0; chunkIndex < qChunk.length; chunkIndex++) {
+                int extendIndex = from + chunkIndex;
+                // q = Σ_{j = 1}^{l'} (q_j · χ_j)
+                gf2k.addi(qPolynomial, chunkPolynomials[chunkIndex]);
+                if (extendIndex < num) {
+                    r0Array[extendIndex] = qChunk[chunkIndex];
+                }
+            }
+            fromExtendIndex[0] = from + qChunk.length;
+        });
+        assert fromExtendIndex[0] == extendNum;
     }
 
     private CotSenderOutput handleCorrelateCheckPayload(List<byte[]> correlateCheckPayload) throws MpcAbortException {
@@ -170,35 +214,15 @@ public class Kos15CoreCotSender extends AbstractCoreCotSender {
         // 解包x和t
         byte[] xPolynomial = correlateCheckPayload.remove(0);
         byte[] tPolynomial = correlateCheckPayload.remove(0);
-        // Sample (χ_1, ..., χ_{l'}) ← F_{Rand}(F_{2^κ}^{l'}).
-        IntStream extendIndexIntStream = IntStream.range(0, extendNum);
-        extendIndexIntStream = parallel ? extendIndexIntStream.parallel() : extendIndexIntStream;
-        // q_j · χ_j
-        byte[][] indexPolynomials = extendIndexIntStream
-            .mapToObj(extendIndex -> {
-                // 调用随机预言的输入是ExtraInfo || extendIndex
-                byte[] indexMessage = ByteBuffer.allocate(Long.BYTES + Integer.BYTES)
-                    .putLong(extraInfo).putInt(extendIndex).array();
-                byte[] chiPolynomial = randomOracle.getBytes(indexMessage);
-                byte[] qi = qTransposeMatrix.getColumn(extendIndex);
-                gf2k.muli(chiPolynomial, qi);
-                return chiPolynomial;
-            })
-            .toArray(byte[][]::new);
-        // q = Σ_{j = 1}^{l'} (q_j · χ_j)
-        byte[] qPolynomial = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
-        for (int extendIndex = 0; extendIndex < extendNum; extendIndex++) {
-            gf2k.addi(qPolynomial, indexPolynomials[extendIndex]);
-        }
         // check that t = q + x · Δ. If the check fails, output Abort.
         gf2k.muli(xPolynomial, delta);
         gf2k.addi(xPolynomial, qPolynomial);
         MpcAbortPreconditions.checkArgument(Arrays.equals(tPolynomial, xPolynomial));
+        qPolynomial = null;
         // 生成r0
-        byte[][] r0Array = IntStream.range(0, num)
-            .mapToObj(qTransposeMatrix::getColumn)
-            .toArray(byte[][]::new);
+        CotSenderOutput senderOutput = CotSenderOutput.create(delta, r0Array);
+        r0Array = null;
 
-        return CotSenderOutput.create(delta, r0Array);
+        return senderOutput;
     }
 }
@@ -2,6 +2,7 @@ package edu.alibaba.mpc4j.s2pc.pcg.ot.cot.impl.cache;
 
 import edu.alibaba.mpc4j.common.rpc.desc.SecurityModel;
 import edu.alibaba.mpc4j.common.rpc.pto.AbstractMultiPartyPtoConfig;
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotConfig;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotFactory;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.nc.NcCotConfig;
@@ -24,11 +25,21 @@ public class CacheCotConfig extends AbstractMultiPartyPtoConfig implements CotCo
      * pre-compute COT config
      */
     private final PreCotConfig preCotConfig;
+    /**
+     * low watermark of the background refill
+     */
+    private final int lowWatermark;
+    /**
+     * high watermark of the background refill, 0 if the background refill is disabled
+     */
+    private final int highWatermark;
 
     private CacheCotConfig(Builder builder) {
         super(SecurityModel.MALICIOUS, builder.ncCotConfig, builder.preCotConfig);
         ncCotConfig = builder.ncCotConfig;
         preCotConfig = builder.preCotConfig;
+        lowWatermark = builder.lowWatermark;
+        highWatermark = builder.highWatermark;
     }
 
     public NcCotConfig getNcCotConfig() {
@@ -39,6 +50,23 @@ public class CacheCotConfig extends AbstractMultiPartyPtoConfig implements CotCo
         return preCotConfig;
     }
 
+    /**
+     * Returns whether a background worker keeps the buffer between the low watermark and the high watermark.
+     *
+     * @return whether the background refill is enabled.
+     */
+    public boolean isBackgroundRefill() {
+        return highWatermark > 0;
+    }
+
+    public int getLowWatermark() {
+        return lowWatermark;
+    }
+
+    public int getHighWatermark() {
+        return highWatermark;
+    }
+
     @Override
     public CotFactory.CotType getPtoType() {
         return CotFactory.CotType.CACHE;
@@ -53,6 +81,14 @@ public class CacheCotConfig extends AbstractMultiPartyPtoConfig implements CotCo
          * precompute COT config
          */
         private PreCotConfig preCotConfig;
+        /**
+         * low watermark of the background refill
+         */
+        private int lowWatermark;
+        /**
+         * high watermark of the background refill, 0 if the background refill is disabled
+         */
+        private int highWatermark;
 
         public Builder(SecurityModel securityModel) {
             ncCotConfig = NcCotFactory.createDefaultConfig(securityModel, true);
@@ -69,6 +105,23 @@ public class CacheCotConfig extends AbstractMultiPartyPtoConfig implements CotCo
             return this;
         }
 
+        /**
+         * Enables the background refill. The sender starts refilling once the buffer has less than the low watermark
+         * outputs, and stops refilling once the buffer has at least the high watermark outputs.
+         *
+         * @param lowWatermark  low watermark.
+         * @param highWatermark high watermark.
+         * @return the builder.
+         */
+        public Builder setRefillWatermarks(int lowWatermark, int highWatermark) {
+            MathPreconditions.checkNonNegative("lowWatermark", lowWatermark);
+            MathPreconditions.checkPositive("highWatermark", highWatermark);
+            MathPreconditions.checkGreaterOrEqual("highWatermark", highWatermark, lowWatermark);
+            this.lowWatermark = lowWatermark;
+            this.highWatermark = highWatermark;
+            return this;
+        }
+
         @Override
         public CacheCotConfig build() {
             return new CacheCotConfig(this);
@@ -4,6 +4,7 @@ import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
 import edu.alibaba.mpc4j.common.rpc.Party;
 import edu.alibaba.mpc4j.common.rpc.PtoState;
 import edu.alibaba.mpc4j.common.rpc.Rpc;
+import edu.alibaba.mpc4j.s2pc.pcg.PcgBufferRefiller;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.AbstractCotReceiver;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotReceiverOutput;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.nc.NcCotConfig;
@@ -41,9 +42,23 @@ public class CacheCotReceiver extends AbstractCotReceiver {
      * buffer
      */
     private CotReceiverOutput buffer;
+    /**
+     * low watermark of the background refill
+     */
+    private final int lowWatermark;
+    /**
+     * high watermark of the background refill, 0 if the background refill is disabled
+     */
+    private final int highWatermark;
+    /**
+     * background buffer refiller, null if the background refill is disabled
+     */
+    private PcgBufferRefiller<CotReceiverOutput> bufferRefiller;
 
     public CacheCotReceiver(Rpc receiverRpc, Party senderParty, CacheCotConfig config) {
         super(CacheCotPtoDesc.getInstance(), receiverRpc, senderParty, config);
+        lowWatermark = config.getLowWatermark();
+        highWatermark = config.getHighWatermark();
         NcCotConfig ncCotConfig = config.getNcCotConfig();
         ncCotReceiver = NcCotFactory.createReceiver(receiverRpc, senderParty, ncCotConfig);
         addSubPtos(ncCotReceiver);
@@ -57,6 +72,9 @@ public class CacheCotReceiver extends AbstractCotReceiver {
         setInitInput(updateNum);
         logPhaseInfo(PtoState.INIT_BEGIN);
 
+        // stop the worker of the last initialization before re-initializing the generator
+        stopBufferRefiller();
+
         stopWatch.start();
         int perRoundNum;
         if (updateNum <= maxBaseNum) {
@@ -71,6 +89,11 @@ public class CacheCotReceiver extends AbstractCotReceiver {
         ncCotReceiver.init(perRoundNum);
         buffer = CotReceiverOutput.createEmpty();
         preCotReceiver.init();
+        if (highWatermark > 0) {
+            // the refiller owns the buffer
+            bufferRefiller = new PcgBufferRefiller<>(this, false, lowWatermark, highWatermark, ncCotReceiver::receive, buffer);
+            bufferRefiller.start();
+        }
         stopWatch.stop();
         long initTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
@@ -84,21 +107,23 @@ public class CacheCotReceiver extends AbstractCotReceiver {
         setPtoInput(choices);
         logPhaseInfo(PtoState.PTO_BEGIN);
 
-        while (num > buffer.getNum()) {
-            // generate COT when we do not have enough ones
-            for (int round = 1; round <= updateRound; round++) {
-                stopWatch.start();
-                CotReceiverOutput cotReceiverOutput = ncCotReceiver.receive();
-                buffer.merge(cotReceiverOutput);
-                stopWatch.stop();
-                long roundTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
-                stopWatch.reset();
-                logSubStepInfo(PtoState.PTO_STEP, 0, round, updateRound, roundTime);
+        if (bufferRefiller == null) {
+            while (num > buffer.getNum()) {
+                // generate COT when we do not have enough ones
+                for (int round = 1; round <= updateRound; round++) {
+                    stopWatch.start();
+                    CotReceiverOutput cotReceiverOutput = ncCotReceiver.receive();
+                    buffer.merge(cotReceiverOutput);
+                    stopWatch.stop();
+                    long roundTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+                    stopWatch.reset();
+                    logSubStepInfo(PtoState.PTO_STEP, 0, round, updateRound, roundTime);
+                }
             }
         }
 
         stopWatch.start();
-        CotReceiverOutput receiverOutput = buffer.split(num);
+        CotReceiverOutput receiverOutput = bufferRefiller == null ? buffer.split(num) : bufferRefiller.split(num);
         stopWatch.stop();
         long splitTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
@@ -115,4 +140,26 @@ public class CacheCotReceiver extends AbstractCotReceiver {
         logPhaseInfo(PtoState.PTO_END);
         return receiverOutput;
     }
+
+    /**
+     * Gets the background buffer refiller, which exposes buffer-level and refill-latency metrics.
+     *
+     * @return the background buffer refiller, or null if the background refill is disabled.
+     */
+    public PcgBufferRefiller<CotReceiverOutput> getBufferRefiller() {
+        return bufferRefiller;
+    }
+
+    private void stopBufferRefiller() {
+        if (bufferRefiller != null) {
+            bufferRefiller.stop();
+            bufferRefiller = null;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        stopBufferRefiller();
+        super.destroy();
+    }
 }
@@ -4,6 +4,7 @@ import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
 import edu.alibaba.mpc4j.common.rpc.Party;
 import edu.alibaba.mpc4j.common.rpc.PtoState;
 import edu.alibaba.mpc4j.common.rpc.Rpc;
+import edu.alibaba.mpc4j.s2pc.pcg.PcgBufferRefiller;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.AbstractCotSender;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotSenderOutput;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.nc.NcCotConfig;
@@ -41,9 +42,23 @@ public class CacheCotSender extends AbstractCotSender {
      * buffer
      */
     private CotSenderOutput buffer;
+    /**
+     * low watermark of the background refill
+     */
+    private final int lowWatermark;
+    /**
+     * high watermark of the background refill, 0 if the background refill is disabled
+     */
+    private final int highWatermark;
+    /**
+     * background buffer refiller, null if the background refill is disabled
+     */
+    private PcgBufferRefiller<CotSenderOutput> bufferRefiller;
 
     public CacheCotSender(Rpc senderRpc, Party receiverParty, CacheCotConfig config) {
         super(CacheCotPtoDesc.getInstance(), senderRpc, receiverParty, config);
+        lowWatermark = config.getLowWatermark();
+        highWatermark = config.getHighWatermark();
         NcCotConfig ncCotConfig = config.getNcCotConfig();
         ncCotSender = NcCotFactory.createSender(senderRpc, receiverParty, ncCotConfig);
         addSubPtos(ncCotSender);
@@ -57,6 +72,9 @@ public class CacheCotSender extends AbstractCotSender {
         setInitInput(delta, updateNum);
         logPhaseInfo(PtoState.INIT_BEGIN);
 
+        // stop the worker of the last initialization before re-initializing the generator
+        stopBufferRefiller();
+
         stopWatch.start();
         int perRoundNum;
         if (updateNum <= maxBaseNum) {
@@ -71,6 +89,11 @@ public class CacheCotSender extends AbstractCotSender {
         ncCotSender.init(delta, perRoundNum);
         preCotSender.init();
         buffer = CotSenderOutput.createEmpty(delta);
+        if (highWatermark > 0) {
+            // the refiller owns the buffer
+            bufferRefiller = new PcgBufferRefiller<>(this, true, lowWatermark, highWatermark, ncCotSender::send, buffer);
+            bufferRefiller.start();
+        }
         stopWatch.stop();
         long initTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
@@ -84,21 +107,23 @@ public class CacheCotSender extends AbstractCotSender {
         setPtoInput(num);
         logPhaseInfo(PtoState.PTO_BEGIN);
 
-        while (num > buffer.getNum()) {
-            // generate COT when we do not have enough ones
-            for (int round = 1; round <= updateRound; round++) {
-                stopWatch.start();
-                CotSenderOutput cotSenderOutput = ncCotSender.send();
-                buffer.merge(cotSenderOutput);
-                stopWatch.stop();
-                long roundTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
-                stopWatch.reset();
-                logSubStepInfo(PtoState.PTO_STEP, 0, round, updateRound, roundTime);
+        if (bufferRefiller == null) {
+            while (num > buffer.getNum()) {
+                // generate COT when we do not have enough ones
+                for (int round = 1; round <= updateRound; round++) {
+                    stopWatch.start();
+                    CotSenderOutput cotSenderOutput = ncCotSender.send();
+                    buffer.merge(cotSenderOutput);
+                    stopWatch.stop();
+                    long roundTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+                    stopWatch.reset();
+                    logSubStepInfo(PtoState.PTO_STEP, 0, round, updateRound, roundTime);
+                }
             }
         }
 
         stopWatch.start();
-        CotSenderOutput senderOutput = buffer.split(num);
+        CotSenderOutput senderOutput = bufferRefiller == null ? buffer.split(num) : bufferRefiller.split(num);
         stopWatch.stop();
         long splitTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
@@ -115,4 +140,26 @@ public class CacheCotSender extends AbstractCotSender {
         logPhaseInfo(PtoState.PTO_END);
         return senderOutput;
     }
+
+    /**
+     * Gets the background buffer refiller, which exposes buffer-level and refill-latency metrics.
+     *
+     * @return the background buffer refiller, or null if the background refill is disabled.
+     */
+    public PcgBufferRefiller<CotSenderOutput> getBufferRefiller() {
+        return bufferRefiller;
+    }
+
+    private void stopBufferRefiller() {
+        if (bufferRefiller != null) {
+            bufferRefiller.stop();
+            bufferRefiller = null;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        stopBufferRefiller();
+        super.destroy();
+    }
 }
@@ -0,0 +1,58 @@
+package edu.alibaba.mpc4j.s2pc.pcg.ot.cot.impl.store;
+
+import edu.alibaba.mpc4j.common.tool.CommonConstants;
+import edu.alibaba.mpc4j.common.tool.utils.BinaryUtils;
+import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
+import edu.alibaba.mpc4j.common.tool.utils.LongUtils;
+import edu.alibaba.mpc4j.s2pc.pcg.PcgStoreCodec;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotReceiverOutput;
+
+import java.nio.ByteBuffer;
+
+/**
+ * COT receiver output store codec. There is no meta data, and the output is encoded as packed choices || rb_0 || ... ||
+ * rb_{n - 1}.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/22
+ */
+class CotReceiverStoreCodec implements PcgStoreCodec<CotReceiverOutput> {
+
+    @Override
+    public byte[] getMeta() {
+        return new byte[0];
+    }
+
+    @Override
+    public byte[] encode(CotReceiverOutput output) {
+        int num = output.getNum();
+        byte[] choiceBytes = BinaryUtils.binaryToRoundByteArray(output.getChoices());
+        ByteBuffer byteBuffer = ByteBuffer.allocate(choiceBytes.length + num * CommonConstants.BLOCK_BYTE_LENGTH);
+        byteBuffer.put(choiceBytes);
+        byteBuffer.put(output.getFlattenRbArray());
+        return byteBuffer.array();
+    }
+
+    @Override
+    public CotReceiverOutput decode(int num, byte[] encoded) {
+        int choiceByteLength = CommonUtils.getByteLength(num);
+        assert encoded.length == choiceByteLength + num * CommonConstants.BLOCK_BYTE_LENGTH;
+        ByteBuffer byteBuffer = ByteBuffer.wrap(encoded);
+        byte[] choiceBytes = new byte[choiceByteLength];
+        byteBuffer.get(choiceBytes);
+        // choices are padded at the beginning
+        int offset = choiceByteLength * Byte.SIZE - num;
+        boolean[] choices = new boolean[num];
+        for (int index = 0; index < num; index++) {
+            choices[index] = BinaryUtils.getBoolean(choiceBytes, index + offset);
+        }
+        byte[] flattenRbArray = new byte[num * CommonConstants.BLOCK_BYTE_LENGTH];
+        byteBuffer.get(flattenRbArray);
+        return CotReceiverOutput.create(choices, LongUtils.byteArrayToLongArray(flattenRbArray));
+    }
+
+    @Override
+    public CotReceiverOutput createEmpty() {
+        return CotReceiverOutput.createEmpty();
+    }
+}
@@ -0,0 +1,45 @@
+package edu.alibaba.mpc4j.s2pc.pcg.ot.cot.impl.store;
+
+import edu.alibaba.mpc4j.common.tool.CommonConstants;
+import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
+import edu.alibaba.mpc4j.common.tool.utils.LongUtils;
+import edu.alibaba.mpc4j.s2pc.pcg.PcgStoreCodec;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotSenderOutput;
+
+/**
+ * COT sender output store codec. Δ is the meta data, and the output is encoded as r0_0 || ... || r0_{n - 1}.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/22
+ */
+class CotSenderStoreCodec implements PcgStoreCodec<CotSenderOutput> {
+    /**
+     * Δ
+     */
+    private final byte[] delta;
+
+    CotSenderStoreCodec(byte[] delta) {
+        this.delta = BytesUtils.clone(delta);
+    }
+
+    @Override
+    public byte[] getMeta() {
+        return delta;
+    }
+
+    @Override
+    public byte[] encode(CotSenderOutput output) {
+        return output.getFlattenR0Array();
+    }
+
+    @Override
+    public CotSenderOutput decode(int num, byte[] encoded) {
+        assert encoded.length == num * CommonConstants.BLOCK_BYTE_LENGTH;
+        return CotSenderOutput.create(delta, LongUtils.byteArrayToLongArray(encoded));
+    }
+
+    @Override
+    public CotSenderOutput createEmpty() {
+        return CotSenderOutput.createEmpty(delta);
+    }
+}
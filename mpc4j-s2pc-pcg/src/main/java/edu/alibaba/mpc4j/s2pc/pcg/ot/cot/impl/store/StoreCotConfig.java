@@ -0,0 +1,95 @@
+package edu.alibaba.mpc4j.s2pc.pcg.ot.cot.impl.store;
+
+import com.google.common.base.Preconditions;
+import edu.alibaba.mpc4j.common.rpc.desc.SecurityModel;
+import edu.alibaba.mpc4j.common.rpc.pto.AbstractMultiPartyPtoConfig;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotConfig;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotFactory;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.nc.NcCotConfig;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.nc.NcCotFactory;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.pre.PreCotConfig;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.pre.PreCotFactory;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * store COT config. COTs are stored in the given directory and consumed in order across process restarts. Each party
+ * must use its own directory.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/22
+ */
+public class StoreCotConfig extends AbstractMultiPartyPtoConfig implements CotConfig {
+    /**
+     * no-choice COT config
+     */
+    private final NcCotConfig ncCotConfig;
+    /**
+     * pre-compute COT config
+     */
+    private final PreCotConfig preCotConfig;
+    /**
+     * store directory
+     */
+    private final String directory;
+
+    private StoreCotConfig(Builder builder) {
+        super(SecurityModel.MALICIOUS, builder.ncCotConfig, builder.preCotConfig);
+        ncCotConfig = builder.ncCotConfig;
+        preCotConfig = builder.preCotConfig;
+        directory = builder.directory;
+    }
+
+    public NcCotConfig getNcCotConfig() {
+        return ncCotConfig;
+    }
+
+    public PreCotConfig getPreCotConfig() {
+        return preCotConfig;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    @Override
+    public CotFactory.CotType getPtoType() {
+        return CotFactory.CotType.STORE;
+    }
+
+    public static class Builder implements org.apache.commons.lang3.builder.Builder<StoreCotConfig> {
+        /**
+         * no-choice COT config
+         */
+        private NcCotConfig ncCotConfig;
+        /**
+         * precompute COT config
+         */
+        private PreCotConfig preCotConfig;
+        /**
+         * store directory
+         */
+        private final String directory;
+
+        public Builder(SecurityModel securityModel, String directory) {
+            Preconditions.checkArgument(StringUtils.isNotBlank(directory), "directory must not be blank");
+            ncCotConfig = NcCotFactory.createDefaultConfig(securityModel, true);
+            preCotConfig = PreCotFactory.createDefaultConfig(securityModel);
+            this.directory = directory;
+        }
+
+        public Builder setNcCotConfig(NcCotConfig ncCotConfig) {
+            this.ncCotConfig = ncCotConfig;
+            return this;
+        }
+
+        public Builder setPreCotConfig(PreCotConfig preCotConfig) {
+            this.preCotConfig = preCotConfig;
+            return this;
+        }
+
+        @Override
+        public StoreCotConfig build() {
+            return new StoreCotConfig(this);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package edu.alibaba.mpc4j.s2pc.pcg.ot.cot.impl.store;
+
+import edu.alibaba.mpc4j.common.rpc.*;
+import edu.alibaba.mpc4j.s2pc.pcg.PcgStore;
+import edu.alibaba.mpc4j.s2pc.pcg.PcgStoreManager;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.AbstractCotReceiver;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotReceiverOutput;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.nc.NcCotConfig;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.nc.NcCotFactory;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.nc.NcCotReceiver;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.pre.PreCotFactory;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.pre.PreCotReceiver;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * store COT receiver. COTs are generated by the no-choice COT and appended to the store, either in advance by
+ * {@link #precompute(int)}, or on demand when the store does not have enough COTs.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/22
+ */
+public class StoreCotReceiver extends AbstractCotReceiver {
+    /**
+     * no-choice COT receiver
+     */
+    private final NcCotReceiver ncCotReceiver;
+    /**
+     * precompute COT receiver
+     */
+    private final PreCotReceiver preCotReceiver;
+    /**
+     * max base num
+     */
+    private final int maxBaseNum;
+    /**
+     * store directory
+     */
+    private final String directory;
+    /**
+     * protocol fingerprint
+     */
+    private final long fingerprint;
+    /**
+     * per round num
+     */
+    private int perRoundNum;
+    /**
+     * store manager
+     */
+    private PcgStoreManager<CotReceiverOutput> storeManager;
+
+    public StoreCotReceiver(Rpc receiverRpc, Party senderParty, StoreCotConfig config) {
+        super(StoreCotPtoDesc.getInstance(), receiverRpc, senderParty, config);
+        NcCotConfig ncCotConfig = config.getNcCotConfig();
+        ncCotReceiver = NcCotFactory.createReceiver(receiverRpc, senderParty, ncCotConfig);
+        addSubPtos(ncCotReceiver);
+        maxBaseNum = ncCotConfig.maxNum();
+        preCotReceiver = PreCotFactory.createReceiver(receiverRpc, senderParty, config.getPreCotConfig());
+        addSubPtos(preCotReceiver);
+        directory = config.getDirectory();
+        fingerprint = PcgStore.fingerprint(
+            getPtoName() + "_RECEIVER_" + ncCotConfig.getPtoType().name() + "_" + config.getSecurityModel().name()
+        );
+    }
+
+    @Override
+    public void init(int updateNum) throws MpcAbortException {
+        setInitInput(updateNum);
+        logPhaseInfo(PtoState.INIT_BEGIN);
+
+        stopWatch.start();
+        perRoundNum = Math.min(updateNum, maxBaseNum);
+        PcgStore<CotReceiverOutput> store = new PcgStore<>(directory, fingerprint, new CotReceiverStoreCodec());
+        storeManager = new PcgStoreManager<>(this, false, store, perRoundNum, ncCotReceiver::receive);
+        ncCotReceiver.init(perRoundNum);
+        preCotReceiver.init();
+        stopWatch.stop();
+        long openTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        stopWatch.reset();
+        logStepInfo(PtoState.INIT_STEP, 1, 2, openTime);
+
+        stopWatch.start();
+        storeManager.synchronize();
+        stopWatch.stop();
+        long synchronizeTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        stopWatch.reset();
+        logStepInfo(PtoState.INIT_STEP, 2, 2, synchronizeTime, "stored num = " + storeManager.getNum());
+
+        logPhaseInfo(PtoState.INIT_END);
+    }
+
+    /**
+     * Generates at least the given number of COTs and appends them to the store. Both parties must invoke it with the
+     * same number.
+     *
+     * @param num the number of COTs.
+     * @throws MpcAbortException the protocol failure aborts.
+     */
+    public void precompute(int num) throws MpcAbortException {
+        checkInitialized();
+        logPhaseInfo(PtoState.PTO_BEGIN, "precompute");
+
+        stopWatch.start();
+        storeManager.precompute(num);
+        stopWatch.stop();
+        long precomputeTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        stopWatch.reset();
+        logStepInfo(PtoState.PTO_STEP, 1, 1, precomputeTime, "stored num = " + storeManager.getNum());
+
+        logPhaseInfo(PtoState.PTO_END, "precompute");
+    }
+
+    @Override
+    public CotReceiverOutput receive(boolean[] choices) throws MpcAbortException {
+        setPtoInput(choices);
+        logPhaseInfo(PtoState.PTO_BEGIN);
+
+        stopWatch.start();
+        CotReceiverOutput receiverOutput = storeManager.take(num);
+        stopWatch.stop();
+        long takeTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        stopWatch.reset();
+        logStepInfo(PtoState.PTO_STEP, 1, 2, takeTime);
+
+        stopWatch.start();
+        // correct choices using precompute COT
+        receiverOutput = preCotReceiver.receive(receiverOutput, choices);
+        stopWatch.stop();
+        long preCotTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        stopWatch.reset();
+        logStepInfo(PtoState.PTO_STEP, 2, 2, preCotTime);
+
+        logPhaseInfo(PtoState.PTO_END);
+        return receiverOutput;
+    }
+
+    /**
+     * Gets the number of stored COTs that are not consumed.
+     *
+     * @return the number of stored COTs that are not consumed.
+     */
+    public long getStoredNum() {
+        checkInitialized();
+        return storeManager.getNum();
+    }
+}
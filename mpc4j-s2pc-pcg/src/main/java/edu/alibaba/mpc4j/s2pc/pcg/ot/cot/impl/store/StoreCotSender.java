@@ -0,0 +1,157 @@
+package edu.alibaba.mpc4j.s2pc.pcg.ot.cot.impl.store;
+
+import edu.alibaba.mpc4j.common.rpc.*;
+import edu.alibaba.mpc4j.s2pc.pcg.PcgStore;
+import edu.alibaba.mpc4j.s2pc.pcg.PcgStoreManager;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.AbstractCotSender;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotSenderOutput;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.nc.NcCotConfig;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.nc.NcCotFactory;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.nc.NcCotSender;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.pre.PreCotFactory;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.pre.PreCotSender;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * store COT sender. COTs are generated by the no-choice COT and appended to the store, either in advance by
+ * {@link #precompute(int)}, or on demand when the store does not have enough COTs.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/22
+ */
+public class StoreCotSender extends AbstractCotSender {
+    /**
+     * no-choice COT sender
+     */
+    private final NcCotSender ncCotSender;
+    /**
+     * precompute COT sender
+     */
+    private final PreCotSender preCotSender;
+    /**
+     * max base num
+     */
+    private final int maxBaseNum;
+    /**
+     * store directory
+     */
+    private final String directory;
+    /**
+     * protocol fingerprint
+     */
+    private final long fingerprint;
+    /**
+     * per round num
+     */
+    private int perRoundNum;
+    /**
+     * store manager
+     */
+    private PcgStoreManager<CotSenderOutput> storeManager;
+
+    /**
+     * Reads Δ of the stored COTs. The sender must be initialized with the stored Δ to consume the stored COTs.
+     *
+     * @param directory store directory.
+     * @return Δ of the stored COTs, or null if there is no stored COT.
+     */
+    public static byte[] readDelta(String directory) {
+        return PcgStore.readMeta(directory);
+    }
+
+    public StoreCotSender(Rpc senderRpc, Party receiverParty, StoreCotConfig config) {
+        super(StoreCotPtoDesc.getInstance(), senderRpc, receiverParty, config);
+        NcCotConfig ncCotConfig = config.getNcCotConfig();
+        ncCotSender = NcCotFactory.createSender(senderRpc, receiverParty, ncCotConfig);
+        addSubPtos(ncCotSender);
+        maxBaseNum = ncCotConfig.maxNum();
+        preCotSender = PreCotFactory.createSender(senderRpc, receiverParty, config.getPreCotConfig());
+        addSubPtos(preCotSender);
+        directory = config.getDirectory();
+        fingerprint = PcgStore.fingerprint(
+            getPtoName() + "_SENDER_" + ncCotConfig.getPtoType().name() + "_" + config.getSecurityModel().name()
+        );
+    }
+
+    @Override
+    public void init(byte[] delta, int updateNum) throws MpcAbortException {
+        setInitInput(delta, updateNum);
+        logPhaseInfo(PtoState.INIT_BEGIN);
+
+        stopWatch.start();
+        perRoundNum = Math.min(updateNum, maxBaseNum);
+        PcgStore<CotSenderOutput> store = new PcgStore<>(directory, fingerprint, new CotSenderStoreCodec(delta));
+        storeManager = new PcgStoreManager<>(this, true, store, perRoundNum, ncCotSender::send);
+        ncCotSender.init(delta, perRoundNum);
+        preCotSender.init();
+        stopWatch.stop();
+        long openTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        stopWatch.reset();
+        logStepInfo(PtoState.INIT_STEP, 1, 2, openTime);
+
+        stopWatch.start();
+        storeManager.synchronize();
+        stopWatch.stop();
+        long synchronizeTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        stopWatch.reset();
+        logStepInfo(PtoState.INIT_STEP, 2, 2, synchronizeTime, "stored num = " + storeManager.getNum());
+
+        logPhaseInfo(PtoState.INIT_END);
+    }
+
+    /**
+     * Generates at least the given number of COTs and appends them to the store. Both parties must invoke it with the
+     * same number.
+     *
+     * @param num the number of COTs.
+     * @throws MpcAbortException the protocol failure aborts.
+     */
+    public void precompute(int num) throws MpcAbortException {
+        checkInitialized();
+        logPhaseInfo(PtoState.PTO_BEGIN, "precompute");
+
+        stopWatch.start();
+        storeManager.precompute(num);
+        stopWatch.stop();
+        long precomputeTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        stopWatch.reset();
+        logStepInfo(PtoState.PTO_STEP, 1, 1, precomputeTime, "stored num = " + storeManager.getNum());
+
+        logPhaseInfo(PtoState.PTO_END, "precompute");
+    }
+
+    @Override
+    public CotSenderOutput send(int num) throws MpcAbortException {
+        setPtoInput(num);
+        logPhaseInfo(PtoState.PTO_BEGIN);
+
+        stopWatch.start();
+        CotSenderOutput senderOutput = storeManager.take(num);
+        stopWatch.stop();
+        long takeTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        stopWatch.reset();
+        logStepInfo(PtoState.PTO_STEP, 1, 2, takeTime);
+
+        stopWatch.start();
+        // correct choices using precompute COT
+        senderOutput = preCotSender.send(senderOutput);
+        stopWatch.stop();
+        long preCotTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        stopWatch.reset();
+        logStepInfo(PtoState.PTO_STEP, 2, 2, preCotTime);
+
+        logPhaseInfo(PtoState.PTO_END);
+        return senderOutput;
+    }
+
+    /**
+     * Gets the number of stored COTs that are not consumed.
+     *
+     * @return the number of stored COTs that are not consumed.
+     */
+    public long getStoredNum() {
+        checkInitialized();
+        return storeManager.getNum();
+    }
+}
@@ -3,7 +3,6 @@ package edu.alibaba.mpc4j.s2pc.pcg.ot.cot.pre.bea95;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.IntStream;
 
 import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
 import edu.alibaba.mpc4j.common.rpc.Party;
@@ -53,11 +52,10 @@ public class Bea95PreCotReceiver extends AbstractPreCotReceiver {
             ownParty().getPartyId(), otherParty().getPartyId()
         );
         rpc.send(DataPacket.fromByteArrayList(xorHeader, xorPayload));
-        byte[][] rbArray = IntStream.range(0, num)
-            .mapToObj(preReceiverOutput::getRb)
-            .map(BytesUtils::clone)
-            .toArray(byte[][]::new);
-        CotReceiverOutput receiverOutput = CotReceiverOutput.create(choices, rbArray);
+        // Rb are not changed, the packed Rb array is shared
+        CotReceiverOutput receiverOutput = CotReceiverOutput.create(
+            BinaryUtils.clone(choices), preReceiverOutput.getLongRbArray()
+        );
         stopWatch.stop();
         long time = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
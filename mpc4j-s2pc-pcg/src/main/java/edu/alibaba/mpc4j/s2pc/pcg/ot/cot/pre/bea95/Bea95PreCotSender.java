@@ -6,8 +6,8 @@ import java.util.stream.IntStream;
 
 import edu.alibaba.mpc4j.common.rpc.*;
 import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
+import edu.alibaba.mpc4j.common.tool.CommonConstants;
 import edu.alibaba.mpc4j.common.tool.utils.BinaryUtils;
-import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
 import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotSenderOutput;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.pre.AbstractPreCotSender;
@@ -47,12 +47,18 @@ public class Bea95PreCotSender extends AbstractPreCotSender {
         MpcAbortPreconditions.checkArgument(xorPayload.size() == 1);
         byte[] xors = xorPayload.remove(0);
         int offset = CommonUtils.getByteLength(num) * Byte.SIZE - num;
-        byte[][] r0Array = IntStream.range(0, num)
+        long[] r0LongArray = new long[num * CommonConstants.BLOCK_LONG_LENGTH];
+        IntStream.range(0, num).forEach(index -> {
             // switch the position if xor = 1
-            .mapToObj(index -> BinaryUtils.getBoolean(xors, index + offset) ?
-                preSenderOutput.getR1(index) : BytesUtils.clone(preSenderOutput.getR0(index)))
-            .toArray(byte[][]::new);
-        CotSenderOutput senderOutput = CotSenderOutput.create(preSenderOutput.getDelta(), r0Array);
+            if (BinaryUtils.getBoolean(xors, index + offset)) {
+                r0LongArray[index * CommonConstants.BLOCK_LONG_LENGTH] = preSenderOutput.getLongR1(index, 0);
+                r0LongArray[index * CommonConstants.BLOCK_LONG_LENGTH + 1] = preSenderOutput.getLongR1(index, 1);
+            } else {
+                r0LongArray[index * CommonConstants.BLOCK_LONG_LENGTH] = preSenderOutput.getLongR0(index, 0);
+                r0LongArray[index * CommonConstants.BLOCK_LONG_LENGTH + 1] = preSenderOutput.getLongR0(index, 1);
+            }
+        });
+        CotSenderOutput senderOutput = CotSenderOutput.create(preSenderOutput.getDelta(), r0LongArray);
         stopWatch.stop();
         long time = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
@@ -2,6 +2,7 @@ package edu.alibaba.mpc4j.s2pc.pcg.ot.lnot.impl.cache;
 
 import edu.alibaba.mpc4j.common.rpc.desc.SecurityModel;
 import edu.alibaba.mpc4j.common.rpc.pto.AbstractMultiPartyPtoConfig;
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.lnot.LnotConfig;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.lnot.LnotFactory;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.lnot.nc.NcLnotConfig;
@@ -24,11 +25,21 @@ public class CacheLnotConfig extends AbstractMultiPartyPtoConfig implements Lnot
      * pre-compute LNOT config
      */
     private final PreLnotConfig preLnotConfig;
+    /**
+     * low watermark of the background refill
+     */
+    private final int lowWatermark;
+    /**
+     * high watermark of the background refill, 0 if the background refill is disabled
+     */
+    private final int highWatermark;
 
     private CacheLnotConfig(Builder builder) {
         super(SecurityModel.MALICIOUS, builder.ncLnotConfig, builder.preLnotConfig);
         ncLnotConfig = builder.ncLnotConfig;
         preLnotConfig = builder.preLnotConfig;
+        lowWatermark = builder.lowWatermark;
+        highWatermark = builder.highWatermark;
     }
 
     public NcLnotConfig getNcLnotConfig() {
@@ -39,6 +50,23 @@ public class CacheLnotConfig extends AbstractMultiPartyPtoConfig implements Lnot
         return preLnotConfig;
     }
 
+    /**
+     * Returns whether a background worker keeps the buffer between the low watermark and the high watermark.
+     *
+     * @return whether the background refill is enabled.
+     */
+    public boolean isBackgroundRefill() {
+        return highWatermark > 0;
+    }
+
+    public int getLowWatermark() {
+        return lowWatermark;
+    }
+
+    public int getHighWatermark() {
+        return highWatermark;
+    }
+
     @Override
     public LnotFactory.LnotType getPtoType() {
         return LnotFactory.LnotType.CACHE;
@@ -58,6 +86,14 @@ public class CacheLnotConfig extends AbstractMultiPartyPtoConfig implements Lnot
          * precompute LNOT config
          */
         private PreLnotConfig preLnotConfig;
+        /**
+         * low watermark of the background refill
+         */
+        private int lowWatermark;
+        /**
+         * high watermark of the background refill, 0 if the background refill is disabled
+         */
+        private int highWatermark;
 
         public Builder(SecurityModel securityModel) {
             ncLnotConfig = NcLnotFactory.createDefaultConfig(securityModel);
@@ -74,6 +110,23 @@ public class CacheLnotConfig extends AbstractMultiPartyPtoConfig implements Lnot
             return this;
         }
 
+        /**
+         * Enables the background refill. The sender starts refilling once the buffer has less than the low watermark
+         * outputs, and stops refilling once the buffer has at least the high watermark outputs.
+         *
+         * @param lowWatermark  low watermark.
+         * @param highWatermark high watermark.
+         * @return the builder.
+         */
+        public Builder setRefillWatermarks(int lowWatermark, int highWatermark) {
+            MathPreconditions.checkNonNegative("lowWatermark", lowWatermark);
+            MathPreconditions.checkPositive("highWatermark", highWatermark);
+            MathPreconditions.checkGreaterOrEqual("highWatermark", highWatermark, lowWatermark);
+            this.lowWatermark = lowWatermark;
+            this.highWatermark = highWatermark;
+            return this;
+        }
+
         @Override
         public CacheLnotConfig build() {
             return new CacheLnotConfig(this);
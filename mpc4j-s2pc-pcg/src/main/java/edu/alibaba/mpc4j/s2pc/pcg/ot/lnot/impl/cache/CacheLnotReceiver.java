@@ -4,6 +4,7 @@ import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
 import edu.alibaba.mpc4j.common.rpc.Party;
 import edu.alibaba.mpc4j.common.rpc.PtoState;
 import edu.alibaba.mpc4j.common.rpc.Rpc;
+import edu.alibaba.mpc4j.s2pc.pcg.PcgBufferRefiller;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.lnot.AbstractLnotReceiver;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.lnot.LnotReceiverOutput;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.lnot.nc.NcLnotFactory;
@@ -36,9 +37,23 @@ public class CacheLnotReceiver extends AbstractLnotReceiver {
      * buffer
      */
     private LnotReceiverOutput buffer;
+    /**
+     * low watermark of the background refill
+     */
+    private final int lowWatermark;
+    /**
+     * high watermark of the background refill, 0 if the background refill is disabled
+     */
+    private final int highWatermark;
+    /**
+     * background buffer refiller, null if the background refill is disabled
+     */
+    private PcgBufferRefiller<LnotReceiverOutput> bufferRefiller;
 
     public CacheLnotReceiver(Rpc receiverRpc, Party senderParty, CacheLnotConfig config) {
         super(CacheLnotPtoDesc.getInstance(), receiverRpc, senderParty, config);
+        lowWatermark = config.getLowWatermark();
+        highWatermark = config.getHighWatermark();
         ncLnotReceiver = NcLnotFactory.createReceiver(receiverRpc, senderParty, config.getNcLnotConfig());
         addSubPtos(ncLnotReceiver);
         preLnotReceiver = PreLnotFactory.createReceiver(receiverRpc, senderParty, config.getPreLnotConfig());
@@ -50,6 +65,9 @@ public class CacheLnotReceiver extends AbstractLnotReceiver {
         setInitInput(l, updateNum);
         logPhaseInfo(PtoState.INIT_BEGIN);
 
+        // stop the worker of the last initialization before re-initializing the generator
+        stopBufferRefiller();
+
         stopWatch.start();
         int perRoundNum;
         if (updateNum <= config.maxBaseNum()) {
@@ -64,6 +82,11 @@ public class CacheLnotReceiver extends AbstractLnotReceiver {
         ncLnotReceiver.init(l, perRoundNum);
         buffer = LnotReceiverOutput.createEmpty(l);
         preLnotReceiver.init();
+        if (highWatermark > 0) {
+            // the refiller owns the buffer
+            bufferRefiller = new PcgBufferRefiller<>(this, false, lowWatermark, highWatermark, ncLnotReceiver::receive, buffer);
+            bufferRefiller.start();
+        }
         stopWatch.stop();
         long initTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
@@ -77,21 +100,23 @@ public class CacheLnotReceiver extends AbstractLnotReceiver {
         setPtoInput(choiceArray);
         logPhaseInfo(PtoState.PTO_BEGIN);
 
-        while (num > buffer.getNum()) {
-            // generate COT when we do not have enough ones
-            for (int round = 1; round <= updateRound; round++) {
-                stopWatch.start();
-                LnotReceiverOutput lnotReceiverOutput = ncLnotReceiver.receive();
-                buffer.merge(lnotReceiverOutput);
-                stopWatch.stop();
-                long roundTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
-                stopWatch.reset();
-                logSubStepInfo(PtoState.PTO_STEP, 0, round, updateRound, roundTime);
+        if (bufferRefiller == null) {
+            while (num > buffer.getNum()) {
+                // generate COT when we do not have enough ones
+                for (int round = 1; round <= updateRound; round++) {
+                    stopWatch.start();
+                    LnotReceiverOutput lnotReceiverOutput = ncLnotReceiver.receive();
+                    buffer.merge(lnotReceiverOutput);
+                    stopWatch.stop();
+                    long roundTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+                    stopWatch.reset();
+                    logSubStepInfo(PtoState.PTO_STEP, 0, round, updateRound, roundTime);
+                }
             }
         }
 
         stopWatch.start();
-        LnotReceiverOutput receiverOutput = buffer.split(num);
+        LnotReceiverOutput receiverOutput = bufferRefiller == null ? buffer.split(num) : bufferRefiller.split(num);
         stopWatch.stop();
         long splitTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
@@ -108,4 +133,26 @@ public class CacheLnotReceiver extends AbstractLnotReceiver {
         logPhaseInfo(PtoState.PTO_END);
         return receiverOutput;
     }
+
+    /**
+     * Gets the background buffer refiller, which exposes buffer-level and refill-latency metrics.
+     *
+     * @return the background buffer refiller, or null if the background refill is disabled.
+     */
+    public PcgBufferRefiller<LnotReceiverOutput> getBufferRefiller() {
+        return bufferRefiller;
+    }
+
+    private void stopBufferRefiller() {
+        if (bufferRefiller != null) {
+            bufferRefiller.stop();
+            bufferRefiller = null;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        stopBufferRefiller();
+        super.destroy();
+    }
 }
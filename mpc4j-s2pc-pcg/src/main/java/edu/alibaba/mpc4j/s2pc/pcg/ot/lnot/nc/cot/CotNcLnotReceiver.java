@@ -6,7 +6,6 @@ import edu.alibaba.mpc4j.common.rpc.PtoState;
 import edu.alibaba.mpc4j.common.rpc.Rpc;
 import edu.alibaba.mpc4j.common.tool.CommonConstants;
 import edu.alibaba.mpc4j.common.tool.crypto.crhf.CrhfFactory;
-import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotReceiverOutput;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.RotReceiverOutput;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.nc.NcCotConfig;
@@ -91,6 +90,8 @@ public class CotNcLnotReceiver extends AbstractNcLnotReceiver {
         stopWatch.start();
         cotReceiverOutput.reduce(l * num);
         RotReceiverOutput rotReceiverOutput = new RotReceiverOutput(envType, CrhfFactory.CrhfType.MMO, cotReceiverOutput);
+        // hash all Rb in batch
+        byte[] flattenRbArray = rotReceiverOutput.getFlattenRbArray();
         // convert COT receiver output to be LNOT receiver output
         int[] choiceArray = new int[num];
         byte[][] rbArray = new byte[num][];
@@ -104,7 +105,10 @@ public class CotNcLnotReceiver extends AbstractNcLnotReceiver {
                 for (int bitPosition = 0; bitPosition < l; bitPosition++) {
                     boolean choiceBit = rotReceiverOutput.getChoice(cotIndex + bitPosition);
                     choiceArray[index] = choiceBit ? (choiceArray[index] << 1) + 1 : (choiceArray[index] << 1);
-                    BytesUtils.xori(rbArray[index], rotReceiverOutput.getRb(cotIndex + bitPosition));
+                    int blockOffset = (cotIndex + bitPosition) * CommonConstants.BLOCK_BYTE_LENGTH;
+                    for (int i = 0; i < CommonConstants.BLOCK_BYTE_LENGTH; i++) {
+                        rbArray[index][i] ^= flattenRbArray[blockOffset + i];
+                    }
                 }
             });
         LnotReceiverOutput receiverOutput = LnotReceiverOutput.create(l, choiceArray, rbArray);
@@ -6,7 +6,6 @@ import edu.alibaba.mpc4j.common.rpc.PtoState;
 import edu.alibaba.mpc4j.common.rpc.Rpc;
 import edu.alibaba.mpc4j.common.tool.CommonConstants;
 import edu.alibaba.mpc4j.common.tool.crypto.crhf.CrhfFactory;
-import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotSenderOutput;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.RotSenderOutput;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.nc.NcCotConfig;
@@ -98,6 +97,9 @@ public class CotNcLnotSender extends AbstractNcLnotSender {
         stopWatch.start();
         cotSenderOutput.reduce(l * num);
         RotSenderOutput rotSenderOutput = new RotSenderOutput(envType, CrhfFactory.CrhfType.MMO, cotSenderOutput);
+        // hash all R0 and R1 in batch only once, instead of hashing them for each choice
+        byte[] flattenR0Array = rotSenderOutput.getFlattenR0Array();
+        byte[] flattenR1Array = rotSenderOutput.getFlattenR1Array();
         // convert COT sender output to be LNOT sender output
         IntStream indexIntStream = IntStream.range(0, num);
         indexIntStream = parallel ? indexIntStream.parallel() : indexIntStream;
@@ -110,10 +112,10 @@ public class CotNcLnotSender extends AbstractNcLnotSender {
                     int tempChoice = choice;
                     for (int bitPosition = l - 1; bitPosition >= 0; bitPosition--) {
                         boolean bit = (tempChoice % 2) == 1;
-                        if (!bit) {
-                            BytesUtils.xori(rs[choice], rotSenderOutput.getR0(cotIndex + bitPosition));
-                        } else {
-                            BytesUtils.xori(rs[choice], rotSenderOutput.getR1(cotIndex + bitPosition));
+                        byte[] flattenArray = bit ? flattenR1Array : flattenR0Array;
+                        int blockOffset = (cotIndex + bitPosition) * CommonConstants.BLOCK_BYTE_LENGTH;
+                        for (int i = 0; i < CommonConstants.BLOCK_BYTE_LENGTH; i++) {
+                            rs[choice][i] ^= flattenArray[blockOffset + i];
                         }
                         tempChoice = (tempChoice >> 1);
                     }
@@ -126,10 +126,7 @@ public class Wykw21Gf2kCoreVoleReceiver extends AbstractGf2kCoreVoleReceiver {
         byte[] x = responsePayload.remove(0);
         byte[] z = responsePayload.remove(0);
         // y = Σ_{i = 0}^{n - 1} (χ_i · v_i) + b
-        byte[] y = gf2k.createZero();
-        for (int i = 0; i < num; i++) {
-            gf2k.addi(y, gf2k.mul(chis[i], receiverOutput.getQ(i)));
-        }
+        byte[] y = gf2k.innerProduct(chis, receiverOutput.getQ());
         gf2k.addi(y, b);
         // y + Δ · x
         gf2k.addi(y, gf2k.mul(delta, x));
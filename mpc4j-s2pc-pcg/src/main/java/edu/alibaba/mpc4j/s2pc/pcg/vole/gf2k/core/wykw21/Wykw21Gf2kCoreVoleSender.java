@@ -125,16 +125,10 @@ public class Wykw21Gf2kCoreVoleSender extends AbstractGf2kCoreVoleSender {
             .toArray(byte[][]::new);
         List<byte[]> responsePayload = new LinkedList<>();
         // S computes x = Σ_{i = 0}^{n - 1} (χ_i · u_i) + a, z = Σ_{i = 0}^{n - 1} (χ_i · w_i) + c
-        byte[] x = gf2k.createZero();
-        for (int i = 0; i < num; i++) {
-            gf2k.addi(x, gf2k.mul(chis[i], senderOutput.getX(i)));
-        }
+        byte[] x = gf2k.innerProduct(chis, senderOutput.getX());
         gf2k.addi(x, a);
         responsePayload.add(x);
-        byte[] z = gf2k.createZero();
-        for (int i = 0; i < num; i++) {
-            gf2k.addi(z, gf2k.mul(chis[i], senderOutput.getT(i)));
-        }
+        byte[] z = gf2k.innerProduct(chis, senderOutput.getT());
         gf2k.addi(z, c);
         responsePayload.add(z);
         DataPacketHeader responseHeader = new DataPacketHeader(
@@ -0,0 +1,88 @@
+package edu.alibaba.mpc4j.s2pc.pcg;
+
+import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
+import edu.alibaba.mpc4j.common.rpc.desc.SecurityModel;
+import edu.alibaba.mpc4j.common.rpc.test.AbstractTwoPartyPtoTest;
+import edu.alibaba.mpc4j.common.tool.CommonConstants;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotConfig;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotFactory;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotReceiver;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotReceiverOutput;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotSender;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotSenderOutput;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotTestUtils;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.impl.direct.DirectCotConfig;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * PCG buffer refiller test.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/22
+ */
+public class PcgBufferRefillerTest extends AbstractTwoPartyPtoTest {
+    /**
+     * num generated in each round
+     */
+    private static final int ROUND_NUM = 1 << 10;
+    /**
+     * max time waiting for a worker thread to exit, in milliseconds
+     */
+    private static final long MAX_JOIN_TIME = 10_000L;
+
+    public PcgBufferRefillerTest() {
+        super("PCG_BUFFER_REFILLER");
+    }
+
+    @Test
+    public void testLeaderFailure() throws InterruptedException {
+        CotConfig config = new DirectCotConfig.Builder(SecurityModel.SEMI_HONEST).build();
+        CotSender sender = CotFactory.createSender(firstRpc, secondRpc.ownParty(), config);
+        CotReceiver receiver = CotFactory.createReceiver(secondRpc, firstRpc.ownParty(), config);
+        int randomTaskId = Math.abs(SECURE_RANDOM.nextInt());
+        sender.setTaskId(randomTaskId);
+        receiver.setTaskId(randomTaskId);
+        byte[] delta = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
+        SECURE_RANDOM.nextBytes(delta);
+        // the leader generates the first round and then fails
+        AtomicInteger leaderRoundNum = new AtomicInteger();
+        PcgBufferRefiller<CotSenderOutput> leaderRefiller = new PcgBufferRefiller<>(
+            sender, true, ROUND_NUM, 2 * ROUND_NUM,
+            () -> {
+                if (leaderRoundNum.getAndIncrement() > 0) {
+                    throw new MpcAbortException("leader round failed");
+                }
+                return CotTestUtils.genSenderOutput(ROUND_NUM, delta, SECURE_RANDOM);
+            },
+            CotSenderOutput.createEmpty(delta)
+        );
+        PcgBufferRefiller<CotReceiverOutput> followerRefiller = new PcgBufferRefiller<>(
+            receiver, false, ROUND_NUM, 2 * ROUND_NUM,
+            () -> CotTestUtils.genReceiverOutput(
+                CotTestUtils.genSenderOutput(ROUND_NUM, delta, SECURE_RANDOM), SECURE_RANDOM
+            ),
+            CotReceiverOutput.createEmpty()
+        );
+        leaderRefiller.start();
+        followerRefiller.start();
+        // the follower runs at most as many rounds as the leader asks, i.e., 2 rounds
+        Assert.assertThrows(MpcAbortException.class, () -> followerRefiller.split(3 * ROUND_NUM));
+        Assert.assertThrows(MpcAbortException.class, () -> leaderRefiller.split(2 * ROUND_NUM));
+        // both workers must exit, otherwise stop() blocks
+        Thread leaderStopThread = new Thread(leaderRefiller::stop);
+        Thread followerStopThread = new Thread(followerRefiller::stop);
+        leaderStopThread.start();
+        followerStopThread.start();
+        leaderStopThread.join(MAX_JOIN_TIME);
+        followerStopThread.join(MAX_JOIN_TIME);
+        Assert.assertFalse(leaderStopThread.isAlive());
+        Assert.assertFalse(followerStopThread.isAlive());
+        Assert.assertEquals(1, leaderRefiller.getRefillRoundNum());
+        // destroy
+        new Thread(sender::destroy).start();
+        new Thread(receiver::destroy).start();
+    }
+}
@@ -0,0 +1,144 @@
+package edu.alibaba.mpc4j.s2pc.pcg.mtg.z2;
+
+import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
+import edu.alibaba.mpc4j.common.rpc.desc.SecurityModel;
+import edu.alibaba.mpc4j.common.rpc.test.AbstractTwoPartyPtoTest;
+import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.Z2MtgFactory.Z2MtgType;
+import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.impl.store.StoreZ2MtgConfig;
+import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.impl.store.StoreZ2MtgReceiver;
+import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.impl.store.StoreZ2MtgSender;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * store Z2 multiplication triple generation test.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/22
+ */
+public class StoreZ2MtgTest extends AbstractTwoPartyPtoTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(StoreZ2MtgTest.class);
+    /**
+     * default num
+     */
+    private static final int DEFAULT_NUM = 1000;
+    /**
+     * sender directory
+     */
+    private Path senderDirectory;
+    /**
+     * receiver directory
+     */
+    private Path receiverDirectory;
+
+    public StoreZ2MtgTest() {
+        super(Z2MtgType.STORE.name());
+    }
+
+    @Before
+    public void createDirectories() throws IOException {
+        senderDirectory = Files.createTempDirectory("store_z2_mtg_sender");
+        receiverDirectory = Files.createTempDirectory("store_z2_mtg_receiver");
+    }
+
+    @After
+    public void deleteDirectories() throws IOException {
+        for (Path directory : new Path[]{senderDirectory, receiverDirectory}) {
+            try (Stream<Path> pathStream = Files.walk(directory)) {
+                pathStream.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+
+    @Test
+    public void testRestart() throws InterruptedException {
+        LOGGER.info("-----test {} (restart) start-----", Z2MtgType.STORE.name());
+        // precompute and consume part of the stored triples
+        StoreZ2MtgSender sender = createSender();
+        StoreZ2MtgReceiver receiver = createReceiver();
+        Z2Triple[] senderOutputs = new Z2Triple[1];
+        Z2Triple[] receiverOutputs = new Z2Triple[1];
+        Thread senderThread = new Thread(() -> {
+            try {
+                sender.init(DEFAULT_NUM);
+                sender.precompute(DEFAULT_NUM * 3);
+                senderOutputs[0] = sender.generate(DEFAULT_NUM);
+            } catch (MpcAbortException e) {
+                e.printStackTrace();
+            }
+        });
+        Thread receiverThread = new Thread(() -> {
+            try {
+                receiver.init(DEFAULT_NUM);
+                receiver.precompute(DEFAULT_NUM * 3);
+                receiverOutputs[0] = receiver.generate(DEFAULT_NUM);
+            } catch (MpcAbortException e) {
+                e.printStackTrace();
+            }
+        });
+        senderThread.start();
+        receiverThread.start();
+        senderThread.join();
+        receiverThread.join();
+        Z2MtgTestUtils.assertOutput(DEFAULT_NUM, senderOutputs[0], receiverOutputs[0]);
+        long storedNum = sender.getStoredNum();
+        Assert.assertTrue(storedNum >= DEFAULT_NUM * 2);
+        Assert.assertEquals(storedNum, receiver.getStoredNum());
+        printAndResetRpc(0);
+        destroy(sender, receiver);
+
+        // restart with new parties
+        StoreZ2MtgSender restartSender = createSender();
+        StoreZ2MtgReceiver restartReceiver = createReceiver();
+        Z2MtgPartyThread restartSenderThread = new Z2MtgPartyThread(restartSender, DEFAULT_NUM);
+        Z2MtgPartyThread restartReceiverThread = new Z2MtgPartyThread(restartReceiver, DEFAULT_NUM);
+        restartSenderThread.start();
+        restartReceiverThread.start();
+        restartSenderThread.join();
+        restartReceiverThread.join();
+        Z2Triple restartSenderOutput = restartSenderThread.getOutput();
+        Z2Triple restartReceiverOutput = restartReceiverThread.getOutput();
+        Z2MtgTestUtils.assertOutput(DEFAULT_NUM, restartSenderOutput, restartReceiverOutput);
+        // stored triples are consumed in order, and are never reused
+        Assert.assertEquals(storedNum - DEFAULT_NUM, restartSender.getStoredNum());
+        Assert.assertEquals(storedNum - DEFAULT_NUM, restartReceiver.getStoredNum());
+        Assert.assertFalse(Arrays.equals(senderOutputs[0].getA(), restartSenderOutput.getA()));
+        Assert.assertFalse(Arrays.equals(receiverOutputs[0].getA(), restartReceiverOutput.getA()));
+        printAndResetRpc(0);
+        destroy(restartSender, restartReceiver);
+        LOGGER.info("-----test {} (restart) end-----", Z2MtgType.STORE.name());
+    }
+
+    private StoreZ2MtgSender createSender() {
+        StoreZ2MtgConfig config = new StoreZ2MtgConfig.Builder(SecurityModel.SEMI_HONEST, senderDirectory.toString())
+            .build();
+        StoreZ2MtgSender sender = new StoreZ2MtgSender(firstRpc, secondRpc.ownParty(), config);
+        sender.setTaskId(0);
+        return sender;
+    }
+
+    private StoreZ2MtgReceiver createReceiver() {
+        StoreZ2MtgConfig config = new StoreZ2MtgConfig.Builder(SecurityModel.SEMI_HONEST, receiverDirectory.toString())
+            .build();
+        StoreZ2MtgReceiver receiver = new StoreZ2MtgReceiver(secondRpc, firstRpc.ownParty(), config);
+        receiver.setTaskId(0);
+        return receiver;
+    }
+
+    private void destroy(Z2MtgParty sender, Z2MtgParty receiver) {
+        new Thread(sender::destroy).start();
+        new Thread(receiver::destroy).start();
+    }
+}
@@ -1,13 +1,23 @@
 package edu.alibaba.mpc4j.s2pc.pcg.mtg.z2;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 import edu.alibaba.mpc4j.common.rpc.desc.SecurityModel;
 import edu.alibaba.mpc4j.common.rpc.test.AbstractTwoPartyPtoTest;
 import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.Z2MtgFactory.Z2MtgType;
+import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.impl.cache.CacheZ2MtgConfig;
 import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.impl.offline.OfflineZ2MtgConfig;
+import edu.alibaba.mpc4j.s2pc.pcg.mtg.z2.impl.store.StoreZ2MtgConfig;
+import org.junit.AfterClass;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
@@ -31,33 +41,69 @@ public class Z2MtgTest extends AbstractTwoPartyPtoTest {
      * large num
      */
     private static final int LARGE_NUM = (1 << 18) + 1;
+    /**
+     * store directories
+     */
+    private static final List<Path> STORE_DIRECTORIES = new ArrayList<>();
 
     @Parameterized.Parameters(name = "{0}")
-    public static Collection<Object[]> configurations() {
+    public static Collection<Object[]> configurations() throws IOException {
         Collection<Object[]> configurations = new ArrayList<>();
 
         // OFFLINE (Semi-honest)
         configurations.add(new Object[]{
             Z2MtgType.OFFLINE.name() + " (" + SecurityModel.SEMI_HONEST + ")",
             new OfflineZ2MtgConfig.Builder(SecurityModel.SEMI_HONEST).build(),
+            new OfflineZ2MtgConfig.Builder(SecurityModel.SEMI_HONEST).build(),
         });
         // CACHE (Semi-honest)
         configurations.add(new Object[]{
             Z2MtgType.CACHE.name() + " (" + SecurityModel.SEMI_HONEST + ")",
             new OfflineZ2MtgConfig.Builder(SecurityModel.SEMI_HONEST).build(),
+            new OfflineZ2MtgConfig.Builder(SecurityModel.SEMI_HONEST).build(),
+        });
+        configurations.add(new Object[]{
+            Z2MtgType.CACHE.name() + " (" + SecurityModel.SEMI_HONEST + ", background refill)",
+            new CacheZ2MtgConfig.Builder(SecurityModel.SEMI_HONEST).setRefillWatermarks(1 << 10, 1 << 12).build(),
+            new CacheZ2MtgConfig.Builder(SecurityModel.SEMI_HONEST).setRefillWatermarks(1 << 10, 1 << 12).build(),
+        });
+        // STORE (Semi-honest), each party stores triples in its own directory
+        Path senderDirectory = Files.createTempDirectory("store_z2_mtg_sender");
+        Path receiverDirectory = Files.createTempDirectory("store_z2_mtg_receiver");
+        STORE_DIRECTORIES.add(senderDirectory);
+        STORE_DIRECTORIES.add(receiverDirectory);
+        configurations.add(new Object[]{
+            Z2MtgType.STORE.name() + " (" + SecurityModel.SEMI_HONEST + ")",
+            new StoreZ2MtgConfig.Builder(SecurityModel.SEMI_HONEST, senderDirectory.toString()).build(),
+            new StoreZ2MtgConfig.Builder(SecurityModel.SEMI_HONEST, receiverDirectory.toString()).build(),
         });
 
         return configurations;
     }
 
+    @AfterClass
+    public static void deleteStoreDirectories() throws IOException {
+        for (Path directory : STORE_DIRECTORIES) {
+            try (Stream<Path> pathStream = Files.walk(directory)) {
+                pathStream.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+        STORE_DIRECTORIES.clear();
+    }
+
+    /**
+     * sender config
+     */
+    private final Z2MtgConfig senderConfig;
     /**
-     * config
+     * receiver config
      */
-    private final Z2MtgConfig config;
+    private final Z2MtgConfig receiverConfig;
 
-    public Z2MtgTest(String name, Z2MtgConfig config) {
+    public Z2MtgTest(String name, Z2MtgConfig senderConfig, Z2MtgConfig receiverConfig) {
         super(name);
-        this.config = config;
+        this.senderConfig = senderConfig;
+        this.receiverConfig = receiverConfig;
     }
 
     @Test
@@ -91,8 +137,8 @@ public class Z2MtgTest extends AbstractTwoPartyPtoTest {
     }
 
     private void testPto(int num, boolean parallel) {
-        Z2MtgParty sender = Z2MtgFactory.createSender(firstRpc, secondRpc.ownParty(), config);
-        Z2MtgParty receiver = Z2MtgFactory.createReceiver(secondRpc, firstRpc.ownParty(), config);
+        Z2MtgParty sender = Z2MtgFactory.createSender(firstRpc, secondRpc.ownParty(), senderConfig);
+        Z2MtgParty receiver = Z2MtgFactory.createReceiver(secondRpc, firstRpc.ownParty(), receiverConfig);
         sender.setParallel(parallel);
         receiver.setParallel(parallel);
         int randomTaskId = Math.abs(SECURE_RANDOM.nextInt());
@@ -129,8 +175,8 @@ public class Z2MtgTest extends AbstractTwoPartyPtoTest {
     @Test
     public void testLessUpdate() {
         int num = DEFAULT_NUM;
-        Z2MtgParty sender = Z2MtgFactory.createSender(firstRpc, secondRpc.ownParty(), config);
-        Z2MtgParty receiver = Z2MtgFactory.createReceiver(secondRpc, firstRpc.ownParty(), config);
+        Z2MtgParty sender = Z2MtgFactory.createSender(firstRpc, secondRpc.ownParty(), senderConfig);
+        Z2MtgParty receiver = Z2MtgFactory.createReceiver(secondRpc, firstRpc.ownParty(), receiverConfig);
         int randomTaskId = Math.abs(SECURE_RANDOM.nextInt());
         sender.setTaskId(randomTaskId);
         receiver.setTaskId(randomTaskId);
@@ -64,6 +64,11 @@ public class Z2CoreMtgAidTest extends AbstractThreePartyPtoTest {
         testPto(LARGE_NUM, true);
     }
 
+    @Test
+    public void testParallelUnalignedLargeNum() {
+        testPto(LARGE_NUM + 1, true);
+    }
+
     private void testPto(int num, boolean parallel) {
         Z2CoreMtgParty sender = Z2CoreMtgFactory.createSender(firstRpc, secondRpc.ownParty(), thirdRpc.ownParty(), config);
         Z2CoreMtgParty receiver = Z2CoreMtgFactory.createReceiver(secondRpc, firstRpc.ownParty(), thirdRpc.ownParty(), config);
@@ -61,6 +61,10 @@ public class ZlMtgTest extends AbstractTwoPartyPtoTest {
                 ZlMtgType.CACHE.name() + " (l = " + l + ", " + SecurityModel.SEMI_HONEST + ")",
                 new CacheZlMtgConfig.Builder(SecurityModel.SEMI_HONEST, zl).build(),
             });
+            configurations.add(new Object[]{
+                ZlMtgType.CACHE.name() + " (l = " + l + ", " + SecurityModel.SEMI_HONEST + ", background refill)",
+                new CacheZlMtgConfig.Builder(SecurityModel.SEMI_HONEST, zl).setRefillWatermarks(1 << 8, 1 << 10).build(),
+            });
         }
 
         return configurations;
@@ -101,6 +101,11 @@ public class ZlCoreMtgAidTest extends AbstractThreePartyPtoTest {
         testPto(LARGE_NUM, true);
     }
 
+    @Test
+    public void testParallelUnalignedLargeNum() {
+        testPto(LARGE_NUM + 1, true);
+    }
+
     private void testPto(int num, boolean parallel) {
         ZlCoreMtgParty sender = ZlCoreMtgFactory.createSender(firstRpc, secondRpc.ownParty(), thirdRpc.ownParty(), config);
         ZlCoreMtgParty receiver = ZlCoreMtgFactory.createReceiver(secondRpc, firstRpc.ownParty(), thirdRpc.ownParty(), config);
@@ -4,6 +4,7 @@ import edu.alibaba.mpc4j.common.tool.CommonConstants;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.nio.ByteBuffer;
 import java.security.SecureRandom;
 import java.util.stream.IntStream;
 
@@ -317,4 +318,79 @@ public class CotOutputTest {
             CotTestUtils.assertOutput(num / 2, splitSenderOutputHalf, splitReceiverOutputHalf);
         }
     }
+
+    @Test
+    public void testSplitMerge() {
+        byte[] delta = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
+        SECURE_RANDOM.nextBytes(delta);
+        CotSenderOutput senderOutput = CotTestUtils.genSenderOutput(MAX_NUM, delta, SECURE_RANDOM);
+        CotReceiverOutput receiverOutput = CotTestUtils.genReceiverOutput(senderOutput, SECURE_RANDOM);
+        // split outputs are views, merging adjacent views recovers the original output
+        CotSenderOutput splitSenderOutput = senderOutput.split(MAX_NUM / 2);
+        CotReceiverOutput splitReceiverOutput = receiverOutput.split(MAX_NUM / 2);
+        splitSenderOutput.merge(senderOutput);
+        splitReceiverOutput.merge(receiverOutput);
+        CotTestUtils.assertOutput(MAX_NUM, splitSenderOutput, splitReceiverOutput);
+        // repeatedly split from the front and merge at the end, split outputs must not be changed by later merges
+        CotSenderOutput bufferSenderOutput = CotSenderOutput.createEmpty(delta);
+        CotReceiverOutput bufferReceiverOutput = CotReceiverOutput.createEmpty();
+        for (int round = 0; round < MAX_NUM; round++) {
+            CotSenderOutput roundSenderOutput = CotTestUtils.genSenderOutput(MAX_NUM, delta, SECURE_RANDOM);
+            CotReceiverOutput roundReceiverOutput = CotTestUtils.genReceiverOutput(roundSenderOutput, SECURE_RANDOM);
+            bufferSenderOutput.merge(roundSenderOutput);
+            bufferReceiverOutput.merge(roundReceiverOutput);
+            int splitNum = SECURE_RANDOM.nextInt(bufferSenderOutput.getNum()) + 1;
+            CotSenderOutput takeSenderOutput = bufferSenderOutput.split(splitNum);
+            CotReceiverOutput takeReceiverOutput = bufferReceiverOutput.split(splitNum);
+            byte[][] r0Array = takeSenderOutput.getR0Array();
+            boolean[] choices = takeReceiverOutput.getChoices();
+            byte[][] rbArray = takeReceiverOutput.getRbArray();
+            CotSenderOutput nextSenderOutput = CotTestUtils.genSenderOutput(MAX_NUM, delta, SECURE_RANDOM);
+            bufferSenderOutput.merge(nextSenderOutput);
+            bufferReceiverOutput.merge(CotTestUtils.genReceiverOutput(nextSenderOutput, SECURE_RANDOM));
+            CotTestUtils.assertOutput(splitNum, takeSenderOutput, takeReceiverOutput);
+            Assert.assertArrayEquals(r0Array, takeSenderOutput.getR0Array());
+            Assert.assertArrayEquals(choices, takeReceiverOutput.getChoices());
+            Assert.assertArrayEquals(rbArray, takeReceiverOutput.getRbArray());
+        }
+    }
+
+    @Test
+    public void testPackedAccessors() {
+        byte[] delta = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
+        SECURE_RANDOM.nextBytes(delta);
+        CotSenderOutput senderOutput = CotTestUtils.genSenderOutput(MAX_NUM, delta, SECURE_RANDOM);
+        CotReceiverOutput receiverOutput = CotTestUtils.genReceiverOutput(senderOutput, SECURE_RANDOM);
+        // use a view to verify accessors with non-zero offsets
+        senderOutput.split(1);
+        receiverOutput.split(1);
+        int num = MAX_NUM - 1;
+        byte[] flattenR0Array = senderOutput.getFlattenR0Array();
+        byte[] flattenR1Array = senderOutput.getFlattenR1Array();
+        byte[] flattenRbArray = receiverOutput.getFlattenRbArray();
+        long[] r0LongArray = senderOutput.getLongR0Array();
+        long[] rbLongArray = receiverOutput.getLongRbArray();
+        for (int index = 0; index < num; index++) {
+            int blockOffset = index * CommonConstants.BLOCK_BYTE_LENGTH;
+            ByteBuffer r0 = ByteBuffer.wrap(senderOutput.getR0(index));
+            ByteBuffer r1 = ByteBuffer.wrap(senderOutput.getR1(index));
+            ByteBuffer rb = ByteBuffer.wrap(receiverOutput.getRb(index));
+            Assert.assertEquals(r0, ByteBuffer.wrap(flattenR0Array, blockOffset, CommonConstants.BLOCK_BYTE_LENGTH));
+            Assert.assertEquals(r1, ByteBuffer.wrap(flattenR1Array, blockOffset, CommonConstants.BLOCK_BYTE_LENGTH));
+            Assert.assertEquals(rb, ByteBuffer.wrap(flattenRbArray, blockOffset, CommonConstants.BLOCK_BYTE_LENGTH));
+            for (int longIndex = 0; longIndex < CommonConstants.BLOCK_LONG_LENGTH; longIndex++) {
+                int position = index * CommonConstants.BLOCK_LONG_LENGTH + longIndex;
+                Assert.assertEquals(r0.getLong(longIndex * Long.BYTES), senderOutput.getLongR0(index, longIndex));
+                Assert.assertEquals(r1.getLong(longIndex * Long.BYTES), senderOutput.getLongR1(index, longIndex));
+                Assert.assertEquals(rb.getLong(longIndex * Long.BYTES), receiverOutput.getLongRb(index, longIndex));
+                Assert.assertEquals(r0LongArray[position], senderOutput.getLongR0(index, longIndex));
+                Assert.assertEquals(rbLongArray[position], receiverOutput.getLongRb(index, longIndex));
+            }
+        }
+        // create from the packed arrays
+        CotTestUtils.assertOutput(
+            num, CotSenderOutput.create(delta, r0LongArray),
+            CotReceiverOutput.create(receiverOutput.getChoices(), rbLongArray)
+        );
+    }
 }
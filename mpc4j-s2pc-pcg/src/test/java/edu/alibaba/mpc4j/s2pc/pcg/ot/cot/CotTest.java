@@ -54,6 +54,10 @@ public class CotTest extends AbstractTwoPartyPtoTest {
             CotFactory.CotType.CACHE.name() + " (" + SecurityModel.MALICIOUS + ")",
             new CacheCotConfig.Builder(SecurityModel.MALICIOUS).build(),
         });
+        configurations.add(new Object[] {
+            CotFactory.CotType.CACHE.name() + " (" + SecurityModel.SEMI_HONEST + ", background refill)",
+            new CacheCotConfig.Builder(SecurityModel.SEMI_HONEST).setRefillWatermarks(1 << 10, 1 << 12).build(),
+        });
 
         return configurations;
     }
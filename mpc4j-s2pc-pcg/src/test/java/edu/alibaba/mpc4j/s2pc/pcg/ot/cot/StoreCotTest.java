@@ -0,0 +1,328 @@
+package edu.alibaba.mpc4j.s2pc.pcg.ot.cot;
+
+import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
+import edu.alibaba.mpc4j.common.rpc.desc.SecurityModel;
+import edu.alibaba.mpc4j.common.rpc.test.AbstractTwoPartyPtoTest;
+import edu.alibaba.mpc4j.common.tool.CommonConstants;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.impl.store.StoreCotConfig;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.impl.store.StoreCotReceiver;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.impl.store.StoreCotSender;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * store COT test.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/22
+ */
+public class StoreCotTest extends AbstractTwoPartyPtoTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(StoreCotTest.class);
+    /**
+     * default num
+     */
+    private static final int DEFAULT_NUM = 1000;
+    /**
+     * sender directory
+     */
+    private Path senderDirectory;
+    /**
+     * receiver directory
+     */
+    private Path receiverDirectory;
+
+    public StoreCotTest() {
+        super(CotFactory.CotType.STORE.name());
+    }
+
+    @Before
+    public void createDirectories() throws IOException {
+        senderDirectory = Files.createTempDirectory("store_cot_sender");
+        receiverDirectory = Files.createTempDirectory("store_cot_receiver");
+    }
+
+    @After
+    public void deleteDirectories() throws IOException {
+        for (Path directory : new Path[]{senderDirectory, receiverDirectory}) {
+            deleteDirectory(directory);
+        }
+    }
+
+    @Test
+    public void testOnDemand() throws InterruptedException {
+        StoreCotSender sender = createSender();
+        StoreCotReceiver receiver = createReceiver();
+        byte[] delta = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
+        SECURE_RANDOM.nextBytes(delta);
+        boolean[] choices = randomChoices();
+        // the store is empty, COTs are generated on demand
+        CotSenderThread senderThread = new CotSenderThread(sender, delta, DEFAULT_NUM);
+        CotReceiverThread receiverThread = new CotReceiverThread(receiver, choices);
+        senderThread.start();
+        receiverThread.start();
+        senderThread.join();
+        receiverThread.join();
+        CotTestUtils.assertOutput(DEFAULT_NUM, senderThread.getSenderOutput(), receiverThread.getReceiverOutput());
+        Assert.assertArrayEquals(choices, receiverThread.getReceiverOutput().getChoices());
+        Assert.assertEquals(sender.getStoredNum(), receiver.getStoredNum());
+        printAndResetRpc(0);
+        destroy(sender, receiver);
+    }
+
+    @Test
+    public void testRestart() throws InterruptedException {
+        LOGGER.info("-----test {} (restart) start-----", CotFactory.CotType.STORE.name());
+        byte[] delta = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
+        SECURE_RANDOM.nextBytes(delta);
+        // precompute and consume part of the stored COTs
+        StoreCotSender sender = createSender();
+        StoreCotReceiver receiver = createReceiver();
+        boolean[] choices = randomChoices();
+        CotSenderOutput[] senderOutputs = new CotSenderOutput[1];
+        CotReceiverOutput[] receiverOutputs = new CotReceiverOutput[1];
+        Thread senderThread = new Thread(() -> {
+            try {
+                sender.init(delta, DEFAULT_NUM);
+                sender.precompute(DEFAULT_NUM * 3);
+                senderOutputs[0] = sender.send(DEFAULT_NUM);
+            } catch (MpcAbortException e) {
+                e.printStackTrace();
+            }
+        });
+        Thread receiverThread = new Thread(() -> {
+            try {
+                receiver.init(DEFAULT_NUM);
+                receiver.precompute(DEFAULT_NUM * 3);
+                receiverOutputs[0] = receiver.receive(choices);
+            } catch (MpcAbortException e) {
+                e.printStackTrace();
+            }
+        });
+        senderThread.start();
+        receiverThread.start();
+        senderThread.join();
+        receiverThread.join();
+        CotTestUtils.assertOutput(DEFAULT_NUM, senderOutputs[0], receiverOutputs[0]);
+        long storedNum = sender.getStoredNum();
+        Assert.assertTrue(storedNum >= DEFAULT_NUM * 2);
+        Assert.assertEquals(storedNum, receiver.getStoredNum());
+        printAndResetRpc(0);
+        destroy(sender, receiver);
+
+        // restart with new parties, the sender uses the stored Δ
+        StoreCotSender restartSender = createSender();
+        StoreCotReceiver restartReceiver = createReceiver();
+        byte[] storedDelta = StoreCotSender.readDelta(senderDirectory.toString());
+        Assert.assertArrayEquals(delta, storedDelta);
+        boolean[] restartChoices = randomChoices();
+        CotSenderThread restartSenderThread = new CotSenderThread(restartSender, storedDelta, DEFAULT_NUM);
+        CotReceiverThread restartReceiverThread = new CotReceiverThread(restartReceiver, restartChoices);
+        restartSenderThread.start();
+        restartReceiverThread.start();
+        restartSenderThread.join();
+        restartReceiverThread.join();
+        CotSenderOutput restartSenderOutput = restartSenderThread.getSenderOutput();
+        CotReceiverOutput restartReceiverOutput = restartReceiverThread.getReceiverOutput();
+        CotTestUtils.assertOutput(DEFAULT_NUM, restartSenderOutput, restartReceiverOutput);
+        Assert.assertArrayEquals(restartChoices, restartReceiverOutput.getChoices());
+        // stored COTs are consumed in order, and are never reused
+        Assert.assertEquals(storedNum - DEFAULT_NUM, restartSender.getStoredNum());
+        Assert.assertEquals(storedNum - DEFAULT_NUM, restartReceiver.getStoredNum());
+        IntStream.range(0, DEFAULT_NUM).forEach(index ->
+            Assert.assertFalse(Arrays.equals(senderOutputs[0].getR0(index), restartSenderOutput.getR0(index)))
+        );
+        printAndResetRpc(0);
+        destroy(restartSender, restartReceiver);
+        LOGGER.info("-----test {} (restart) end-----", CotFactory.CotType.STORE.name());
+    }
+
+    @Test
+    public void testRestartAfterConsumedMore() throws InterruptedException, IOException {
+        byte[] delta = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
+        SECURE_RANDOM.nextBytes(delta);
+        precompute(delta, DEFAULT_NUM * 3);
+        Path senderSnapshot = snapshotDirectory(senderDirectory);
+        // consume part of the stored COTs
+        StoreCotSender sender = createSender();
+        StoreCotReceiver receiver = createReceiver();
+        CotSenderThread senderThread = new CotSenderThread(sender, delta, DEFAULT_NUM);
+        CotReceiverThread receiverThread = new CotReceiverThread(receiver, randomChoices());
+        senderThread.start();
+        receiverThread.start();
+        senderThread.join();
+        receiverThread.join();
+        CotTestUtils.assertOutput(DEFAULT_NUM, senderThread.getSenderOutput(), receiverThread.getReceiverOutput());
+        long storedNum = receiver.getStoredNum();
+        destroy(sender, receiver);
+        // the sender crashes before persisting its cursor, while the receiver has persisted its cursor
+        restoreDirectory(senderSnapshot, senderDirectory);
+
+        // restart, the sender skips the COTs consumed by the receiver
+        StoreCotSender restartSender = createSender();
+        StoreCotReceiver restartReceiver = createReceiver();
+        boolean[] restartChoices = randomChoices();
+        CotSenderThread restartSenderThread = new CotSenderThread(restartSender, delta, DEFAULT_NUM);
+        CotReceiverThread restartReceiverThread = new CotReceiverThread(restartReceiver, restartChoices);
+        restartSenderThread.start();
+        restartReceiverThread.start();
+        restartSenderThread.join();
+        restartReceiverThread.join();
+        CotTestUtils.assertOutput(
+            DEFAULT_NUM, restartSenderThread.getSenderOutput(), restartReceiverThread.getReceiverOutput()
+        );
+        Assert.assertArrayEquals(restartChoices, restartReceiverThread.getReceiverOutput().getChoices());
+        Assert.assertEquals(storedNum - DEFAULT_NUM, restartSender.getStoredNum());
+        Assert.assertEquals(storedNum - DEFAULT_NUM, restartReceiver.getStoredNum());
+        printAndResetRpc(0);
+        destroy(restartSender, restartReceiver);
+    }
+
+    @Test
+    public void testRestartAfterStoredMore() throws InterruptedException, IOException {
+        byte[] delta = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
+        SECURE_RANDOM.nextBytes(delta);
+        precompute(delta, DEFAULT_NUM);
+        Path receiverSnapshot = snapshotDirectory(receiverDirectory);
+        precompute(delta, DEFAULT_NUM * 2);
+        // the receiver crashes before appending the last precomputed COTs, while the sender has appended them
+        restoreDirectory(receiverSnapshot, receiverDirectory);
+
+        // restart, the sender drops the COTs that are not stored by the receiver
+        StoreCotSender restartSender = createSender();
+        StoreCotReceiver restartReceiver = createReceiver();
+        boolean[] restartChoices = new boolean[DEFAULT_NUM * 2];
+        IntStream.range(0, restartChoices.length).forEach(index -> restartChoices[index] = SECURE_RANDOM.nextBoolean());
+        CotSenderThread restartSenderThread = new CotSenderThread(restartSender, delta, DEFAULT_NUM * 2, DEFAULT_NUM);
+        CotReceiverThread restartReceiverThread = new CotReceiverThread(restartReceiver, restartChoices, DEFAULT_NUM);
+        restartSenderThread.start();
+        restartReceiverThread.start();
+        restartSenderThread.join();
+        restartReceiverThread.join();
+        CotTestUtils.assertOutput(
+            DEFAULT_NUM * 2, restartSenderThread.getSenderOutput(), restartReceiverThread.getReceiverOutput()
+        );
+        Assert.assertArrayEquals(restartChoices, restartReceiverThread.getReceiverOutput().getChoices());
+        Assert.assertEquals(restartSender.getStoredNum(), restartReceiver.getStoredNum());
+        printAndResetRpc(0);
+        destroy(restartSender, restartReceiver);
+    }
+
+    @Test
+    public void testWrongDelta() throws InterruptedException {
+        byte[] delta = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
+        SECURE_RANDOM.nextBytes(delta);
+        StoreCotSender firstSender = createSender();
+        StoreCotReceiver firstReceiver = createReceiver();
+        // generate more COTs than required, so that some COTs are left in the store
+        CotSenderThread senderThread = new CotSenderThread(firstSender, delta, DEFAULT_NUM, DEFAULT_NUM * 2);
+        CotReceiverThread receiverThread = new CotReceiverThread(firstReceiver, randomChoices(), DEFAULT_NUM * 2);
+        senderThread.start();
+        receiverThread.start();
+        senderThread.join();
+        receiverThread.join();
+        Assert.assertTrue(firstSender.getStoredNum() > 0);
+        destroy(firstSender, firstReceiver);
+        // stored COTs have another Δ
+        byte[] wrongDelta = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
+        SECURE_RANDOM.nextBytes(wrongDelta);
+        StoreCotSender sender = createSender();
+        Assert.assertThrows(IllegalArgumentException.class, () -> sender.init(wrongDelta, DEFAULT_NUM));
+    }
+
+    private StoreCotSender createSender() {
+        StoreCotConfig config = new StoreCotConfig.Builder(SecurityModel.SEMI_HONEST, senderDirectory.toString()).build();
+        StoreCotSender sender = new StoreCotSender(firstRpc, secondRpc.ownParty(), config);
+        sender.setTaskId(0);
+        return sender;
+    }
+
+    private StoreCotReceiver createReceiver() {
+        StoreCotConfig config = new StoreCotConfig.Builder(SecurityModel.SEMI_HONEST, receiverDirectory.toString()).build();
+        StoreCotReceiver receiver = new StoreCotReceiver(secondRpc, firstRpc.ownParty(), config);
+        receiver.setTaskId(0);
+        return receiver;
+    }
+
+    private boolean[] randomChoices() {
+        boolean[] choices = new boolean[DEFAULT_NUM];
+        IntStream.range(0, DEFAULT_NUM).forEach(index -> choices[index] = SECURE_RANDOM.nextBoolean());
+        return choices;
+    }
+
+    private void destroy(CotSender sender, CotReceiver receiver) {
+        new Thread(sender::destroy).start();
+        new Thread(receiver::destroy).start();
+    }
+
+    private void precompute(byte[] delta, int num) throws InterruptedException {
+        StoreCotSender sender = createSender();
+        StoreCotReceiver receiver = createReceiver();
+        Thread senderThread = new Thread(() -> {
+            try {
+                sender.init(delta, DEFAULT_NUM);
+                sender.precompute(num);
+            } catch (MpcAbortException e) {
+                e.printStackTrace();
+            }
+        });
+        Thread receiverThread = new Thread(() -> {
+            try {
+                receiver.init(DEFAULT_NUM);
+                receiver.precompute(num);
+            } catch (MpcAbortException e) {
+                e.printStackTrace();
+            }
+        });
+        senderThread.start();
+        receiverThread.start();
+        senderThread.join();
+        receiverThread.join();
+        Assert.assertEquals(sender.getStoredNum(), receiver.getStoredNum());
+        printAndResetRpc(0);
+        destroy(sender, receiver);
+    }
+
+    private static Path snapshotDirectory(Path directory) throws IOException {
+        Path snapshot = Files.createTempDirectory("store_cot_snapshot");
+        copyFiles(directory, snapshot);
+        return snapshot;
+    }
+
+    private static void restoreDirectory(Path snapshot, Path directory) throws IOException {
+        deleteDirectory(directory);
+        Files.createDirectory(directory);
+        copyFiles(snapshot, directory);
+        deleteDirectory(snapshot);
+    }
+
+    private static void copyFiles(Path source, Path target) throws IOException {
+        List<Path> paths;
+        try (Stream<Path> pathStream = Files.list(source)) {
+            paths = pathStream.collect(Collectors.toList());
+        }
+        for (Path path : paths) {
+            Files.copy(path, target.resolve(path.getFileName()));
+        }
+    }
+
+    private static void deleteDirectory(Path directory) throws IOException {
+        try (Stream<Path> pathStream = Files.walk(directory)) {
+            pathStream.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package edu.alibaba.mpc4j.s2pc.pcg.ot.cot.bsp;
+
+import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
+import edu.alibaba.mpc4j.common.rpc.test.AbstractTwoPartyPtoTest;
+import edu.alibaba.mpc4j.common.tool.CommonConstants;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.bsp.ywl20.Ywl20ShBspCotConfig;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * BSP-COT efficiency test. The GGM trees in a batch are expanded level by level, and the trees are split into groups
+ * when parallel. We report the throughput (COT/ms) of send / receive for different batch sizes, with and without
+ * parallel. Init is not included in the time.
+ *
+ * @author Weiran Liu
+ * @date 2023/7/22
+ */
+@Ignore
+public class BspCotEfficiencyTest extends AbstractTwoPartyPtoTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BspCotEfficiencyTest.class);
+    /**
+     * log(num) for each tree
+     */
+    private static final int LOG_NUM = 12;
+    /**
+     * tested log(batch num)
+     */
+    private static final int[] LOG_BATCH_NUMS = new int[]{4, 6, 8, 10, 12};
+
+    public BspCotEfficiencyTest() {
+        super("BSP-COT efficiency");
+    }
+
+    @Test
+    public void testEfficiency() throws InterruptedException {
+        int num = 1 << LOG_NUM;
+        LOGGER.info("{}\t{}\t{}\t{}\t{}",
+            "log(n)", "log(batch)", "parallel", "  time(ms)", "COT/ms"
+        );
+        for (int logBatchNum : LOG_BATCH_NUMS) {
+            for (boolean parallel : new boolean[]{false, true}) {
+                int batchNum = 1 << logBatchNum;
+                long time = testPto(batchNum, num, parallel);
+                long throughput = (long) batchNum * num / Math.max(time, 1);
+                LOGGER.info("{}\t{}\t{}\t{}\t{}",
+                    StringUtils.leftPad(String.valueOf(LOG_NUM), 6),
+                    StringUtils.leftPad(String.valueOf(logBatchNum), 10),
+                    StringUtils.leftPad(String.valueOf(parallel), 8),
+                    StringUtils.leftPad(String.valueOf(time), 10),
+                    StringUtils.leftPad(String.valueOf(throughput), 6)
+                );
+            }
+        }
+    }
+
+    private long testPto(int batchNum, int num, boolean parallel) throws InterruptedException {
+        BspCotConfig config = new Ywl20ShBspCotConfig.Builder().build();
+        BspCotSender sender = BspCotFactory.createSender(firstRpc, secondRpc.ownParty(), config);
+        BspCotReceiver receiver = BspCotFactory.createReceiver(secondRpc, firstRpc.ownParty(), config);
+        sender.setParallel(parallel);
+        receiver.setParallel(parallel);
+        int randomTaskId = Math.abs(SECURE_RANDOM.nextInt());
+        sender.setTaskId(randomTaskId);
+        receiver.setTaskId(randomTaskId);
+        byte[] delta = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
+        SECURE_RANDOM.nextBytes(delta);
+        int[] alphaArray = IntStream.range(0, batchNum)
+            .map(batchIndex -> SECURE_RANDOM.nextInt(num))
+            .toArray();
+        // init
+        Thread senderInitThread = new Thread(() -> {
+            try {
+                sender.init(delta, batchNum, num);
+            } catch (MpcAbortException e) {
+                e.printStackTrace();
+            }
+        });
+        Thread receiverInitThread = new Thread(() -> {
+            try {
+                receiver.init(batchNum, num);
+            } catch (MpcAbortException e) {
+                e.printStackTrace();
+            }
+        });
+        senderInitThread.start();
+        receiverInitThread.start();
+        senderInitThread.join();
+        receiverInitThread.join();
+        firstRpc.reset();
+        secondRpc.reset();
+        // send / receive
+        Thread senderThread = new Thread(() -> {
+            try {
+                sender.send(batchNum, num);
+            } catch (MpcAbortException e) {
+                e.printStackTrace();
+            }
+        });
+        Thread receiverThread = new Thread(() -> {
+            try {
+                receiver.receive(alphaArray, num);
+            } catch (MpcAbortException e) {
+                e.printStackTrace();
+            }
+        });
+        STOP_WATCH.start();
+        senderThread.start();
+        receiverThread.start();
+        senderThread.join();
+        receiverThread.join();
+        STOP_WATCH.stop();
+        long time = STOP_WATCH.getTime(TimeUnit.MILLISECONDS);
+        STOP_WATCH.reset();
+        printAndResetRpc(time);
+        new Thread(sender::destroy).start();
+        new Thread(receiver::destroy).start();
+        return time;
+    }
+}
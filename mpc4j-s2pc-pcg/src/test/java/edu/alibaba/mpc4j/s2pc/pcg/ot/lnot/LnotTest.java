@@ -3,6 +3,7 @@ package edu.alibaba.mpc4j.s2pc.pcg.ot.lnot;
 import edu.alibaba.mpc4j.common.rpc.desc.SecurityModel;
 import edu.alibaba.mpc4j.common.rpc.test.AbstractTwoPartyPtoTest;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.lnot.LnotFactory.LnotType;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.lnot.impl.cache.CacheLnotConfig;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.lnot.impl.direct.DirectLnotConfig;
 import org.junit.Assert;
 import org.junit.Test;
@@ -56,6 +57,10 @@ public class LnotTest extends AbstractTwoPartyPtoTest {
             LnotType.CACHE.name() + " (" + SecurityModel.SEMI_HONEST + ")",
             new DirectLnotConfig.Builder(SecurityModel.SEMI_HONEST).build(),
         });
+        configurations.add(new Object[]{
+            LnotType.CACHE.name() + " (" + SecurityModel.SEMI_HONEST + ", background refill)",
+            new CacheLnotConfig.Builder(SecurityModel.SEMI_HONEST).setRefillWatermarks(1 << 10, 1 << 12).build(),
+        });
         // DIRECT
         configurations.add(new Object[]{
             LnotType.DIRECT.name() + " (" + SecurityModel.MALICIOUS + ")",
@@ -4,6 +4,7 @@ import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
 import edu.alibaba.mpc4j.common.rpc.Party;
 import edu.alibaba.mpc4j.common.rpc.Rpc;
 import edu.alibaba.mpc4j.common.rpc.RpcPropertiesUtils;
+import edu.alibaba.mpc4j.common.rpc.impl.emulation.NetworkEmulationRpc;
 import edu.alibaba.mpc4j.common.tool.CommonConstants;
 import edu.alibaba.mpc4j.common.tool.utils.IntUtils;
 import edu.alibaba.mpc4j.common.tool.utils.PropertiesUtils;
@@ -112,7 +113,9 @@ public class BatchIndexPirMain {
         // server writes statistical result files
         String tab = "Party ID\tServer Element Size\tClient Retrieval Size\tIs Parallel\tThread Num"
             + "\tInit Time(ms)\tInit DataPacket Num\tInit Payload Bytes(B)\tInit Send Bytes(B)"
-            + "\tPto  Time(ms)\tPto  DataPacket Num\tPto  Payload Bytes(B)\tPto  Send Bytes(B)";
+            + "\tPto  Time(ms)\tPto  DataPacket Num\tPto  Payload Bytes(B)\tPto  Send Bytes(B)"
+            + NetworkEmulationRpc.getEmulatedTimeTab(serverRpc, "Init")
+            + NetworkEmulationRpc.getEmulatedTimeTab(serverRpc, "Pto");
         printWriter.println(tab);
         LOGGER.info("{} ready for run", serverRpc.ownParty().getPartyName());
         // connect
@@ -196,6 +199,7 @@ public class BatchIndexPirMain {
         long initDataPacketNum = server.getRpc().getSendDataPacketNum();
         long initPayloadByteLength = server.getRpc().getPayloadByteLength();
         long initSendByteLength = server.getRpc().getSendByteLength();
+        String initEmulatedTimeInfo = NetworkEmulationRpc.getEmulatedTimeInfo(server.getRpc());
         server.getRpc().synchronize();
         server.getRpc().reset();
         // execute protocol
@@ -208,6 +212,7 @@ public class BatchIndexPirMain {
         long ptoDataPacketNum = server.getRpc().getSendDataPacketNum();
         long ptoPayloadByteLength = server.getRpc().getPayloadByteLength();
         long ptoSendByteLength = server.getRpc().getSendByteLength();
+        String ptoEmulatedTimeInfo = NetworkEmulationRpc.getEmulatedTimeInfo(server.getRpc());
         // write statistical result files
         String info = server.ownParty().getPartyId()
             + "\t" + serverElementSize
@@ -215,7 +220,8 @@ public class BatchIndexPirMain {
             + "\t" + server.getParallel()
             + "\t" + ForkJoinPool.getCommonPoolParallelism()
             + "\t" + initTime + "\t" + initDataPacketNum + "\t" + initPayloadByteLength + "\t" + initSendByteLength
-            + "\t" + ptoTime + "\t" + ptoDataPacketNum + "\t" + ptoPayloadByteLength + "\t" + ptoSendByteLength;
+            + "\t" + ptoTime + "\t" + ptoDataPacketNum + "\t" + ptoPayloadByteLength + "\t" + ptoSendByteLength
+            + initEmulatedTimeInfo + ptoEmulatedTimeInfo;
         printWriter.println(info);
         // synchronize
         server.getRpc().synchronize();
@@ -258,7 +264,9 @@ public class BatchIndexPirMain {
         // client writes statistical result files
         String tab = "Party ID\tServer Element Size\tClient Retrieval Size\tIs Parallel\tThread Num"
             + "\tInit Time(ms)\tInit DataPacket Num\tInit Payload Bytes(B)\tInit Send Bytes(B)"
-            + "\tPto  Time(ms)\tPto  DataPacket Num\tPto  Payload Bytes(B)\tPto  Send Bytes(B)";
+            + "\tPto  Time(ms)\tPto  DataPacket Num\tPto  Payload Bytes(B)\tPto  Send Bytes(B)"
+            + NetworkEmulationRpc.getEmulatedTimeTab(clientRpc, "Init")
+            + NetworkEmulationRpc.getEmulatedTimeTab(clientRpc, "Pto");
         printWriter.println(tab);
         LOGGER.info("{} ready for run", clientRpc.ownParty().getPartyName());
         // connect
@@ -341,6 +349,7 @@ public class BatchIndexPirMain {
         long initDataPacketNum = client.getRpc().getSendDataPacketNum();
         long initPayloadByteLength = client.getRpc().getPayloadByteLength();
         long initSendByteLength = client.getRpc().getSendByteLength();
+        String initEmulatedTimeInfo = NetworkEmulationRpc.getEmulatedTimeInfo(client.getRpc());
         client.getRpc().synchronize();
         client.getRpc().reset();
         // execute protocol
@@ -353,6 +362,7 @@ public class BatchIndexPirMain {
         long ptoDataPacketNum = client.getRpc().getSendDataPacketNum();
         long ptoPayloadByteLength = client.getRpc().getPayloadByteLength();
         long ptoSendByteLength = client.getRpc().getSendByteLength();
+        String ptoEmulatedTimeInfo = NetworkEmulationRpc.getEmulatedTimeInfo(client.getRpc());
         // write statistical result files
         String info = client.ownParty().getPartyId()
             + "\t" + serverElementSize
@@ -360,7 +370,8 @@ public class BatchIndexPirMain {
             + "\t" + client.getParallel()
             + "\t" + ForkJoinPool.getCommonPoolParallelism()
             + "\t" + initTime + "\t" + initDataPacketNum + "\t" + initPayloadByteLength + "\t" + initSendByteLength
-            + "\t" + ptoTime + "\t" + ptoDataPacketNum + "\t" + ptoPayloadByteLength + "\t" + ptoSendByteLength;
+            + "\t" + ptoTime + "\t" + ptoDataPacketNum + "\t" + ptoPayloadByteLength + "\t" + ptoSendByteLength
+            + initEmulatedTimeInfo + ptoEmulatedTimeInfo;
         printWriter.println(info);
         client.getRpc().synchronize();
         client.getRpc().reset();
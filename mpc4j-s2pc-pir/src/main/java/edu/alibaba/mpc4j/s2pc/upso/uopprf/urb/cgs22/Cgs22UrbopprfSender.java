@@ -9,6 +9,8 @@ import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
 import edu.alibaba.mpc4j.common.tool.CommonConstants;
 import edu.alibaba.mpc4j.common.tool.crypto.prf.Prf;
 import edu.alibaba.mpc4j.common.tool.crypto.prf.PrfFactory;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasher;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasherFactory;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.HashBinEntry;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBin;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBinFactory;
@@ -147,13 +149,9 @@ public class Cgs22UrbopprfSender extends AbstractUrbopprfSender {
         );
         garbledTableKeys = cuckooHashTable.getHashKeys();
         // set hashes
-        Prf[] binHashes = Arrays.stream(garbledTableKeys)
-            .map(key -> {
-                Prf prf = PrfFactory.createInstance(envType, Integer.BYTES);
-                prf.setKey(key);
-                return prf;
-            })
-            .toArray(Prf[]::new);
+        MultiIndexHasher binHasher = MultiIndexHasherFactory.createInstance(
+            envType, MultiIndexHasherFactory.DEFAULT_TYPE, garbledTableKeys
+        );
         // generate garbled table
         int binNum = cuckooHashTable.binNum();
         // Let E be a mapping that maps elements to the index of the hash function that was eventually used to
@@ -185,7 +183,7 @@ public class Cgs22UrbopprfSender extends AbstractUrbopprfSender {
                 inputPrf = prf.getBytes(inputPrf);
                 // For idx ← E(X_j(i)), and pos ← h_{idx}(X_j(i)), set GT[pos] ← f_{idx} ⊕ T_j(i).
                 int idx = eMap.get(ByteBuffer.wrap(input));
-                int pos = binHashes[idx].getInteger(input, binNum);
+                int pos = binHasher.getIndex(idx, input, binNum);
                 garbledTable[pos] = new byte[byteL];
                 System.arraycopy(inputPrf, idx * byteL, garbledTable[pos], 0, byteL);
                 BytesUtils.reduceByteArray(garbledTable[pos], l);
@@ -5,6 +5,8 @@ import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
 import edu.alibaba.mpc4j.common.tool.CommonConstants;
 import edu.alibaba.mpc4j.common.tool.crypto.prf.Prf;
 import edu.alibaba.mpc4j.common.tool.crypto.prf.PrfFactory;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasher;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasherFactory;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBinFactory;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBinFactory.CuckooHashBinType;
 import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
@@ -16,7 +18,6 @@ import edu.alibaba.mpc4j.s2pc.pir.index.batch.BatchIndexPirFactory;
 import edu.alibaba.mpc4j.s2pc.upso.uopprf.urb.AbstractUrbopprfReceiver;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
@@ -51,7 +52,7 @@ public class PirUrbopprfReceiver extends AbstractUrbopprfReceiver {
     /**
      * h_1, ... h_d
      */
-    private Prf[] binHashes;
+    private MultiIndexHasher binHasher;
     /**
      * garbled table
      */
@@ -106,13 +107,7 @@ public class PirUrbopprfReceiver extends AbstractUrbopprfReceiver {
         // parse garbled table keys
         MpcAbortPreconditions.checkArgument(garbledTableKeysPayload.size() == d);
         byte[][] garbledTableKeys = garbledTableKeysPayload.toArray(new byte[0][]);
-        binHashes = Arrays.stream(garbledTableKeys)
-            .map(key -> {
-                Prf prf = PrfFactory.createInstance(envType, Integer.BYTES);
-                prf.setKey(key);
-                return prf;
-            })
-            .toArray(Prf[]::new);
+        binHasher = MultiIndexHasherFactory.createInstance(envType, MultiIndexHasherFactory.DEFAULT_TYPE, garbledTableKeys);
         List<Integer> retrievalIndexList = generateRetrievalIndexList();
         Map<Integer, byte[]> garbledTablePayload = batchIndexPirClient.pir(retrievalIndexList);
         stopWatch.stop();
@@ -157,9 +152,10 @@ public class PirUrbopprfReceiver extends AbstractUrbopprfReceiver {
                 // Compute f_1 || f_2 || f_3 ← F(k, x), where f_b ∈ {0,1}^l for all b ∈ [3].
                 byte[] inputPrf = sqOprfReceiverOutput.getPrf(j);
                 inputPrf = prf.getBytes(inputPrf);
+                // Compute pos_b ← h_b(x) for all b ∈ [d].
+                int[] positions = binHasher.getIndexes(input, binNum);
                 for (int b = 0; b < d; b++) {
-                    // Compute pos_b ← h_b(x) for all b ∈ [d].
-                    int posb = binHashes[b].getInteger(input, binNum);
+                    int posb = positions[b];
                     // Return list W = [f_b ⊕ GT[pos_b]]_{b ∈ [d]}
                     prfs[b] = new byte[byteL];
                     System.arraycopy(inputPrf, byteL * b, prfs[b], 0, byteL);
@@ -174,8 +170,8 @@ public class PirUrbopprfReceiver extends AbstractUrbopprfReceiver {
     private List<Integer> generateRetrievalIndexList() {
         List<Integer> retrievalIndexList = new ArrayList<>();
         for (int i = 0; i < batchSize; i++) {
-            for (int j = 0; j < d; j++) {
-                retrievalIndexList.add(binHashes[j].getInteger(inputArray[i], binNum));
+            for (int position : binHasher.getIndexes(inputArray[i], binNum)) {
+                retrievalIndexList.add(position);
             }
         }
         return retrievalIndexList.stream()
@@ -4,6 +4,7 @@ import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
 import edu.alibaba.mpc4j.common.rpc.Party;
 import edu.alibaba.mpc4j.common.rpc.Rpc;
 import edu.alibaba.mpc4j.common.rpc.RpcPropertiesUtils;
+import edu.alibaba.mpc4j.common.rpc.impl.emulation.NetworkEmulationRpc;
 import edu.alibaba.mpc4j.common.tool.CommonConstants;
 import edu.alibaba.mpc4j.common.tool.utils.PropertiesUtils;
 import edu.alibaba.mpc4j.s2pc.pso.PsoUtils;
@@ -121,7 +122,9 @@ public class PmidMain {
         // 写入统计结果头文件
         String tab = "Party ID\tServer Set Size\tServerU\tClient Set Size\tClientU\tIs Parallel\tThread Num"
             + "\tInit Time(ms)\tInit DataPacket Num\tInit Payload Bytes(B)\tInit Send Bytes(B)"
-            + "\tPto  Time(ms)\tPto  DataPacket Num\tPto  Payload Bytes(B)\tPto  Send Bytes(B)";
+            + "\tPto  Time(ms)\tPto  DataPacket Num\tPto  Payload Bytes(B)\tPto  Send Bytes(B)"
+            + NetworkEmulationRpc.getEmulatedTimeTab(serverRpc, "Init")
+            + NetworkEmulationRpc.getEmulatedTimeTab(serverRpc, "Pto");
         printWriter.println(tab);
         LOGGER.info("{} ready for run", serverRpc.ownParty().getPartyName());
         // 建立连接
@@ -230,6 +233,7 @@ public class PmidMain {
         long initDataPacketNum = pmidServer.getRpc().getSendDataPacketNum();
         long initPayloadByteLength = pmidServer.getRpc().getPayloadByteLength();
         long initSendByteLength = pmidServer.getRpc().getSendByteLength();
+        String initEmulatedTimeInfo = NetworkEmulationRpc.getEmulatedTimeInfo(pmidServer.getRpc());
         // 同步
         pmidServer.getRpc().synchronize();
         pmidServer.getRpc().reset();
@@ -243,6 +247,7 @@ public class PmidMain {
         long ptoDataPacketNum = pmidServer.getRpc().getSendDataPacketNum();
         long ptoPayloadByteLength = pmidServer.getRpc().getPayloadByteLength();
         long ptoSendByteLength = pmidServer.getRpc().getSendByteLength();
+        String ptoEmulatedTimeInfo = NetworkEmulationRpc.getEmulatedTimeInfo(pmidServer.getRpc());
         // 写入统计结果
         String info = pmidServer.ownParty().getPartyId()
             + "\t" + serverSetSize
@@ -252,7 +257,8 @@ public class PmidMain {
             + "\t" + parallel
             + "\t" + ForkJoinPool.getCommonPoolParallelism()
             + "\t" + initTime + "\t" + initDataPacketNum + "\t" + initPayloadByteLength + "\t" + initSendByteLength
-            + "\t" + ptoTime + "\t" + ptoDataPacketNum + "\t" + ptoPayloadByteLength + "\t" + ptoSendByteLength;
+            + "\t" + ptoTime + "\t" + ptoDataPacketNum + "\t" + ptoPayloadByteLength + "\t" + ptoSendByteLength
+            + initEmulatedTimeInfo + ptoEmulatedTimeInfo;
         printWriter.println(info);
         // 同步
         pmidServer.getRpc().synchronize();
@@ -302,7 +308,9 @@ public class PmidMain {
         // 写入统计结果头文件
         String tab = "Party ID\tServer Set Size\tServerU\tClient Set Size\tClientU\tIs Parallel\tThread Num"
             + "\tInit Time(ms)\tInit DataPacket Num\tInit Payload Bytes(B)\tInit Send Bytes(B)"
-            + "\tPto  Time(ms)\tPto  DataPacket Num\tPto  Payload Bytes(B)\tPto  Send Bytes(B)";
+            + "\tPto  Time(ms)\tPto  DataPacket Num\tPto  Payload Bytes(B)\tPto  Send Bytes(B)"
+            + NetworkEmulationRpc.getEmulatedTimeTab(clientRpc, "Init")
+            + NetworkEmulationRpc.getEmulatedTimeTab(clientRpc, "Pto");
         printWriter.println(tab);
         LOGGER.info("{} ready for run", clientRpc.ownParty().getPartyName());
         // 建立连接
@@ -414,6 +422,7 @@ public class PmidMain {
         long initDataPacketNum = pmidClient.getRpc().getSendDataPacketNum();
         long initPayloadByteLength = pmidClient.getRpc().getPayloadByteLength();
         long initSendByteLength = pmidClient.getRpc().getSendByteLength();
+        String initEmulatedTimeInfo = NetworkEmulationRpc.getEmulatedTimeInfo(pmidClient.getRpc());
         // 同步
         pmidClient.getRpc().synchronize();
         pmidClient.getRpc().reset();
@@ -427,6 +436,7 @@ public class PmidMain {
         long ptoDataPacketNum = pmidClient.getRpc().getSendDataPacketNum();
         long ptoPayloadByteLength = pmidClient.getRpc().getPayloadByteLength();
         long ptoSendByteLength = pmidClient.getRpc().getSendByteLength();
+        String ptoEmulatedTimeInfo = NetworkEmulationRpc.getEmulatedTimeInfo(pmidClient.getRpc());
         // 写入统计结果
         String info = pmidClient.ownParty().getPartyId()
             + "\t" + serverSetSize
@@ -436,7 +446,8 @@ public class PmidMain {
             + "\t" + parallel
             + "\t" + ForkJoinPool.getCommonPoolParallelism()
             + "\t" + initTime + "\t" + initDataPacketNum + "\t" + initPayloadByteLength + "\t" + initSendByteLength
-            + "\t" + ptoTime + "\t" + ptoDataPacketNum + "\t" + ptoPayloadByteLength + "\t" + ptoSendByteLength;
+            + "\t" + ptoTime + "\t" + ptoDataPacketNum + "\t" + ptoPayloadByteLength + "\t" + ptoSendByteLength
+            + initEmulatedTimeInfo + ptoEmulatedTimeInfo;
         printWriter.println(info);
         // 同步
         pmidClient.getRpc().synchronize();
@@ -185,12 +185,10 @@ public class Bkms20EccPidClient<T> extends AbstractPidParty<T> {
 
     private List<byte[]> generateUpPayload() {
         // For each p_i ∈ P, compute u_p^i = H(p_i)^{k_p}
-        Stream<T> pStream = ownElementArrayList.stream();
-        pStream = parallel ? pStream.parallel() : pStream;
-        ECPoint[] up = pStream
-            .map(piElement -> ecc.hashToCurve(ObjectUtils.objectToByteArray(piElement)))
-            .map(pi -> ecc.multiply(pi, kp))
-            .toArray(ECPoint[]::new);
+        byte[][] pByteArrays = ownElementArrayList.stream()
+            .map(ObjectUtils::objectToByteArray)
+            .toArray(byte[][]::new);
+        ECPoint[] up = ecc.multiply(ecc.hashToCurve(pByteArrays, parallel), kp, parallel);
         // Randomly shuffle the elements in U_p using a permutation π_p
         ArrayList<Integer> shuffleMap = IntStream.range(0, ownElementSetSize)
             .boxed()
@@ -206,28 +204,18 @@ public class Bkms20EccPidClient<T> extends AbstractPidParty<T> {
             .boxed()
             .collect(Collectors.toMap(shuffleMap::get, Function.identity()));
         // send to P
-        return Arrays.stream(shuffleUp)
-            .map(upi -> ecc.encode(upi, compressEncode))
-            .collect(Collectors.toList());
+        return Arrays.asList(ecc.encode(shuffleUp, compressEncode, parallel));
     }
 
     private List<byte[]> handleUcPayload(List<byte[]> ucPayload) throws MpcAbortException {
         MpcAbortPreconditions.checkArgument(ucPayload.size() == otherElementSetSize);
         // For each u_c^i ∈ U_c, Compute e_c^i = (u_c^i)^{k_p}
-        Stream<byte[]> ucStream = ucPayload.stream();
-        ucStream = parallel ? ucStream.parallel() : ucStream;
-        List<ECPoint> ecList = ucStream
-            .map(ecc::decode)
-            .map(uci -> ecc.multiply(uci, kp))
-            .collect(Collectors.toList());
+        ECPoint[] uc = ecc.decode(ucPayload.toArray(new byte[0][]), parallel);
+        ECPoint[] ec = ecc.multiply(uc, kp, parallel);
         // Compute v_p^i = (e_p^i)^{r_c}
-        Stream<ECPoint> ecStream = ecList.stream();
-        ecStream = parallel ? ecStream.parallel() : ecStream;
-        List<byte[]> vcPayload = ecStream
-            .map(eci -> ecc.multiply(eci, rp))
-            .map(vci -> ecc.encode(vci, compressEncode))
-            .collect(Collectors.toList());
-        ecSet = new HashSet<>(ecList);
+        ECPoint[] vc = ecc.multiply(ec, rp, parallel);
+        List<byte[]> vcPayload = Arrays.asList(ecc.encode(vc, compressEncode, parallel));
+        ecSet = new HashSet<>(Arrays.asList(ec));
 
         return vcPayload;
     }
@@ -235,20 +223,17 @@ public class Bkms20EccPidClient<T> extends AbstractPidParty<T> {
     private void handleVpPayload(List<byte[]> vpPayload) throws MpcAbortException {
         MpcAbortPreconditions.checkArgument(vpPayload.size() == ownElementSetSize);
         // Shuffle back the elements of V_p using π^{−1}_p.
-        ECPoint[] shuffleVp = vpPayload.stream()
-            .map(ecc::decode)
-            .toArray(ECPoint[]::new);
+        ECPoint[] shuffleVp = ecc.decode(vpPayload.toArray(new byte[0][]), parallel);
         ECPoint[] vp = new ECPoint[ownElementSetSize];
         for (int i = 0; i < ownElementSetSize; i++) {
             vp[i] = shuffleVp[reShuffleMap.get(i)];
         }
         reShuffleMap = null;
         // For every v_p^i ∈ V_p, let w_p^i = (v_p^i)^{r_p} and M_p[(v_p^i)^{r_p}] = p_i
-        Stream<ECPoint> vpStream = Arrays.stream(vp);
-        vpStream = parallel ? vpStream.parallel() : vpStream;
-        ByteBuffer[] wp = vpStream
-            .map(vpi -> ecc.multiply(vpi, rp))
-            .map(wpi -> ecc.encode(wpi, false))
+        byte[][] wpEncodes = ecc.encode(ecc.multiply(vp, rp, parallel), false, parallel);
+        Stream<byte[]> wpEncodeStream = Arrays.stream(wpEncodes);
+        wpEncodeStream = parallel ? wpEncodeStream.parallel() : wpEncodeStream;
+        ByteBuffer[] wp = wpEncodeStream
             .map(pidMap::digestToBytes)
             .map(ByteBuffer::wrap)
             .toArray(ByteBuffer[]::new);
@@ -259,9 +244,7 @@ public class Bkms20EccPidClient<T> extends AbstractPidParty<T> {
     }
 
     private List<byte[]> generateEcPayload() {
-        List<byte[]> ecPayload = ecSet.stream()
-            .map(eci -> ecc.encode(eci, compressEncode))
-            .collect(Collectors.toList());
+        List<byte[]> ecPayload = Arrays.asList(ecc.encode(ecSet.toArray(new ECPoint[0]), compressEncode, parallel));
         ecSet = null;
         // Randomly shuffle the elements in E_c
         Collections.shuffle(ecPayload, secureRandom);
@@ -273,13 +256,9 @@ public class Bkms20EccPidClient<T> extends AbstractPidParty<T> {
             spPayload.size() <= otherElementSetSize && spPayload.size() <= ownElementSetSize
         );
         // For each s_p^i ∈ S_p, s_p^i' = (s_p^i)^{r_p}
-        Stream<byte[]> spStream = spPayload.stream();
-        spStream = parallel ? spStream.parallel() : spStream;
-        return spStream
-            .map(ecc::decode)
-            .map(spi -> ecc.multiply(spi, rp))
-            .map(sppi -> ecc.encode(sppi, compressEncode))
-            .collect(Collectors.toList());
+        ECPoint[] sp = ecc.decode(spPayload.toArray(new byte[0][]), parallel);
+        ECPoint[] spp = ecc.multiply(sp, rp, parallel);
+        return Arrays.asList(ecc.encode(spp, compressEncode, parallel));
     }
 
     private void handleScpPayload(List<byte[]> scpPayload) throws MpcAbortException {
@@ -287,12 +266,11 @@ public class Bkms20EccPidClient<T> extends AbstractPidParty<T> {
             scpPayload.size() <= otherElementSetSize && scpPayload.size() <= ownElementSetSize
         );
         // For every s_c^i ∈ S_c', let s_c^i'' = s_c^i^{r_p} and M_p[(s_p^i)^{r_p}] = ⊥
-        Stream<byte[]> scpStream = scpPayload.stream();
-        scpStream = parallel ? scpStream.parallel() : scpStream;
-        List<ByteBuffer> dc = scpStream
-            .map(ecc::decode)
-            .map(scpi -> ecc.multiply(scpi, rp))
-            .map(wci -> ecc.encode(wci, false))
+        ECPoint[] scp = ecc.decode(scpPayload.toArray(new byte[0][]), parallel);
+        byte[][] wcEncodes = ecc.encode(ecc.multiply(scp, rp, parallel), false, parallel);
+        Stream<byte[]> wcEncodeStream = Arrays.stream(wcEncodes);
+        wcEncodeStream = parallel ? wcEncodeStream.parallel() : wcEncodeStream;
+        List<ByteBuffer> dc = wcEncodeStream
             .map(pidMap::digestToBytes)
             .map(ByteBuffer::wrap)
             .collect(Collectors.toList());
@@ -197,12 +197,10 @@ public class Bkms20EccPidServer<T> extends AbstractPidParty<T> {
 
     private List<byte[]> generateUcPayload() {
         // For each c_i ∈ C, compute u_c^i = H(c_i)^{k_c}
-        Stream<T> cStream = ownElementArrayList.stream();
-        cStream = parallel ? cStream.parallel() : cStream;
-        ECPoint[] uc = cStream
-            .map(ciElement -> ecc.hashToCurve(ObjectUtils.objectToByteArray(ciElement)))
-            .map(ci -> ecc.multiply(ci, kc))
-            .toArray(ECPoint[]::new);
+        byte[][] cByteArrays = ownElementArrayList.stream()
+            .map(ObjectUtils::objectToByteArray)
+            .toArray(byte[][]::new);
+        ECPoint[] uc = ecc.multiply(ecc.hashToCurve(cByteArrays, parallel), kc, parallel);
         // Randomly shuffle the elements in U_c using a permutation π_c
         ArrayList<Integer> shuffleMap = IntStream.range(0, ownElementSetSize)
             .boxed()
@@ -218,28 +216,18 @@ public class Bkms20EccPidServer<T> extends AbstractPidParty<T> {
             .boxed()
             .collect(Collectors.toMap(shuffleMap::get, Function.identity()));
         // send to P
-        return Arrays.stream(shuffleUc)
-            .map(uci -> ecc.encode(uci, compressEncode))
-            .collect(Collectors.toList());
+        return Arrays.asList(ecc.encode(shuffleUc, compressEncode, parallel));
     }
 
     private List<byte[]> handleUpPayload(List<byte[]> upPayload) throws MpcAbortException {
         MpcAbortPreconditions.checkArgument(upPayload.size() == otherElementSetSize);
         // For each u_p^i ∈ U_p, Compute e_p^i = (u_p^i)^{k_c}
-        Stream<byte[]> upStream = upPayload.stream();
-        upStream = parallel ? upStream.parallel() : upStream;
-        List<ECPoint> epList = upStream
-            .map(ecc::decode)
-            .map(upi -> ecc.multiply(upi, kc))
-            .collect(Collectors.toList());
+        ECPoint[] up = ecc.decode(upPayload.toArray(new byte[0][]), parallel);
+        ECPoint[] ep = ecc.multiply(up, kc, parallel);
         // Compute v_p^i = (e_p^i)^{r_c}
-        Stream<ECPoint> epStream = epList.stream();
-        epStream = parallel ? epStream.parallel() : epStream;
-        List<byte[]> vpPayload = epStream
-            .map(epi -> ecc.multiply(epi, rc))
-            .map(vpi -> ecc.encode(vpi, compressEncode))
-            .collect(Collectors.toList());
-        epSet = new HashSet<>(epList);
+        ECPoint[] vp = ecc.multiply(ep, rc, parallel);
+        List<byte[]> vpPayload = Arrays.asList(ecc.encode(vp, compressEncode, parallel));
+        epSet = new HashSet<>(Arrays.asList(ep));
 
         return vpPayload;
     }
@@ -247,20 +235,17 @@ public class Bkms20EccPidServer<T> extends AbstractPidParty<T> {
     private void handleVcPayload(List<byte[]> vcPayload) throws MpcAbortException {
         MpcAbortPreconditions.checkArgument(vcPayload.size() == ownElementSetSize);
         // Shuffle back the elements of V_c using π^{−1}_c.
-        ECPoint[] shuffleVc = vcPayload.stream()
-            .map(ecc::decode)
-            .toArray(ECPoint[]::new);
+        ECPoint[] shuffleVc = ecc.decode(vcPayload.toArray(new byte[0][]), parallel);
         ECPoint[] vc = new ECPoint[ownElementSetSize];
         for (int i = 0; i < ownElementSetSize; i++) {
             vc[i] = shuffleVc[reShuffleMap.get(i)];
         }
         reShuffleMap = null;
         // For every v_c^i ∈ V_c, let w_c^i = (v_c^i)^{r_c} and M_c[(v_c^i)^{r_c}] = c_i
-        Stream<ECPoint> vcStream = Arrays.stream(vc);
-        vcStream = parallel ? vcStream.parallel() : vcStream;
-        ByteBuffer[] wc = vcStream
-            .map(vci -> ecc.multiply(vci, rc))
-            .map(wci -> ecc.encode(wci, false))
+        byte[][] wcEncodes = ecc.encode(ecc.multiply(vc, rc, parallel), false, parallel);
+        Stream<byte[]> wcEncodeStream = Arrays.stream(wcEncodes);
+        wcEncodeStream = parallel ? wcEncodeStream.parallel() : wcEncodeStream;
+        ByteBuffer[] wc = wcEncodeStream
             .map(pidMap::digestToBytes)
             .map(ByteBuffer::wrap)
             .toArray(ByteBuffer[]::new);
@@ -271,17 +256,15 @@ public class Bkms20EccPidServer<T> extends AbstractPidParty<T> {
     }
 
     private List<byte[]> handleEcPayload(List<byte[]> ecPayload) {
-        ecSet = ecPayload.stream()
-            .map(ecc::decode)
-            .collect(Collectors.toSet());
+        ecSet = new HashSet<>(Arrays.asList(ecc.decode(ecPayload.toArray(new byte[0][]), parallel)));
         // Let S_p = E_p \ E_c and S_c = E_c \ E_p
         scSet = ecSet.stream()
             .filter(eci -> !epSet.contains(eci))
             .collect(Collectors.toSet());
-        List<byte[]> spPayload = epSet.stream()
+        ECPoint[] sp = epSet.stream()
             .filter(epi -> !ecSet.contains(epi))
-            .map(spi -> ecc.encode(spi, compressEncode))
-            .collect(Collectors.toList());
+            .toArray(ECPoint[]::new);
+        List<byte[]> spPayload = Arrays.asList(ecc.encode(sp, compressEncode, parallel));
         // 记录S_p的集合大小
         spSize = spPayload.size();
         epSet = null;
@@ -290,23 +273,18 @@ public class Bkms20EccPidServer<T> extends AbstractPidParty<T> {
 
     private List<byte[]> generateScpPayload() {
         // For each s_c^i ∈ S_c, s_c^i' = (s_c^i)^{r_c}
-        Stream<ECPoint> scStream = scSet.stream();
-        scStream = parallel ? scStream.parallel() : scStream;
-        return scStream
-            .map(sci -> ecc.multiply(sci, rc))
-            .map(scpi -> ecc.encode(scpi, compressEncode))
-            .collect(Collectors.toList());
+        ECPoint[] scp = ecc.multiply(scSet.toArray(new ECPoint[0]), rc, parallel);
+        return Arrays.asList(ecc.encode(scp, compressEncode, parallel));
     }
 
     private void handleSppPayload(List<byte[]> sppPayload) throws MpcAbortException {
         MpcAbortPreconditions.checkArgument(sppPayload.size() == spSize);
         // For every s_p^i ∈ S_p', let s_p^i'' = s_p^i^{r_c} and M_c[(s_p^i)^{r_c}] = ⊥
-        Stream<byte[]> sppStream = sppPayload.stream();
-        sppStream = parallel ? sppStream.parallel() : sppStream;
-        List<ByteBuffer> dp = sppStream
-            .map(ecc::decode)
-            .map(sppi -> ecc.multiply(sppi, rc))
-            .map(wpi -> ecc.encode(wpi, false))
+        ECPoint[] spp = ecc.decode(sppPayload.toArray(new byte[0][]), parallel);
+        byte[][] wpEncodes = ecc.encode(ecc.multiply(spp, rc, parallel), false, parallel);
+        Stream<byte[]> wpEncodeStream = Arrays.stream(wpEncodes);
+        wpEncodeStream = parallel ? wpEncodeStream.parallel() : wpEncodeStream;
+        List<ByteBuffer> dp = wpEncodeStream
             .map(pidMap::digestToBytes)
             .map(ByteBuffer::wrap)
             .collect(Collectors.toList());
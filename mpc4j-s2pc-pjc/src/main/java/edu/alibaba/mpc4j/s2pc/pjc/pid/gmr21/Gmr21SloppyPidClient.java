@@ -8,6 +8,8 @@ import edu.alibaba.mpc4j.common.tool.crypto.hash.Hash;
 import edu.alibaba.mpc4j.common.tool.crypto.hash.HashFactory;
 import edu.alibaba.mpc4j.common.tool.crypto.prf.Prf;
 import edu.alibaba.mpc4j.common.tool.crypto.prf.PrfFactory;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasher;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasherFactory;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.HashBinEntry;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBin;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBinFactory;
@@ -94,7 +96,7 @@ public class Gmr21SloppyPidClient<T> extends AbstractPidParty<T> {
     /**
      * 服务端布谷鸟哈希
      */
-    private Prf[] serverCuckooHashes;
+    private MultiIndexHasher serverBinHasher;
     /**
      * (k_1^B, ..., k_n^B)
      */
@@ -275,14 +277,10 @@ public class Gmr21SloppyPidClient<T> extends AbstractPidParty<T> {
     private void handleServerCuckooHashKeyPayload(List<byte[]> serverCuckooHashKeyPayload) throws MpcAbortException {
         MpcAbortPreconditions.checkArgument(serverCuckooHashKeyPayload.size() == cuckooHashNum);
         serverBinNum = CuckooHashBinFactory.getBinNum(cuckooHashBinType, otherElementSetSize);
-        serverCuckooHashes = IntStream.range(0, cuckooHashNum)
-            .mapToObj(hashIndex -> {
-                byte[] key = serverCuckooHashKeyPayload.remove(0);
-                Prf hash = PrfFactory.createInstance(envType, Integer.BYTES);
-                hash.setKey(key);
-                return hash;
-            })
-            .toArray(Prf[]::new);
+        byte[][] keys = IntStream.range(0, cuckooHashNum)
+            .mapToObj(hashIndex -> serverCuckooHashKeyPayload.remove(0))
+            .toArray(byte[][]::new);
+        serverBinHasher = MultiIndexHasherFactory.createInstance(envType, MultiIndexHasherFactory.DEFAULT_TYPE, keys);
     }
 
     private List<byte[]> generateClientOkvsPayload() {
@@ -328,7 +326,7 @@ public class Gmr21SloppyPidClient<T> extends AbstractPidParty<T> {
                         byte[] elementBytes = clientElementByteBuffers[index].array();
                         byte[] extendElementBytes = clientExtendElementByteBuffers[hashIndex][index].array();
                         byte[] pid0 = clientPidPrf.getBytes(elementBytes);
-                        int serverBinIndex = serverCuckooHashes[hashIndex].getInteger(elementBytes, serverBinNum);
+                        int serverBinIndex = serverBinHasher.getIndex(hashIndex, elementBytes, serverBinNum);
                         byte[] pid1 = pidMap.digestToBytes(kbOprfKey.getPrf(serverBinIndex, extendElementBytes));
                         BytesUtils.xori(pid0, pid1);
                         return pid0;
@@ -8,6 +8,8 @@ import edu.alibaba.mpc4j.common.tool.crypto.hash.Hash;
 import edu.alibaba.mpc4j.common.tool.crypto.hash.HashFactory;
 import edu.alibaba.mpc4j.common.tool.crypto.prf.Prf;
 import edu.alibaba.mpc4j.common.tool.crypto.prf.PrfFactory;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasher;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasherFactory;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.HashBinEntry;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBin;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBinFactory;
@@ -106,7 +108,7 @@ public class Gmr21SloppyPidServer<T> extends AbstractPidParty<T> {
     /**
      * 客户端布谷鸟哈希
      */
-    private Prf[] clientCuckooHashes;
+    private MultiIndexHasher clientBinHasher;
     /**
      * (k_1^A, ..., k_m^A)
      */
@@ -330,14 +332,10 @@ public class Gmr21SloppyPidServer<T> extends AbstractPidParty<T> {
     private void handleClientCuckooHashKeyPayload(List<byte[]> clientCuckooHashKeyPayload) throws MpcAbortException {
         MpcAbortPreconditions.checkArgument(clientCuckooHashKeyPayload.size() == cuckooHashNum);
         clientBinNum = CuckooHashBinFactory.getBinNum(cuckooHashBinType, otherElementSetSize);
-        clientCuckooHashes = IntStream.range(0, cuckooHashNum)
-            .mapToObj(hashIndex -> {
-                byte[] key = clientCuckooHashKeyPayload.remove(0);
-                Prf hash = PrfFactory.createInstance(envType, Integer.BYTES);
-                hash.setKey(key);
-                return hash;
-            })
-            .toArray(Prf[]::new);
+        byte[][] keys = IntStream.range(0, cuckooHashNum)
+            .mapToObj(hashIndex -> clientCuckooHashKeyPayload.remove(0))
+            .toArray(byte[][]::new);
+        clientBinHasher = MultiIndexHasherFactory.createInstance(envType, MultiIndexHasherFactory.DEFAULT_TYPE, keys);
     }
 
     private List<byte[]> generateServerOkvsPayload() {
@@ -383,7 +381,7 @@ public class Gmr21SloppyPidServer<T> extends AbstractPidParty<T> {
                         byte[] elementBytes = serverElementByteBuffers[index].array();
                         byte[] extendElementBytes = serverExtendElementByteBuffers[hashIndex][index].array();
                         byte[] pid0 = serverPidPrf.getBytes(elementBytes);
-                        int clientBinIndex = clientCuckooHashes[hashIndex].getInteger(elementBytes, clientBinNum);
+                        int clientBinIndex = clientBinHasher.getIndex(hashIndex, elementBytes, clientBinNum);
                         byte[] pid1 = pidMap.digestToBytes(kaOprfKey.getPrf(clientBinIndex, extendElementBytes));
                         BytesUtils.xori(pid0, pid1);
                         return pid0;
@@ -8,6 +8,8 @@ import edu.alibaba.mpc4j.common.tool.crypto.hash.Hash;
 import edu.alibaba.mpc4j.common.tool.crypto.hash.HashFactory;
 import edu.alibaba.mpc4j.common.tool.crypto.prf.Prf;
 import edu.alibaba.mpc4j.common.tool.crypto.prf.PrfFactory;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasher;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasherFactory;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.HashBinEntry;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBin;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBinFactory;
@@ -124,7 +126,7 @@ public class Zcl22SloppyPmidClient<T> extends AbstractPmidClient<T> {
     /**
      * 服务端布谷鸟哈希
      */
-    private Prf[] serverCuckooHashes;
+    private MultiIndexHasher serverBinHasher;
     /**
      * (k_1^B, ..., k_m^B)
      */
@@ -347,14 +349,10 @@ public class Zcl22SloppyPmidClient<T> extends AbstractPmidClient<T> {
         List<byte[]> serverCuckooHashKeyPayload = rpc.receive(serverCuckooHashKeyHeader).getPayload();
         MpcAbortPreconditions.checkArgument(serverCuckooHashKeyPayload.size() == cuckooHashNum);
         serverBinNum = CuckooHashBinFactory.getBinNum(cuckooHashBinType, serverSetSize);
-        serverCuckooHashes = IntStream.range(0, cuckooHashNum)
-            .mapToObj(hashIndex -> {
-                byte[] key = serverCuckooHashKeyPayload.remove(0);
-                Prf hash = PrfFactory.createInstance(envType, Integer.BYTES);
-                hash.setKey(key);
-                return hash;
-            })
-            .toArray(Prf[]::new);
+        byte[][] keys = IntStream.range(0, cuckooHashNum)
+            .mapToObj(hashIndex -> serverCuckooHashKeyPayload.remove(0))
+            .toArray(byte[][]::new);
+        serverBinHasher = MultiIndexHasherFactory.createInstance(envType, MultiIndexHasherFactory.DEFAULT_TYPE, keys);
     }
 
     private List<byte[]> generateClientCuckooHashKeyPayload() {
@@ -442,7 +440,7 @@ public class Zcl22SloppyPmidClient<T> extends AbstractPmidClient<T> {
                         byte[] elementBytes = clientElementByteBuffers[index].array();
                         byte[] extendElementBytes = clientExtendElementByteBuffers[hashIndex][index].array();
                         byte[] pid0 = clientPidPrf.getBytes(elementBytes);
-                        int serverBinIndex = serverCuckooHashes[hashIndex].getInteger(elementBytes, serverBinNum);
+                        int serverBinIndex = serverBinHasher.getIndex(hashIndex, elementBytes, serverBinNum);
                         byte[] pid1 = pidMap.digestToBytes(kbOprfKey.getPrf(serverBinIndex, extendElementBytes));
                         BytesUtils.xori(pid0, pid1);
                         return pid0;
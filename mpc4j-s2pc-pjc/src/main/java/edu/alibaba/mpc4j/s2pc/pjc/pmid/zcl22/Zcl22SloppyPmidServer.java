@@ -8,6 +8,8 @@ import edu.alibaba.mpc4j.common.tool.crypto.hash.Hash;
 import edu.alibaba.mpc4j.common.tool.crypto.hash.HashFactory;
 import edu.alibaba.mpc4j.common.tool.crypto.prf.Prf;
 import edu.alibaba.mpc4j.common.tool.crypto.prf.PrfFactory;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasher;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasherFactory;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.HashBinEntry;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBin;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBinFactory;
@@ -136,7 +138,7 @@ public class Zcl22SloppyPmidServer<T> extends AbstractPmidServer<T> {
     /**
      * 客户端布谷鸟哈希
      */
-    private Prf[] clientCuckooHashes;
+    private MultiIndexHasher clientBinHasher;
     /**
      * (k_1^A, ..., k_m^A)
      */
@@ -347,14 +349,10 @@ public class Zcl22SloppyPmidServer<T> extends AbstractPmidServer<T> {
         List<byte[]> clientCuckooHashKeyPayload = rpc.receive(clientCuckooHashKeyHeader).getPayload();
         MpcAbortPreconditions.checkArgument(clientCuckooHashKeyPayload.size() == cuckooHashNum);
         clientBinNum = CuckooHashBinFactory.getBinNum(cuckooHashBinType, clientSetSize);
-        clientCuckooHashes = IntStream.range(0, cuckooHashNum)
-            .mapToObj(hashIndex -> {
-                byte[] key = clientCuckooHashKeyPayload.remove(0);
-                Prf hash = PrfFactory.createInstance(envType, Integer.BYTES);
-                hash.setKey(key);
-                return hash;
-            })
-            .toArray(Prf[]::new);
+        byte[][] keys = IntStream.range(0, cuckooHashNum)
+            .mapToObj(hashIndex -> clientCuckooHashKeyPayload.remove(0))
+            .toArray(byte[][]::new);
+        clientBinHasher = MultiIndexHasherFactory.createInstance(envType, MultiIndexHasherFactory.DEFAULT_TYPE, keys);
     }
 
     private List<byte[]> generateServerCuckooHashKeyPayload() {
@@ -442,7 +440,7 @@ public class Zcl22SloppyPmidServer<T> extends AbstractPmidServer<T> {
                         byte[] elementBytes = serverElementByteBuffers[index].array();
                         byte[] extendElementBytes = serverExtendElementByteBuffers[hashIndex][index].array();
                         byte[] pid0 = serverPidPrf.getBytes(elementBytes);
-                        int clientBinIndex = clientCuckooHashes[hashIndex].getInteger(elementBytes, clientBinNum);
+                        int clientBinIndex = clientBinHasher.getIndex(hashIndex, elementBytes, clientBinNum);
                         byte[] pid1 = pidMap.digestToBytes(kaOprfKey.getPrf(clientBinIndex, extendElementBytes));
                         BytesUtils.xori(pid0, pid1);
                         return pid0;
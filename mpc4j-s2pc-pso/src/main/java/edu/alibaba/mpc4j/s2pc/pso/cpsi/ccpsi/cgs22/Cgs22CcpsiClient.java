@@ -8,7 +8,7 @@ import edu.alibaba.mpc4j.common.rpc.utils.DataPacket;
 import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
 import edu.alibaba.mpc4j.common.tool.CommonConstants;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.HashBinEntry;
-import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBin;
+import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.BytesCuckooHashBinAdapter;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBinFactory;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBinFactory.CuckooHashBinType;
 import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
@@ -63,7 +63,7 @@ public class Cgs22CcpsiClient<T> extends AbstractCcpsiClient<T> {
     /**
      * cuckoo hash bin
      */
-    private CuckooHashBin<T> cuckooHashBin;
+    private BytesCuckooHashBinAdapter<T> cuckooHashBin;
 
     public Cgs22CcpsiClient(Rpc serverRpc, Party clientParty, Cgs22CcpsiConfig config) {
         super(Cgs22CcpsiPtoDesc.getInstance(), serverRpc, clientParty, config);
@@ -132,11 +132,10 @@ public class Cgs22CcpsiClient<T> extends AbstractCcpsiClient<T> {
         // P2 inputs Table_1[1], . . . , Table_1[β] and receives y_1^*, ..., y_β^*
         byte[][] inputArray = IntStream.range(0, beta)
             .mapToObj(batchIndex -> {
-                HashBinEntry<T> item = cuckooHashBin.getHashBinEntry(batchIndex);
-                byte[] itemBytes = cuckooHashBin.getHashBinEntry(batchIndex).getItemByteArray();
+                byte[] itemBytes = cuckooHashBin.getItemByteArray(batchIndex);
                 return ByteBuffer.allocate(itemBytes.length + Integer.BYTES)
                     .put(itemBytes)
-                    .putInt(item.getHashIndex())
+                    .putInt(cuckooHashBin.getHashIndex(batchIndex))
                     .array();
             })
             .toArray(byte[][]::new);
@@ -164,11 +163,10 @@ public class Cgs22CcpsiClient<T> extends AbstractCcpsiClient<T> {
         // create the table
         ArrayList<T> table = IntStream.range(0, beta)
             .mapToObj(batchIndex -> {
-                HashBinEntry<T> item = cuckooHashBin.getHashBinEntry(batchIndex);
-                if (item.getHashIndex() == HashBinEntry.DUMMY_ITEM_HASH_INDEX) {
+                if (cuckooHashBin.getHashIndex(batchIndex) == HashBinEntry.DUMMY_ITEM_HASH_INDEX) {
                     return null;
                 } else {
-                    return item.getItem();
+                    return cuckooHashBin.getItem(batchIndex);
                 }
             })
             .collect(Collectors.toCollection(ArrayList::new));
@@ -184,8 +182,8 @@ public class Cgs22CcpsiClient<T> extends AbstractCcpsiClient<T> {
     }
 
     private List<byte[]> generateCuckooHashKeyPayload() {
-        cuckooHashBin = CuckooHashBinFactory.createEnforceNoStashCuckooHashBin(
-            envType, cuckooHashBinType, clientElementSize, clientElementArrayList, secureRandom
+        cuckooHashBin = CuckooHashBinFactory.createEnforceNoStashBytesCuckooHashBin(
+            envType, cuckooHashBinType, clientElementSize, clientElementArrayList, secureRandom, parallel
         );
         // pad random elements into the cuckoo hash
         cuckooHashBin.insertPaddingItems(secureRandom);
@@ -8,7 +8,7 @@ import edu.alibaba.mpc4j.common.rpc.utils.DataPacket;
 import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
 import edu.alibaba.mpc4j.common.tool.CommonConstants;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.HashBinEntry;
-import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBin;
+import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.BytesCuckooHashBinAdapter;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBinFactory;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBinFactory.CuckooHashBinType;
 import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
@@ -58,7 +58,7 @@ public class Psty19ScpsiServer<T> extends AbstractScpsiServer<T> {
     /**
      * cuckoo hash bin
      */
-    private CuckooHashBin<T> cuckooHashBin;
+    private BytesCuckooHashBinAdapter<T> cuckooHashBin;
 
     public Psty19ScpsiServer(Rpc serverRpc, Party clientParty, Psty19ScpsiConfig config) {
         super(Psty19ScpsiPtoDesc.getInstance(), serverRpc, clientParty, config);
@@ -125,11 +125,10 @@ public class Psty19ScpsiServer<T> extends AbstractScpsiServer<T> {
         // P1 inputs Table_1[1], . . . , Table_1[β] and receives y_1^*, ..., y_β^*
         byte[][] inputArray = IntStream.range(0, beta)
             .mapToObj(batchIndex -> {
-                HashBinEntry<T> item = cuckooHashBin.getHashBinEntry(batchIndex);
-                byte[] itemBytes = cuckooHashBin.getHashBinEntry(batchIndex).getItemByteArray();
+                byte[] itemBytes = cuckooHashBin.getItemByteArray(batchIndex);
                 return ByteBuffer.allocate(itemBytes.length + Integer.BYTES)
                     .put(itemBytes)
-                    .putInt(item.getHashIndex())
+                    .putInt(cuckooHashBin.getHashIndex(batchIndex))
                     .array();
             })
             .toArray(byte[][]::new);
@@ -154,11 +153,10 @@ public class Psty19ScpsiServer<T> extends AbstractScpsiServer<T> {
         // create the table
         ArrayList<T> table = IntStream.range(0, beta)
             .mapToObj(batchIndex -> {
-                HashBinEntry<T> item = cuckooHashBin.getHashBinEntry(batchIndex);
-                if (item.getHashIndex() == HashBinEntry.DUMMY_ITEM_HASH_INDEX) {
+                if (cuckooHashBin.getHashIndex(batchIndex) == HashBinEntry.DUMMY_ITEM_HASH_INDEX) {
                     return null;
                 } else {
-                    return item.getItem();
+                    return cuckooHashBin.getItem(batchIndex);
                 }
             })
             .collect(Collectors.toCollection(ArrayList::new));
@@ -174,8 +172,8 @@ public class Psty19ScpsiServer<T> extends AbstractScpsiServer<T> {
     }
 
     private List<byte[]> generateCuckooHashKeyPayload() {
-        cuckooHashBin = CuckooHashBinFactory.createEnforceNoStashCuckooHashBin(
-            envType, cuckooHashBinType, serverElementSize, serverElementArrayList, secureRandom
+        cuckooHashBin = CuckooHashBinFactory.createEnforceNoStashBytesCuckooHashBin(
+            envType, cuckooHashBinType, serverElementSize, serverElementArrayList, secureRandom, parallel
         );
         // pad random elements into the cuckoo hash
         cuckooHashBin.insertPaddingItems(secureRandom);
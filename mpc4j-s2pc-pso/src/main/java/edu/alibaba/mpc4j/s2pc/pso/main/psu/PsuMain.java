@@ -5,6 +5,7 @@ import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
 import edu.alibaba.mpc4j.common.rpc.Party;
 import edu.alibaba.mpc4j.common.rpc.Rpc;
 import edu.alibaba.mpc4j.common.rpc.RpcPropertiesUtils;
+import edu.alibaba.mpc4j.common.rpc.impl.emulation.NetworkEmulationRpc;
 import edu.alibaba.mpc4j.common.tool.CommonConstants;
 import edu.alibaba.mpc4j.common.tool.utils.PropertiesUtils;
 import edu.alibaba.mpc4j.s2pc.pso.PsoUtils;
@@ -116,7 +117,9 @@ public class PsuMain {
         // 写入统计结果头文件
         String tab = "Party ID\tServer Set Size\tClient Set Size\tIs Parallel\tThread Num"
             + "\tInit Time(ms)\tInit DataPacket Num\tInit Payload Bytes(B)\tInit Send Bytes(B)"
-            + "\tPto  Time(ms)\tPto  DataPacket Num\tPto  Payload Bytes(B)\tPto  Send Bytes(B)";
+            + "\tPto  Time(ms)\tPto  DataPacket Num\tPto  Payload Bytes(B)\tPto  Send Bytes(B)"
+            + NetworkEmulationRpc.getEmulatedTimeTab(serverRpc, "Init")
+            + NetworkEmulationRpc.getEmulatedTimeTab(serverRpc, "Pto");
         printWriter.println(tab);
         LOGGER.info("{} ready for run", serverRpc.ownParty().getPartyName());
         // 建立连接
@@ -203,6 +206,7 @@ public class PsuMain {
         long initDataPacketNum = psuServer.getRpc().getSendDataPacketNum();
         long initPayloadByteLength = psuServer.getRpc().getPayloadByteLength();
         long initSendByteLength = psuServer.getRpc().getSendByteLength();
+        String initEmulatedTimeInfo = NetworkEmulationRpc.getEmulatedTimeInfo(psuServer.getRpc());
         psuServer.getRpc().synchronize();
         psuServer.getRpc().reset();
         // 执行协议
@@ -215,6 +219,7 @@ public class PsuMain {
         long ptoDataPacketNum = psuServer.getRpc().getSendDataPacketNum();
         long ptoPayloadByteLength = psuServer.getRpc().getPayloadByteLength();
         long ptoSendByteLength = psuServer.getRpc().getSendByteLength();
+        String ptoEmulatedTimeInfo = NetworkEmulationRpc.getEmulatedTimeInfo(psuServer.getRpc());
         // 写入统计结果
         String info = psuServer.ownParty().getPartyId()
             + "\t" + serverSetSize
@@ -222,7 +227,8 @@ public class PsuMain {
             + "\t" + psuServer.getParallel()
             + "\t" + ForkJoinPool.getCommonPoolParallelism()
             + "\t" + initTime + "\t" + initDataPacketNum + "\t" + initPayloadByteLength + "\t" + initSendByteLength
-            + "\t" + ptoTime + "\t" + ptoDataPacketNum + "\t" + ptoPayloadByteLength + "\t" + ptoSendByteLength;
+            + "\t" + ptoTime + "\t" + ptoDataPacketNum + "\t" + ptoPayloadByteLength + "\t" + ptoSendByteLength
+            + initEmulatedTimeInfo + ptoEmulatedTimeInfo;
         printWriter.println(info);
         // 同步
         psuServer.getRpc().synchronize();
@@ -270,7 +276,9 @@ public class PsuMain {
         // 写入统计结果头文件
         String tab = "Party ID\tServer Set Size\tClient Set Size\tIs Parallel\tThread Num"
             + "\tInit Time(ms)\tInit DataPacket Num\tInit Payload Bytes(B)\tInit Send Bytes(B)"
-            + "\tPto  Time(ms)\tPto  DataPacket Num\tPto  Payload Bytes(B)\tPto  Send Bytes(B)";
+            + "\tPto  Time(ms)\tPto  DataPacket Num\tPto  Payload Bytes(B)\tPto  Send Bytes(B)"
+            + NetworkEmulationRpc.getEmulatedTimeTab(clientRpc, "Init")
+            + NetworkEmulationRpc.getEmulatedTimeTab(clientRpc, "Pto");
         printWriter.println(tab);
         LOGGER.info("{} ready for run", clientRpc.ownParty().getPartyName());
         // 建立连接
@@ -360,6 +368,7 @@ public class PsuMain {
         long initDataPacketNum = psuClient.getRpc().getSendDataPacketNum();
         long initPayloadByteLength = psuClient.getRpc().getPayloadByteLength();
         long initSendByteLength = psuClient.getRpc().getSendByteLength();
+        String initEmulatedTimeInfo = NetworkEmulationRpc.getEmulatedTimeInfo(psuClient.getRpc());
         psuClient.getRpc().synchronize();
         psuClient.getRpc().reset();
         // 执行协议
@@ -372,6 +381,7 @@ public class PsuMain {
         long ptoDataPacketNum = psuClient.getRpc().getSendDataPacketNum();
         long ptoPayloadByteLength = psuClient.getRpc().getPayloadByteLength();
         long ptoSendByteLength = psuClient.getRpc().getSendByteLength();
+        String ptoEmulatedTimeInfo = NetworkEmulationRpc.getEmulatedTimeInfo(psuClient.getRpc());
         // 写入统计结果
         String info = psuClient.ownParty().getPartyId()
             + "\t" + clientSetSize
@@ -379,7 +389,8 @@ public class PsuMain {
             + "\t" + psuClient.getParallel()
             + "\t" + ForkJoinPool.getCommonPoolParallelism()
             + "\t" + initTime + "\t" + initDataPacketNum + "\t" + initPayloadByteLength + "\t" + initSendByteLength
-            + "\t" + ptoTime + "\t" + ptoDataPacketNum + "\t" + ptoPayloadByteLength + "\t" + ptoSendByteLength;
+            + "\t" + ptoTime + "\t" + ptoDataPacketNum + "\t" + ptoPayloadByteLength + "\t" + ptoSendByteLength
+            + initEmulatedTimeInfo + ptoEmulatedTimeInfo;
         printWriter.println(info);
         psuClient.getRpc().synchronize();
         psuClient.getRpc().reset();
@@ -1,7 +1,6 @@
 package edu.alibaba.mpc4j.s2pc.pso.psi.hfh99;
 
 import edu.alibaba.mpc4j.common.rpc.*;
-import edu.alibaba.mpc4j.common.rpc.utils.DataPacket;
 import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
 import edu.alibaba.mpc4j.common.tool.crypto.ecc.ByteEccFactory;
 import edu.alibaba.mpc4j.common.tool.crypto.ecc.ByteMulEcc;
@@ -13,9 +12,10 @@ import edu.alibaba.mpc4j.s2pc.pso.psi.hfh99.Hfh99ByteEccPsiPtoDesc.PtoStep;
 import edu.alibaba.mpc4j.s2pc.pso.psi.PsiUtils;
 
 import java.nio.ByteBuffer;
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -71,13 +71,13 @@ public class Hfh99ByteEccPsiClient<T> extends AbstractPsiClient<T> {
         stopWatch.start();
         int peqtByteLength = PsiUtils.getSemiHonestPeqtByteLength(serverElementSize, clientElementSize);
         peqtHash = HashFactory.createInstance(envType, peqtByteLength);
-        // 客户端计算并发送H(y)^β
-        List<byte[]> hyBetaPayload = generateHyBetaPayload();
+        // 客户端分块计算并流式发送H(y)^β
+        Iterator<List<byte[]>> hyBetaChunkIterator = generateHyBetaChunkIterator();
         DataPacketHeader hyBetaHeader = new DataPacketHeader(
             encodeTaskId, getPtoDesc().getPtoId(), PtoStep.CLIENT_SEND_HY_BETA.ordinal(), extraInfo,
             ownParty().getPartyId(), otherParty().getPartyId()
         );
-        rpc.send(DataPacket.fromByteArrayList(hyBetaHeader, hyBetaPayload));
+        rpc.sendStream(hyBetaHeader, hyBetaChunkIterator);
         stopWatch.stop();
         long hyBetaTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
@@ -88,18 +88,18 @@ public class Hfh99ByteEccPsiClient<T> extends AbstractPsiClient<T> {
             encodeTaskId, getPtoDesc().getPtoId(), PtoStep.SERVER_SEND_HX_ALPHA.ordinal(), extraInfo,
             otherParty().getPartyId(), ownParty().getPartyId()
         );
-        List<byte[]> hxAlphaPayload = rpc.receive(hxAlphaHeader).getPayload();
+        Iterator<List<byte[]>> hxAlphaChunkIterator = rpc.receiveStream(hxAlphaHeader);
 
         stopWatch.start();
-        // 客户端计算H(H(x)^αβ)
-        Set<ByteBuffer> peqtSet = handleHxAlphaPayload(hxAlphaPayload);
+        // 客户端每收到一个H(x)^α块，就计算对应的H(H(x)^αβ)
+        Set<ByteBuffer> peqtSet = handleHxAlphaChunks(hxAlphaChunkIterator);
         // 客户端接收H(H(y)^βα)
         DataPacketHeader peqtHeader = new DataPacketHeader(
             encodeTaskId, getPtoDesc().getPtoId(), PtoStep.CLIENT_SEND_HY_BETA_ALPHA.ordinal(), extraInfo,
             otherParty().getPartyId(), ownParty().getPartyId()
         );
-        List<byte[]> peqtPayload = rpc.receive(peqtHeader).getPayload();
-        Set<T> intersection = handlePeqtPayload(peqtPayload, peqtSet);
+        Iterator<List<byte[]>> peqtChunkIterator = rpc.receiveStream(peqtHeader);
+        Set<T> intersection = handlePeqtChunks(peqtChunkIterator, peqtSet);
         stopWatch.stop();
         long peqtTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
@@ -109,41 +109,56 @@ public class Hfh99ByteEccPsiClient<T> extends AbstractPsiClient<T> {
         return intersection;
     }
 
-    private List<byte[]> generateHyBetaPayload() {
-        Stream<T> clientElementStream = clientElementArrayList.stream();
-        clientElementStream = parallel ? clientElementStream.parallel() : clientElementStream;
-        return clientElementStream
-            .map(ObjectUtils::objectToByteArray)
-            .map(byteMulEcc::hashToCurve)
-            .map(p -> byteMulEcc.mul(p, beta))
-            .collect(Collectors.toList());
+    private Iterator<List<byte[]>> generateHyBetaChunkIterator() {
+        int chunkNum = (clientElementSize + Hfh99ByteEccPsiPtoDesc.CHUNK_SIZE - 1) / Hfh99ByteEccPsiPtoDesc.CHUNK_SIZE;
+        return IntStream.range(0, chunkNum)
+            .mapToObj(chunkIndex -> {
+                int fromIndex = chunkIndex * Hfh99ByteEccPsiPtoDesc.CHUNK_SIZE;
+                int toIndex = Math.min(fromIndex + Hfh99ByteEccPsiPtoDesc.CHUNK_SIZE, clientElementSize);
+                byte[][] clientElementByteArrays = clientElementArrayList.subList(fromIndex, toIndex).stream()
+                    .map(ObjectUtils::objectToByteArray)
+                    .toArray(byte[][]::new);
+                byte[][] hys = byteMulEcc.hashToCurve(clientElementByteArrays, parallel);
+                return Arrays.asList(byteMulEcc.mul(hys, beta, parallel));
+            })
+            .iterator();
     }
 
-    private Set<ByteBuffer> handleHxAlphaPayload(List<byte[]> hxAlphaPayload) throws MpcAbortException {
-        MpcAbortPreconditions.checkArgument(hxAlphaPayload.size() == serverElementSize);
-        Stream<byte[]> hxAlphaStream = hxAlphaPayload.stream();
-        hxAlphaStream = parallel ? hxAlphaStream.parallel() : hxAlphaStream;
-        return hxAlphaStream
-            .map(p -> byteMulEcc.mul(p, beta))
-            .map(p -> peqtHash.digestToBytes(p))
-            .map(ByteBuffer::wrap)
-            .collect(Collectors.toSet());
+    private Set<ByteBuffer> handleHxAlphaChunks(Iterator<List<byte[]>> hxAlphaChunkIterator) throws MpcAbortException {
+        Set<ByteBuffer> peqtSet = new HashSet<>(serverElementSize);
+        int hxAlphaNum = 0;
+        while (hxAlphaChunkIterator.hasNext()) {
+            List<byte[]> hxAlphaChunk = hxAlphaChunkIterator.next();
+            hxAlphaNum += hxAlphaChunk.size();
+            MpcAbortPreconditions.checkArgument(hxAlphaNum <= serverElementSize);
+            byte[][] hxAlphaBetas = byteMulEcc.mul(hxAlphaChunk.toArray(new byte[0][]), beta, parallel);
+            Stream<byte[]> hxAlphaBetaStream = Arrays.stream(hxAlphaBetas);
+            hxAlphaBetaStream = parallel ? hxAlphaBetaStream.parallel() : hxAlphaBetaStream;
+            hxAlphaBetaStream
+                .map(p -> peqtHash.digestToBytes(p))
+                .map(ByteBuffer::wrap)
+                .collect(Collectors.toList())
+                .forEach(peqtSet::add);
+        }
+        MpcAbortPreconditions.checkArgument(hxAlphaNum == serverElementSize);
+        return peqtSet;
     }
 
-    private Set<T> handlePeqtPayload(List<byte[]> peqtPayload, Set<ByteBuffer> peqtSet) throws MpcAbortException {
-        MpcAbortPreconditions.checkArgument(peqtPayload.size() == clientElementSize);
-        ArrayList<ByteBuffer> peqtArrayList = peqtPayload.stream()
-            .map(ByteBuffer::wrap)
-            .collect(Collectors.toCollection(ArrayList::new));
-        return IntStream.range(0, clientElementSize)
-            .mapToObj(index -> {
-                if (peqtSet.contains(peqtArrayList.get(index))) {
-                    return clientElementArrayList.get(index);
-                } else {
-                    return null;
-                }
-            })
-            .filter(Objects::nonNull)
-            .collect(Collectors.toSet());
+    private Set<T> handlePeqtChunks(Iterator<List<byte[]>> peqtChunkIterator, Set<ByteBuffer> peqtSet)
+        throws MpcAbortException {
+        Set<T> intersection = new HashSet<>();
+        int peqtNum = 0;
+        while (peqtChunkIterator.hasNext()) {
+            List<byte[]> peqtChunk = peqtChunkIterator.next();
+            MpcAbortPreconditions.checkArgument(peqtNum + peqtChunk.size() <= clientElementSize);
+            final int fromIndex = peqtNum;
+            IntStream.range(0, peqtChunk.size())
+                .filter(index -> peqtSet.contains(ByteBuffer.wrap(peqtChunk.get(index))))
+                .mapToObj(index -> clientElementArrayList.get(fromIndex + index))
+                .forEach(intersection::add);
+            peqtNum += peqtChunk.size();
+        }
+        MpcAbortPreconditions.checkArgument(peqtNum == clientElementSize);
+        return intersection;
     }
 }
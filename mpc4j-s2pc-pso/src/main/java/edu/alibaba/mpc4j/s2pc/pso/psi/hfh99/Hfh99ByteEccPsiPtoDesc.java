@@ -45,6 +45,11 @@ class Hfh99ByteEccPsiPtoDesc implements PtoDesc {
         CLIENT_SEND_HY_BETA_ALPHA,
     }
 
+    /**
+     * 流式发送时每个块包含的元素数量
+     */
+    static final int CHUNK_SIZE = 1 << 10;
+
     /**
      * 单例模式
      */
@@ -1,7 +1,6 @@
 package edu.alibaba.mpc4j.s2pc.pso.psi.hfh99;
 
 import edu.alibaba.mpc4j.common.rpc.*;
-import edu.alibaba.mpc4j.common.rpc.utils.DataPacket;
 import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
 import edu.alibaba.mpc4j.common.tool.crypto.ecc.ByteEccFactory;
 import edu.alibaba.mpc4j.common.tool.crypto.ecc.ByteMulEcc;
@@ -12,10 +11,14 @@ import edu.alibaba.mpc4j.s2pc.pso.psi.AbstractPsiServer;
 import edu.alibaba.mpc4j.s2pc.pso.psi.hfh99.Hfh99ByteEccPsiPtoDesc.PtoStep;
 import edu.alibaba.mpc4j.s2pc.pso.psi.PsiUtils;
 
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 /**
@@ -67,13 +70,13 @@ public class Hfh99ByteEccPsiServer<T> extends AbstractPsiServer<T> {
         stopWatch.start();
         int peqtByteLength = PsiUtils.getSemiHonestPeqtByteLength(serverElementSize, clientElementSize);
         peqtHash = HashFactory.createInstance(envType, peqtByteLength);
-        // 服务端计算并发送H(x)^α
-        List<byte[]> hxAlphaPayload = generateHxAlphaPayload();
+        // 服务端分块计算并流式发送H(x)^α，客户端可以在收到每个块后立即处理
+        Iterator<List<byte[]>> hxAlphaChunkIterator = generateHxAlphaChunkIterator();
         DataPacketHeader hxAlphaHeader = new DataPacketHeader(
             encodeTaskId, getPtoDesc().getPtoId(), PtoStep.SERVER_SEND_HX_ALPHA.ordinal(), extraInfo,
             ownParty().getPartyId(), otherParty().getPartyId()
         );
-        rpc.send(DataPacket.fromByteArrayList(hxAlphaHeader, hxAlphaPayload));
+        rpc.sendStream(hxAlphaHeader, hxAlphaChunkIterator);
         stopWatch.stop();
         long hxAlphaTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
@@ -84,16 +87,47 @@ public class Hfh99ByteEccPsiServer<T> extends AbstractPsiServer<T> {
             encodeTaskId, getPtoDesc().getPtoId(), PtoStep.CLIENT_SEND_HY_BETA.ordinal(), extraInfo,
             otherParty().getPartyId(), ownParty().getPartyId()
         );
-        List<byte[]> hyBetaPayload = rpc.receive(hyBetaHeader).getPayload();
+        Iterator<List<byte[]>> hyBetaChunkIterator = rpc.receiveStream(hyBetaHeader);
 
         stopWatch.start();
-        // 服务端计算并发送H(y)^βα
-        List<byte[]> peqtPayload = handleHyBetaPayload(hyBetaPayload);
+        // 服务端每收到一个H(y)^β块，就检查块大小和累计数量，再计算并流式发送对应的H(H(y)^βα)块。检查失败时停止发送
+        int[] hyBetaNum = new int[1];
+        boolean[] validHyBeta = new boolean[] {true};
+        Iterator<List<byte[]>> peqtChunkIterator = new Iterator<List<byte[]>>() {
+            /**
+             * 已接收并通过检查、但尚未处理的H(y)^β块
+             */
+            private List<byte[]> hyBetaChunk = null;
+
+            @Override
+            public boolean hasNext() {
+                if (hyBetaChunk == null && validHyBeta[0] && hyBetaChunkIterator.hasNext()) {
+                    List<byte[]> receivedHyBetaChunk = hyBetaChunkIterator.next();
+                    hyBetaNum[0] += receivedHyBetaChunk.size();
+                    validHyBeta[0] = receivedHyBetaChunk.size() <= Hfh99ByteEccPsiPtoDesc.CHUNK_SIZE
+                        && hyBetaNum[0] <= clientElementSize;
+                    hyBetaChunk = validHyBeta[0] ? receivedHyBetaChunk : null;
+                }
+                return hyBetaChunk != null;
+            }
+
+            @Override
+            public List<byte[]> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                List<byte[]> peqtChunk = handleHyBetaChunk(hyBetaChunk);
+                hyBetaChunk = null;
+                return peqtChunk;
+            }
+        };
         DataPacketHeader peqtHeader = new DataPacketHeader(
             encodeTaskId, getPtoDesc().getPtoId(), PtoStep.CLIENT_SEND_HY_BETA_ALPHA.ordinal(), extraInfo,
             ownParty().getPartyId(), otherParty().getPartyId()
         );
-        rpc.send(DataPacket.fromByteArrayList(peqtHeader, peqtPayload));
+        rpc.sendStream(peqtHeader, peqtChunkIterator);
+        MpcAbortPreconditions.checkArgument(validHyBeta[0]);
+        MpcAbortPreconditions.checkArgument(hyBetaNum[0] == clientElementSize);
         stopWatch.stop();
         long peqtTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
@@ -102,22 +136,26 @@ public class Hfh99ByteEccPsiServer<T> extends AbstractPsiServer<T> {
         logPhaseInfo(PtoState.PTO_END);
     }
 
-    private List<byte[]> generateHxAlphaPayload() {
-        Stream<T> serverElementStream = serverElementArrayList.stream();
-        serverElementStream = parallel ? serverElementStream.parallel() : serverElementStream;
-        return serverElementStream
-            .map(ObjectUtils::objectToByteArray)
-            .map(byteMulEcc::hashToCurve)
-            .map(p -> byteMulEcc.mul(p, alpha))
-            .collect(Collectors.toList());
+    private Iterator<List<byte[]>> generateHxAlphaChunkIterator() {
+        int chunkNum = (serverElementSize + Hfh99ByteEccPsiPtoDesc.CHUNK_SIZE - 1) / Hfh99ByteEccPsiPtoDesc.CHUNK_SIZE;
+        return IntStream.range(0, chunkNum)
+            .mapToObj(chunkIndex -> {
+                int fromIndex = chunkIndex * Hfh99ByteEccPsiPtoDesc.CHUNK_SIZE;
+                int toIndex = Math.min(fromIndex + Hfh99ByteEccPsiPtoDesc.CHUNK_SIZE, serverElementSize);
+                byte[][] serverElementByteArrays = serverElementArrayList.subList(fromIndex, toIndex).stream()
+                    .map(ObjectUtils::objectToByteArray)
+                    .toArray(byte[][]::new);
+                byte[][] hxs = byteMulEcc.hashToCurve(serverElementByteArrays, parallel);
+                return Arrays.asList(byteMulEcc.mul(hxs, alpha, parallel));
+            })
+            .iterator();
     }
 
-    private List<byte[]> handleHyBetaPayload(List<byte[]> hyBetaPayload) throws MpcAbortException {
-        MpcAbortPreconditions.checkArgument(hyBetaPayload.size() == clientElementSize);
-        Stream<byte[]> hyBetaStream = hyBetaPayload.stream();
-        hyBetaStream = parallel ? hyBetaStream.parallel() : hyBetaStream;
-        return hyBetaStream
-            .map(p -> byteMulEcc.mul(p, alpha))
+    private List<byte[]> handleHyBetaChunk(List<byte[]> hyBetaChunk) {
+        byte[][] hyBetaAlphas = byteMulEcc.mul(hyBetaChunk.toArray(new byte[0][]), alpha, parallel);
+        Stream<byte[]> hyBetaAlphaStream = Arrays.stream(hyBetaAlphas);
+        hyBetaAlphaStream = parallel ? hyBetaAlphaStream.parallel() : hyBetaAlphaStream;
+        return hyBetaAlphaStream
             .map(p -> peqtHash.digestToBytes(p))
             .collect(Collectors.toList());
     }
@@ -11,7 +11,7 @@ import edu.alibaba.mpc4j.common.tool.crypto.hash.HashFactory;
 import edu.alibaba.mpc4j.common.tool.filter.Filter;
 import edu.alibaba.mpc4j.common.tool.filter.FilterFactory;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.HashBinEntry;
-import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBin;
+import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.BytesCuckooHashBinAdapter;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBinFactory;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBinFactory.CuckooHashBinType;
 import edu.alibaba.mpc4j.s2pc.opf.oprf.OprfFactory;
@@ -61,7 +61,7 @@ public class Kkrt16PsiClient<T> extends AbstractPsiClient<T> {
     /**
      * 布谷鸟哈希
      */
-    private CuckooHashBin<T> cuckooHashBin;
+    private BytesCuckooHashBinAdapter<T> cuckooHashBin;
     /**
      * 客户端布谷鸟哈希中元素的PRF结果
      */
@@ -175,8 +175,8 @@ public class Kkrt16PsiClient<T> extends AbstractPsiClient<T> {
     }
 
     private List<byte[]> generateCuckooHashKeyPayload() {
-        cuckooHashBin = CuckooHashBinFactory.createCuckooHashBin(
-            envType, cuckooHashBinType, clientElementSize, clientElementArrayList, secureRandom
+        cuckooHashBin = CuckooHashBinFactory.createBytesCuckooHashBin(
+            envType, cuckooHashBinType, clientElementSize, clientElementArrayList, secureRandom, parallel
         );
         cuckooHashBin.insertPaddingItems(secureRandom);
         return Arrays.stream(cuckooHashBin.getHashKeys()).collect(Collectors.toList());
@@ -186,17 +186,15 @@ public class Kkrt16PsiClient<T> extends AbstractPsiClient<T> {
         // 前面是桶中的元素，后面的是贮存区中的元素
         byte[][] extendElementByteArrays = new byte[binNum + stashSize][];
         IntStream.range(0, binNum).forEach(binIndex -> {
-            HashBinEntry<T> hashBinEntry = cuckooHashBin.getHashBinEntry(binIndex);
-            int hashIndex = hashBinEntry.getHashIndex();
-            byte[] elementByteArray = hashBinEntry.getItemByteArray();
+            int hashIndex = cuckooHashBin.getHashIndex(binIndex);
+            byte[] elementByteArray = cuckooHashBin.getItemByteArray(binIndex);
             extendElementByteArrays[binIndex] = ByteBuffer.allocate(elementByteArray.length + Integer.BYTES)
                 .put(elementByteArray)
                 .putInt(hashIndex)
                 .array();
         });
-        ArrayList<HashBinEntry<T>> stash = cuckooHashBin.getStash();
         IntStream.range(0, stashSize).forEach(stashIndex ->
-            extendElementByteArrays[binNum + stashIndex] = stash.get(stashIndex).getItemByteArray()
+            extendElementByteArrays[binNum + stashIndex] = cuckooHashBin.getStashItemByteArray(stashIndex)
         );
         return extendElementByteArrays;
     }
@@ -223,13 +221,12 @@ public class Kkrt16PsiClient<T> extends AbstractPsiClient<T> {
         // 遍历布谷鸟哈希中的哈希桶
         Set<T> intersection = IntStream.range(0, binNum)
             .mapToObj(binIndex -> {
-                HashBinEntry<T> hashBinEntry = cuckooHashBin.getHashBinEntry(binIndex);
-                if (hashBinEntry.getHashIndex() == HashBinEntry.DUMMY_ITEM_HASH_INDEX) {
+                int hashIndex = cuckooHashBin.getHashIndex(binIndex);
+                if (hashIndex == HashBinEntry.DUMMY_ITEM_HASH_INDEX) {
                     // 虚拟节点，肯定不在交集中
                     return null;
                 }
-                T element = hashBinEntry.getItem();
-                int hashIndex = hashBinEntry.getHashIndex();
+                T element = cuckooHashBin.getItem(binIndex);
                 byte[] elementPrf = clientOprfArrayList.get(binIndex);
                 return serverBinPrfFilterArrayList.get(hashIndex).mightContain(elementPrf) ? element : null;
             })
@@ -237,15 +234,13 @@ public class Kkrt16PsiClient<T> extends AbstractPsiClient<T> {
             .collect(Collectors.toSet());
         serverBinPrfFilterArrayList = null;
         // 遍历贮存区的元素
-        ArrayList<HashBinEntry<T>> stash = cuckooHashBin.getStash();
         Set<T> stashIntersection = IntStream.range(0, cuckooHashBin.stashSize())
             .mapToObj(stashIndex -> {
-                HashBinEntry<T> hashBinEntry = stash.get(stashIndex);
-                if (hashBinEntry.getHashIndex() == HashBinEntry.DUMMY_ITEM_HASH_INDEX) {
+                if (cuckooHashBin.getStashHashIndex(stashIndex) == HashBinEntry.DUMMY_ITEM_HASH_INDEX) {
                     // 虚拟节点，肯定不在交集中
                     return null;
                 }
-                T element = hashBinEntry.getItem();
+                T element = cuckooHashBin.getStashItem(stashIndex);
                 byte[] elementPrf = clientOprfArrayList.get(binNum + stashIndex);
                 return serverStashPrfFilterArrayList.get(stashIndex).mightContain(elementPrf) ? element : null;
             })
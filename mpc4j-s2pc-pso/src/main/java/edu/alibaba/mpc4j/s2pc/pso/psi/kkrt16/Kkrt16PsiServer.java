@@ -5,11 +5,11 @@ import edu.alibaba.mpc4j.common.rpc.utils.DataPacket;
 import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
 import edu.alibaba.mpc4j.common.tool.crypto.hash.Hash;
 import edu.alibaba.mpc4j.common.tool.crypto.hash.HashFactory;
-import edu.alibaba.mpc4j.common.tool.crypto.prf.Prf;
-import edu.alibaba.mpc4j.common.tool.crypto.prf.PrfFactory;
 import edu.alibaba.mpc4j.common.tool.filter.Filter;
 import edu.alibaba.mpc4j.common.tool.filter.FilterFactory;
 import edu.alibaba.mpc4j.common.tool.filter.FilterFactory.FilterType;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasher;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasherFactory;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBinFactory;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBinFactory.CuckooHashBinType;
 import edu.alibaba.mpc4j.common.tool.utils.ObjectUtils;
@@ -58,7 +58,7 @@ public class Kkrt16PsiServer<T> extends AbstractPsiServer<T> {
     /**
      * 布谷鸟哈希桶所用的哈希函数
      */
-    private Prf[] binHashes;
+    private MultiIndexHasher binHasher;
     /**
      * 布谷鸟哈希桶个数
      */
@@ -158,13 +158,9 @@ public class Kkrt16PsiServer<T> extends AbstractPsiServer<T> {
 
     private void handleCuckooHashKeyPayload(List<byte[]> cuckooHashKeyPayload) throws MpcAbortException {
         MpcAbortPreconditions.checkArgument(cuckooHashKeyPayload.size() == cuckooHashNum);
-        binHashes = cuckooHashKeyPayload.stream()
-            .map(key -> {
-                Prf prf = PrfFactory.createInstance(envType, Integer.BYTES);
-                prf.setKey(key);
-                return prf;
-            })
-            .toArray(Prf[]::new);
+        binHasher = MultiIndexHasherFactory.createInstance(
+            envType, MultiIndexHasherFactory.DEFAULT_TYPE, cuckooHashKeyPayload.toArray(new byte[0][])
+        );
     }
 
     private List<byte[]> generateBinPrfPayload(int hashIndex) {
@@ -173,7 +169,7 @@ public class Kkrt16PsiServer<T> extends AbstractPsiServer<T> {
         List<byte[]> binPrfList = serverElementStream
             .map(element -> {
                 byte[] elementByteArray = ObjectUtils.objectToByteArray(element);
-                int keyIndex = binHashes[hashIndex].getInteger(elementByteArray, binNum);
+                int keyIndex = binHasher.getIndex(hashIndex, elementByteArray, binNum);
                 // OPRF(x || hashIndex)
                 byte[] extendElementByteArray = ByteBuffer.allocate(elementByteArray.length + Integer.BYTES)
                     .put(elementByteArray)
@@ -5,10 +5,10 @@ import edu.alibaba.mpc4j.common.rpc.utils.DataPacket;
 import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
 import edu.alibaba.mpc4j.common.tool.crypto.hash.Hash;
 import edu.alibaba.mpc4j.common.tool.crypto.hash.HashFactory;
-import edu.alibaba.mpc4j.common.tool.crypto.prf.Prf;
-import edu.alibaba.mpc4j.common.tool.crypto.prf.PrfFactory;
 import edu.alibaba.mpc4j.common.tool.crypto.prg.Prg;
 import edu.alibaba.mpc4j.common.tool.crypto.prg.PrgFactory;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasher;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasherFactory;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBinFactory;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBinFactory.CuckooHashBinType;
 import edu.alibaba.mpc4j.crypto.matrix.okve.okvs.Okvs;
@@ -77,7 +77,7 @@ public class Gmr21PsuClient extends AbstractPsuClient {
     /**
      * 布谷鸟哈希
      */
-    private Prf[] binHashes;
+    private MultiIndexHasher binHasher;
     /**
      * 桶数量
      */
@@ -260,14 +260,10 @@ public class Gmr21PsuClient extends AbstractPsuClient {
 
     private void handleCuckooHashKeyPayload(List<byte[]> cuckooHashKeyPayload) {
         // 读取哈希函数种子
-        binHashes = IntStream.range(0, cuckooHashNum)
-            .mapToObj(hashIndex -> {
-                byte[] key = cuckooHashKeyPayload.remove(0);
-                Prf hash = PrfFactory.createInstance(envType, Integer.BYTES);
-                hash.setKey(key);
-                return hash;
-            })
-            .toArray(Prf[]::new);
+        byte[][] keys = IntStream.range(0, cuckooHashNum)
+            .mapToObj(hashIndex -> cuckooHashKeyPayload.remove(0))
+            .toArray(byte[][]::new);
+        binHasher = MultiIndexHasherFactory.createInstance(envType, MultiIndexHasherFactory.DEFAULT_TYPE, keys);
     }
 
     private List<byte[]> generateOkvsPayload(OprfSenderOutput cuckooHashOprfSenderOutput) {
@@ -303,7 +299,7 @@ public class Gmr21PsuClient extends AbstractPsuClient {
                     .mapToObj(clientElementIndex -> {
                         byte[] clientElement = clientElementArrayList.get(clientElementIndex).array();
                         byte[] extendBytes = keyArrayVector.elementAt(hashIndex)[clientElementIndex];
-                        int binIndex = binHashes[hashIndex].getInteger(clientElement, binNum);
+                        int binIndex = binHasher.getIndex(hashIndex, clientElement, binNum);
                         byte[] oprf = cuckooHashOprfSenderOutput.getPrf(binIndex, extendBytes);
                         byte[] value = finiteFieldHash.digestToBytes(oprf);
                         BytesUtils.xori(value, sVector.elementAt(binIndex));
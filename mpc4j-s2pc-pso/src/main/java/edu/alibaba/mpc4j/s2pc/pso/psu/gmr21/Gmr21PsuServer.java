@@ -29,6 +29,7 @@ import edu.alibaba.mpc4j.s2pc.pso.psu.gmr21.Gmr21PsuPtoDesc.PtoStep;
 
 import java.nio.ByteBuffer;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -92,6 +93,10 @@ public class Gmr21PsuServer extends AbstractPsuServer {
      * 交换映射
      */
     private int[] permutationMap;
+    /**
+     * 交换后的索引
+     */
+    private int[] permutedIndexArray;
     /**
      * 扩展元素字节
      */
@@ -202,6 +207,12 @@ public class Gmr21PsuServer extends AbstractPsuServer {
         logStepInfo(PtoState.PTO_STEP, 1, 6, cuckooHashTime);
 
         stopWatch.start();
+        // 客户端在OPRF后发送OKVS，提前异步接收，在等待时完成不依赖OKVS的本地计算
+        DataPacketHeader okvsHeader = new DataPacketHeader(
+            encodeTaskId, getPtoDesc().getPtoId(), PtoStep.CLIENT_SEND_OKVS.ordinal(), extraInfo,
+            otherParty().getPartyId(), ownParty().getPartyId()
+        );
+        CompletableFuture<DataPacket> okvsFuture = rpc.receiveAsync(okvsHeader);
         // 生成服务端元素输入列表，即哈希桶中的元素 = 原始元素 || hashindex，贮存区中的元素 = 原始元素
         generateCuckooHashOprfInput();
         OprfReceiverOutput cuckooHashOprfReceiverOutput = cuckooHashOprfReceiver.oprf(extendEntryBytes);
@@ -217,12 +228,14 @@ public class Gmr21PsuServer extends AbstractPsuServer {
         logStepInfo(PtoState.PTO_STEP, 2, 6, cuckooHashOprfTime);
 
         stopWatch.start();
-        DataPacketHeader okvsHeader = new DataPacketHeader(
-            encodeTaskId, getPtoDesc().getPtoId(), PtoStep.CLIENT_SEND_OKVS.ordinal(), extraInfo,
-            otherParty().getPartyId(), ownParty().getPartyId()
+        // 等待OKVS时，先构造OKVS并计算最后一步所需的交换后索引
+        Okvs<ByteBuffer> okvs = OkvsFactory.createInstance(
+            envType, okvsType, clientElementSize * cuckooHashNum,
+            Gmr21PsuPtoDesc.FINITE_FIELD_BYTE_LENGTH * Byte.SIZE, okvsHashKeys
         );
-        List<byte[]> okvsPayload = rpc.receive(okvsHeader).getPayload();
-        handleOkvsPayload(okvsPayload);
+        generatePermutedIndexArray();
+        List<byte[]> okvsPayload = okvsFuture.join().getPayload();
+        handleOkvsPayload(okvs, okvsPayload);
         stopWatch.stop();
         long okvsTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
@@ -255,11 +268,6 @@ public class Gmr21PsuServer extends AbstractPsuServer {
         logStepInfo(PtoState.PTO_STEP, 5, 6, peqtTime);
 
         stopWatch.start();
-        // 求并集的时候服务端发给客户端的是交换后的数据顺序
-        Vector<Integer> permutedIndexVector = IntStream.range(0, binNum).boxed()
-            .collect(Collectors.toCollection(Vector::new));
-        permutedIndexVector = BenesNetworkUtils.permutation(permutationMap, permutedIndexVector);
-        int[] permutedIndexArray = permutedIndexVector.stream().mapToInt(permutedIndex -> permutedIndex).toArray();
         // 加密数据
         CotSenderOutput cotSenderOutput = coreCotSender.send(binNum);
         Prg encPrg = PrgFactory.createInstance(envType, elementByteLength);
@@ -279,6 +287,7 @@ public class Gmr21PsuServer extends AbstractPsuServer {
             ownParty().getPartyId(), otherParty().getPartyId()
         );
         rpc.send(DataPacket.fromByteArrayList(encHeader, encPayload));
+        permutedIndexArray = null;
         stopWatch.stop();
         long encTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
@@ -310,13 +319,17 @@ public class Gmr21PsuServer extends AbstractPsuServer {
             .toArray(byte[][]::new);
     }
 
-    private void handleOkvsPayload(List<byte[]> okvsPayload) throws MpcAbortException {
+    private void generatePermutedIndexArray() {
+        // 求并集的时候服务端发给客户端的是交换后的数据顺序
+        Vector<Integer> permutedIndexVector = IntStream.range(0, binNum).boxed()
+            .collect(Collectors.toCollection(Vector::new));
+        permutedIndexVector = BenesNetworkUtils.permutation(permutationMap, permutedIndexVector);
+        permutedIndexArray = permutedIndexVector.stream().mapToInt(permutedIndex -> permutedIndex).toArray();
+    }
+
+    private void handleOkvsPayload(Okvs<ByteBuffer> okvs, List<byte[]> okvsPayload) throws MpcAbortException {
         MpcAbortPreconditions.checkArgument(okvsPayload.size() == okvsM);
         byte[][] storage = okvsPayload.toArray(new byte[0][]);
-        Okvs<ByteBuffer> okvs = OkvsFactory.createInstance(
-            envType, okvsType, clientElementSize * cuckooHashNum,
-            Gmr21PsuPtoDesc.FINITE_FIELD_BYTE_LENGTH * Byte.SIZE, okvsHashKeys
-        );
         IntStream okvsDecodeIntStream = IntStream.range(0, binNum);
         okvsDecodeIntStream = parallel ? okvsDecodeIntStream.parallel() : okvsDecodeIntStream;
         tVector = okvsDecodeIntStream
@@ -6,10 +6,10 @@ import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
 import edu.alibaba.mpc4j.common.tool.CommonConstants;
 import edu.alibaba.mpc4j.common.tool.crypto.hash.Hash;
 import edu.alibaba.mpc4j.common.tool.crypto.hash.HashFactory;
-import edu.alibaba.mpc4j.common.tool.crypto.prf.Prf;
-import edu.alibaba.mpc4j.common.tool.crypto.prf.PrfFactory;
 import edu.alibaba.mpc4j.common.tool.crypto.prg.Prg;
 import edu.alibaba.mpc4j.common.tool.crypto.prg.PrgFactory;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasher;
+import edu.alibaba.mpc4j.common.tool.hashbin.MultiIndexHasherFactory;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBinFactory;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBinFactory.CuckooHashBinType;
 import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
@@ -74,7 +74,7 @@ public class Jsz22SfcPsuServer extends AbstractPsuServer {
     /**
      * 布谷鸟哈希桶所用的哈希函数
      */
-    private Prf[] hashes;
+    private MultiIndexHasher binHasher;
     /**
      * 交换映射
      */
@@ -220,13 +220,9 @@ public class Jsz22SfcPsuServer extends AbstractPsuServer {
 
     private void handleCuckooHashKeyPayload(List<byte[]> cuckooHashKeyPayload) throws MpcAbortException {
         MpcAbortPreconditions.checkArgument(cuckooHashKeyPayload.size() == cuckooHashNum);
-        hashes = cuckooHashKeyPayload.stream()
-            .map(key -> {
-                Prf prf = PrfFactory.createInstance(envType, Integer.BYTES);
-                prf.setKey(key);
-                return prf;
-            })
-            .toArray(Prf[]::new);
+        binHasher = MultiIndexHasherFactory.createInstance(
+            envType, MultiIndexHasherFactory.DEFAULT_TYPE, cuckooHashKeyPayload.toArray(new byte[0][])
+        );
     }
 
     private List<byte[]> generateServerOprfPayload() {
@@ -234,8 +230,7 @@ public class Jsz22SfcPsuServer extends AbstractPsuServer {
         serverElementStream = parallel ? serverElementStream.parallel() : serverElementStream;
         List<byte[]> serverOprfPayload = serverElementStream
             .map(element -> {
-                int[] positions = Arrays.stream(hashes)
-                    .mapToInt(hash -> hash.getInteger(element.array(), binNum))
+                int[] positions = Arrays.stream(binHasher.getIndexes(element.array(), binNum))
                     .distinct()
                     .toArray();
                 byte[][] oprfs = new byte[cuckooHashNum][oprfOutputByteLength];